@@ -20,8 +20,10 @@
  * SOFTWARE.
  */
 
+import groovy.json.JsonSlurper
 import me.champeau.jmh.JMHTask
 import org.jetbrains.kotlin.allopen.gradle.*
+import org.jetbrains.kotlin.gradle.dsl.KotlinJvmProjectExtension
 
 plugins {
     `java-library`
@@ -40,6 +42,21 @@ jmh {
     profilers.add("gc")
 
     includeTests.set(false) // Do not include tests by default
+
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("results/jmh/results.json"))
+
+    // Select a subset of the benchmarks with -Pjmh.includes=<regex>
+    (findProperty("jmh.includes") as? String)?.let { includes.add(it) }
+}
+
+// Allow benchmarks to access the internal declarations of the module, similar to the tests
+plugins.withId("org.jetbrains.kotlin.jvm") {
+    configure<KotlinJvmProjectExtension> {
+        target.compilations.named("jmh") {
+            associateWith(target.compilations.getByName("main"))
+        }
+    }
 }
 
 tasks.named("jmh", JMHTask::class) {
@@ -48,6 +65,76 @@ tasks.named("jmh", JMHTask::class) {
     testRuntimeClasspath.setFrom() // XXX Clear test runtime classpath to eliminate duplicate dependencies on classpath
 }
 
+/**
+ * The JMH results of a previous run to compare against, which can be overridden with -Pjmh.baseline=<path>.
+ */
+val jmhBaselineFile =
+    (findProperty("jmh.baseline") as? String)?.let { rootProject.file(it) }
+        ?: layout.buildDirectory.file("results/jmh/baseline.json").get().asFile
+val jmhResultsFile = layout.buildDirectory.file("results/jmh/results.json").get().asFile
+
+tasks.register<Copy>("jmhSaveBaseline") {
+    group = "benchmark"
+    description = "Stores the results of the last JMH run as the baseline for jmhCompare."
+
+    from(jmhResultsFile)
+    into(jmhBaselineFile.parentFile)
+    rename { jmhBaselineFile.name }
+}
+
+tasks.register("jmhCompare") {
+    group = "benchmark"
+    description = "Compares the results of the last JMH run against the stored baseline."
+
+    val baselineFile = jmhBaselineFile
+    val resultsFile = jmhResultsFile
+    // Fail the task if a benchmark regresses by more than this fraction, e.g., -Pjmh.threshold=0.1
+    val threshold = (findProperty("jmh.threshold") as? String)?.toDouble()
+
+    inputs.files(baselineFile, resultsFile)
+
+    doLast {
+        fun load(file: File): Map<String, Map<String, Any>> {
+            @Suppress("UNCHECKED_CAST")
+            val results = JsonSlurper().parse(file) as List<Map<String, Any>>
+            return results.associateBy { entry ->
+                val params = (entry["params"] as? Map<*, *>)?.entries?.joinToString(",") { "${it.key}=${it.value}" }
+                if (params.isNullOrEmpty()) entry["benchmark"] as String else "${entry["benchmark"]}($params)"
+            }
+        }
+
+        check(baselineFile.exists()) { "No baseline found at $baselineFile; run jmhSaveBaseline first" }
+        check(resultsFile.exists()) { "No results found at $resultsFile; run jmh first" }
+
+        val baseline = load(baselineFile)
+        val results = load(resultsFile)
+        val regressions = mutableListOf<String>()
+
+        for ((name, entry) in results) {
+            val metric = entry["primaryMetric"] as Map<*, *>
+            val score = (metric["score"] as Number).toDouble()
+            val unit = metric["scoreUnit"]
+            val previous = baseline[name]?.let { ((it["primaryMetric"] as Map<*, *>)["score"] as Number).toDouble() }
+
+            if (previous == null || previous == 0.0) {
+                println("%-100s %14.3f %s (new)".format(name, score, unit))
+                continue
+            }
+
+            // Throughput is better when higher, all other modes are better when lower
+            val change = (score - previous) / previous
+            val regression = if (entry["mode"] == "thrpt") -change else change
+            println("%-100s %14.3f %s (%+.1f%%)".format(name, score, unit, change * 100))
+
+            if (threshold != null && regression > threshold) {
+                regressions += name
+            }
+        }
+
+        check(regressions.isEmpty()) { "Benchmarks regressed by more than ${threshold!! * 100}%: $regressions" }
+    }
+}
+
 dependencies {
     constraints {
         val versionCatalog = project.defaultVersionCatalog
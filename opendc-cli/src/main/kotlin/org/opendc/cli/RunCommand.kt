@@ -40,6 +40,9 @@ import org.opendc.cli.run.RemoteBackend
 import org.opendc.cli.run.RunRequest
 import org.opendc.cli.run.SimulationBackend
 import org.opendc.cli.tui.startDashboard
+import org.opendc.sdk.model.experiment.ExperimentSpec
+import org.opendc.sdk.model.workload.TraceWindowSpec
+import org.opendc.sdk.model.workload.TraceWorkloadSpec
 import java.nio.file.Path
 
 /** `opendc run` — simulate every scenario of an experiment and write per-run Parquet results. */
@@ -78,13 +81,23 @@ internal class RunCommand(config: CliConfig = CliConfig.DEFAULTS) : ExperimentCo
         help = "Skip the in-memory metrics summary (saves memory on very large sweeps).",
     ).flag()
 
+    private val windowFrom by option(
+        "--window-from",
+        help = "Only load the trace tasks submitted at or after this ISO-8601 date-time (UTC).",
+    )
+
+    private val windowUntil by option(
+        "--window-until",
+        help = "Only load the trace tasks submitted before this ISO-8601 date-time (UTC).",
+    )
+
     private val apiUrl by option(
         "--api-url",
         help = "Run remotely against this OpenDC API instead of locally (experimental; not yet implemented).",
     )
 
     override fun run() {
-        val experiment = loadExperiment()
+        val experiment = loadExperiment().withWindow(windowFrom, windowUntil)
 
         if (!renderValidation(terminal, experimentFile.name, experiment.validate(), config, showSuccess = false)) {
             throw ProgramResult(1)
@@ -119,3 +132,19 @@ internal class RunCommand(config: CliConfig = CliConfig.DEFAULTS) : ExperimentCo
         renderOutputs(terminal, outcome.outputs)
     }
 }
+
+/**
+ * Restricts every trace workload of this experiment to the tasks submitted within [from] and [until], overriding the
+ * window of the experiment file. Returns the experiment unchanged if neither bound is given.
+ */
+internal fun ExperimentSpec.withWindow(
+    from: String?,
+    until: String?,
+): ExperimentSpec {
+    if (from == null && until == null) {
+        return this
+    }
+
+    val window = TraceWindowSpec(from, until)
+    return copy(workloads = workloads.map { if (it is TraceWorkloadSpec) it.copy(window = window) else it }.toSet())
+}
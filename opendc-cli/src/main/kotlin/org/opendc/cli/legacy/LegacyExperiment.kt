@@ -29,6 +29,7 @@ import kotlinx.serialization.json.JsonObject
 import kotlinx.serialization.json.JsonObjectBuilder
 import kotlinx.serialization.json.JsonPrimitive
 import kotlinx.serialization.json.buildJsonObject
+import kotlinx.serialization.json.booleanOrNull
 import org.opendc.sdk.model.experiment.ExperimentSpec
 import org.opendc.sdk.model.serialization.SdkJson
 import java.io.File
@@ -102,6 +103,8 @@ private fun JsonObject.inlineTopology(baseDir: File): JsonObject {
 /**
  * Every legacy workload replayed a trace from disk — `ComputeWorkload` was the only kind — so it
  * always becomes the SDK's `trace` workload. `scalingPolicy` is spelled identically in both formats.
+ * The flat `coalesceFragments` switch and its `coalescingEpsilon` (in MHz) become the SDK's nested
+ * `coalescing` stage, and the flat `windowStart`/`windowEnd` bounds become the nested `window`.
  */
 private fun JsonObject.toSdkWorkload(): JsonObject =
     buildJsonObject {
@@ -109,6 +112,18 @@ private fun JsonObject.toSdkWorkload(): JsonObject =
         val path = stringAt("pathToFile") ?: throw LegacyFormatException("a workload is missing its 'pathToFile'")
         put("source", namedReference(path))
         keep(this@toSdkWorkload, "sampleFraction", "submissionTime", "deferAll", "scalingPolicy")
+        if ((this@toSdkWorkload["coalesceFragments"] as? JsonPrimitive)?.booleanOrNull == true) {
+            val epsilon = (this@toSdkWorkload["coalescingEpsilon"] as? JsonPrimitive)?.content
+            put("coalescing", buildJsonObject { epsilon?.let { put("epsilon", JsonPrimitive("$it MHz")) } })
+        }
+        val window =
+            buildJsonObject {
+                this@toSdkWorkload["windowStart"]?.let { put("from", it) }
+                this@toSdkWorkload["windowEnd"]?.let { put("until", it) }
+            }
+        if (window.isNotEmpty()) {
+            put("window", window)
+        }
     }
 
 /** The legacy discriminators of a host filter, keyed by their SDK spelling. */
@@ -139,6 +139,7 @@ private fun JsonObject.toSdkBattery(): JsonObject =
 private val DISTRIBUTION_POLICIES =
     mapOf(
         "MAX_MIN_FAIRNESS" to "maxMinFairness",
+        "INCREMENTAL_MAX_MIN_FAIRNESS" to "incrementalMaxMinFairness",
         "EQUAL_SHARE" to "equalShare",
         "FIRST_FIT" to "firstFit",
         "FIXED_SHARE" to "fixedShare",
@@ -106,9 +106,25 @@ internal fun renderOutputs(
     )
 }
 
-/** Reduces a single run's in-memory metrics into a display [RunSummaryRow], or null when it has none. */
+/**
+ * Reduces a single run's in-memory metrics into a display [RunSummaryRow], or null when it has none. Columnar metrics
+ * are preferred over the per-sample metrics of an [org.opendc.sdk.runner.sink.InMemorySink].
+ */
 private fun RunResult.toRow(scenario: ScenarioSpec): RunSummaryRow? =
-    metrics?.let { m ->
+    columnarMetrics?.let { m ->
+        val service = m.serviceSeries()
+        val power = m.powerSourceTotals()
+        RunSummaryRow(
+            name = scenario.name.ifEmpty { "#${scenario.id}" },
+            seed = seed,
+            tasksTotal = service.tasksTotal.maxOrNull() ?: 0,
+            tasksCompleted = service.tasksCompleted.maxOrNull() ?: 0,
+            tasksTerminated = service.tasksTerminated.maxOrNull() ?: 0,
+            meanCpuUtilization = m.meanCpuUtilization(),
+            energyKWh = power.energyUsage.sum() / JOULES_PER_KWH,
+            carbonKg = power.carbonEmission.sum() / 1000.0,
+        )
+    } ?: metrics?.let { m ->
         RunSummaryRow(
             name = scenario.name.ifEmpty { "#${scenario.id}" },
             seed = seed,
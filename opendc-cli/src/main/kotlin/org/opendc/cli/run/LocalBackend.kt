@@ -34,7 +34,7 @@ import org.opendc.sdk.model.export.OutputFileSpec.SERVICE
 import org.opendc.sdk.runner.OpenDC
 import org.opendc.sdk.runner.planTaskCounts
 import org.opendc.sdk.runner.provision.FileSystemResourceProvisioner
-import org.opendc.sdk.runner.sink.InMemorySink
+import org.opendc.sdk.runner.sink.ColumnarSink
 
 /**
  * Runs experiments locally, in-process, through the OpenDC SDK. A [ProgressSink] feeds a shared
@@ -50,7 +50,7 @@ internal class LocalBackend : SimulationBackend {
 
         val openDc = OpenDC.builder().provisioner(provisioner).output(request.output)
         request.parallelism?.let { openDc.parallelism(it) }
-        if (request.wantSummary) openDc.sink(InMemorySink(setOf(HOST, SERVICE, POWER_SOURCE)))
+        if (request.wantSummary) openDc.sink(ColumnarSink(setOf(HOST, SERVICE, POWER_SOURCE)))
         openDc.sink(ProgressSink(progressState))
 
         val scenarios = request.experiment.expand()
@@ -73,11 +73,12 @@ internal class LocalBackend : SimulationBackend {
             override val progress: ProgressSource = progressState
 
             override fun run(): RunOutcome {
-                val report = openDc.build().simulate(request.experiment)
-                return RunOutcome(
-                    summary = if (request.wantSummary) RunSummaryView.from(report) else null,
-                    outputs = OutputView.from(report, request.output),
-                )
+                return openDc.build().simulate(request.experiment).use { report ->
+                    RunOutcome(
+                        summary = if (request.wantSummary) RunSummaryView.from(report) else null,
+                        outputs = OutputView.from(report, request.output),
+                    )
+                }
             }
         }
     }
@@ -27,7 +27,9 @@ import org.opendc.sdk.model.serialization.SdkJson
 import org.opendc.sdk.runner.OpenDC
 import org.opendc.sdk.runner.SimulationReport
 import org.opendc.sdk.runner.provision.FileSystemResourceProvisioner
+import org.opendc.sdk.runner.sink.ColumnarSink
 import org.opendc.sdk.runner.sink.InMemorySink
+import org.opendc.sdk.runner.sink.OutputSink
 import java.io.File
 import kotlin.test.Test
 import kotlin.test.assertEquals
@@ -35,12 +37,12 @@ import kotlin.test.assertTrue
 
 /** Verifies the per-run summary view-model is built from a real report and its derived metrics are correct. */
 class SummaryViewTest {
-    private fun tinyReport(): SimulationReport {
+    private fun tinyReport(sink: OutputSink = InMemorySink(SUMMARY_TABLES)): SimulationReport {
         val file = File(checkNotNull(javaClass.classLoader.getResource("experiments/tiny-experiment.json")).toURI())
         val experiment = file.inputStream().use { SdkJson.decodeExperiment(it) }
         return OpenDC.builder()
             .provisioner(FileSystemResourceProvisioner(file.absoluteFile.parentFile.toPath()))
-            .sink(InMemorySink(setOf(OutputFileSpec.HOST, OutputFileSpec.SERVICE, OutputFileSpec.POWER_SOURCE)))
+            .sink(sink)
             .parallelism(1)
             .build()
             .simulate(experiment)
@@ -68,4 +70,23 @@ class SummaryViewTest {
         assertEquals(expectedEnergy, view.rows.sumOf { it.energyKWh }, 1e-9)
         assertEquals(expectedCarbon, view.rows.sumOf { it.carbonKg }, 1e-9)
     }
+
+    @Test
+    fun `columnar metrics reduce to the same rows as per-sample metrics`() {
+        val expected = RunSummaryView.from(tinyReport()).rows
+        val actual = tinyReport(ColumnarSink(SUMMARY_TABLES)).use { RunSummaryView.from(it).rows }
+
+        assertEquals(expected.size, actual.size)
+        for ((e, a) in expected.zip(actual)) {
+            assertEquals(listOf(e.name, e.seed, e.tasksTotal, e.tasksCompleted), listOf(a.name, a.seed, a.tasksTotal, a.tasksCompleted))
+            assertEquals(e.tasksTerminated, a.tasksTerminated)
+            assertEquals(e.meanCpuUtilization, a.meanCpuUtilization, 1e-9)
+            assertEquals(e.energyKWh, a.energyKWh, 1e-9)
+            assertEquals(e.carbonKg, a.carbonKg, 1e-9)
+        }
+    }
+
+    private companion object {
+        val SUMMARY_TABLES = setOf(OutputFileSpec.HOST, OutputFileSpec.SERVICE, OutputFileSpec.POWER_SOURCE)
+    }
 }
@@ -0,0 +1,300 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.common.util;
+
+import java.util.Arrays;
+
+/**
+ * An {@link EventQueue} based on the calendar queue of Brown (1988).
+ * <p>
+ * Elements are hashed into an array of buckets ("days") of a fixed width, where each bucket holds a sorted list of
+ * entries. Dequeueing scans the buckets of the current "year" in order, so that both enqueue and dequeue take constant
+ * amortized time when the bucket width matches the average separation of the deadlines. The number of buckets and
+ * their width are re-estimated whenever the queue doubles or halves in size.
+ *
+ * @param <T> The type of the queued elements.
+ */
+public final class CalendarEventQueue<T> extends LinkedEventQueue<T> {
+    /**
+     * The minimum number of buckets of the calendar.
+     */
+    private static final int MIN_BUCKETS = 16;
+
+    /**
+     * The number of earliest deadlines sampled to estimate the bucket width.
+     */
+    private static final int WIDTH_SAMPLES = 25;
+
+    /**
+     * The heads of the sorted lists of the buckets.
+     */
+    private int[] heads;
+
+    /**
+     * The mask to map a virtual bucket to an index in {@link #heads}.
+     */
+    private int mask;
+
+    /**
+     * The width of a bucket in milliseconds.
+     */
+    private long width = 1;
+
+    /**
+     * The virtual bucket (deadline divided by width) of the earliest element in the queue. No element in the queue
+     * resides in an earlier virtual bucket.
+     */
+    private long currentBucket = Long.MAX_VALUE;
+
+    /**
+     * The cached entry with the earliest deadline or {@link #NIL} if not known.
+     */
+    private int head = NIL;
+
+    /**
+     * Construct a {@link CalendarEventQueue} with an initial capacity of 256 elements.
+     */
+    public CalendarEventQueue() {
+        this(256);
+    }
+
+    /**
+     * Construct a {@link CalendarEventQueue} with the specified initial capacity.
+     *
+     * @param initialCapacity The initial capacity of the queue.
+     */
+    public CalendarEventQueue(int initialCapacity) {
+        super(initialCapacity);
+
+        this.heads = new int[MIN_BUCKETS];
+        this.mask = MIN_BUCKETS - 1;
+        Arrays.fill(this.heads, NIL);
+    }
+
+    @Override
+    public void add(long deadline, int id, T element) {
+        int e = allocate(deadline, id, element);
+        insert(e);
+
+        long bucket = Math.floorDiv(deadline, width);
+        if (bucket < currentBucket) {
+            currentBucket = bucket;
+        }
+
+        if (head != NIL && less(e, head)) {
+            head = e;
+        }
+
+        if (size > heads.length << 1) {
+            resize(heads.length << 1);
+        }
+    }
+
+    @Override
+    public T poll() {
+        int e = findHead();
+        if (e == NIL) {
+            return null;
+        }
+
+        T element = elementOf(e);
+        unlink(e);
+        release(e);
+        head = NIL;
+
+        if (size < heads.length >> 2 && heads.length > MIN_BUCKETS) {
+            resize(heads.length >> 1);
+        }
+
+        return element;
+    }
+
+    @Override
+    public long peekDeadline() {
+        int e = findHead();
+        return e == NIL ? Long.MAX_VALUE : deadlines[e];
+    }
+
+    @Override
+    public boolean remove(long deadline, int id) {
+        int e = lookup(deadline, id);
+        if (e == NIL) {
+            return false;
+        }
+
+        unlink(e);
+        release(e);
+
+        if (e == head) {
+            head = NIL;
+        }
+
+        return true;
+    }
+
+    /**
+     * Find the entry with the earliest deadline.
+     */
+    private int findHead() {
+        if (head != NIL || size == 0) {
+            return head;
+        }
+
+        final int[] heads = this.heads;
+        final long width = this.width;
+        final int mask = this.mask;
+        long bucket = currentBucket;
+
+        // Scan the buckets of the current year for an entry that belongs to the bucket being scanned
+        for (int i = 0; i < heads.length; i++, bucket++) {
+            int e = heads[(int) (bucket & mask)];
+            if (e != NIL && Math.floorDiv(deadlines[e], width) == bucket) {
+                currentBucket = bucket;
+                head = e;
+                return e;
+            }
+        }
+
+        // No entry within a year: fall back to a direct search over all buckets
+        int best = NIL;
+        for (int e : heads) {
+            if (e != NIL && (best == NIL || less(e, best))) {
+                best = e;
+            }
+        }
+
+        currentBucket = Math.floorDiv(deadlines[best], width);
+        head = best;
+        return best;
+    }
+
+    /**
+     * Insert the specified entry into the sorted list of its bucket.
+     */
+    private void insert(int e) {
+        int b = (int) (Math.floorDiv(deadlines[e], width) & mask);
+        location[e] = b;
+
+        int cur = heads[b];
+        int before = NIL;
+        while (cur != NIL && !less(e, cur)) {
+            before = cur;
+            cur = next[cur];
+        }
+
+        prev[e] = before;
+        next[e] = cur;
+        if (cur != NIL) {
+            prev[cur] = e;
+        }
+        if (before != NIL) {
+            next[before] = e;
+        } else {
+            heads[b] = e;
+        }
+    }
+
+    /**
+     * Remove the specified entry from the list of its bucket.
+     */
+    private void unlink(int e) {
+        int p = prev[e];
+        int n = next[e];
+        if (p != NIL) {
+            next[p] = n;
+        } else {
+            heads[location[e]] = n;
+        }
+        if (n != NIL) {
+            prev[n] = p;
+        }
+    }
+
+    /**
+     * Resize the calendar to the specified number of buckets and re-estimate the bucket width.
+     */
+    private void resize(int bucketCount) {
+        final int[] entries = new int[size];
+        int n = 0;
+        for (int h : heads) {
+            for (int e = h; e != NIL; e = next[e]) {
+                entries[n++] = e;
+            }
+        }
+
+        width = estimateWidth(entries, n);
+        heads = new int[bucketCount];
+        mask = bucketCount - 1;
+        Arrays.fill(heads, NIL);
+
+        long first = Long.MAX_VALUE;
+        for (int i = 0; i < n; i++) {
+            int e = entries[i];
+            insert(e);
+            first = Math.min(first, Math.floorDiv(deadlines[e], width));
+        }
+
+        currentBucket = first;
+        head = NIL;
+    }
+
+    /**
+     * Estimate the bucket width as three times the average separation of the earliest deadlines, ignoring outliers.
+     */
+    private long estimateWidth(int[] entries, int n) {
+        long[] sample = new long[n];
+        int m = 0;
+        for (int i = 0; i < n; i++) {
+            long deadline = deadlines[entries[i]];
+            if (deadline != Long.MAX_VALUE) {
+                sample[m++] = deadline;
+            }
+        }
+
+        if (m < 2) {
+            return width;
+        }
+
+        Arrays.sort(sample, 0, m);
+        int k = Math.min(m, WIDTH_SAMPLES);
+
+        double total = 0;
+        for (int i = 1; i < k; i++) {
+            total += sample[i] - sample[i - 1];
+        }
+        double average = total / (k - 1);
+
+        double trimmed = 0;
+        int count = 0;
+        for (int i = 1; i < k; i++) {
+            long gap = sample[i] - sample[i - 1];
+            if (gap <= 2 * average) {
+                trimmed += gap;
+                count++;
+            }
+        }
+
+        double separation = count > 0 ? trimmed / count : average;
+        return Math.max(1, (long) Math.ceil(3 * separation));
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.common.util;
+
+/**
+ * A priority queue of elements ordered on their deadline, used to schedule future events in a simulation.
+ * <p>
+ * Each element is identified by an integer identifier, which is unique among the pending elements and breaks ties
+ * between elements with the same deadline (lower identifiers first). The pair of deadline and identifier can be used
+ * to cancel a pending element.
+ *
+ * @param <T> The type of the queued elements.
+ */
+public interface EventQueue<T> {
+    /**
+     * Add a new element to the queue.
+     *
+     * @param deadline The deadline of the element.
+     * @param id The identifier of the element.
+     * @param element The element to add.
+     */
+    void add(long deadline, int id, T element);
+
+    /**
+     * Remove and return the element with the earliest deadline.
+     *
+     * @return The head of the queue or <code>null</code> if the queue is empty.
+     */
+    T poll();
+
+    /**
+     * Find the earliest deadline in the queue.
+     *
+     * @return The earliest deadline in the queue or {@link Long#MAX_VALUE} if the queue is empty.
+     */
+    long peekDeadline();
+
+    /**
+     * Remove the element with the specified <code>deadline</code> and <code>id</code>.
+     *
+     * @return <code>true</code> if an element was removed, <code>false</code> otherwise.
+     */
+    boolean remove(long deadline, int id);
+
+    /**
+     * Return the number of elements in the queue.
+     */
+    int size();
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.common.util;
+
+/**
+ * The implementations of an {@link EventQueue} that can be selected for the simulator's event queues.
+ */
+public enum EventQueueType {
+    /**
+     * A binary heap. Components that have a specialized heap for their own elements use that heap instead of the
+     * generic {@link HeapEventQueue}.
+     */
+    HEAP,
+
+    /**
+     * A calendar queue, which hashes elements into buckets of one "day" and resizes as the queue grows or shrinks.
+     * Suited for deadlines that are spread evenly over time.
+     */
+    CALENDAR,
+
+    /**
+     * A ladder queue, which lazily sorts elements in increasingly finer rungs of buckets. Suited for dense and
+     * clustered deadlines, such as those of traces with a fixed sampling interval.
+     */
+    LADDER;
+
+    /**
+     * Create a new generic {@link EventQueue} for this type.
+     */
+    public <T> EventQueue<T> create() {
+        return switch (this) {
+            case HEAP -> new HeapEventQueue<>();
+            case CALENDAR -> new CalendarEventQueue<>();
+            case LADDER -> new LadderEventQueue<>();
+        };
+    }
+}
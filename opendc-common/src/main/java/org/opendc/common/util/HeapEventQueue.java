@@ -0,0 +1,254 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.common.util;
+
+import java.util.Arrays;
+
+/**
+ * An {@link EventQueue} based on a binary heap, which stores its entries in parallel primitive arrays.
+ * <p>
+ * This is the generic counterpart of the specialized heaps that the simulator's components use for
+ * {@link EventQueueType#HEAP}. Cancelling an element scans the heap for its position.
+ *
+ * @param <T> The type of the queued elements.
+ */
+public final class HeapEventQueue<T> implements EventQueue<T> {
+    /**
+     * The deadlines of the queued elements.
+     */
+    private long[] deadlines;
+
+    /**
+     * The identifiers of the queued elements.
+     */
+    private int[] ids;
+
+    /**
+     * The queued elements.
+     */
+    private Object[] elements;
+
+    /**
+     * The number of elements in the queue.
+     */
+    private int size = 0;
+
+    /**
+     * Construct a {@link HeapEventQueue} with the specified initial capacity.
+     *
+     * @param initialCapacity The initial capacity of the queue.
+     */
+    public HeapEventQueue(int initialCapacity) {
+        this.deadlines = new long[initialCapacity];
+        this.ids = new int[initialCapacity];
+        this.elements = new Object[initialCapacity];
+    }
+
+    /**
+     * Construct a {@link HeapEventQueue} with an initial capacity of 256 elements.
+     */
+    public HeapEventQueue() {
+        this(256);
+    }
+
+    @Override
+    public void add(long deadline, int id, T element) {
+        int i = size;
+
+        if (i >= deadlines.length) {
+            grow();
+        }
+
+        siftUp(i, deadline, id, element);
+        size = i + 1;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T poll() {
+        if (size == 0) {
+            return null;
+        }
+
+        final Object[] elements = this.elements;
+        final Object result = elements[0];
+        int n = --size;
+
+        if (n > 0) {
+            siftDown(0, n, deadlines[n], ids[n], elements[n]);
+        }
+
+        // Clear the last element of the queue
+        elements[n] = null;
+        return (T) result;
+    }
+
+    @Override
+    public long peekDeadline() {
+        if (size == 0) {
+            return Long.MAX_VALUE;
+        }
+
+        return deadlines[0];
+    }
+
+    @Override
+    public boolean remove(long deadline, int id) {
+        final long[] deadlines = this.deadlines;
+        final int[] ids = this.ids;
+
+        int size = this.size;
+        int i = -1;
+
+        for (int j = 0; j < size; j++) {
+            if (deadlines[j] == deadline && ids[j] == id) {
+                i = j;
+                break;
+            }
+        }
+
+        if (i < 0) {
+            return false;
+        }
+
+        final Object[] elements = this.elements;
+        int s = size - 1;
+        this.size = s;
+
+        if (s == i) {
+            elements[i] = null;
+        } else {
+            long movedDeadline = deadlines[s];
+            int movedId = ids[s];
+            Object moved = elements[s];
+
+            elements[s] = null;
+
+            siftDown(i, s, movedDeadline, movedId, moved);
+            if (elements[i] == moved) {
+                siftUp(i, movedDeadline, movedId, moved);
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Increase the capacity of the queue.
+     */
+    private void grow() {
+        int oldCapacity = deadlines.length;
+
+        // Double size if small; else grow by 50%
+        int newCapacity = oldCapacity + (oldCapacity < 64 ? oldCapacity + 2 : oldCapacity >> 1);
+
+        deadlines = Arrays.copyOf(deadlines, newCapacity);
+        ids = Arrays.copyOf(ids, newCapacity);
+        elements = Arrays.copyOf(elements, newCapacity);
+    }
+
+    /**
+     * Sift up an entry in the heap.
+     */
+    private void siftUp(int k, long deadline, int id, Object element) {
+        final long[] deadlines = this.deadlines;
+        final int[] ids = this.ids;
+        final Object[] elements = this.elements;
+
+        while (k > 0) {
+            int parent = (k - 1) >>> 1;
+            long parentDeadline = deadlines[parent];
+            int parentId = ids[parent];
+
+            if (compare(deadline, id, parentDeadline, parentId) >= 0) {
+                break;
+            }
+
+            deadlines[k] = parentDeadline;
+            ids[k] = parentId;
+            elements[k] = elements[parent];
+
+            k = parent;
+        }
+
+        deadlines[k] = deadline;
+        ids[k] = id;
+        elements[k] = element;
+    }
+
+    /**
+     * Sift down an entry in the heap.
+     */
+    private void siftDown(int k, int n, long deadline, int id, Object element) {
+        final long[] deadlines = this.deadlines;
+        final int[] ids = this.ids;
+        final Object[] elements = this.elements;
+        int half = n >>> 1; // loop while a non-leaf
+
+        while (k < half) {
+            int child = (k << 1) + 1; // assume left child is least
+
+            long childDeadline = deadlines[child];
+            int childId = ids[child];
+
+            int right = child + 1;
+            if (right < n) {
+                long rightDeadline = deadlines[right];
+                int rightId = ids[right];
+
+                if (compare(childDeadline, childId, rightDeadline, rightId) > 0) {
+                    child = right;
+                    childDeadline = rightDeadline;
+                    childId = rightId;
+                }
+            }
+
+            if (compare(deadline, id, childDeadline, childId) <= 0) {
+                break;
+            }
+
+            deadlines[k] = childDeadline;
+            ids[k] = childId;
+            elements[k] = elements[child];
+
+            k = child;
+        }
+
+        deadlines[k] = deadline;
+        ids[k] = id;
+        elements[k] = element;
+    }
+
+    /**
+     * Helper method to compare two entries.
+     */
+    private static int compare(long leftDeadline, int leftId, long rightDeadline, int rightId) {
+        int cmp = Long.compare(leftDeadline, rightDeadline);
+        return cmp == 0 ? Integer.compare(leftId, rightId) : cmp;
+    }
+}
@@ -0,0 +1,459 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.common.util;
+
+import java.util.Arrays;
+
+/**
+ * An {@link EventQueue} based on the ladder queue of Tang, Goh and Thng (2005).
+ * <p>
+ * New elements with a deadline beyond the range of the ladder are appended to an unsorted <i>top</i> list. When the
+ * queue runs dry, the top list is spread over the buckets of a <i>rung</i>. Buckets are consumed in order: a small
+ * bucket is sorted into the <i>bottom</i> list from which elements are dequeued, while a large bucket is spread over
+ * a new, finer rung. Sorting is thus deferred until elements are about to be dequeued, which keeps the cost per
+ * element constant for dense and clustered deadlines.
+ *
+ * @param <T> The type of the queued elements.
+ */
+public final class LadderEventQueue<T> extends LinkedEventQueue<T> {
+    /**
+     * The location of entries in the top list.
+     */
+    private static final int TOP = -1;
+
+    /**
+     * The location of entries in the bottom list.
+     */
+    private static final int BOTTOM = -2;
+
+    /**
+     * The maximum number of rungs of the ladder.
+     */
+    private static final int MAX_RUNGS = 8;
+
+    /**
+     * The bucket size above which a bucket is spread over a new rung instead of being sorted.
+     */
+    private static final int THRESHOLD = 50;
+
+    /**
+     * The maximum number of buckets of a rung.
+     */
+    private static final int MAX_BUCKETS = 1 << 18;
+
+    /**
+     * The head of the unsorted top list.
+     */
+    private int topHead = NIL;
+
+    private int topCount = 0;
+    private long topMin = Long.MAX_VALUE;
+    private long topMax = Long.MIN_VALUE;
+
+    /**
+     * Elements with a deadline of at least this value are added to the top list.
+     */
+    private long topStart = Long.MIN_VALUE;
+
+    /**
+     * The number of active rungs. Rung 0 is the coarsest rung.
+     */
+    private int rungCount = 0;
+
+    private final long[] rungStart = new long[MAX_RUNGS];
+    private final long[] rungWidth = new long[MAX_RUNGS];
+    private final int[] rungBuckets = new int[MAX_RUNGS];
+    private final int[] rungCurrent = new int[MAX_RUNGS];
+    private final int[] rungSize = new int[MAX_RUNGS];
+    private final int[][] rungHeads = new int[MAX_RUNGS][];
+    private final int[][] rungCounts = new int[MAX_RUNGS][];
+
+    /**
+     * The head and tail of the sorted bottom list.
+     */
+    private int bottomHead = NIL;
+
+    private int bottomTail = NIL;
+
+    /**
+     * Scratch buffer for transferring entries between lists.
+     */
+    private int[] scratch = new int[THRESHOLD];
+
+    /**
+     * Construct a {@link LadderEventQueue} with an initial capacity of 256 elements.
+     */
+    public LadderEventQueue() {
+        this(256);
+    }
+
+    /**
+     * Construct a {@link LadderEventQueue} with the specified initial capacity.
+     *
+     * @param initialCapacity The initial capacity of the queue.
+     */
+    public LadderEventQueue(int initialCapacity) {
+        super(initialCapacity);
+    }
+
+    @Override
+    public void add(long deadline, int id, T element) {
+        int e = allocate(deadline, id, element);
+
+        if (deadline >= topStart) {
+            pushTop(e);
+            return;
+        }
+
+        for (int r = 0; r < rungCount; r++) {
+            long width = rungWidth[r];
+            long currentStart = rungStart[r] + rungCurrent[r] * width;
+            if (deadline >= currentStart) {
+                pushRung(r, (int) ((deadline - rungStart[r]) / width), e);
+                return;
+            }
+        }
+
+        insertBottom(e);
+    }
+
+    @Override
+    public T poll() {
+        int e = findHead();
+        if (e == NIL) {
+            return null;
+        }
+
+        T element = elementOf(e);
+        unlinkBottom(e);
+        release(e);
+
+        if (size == 0) {
+            reset();
+        }
+
+        return element;
+    }
+
+    @Override
+    public long peekDeadline() {
+        int e = findHead();
+        return e == NIL ? Long.MAX_VALUE : deadlines[e];
+    }
+
+    @Override
+    public boolean remove(long deadline, int id) {
+        int e = lookup(deadline, id);
+        if (e == NIL) {
+            return false;
+        }
+
+        int loc = location[e];
+        if (loc == TOP) {
+            unlinkTop(e);
+        } else if (loc == BOTTOM) {
+            unlinkBottom(e);
+        } else {
+            unlinkRung(e);
+        }
+
+        release(e);
+
+        if (size == 0) {
+            reset();
+        }
+
+        return true;
+    }
+
+    /**
+     * Find the entry with the earliest deadline, refilling the bottom list as needed.
+     */
+    private int findHead() {
+        if (size == 0) {
+            return NIL;
+        }
+
+        while (bottomHead == NIL) {
+            refillBottom();
+        }
+
+        return bottomHead;
+    }
+
+    /**
+     * Move the next batch of entries into the bottom list, spawning new rungs when needed.
+     */
+    private void refillBottom() {
+        if (rungCount == 0) {
+            transferTop();
+            return;
+        }
+
+        final int r = rungCount - 1;
+        final int[] counts = rungCounts[r];
+        final int buckets = rungBuckets[r];
+
+        int b = rungCurrent[r];
+        while (b < buckets && counts[b] == 0) {
+            b++;
+        }
+
+        if (b == buckets) {
+            // The rung is exhausted
+            rungCount--;
+            return;
+        }
+
+        // Mark the bucket as consumed before its entries are moved elsewhere
+        rungCurrent[r] = b + 1;
+
+        int count = counts[b];
+        int n = collect(rungHeads[r][b]);
+        rungHeads[r][b] = NIL;
+        counts[b] = 0;
+        rungSize[r] -= count;
+
+        long width = rungWidth[r];
+        if (count > THRESHOLD && width > 1 && rungCount < MAX_RUNGS) {
+            long start = rungStart[r] + b * width;
+            int childBuckets = Math.min(count, MAX_BUCKETS);
+            long childWidth = Math.max(1, (width + childBuckets - 1) / childBuckets);
+            spawnRung(start, childWidth, childBuckets, n);
+        } else {
+            sort(scratch, 0, n);
+            for (int i = 0; i < n; i++) {
+                appendBottom(scratch[i]);
+            }
+        }
+    }
+
+    /**
+     * Spread the entries of the top list over a new first rung.
+     */
+    private void transferTop() {
+        int n = collect(topHead);
+        topHead = NIL;
+        topCount = 0;
+
+        long min = topMin;
+        long max = topMax;
+        topMin = Long.MAX_VALUE;
+        topMax = Long.MIN_VALUE;
+
+        // All entries up to the largest deadline are covered by the rungs
+        topStart = max == Long.MAX_VALUE ? Long.MAX_VALUE : max + 1;
+
+        long span = max - min;
+        if (span < 0) {
+            span = Long.MAX_VALUE; // Overflow
+        }
+
+        int buckets = Math.max(1, Math.min(n, MAX_BUCKETS));
+        long width = span / buckets + 1;
+        spawnRung(min, width, buckets, n);
+    }
+
+    /**
+     * Create a new rung and spread the first <code>n</code> entries of the scratch buffer over it.
+     */
+    private void spawnRung(long start, long width, int buckets, int n) {
+        final int r = rungCount++;
+
+        int[] heads = rungHeads[r];
+        int[] counts = rungCounts[r];
+        if (heads == null || heads.length < buckets) {
+            heads = rungHeads[r] = new int[buckets];
+            counts = rungCounts[r] = new int[buckets];
+        }
+        Arrays.fill(heads, 0, buckets, NIL);
+        Arrays.fill(counts, 0, buckets, 0);
+
+        rungStart[r] = start;
+        rungWidth[r] = width;
+        rungBuckets[r] = buckets;
+        rungCurrent[r] = 0;
+        rungSize[r] = 0;
+
+        final int[] entries = scratch;
+        for (int i = 0; i < n; i++) {
+            int e = entries[i];
+            pushRung(r, (int) ((deadlines[e] - start) / width), e);
+        }
+    }
+
+    /**
+     * Collect the entries of the list starting at <code>head</code> into the scratch buffer.
+     *
+     * @return The number of collected entries.
+     */
+    private int collect(int head) {
+        int n = 0;
+        for (int e = head; e != NIL; e = next[e]) {
+            if (n == scratch.length) {
+                scratch = Arrays.copyOf(scratch, n << 1);
+            }
+            scratch[n++] = e;
+        }
+
+        // Lists are built by prepending, so restore the insertion order to speed up sorting
+        for (int i = 0, j = n - 1; i < j; i++, j--) {
+            int tmp = scratch[i];
+            scratch[i] = scratch[j];
+            scratch[j] = tmp;
+        }
+        return n;
+    }
+
+    private void pushTop(int e) {
+        long deadline = deadlines[e];
+        topMin = Math.min(topMin, deadline);
+        topMax = Math.max(topMax, deadline);
+        topCount++;
+
+        location[e] = TOP;
+        prepend(e, topHead);
+        topHead = e;
+    }
+
+    private void unlinkTop(int e) {
+        int p = prev[e];
+        int n = next[e];
+        if (p != NIL) {
+            next[p] = n;
+        } else {
+            topHead = n;
+        }
+        if (n != NIL) {
+            prev[n] = p;
+        }
+
+        if (--topCount == 0) {
+            topMin = Long.MAX_VALUE;
+            topMax = Long.MIN_VALUE;
+        }
+    }
+
+    private void pushRung(int r, int b, int e) {
+        // Encode the rung and bucket in the location of the entry
+        location[e] = r * MAX_BUCKETS + b;
+        prepend(e, rungHeads[r][b]);
+        rungHeads[r][b] = e;
+        rungCounts[r][b]++;
+        rungSize[r]++;
+    }
+
+    private void unlinkRung(int e) {
+        int r = location[e] / MAX_BUCKETS;
+        int b = location[e] % MAX_BUCKETS;
+
+        int p = prev[e];
+        int n = next[e];
+        if (p != NIL) {
+            next[p] = n;
+        } else {
+            rungHeads[r][b] = n;
+        }
+        if (n != NIL) {
+            prev[n] = p;
+        }
+
+        rungCounts[r][b]--;
+        rungSize[r]--;
+    }
+
+    private void prepend(int e, int head) {
+        prev[e] = NIL;
+        next[e] = head;
+        if (head != NIL) {
+            prev[head] = e;
+        }
+    }
+
+    /**
+     * Insert an entry into the sorted bottom list, scanning from the tail since new entries tend to be late.
+     */
+    private void insertBottom(int e) {
+        location[e] = BOTTOM;
+
+        int cur = bottomTail;
+        while (cur != NIL && less(e, cur)) {
+            cur = prev[cur];
+        }
+
+        int after = cur == NIL ? bottomHead : next[cur];
+        prev[e] = cur;
+        next[e] = after;
+        if (cur != NIL) {
+            next[cur] = e;
+        } else {
+            bottomHead = e;
+        }
+        if (after != NIL) {
+            prev[after] = e;
+        } else {
+            bottomTail = e;
+        }
+    }
+
+    private void appendBottom(int e) {
+        location[e] = BOTTOM;
+        prev[e] = bottomTail;
+        next[e] = NIL;
+        if (bottomTail != NIL) {
+            next[bottomTail] = e;
+        } else {
+            bottomHead = e;
+        }
+        bottomTail = e;
+    }
+
+    private void unlinkBottom(int e) {
+        int p = prev[e];
+        int n = next[e];
+        if (p != NIL) {
+            next[p] = n;
+        } else {
+            bottomHead = n;
+        }
+        if (n != NIL) {
+            prev[n] = p;
+        } else {
+            bottomTail = p;
+        }
+    }
+
+    /**
+     * Reset the ladder once the queue is empty.
+     */
+    private void reset() {
+        topHead = NIL;
+        topCount = 0;
+        topMin = Long.MAX_VALUE;
+        topMax = Long.MIN_VALUE;
+        topStart = Long.MIN_VALUE;
+        rungCount = 0;
+        bottomHead = NIL;
+        bottomTail = NIL;
+    }
+}
@@ -0,0 +1,325 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.common.util;
+
+import java.util.Arrays;
+
+/**
+ * Base class for {@link EventQueue} implementations that store their elements in doubly-linked lists of entries.
+ * <p>
+ * Entries are kept in parallel primitive arrays and recycled through a free list, so that adding an element does not
+ * allocate once the queue has warmed up. An index from identifier to entry allows pending elements to be removed in
+ * constant time.
+ */
+abstract class LinkedEventQueue<T> implements EventQueue<T> {
+    /**
+     * The value representing the absence of an entry.
+     */
+    static final int NIL = -1;
+
+    long[] deadlines;
+    int[] ids;
+    Object[] elements;
+    int[] prev;
+    int[] next;
+
+    /**
+     * The list (bucket) in which each entry currently resides.
+     */
+    int[] location;
+
+    /**
+     * The head of the list of free entries.
+     */
+    private int free = NIL;
+
+    /**
+     * The number of entries that have been handed out at least once.
+     */
+    private int allocated = 0;
+
+    /**
+     * The number of elements in the queue.
+     */
+    int size = 0;
+
+    /**
+     * Open-addressing index from element identifier to entry.
+     */
+    private int[] indexKeys;
+
+    private int[] indexValues;
+
+    LinkedEventQueue(int initialCapacity) {
+        int capacity = Math.max(4, initialCapacity);
+        this.deadlines = new long[capacity];
+        this.ids = new int[capacity];
+        this.elements = new Object[capacity];
+        this.prev = new int[capacity];
+        this.next = new int[capacity];
+        this.location = new int[capacity];
+
+        int indexCapacity = Integer.highestOneBit(capacity - 1) << 2;
+        this.indexKeys = new int[indexCapacity];
+        this.indexValues = new int[indexCapacity];
+        Arrays.fill(this.indexValues, NIL);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Allocate a new entry for the specified element and register its identifier.
+     */
+    final int allocate(long deadline, int id, Object element) {
+        int e = free;
+        if (e != NIL) {
+            free = next[e];
+        } else {
+            if (allocated == deadlines.length) {
+                grow();
+            }
+            e = allocated++;
+        }
+
+        deadlines[e] = deadline;
+        ids[e] = id;
+        elements[e] = element;
+        prev[e] = NIL;
+        next[e] = NIL;
+
+        indexPut(id, e);
+        size++;
+        return e;
+    }
+
+    /**
+     * Release the specified entry, which must already be unlinked from its list.
+     */
+    final void release(int e) {
+        indexRemove(ids[e]);
+        elements[e] = null;
+        next[e] = free;
+        free = e;
+        size--;
+    }
+
+    /**
+     * Find the entry with the specified deadline and identifier.
+     *
+     * @return The entry or {@link #NIL} if no such entry exists.
+     */
+    final int lookup(long deadline, int id) {
+        int e = indexGet(id);
+        if (e != NIL && deadlines[e] != deadline) {
+            return NIL;
+        }
+        return e;
+    }
+
+    /**
+     * Return the element of the specified entry.
+     */
+    @SuppressWarnings("unchecked")
+    final T elementOf(int e) {
+        return (T) elements[e];
+    }
+
+    /**
+     * Determine whether entry <code>a</code> is ordered before entry <code>b</code>.
+     */
+    final boolean less(int a, int b) {
+        long da = deadlines[a];
+        long db = deadlines[b];
+        return da < db || (da == db && ids[a] < ids[b]);
+    }
+
+    /**
+     * Scratch buffer used when sorting entries.
+     */
+    private int[] sortBuffer = new int[0];
+
+    /**
+     * Sort the specified entries in queue order.
+     */
+    final void sort(int[] entries, int from, int to) {
+        if (to - from <= 32) {
+            insertionSort(entries, from, to);
+            return;
+        }
+
+        if (sortBuffer.length < entries.length) {
+            sortBuffer = new int[entries.length];
+        }
+
+        // Bottom-up merge sort over runs that are sorted by insertion sort first
+        for (int i = from; i < to; i += 32) {
+            insertionSort(entries, i, Math.min(i + 32, to));
+        }
+
+        int[] src = entries;
+        int[] dst = sortBuffer;
+        for (int width = 32; width < to - from; width <<= 1) {
+            for (int lo = from; lo < to; lo += width << 1) {
+                int mid = Math.min(lo + width, to);
+                int hi = Math.min(lo + (width << 1), to);
+                int i = lo;
+                int j = mid;
+                for (int k = lo; k < hi; k++) {
+                    if (i < mid && (j >= hi || !less(src[j], src[i]))) {
+                        dst[k] = src[i++];
+                    } else {
+                        dst[k] = src[j++];
+                    }
+                }
+            }
+            int[] tmp = src;
+            src = dst;
+            dst = tmp;
+        }
+
+        if (src != entries) {
+            System.arraycopy(src, from, entries, from, to - from);
+        }
+    }
+
+    private void insertionSort(int[] entries, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            int e = entries[i];
+            int j = i - 1;
+            while (j >= from && less(e, entries[j])) {
+                entries[j + 1] = entries[j];
+                j--;
+            }
+            entries[j + 1] = e;
+        }
+    }
+
+    private void grow() {
+        int oldCapacity = deadlines.length;
+        int newCapacity = oldCapacity + (oldCapacity >> 1);
+
+        deadlines = Arrays.copyOf(deadlines, newCapacity);
+        ids = Arrays.copyOf(ids, newCapacity);
+        elements = Arrays.copyOf(elements, newCapacity);
+        prev = Arrays.copyOf(prev, newCapacity);
+        next = Arrays.copyOf(next, newCapacity);
+        location = Arrays.copyOf(location, newCapacity);
+    }
+
+    private int indexGet(int id) {
+        final int[] keys = indexKeys;
+        final int[] values = indexValues;
+        final int mask = keys.length - 1;
+
+        for (int i = mix(id) & mask; ; i = (i + 1) & mask) {
+            int value = values[i];
+            if (value == NIL) {
+                return NIL;
+            } else if (keys[i] == id) {
+                return value;
+            }
+        }
+    }
+
+    private void indexPut(int id, int e) {
+        if (size * 2 >= indexKeys.length) {
+            rehash(indexKeys.length << 1);
+        }
+
+        final int[] keys = indexKeys;
+        final int[] values = indexValues;
+        final int mask = keys.length - 1;
+
+        int i = mix(id) & mask;
+        while (values[i] != NIL && keys[i] != id) {
+            i = (i + 1) & mask;
+        }
+
+        keys[i] = id;
+        values[i] = e;
+    }
+
+    private void indexRemove(int id) {
+        final int[] keys = indexKeys;
+        final int[] values = indexValues;
+        final int mask = keys.length - 1;
+
+        int i = mix(id) & mask;
+        while (values[i] != NIL && keys[i] != id) {
+            i = (i + 1) & mask;
+        }
+
+        if (values[i] == NIL) {
+            return;
+        }
+
+        // Backward-shift deletion to keep probe sequences intact
+        int j = i;
+        while (true) {
+            j = (j + 1) & mask;
+            if (values[j] == NIL) {
+                break;
+            }
+
+            int home = mix(keys[j]) & mask;
+            if (((j - home) & mask) >= ((j - i) & mask)) {
+                keys[i] = keys[j];
+                values[i] = values[j];
+                i = j;
+            }
+        }
+
+        values[i] = NIL;
+    }
+
+    private void rehash(int newCapacity) {
+        final int[] oldKeys = indexKeys;
+        final int[] oldValues = indexValues;
+
+        indexKeys = new int[newCapacity];
+        indexValues = new int[newCapacity];
+        Arrays.fill(indexValues, NIL);
+
+        final int mask = newCapacity - 1;
+        for (int k = 0; k < oldKeys.length; k++) {
+            if (oldValues[k] == NIL) {
+                continue;
+            }
+
+            int i = mix(oldKeys[k]) & mask;
+            while (indexValues[i] != NIL) {
+                i = (i + 1) & mask;
+            }
+            indexKeys[i] = oldKeys[k];
+            indexValues[i] = oldValues[k];
+        }
+    }
+
+    private static int mix(int id) {
+        int h = id * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package org.opendc.common.util
+
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertNull
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import java.util.TreeMap
+import kotlin.random.Random
+
+/**
+ * A test suite for the generic [EventQueue] implementations.
+ */
+class EventQueueTest {
+    private val types = EventQueueType.entries
+
+    @Test
+    fun testEmpty() {
+        for (type in types) {
+            val queue = type.create<String>()
+
+            assertEquals(0, queue.size())
+            assertEquals(Long.MAX_VALUE, queue.peekDeadline())
+            assertNull(queue.poll())
+            assertFalse(queue.remove(0, 0))
+        }
+    }
+
+    @Test
+    fun testOrderWithTies() {
+        for (type in types) {
+            val queue = type.create<String>()
+
+            queue.add(100, 2, "c")
+            queue.add(50, 3, "a")
+            queue.add(100, 1, "b")
+            queue.add(200, 0, "d")
+
+            assertEquals(4, queue.size())
+            assertEquals(50, queue.peekDeadline())
+            assertEquals(listOf("a", "b", "c", "d"), List(4) { queue.poll() }, type.name)
+            assertEquals(0, queue.size())
+        }
+    }
+
+    @Test
+    fun testRemove() {
+        for (type in types) {
+            val queue = type.create<String>()
+
+            queue.add(100, 0, "a")
+            queue.add(200, 1, "b")
+            queue.add(300, 2, "c")
+
+            assertFalse(queue.remove(200, 0))
+            assertTrue(queue.remove(200, 1))
+            assertFalse(queue.remove(200, 1))
+
+            assertEquals("a", queue.poll())
+            assertEquals("c", queue.poll())
+            assertNull(queue.poll())
+        }
+    }
+
+    @Test
+    fun testRandomHoldModel() {
+        for (type in types) {
+            replay(type, Random(0)) { now, random -> now + random.nextLong(1, 10_000) }
+        }
+    }
+
+    @Test
+    fun testClusteredDeadlines() {
+        // Deadlines of trace fragments cluster at multiples of the sampling interval
+        for (type in types) {
+            replay(type, Random(1)) { now, random -> (now / 300_000 + random.nextLong(1, 4)) * 300_000 }
+        }
+    }
+
+    @Test
+    fun testWideSpread() {
+        for (type in types) {
+            replay(type, Random(2)) { now, random ->
+                if (random.nextInt(10) == 0) now + random.nextLong(1_000_000_000) else now + random.nextLong(10)
+            }
+        }
+    }
+
+    @Test
+    fun testBulkDrain() {
+        for (type in types) {
+            val queue = type.create<Int>()
+            val random = Random(3)
+            val deadlines = LongArray(100_000) { (random.nextLong(0, 1000)) * 300_000 + random.nextLong(3) }
+
+            for ((i, deadline) in deadlines.withIndex()) {
+                queue.add(deadline, i, i)
+            }
+
+            val expected = deadlines.indices.sortedWith(compareBy<Int> { deadlines[it] }.thenBy { it })
+            for (i in expected) {
+                assertEquals(i, queue.poll(), type.name)
+            }
+            assertNull(queue.poll())
+        }
+    }
+
+    /**
+     * Replay a random sequence of additions, removals and polls against a reference queue.
+     */
+    private fun replay(
+        type: EventQueueType,
+        random: Random,
+        nextDeadline: (Long, Random) -> Long,
+    ) {
+        val queue = type.create<Int>()
+        val reference = TreeMap<Pair<Long, Int>, Int>(compareBy<Pair<Long, Int>> { it.first }.thenBy { it.second })
+        var now = 0L
+        var id = 0
+
+        repeat(50_000) {
+            when (random.nextInt(10)) {
+                in 0..4 -> {
+                    val deadline = nextDeadline(now, random)
+                    queue.add(deadline, id, id)
+                    reference[deadline to id] = id
+                    id++
+                }
+                in 5..6 -> {
+                    if (reference.isNotEmpty()) {
+                        val key = reference.keys.elementAt(random.nextInt(minOf(reference.size, 16)))
+                        assertTrue(queue.remove(key.first, key.second), type.name)
+                        reference.remove(key)
+                    }
+                }
+                else -> {
+                    val expected = reference.pollFirstEntry()
+                    assertEquals(expected?.key?.first ?: Long.MAX_VALUE, queue.peekDeadline(), type.name)
+
+                    // Polling an empty queue returns null, so do not let the result be unboxed
+                    val actual: Int? = queue.poll()
+                    assertEquals(expected?.value, actual, type.name)
+                    if (expected != null) {
+                        now = expected.key.first
+                    }
+                }
+            }
+
+            assertEquals(reference.size, queue.size(), type.name)
+        }
+
+        while (reference.isNotEmpty()) {
+            assertEquals(reference.pollFirstEntry().value, queue.poll(), type.name)
+        }
+        assertNull(queue.poll())
+    }
+}
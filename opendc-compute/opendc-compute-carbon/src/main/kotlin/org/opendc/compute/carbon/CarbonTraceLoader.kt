@@ -23,6 +23,7 @@
 package org.opendc.compute.carbon
 
 import org.opendc.simulator.compute.power.CarbonFragment
+import org.opendc.simulator.compute.power.CarbonTimeline
 import org.opendc.trace.Trace
 import org.opendc.trace.conv.CARBON_INTENSITY
 import org.opendc.trace.conv.CARBON_TIMESTAMP
@@ -38,16 +39,15 @@ import java.util.concurrent.ConcurrentHashMap
  */
 public class CarbonTraceLoader {
     /**
-     * The cache of workloads.
+     * The cache of carbon timelines, keyed by the canonical path of the trace.
      */
-    private val cache = ConcurrentHashMap<String, SoftReference<List<CarbonFragment>>>()
-
-    private val builder = CarbonFragmentNewBuilder()
+    private val cache = ConcurrentHashMap<String, SoftReference<CarbonTimeline>>()
 
     /**
      * Read the metadata into a workload.
      */
     private fun parseCarbon(trace: Trace): List<CarbonFragment> {
+        val builder = CarbonFragmentNewBuilder()
         val reader = checkNotNull(trace.getTable(TABLE_CARBON)).newReader()
 
         val startTimeCol = reader.resolve(CARBON_TIMESTAMP)
@@ -82,6 +82,21 @@ public class CarbonTraceLoader {
         return parseCarbon(trace)
     }
 
+    /**
+     * Load the Carbon Trace at the given path as an immutable [CarbonTimeline].
+     *
+     * Timelines are cached per trace, such that all simulations of the same region share a single timeline.
+     */
+    public fun getTimeline(pathToFile: File): CarbonTimeline {
+        val key = pathToFile.canonicalPath
+        cache[key]?.get()?.let { return it }
+
+        val timeline = CarbonTimeline.of(get(pathToFile))
+        // Another thread may have loaded the same trace in the meantime, so prefer the timeline that is cached
+        val ref = cache.merge(key, SoftReference(timeline)) { old, new -> if (old.get() != null) old else new }
+        return ref?.get() ?: timeline
+    }
+
     /**
      * Clear the workload cache.
      */
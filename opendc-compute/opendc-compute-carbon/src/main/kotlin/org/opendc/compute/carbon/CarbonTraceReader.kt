@@ -25,6 +25,7 @@
 package org.opendc.compute.carbon
 
 import org.opendc.simulator.compute.power.CarbonFragment
+import org.opendc.simulator.compute.power.CarbonTimeline
 import java.io.File
 import javax.management.InvalidAttributeValueException
 
@@ -49,3 +50,52 @@ public fun getCarbonFragments(file: File): List<CarbonFragment> {
 
     return CarbonTraceLoader().get(file)
 }
+
+/**
+ * The loader that caches the carbon timelines shared between simulations.
+ */
+private val timelineLoader = CarbonTraceLoader()
+
+/**
+ * Construct a shared carbon timeline from a trace.
+ */
+public fun getCarbonTimeline(pathToFile: String?): CarbonTimeline? {
+    if (pathToFile == null) {
+        return null
+    }
+
+    return getCarbonTimeline(File(pathToFile))
+}
+
+/**
+ * Construct a shared carbon timeline from a trace.
+ *
+ * Timelines are immutable, so the timeline of a trace is loaded once and shared by all simulations that use it.
+ */
+public fun getCarbonTimeline(file: File): CarbonTimeline {
+    if (!file.exists()) {
+        throw InvalidAttributeValueException("The carbon trace cannot be found")
+    }
+
+    return timelineLoader.getTimeline(file)
+}
+
+/**
+ * Construct the shared carbon timelines of several traces, such as the traces of the regions of a topology.
+ *
+ * Traces that are not cached yet are loaded concurrently, and each distinct trace is only loaded once.
+ *
+ * @return The timeline of each of the given paths.
+ */
+public fun getCarbonTimelines(pathsToFiles: Collection<String>): Map<String, CarbonTimeline> {
+    val paths = pathsToFiles.distinct()
+    if (paths.size <= 1) {
+        return paths.associateWith { getCarbonTimeline(File(it)) }
+    }
+
+    return paths
+        .parallelStream()
+        .map { it to getCarbonTimeline(File(it)) }
+        .toList()
+        .toMap()
+}
@@ -22,6 +22,7 @@
 
 package org.opendc.compute.failure.hostfault
 
+import kotlinx.coroutines.delay
 import org.opendc.compute.simulator.host.SimHost
 import org.opendc.compute.simulator.service.ComputeService
 
@@ -32,10 +33,24 @@ public abstract class HostFault(
     private val service: ComputeService,
 ) {
     /**
-     * Apply the fault to the specified [victims].
+     * Apply the fault to the specified [victims] and suspend until they have recovered after [faultDuration].
      */
-    public abstract suspend fun apply(
+    public open suspend fun apply(
         victims: List<SimHost>,
         faultDuration: Long,
-    )
+    ) {
+        inject(victims)
+        delay(faultDuration)
+        recover(victims)
+    }
+
+    /**
+     * Inject the fault into the specified [victims].
+     */
+    public abstract fun inject(victims: List<SimHost>)
+
+    /**
+     * Recover the specified [victims] from the fault.
+     */
+    public abstract fun recover(victims: List<SimHost>)
 }
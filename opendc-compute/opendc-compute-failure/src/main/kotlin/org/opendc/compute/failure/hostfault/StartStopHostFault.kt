@@ -22,7 +22,6 @@
 
 package org.opendc.compute.failure.hostfault
 
-import kotlinx.coroutines.delay
 import org.opendc.compute.simulator.host.SimHost
 import org.opendc.compute.simulator.service.ComputeService
 
@@ -32,10 +31,7 @@ import org.opendc.compute.simulator.service.ComputeService
 public class StartStopHostFault(
     private val service: ComputeService,
 ) : HostFault(service) {
-    override suspend fun apply(
-        victims: List<SimHost>,
-        faultDuration: Long,
-    ) {
+    override fun inject(victims: List<SimHost>) {
         val client: ComputeService.ComputeClient = service.newClient()
 
         for (host in victims) {
@@ -49,9 +45,9 @@ public class StartStopHostFault(
                 client.rescheduleTask(task, snapshot)
             }
         }
+    }
 
-        delay(faultDuration)
-
+    override fun recover(victims: List<SimHost>) {
         for (host in victims) {
             host.recover()
         }
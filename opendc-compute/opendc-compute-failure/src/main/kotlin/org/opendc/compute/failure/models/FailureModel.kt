@@ -62,7 +62,7 @@ public abstract class FailureModel(
     /**
      * Start the fault injection into the system.
      */
-    public fun start() {
+    public open fun start() {
         if (job != null) {
             return
         }
@@ -76,6 +76,16 @@ public abstract class FailureModel(
 
     public abstract suspend fun runInjector()
 
+    /**
+     * Compile the failures of this model into a [FailureSchedule] that can be injected by a [ScheduledFailureModel].
+     *
+     * Compiling a schedule draws from the same random sources as [runInjector], so a model should either be compiled
+     * or started, but not both.
+     *
+     * @return The compiled schedule or `null` if this model cannot be compiled ahead of time.
+     */
+    public open fun compileSchedule(): FailureSchedule? = null
+
     /**
      * Stop the fault injector.
      */
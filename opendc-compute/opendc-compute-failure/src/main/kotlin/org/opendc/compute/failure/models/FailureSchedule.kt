@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.compute.failure.models
+
+import org.apache.commons.math3.distribution.RealDistribution
+import java.util.SplittableRandom
+import java.util.random.RandomGenerator
+import kotlin.math.max
+import kotlin.math.min
+import kotlin.math.roundToInt
+import kotlin.math.roundToLong
+
+/**
+ * An immutable, precomputed schedule of host failures.
+ *
+ * The failures are stored in primitive arrays, ordered by the time at which they occur. Victims are not stored as
+ * hosts, such that a schedule can be shared between simulations of different topologies. Instead, each failure
+ * stores its intensity and a seed, from which [selectVictims] deterministically selects the victims.
+ *
+ * A schedule compiled for a seed draws the failure times and durations in the same order as the failure model it is
+ * compiled from draws them when it is injected directly, so both inject the same failures at the same times. The
+ * victims differ: a failure model selects them through an unseeded shuffle, whereas a schedule selects them through
+ * a shuffle seeded by the schedule.
+ *
+ * @param times The offset in milliseconds since the start of the injection at which each failure occurs.
+ * @param durations The duration in milliseconds of each failure.
+ * @param intensities The fraction of hosts that fails in each failure.
+ * @param victimSeeds The seed from which the victims of each failure are selected.
+ * @param period The interval in milliseconds after which the schedule repeats itself or zero to not repeat.
+ */
+public class FailureSchedule(
+    private val times: LongArray,
+    private val durations: LongArray,
+    private val intensities: DoubleArray,
+    private val victimSeeds: LongArray,
+    public val period: Long = 0,
+) {
+    init {
+        require(times.size == durations.size && times.size == intensities.size && times.size == victimSeeds.size) {
+            "All arrays of a failure schedule must have the same length"
+        }
+        require(period >= 0) { "The period of a failure schedule cannot be negative" }
+
+        for (i in times.indices) {
+            require(times[i] >= 0 && (i == 0 || times[i] >= times[i - 1])) { "Failures must be ordered by time" }
+            require(durations[i] >= 0) { "A failure cannot have a negative duration" }
+        }
+    }
+
+    /**
+     * The number of failures in a single period of the schedule.
+     */
+    public val size: Int
+        get() = times.size
+
+    /**
+     * Return the offset in milliseconds since the start of the injection at which the failure at [index] occurs.
+     */
+    public fun getTime(index: Int): Long = times[index]
+
+    /**
+     * Return the duration in milliseconds of the failure at [index].
+     */
+    public fun getDuration(index: Int): Long = durations[index]
+
+    /**
+     * Return the fraction of hosts that fails in the failure at [index].
+     */
+    public fun getIntensity(index: Int): Double = intensities[index]
+
+    /**
+     * Select the victims of the failure at [index] during the specified [cycle] of the schedule.
+     *
+     * @param hosts The hosts to select from, in a deterministic order.
+     * @return The selected hosts, of which there are `hosts.size * intensity` rounded to the nearest integer.
+     */
+    public fun <T> selectVictims(
+        index: Int,
+        cycle: Long,
+        hosts: List<T>,
+    ): List<T> {
+        val intensity = min(1.0, max(0.0, intensities[index]))
+        val numberOfHosts = (hosts.size * intensity).roundToInt()
+
+        // Partial Fisher-Yates shuffle, each cycle of the schedule selecting different victims
+        val random = SplittableRandom(victimSeeds[index] + cycle * GOLDEN_GAMMA)
+        val candidates = hosts.toMutableList()
+        for (i in 0 until numberOfHosts) {
+            val j = i + random.nextInt(candidates.size - i)
+            candidates[j] = candidates[i].also { candidates[i] = candidates[j] }
+        }
+
+        return candidates.subList(0, numberOfHosts).toList()
+    }
+
+    override fun toString(): String = "FailureSchedule[failures=$size,period=$period]"
+
+    public companion object {
+        /**
+         * A schedule without any failures.
+         */
+        public val EMPTY: FailureSchedule = FailureSchedule(LongArray(0), LongArray(0), DoubleArray(0), LongArray(0))
+
+        /**
+         * Compile the schedule of the specified [failures], which are injected one after another like the
+         * [TraceBasedFailureModel] does: the interval of a failure starts when the previous failure has recovered.
+         *
+         * @param failures The failures in the order in which they are injected.
+         * @param repeat A flag to indicate that the failures repeat after the last failure has recovered.
+         * @param random The random source from which the victims of each failure are seeded.
+         */
+        public fun compile(
+            failures: List<Failure>,
+            repeat: Boolean,
+            random: RandomGenerator,
+        ): FailureSchedule {
+            val size = failures.size
+            val times = LongArray(size)
+            val durations = LongArray(size)
+            val intensities = DoubleArray(size)
+            val victimSeeds = LongArray(size)
+
+            var time = 0L
+            for ((i, failure) in failures.withIndex()) {
+                time += failure.failureInterval
+                times[i] = time
+                durations[i] = failure.failureDuration
+                intensities[i] = failure.failureIntensity
+                victimSeeds[i] = random.nextLong()
+                time += failure.failureDuration
+            }
+
+            return FailureSchedule(times, durations, intensities, victimSeeds, if (repeat) time else 0)
+        }
+
+        /**
+         * Compile the schedule of the single failure that the [SampleBasedFailureModel] injects, drawing the samples
+         * in the same order as the model.
+         *
+         * @param iatSampler A distribution from which the time until the failure is sampled in hours.
+         * @param durationSampler A distribution from which the duration of the failure is sampled in hours.
+         * @param nohSampler A distribution from which the fraction of hosts that fails is sampled.
+         * @param random The random source from which the victims of the failure are seeded.
+         */
+        public fun compile(
+            iatSampler: RealDistribution,
+            durationSampler: RealDistribution,
+            nohSampler: RealDistribution,
+            random: RandomGenerator,
+        ): FailureSchedule {
+            val iatSample = max(0.0, iatSampler.sample())
+            val intervalDuration = (iatSample * 3.6e6).roundToLong()
+
+            val numberOfHosts = min(1.0, max(0.0, nohSampler.sample()))
+
+            val durationSample = max(0.0, durationSampler.sample())
+            val faultDuration = (durationSample * 3.6e6).toLong()
+
+            return FailureSchedule(
+                longArrayOf(intervalDuration),
+                longArrayOf(faultDuration),
+                doubleArrayOf(numberOfHosts),
+                longArrayOf(random.nextLong()),
+            )
+        }
+
+        /**
+         * The increment between the seeds of consecutive cycles.
+         */
+        private const val GOLDEN_GAMMA = -0x61c8864680b583ebL
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.compute.failure.models
+
+import java.lang.ref.SoftReference
+
+/**
+ * A cache of compiled [FailureSchedule]s, such that simulations that use the same failure model and seed share a
+ * single schedule.
+ *
+ * The cache holds at most [CAPACITY] schedules and evicts the least recently used schedule beyond that. Schedules are
+ * softly referenced, so the garbage collector may reclaim them under memory pressure.
+ */
+public object FailureSchedules {
+    /**
+     * The maximum number of schedules in the cache.
+     */
+    internal const val CAPACITY = 64
+
+    /**
+     * The cache of failure schedules in access order.
+     */
+    private val cache = LinkedHashMap<Any, SoftReference<FailureSchedule>>(16, 0.75f, true)
+
+    /**
+     * Obtain the failure schedule for the specified [key], compiling it using [compile] if it is not cached.
+     *
+     * @param key A key that identifies the failure model and the seed from which the schedule is compiled. The key
+     * must implement [Any.equals] and [Any.hashCode], such as a data class.
+     * @param compile The function to compile the schedule.
+     */
+    public fun getOrCompile(
+        key: Any,
+        compile: () -> FailureSchedule,
+    ): FailureSchedule {
+        synchronized(cache) { cache[key]?.get() }?.let { return it }
+
+        // Compile outside the lock, such that schedules of different models are compiled concurrently
+        val schedule = compile()
+
+        synchronized(cache) {
+            // Another thread may have compiled the same schedule in the meantime, so prefer the schedule that is cached
+            cache[key]?.get()?.let { return it }
+            cache[key] = SoftReference(schedule)
+
+            // Evict the least recently used schedule, which comes first in access order
+            if (cache.size > CAPACITY) {
+                cache.remove(cache.keys.first())
+            }
+        }
+        return schedule
+    }
+
+    /**
+     * Return the number of schedules in the cache.
+     */
+    internal val size: Int
+        get() = synchronized(cache) { cache.size }
+
+    /**
+     * Clear the cache of failure schedules.
+     */
+    public fun reset() {
+        synchronized(cache) { cache.clear() }
+    }
+}
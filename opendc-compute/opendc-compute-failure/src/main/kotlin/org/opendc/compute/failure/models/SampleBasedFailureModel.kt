@@ -74,4 +74,8 @@ public class SampleBasedFailureModel(
             break
         }
     }
+
+    override fun compileSchedule(): FailureSchedule {
+        return FailureSchedule.compile(iatSampler, durationSampler, nohSampler, random)
+    }
 }
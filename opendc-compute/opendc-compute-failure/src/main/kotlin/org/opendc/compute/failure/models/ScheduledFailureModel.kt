@@ -0,0 +1,211 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.compute.failure.models
+
+import kotlinx.coroutines.delay
+import org.opendc.common.Dispatcher
+import org.opendc.common.DispatcherHandle
+import org.opendc.common.DispatcherProvider
+import org.opendc.compute.simulator.host.SimHost
+import org.opendc.compute.simulator.service.ComputeService
+import java.time.InstantSource
+import java.util.SplittableRandom
+import kotlin.coroutines.ContinuationInterceptor
+import kotlin.coroutines.CoroutineContext
+
+/**
+ * A [FailureModel] that injects the failures of a precomputed [FailureSchedule].
+ *
+ * If the [context] is backed by a [Dispatcher], the failures are injected through a single chain of dispatcher timers,
+ * in which each failure schedules its recovery and each recovery schedules the next failure. Otherwise, the failures
+ * are injected from a coroutine.
+ *
+ * The victims of each failure are selected by the schedule from the hosts ordered by name, such that a schedule
+ * injects the same failures into the same topology regardless of the order in which the hosts were registered. The
+ * failures occur at the same times and last as long as those of the model from which the schedule is compiled, but
+ * the victims differ from those the model selects, which are not seeded (see [FailureSchedule]).
+ *
+ * @param context
+ * @param clock
+ * @param service
+ * @param schedule The schedule of failures to inject.
+ */
+public class ScheduledFailureModel(
+    context: CoroutineContext,
+    clock: InstantSource,
+    service: ComputeService,
+    private val schedule: FailureSchedule,
+) : FailureModel(context, clock, service, SplittableRandom(0)) {
+    /**
+     * The dispatcher to schedule the failures on or `null` if the failures are injected from a coroutine.
+     */
+    private val dispatcher: Dispatcher? = (context[ContinuationInterceptor] as? DispatcherProvider)?.dispatcher
+
+    /**
+     * The hosts from which the victims are selected.
+     */
+    private val candidates: List<SimHost> = hosts.sortedBy { it.getName() }
+
+    /**
+     * The timestamp at which the injection started or [Long.MIN_VALUE] if the injection has not started yet.
+     */
+    private var startTime = Long.MIN_VALUE
+
+    /**
+     * The number of failures that have been injected over all cycles of the schedule.
+     */
+    private var injected = 0L
+
+    /**
+     * The handle of the pending timer of the chain.
+     */
+    private var handle: DispatcherHandle? = null
+
+    /**
+     * A flag to indicate that the injector has been closed.
+     */
+    private var isClosed = false
+
+    override fun start() {
+        val dispatcher = dispatcher
+        if (dispatcher == null) {
+            super.start()
+            return
+        } else if (startTime != Long.MIN_VALUE || isClosed) {
+            return
+        }
+
+        startTime = clock.millis()
+        scheduleNext(dispatcher)
+    }
+
+    override suspend fun runInjector() {
+        val startTime = clock.millis()
+        var injected = 0L
+
+        while (true) {
+            val deadline = getDeadline(startTime, injected) ?: return
+            delay(deadline - clock.millis())
+
+            val duration = schedule.getDuration(getIndex(injected))
+            fault.apply(selectVictims(injected++), duration)
+        }
+    }
+
+    override fun compileSchedule(): FailureSchedule = schedule
+
+    override fun close() {
+        isClosed = true
+        handle?.cancel()
+        handle = null
+        super.close()
+    }
+
+    /**
+     * Schedule a timer for the next failure of the schedule.
+     */
+    private fun scheduleNext(dispatcher: Dispatcher) {
+        val deadline = getDeadline(startTime, injected) ?: return
+        val delay = deadline - clock.millis()
+
+        if (delay <= 0) {
+            onFailure(dispatcher)
+        } else {
+            handle = dispatcher.scheduleCancellable(delay) { onFailure(dispatcher) }
+        }
+    }
+
+    /**
+     * Inject the next failure of the schedule and schedule its recovery.
+     */
+    private fun onFailure(dispatcher: Dispatcher) {
+        handle = null
+
+        val duration = schedule.getDuration(getIndex(injected))
+        val victims = selectVictims(injected++)
+        fault.inject(victims)
+
+        if (duration <= 0) {
+            onRecovery(dispatcher, victims)
+        } else if (duration <= Long.MAX_VALUE - clock.millis()) {
+            handle = dispatcher.scheduleCancellable(duration) { onRecovery(dispatcher, victims) }
+        }
+        // A failure that does not end within the range of the clock never recovers, which ends the chain
+    }
+
+    /**
+     * Recover the [victims] of the last failure and schedule the next failure.
+     */
+    private fun onRecovery(
+        dispatcher: Dispatcher,
+        victims: List<SimHost>,
+    ) {
+        handle = null
+
+        fault.recover(victims)
+        scheduleNext(dispatcher)
+    }
+
+    /**
+     * Select the victims of the failure with the specified sequence number over all cycles of the schedule.
+     */
+    private fun selectVictims(n: Long): List<SimHost> {
+        val cycle = n / schedule.size
+        return schedule.selectVictims(getIndex(n), cycle, candidates)
+    }
+
+    /**
+     * Return the index in the schedule of the failure with the specified sequence number.
+     */
+    private fun getIndex(n: Long): Int = (n % schedule.size).toInt()
+
+    /**
+     * Compute the timestamp of the failure with the specified sequence number.
+     *
+     * @return The timestamp of the failure or `null` if the schedule has no such failure within the range of the clock.
+     */
+    private fun getDeadline(
+        startTime: Long,
+        n: Long,
+    ): Long? {
+        val size = schedule.size
+        if (size == 0) {
+            return null
+        }
+
+        val cycle = n / size
+        val period = schedule.period
+        if (cycle > 0 && period == 0L) {
+            return null
+        }
+
+        val time = schedule.getTime((n % size).toInt())
+        val limit = Long.MAX_VALUE - startTime
+        if (cycle > 0 && cycle > (limit - time) / period) {
+            return null
+        }
+
+        val offset = cycle * period + time
+        return if (offset <= limit) startTime + offset else null
+    }
+}
@@ -75,7 +75,7 @@ public class TraceBasedFailureModel(
     startPoint: Double,
     private val repeat: Boolean = true,
 ) : FailureModel(context, clock, service, random) {
-    private val failureList = loadTrace(pathToTrace, startPoint)
+    private val failureList = loadFailureTrace(pathToTrace, startPoint)
 
     override suspend fun runInjector() {
         do {
@@ -89,41 +89,44 @@ public class TraceBasedFailureModel(
         } while (repeat)
     }
 
-    /**
-     * Load a list [Failure] objects from the provided [pathToFile]
-     *
-     * @param pathToFile
-     */
-    private fun loadTrace(
-        pathToFile: String,
-        startPoint: Double,
-    ): List<Failure> {
-        val trace = Trace.open(File(pathToFile), "failure")
+    override fun compileSchedule(): FailureSchedule = FailureSchedule.compile(failureList, repeat, random)
+}
 
-        val reader = checkNotNull(trace.getTable(TABLE_FAILURES)).newReader()
+/**
+ * Load a list [Failure] objects from the provided [pathToFile]
+ *
+ * @param pathToFile
+ * @param startPoint The relative point in the trace at which the list starts, after which it wraps around.
+ */
+public fun loadFailureTrace(
+    pathToFile: String,
+    startPoint: Double,
+): List<Failure> {
+    val trace = Trace.open(File(pathToFile), "failure")
 
-        val failureStartTimeCol = reader.resolve(FAILURE_INTERVAL)
-        val failureDurationCol = reader.resolve(FAILURE_DURATION)
-        val failureIntensityCol = reader.resolve(FAILURE_INTENSITY)
+    val reader = checkNotNull(trace.getTable(TABLE_FAILURES)).newReader()
 
-        val entries = mutableListOf<Failure>()
+    val failureStartTimeCol = reader.resolve(FAILURE_INTERVAL)
+    val failureDurationCol = reader.resolve(FAILURE_DURATION)
+    val failureIntensityCol = reader.resolve(FAILURE_INTENSITY)
 
-        try {
-            while (reader.nextRow()) {
-                val failureStartTime = reader.getLong(failureStartTimeCol)
-                val failureDuration = reader.getLong(failureDurationCol)
-                val failureIntensity = reader.getDouble(failureIntensityCol)
+    val entries = mutableListOf<Failure>()
 
-                entries.add(Failure(failureStartTime, failureDuration, failureIntensity))
-            }
+    try {
+        while (reader.nextRow()) {
+            val failureStartTime = reader.getLong(failureStartTimeCol)
+            val failureDuration = reader.getLong(failureDurationCol)
+            val failureIntensity = reader.getDouble(failureIntensityCol)
 
-            val startIndex: Int = (entries.size * startPoint).toInt()
-            return entries.subList(startIndex, entries.size) + entries.subList(0, startIndex)
-        } catch (e: Exception) {
-            e.printStackTrace()
-            throw e
-        } finally {
-            reader.close()
+            entries.add(Failure(failureStartTime, failureDuration, failureIntensity))
         }
+
+        val startIndex: Int = (entries.size * startPoint).toInt()
+        return entries.subList(startIndex, entries.size) + entries.subList(0, startIndex)
+    } catch (e: Exception) {
+        e.printStackTrace()
+        throw e
+    } finally {
+        reader.close()
     }
 }
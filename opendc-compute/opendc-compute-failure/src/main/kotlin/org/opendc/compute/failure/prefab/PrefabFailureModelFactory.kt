@@ -24,9 +24,13 @@
 
 package org.opendc.compute.failure.prefab
 
+import org.opendc.compute.failure.models.FailureSchedule
+import org.opendc.compute.failure.models.FailureSchedules
 import org.opendc.compute.failure.models.SampleBasedFailureModel
+import org.opendc.compute.failure.models.ScheduledFailureModel
 import org.opendc.compute.simulator.service.ComputeService
 import java.time.InstantSource
+import java.util.Random
 import java.util.random.RandomGenerator
 import kotlin.coroutines.CoroutineContext
 
@@ -138,3 +142,58 @@ public fun createFailureModelPrefab(
         else -> error("Unknown failure prefab: $prefab")
     }
 }
+
+/**
+ * Get the precomputed [FailureSchedule] of the provided prefab for the specified [seed].
+ *
+ * The schedule is compiled from the model that [createFailureModelPrefab] creates for a [Random] with the specified
+ * [seed]. Schedules are cached, such that all simulations of the same prefab and seed share a single schedule.
+ *
+ * The host fractions of a prefab are drawn from a separate generator, which is seeded after the generator of the
+ * inter-arrival times and durations, such that seeding the host fractions does not shift the other draws.
+ *
+ * @param context
+ * @param clock
+ * @param service
+ * @param seed The seed from which the schedule is compiled.
+ * @param prefab The name of the failure model prefab
+ * @return
+ */
+public fun getFailureSchedulePrefab(
+    context: CoroutineContext,
+    clock: InstantSource,
+    service: ComputeService,
+    seed: Long,
+    prefab: FailurePrefab,
+): FailureSchedule {
+    return FailureSchedules.getOrCompile(PrefabScheduleKey(prefab, seed)) {
+        // The model is only created to compile its samplers and is never started
+        createFailureModelPrefab(context, clock, service, Random(seed), prefab).use { it.compileSchedule() }
+    }
+}
+
+/**
+ * Get a [ScheduledFailureModel] that injects the precomputed schedule of the provided prefab for the specified [seed].
+ *
+ * @param context
+ * @param clock
+ * @param service
+ * @param seed The seed from which the schedule is compiled.
+ * @param prefab The name of the failure model prefab
+ * @return
+ */
+public fun createScheduledFailureModelPrefab(
+    context: CoroutineContext,
+    clock: InstantSource,
+    service: ComputeService,
+    seed: Long,
+    prefab: FailurePrefab,
+): ScheduledFailureModel {
+    val schedule = getFailureSchedulePrefab(context, clock, service, seed, prefab)
+    return ScheduledFailureModel(context, clock, service, schedule)
+}
+
+/**
+ * The key of a prefab in the cache of failure schedules.
+ */
+private data class PrefabScheduleKey(val prefab: FailurePrefab, val seed: Long)
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.compute.failure.models
+
+import org.apache.commons.math3.distribution.ConstantRealDistribution
+import org.junit.jupiter.api.Assertions.assertArrayEquals
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertNotEquals
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertAll
+import org.junit.jupiter.api.assertThrows
+import java.util.Random
+
+/**
+ * Test suite for the [FailureSchedule] class.
+ */
+class FailureScheduleTest {
+    @Test
+    fun testInvalidSchedule() {
+        assertAll(
+            {
+                assertThrows<IllegalArgumentException> {
+                    FailureSchedule(longArrayOf(0), longArrayOf(), doubleArrayOf(0.5), longArrayOf(0))
+                }
+            },
+            {
+                assertThrows<IllegalArgumentException> {
+                    FailureSchedule(longArrayOf(10, 5), longArrayOf(1, 1), doubleArrayOf(0.5, 0.5), longArrayOf(0, 1))
+                }
+            },
+            {
+                assertThrows<IllegalArgumentException> {
+                    FailureSchedule(longArrayOf(0), longArrayOf(-1), doubleArrayOf(0.5), longArrayOf(0))
+                }
+            },
+            {
+                assertThrows<IllegalArgumentException> {
+                    FailureSchedule(longArrayOf(0), longArrayOf(1), doubleArrayOf(0.5), longArrayOf(0), period = -1)
+                }
+            },
+        )
+    }
+
+    @Test
+    fun testSelectVictims() {
+        val schedule = FailureSchedule(longArrayOf(0), longArrayOf(1), doubleArrayOf(0.3), longArrayOf(42))
+        val hosts = List(10) { "H$it" }
+
+        val victims = schedule.selectVictims(0, 0, hosts)
+        val nextVictims = schedule.selectVictims(0, 1, hosts)
+
+        assertAll(
+            { assertEquals(3, victims.size) },
+            { assertEquals(3, victims.toSet().size) { "The victims are not distinct" } },
+            { assertTrue(hosts.containsAll(victims)) },
+            { assertEquals(victims, schedule.selectVictims(0, 0, hosts)) { "The victims are not deterministic" } },
+            { assertNotEquals(victims, nextVictims) { "Every cycle selects the same victims" } },
+        )
+    }
+
+    @Test
+    fun testSelectVictimsClampsIntensity() {
+        val intensities = doubleArrayOf(-0.5, 1.5)
+        val schedule = FailureSchedule(longArrayOf(0, 0), longArrayOf(1, 1), intensities, longArrayOf(0, 1))
+        val hosts = List(4) { "H$it" }
+
+        assertAll(
+            { assertEquals(emptyList<String>(), schedule.selectVictims(0, 0, hosts)) },
+            { assertEquals(hosts.toSet(), schedule.selectVictims(1, 0, hosts).toSet()) },
+        )
+    }
+
+    @Test
+    fun testCompileFailures() {
+        val failures = listOf(Failure(100, 50, 0.5), Failure(200, 10, 1.0))
+
+        val schedule = FailureSchedule.compile(failures, true, Random(0))
+        val single = FailureSchedule.compile(failures, false, Random(0))
+
+        assertAll(
+            { assertArrayEquals(longArrayOf(100, 350), LongArray(schedule.size) { schedule.getTime(it) }) },
+            { assertArrayEquals(longArrayOf(50, 10), LongArray(schedule.size) { schedule.getDuration(it) }) },
+            { assertArrayEquals(doubleArrayOf(0.5, 1.0), DoubleArray(schedule.size) { schedule.getIntensity(it) }) },
+            { assertEquals(360, schedule.period) },
+            { assertEquals(0, single.period) },
+        )
+    }
+
+    @Test
+    fun testCompileSamples() {
+        val schedule =
+            FailureSchedule.compile(
+                ConstantRealDistribution(1.0),
+                ConstantRealDistribution(0.5),
+                ConstantRealDistribution(1.5),
+                Random(0),
+            )
+
+        assertAll(
+            { assertEquals(1, schedule.size) },
+            { assertEquals(3_600_000, schedule.getTime(0)) },
+            { assertEquals(1_800_000, schedule.getDuration(0)) },
+            { assertEquals(1.0, schedule.getIntensity(0)) },
+            { assertEquals(0, schedule.period) },
+        )
+    }
+}
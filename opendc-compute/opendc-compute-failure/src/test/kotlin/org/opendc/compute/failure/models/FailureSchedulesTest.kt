@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.compute.failure.models
+
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertNotSame
+import org.junit.jupiter.api.Assertions.assertSame
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+
+/**
+ * Test suite for the [FailureSchedules] cache.
+ */
+class FailureSchedulesTest {
+    @AfterEach
+    fun tearDown() {
+        FailureSchedules.reset()
+    }
+
+    @Test
+    fun testSharedSchedule() {
+        var compilations = 0
+        val compile = {
+            compilations++
+            FailureSchedule(longArrayOf(0), longArrayOf(1), doubleArrayOf(0.5), longArrayOf(0))
+        }
+
+        val first = FailureSchedules.getOrCompile("model" to 0L, compile)
+        val second = FailureSchedules.getOrCompile("model" to 0L, compile)
+        val other = FailureSchedules.getOrCompile("model" to 1L, compile)
+
+        assertSame(first, second)
+        assertNotSame(first, other)
+        assertEquals(2, compilations)
+    }
+
+    @Test
+    fun testBoundedCache() {
+        val first = FailureSchedules.getOrCompile(0) { FailureSchedule.EMPTY }
+        for (key in 1..FailureSchedules.CAPACITY) {
+            FailureSchedules.getOrCompile(key) { FailureSchedule.EMPTY }
+        }
+
+        var recompiled = false
+        FailureSchedules.getOrCompile(0) {
+            recompiled = true
+            first
+        }
+
+        assertEquals(FailureSchedules.CAPACITY, FailureSchedules.size)
+        assertTrue(recompiled) { "The least recently used schedule was not evicted" }
+    }
+}
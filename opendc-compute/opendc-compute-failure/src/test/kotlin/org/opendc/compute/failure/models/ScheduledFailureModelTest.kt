@@ -0,0 +1,214 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.compute.failure.models
+
+import io.mockk.every
+import io.mockk.mockk
+import kotlinx.coroutines.delay
+import org.apache.commons.math3.distribution.ExponentialDistribution
+import org.apache.commons.math3.distribution.UniformRealDistribution
+import org.apache.commons.math3.random.Well19937c
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import org.opendc.compute.failure.prefab.FailurePrefab
+import org.opendc.compute.failure.prefab.createFailureModelPrefab
+import org.opendc.compute.failure.prefab.getFailureSchedulePrefab
+import org.opendc.compute.simulator.host.SimHost
+import org.opendc.compute.simulator.service.ComputeService
+import org.opendc.simulator.kotlin.SimulationCoroutineScope
+import org.opendc.simulator.kotlin.runSimulation
+import java.io.File
+import java.util.Random
+
+/**
+ * Test suite for the [ScheduledFailureModel] class.
+ */
+class ScheduledFailureModelTest {
+    @AfterEach
+    fun tearDown() {
+        FailureSchedules.reset()
+    }
+
+    /**
+     * Test that the failures of a schedule are injected and recovered at the scheduled times, for every cycle.
+     */
+    @Test
+    fun testInjectSchedule() =
+        runSimulation {
+            val events = mutableListOf<Event>()
+            val service = mockService(4, events) { currentTime }
+            val times = longArrayOf(1000, 5000)
+            val durations = longArrayOf(500, 1000)
+            val schedule = FailureSchedule(times, durations, doubleArrayOf(0.5, 1.0), longArrayOf(1, 2), 10_000)
+
+            val model = ScheduledFailureModel(coroutineContext, timeSource, service, schedule)
+            model.start()
+            delay(25_000)
+            model.close()
+
+            val failures = events.filter { it.failed }.groupBy { it.time }.mapValues { it.value.size }
+            val recoveries = events.filterNot { it.failed }.groupBy { it.time }.mapValues { it.value.size }
+
+            assertEquals(mapOf(1000L to 2, 5000L to 4, 11_000L to 2, 15_000L to 4, 21_000L to 2), failures)
+            assertEquals(mapOf(1500L to 2, 6000L to 4, 11_500L to 2, 16_000L to 4, 21_500L to 2), recoveries)
+        }
+
+    /**
+     * Test that a schedule compiled from a trace injects the same failures as the trace-based model for the same seed.
+     */
+    @Test
+    fun testSameSeedAsTraceBasedModel() {
+        val path = File(checkNotNull(javaClass.getResource("/failureTraces/two_failures.parquet")).toURI()).path
+        val horizon = loadFailureTrace(path, 0.0).sumOf { it.failureInterval + it.failureDuration } + 1
+
+        val expected =
+            simulate(horizon) { service ->
+                TraceBasedFailureModel(coroutineContext, timeSource, service, Random(SEED), path, 0.0, false)
+            }
+        val actual =
+            simulate(horizon) { service ->
+                val schedule = FailureSchedule.compile(loadFailureTrace(path, 0.0), false, Random(SEED))
+                ScheduledFailureModel(coroutineContext, timeSource, service, schedule)
+            }
+
+        assertTrue(expected.isNotEmpty()) { "The trace-based model did not inject any failure" }
+        assertEquals(expected.summarize(), actual.summarize())
+    }
+
+    /**
+     * Test that a schedule compiled from samplers injects the same failure as the sample-based model for the same seed.
+     */
+    @Test
+    fun testSameSeedAsSampleBasedModel() {
+        val expected = simulate(HORIZON) { service -> createSampleBasedModel(service) }
+        val actual =
+            simulate(HORIZON) { service ->
+                val schedule = createSampleBasedModel(service).use { it.compileSchedule() }
+                ScheduledFailureModel(coroutineContext, timeSource, service, schedule)
+            }
+
+        assertTrue(expected.isNotEmpty()) { "The sample-based model did not inject any failure" }
+        assertEquals(expected.summarize(), actual.summarize())
+    }
+
+    /**
+     * Test that a prefab schedule is shared between runs and injects the same failure as the prefab for the same seed.
+     */
+    @Test
+    fun testSameSeedAsPrefab() {
+        val prefab = FailurePrefab.G5k06Exp
+
+        val expected =
+            simulate(HORIZON) { service ->
+                createFailureModelPrefab(coroutineContext, timeSource, service, Random(SEED), prefab)
+            }
+        val actual =
+            simulate(HORIZON) { service ->
+                val schedule = getFailureSchedulePrefab(coroutineContext, timeSource, service, SEED, prefab)
+                assertEquals(schedule, getFailureSchedulePrefab(coroutineContext, timeSource, service, SEED, prefab))
+                ScheduledFailureModel(coroutineContext, timeSource, service, schedule)
+            }
+
+        assertTrue(expected.isNotEmpty()) { "The prefab did not inject any failure" }
+        assertEquals(expected.summarize(), actual.summarize())
+    }
+
+    /**
+     * A host failing or recovering at the specified time.
+     */
+    private data class Event(val time: Long, val host: String, val failed: Boolean)
+
+    /**
+     * Run the failure model created by [factory] on a service of [HOSTS] hosts until [horizon] and return its events.
+     */
+    private fun simulate(
+        horizon: Long,
+        factory: SimulationCoroutineScope.(ComputeService) -> FailureModel,
+    ): List<Event> {
+        val events = mutableListOf<Event>()
+        runSimulation {
+            val model = factory(mockService(HOSTS, events) { currentTime })
+            model.start()
+            delay(horizon)
+            model.close()
+        }
+        return events
+    }
+
+    /**
+     * Create a sample-based failure model for [SEED], which seeds its samplers like the failure model specifications.
+     */
+    private fun SimulationCoroutineScope.createSampleBasedModel(service: ComputeService): SampleBasedFailureModel {
+        val random = Random(SEED)
+        val rng = Well19937c(random.nextLong())
+        return SampleBasedFailureModel(
+            coroutineContext,
+            timeSource,
+            service,
+            random,
+            ExponentialDistribution(rng, 1.0),
+            ExponentialDistribution(rng, 0.5),
+            UniformRealDistribution(rng, 0.0, 1.0),
+        )
+    }
+
+    /**
+     * Summarize the events as the number of hosts that fail or recover at each time, since the victims of a failure
+     * model are not seeded.
+     */
+    private fun List<Event>.summarize(): Map<Pair<Long, Boolean>, Int> = groupingBy { it.time to it.failed }.eachCount()
+
+    /**
+     * Create a [ComputeService] with [count] hosts without guests that record their failures and recoveries in
+     * [events].
+     */
+    private fun mockService(
+        count: Int,
+        events: MutableList<Event>,
+        clock: () -> Long,
+    ): ComputeService {
+        val hosts =
+            List(count) {
+                val name = "H$it"
+                mockk<SimHost> {
+                    every { getName() } returns name
+                    every { getGuests() } returns emptyList()
+                    every { fail() } answers { events.add(Event(clock(), name, true)) }
+                    every { recover() } answers { events.add(Event(clock(), name, false)) }
+                }
+            }
+
+        return mockk {
+            every { this@mockk.hosts } returns hosts.toSet()
+            every { newClient() } returns mockk(relaxed = true)
+        }
+    }
+
+    private companion object {
+        const val SEED = 42L
+        const val HOSTS = 10
+        const val HORIZON = 1000L * 3_600_000
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package org.opendc.compute.simulator.scheduler
+
+import org.opendc.compute.simulator.host.SimHost
+import org.opendc.compute.simulator.scheduler.filters.ComputeFilter
+import org.opendc.compute.simulator.scheduler.filters.RamFilter
+import org.opendc.compute.simulator.scheduler.filters.VCpuFilter
+import org.opendc.compute.simulator.scheduler.weights.CoreRamWeigher
+import org.opendc.compute.simulator.service.HostView
+import org.opendc.compute.simulator.service.ServiceTask
+import org.opendc.simulator.SimulationDispatcher
+import org.opendc.simulator.compute.models.CpuModel
+import org.opendc.simulator.compute.models.MachineModel
+import org.opendc.simulator.compute.models.MemoryUnit
+import org.opendc.simulator.compute.power.PowerModels
+import org.opendc.simulator.engine.engine.FlowEngine
+import org.opendc.simulator.engine.graph.distributionPolicies.FlowDistributorFactory
+import org.opendc.simulator.engine.graph.distributionPolicies.FlowDistributorFactory.DistributionPolicy
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.Fork
+import org.openjdk.jmh.annotations.Measurement
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.annotations.TearDown
+import org.openjdk.jmh.annotations.Warmup
+import java.util.SplittableRandom
+import java.util.concurrent.TimeUnit
+
+/**
+ * Benchmark suite for the host selection of the [FilterScheduler] and the bookkeeping of the [HostCapacityIndex].
+ *
+ * The cluster consists of three types of hosts that differ in core count and memory. Before measuring, the scheduler
+ * has placed a task for every host, such that most hosts are tracked in the sorted list of used hosts.
+ */
+@State(Scope.Thread)
+@Fork(value = 1, jvmArgsAppend = ["-Xmx8g"])
+@Warmup(iterations = 2, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+class SchedulerBenchmark {
+    @Param("1000", "10000", "100000")
+    var hostCount: Int = 0
+
+    private lateinit var hosts: List<SimHost>
+    private lateinit var hostViews: List<HostView>
+    private lateinit var scheduler: FilterScheduler
+    private lateinit var index: HostCapacityIndex
+    private lateinit var tasks: List<ServiceTask>
+    private val random = SplittableRandom(0)
+
+    @Setup
+    fun setUp() {
+        val dispatcher = SimulationDispatcher()
+        val engine = FlowEngine.create(dispatcher)
+        val powerDistributor =
+            FlowDistributorFactory.getFlowDistributor(engine, DistributionPolicy.MAX_MIN_FAIRNESS, hostCount, 1)
+
+        val models =
+            listOf(16 to 64_000L, 32 to 128_000L, 64 to 512_000L).map { (cores, memory) ->
+                MachineModel(
+                    CpuModel(0, cores, 2600.0),
+                    MemoryUnit("vendor", "model", 3200.0, memory),
+                    null,
+                    DistributionPolicy.MAX_MIN_FAIRNESS,
+                    DistributionPolicy.MAX_MIN_FAIRNESS,
+                )
+            }
+
+        hosts =
+            List(hostCount) { i ->
+                val type = i % models.size
+                SimHost(
+                    "host-$i",
+                    "type-$type",
+                    "cluster",
+                    dispatcher.timeSource,
+                    engine,
+                    models[type],
+                    PowerModels.linear(350.0, 200.0),
+                    null,
+                    0.0,
+                    1.0,
+                    powerDistributor,
+                )
+            }
+        hostViews = hosts.map { HostView(it) }
+
+        tasks =
+            List(64) { i ->
+                val cores = 1 shl random.nextInt(5)
+                ServiceTask(
+                    i,
+                    "task-$i",
+                    0,
+                    3_600_000,
+                    cores,
+                    cores * 2600.0,
+                    0.0,
+                    cores * 2_000L,
+                    0,
+                    0.0,
+                    0,
+                    null,
+                    false,
+                    Long.MAX_VALUE,
+                    null,
+                    null,
+                )
+            }
+
+        val filters = listOf(ComputeFilter(), VCpuFilter(16.0), RamFilter(1.0))
+        scheduler = FilterScheduler(filters, listOf(CoreRamWeigher(1.0)), numHosts = hostCount)
+        index = HostCapacityIndex(listOf(RamFilter(1.0), VCpuFilter(16.0)))
+
+        for (hostView in hostViews) {
+            scheduler.addHost(hostView)
+            index.add(hostView)
+        }
+
+        repeat(hostCount) { select() }
+    }
+
+    @TearDown
+    fun tearDown() {
+        for (host in hosts) {
+            host.close()
+        }
+    }
+
+    /**
+     * Select a host for a single task.
+     */
+    @Benchmark
+    fun select(): SchedulingResult {
+        val queue = ArrayList<SchedulingRequest>(1)
+        queue.add(SchedulingRequest(tasks[random.nextInt(tasks.size)], 0))
+        return scheduler.select(queue.iterator())
+    }
+
+    /**
+     * Restore the order of a host whose resources have changed.
+     */
+    @Benchmark
+    fun updateHost(): Int {
+        index.update(hostViews[random.nextInt(hostViews.size)])
+        return index.size
+    }
+}
@@ -30,6 +30,7 @@ import java.util.Collections;
 import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -43,6 +44,7 @@ import org.opendc.compute.simulator.host.HostListener;
 import org.opendc.compute.simulator.host.HostModel;
 import org.opendc.compute.simulator.host.HostState;
 import org.opendc.compute.simulator.host.SimHost;
+import org.opendc.compute.simulator.scheduler.BatchComputeScheduler;
 import org.opendc.compute.simulator.scheduler.ComputeScheduler;
 import org.opendc.compute.simulator.scheduler.SchedulingRequest;
 import org.opendc.compute.simulator.scheduler.SchedulingResult;
@@ -54,6 +56,7 @@ import org.opendc.simulator.compute.power.CarbonReceiver;
 import org.opendc.simulator.compute.power.SimPowerSource;
 import org.opendc.simulator.compute.power.batteries.SimBattery;
 import org.opendc.simulator.compute.workload.Workload;
+import org.opendc.simulator.compute.workload.trace.TraceFragment;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -175,16 +178,11 @@ public final class ComputeService implements AutoCloseable, CarbonReceiver {
                 }
 
                 HostView hv = hostToView.get(host);
-                if (hv != null) {
-                    hv.provisionedCpuCores -= task.getCpuCoreCount();
-                    hv.availableCpuCores += task.getCpuCoreCount();
-                    hv.instanceCount--;
-                    hv.availableMemory += task.getMemorySize();
-                    hv.provisionedGpuCores -= task.getGpuCoreCount();
-                } else {
+                if (hv == null) {
                     LOGGER.error("Unknown host {}", host);
                 }
 
+                // Deleting the task releases its resources in the ledger of the host
                 host.delete(task);
 
                 updateHost(host);
@@ -375,6 +373,113 @@ public final class ComputeService implements AutoCloseable, CarbonReceiver {
         }
     }
 
+    /**
+     * Capture the progress of the tasks, hosts, power sources and batteries of this service at the current moment in
+     * virtual time.
+     * <p>
+     * The progress of running tasks is read from their hosts without interrupting them, so the simulation may
+     * continue after the snapshot is taken.
+     *
+     * @see ServiceSnapshot
+     */
+    public ServiceSnapshot snapshot() {
+        final Set<Integer> finished = new HashSet<>(completedTasks);
+        finished.addAll(terminatedTasks);
+
+        final Map<Integer, ServiceSnapshot.TaskProgress> progress = new HashMap<>();
+        for (ServiceTask task : taskById.values()) {
+            if (finished.contains(task.getId())
+                    || task.getState() == TaskState.COMPLETED
+                    || task.getState() == TaskState.TERMINATED) {
+                continue;
+            }
+
+            final SimHost host = activeTasks.get(task);
+            final List<TraceFragment> fragments;
+            if (host != null) {
+                fragments = host.getRemainingFragments(task);
+            } else if (task.getNumFailures() > 0 || task.getNumPauses() > 0) {
+                fragments = ServiceSnapshot.fragmentsOf(task.getWorkload());
+            } else {
+                fragments = null; // The task has not started yet
+            }
+
+            if (fragments != null && fragments.isEmpty()) {
+                // The task has executed all its work and only awaits its completion
+                finished.add(task.getId());
+                continue;
+            }
+
+            progress.put(
+                    task.getId(),
+                    new ServiceSnapshot.TaskProgress(
+                            fragments == null ? null : List.copyOf(fragments),
+                            task.getNumFailures(),
+                            task.getNumPauses(),
+                            host == null ? null : host.getName()));
+        }
+
+        final Map<String, ServiceSnapshot.HostProgress> hosts = new HashMap<>();
+        for (SimHost host : hostToView.keySet()) {
+            hosts.put(
+                    host.getName(),
+                    new ServiceSnapshot.HostProgress(
+                            host.getState(), host.getTotalUptime(), host.getTotalDowntime(), host.getEnergyUsage()));
+        }
+
+        final Map<String, ServiceSnapshot.PowerSourceProgress> powerSources = new HashMap<>();
+        for (SimPowerSource powerSource : this.powerSources) {
+            powerSource.updateCounters();
+            powerSources.put(
+                    powerSource.getName(),
+                    new ServiceSnapshot.PowerSourceProgress(
+                            powerSource.getEnergyUsage(), powerSource.getCarbonEmission()));
+        }
+
+        final Map<String, ServiceSnapshot.BatteryProgress> batteries = new HashMap<>();
+        for (SimBattery battery : this.batteries) {
+            battery.updateCounters();
+            batteries.put(
+                    battery.getName(),
+                    new ServiceSnapshot.BatteryProgress(battery.getCharge(), battery.getTotalEnergyUsage()));
+        }
+
+        return new ServiceSnapshot(clock.millis(), finished, progress, hosts, powerSources, batteries);
+    }
+
+    /**
+     * Restore the dynamic state of the specified snapshot into this service before its continuation is replayed.
+     * <p>
+     * The batteries take the charge they had at the moment of the snapshot. The remaining work of the tasks is carried
+     * by the tasks created with {@link ServiceSnapshot#fork(List)}, while the counters of the snapshot are left to be
+     * added to the counters of the continuation.
+     *
+     * @param snapshot The snapshot to restore.
+     * @throws IllegalArgumentException if the snapshot refers to hosts or batteries that this service does not have.
+     */
+    public void restore(ServiceSnapshot snapshot) {
+        final Set<String> hostNames = new HashSet<>();
+        for (SimHost host : hostToView.keySet()) {
+            hostNames.add(host.getName());
+        }
+        if (!hostNames.containsAll(snapshot.getHosts().keySet())) {
+            throw new IllegalArgumentException("The snapshot was taken from another topology");
+        }
+
+        final Map<String, SimBattery> batteriesByName = new HashMap<>();
+        for (SimBattery battery : batteries) {
+            batteriesByName.put(battery.getName(), battery);
+        }
+        for (Map.Entry<String, ServiceSnapshot.BatteryProgress> entry :
+                snapshot.getBatteries().entrySet()) {
+            final SimBattery battery = batteriesByName.get(entry.getKey());
+            if (battery == null) {
+                throw new IllegalArgumentException("The snapshot was taken from another topology");
+            }
+            battery.setCharge(entry.getValue().charge());
+        }
+    }
+
     /**
      * Collect the statistics about the scheduler component of this service.
      */
@@ -415,6 +520,7 @@ public final class ComputeService implements AutoCloseable, CarbonReceiver {
             LOGGER.warn("task {} has been terminated because it failed {} times", task, task.getNumFailures());
 
             tasksTerminated++;
+            terminatedTasks.add(task.getId());
             task.setState(TaskState.TERMINATED);
 
             this.setTaskToBeRemoved(task);
@@ -430,6 +536,15 @@ public final class ComputeService implements AutoCloseable, CarbonReceiver {
             return null;
         }
 
+        // Resume the task on the host it ran on, if it still fits
+        final HostView resumeHost = takeResumeHost(task);
+        if (resumeHost != null) {
+            tasksPending++;
+            scheduler.addTask(task, resumeHost);
+            placeTask(request, resumeHost);
+            return request;
+        }
+
         // Add the request at the front or the back of the queue
         if (atFront) taskQueue.addFirst(request);
         else taskQueue.add(request);
@@ -440,8 +555,29 @@ public final class ComputeService implements AutoCloseable, CarbonReceiver {
         return request;
     }
 
+    /**
+     * Return the available host on which the specified task resumes, or <code>null</code> if the task is placed by the
+     * scheduler. The resume host of the task is cleared, so the task is scheduled normally when it is started again.
+     */
+    private HostView takeResumeHost(ServiceTask task) {
+        final String name = task.getResumeHost();
+        if (name == null) {
+            return null;
+        }
+        task.setResumeHost(null);
+
+        for (HostView hv : availableHosts) {
+            final SimHost host = hv.getHost();
+            if (host.getName().equals(name)) {
+                return host.canFit(task) ? hv : null;
+            }
+        }
+        return null;
+    }
+
     void addCompletedTask(ServiceTask completedTask) {
         int parentId = completedTask.getId();
+        completedTasks.add(parentId);
 
         if (!completedTask.hasChildren()) {
             return;
@@ -464,6 +600,7 @@ public final class ComputeService implements AutoCloseable, CarbonReceiver {
     }
 
     void addTerminatedTask(ServiceTask task) {
+        terminatedTasks.add(task.getId());
 
         if (!task.hasChildren()) {
             return;
@@ -514,6 +651,11 @@ public final class ComputeService implements AutoCloseable, CarbonReceiver {
      * Run a single scheduling iteration.
      */
     private void doSchedule() {
+        if (scheduler instanceof BatchComputeScheduler batchScheduler) {
+            doScheduleBatch(batchScheduler);
+            return;
+        }
+
         for (Iterator<SchedulingRequest> iterator = taskQueue.iterator();
                 iterator.hasNext();
                 iterator = taskQueue.iterator()) {
@@ -532,16 +674,7 @@ public final class ComputeService implements AutoCloseable, CarbonReceiver {
                 if (task.getMemorySize() > maxMemory || task.getCpuCoreCount() > maxCores) {
                     // Remove the incoming image
                     taskQueue.remove(req);
-                    tasksPending--;
-                    tasksTerminated++;
-
-                    LOGGER.warn("Failed to spawn {}: does not fit", task);
-
-                    task.setState(TaskState.TERMINATED);
-
-                    this.addTerminatedTask(task);
-
-                    this.setTaskToBeRemoved(task);
+                    terminateUnfitTask(task);
                     continue;
                 } else {
                     // VM fits, but we don't have enough capacity
@@ -549,40 +682,95 @@ public final class ComputeService implements AutoCloseable, CarbonReceiver {
                 }
             }
 
-            SimHost host = hv.getHost();
+            placeTask(req, hv);
+        }
+    }
 
-            // Remove request from queue
-            tasksPending--;
+    /**
+     * Run a single scheduling iteration in which all pending requests are handed to the scheduler at once.
+     */
+    private void doScheduleBatch(BatchComputeScheduler batchScheduler) {
+        taskQueue.removeIf(SchedulingRequest::isCancelled);
+        if (taskQueue.isEmpty()) {
+            return;
+        }
 
-            LOGGER.info("Assigned task {} to host {}", task, host);
+        final List<SchedulingRequest> requests = new ArrayList<>(taskQueue);
+        final Set<SchedulingRequest> dequeued = Collections.newSetFromMap(new IdentityHashMap<>());
 
-            try {
-                task.setHost(host);
-                task.setScheduledAt(clock.millis());
+        batchScheduler.selectBatch(requests, (result) -> {
+            final SchedulingRequest req = result.getReq();
+            final ServiceTask task = req.getTask();
 
-                host.spawn(task);
+            if (result.getResultType() != SchedulingResultType.SUCCESS) {
+                LOGGER.trace("Task {} selected for scheduling but no capacity available for it at the moment", task);
 
-                tasksActive++;
-                attemptsSuccess++;
+                if (task.getMemorySize() > maxMemory || task.getCpuCoreCount() > maxCores) {
+                    dequeued.add(req);
+                    terminateUnfitTask(task);
+                    return true;
+                }
+                return false;
+            }
 
-                hv.instanceCount++;
-                hv.provisionedCpuCores += task.getCpuCoreCount();
-                hv.availableCpuCores -= task.getCpuCoreCount();
-                hv.availableMemory -= task.getMemorySize();
-                hv.provisionedGpuCores += task.getGpuCoreCount();
+            dequeued.add(req);
+            placeTask(req, result.getHost());
+            return true;
+        });
 
-                activeTasks.put(task, host);
+        if (!dequeued.isEmpty()) {
+            taskQueue.removeIf(dequeued::contains);
+        }
+    }
 
-                updateHost(host);
+    /**
+     * Terminate a pending task that does not fit on any host of the service.
+     */
+    private void terminateUnfitTask(ServiceTask task) {
+        tasksPending--;
+        tasksTerminated++;
 
-                long new_scheduling_delay = clock.millis() - req.getSubmitTime() + task.getSchedulingDelay();
-                task.setSchedulingDelay(new_scheduling_delay);
+        LOGGER.warn("Failed to spawn {}: does not fit", task);
 
-            } catch (Exception cause) {
-                LOGGER.error("Failed to deploy VM", cause);
-                scheduler.removeTask(task, hv);
-                attemptsFailure++;
-            }
+        task.setState(TaskState.TERMINATED);
+
+        this.addTerminatedTask(task);
+
+        this.setTaskToBeRemoved(task);
+    }
+
+    /**
+     * Spawn the task of the specified request on the host selected by the scheduler.
+     */
+    private void placeTask(SchedulingRequest req, HostView hv) {
+        final ServiceTask task = req.getTask();
+        SimHost host = hv.getHost();
+
+        // Remove request from queue
+        tasksPending--;
+
+        LOGGER.info("Assigned task {} to host {}", task, host);
+
+        try {
+            task.setHost(host);
+            task.setScheduledAt(clock.millis());
+
+            host.spawn(task);
+
+            tasksActive++;
+            attemptsSuccess++;
+
+            activeTasks.put(task, host);
+
+            updateHost(host);
+
+            long new_scheduling_delay = clock.millis() - req.getSubmitTime() + task.getSchedulingDelay();
+            task.setSchedulingDelay(new_scheduling_delay);
+
+        } catch (Exception cause) {
+            LOGGER.error("Failed to deploy VM", cause);
+            scheduler.removeTask(task, hv);
+            attemptsFailure++;
         }
     }
 
@@ -22,6 +22,7 @@
 
 package org.opendc.compute.simulator.service;
 
+import org.opendc.compute.simulator.host.HostLedger;
 import org.opendc.compute.simulator.host.SimHost;
 
 /**
@@ -29,11 +30,7 @@ import org.opendc.compute.simulator.host.SimHost;
  */
 public class HostView {
     private final SimHost host;
-    int instanceCount;
-    long availableMemory;
-    int provisionedCpuCores;
-    int availableCpuCores;
-    int provisionedGpuCores;
+    private final HostLedger ledger;
 
     /**
      * Scheduler bookkeeping
@@ -58,8 +55,7 @@ public class HostView {
      */
     public HostView(SimHost host) {
         this.host = host;
-        this.availableMemory = host.getModel().memoryCapacity();
-        this.availableCpuCores = host.getModel().coreCount();
+        this.ledger = host.getLedger();
     }
 
     /**
@@ -69,33 +65,40 @@ public class HostView {
         return host;
     }
 
+    /**
+     * The {@link HostLedger} tracking the resources claimed on the host.
+     */
+    public HostLedger getLedger() {
+        return ledger;
+    }
+
     /**
      * Return the number of instances on this host.
      */
     public int getInstanceCount() {
-        return instanceCount;
+        return ledger.getInstanceCount();
     }
 
     /**
      * Return the available memory of the host.
      */
     public long getAvailableMemory() {
-        return availableMemory;
+        return ledger.getAvailableMemory();
     }
 
     /**
      * Return the provisioned cores on the host.
      */
     public int getProvisionedCpuCores() {
-        return provisionedCpuCores;
+        return ledger.getProvisionedCpuCores();
     }
 
     public int getAvailableCpuCores() {
-        return availableCpuCores;
+        return ledger.getAvailableCpuCores();
     }
 
     public int getProvisionedGpuCores() {
-        return provisionedGpuCores;
+        return ledger.getProvisionedGpuCores();
     }
 
     @Override
@@ -0,0 +1,295 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.compute.simulator.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.opendc.compute.simulator.host.HostState;
+import org.opendc.simulator.compute.workload.ChainWorkload;
+import org.opendc.simulator.compute.workload.Workload;
+import org.opendc.simulator.compute.workload.trace.TraceFragment;
+import org.opendc.simulator.compute.workload.trace.TraceWorkload;
+
+/**
+ * The state of a {@link ComputeService} at a moment in virtual time, captured by {@link ComputeService#snapshot()}.
+ * <p>
+ * Snapshots allow a simulation to be forked: the prefix that several what-if scenarios share is simulated once, after
+ * which each scenario continues from the snapshot in a fresh simulation (see {@link #fork(List)}), for instance with
+ * another scheduler or failure model. A snapshot holds the remaining work of every task and the host it runs on, the
+ * charge of the batteries, and the counters of the hosts, power sources and batteries.
+ * <p>
+ * The continuation provisions its own topology and restores the dynamic state of the snapshot with
+ * {@link ComputeService#restore(ServiceSnapshot)}. Its counters start at zero, so the totals of the forked scenario are
+ * the counters of the snapshot plus those of the continuation. Hosts that were down at the snapshot start up in the
+ * continuation, as their recovery is decided by the failure model of the continuation.
+ */
+public final class ServiceSnapshot {
+    /**
+     * The virtual time of the service at which the snapshot was taken (in milliseconds).
+     */
+    private final long timestamp;
+
+    /**
+     * The identifiers of the tasks that have completed or were terminated.
+     */
+    private final Set<Integer> finishedTasks;
+
+    /**
+     * The progress of the unfinished tasks that were submitted to the service.
+     */
+    private final Map<Integer, TaskProgress> progress;
+
+    /**
+     * The progress of the hosts of the service by name.
+     */
+    private final Map<String, HostProgress> hosts;
+
+    /**
+     * The progress of the power sources of the service by name.
+     */
+    private final Map<String, PowerSourceProgress> powerSources;
+
+    /**
+     * The progress of the batteries of the service by name.
+     */
+    private final Map<String, BatteryProgress> batteries;
+
+    ServiceSnapshot(
+            long timestamp,
+            Set<Integer> finishedTasks,
+            Map<Integer, TaskProgress> progress,
+            Map<String, HostProgress> hosts,
+            Map<String, PowerSourceProgress> powerSources,
+            Map<String, BatteryProgress> batteries) {
+        this.timestamp = timestamp;
+        this.finishedTasks = Collections.unmodifiableSet(finishedTasks);
+        this.progress = Collections.unmodifiableMap(progress);
+        this.hosts = Collections.unmodifiableMap(hosts);
+        this.powerSources = Collections.unmodifiableMap(powerSources);
+        this.batteries = Collections.unmodifiableMap(batteries);
+    }
+
+    /**
+     * Return the virtual time of the service at which the snapshot was taken (in milliseconds).
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    /**
+     * Return the identifiers of the tasks that have completed or were terminated before the snapshot.
+     */
+    public Set<Integer> getFinishedTasks() {
+        return finishedTasks;
+    }
+
+    /**
+     * Return the progress of the unfinished tasks that were submitted to the service before the snapshot.
+     */
+    public Map<Integer, TaskProgress> getProgress() {
+        return progress;
+    }
+
+    /**
+     * Return the progress of the hosts of the service by name.
+     */
+    public Map<String, HostProgress> getHosts() {
+        return hosts;
+    }
+
+    /**
+     * Return the progress of the power sources of the service by name.
+     */
+    public Map<String, PowerSourceProgress> getPowerSources() {
+        return powerSources;
+    }
+
+    /**
+     * Return the progress of the batteries of the service by name.
+     */
+    public Map<String, BatteryProgress> getBatteries() {
+        return batteries;
+    }
+
+    /**
+     * Create the tasks of a continuation of the simulation from this snapshot.
+     * <p>
+     * Finished tasks are left out, and are removed from the parents of the remaining tasks. Tasks that were submitted
+     * before the snapshot are resubmitted at the moment of the snapshot with their remaining work, while the other
+     * tasks keep their submission time. Tasks that were running resume on the host they ran on (see
+     * {@link ServiceTask#getResumeHost()}). Every returned task is a fresh copy with its own workload, so multiple
+     * continuations can be forked from the same snapshot and trace.
+     *
+     * @param trace The tasks of the snapshotted simulation as they were before the simulation started. The replay of
+     *     this trace is assumed to have started at virtual time zero.
+     * @return The tasks to replay in the continuation, ordered by submission time.
+     * @throws IllegalArgumentException if a task of the trace has a workload that cannot be copied.
+     */
+    public List<ServiceTask> fork(List<ServiceTask> trace) {
+        final long now = getForkTime(trace);
+        final List<Integer> finished = new ArrayList<>(finishedTasks);
+
+        final List<ServiceTask> tasks = new ArrayList<>(trace.size());
+        for (ServiceTask original : trace) {
+            if (finishedTasks.contains(original.getId())) {
+                continue;
+            }
+
+            final ServiceTask task = original.copy();
+            task.removeFromParents(finished);
+
+            final TaskProgress taskProgress = progress.get(original.getId());
+            final List<TraceFragment> fragments = taskProgress == null ? null : taskProgress.fragments();
+            task.setWorkload(copyOf(original.getWorkload(), fragments));
+
+            if (taskProgress != null) {
+                task.setSubmittedAt(Math.max(task.getSubmittedAt(), now));
+                task.setNumFailures(taskProgress.numFailures());
+                task.setNumPauses(taskProgress.numPauses());
+                task.setResumeHost(taskProgress.host());
+            }
+
+            tasks.add(task);
+        }
+
+        tasks.sort((a, b) -> Long.compare(a.getSubmittedAt(), b.getSubmittedAt()));
+        return tasks;
+    }
+
+    /**
+     * Return the moment of the snapshot in the submission times of the specified trace, which is the time at which
+     * {@link #fork(List)} resubmits the tasks that were submitted before the snapshot.
+     *
+     * @param trace The tasks of the snapshotted simulation as they were before the simulation started.
+     */
+    public long getForkTime(List<ServiceTask> trace) {
+        final long origin =
+                trace.stream().mapToLong(ServiceTask::getSubmittedAt).min().orElse(0L);
+        return origin + timestamp;
+    }
+
+    /**
+     * Return a copy of the specified workload that executes the specified fragments, or the complete workload if
+     * <code>fragments</code> is <code>null</code>.
+     * <p>
+     * The remaining work of a {@link ChainWorkload} is flattened into a single trace workload, which takes the
+     * settings of the first trace workload of the chain.
+     *
+     * @throws IllegalArgumentException if the workload does not consist of trace workloads.
+     */
+    static Workload copyOf(Workload workload, List<TraceFragment> fragments) {
+        if (workload instanceof TraceWorkload trace) {
+            return fragments == null ? trace.copy() : trace.copy(fragments);
+        } else if (workload instanceof ChainWorkload chain) {
+            final ArrayList<Workload> workloads =
+                    new ArrayList<>(chain.workloads().size());
+            if (fragments == null) {
+                for (Workload child : chain.workloads()) {
+                    workloads.add(copyOf(child, null));
+                }
+            } else {
+                workloads.add(copyOf(firstTraceOf(chain), fragments));
+            }
+            return new ChainWorkload(
+                    workloads,
+                    chain.checkpointInterval(),
+                    chain.checkpointDuration(),
+                    chain.checkpointIntervalScaling());
+        }
+        throw new IllegalArgumentException("Cannot fork a task with workload " + workload);
+    }
+
+    /**
+     * Return the first trace workload of the specified chain.
+     */
+    private static TraceWorkload firstTraceOf(ChainWorkload chain) {
+        final Workload first =
+                chain.workloads().isEmpty() ? null : chain.workloads().get(0);
+        if (first instanceof TraceWorkload trace) {
+            return trace;
+        } else if (first instanceof ChainWorkload nested) {
+            return firstTraceOf(nested);
+        }
+        throw new IllegalArgumentException("Cannot fork a task with workload " + chain);
+    }
+
+    /**
+     * Return the fragments of the specified workload, or <code>null</code> if it does not consist of trace workloads.
+     */
+    static List<TraceFragment> fragmentsOf(Workload workload) {
+        if (workload instanceof TraceWorkload trace) {
+            return trace.getFragments();
+        } else if (workload instanceof ChainWorkload chain) {
+            final List<TraceFragment> fragments = new ArrayList<>();
+            for (Workload child : chain.workloads()) {
+                final List<TraceFragment> childFragments = fragmentsOf(child);
+                if (childFragments == null) {
+                    return null;
+                }
+                fragments.addAll(childFragments);
+            }
+            return fragments;
+        }
+        return null;
+    }
+
+    /**
+     * The progress of a single task.
+     *
+     * @param fragments The fragments that the task still has to execute, or <code>null</code> if the task restarts
+     *     from its original workload (e.g., because it has not started yet).
+     * @param numFailures The number of times the task has failed.
+     * @param numPauses The number of times the task was paused.
+     * @param host The name of the host the task was running on, or <code>null</code> if the task was not running.
+     */
+    public record TaskProgress(List<TraceFragment> fragments, int numFailures, int numPauses, String host) {}
+
+    /**
+     * The progress of a single host.
+     *
+     * @param state The state of the host.
+     * @param uptime The total time the host has been up (in milliseconds).
+     * @param downtime The total time the host has been down due to a failure (in milliseconds).
+     * @param energyUsage The energy the host has used (in J).
+     */
+    public record HostProgress(HostState state, long uptime, long downtime, double energyUsage) {}
+
+    /**
+     * The progress of a single power source.
+     *
+     * @param energyUsage The energy the power source has supplied (in J).
+     * @param carbonEmission The carbon emission of the supplied energy (in gram).
+     */
+    public record PowerSourceProgress(double energyUsage, double carbonEmission) {}
+
+    /**
+     * The progress of a single battery.
+     *
+     * @param charge The charge of the battery (in J).
+     * @param energyUsage The energy the battery has supplied (in J).
+     */
+    public record BatteryProgress(double charge, double energyUsage) {}
+}
@@ -69,6 +69,7 @@ public class ServiceTask {
     private long finishedAt;
     private SimHost host = null;
     private String hostName = null;
+    private String resumeHost = null;
 
     private SchedulingRequest request = null;
 
@@ -238,6 +239,22 @@ public class ServiceTask {
         this.hostName = hostName;
     }
 
+    /**
+     * Return the name of the host on which the task resumes without being scheduled, or <code>null</code> if the task
+     * is placed by the scheduler.
+     */
+    public String getResumeHost() {
+        return resumeHost;
+    }
+
+    /**
+     * Set the name of the host on which the task resumes without being scheduled, e.g., because the task was running
+     * on that host at the moment a {@link ServiceSnapshot} of the simulation was taken.
+     */
+    public void setResumeHost(String resumeHost) {
+        this.resumeHost = resumeHost;
+    }
+
     public SchedulingRequest getRequest() {
         return request;
     }
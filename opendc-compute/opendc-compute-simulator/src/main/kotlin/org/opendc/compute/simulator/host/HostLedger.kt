@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.compute.simulator.host
+
+import org.opendc.compute.api.TaskState
+import org.opendc.compute.simulator.internal.Guest
+import org.opendc.compute.simulator.service.ServiceTask
+
+/**
+ * An incrementally maintained account of the resources that the guests of a [SimHost] claim.
+ *
+ * The provisioned resources cover every guest that was spawned on the host and not yet deleted, while the running
+ * memory only covers the guests that are currently running. The counters are updated by the host on guest
+ * start, stop, failure and pause, so that admission checks and scheduler filters do not need to walk the guests.
+ *
+ * @param memoryCapacity The memory capacity of the host, in bytes.
+ * @param coreCount The number of CPU cores of the host.
+ */
+public class HostLedger(
+    private val memoryCapacity: Long,
+    private val coreCount: Int,
+) {
+    /**
+     * The number of guests on the host.
+     */
+    public var instanceCount: Int = 0
+        private set
+
+    /**
+     * The number of CPU cores provisioned to the guests on the host.
+     */
+    public var provisionedCpuCores: Int = 0
+        private set
+
+    /**
+     * The number of GPU cores provisioned to the guests on the host.
+     */
+    public var provisionedGpuCores: Int = 0
+        private set
+
+    /**
+     * The memory provisioned to the guests on the host, in bytes.
+     */
+    public var provisionedMemory: Long = 0
+        private set
+
+    /**
+     * The memory used by the guests that are currently running, in bytes.
+     */
+    public var runningMemory: Long = 0
+        private set
+
+    /**
+     * The memory that is not provisioned to any guest, in bytes.
+     */
+    public val availableMemory: Long
+        get() = memoryCapacity - provisionedMemory
+
+    /**
+     * The number of CPU cores that are not provisioned to any guest.
+     */
+    public val availableCpuCores: Int
+        get() = coreCount - provisionedCpuCores
+
+    /**
+     * Account for a guest running [task] that was added to the host.
+     */
+    internal fun add(
+        task: ServiceTask,
+        running: Boolean,
+    ) {
+        instanceCount++
+        provisionedCpuCores += task.cpuCoreCount
+        provisionedGpuCores += task.gpuCoreCount
+        provisionedMemory += task.memorySize
+
+        if (running) {
+            runningMemory += task.memorySize
+        }
+    }
+
+    /**
+     * Release the resources of a guest running [task] that was removed from the host.
+     */
+    internal fun remove(
+        task: ServiceTask,
+        running: Boolean,
+    ) {
+        instanceCount--
+        provisionedCpuCores -= task.cpuCoreCount
+        provisionedGpuCores -= task.gpuCoreCount
+        provisionedMemory -= task.memorySize
+
+        if (running) {
+            runningMemory -= task.memorySize
+        }
+    }
+
+    /**
+     * Account for a guest running [task] that started ([running] is `true`) or stopped running on the host.
+     */
+    internal fun setRunning(
+        task: ServiceTask,
+        running: Boolean,
+    ) {
+        if (running) {
+            runningMemory += task.memorySize
+        } else {
+            runningMemory -= task.memorySize
+        }
+    }
+
+    /**
+     * Verify the counters against the guests of the host.
+     *
+     * @param guests The guests on the host, keyed by their task.
+     * @throws IllegalStateException if the counters do not match the guests.
+     */
+    internal fun verify(guests: Map<ServiceTask, Guest>) {
+        var cpuCores = 0
+        var gpuCores = 0
+        var memory = 0L
+        var running = 0L
+
+        for ((task, guest) in guests) {
+            cpuCores += task.cpuCoreCount
+            gpuCores += task.gpuCoreCount
+            memory += task.memorySize
+
+            if (guest.state == TaskState.RUNNING) {
+                running += task.memorySize
+            }
+        }
+
+        check(
+            instanceCount == guests.size &&
+                provisionedCpuCores == cpuCores &&
+                provisionedGpuCores == gpuCores &&
+                provisionedMemory == memory &&
+                runningMemory == running,
+        ) { "Resource ledger out of sync with guests: $this" }
+    }
+
+    override fun toString(): String =
+        "HostLedger[instances=$instanceCount,cpuCores=$provisionedCpuCores,gpuCores=$provisionedGpuCores," +
+            "memory=$provisionedMemory,runningMemory=$runningMemory]"
+}
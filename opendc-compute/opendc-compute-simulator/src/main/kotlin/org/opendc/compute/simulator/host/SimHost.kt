@@ -37,6 +37,7 @@ import org.opendc.simulator.compute.machine.SimMachine
 import org.opendc.simulator.compute.models.MachineModel
 import org.opendc.simulator.compute.models.MemoryUnit
 import org.opendc.simulator.compute.power.PowerModel
+import org.opendc.simulator.compute.workload.trace.TraceFragment
 import org.opendc.simulator.engine.engine.FlowEngine
 import org.opendc.simulator.engine.graph.FlowDistributor
 import java.time.Duration
@@ -51,6 +52,7 @@ import java.time.InstantSource
  * @param machineModel The static model of the host
  * @param cpuPowerModel The power model of the host
  * @param powerDistributor The power distributor to which the host is connected
+ * @param region The name of the grid region the host draws power from or `null` if it is not part of a region
  * @constructor Create empty Sim host
  */
 public class SimHost(
@@ -65,6 +67,7 @@ public class SimHost(
     private val embodiedCarbon: Double,
     private val expectedLifetime: Double,
     private val powerDistributor: FlowDistributor,
+    private val region: String? = null,
 ) : AutoCloseable {
     /**
      * The event listeners registered with this host.
@@ -103,6 +106,11 @@ public class SimHost(
             gpuHostModels,
         )
 
+    /**
+     * The resources claimed by the guests on this host.
+     */
+    private val ledger = HostLedger(machineModel.memory.size, machineModel.cpuModel.coreCount)
+
     private var simMachine: SimMachine? = null
 
     /**
@@ -209,6 +217,10 @@ public class SimHost(
         return clusterName
     }
 
+    public fun getRegion(): String? {
+        return region
+    }
+
     public fun getModel(): HostModel {
         return model
     }
@@ -230,25 +242,14 @@ public class SimHost(
     }
 
     /**
-     * Calculates the total memory used by the currently running tasks on the host.
-     *
-     * Iterates through the tasks mapped to guests in `taskToGuestMap`. For tasks that are in the
-     * `TaskState.RUNNING` state, their memory consumption is summed up.
-     *
-     * @return Total memory used by tasks currently in the RUNNING state, in bytes.
+     * Return the [HostLedger] that tracks the resources claimed by the guests on this host.
      */
-    private fun usedMemoryByRunningTasks(): Long {
-        var usedMemory: Long = 0
-        for (vm in this.taskToGuestMap) {
-            if (vm.value.state == TaskState.RUNNING) {
-                usedMemory += vm.key.memorySize
-            }
-        }
-        return usedMemory
+    public fun getLedger(): HostLedger {
+        return ledger
     }
 
     public fun canFit(task: ServiceTask): Boolean {
-        val sufficientMemory = (model.memoryCapacity - this.usedMemoryByRunningTasks()) >= task.memorySize
+        val sufficientMemory = (model.memoryCapacity - ledger.runningMemory) >= task.memorySize
         val enoughCpus = model.coreCount >= task.cpuCoreCount
         val canFit = simMachine!!.canFit(task.toMachineModel())
 
@@ -277,7 +278,10 @@ public class SimHost(
         guests.add(newGuest)
         newGuest.start()
 
-        taskToGuestMap.computeIfAbsent(task) { newGuest }
+        if (taskToGuestMap.putIfAbsent(task, newGuest) == null) {
+            ledger.add(task, newGuest.state == TaskState.RUNNING)
+            verifyLedger()
+        }
     }
 
     public fun contains(task: ServiceTask): Boolean {
@@ -300,6 +304,64 @@ public class SimHost(
         taskToGuestMap.remove(task)
         guests.remove(guest)
         task.host = null
+
+        ledger.remove(task, guest.state == TaskState.RUNNING)
+        verifyLedger()
+    }
+
+    /**
+     * Update the ledger after [guest] started or stopped running.
+     */
+    internal fun onGuestRunningChanged(guest: Guest) {
+        // Guests are only accounted for while they are mapped to their task
+        if (taskToGuestMap[guest.task] !== guest) {
+            return
+        }
+
+        ledger.setRunning(guest.task, guest.state == TaskState.RUNNING)
+        verifyLedger()
+    }
+
+    /**
+     * Compare the ledger against the guests of this host when assertions are enabled.
+     */
+    private fun verifyLedger() {
+        if (VERIFY_LEDGER) {
+            ledger.verify(taskToGuestMap)
+        }
+    }
+
+    /**
+     * Return the fragments that the specified [task] still has to execute on this host, or `null` if the task is not
+     * running on this host or does not run a trace workload.
+     */
+    public fun getRemainingFragments(task: ServiceTask): List<TraceFragment>? {
+        return taskToGuestMap[task]?.virtualMachine?.getRemainingFragments(clock.millis())
+    }
+
+    /**
+     * Return the total time this host has been up until now (in milliseconds), without closing the current
+     * reporting interval.
+     */
+    public fun getTotalUptime(): Long {
+        return totalUptime + if (hostState == HostState.UP) clock.millis() - lastReport else 0L
+    }
+
+    /**
+     * Return the total time this host has been down due to a failure until now (in milliseconds), without closing the
+     * current reporting interval.
+     */
+    public fun getTotalDowntime(): Long {
+        return totalDowntime + if (hostState == HostState.ERROR) clock.millis() - lastReport else 0L
+    }
+
+    /**
+     * Return the energy this host has used until now (in J).
+     */
+    public fun getEnergyUsage(): Double {
+        val psu = simMachine?.psu ?: return 0.0
+        psu.updateCounters()
+        return psu.energyUsage
     }
 
     public fun addListener(listener: HostListener) {
@@ -441,4 +503,11 @@ public class SimHost(
             guest.updateUptime()
         }
     }
+
+    private companion object {
+        /**
+         * Flag to indicate that the ledger should be verified against the guests after every update.
+         */
+        private val VERIFY_LEDGER = SimHost::class.java.desiredAssertionStatus()
+    }
 }
@@ -53,7 +53,13 @@ public class Guest(
      * a task.
      */
     public var state: TaskState = TaskState.CREATED
-        private set
+        private set(value) {
+            val wasRunning = field == TaskState.RUNNING
+            field = value
+            if (wasRunning != (value == TaskState.RUNNING)) {
+                host.onGuestRunningChanged(this)
+            }
+        }
 
     /**
      * The [VirtualMachine] on which the task is currently running
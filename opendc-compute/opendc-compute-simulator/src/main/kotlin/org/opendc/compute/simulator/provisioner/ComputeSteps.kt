@@ -24,11 +24,13 @@
 
 package org.opendc.compute.simulator.provisioner
 
+import org.opendc.common.util.EventQueueType
 import org.opendc.compute.simulator.scheduler.ComputeScheduler
 import org.opendc.compute.simulator.telemetry.ComputeMonitor
 import org.opendc.compute.simulator.telemetry.OutputFiles
 import org.opendc.compute.topology.specs.ClusterSpec
 import org.opendc.compute.topology.specs.HostSpec
+import org.opendc.simulator.engine.engine.FlowTolerance
 import java.time.Duration
 
 /**
@@ -80,11 +82,15 @@ public fun registerComputeMonitor(
  * @param serviceDomain The domain name under which the compute service is registered.
  * @param specs A list of [HostSpec] objects describing the simulated hosts to provision.
  * @param optimize A flag to indicate that the CPU resources of the host should be merged into a single CPU resource.
+ * @param eventQueue The type of event queue of the flow engine that simulates the hosts.
+ * @param tolerance The tolerance with which the flow engine that simulates the hosts compares flow rates.
  */
 public fun setupHosts(
     serviceDomain: String,
     specs: List<ClusterSpec>,
     startTime: Long = 0L,
+    eventQueue: EventQueueType = EventQueueType.HEAP,
+    tolerance: FlowTolerance = FlowTolerance.DEFAULT,
 ): ProvisioningStep {
-    return HostsProvisioningStep(serviceDomain, specs, startTime)
+    return HostsProvisioningStep(serviceDomain, specs, startTime, eventQueue, tolerance)
 }
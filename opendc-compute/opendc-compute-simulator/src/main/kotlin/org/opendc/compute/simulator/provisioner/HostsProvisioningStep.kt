@@ -23,17 +23,22 @@
 package org.opendc.compute.simulator.provisioner
 
 import org.opendc.common.ResourceType
-import org.opendc.compute.carbon.getCarbonFragments
+import org.opendc.common.util.EventQueueType
+import org.opendc.compute.carbon.getCarbonTimelines
 import org.opendc.compute.simulator.host.SimHost
+import org.opendc.compute.simulator.scheduler.ComputeScheduler
 import org.opendc.compute.simulator.service.ComputeService
 import org.opendc.compute.topology.specs.ClusterSpec
 import org.opendc.compute.topology.specs.HostSpec
 import org.opendc.compute.topology.specs.createSimBatteryPolicy
 import org.opendc.simulator.compute.power.CarbonModel
+import org.opendc.simulator.compute.power.CarbonReceiver
 import org.opendc.simulator.compute.power.SimPowerSource
 import org.opendc.simulator.compute.power.batteries.BatteryAggregator
 import org.opendc.simulator.compute.power.batteries.SimBattery
+import org.opendc.simulator.compute.power.batteries.policy.CarbonIntensityWindow
 import org.opendc.simulator.engine.engine.FlowEngine
+import org.opendc.simulator.engine.engine.FlowTolerance
 import org.opendc.simulator.engine.graph.FlowEdge
 import org.opendc.simulator.engine.graph.distributionPolicies.FlowDistributorFactory
 import org.opendc.simulator.engine.graph.distributionPolicies.FlowDistributorFactory.DistributionPolicy
@@ -44,27 +49,54 @@ import org.opendc.simulator.engine.graph.distributionPolicies.FlowDistributorFac
  * @param serviceDomain The domain name under which the compute service is registered.
  * @param clusterSpecs A list of [HostSpec] objects describing the simulated hosts to provision.
  * @param startTime The absolute start time of the simulation. Used to determine the carbon trace offset.
+ * @param eventQueue The type of event queue of the flow engine that simulates the hosts.
+ * @param tolerance The tolerance with which the flow engine that simulates the hosts compares flow rates.
  */
 public class HostsProvisioningStep internal constructor(
     private val serviceDomain: String,
     private val clusterSpecs: List<ClusterSpec>,
     private val startTime: Long = 0L,
+    private val eventQueue: EventQueueType = EventQueueType.HEAP,
+    private val tolerance: FlowTolerance = FlowTolerance.DEFAULT,
 ) : ProvisioningStep {
     override fun apply(ctx: ProvisioningContext): AutoCloseable {
         val service =
             requireNotNull(
                 ctx.registry.resolve(serviceDomain, ComputeService::class.java),
             ) { "Compute service $serviceDomain does not exist" }
+
+        // Carbon-aware components follow a single carbon model, which is only well-defined for a single grid region
+        val carbonTraces = clusterSpecs.mapNotNull { it.powerSource.carbonTracePath }.distinct()
+        if (carbonTraces.size > 1 && ctx.registry.hasService(serviceDomain, ComputeScheduler::class.java)) {
+            require(ctx.registry.resolve(serviceDomain, ComputeScheduler::class.java) !is CarbonReceiver) {
+                "Carbon-aware scheduling requires all clusters to share a single carbon trace, " +
+                    "but the topology uses ${carbonTraces.size} carbon traces"
+            }
+        }
+
         val simHosts = mutableSetOf<SimHost>()
         val simPowerSources = mutableListOf<SimPowerSource>()
 
-        val engine = FlowEngine.create(ctx.dispatcher)
+        val engine = FlowEngine.create(ctx.dispatcher, false, eventQueue)
+        engine.tolerance = tolerance
+
+        // Load the carbon trace of each region once, and share a single carbon model between the clusters of a region
+        val carbonTimelines = getCarbonTimelines(carbonTraces)
+        val carbonModels = HashMap<String, CarbonModel>()
+        val carbonWindows = HashMap<Triple<CarbonModel, Double, Int>, CarbonIntensityWindow>()
 
         for (cluster in clusterSpecs) {
             // Create the Power Source to which hosts are connected
 
             // Create Power Source
-            val simPowerSource = SimPowerSource(engine, cluster.powerSource.totalPower.toDouble(), cluster.powerSource.name, cluster.name)
+            val simPowerSource =
+                SimPowerSource(
+                    engine,
+                    cluster.powerSource.totalPower.toDouble(),
+                    cluster.powerSource.name,
+                    cluster.name,
+                    cluster.region,
+                )
             simPowerSources.add(simPowerSource)
             service.addPowerSource(simPowerSource)
 
@@ -76,15 +108,12 @@ public class HostsProvisioningStep internal constructor(
                     1,
                 )
 
-            val carbonFragments = getCarbonFragments(cluster.powerSource.carbonTracePath)
-
-            var carbonModel: CarbonModel? = null
             // Create Carbon Model
-            if (carbonFragments != null) {
-                carbonModel = CarbonModel(engine, carbonFragments, startTime)
-                carbonModel.addReceiver(simPowerSource)
-                ctx.registry.register(serviceDomain, CarbonModel::class.java, carbonModel)
-            }
+            val carbonModel =
+                cluster.powerSource.carbonTracePath?.let { path ->
+                    carbonModels.getOrPut(path) { CarbonModel(engine, carbonTimelines.getValue(path), startTime) }
+                }
+            carbonModel?.addReceiver(simPowerSource)
 
             if (cluster.battery != null) {
                 // Create Battery Distributor
@@ -106,6 +135,7 @@ public class HostsProvisioningStep internal constructor(
                         cluster.battery!!.initialCharge,
                         cluster.battery!!.name,
                         cluster.name,
+                        cluster.region,
                         cluster.battery!!.embodiedCarbon,
                         cluster.battery!!.expectedLifetime,
                     )
@@ -114,12 +144,23 @@ public class HostsProvisioningStep internal constructor(
                 // Create Aggregator
                 val batteryAggregator = BatteryAggregator(engine, battery, batteryDistributor)
 
+                // The running mean policies of all batteries on the same grid share their window of carbon intensities
+                val carbonWindow =
+                    carbonModel?.let { model ->
+                        { startingThreshold: Double, windowSize: Int ->
+                            carbonWindows.getOrPut(Triple(model, startingThreshold, windowSize)) {
+                                CarbonIntensityWindow(windowSize, startingThreshold).also { model.addReceiver(it) }
+                            }
+                        }
+                    }
+
                 val batteryPolicy =
                     createSimBatteryPolicy(
                         cluster.battery!!.batteryPolicy,
                         engine,
                         battery,
                         batteryAggregator,
+                        carbonWindow,
                     )
 
                 carbonModel?.addReceiver(batteryPolicy)
@@ -146,6 +187,7 @@ public class HostsProvisioningStep internal constructor(
                         hostSpec.embodiedCarbon,
                         hostSpec.expectedLifetime,
                         powerDistributor,
+                        cluster.region,
                     )
 
                 require(simHosts.add(simHost)) { "Host with name ${hostSpec.name} already exists" }
@@ -153,6 +195,9 @@ public class HostsProvisioningStep internal constructor(
             }
         }
 
+        // Carbon-aware components follow the single carbon model of the topology
+        carbonModels.values.singleOrNull()?.let { ctx.registry.register(serviceDomain, CarbonModel::class.java, it) }
+
         return AutoCloseable {
             for (simHost in simHosts) {
                 simHost.close()
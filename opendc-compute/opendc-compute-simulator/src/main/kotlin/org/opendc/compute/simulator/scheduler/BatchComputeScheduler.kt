@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.compute.simulator.scheduler
+
+/**
+ * A [ComputeScheduler] that selects hosts for all requests that are pending in a scheduling cycle at once.
+ *
+ * Instead of calling [select] for every request, the [ComputeService] hands all pending requests of a cycle to
+ * [selectBatch]. This allows the scheduler to share work between the requests of a batch, or to consider the
+ * requests in a different order than they were submitted.
+ */
+public interface BatchComputeScheduler : ComputeScheduler {
+    /**
+     * Select hosts for the pending [requests], which are given in the order in which they are queued.
+     *
+     * The scheduler passes every decision to [placement] before it considers the next request. The service places
+     * the task of a [SchedulingResultType.SUCCESS] result right away, and informs the scheduler of the changed host
+     * through [updateHost], so the host views always reflect all previous decisions of the batch.
+     *
+     * @param requests The requests pending in the current scheduling cycle.
+     * @param placement The callback that places the decisions of the scheduler.
+     */
+    public fun selectBatch(
+        requests: List<SchedulingRequest>,
+        placement: Placement,
+    )
+
+    /**
+     * The callback through which a [BatchComputeScheduler] passes its decisions to the service.
+     */
+    public fun interface Placement {
+        /**
+         * Apply the specified [result] of the scheduler.
+         *
+         * @return `true` if the request left the queue, either because its task was placed or because it can never
+         * be placed, or `false` if the request remains queued.
+         */
+        public fun place(result: SchedulingResult): Boolean
+    }
+}
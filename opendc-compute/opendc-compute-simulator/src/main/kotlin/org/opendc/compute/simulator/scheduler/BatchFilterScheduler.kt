@@ -0,0 +1,279 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.compute.simulator.scheduler
+
+import org.opendc.compute.simulator.scheduler.filters.HostFilter
+import org.opendc.compute.simulator.scheduler.weights.HostWeigher
+import org.opendc.compute.simulator.service.HostView
+import org.opendc.compute.simulator.service.ServiceTask
+import java.util.Collections
+import java.util.IdentityHashMap
+import java.util.SplittableRandom
+import java.util.random.RandomGenerator
+
+/**
+ * A [FilterScheduler] that schedules all pending requests of a scheduling cycle as a single batch.
+ *
+ * Requests are handled in queue order and receive exactly the same hosts as they would from the [FilterScheduler].
+ * The difference lies in the filter pass: tasks in a batch often share the same resource demands, so the hosts in
+ * use that pass the filters for such a shape are kept for the remainder of the batch. Later requests of the same
+ * shape only re-test the hosts that changed since, instead of testing every host in use again.
+ *
+ * Because hosts are weighed relative to the other fitting hosts, the weigher pass cannot be shared and is still
+ * performed per request. Without weighers, the [FilterScheduler] only looks for the first fitting host, which is
+ * cheap enough that no candidates are kept.
+ *
+ * The filters must only depend on the host and on the resource demands of the task, as is the case for the
+ * filters in [org.opendc.compute.simulator.scheduler.filters].
+ *
+ * @param filters The list of filters to apply when searching for an appropriate host.
+ * @param weighers The list of weighers to apply when searching for an appropriate host.
+ * @param subsetSize The size of the subset of best hosts from which a target is randomly chosen.
+ * @param random A [RandomGenerator] instance for selecting
+ * @param numHosts The expected number of hosts.
+ * @param cacheSize The maximum number of task shapes for which candidates are kept during a batch.
+ */
+public class BatchFilterScheduler(
+    filters: List<HostFilter>,
+    weighers: List<HostWeigher>,
+    subsetSize: Int = 1,
+    random: RandomGenerator = SplittableRandom(0),
+    numHosts: Int = 1000,
+    private val cacheSize: Int = 16,
+) : BatchComputeScheduler {
+    private val delegate = FilterScheduler(filters, weighers, subsetSize, random, numHosts)
+    private val usedHosts = delegate.usedHosts
+    private val otherFilters: List<HostFilter> = filters.drop(1)
+
+    /**
+     * The hosts that changed during the current batch, in the order in which they changed.
+     */
+    private val changes = ArrayList<HostView>()
+
+    /**
+     * The candidates per task shape, in least-recently used order.
+     */
+    private val candidates =
+        object : LinkedHashMap<TaskShape, Candidates>(cacheSize, 0.75f, true) {
+            override fun removeEldestEntry(eldest: MutableMap.MutableEntry<TaskShape, Candidates>?): Boolean {
+                return size > cacheSize
+            }
+        }
+
+    init {
+        require(cacheSize >= 1) { "Cache size must be one or greater" }
+    }
+
+    override fun addHost(host: HostView) {
+        delegate.addHost(host)
+        onHostChanged(host)
+    }
+
+    override fun removeHost(host: HostView) {
+        delegate.removeHost(host)
+        onHostChanged(host)
+    }
+
+    override fun failHost(host: HostView) {
+        delegate.failHost(host)
+        onHostChanged(host)
+    }
+
+    override fun restartHost(host: HostView) {
+        delegate.restartHost(host)
+        onHostChanged(host)
+    }
+
+    override fun updateHost(host: HostView) {
+        delegate.updateHost(host)
+        onHostChanged(host)
+    }
+
+    override fun setHostEmpty(hostView: HostView) {
+        delegate.setHostEmpty(hostView)
+        onHostChanged(hostView)
+    }
+
+    override fun select(iter: MutableIterator<SchedulingRequest>): SchedulingResult {
+        return delegate.select(iter)
+    }
+
+    override fun selectBatch(
+        requests: List<SchedulingRequest>,
+        placement: BatchComputeScheduler.Placement,
+    ) {
+        try {
+            for (req in requests) {
+                if (req.isCancelled) {
+                    continue
+                }
+
+                val task = req.task
+                val fittingHosts = findUsedHosts(task)
+
+                if (delegate.weighers.isNotEmpty() || fittingHosts.isEmpty()) {
+                    delegate.addFittingEmptyHosts(task, fittingHosts)
+                }
+
+                if (fittingHosts.isEmpty()) {
+                    if (!placement.place(SchedulingResult(SchedulingResultType.FAILURE, null, req))) {
+                        return
+                    }
+                    continue
+                }
+
+                val hostView = delegate.weigh(fittingHosts, task)
+                delegate.claim(hostView)
+                onHostChanged(hostView)
+
+                placement.place(SchedulingResult(SchedulingResultType.SUCCESS, hostView, req))
+            }
+        } finally {
+            candidates.clear()
+            changes.clear()
+        }
+    }
+
+    override fun addTask(
+        task: ServiceTask,
+        host: HostView,
+    ) {
+        delegate.addTask(task, host)
+        onHostChanged(host)
+    }
+
+    override fun removeTask(
+        task: ServiceTask,
+        host: HostView?,
+    ) {
+        delegate.removeTask(task, host)
+    }
+
+    /**
+     * Record that [host] changed, so that the candidates of the current batch are refreshed.
+     */
+    private fun onHostChanged(host: HostView) {
+        if (candidates.isNotEmpty()) {
+            changes.add(host)
+        }
+    }
+
+    /**
+     * Return the hosts in use that pass all filters for [task], in the order of the [HostCapacityIndex].
+     */
+    private fun findUsedHosts(task: ServiceTask): MutableList<HostView> {
+        if (delegate.weighers.isEmpty()) {
+            return usedHosts.getFittingHosts(task, 1)
+        }
+
+        val index = usedHosts.findIndex(task)
+        if (index < 0) {
+            return ArrayList()
+        }
+
+        val shape = TaskShape(task)
+        var entry = candidates[shape]
+        if (entry == null) {
+            entry = Candidates(usedHosts.getHostsFrom(0, task), changes.size)
+            candidates[shape] = entry
+        } else {
+            refresh(entry, task)
+        }
+
+        // The first filter passes for every host from the index onwards
+        val hosts = entry.hosts
+        return ArrayList(hosts.subList(lowerBound(hosts, index), hosts.size))
+    }
+
+    /**
+     * Bring the candidates in [entry] for [task] up to date with the hosts that changed since they were last used.
+     */
+    private fun refresh(
+        entry: Candidates,
+        task: ServiceTask,
+    ) {
+        if (entry.seen == changes.size) {
+            return
+        }
+
+        val changed = Collections.newSetFromMap(IdentityHashMap<HostView, Boolean>())
+        for (i in entry.seen until changes.size) {
+            changed.add(changes[i])
+        }
+        entry.seen = changes.size
+
+        val hosts = entry.hosts
+        hosts.removeIf { it in changed }
+
+        for (host in changed) {
+            val rank = usedHosts.rankOf(host)
+            if (rank < 0 || !otherFilters.all { it.test(host, task) }) {
+                continue
+            }
+
+            hosts.add(lowerBound(hosts, rank), host)
+        }
+    }
+
+    /**
+     * Return the position of the first host in [hosts] whose rank in the index is at least [rank].
+     */
+    private fun lowerBound(
+        hosts: List<HostView>,
+        rank: Int,
+    ): Int {
+        var low = 0
+        var high = hosts.size
+        while (low < high) {
+            val mid = (low + high) ushr 1
+            if (usedHosts.rankOf(hosts[mid]) < rank) low = mid + 1 else high = mid
+        }
+        return low
+    }
+
+    /**
+     * The resource demands of a task, which determine the outcome of the filters.
+     */
+    private data class TaskShape(
+        val cpuCoreCount: Int,
+        val cpuCapacity: Double,
+        val memorySize: Long,
+        val gpuCoreCount: Int,
+        val gpuCapacity: Double,
+    ) {
+        constructor(task: ServiceTask) : this(
+            task.cpuCoreCount,
+            task.cpuCapacity,
+            task.memorySize,
+            task.gpuCoreCount,
+            task.gpuCapacity,
+        )
+    }
+
+    /**
+     * The hosts in use that pass all filters but the first for a task shape, in the order of the index.
+     *
+     * @property seen The number of [changes] that are reflected in [hosts].
+     */
+    private class Candidates(val hosts: MutableList<HostView>, var seen: Int)
+}
@@ -0,0 +1,342 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.compute.simulator.scheduler
+
+import org.opendc.compute.simulator.scheduler.filters.HostFilter
+import org.opendc.compute.simulator.service.HostView
+import org.opendc.compute.simulator.service.ServiceTask
+import java.util.IdentityHashMap
+
+/**
+ * The order in which a [BinPackingScheduler] considers the hosts for a task.
+ */
+public enum class BinPackingPolicy {
+    /**
+     * Place the task on the first host, in the order in which the hosts were added, on which it fits.
+     */
+    FIRST_FIT_DECREASING,
+
+    /**
+     * Place the task on the host with the lowest score for the first filter on which it fits, which is the host
+     * with the least room left for the built-in filters.
+     */
+    BEST_FIT_DECREASING,
+}
+
+/**
+ * A [BatchComputeScheduler] that packs all pending requests of a scheduling cycle onto as few hosts as possible.
+ *
+ * The requests of a batch are sorted by decreasing size, where the size of a task is its dominant share: the largest
+ * fraction of the CPU cores or memory of the largest host that it demands. Each task is then placed according to
+ * the [policy], and a task that does not fit does not stop the remaining tasks of the batch from being placed.
+ *
+ * The hosts are kept in the order in which they were added, together with a tree that keeps the maximum score per
+ * filter for every range of hosts. A search skips every range in which [HostFilter.requiredScore] shows that a
+ * filter cannot pass.
+ *
+ * @param filters The list of filters that a host must pass to run a task.
+ * @param policy The policy by which a host is chosen among the hosts that pass the filters.
+ */
+public class BinPackingScheduler(
+    private val filters: List<HostFilter>,
+    private val policy: BinPackingPolicy = BinPackingPolicy.FIRST_FIT_DECREASING,
+) : BatchComputeScheduler {
+    private val dims = filters.size
+
+    private val hosts = ArrayList<HostView>()
+    private val slots = IdentityHashMap<HostView, Int>()
+    private var active = BooleanArray(1)
+    private var failed = BooleanArray(1)
+
+    /**
+     * The number of leaves of the trees, which is a power of two.
+     */
+    private var capacity = 1
+
+    /**
+     * The number of active hosts per node of the tree.
+     */
+    private var counts = IntArray(2)
+
+    /**
+     * The maximum score per filter per node of the tree.
+     */
+    private var scores = DoubleArray(2 * dims)
+
+    private val required = DoubleArray(dims)
+
+    private var maxCores = 1
+    private var maxMemory = 1L
+
+    override fun addHost(host: HostView) {
+        val slot = slots.getOrPut(host) { allocate(host) }
+        active[slot] = true
+        failed[slot] = false
+
+        val model = host.host.getModel()
+        maxCores = maxOf(maxCores, model.coreCount)
+        maxMemory = maxOf(maxMemory, model.memoryCapacity)
+
+        refresh(slot)
+    }
+
+    override fun removeHost(host: HostView) {
+        val slot = slots[host] ?: return
+        active[slot] = false
+        refresh(slot)
+    }
+
+    override fun failHost(host: HostView) {
+        val slot = slots[host] ?: return
+        removeHost(host)
+        failed[slot] = true
+    }
+
+    override fun restartHost(host: HostView) {
+        val slot = slots[host] ?: return
+        if (failed[slot]) {
+            addHost(host)
+        }
+    }
+
+    override fun updateHost(host: HostView) {
+        val slot = slots[host] ?: return
+        if (active[slot]) {
+            refresh(slot)
+        }
+    }
+
+    override fun setHostEmpty(hostView: HostView) {
+        updateHost(hostView)
+    }
+
+    override fun select(iter: MutableIterator<SchedulingRequest>): SchedulingResult {
+        var req = iter.next()
+
+        while (req.isCancelled) {
+            iter.remove()
+            if (iter.hasNext()) {
+                req = iter.next()
+            } else {
+                // No tasks in queue
+                return SchedulingResult(SchedulingResultType.EMPTY)
+            }
+        }
+
+        val host = findHost(req.task) ?: return SchedulingResult(SchedulingResultType.FAILURE, null, req)
+
+        iter.remove()
+        return SchedulingResult(SchedulingResultType.SUCCESS, host, req)
+    }
+
+    override fun selectBatch(
+        requests: List<SchedulingRequest>,
+        placement: BatchComputeScheduler.Placement,
+    ) {
+        val batch = requests.filterNot { it.isCancelled }.sortedByDescending { dominantShare(it.task) }
+
+        for (req in batch) {
+            val host = findHost(req.task)
+            if (host == null) {
+                placement.place(SchedulingResult(SchedulingResultType.FAILURE, null, req))
+            } else {
+                placement.place(SchedulingResult(SchedulingResultType.SUCCESS, host, req))
+            }
+        }
+    }
+
+    override fun removeTask(
+        task: ServiceTask,
+        host: HostView?,
+    ) {}
+
+    /**
+     * Return the largest fraction of the CPU cores or memory of the largest host that [task] demands.
+     */
+    private fun dominantShare(task: ServiceTask): Double {
+        return maxOf(task.cpuCoreCount.toDouble() / maxCores, task.memorySize.toDouble() / maxMemory)
+    }
+
+    /**
+     * Find the host on which [task] is placed according to the [policy], or `null` if the task fits on no host.
+     */
+    private fun findHost(task: ServiceTask): HostView? {
+        for (f in 0 until dims) {
+            required[f] = filters[f].requiredScore(task).toDouble()
+        }
+
+        val slot =
+            when (policy) {
+                BinPackingPolicy.FIRST_FIT_DECREASING -> findFirst(1, 0, capacity, task)
+                BinPackingPolicy.BEST_FIT_DECREASING -> findBest(1, 0, capacity, task, -1)
+            }
+
+        return if (slot >= 0) hosts[slot] else null
+    }
+
+    /**
+     * Return the first slot within the range [start, end) of [node] whose host passes the filters for [task], or -1.
+     */
+    private fun findFirst(
+        node: Int,
+        start: Int,
+        end: Int,
+        task: ServiceTask,
+    ): Int {
+        if (canSkip(node)) {
+            return -1
+        }
+
+        if (end - start == 1) {
+            return if (filters.all { it.test(hosts[start], task) }) start else -1
+        }
+
+        val mid = (start + end) ushr 1
+        val left = findFirst(2 * node, start, mid, task)
+        return if (left >= 0) left else findFirst(2 * node + 1, mid, end, task)
+    }
+
+    /**
+     * Return the slot within the range [start, end) of [node] whose host passes the filters for [task] and has the
+     * lowest score for the first filter, or [best] if there is no better slot in the range.
+     */
+    private fun findBest(
+        node: Int,
+        start: Int,
+        end: Int,
+        task: ServiceTask,
+        best: Int,
+    ): Int {
+        if (canSkip(node)) {
+            return best
+        }
+
+        if (end - start == 1) {
+            val host = hosts[start]
+            if (!filters.all { it.test(host, task) }) {
+                return best
+            }
+            return if (best < 0 || score(start) < score(best)) start else best
+        }
+
+        val mid = (start + end) ushr 1
+        val left = findBest(2 * node, start, mid, task, best)
+        return findBest(2 * node + 1, mid, end, task, left)
+    }
+
+    /**
+     * Return the score of the first filter for the host in [slot].
+     */
+    private fun score(slot: Int): Double {
+        return if (dims > 0) scores[(capacity + slot) * dims] else 0.0
+    }
+
+    /**
+     * Determine whether none of the hosts below [node] can pass the filters according to their required scores.
+     */
+    private fun canSkip(node: Int): Boolean {
+        if (counts[node] == 0) {
+            return true
+        }
+
+        val offset = node * dims
+        for (f in 0 until dims) {
+            if (scores[offset + f] < required[f]) {
+                return true
+            }
+        }
+        return false
+    }
+
+    /**
+     * Assign a slot to [host], growing the trees if all slots are in use.
+     */
+    private fun allocate(host: HostView): Int {
+        val slot = hosts.size
+        hosts.add(host)
+
+        if (slot == capacity) {
+            grow()
+        }
+        return slot
+    }
+
+    /**
+     * Double the number of leaves of the trees and recompute all nodes.
+     */
+    private fun grow() {
+        val capacity = this.capacity * 2
+        this.capacity = capacity
+        active = active.copyOf(capacity)
+        failed = failed.copyOf(capacity)
+        counts = IntArray(2 * capacity)
+        scores = DoubleArray(2 * capacity * dims) { Double.NEGATIVE_INFINITY }
+
+        for (slot in 0 until hosts.size) {
+            setLeaf(slot)
+        }
+        for (node in capacity - 1 downTo 1) {
+            merge(node)
+        }
+    }
+
+    /**
+     * Recompute the leaf of [slot] and the nodes above it.
+     */
+    private fun refresh(slot: Int) {
+        setLeaf(slot)
+
+        var node = (capacity + slot) ushr 1
+        while (node >= 1) {
+            merge(node)
+            node = node ushr 1
+        }
+    }
+
+    /**
+     * Store the scores of the host in [slot] in its leaf.
+     */
+    private fun setLeaf(slot: Int) {
+        val leaf = capacity + slot
+        val isActive = slot < hosts.size && active[slot]
+        counts[leaf] = if (isActive) 1 else 0
+
+        val offset = leaf * dims
+        for (f in 0 until dims) {
+            scores[offset + f] = if (isActive) filters[f].score(hosts[slot]).toDouble() else Double.NEGATIVE_INFINITY
+        }
+    }
+
+    /**
+     * Recompute [node] from its children.
+     */
+    private fun merge(node: Int) {
+        val left = 2 * node
+        val right = left + 1
+        counts[node] = counts[left] + counts[right]
+
+        for (f in 0 until dims) {
+            scores[node * dims + f] = maxOf(scores[left * dims + f], scores[right * dims + f])
+        }
+    }
+}
@@ -56,6 +56,15 @@ public interface ComputeScheduler {
      */
     public fun select(iter: MutableIterator<SchedulingRequest>): SchedulingResult
 
+    /**
+     * Inform the scheduler that a [task] has been placed on the [host] without being selected by the scheduler, e.g.,
+     * because it resumes on the host it ran on in a forked simulation.
+     */
+    public fun addTask(
+        task: ServiceTask,
+        host: HostView,
+    ) {}
+
     /**
      * Inform the scheduler that a [task] has been removed from the [host].
      * Could be due to completion or failure.
@@ -44,7 +44,7 @@ import java.util.random.RandomGenerator
  */
 public class FilterScheduler(
     private val filters: List<HostFilter>,
-    private val weighers: List<HostWeigher>,
+    internal val weighers: List<HostWeigher>,
     private val subsetSize: Int = 1,
     private val random: RandomGenerator = SplittableRandom(0),
     numHosts: Int = 1000,
@@ -58,7 +58,7 @@ public class FilterScheduler(
 
     private val weights = DoubleArray(numHosts)
 
-    private val usedHosts = SortedHostViewList(numHosts, filters)
+    internal val usedHosts = HostCapacityIndex(filters)
 
     init {
         require(subsetSize >= 1) { "Subset size must be one or greater" }
@@ -109,7 +109,7 @@ public class FilterScheduler(
         if (hostView.host.isEmpty()) {
             setHostEmpty(hostView)
         } else {
-            usedHosts.updateHost(hostView)
+            usedHosts.update(hostView)
         }
     }
 
@@ -124,6 +124,13 @@ public class FilterScheduler(
         }
     }
 
+    override fun addTask(
+        task: ServiceTask,
+        host: HostView,
+    ) {
+        claim(host)
+    }
+
     override fun select(iter: MutableIterator<SchedulingRequest>): SchedulingResult {
         var req = iter.next()
 
@@ -139,64 +146,98 @@ public class FilterScheduler(
 
         val task = req.task
 
-        val fittingHosts = usedHosts.getFittingHosts(task)
+        // Without weighers, only the first fitting host is selected
+        val fittingHosts =
+            if (weighers.isEmpty()) {
+                usedHosts.getFittingHosts(task, 1)
+            } else {
+                usedHosts.getFittingHosts(task)
+            }
+
+        if (weighers.isNotEmpty() || fittingHosts.isEmpty()) {
+            addFittingEmptyHosts(task, fittingHosts)
+        }
+
+        if (fittingHosts.isEmpty()) {
+            return SchedulingResult(SchedulingResultType.FAILURE, null, req)
+        }
+
+        val hostView = weigh(fittingHosts, task)
+
+        iter.remove()
+
+        claim(hostView)
 
+        return SchedulingResult(SchedulingResultType.SUCCESS, hostView, req)
+    }
+
+    /**
+     * Add the first empty host of every host type to [fittingHosts] if it passes the filters for [task].
+     */
+    internal fun addFittingEmptyHosts(
+        task: ServiceTask,
+        fittingHosts: MutableList<HostView>,
+    ) {
         for (emptyHosts in emptyHostMap.values) {
             if (!emptyHosts.isEmpty()) {
                 val host = emptyHosts.first()
-                if (filters.all { filter -> filter.test(host, req.task) }) {
+                if (filters.all { filter -> filter.test(host, task) }) {
                     fittingHosts.add(host)
                 }
             }
         }
+    }
 
-        if (fittingHosts.isEmpty()) {
-            return SchedulingResult(SchedulingResultType.FAILURE, null, req)
+    /**
+     * Select the host for [task] among the non-empty list of [fittingHosts] using the weighers.
+     */
+    internal fun weigh(
+        fittingHosts: List<HostView>,
+        task: ServiceTask,
+    ): HostView {
+        if (weighers.isEmpty()) {
+            return fittingHosts.first()
         }
 
         var maxWeight = Double.MIN_VALUE
         var maxIndex = 0
 
-        val hostView =
-            if (weighers.isNotEmpty()) {
-                val results = weighers.map { it.getWeights(fittingHosts, task) }
-
-                for (result in results) {
-                    val min = result.min
-                    val range = (result.max - min)
-
-                    // Skip result if all weights are the same
-                    if (range == 0.0) {
-                        continue
-                    }
-
-                    val multiplier = result.multiplier
-                    val factor = multiplier / range
-
-                    for ((i, weight) in result.weights.withIndex()) {
-                        this.weights[i] += factor * (weight - min)
-                        if (this.weights[i] > maxWeight) {
-                            maxIndex = i
-                            maxWeight = weight
-                        }
-                    }
-                }
+        val results = weighers.map { it.getWeights(fittingHosts, task) }
 
-                fittingHosts[maxIndex]
-            } else {
-                fittingHosts.first()
+        for (result in results) {
+            val min = result.min
+            val range = (result.max - min)
+
+            // Skip result if all weights are the same
+            if (range == 0.0) {
+                continue
             }
 
-        iter.remove()
+            val multiplier = result.multiplier
+            val factor = multiplier / range
 
+            for ((i, weight) in result.weights.withIndex()) {
+                this.weights[i] += factor * (weight - min)
+                if (this.weights[i] > maxWeight) {
+                    maxIndex = i
+                    maxWeight = weight
+                }
+            }
+        }
+
+        return fittingHosts[maxIndex]
+    }
+
+    /**
+     * Move [hostView] from the empty hosts to the hosts in use once a task is placed on it.
+     */
+    internal fun claim(hostView: HostView) {
         val hostType = hostView.host.getType()
 
         if (hostView.host.isEmpty()) {
             emptyHostMap[hostType]?.remove(hostView)
-            usedHosts.addSorted(hostView)
+            usedHosts.add(hostView)
         }
-
-        return SchedulingResult(SchedulingResultType.SUCCESS, hostView, req)
     }
 
     override fun removeTask(
@@ -0,0 +1,497 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.compute.simulator.scheduler
+
+import org.opendc.compute.simulator.scheduler.filters.HostFilter
+import org.opendc.compute.simulator.service.HostView
+import org.opendc.compute.simulator.service.ServiceTask
+import java.util.IdentityHashMap
+
+/**
+ * An index over the hosts in use by a [FilterScheduler], ordered by the scores of its filters.
+ *
+ * The hosts are kept in ascending order of [HostFilter.score], compared filter by filter. The ordered sequence is
+ * split into blocks of bounded size that each keep the maximum score per filter, and a Fenwick tree over the block
+ * sizes provides access to the hosts by rank. Adding or removing a host costs O(log n) rank lookups plus a shift
+ * within a single block, and queries skip every block in which [HostFilter.requiredScore] shows that a filter cannot
+ * pass.
+ *
+ * The index places hosts at the same position as a binary search over a sorted list would, so the order of hosts
+ * with equal scores does not depend on the block layout.
+ *
+ * @param filters The filters whose scores order the hosts.
+ * @param blockSize The target number of hosts per block.
+ */
+public class HostCapacityIndex(
+    public val filters: List<HostFilter>,
+    private val blockSize: Int = 64,
+) {
+    /**
+     * A run of consecutive hosts in the index.
+     */
+    private class Block(dims: Int, capacity: Int) {
+        val hosts = arrayOfNulls<HostView>(capacity)
+        val keys = DoubleArray(capacity * dims)
+        val max = DoubleArray(dims)
+        var count = 0
+        var index = 0
+    }
+
+    private val dims = filters.size
+    private val firstFilter: HostFilter? = filters.firstOrNull()
+    private val otherFilters: List<HostFilter> = if (dims > 1) filters.subList(1, dims) else emptyList()
+
+    private val blocks = ArrayList<Block>()
+    private val locations = IdentityHashMap<HostView, Block>()
+    private var tree = IntArray(1)
+
+    private val probe = DoubleArray(dims)
+    private val required = DoubleArray(dims)
+
+    // The result of the last call to locate()
+    private var foundBlock = 0
+    private var foundOffset = 0
+
+    init {
+        require(blockSize >= 1) { "Block size must be one or greater" }
+    }
+
+    /**
+     * The number of hosts in the index.
+     */
+    public var size: Int = 0
+        private set
+
+    /**
+     * Return the host at the specified [index] in the order of the index.
+     */
+    public operator fun get(index: Int): HostView {
+        if (index < 0 || index >= size) {
+            throw IndexOutOfBoundsException("Index $index out of bounds for size $size")
+        }
+
+        locate(index)
+        return blocks[foundBlock].hosts[foundOffset]!!
+    }
+
+    /**
+     * Determine whether [hostView] is part of the index.
+     */
+    public operator fun contains(hostView: HostView): Boolean = locations.containsKey(hostView)
+
+    /**
+     * Return the position of [hostView] in the order of the index, or -1 if the host is not part of the index.
+     */
+    public fun rankOf(hostView: HostView): Int {
+        val block = locations[hostView] ?: return -1
+
+        var offset = 0
+        while (block.hosts[offset] !== hostView) {
+            offset++
+        }
+
+        var rank = offset
+        var i = block.index
+        while (i > 0) {
+            rank += tree[i]
+            i -= i and -i
+        }
+        return rank
+    }
+
+    /**
+     * Add [hostView] to the index at the position of its current scores.
+     *
+     * If the host is already part of the index, it is moved to its new position.
+     */
+    public fun add(hostView: HostView) {
+        remove(hostView)
+
+        val key = probe
+        for (f in 0 until dims) {
+            key[f] = filters[f].score(hostView).toDouble()
+        }
+
+        insert(hostView, key, insertionIndex(key))
+    }
+
+    /**
+     * Restore the position of [hostView] after its resources have changed.
+     */
+    public fun update(hostView: HostView) {
+        add(hostView)
+    }
+
+    /**
+     * Remove [hostView] from the index.
+     *
+     * @return `true` if the host was part of the index, `false` otherwise.
+     */
+    public fun remove(hostView: HostView): Boolean {
+        val block = locations.remove(hostView) ?: return false
+
+        var offset = 0
+        while (block.hosts[offset] !== hostView) {
+            offset++
+        }
+
+        val count = block.count - 1
+        System.arraycopy(block.hosts, offset + 1, block.hosts, offset, count - offset)
+        System.arraycopy(block.keys, (offset + 1) * dims, block.keys, offset * dims, (count - offset) * dims)
+        block.hosts[count] = null
+        block.count = count
+        size--
+
+        if (count == 0) {
+            blocks.removeAt(block.index)
+            rebuild()
+        } else {
+            computeMax(block)
+            updateTree(block.index, -1)
+        }
+        return true
+    }
+
+    /**
+     * Return the index of the first host that passes the first filter for [task], or -1 if no host passes.
+     *
+     * The index is found by binary search and therefore assumes that the first filter passes for a suffix of the
+     * hosts.
+     */
+    public fun findIndex(task: ServiceTask): Int {
+        val filter = firstFilter ?: return if (size > 0) 0 else -1
+
+        var lowIndex = 0
+        var highIndex = size
+        while (lowIndex < highIndex) {
+            val mid = (lowIndex + highIndex) ushr 1
+            if (filter.test(this[mid], task)) highIndex = mid else lowIndex = mid + 1
+        }
+
+        if (lowIndex == 0) {
+            return if (size > 0 && filter.test(this[0], task)) 0 else -1
+        }
+
+        return lowIndex
+    }
+
+    /**
+     * Return the hosts that pass all filters for [task], in the order of the index.
+     *
+     * Since the hosts are ordered by ascending scores, the first hosts of the result are the tightest fits. The
+     * [limit] bounds the number of hosts to return, which allows callers to only obtain the best candidates.
+     *
+     * @param task The task to find hosts for.
+     * @param limit The maximum number of hosts to return.
+     */
+    public fun getFittingHosts(
+        task: ServiceTask,
+        limit: Int = Int.MAX_VALUE,
+    ): MutableList<HostView> {
+        val index = findIndex(task)
+        if (index < 0) {
+            return ArrayList()
+        }
+
+        return getHostsFrom(index, task, limit)
+    }
+
+    /**
+     * Return the hosts from position [index] onwards that pass all filters but the first for [task], in the order
+     * of the index.
+     *
+     * Together with [findIndex], this allows callers that already know on which hosts the first filter passes to
+     * only test the remaining filters.
+     *
+     * @param index The position of the first host to consider.
+     * @param task The task to find hosts for.
+     * @param limit The maximum number of hosts to return.
+     */
+    public fun getHostsFrom(
+        index: Int,
+        task: ServiceTask,
+        limit: Int = Int.MAX_VALUE,
+    ): MutableList<HostView> {
+        val result = ArrayList<HostView>()
+        if (limit <= 0 || index < 0 || index >= size) {
+            return result
+        }
+
+        for (f in 1 until dims) {
+            required[f] = filters[f].requiredScore(task).toDouble()
+        }
+
+        locate(index)
+        var offset = foundOffset
+        for (b in foundBlock until blocks.size) {
+            val block = blocks[b]
+            if (canSkip(block)) {
+                offset = 0
+                continue
+            }
+
+            for (i in offset until block.count) {
+                val host = block.hosts[i]!!
+                if (otherFilters.all { it.test(host, task) }) {
+                    result.add(host)
+                    if (result.size >= limit) {
+                        return result
+                    }
+                }
+            }
+            offset = 0
+        }
+
+        return result
+    }
+
+    /**
+     * Return the hosts in the order of the index.
+     */
+    public fun toList(): List<HostView> {
+        val result = ArrayList<HostView>(size)
+        for (block in blocks) {
+            for (i in 0 until block.count) {
+                result.add(block.hosts[i]!!)
+            }
+        }
+        return result
+    }
+
+    /**
+     * Determine whether the hosts are ordered according to their current scores.
+     */
+    public fun isSorted(): Boolean {
+        val hosts = toList()
+        val previous = DoubleArray(dims)
+        val current = DoubleArray(dims)
+        for ((i, host) in hosts.withIndex()) {
+            for (f in 0 until dims) {
+                current[f] = filters[f].score(host).toDouble()
+            }
+            if (i > 0 && compare(previous, 0, current) > 0) {
+                return false
+            }
+            current.copyInto(previous)
+        }
+        return true
+    }
+
+    /**
+     * Determine the position at which a host with the specified [key] is inserted.
+     *
+     * This follows the probes of a binary search over a sorted list, so that hosts with equal scores are placed
+     * at the same position.
+     */
+    private fun insertionIndex(key: DoubleArray): Int {
+        if (dims == 0) {
+            return size
+        }
+
+        var low = 0
+        var high = size - 1
+        while (low <= high) {
+            val mid = (low + high) ushr 1
+            locate(mid)
+            val cmp = compare(blocks[foundBlock].keys, foundOffset * dims, key)
+            if (cmp < 0) {
+                low = mid + 1
+            } else if (cmp > 0) {
+                high = mid - 1
+            } else {
+                return mid
+            }
+        }
+        return low
+    }
+
+    /**
+     * Insert [hostView] with the specified [key] at position [index].
+     */
+    private fun insert(
+        hostView: HostView,
+        key: DoubleArray,
+        index: Int,
+    ) {
+        val block: Block
+        val offset: Int
+        if (blocks.isEmpty()) {
+            block = Block(dims, 2 * blockSize)
+            blocks.add(block)
+            rebuild()
+            offset = 0
+        } else if (index == size) {
+            block = blocks[blocks.size - 1]
+            offset = block.count
+        } else {
+            locate(index)
+            block = blocks[foundBlock]
+            offset = foundOffset
+        }
+
+        val count = block.count
+        System.arraycopy(block.hosts, offset, block.hosts, offset + 1, count - offset)
+        System.arraycopy(block.keys, offset * dims, block.keys, (offset + 1) * dims, (count - offset) * dims)
+        block.hosts[offset] = hostView
+        key.copyInto(block.keys, offset * dims)
+        block.count = count + 1
+        size++
+        locations[hostView] = block
+
+        if (count == 0) {
+            computeMax(block)
+        } else {
+            for (f in 0 until dims) {
+                block.max[f] = maxOf(block.max[f], key[f])
+            }
+        }
+
+        if (block.count == block.hosts.size) {
+            split(block)
+        } else {
+            updateTree(block.index, 1)
+        }
+    }
+
+    /**
+     * Split the specified full [block] into two halves.
+     */
+    private fun split(block: Block) {
+        val next = Block(dims, block.hosts.size)
+        val half = block.count / 2
+        val moved = block.count - half
+
+        System.arraycopy(block.hosts, half, next.hosts, 0, moved)
+        System.arraycopy(block.keys, half * dims, next.keys, 0, moved * dims)
+        block.hosts.fill(null, half, block.count)
+        block.count = half
+        next.count = moved
+
+        for (i in 0 until moved) {
+            locations[next.hosts[i]!!] = next
+        }
+
+        computeMax(block)
+        computeMax(next)
+
+        blocks.add(block.index + 1, next)
+        rebuild()
+    }
+
+    /**
+     * Determine whether none of the hosts in [block] can pass the filters according to their required scores.
+     */
+    private fun canSkip(block: Block): Boolean {
+        for (f in 1 until dims) {
+            if (block.max[f] < required[f]) {
+                return true
+            }
+        }
+        return false
+    }
+
+    /**
+     * Recompute the maximum score per filter of [block].
+     */
+    private fun computeMax(block: Block) {
+        val keys = block.keys
+        for (f in 0 until dims) {
+            var max = Double.NEGATIVE_INFINITY
+            for (i in 0 until block.count) {
+                max = maxOf(max, keys[i * dims + f])
+            }
+            block.max[f] = max
+        }
+    }
+
+    /**
+     * Compare the key stored at [offset] in [keys] against [key].
+     */
+    private fun compare(
+        keys: DoubleArray,
+        offset: Int,
+        key: DoubleArray,
+    ): Int {
+        for (f in 0 until dims) {
+            val cmp = keys[offset + f].compareTo(key[f])
+            if (cmp != 0) {
+                return cmp
+            }
+        }
+        return 0
+    }
+
+    /**
+     * Find the block and the offset within the block of the host at [rank], and store them in [foundBlock] and
+     * [foundOffset].
+     */
+    private fun locate(rank: Int) {
+        val tree = tree
+        val n = blocks.size
+        var pos = 0
+        var remaining = rank
+        var step = Integer.highestOneBit(n)
+        while (step > 0) {
+            val next = pos + step
+            if (next <= n && tree[next] <= remaining) {
+                pos = next
+                remaining -= tree[next]
+            }
+            step = step ushr 1
+        }
+
+        foundBlock = pos
+        foundOffset = remaining
+    }
+
+    /**
+     * Add [delta] to the size of the block at [index] in the Fenwick tree.
+     */
+    private fun updateTree(
+        index: Int,
+        delta: Int,
+    ) {
+        var i = index + 1
+        while (i < tree.size) {
+            tree[i] += delta
+            i += i and -i
+        }
+    }
+
+    /**
+     * Renumber the blocks and rebuild the Fenwick tree after the list of blocks changed.
+     */
+    private fun rebuild() {
+        val n = blocks.size
+        val tree = IntArray(n + 1)
+        for ((i, block) in blocks.withIndex()) {
+            block.index = i
+            tree[i + 1] += block.count
+            val parent = (i + 1) + ((i + 1) and -(i + 1))
+            if (parent <= n) {
+                tree[parent] += tree[i + 1]
+            }
+        }
+        this.tree = tree
+    }
+}
@@ -150,6 +150,32 @@ public class MemorizingScheduler(
         return result
     }
 
+    override fun addTask(
+        task: ServiceTask,
+        host: HostView,
+    ) {
+        val priorityIdx = host.priorityIndex
+        val listIdx = host.listIndex
+        val chosenList = hostsQueue[priorityIdx]
+        val nextList = hostsQueue[priorityIdx + 1]
+
+        if (chosenList.size == 1) {
+            chosenList.removeLast()
+            if (priorityIdx == minAvailableHost) {
+                minAvailableHost++
+            }
+        } else {
+            val lastItem = chosenList.last()
+            chosenList[listIdx] = lastItem
+            lastItem.listIndex = listIdx
+            chosenList.removeLast()
+        }
+
+        nextList.add(host)
+        host.priorityIndex++
+        host.listIndex = nextList.size - 1
+    }
+
     override fun removeTask(
         task: ServiceTask,
         host: HostView?,
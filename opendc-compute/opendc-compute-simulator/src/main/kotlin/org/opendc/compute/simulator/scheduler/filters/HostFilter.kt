@@ -38,7 +38,16 @@ public fun interface HostFilter {
         task: ServiceTask,
     ): Boolean
 
+    /**
+     * Obtain the score of the specified [host] by which the [FilterScheduler] orders the hosts in use.
+     */
     public fun score(host: HostView): Number = 0.0
 
-    public fun requiredScore(task: ServiceTask): Number = 0.0
+    /**
+     * Obtain the lowest [score] that a host must have to pass this filter for the specified [task].
+     *
+     * A host for which [test] passes must have a score of at least this value, which allows the scheduler to skip
+     * hosts without testing them. By default, no bound is known.
+     */
+    public fun requiredScore(task: ServiceTask): Number = Double.NEGATIVE_INFINITY
 }
@@ -64,4 +64,8 @@ public class RamFilter(private val allocationRatio: Double = 1.0) : HostFilter {
             host.host.getModel().memoryCapacity * allocationRatio
         }
     }
+
+    override fun requiredScore(task: ServiceTask): Double {
+        return task.memorySize.toDouble()
+    }
 }
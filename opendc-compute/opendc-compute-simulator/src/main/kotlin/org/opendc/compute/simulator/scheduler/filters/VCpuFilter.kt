@@ -60,4 +60,8 @@ public class VCpuFilter(private val allocationRatio: Double = 1.0) : HostFilter
             host.host.getModel().coreCount * allocationRatio
         }
     }
+
+    override fun requiredScore(task: ServiceTask): Double {
+        return task.cpuCoreCount.toDouble()
+    }
 }
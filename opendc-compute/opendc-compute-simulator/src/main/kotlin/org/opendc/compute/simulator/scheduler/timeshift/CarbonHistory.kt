@@ -0,0 +1,75 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.compute.simulator.scheduler.timeshift
+
+/**
+ * A fixed-size history of the most recent carbon intensity updates, with a running sum to obtain their mean.
+ *
+ * The history is backed by a primitive ring buffer, so recording an update does not allocate.
+ *
+ * @param windowSize The maximum number of updates to remember, which is at least one.
+ */
+public class CarbonHistory(windowSize: Int) {
+    private val values = DoubleArray(maxOf(windowSize, 1))
+    private var head = 0
+
+    /**
+     * The number of updates in the history.
+     */
+    public var size: Int = 0
+        private set
+
+    /**
+     * The sum of the updates in the history.
+     */
+    public var sum: Double = 0.0
+        private set
+
+    /**
+     * The most recent update or `0.0` if the history is empty.
+     */
+    public val last: Double
+        get() = if (size == 0) 0.0 else values[(head + size - 1) % values.size]
+
+    /**
+     * The mean of the updates in the history.
+     */
+    public val mean: Double
+        get() = sum / size
+
+    /**
+     * Record [carbonIntensity], evicting the oldest update if the history is full.
+     */
+    public fun add(carbonIntensity: Double) {
+        sum += carbonIntensity
+
+        if (size == values.size) {
+            sum -= values[head]
+            values[head] = carbonIntensity
+            head = (head + 1) % values.size
+        } else {
+            values[(head + size) % values.size] = carbonIntensity
+            size++
+        }
+    }
+}
@@ -31,7 +31,6 @@ import org.opendc.compute.simulator.service.HostView
 import org.opendc.compute.simulator.service.ServiceTask
 import org.opendc.simulator.compute.power.CarbonModel
 import java.time.InstantSource
-import java.util.LinkedList
 
 public class MemorizingTimeshift(
     private val filters: List<HostFilter>,
@@ -49,8 +48,7 @@ public class MemorizingTimeshift(
     private var minAvailableHost = 0
     private var numHosts = 0
 
-    override val pastCarbonIntensities: LinkedList<Double> = LinkedList<Double>()
-    override var carbonRunningSum: Double = 0.0
+    override val pastCarbonIntensities: CarbonHistory = CarbonHistory(windowSize)
     override var shortLowCarbon: Boolean = false // Low carbon regime for short tasks (< 2 hours)
     override var longLowCarbon: Boolean = false // Low carbon regime for long tasks (>= hours)
     override var carbonMod: CarbonModel? = null
@@ -189,6 +187,32 @@ public class MemorizingTimeshift(
         return result
     }
 
+    override fun addTask(
+        task: ServiceTask,
+        host: HostView,
+    ) {
+        val priorityIdx = host.priorityIndex
+        val listIdx = host.listIndex
+        val chosenList = hostsQueue[priorityIdx]
+        val nextList = hostsQueue[priorityIdx + 1]
+
+        if (chosenList.size == 1) {
+            chosenList.removeLast()
+            if (priorityIdx == minAvailableHost) {
+                minAvailableHost++
+            }
+        } else {
+            val lastItem = chosenList.last()
+            chosenList[listIdx] = lastItem
+            lastItem.listIndex = listIdx
+            chosenList.removeLast()
+        }
+
+        nextList.add(host)
+        host.priorityIndex++
+        host.listIndex = nextList.size - 1
+    }
+
     override fun removeTask(
         task: ServiceTask,
         host: HostView?,
@@ -29,9 +29,7 @@ import org.opendc.compute.simulator.service.ComputeService
 import org.opendc.simulator.compute.power.CarbonModel
 import org.opendc.simulator.compute.power.CarbonReceiver
 import java.time.InstantSource
-import java.util.LinkedList
 import kotlin.coroutines.CoroutineContext
-import kotlin.math.roundToInt
 
 public class TaskStopper(
     private val clock: InstantSource,
@@ -43,8 +41,7 @@ public class TaskStopper(
 ) : CarbonReceiver {
     private val scope: CoroutineScope = CoroutineScope(context + Job())
 
-    private val pastCarbonIntensities = LinkedList<Double>()
-    private var carbonRunningSum = 0.0
+    private val pastCarbonIntensities = CarbonHistory(windowSize)
     private var isHighCarbon = false
     private var carbonModel: CarbonModel? = null
 
@@ -78,11 +75,7 @@ public class TaskStopper(
         if (!forecast) {
             isHighCarbon = noForecastUpdateCarbonIntensity(newCarbonIntensity)
         } else {
-            val forecast = carbonModel!!.getForecast(forecastSize)
-
-            val localForecastSize = forecast.size
-            val quantileIndex = (localForecastSize * forecastThreshold).roundToInt()
-            val thresholdCarbonIntensity = forecast.sorted()[quantileIndex]
+            val thresholdCarbonIntensity = carbonModel!!.getForecastPercentile(forecastSize, forecastThreshold)
 
             isHighCarbon = newCarbonIntensity > thresholdCarbonIntensity
         }
@@ -95,13 +88,9 @@ public class TaskStopper(
     }
 
     private fun noForecastUpdateCarbonIntensity(newCarbonIntensity: Double): Boolean {
-        this.pastCarbonIntensities.addLast(newCarbonIntensity)
-        this.carbonRunningSum += newCarbonIntensity
-        if (this.pastCarbonIntensities.size > this.windowSize) {
-            this.carbonRunningSum -= this.pastCarbonIntensities.removeFirst()
-        }
+        this.pastCarbonIntensities.add(newCarbonIntensity)
 
-        val thresholdCarbonIntensity = this.carbonRunningSum / this.pastCarbonIntensities.size
+        val thresholdCarbonIntensity = this.pastCarbonIntensities.mean
 
         isHighCarbon = (newCarbonIntensity > thresholdCarbonIntensity)
         return isHighCarbon
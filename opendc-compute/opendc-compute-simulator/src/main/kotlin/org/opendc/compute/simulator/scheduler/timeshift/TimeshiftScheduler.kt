@@ -32,7 +32,6 @@ import org.opendc.compute.simulator.service.HostView
 import org.opendc.compute.simulator.service.ServiceTask
 import org.opendc.simulator.compute.power.CarbonModel
 import java.time.InstantSource
-import java.util.LinkedList
 import java.util.SplittableRandom
 import java.util.random.RandomGenerator
 import kotlin.math.min
@@ -58,8 +57,7 @@ public class TimeshiftScheduler(
         require(subsetSize >= 1) { "Subset size must be one or greater" }
     }
 
-    override val pastCarbonIntensities: LinkedList<Double> = LinkedList<Double>()
-    override var carbonRunningSum: Double = 0.0
+    override val pastCarbonIntensities: CarbonHistory = CarbonHistory(windowSize)
     override var shortLowCarbon: Boolean = false // Low carbon regime for short tasks (< 2 hours)
     override var longLowCarbon: Boolean = false // Low carbon regime for long tasks (>= hours)
     override var carbonMod: CarbonModel? = null
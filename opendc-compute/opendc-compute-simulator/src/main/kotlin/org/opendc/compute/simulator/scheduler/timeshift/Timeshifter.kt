@@ -25,8 +25,6 @@ package org.opendc.compute.simulator.scheduler.timeshift
 import org.opendc.simulator.compute.power.CarbonModel
 import org.opendc.simulator.compute.power.CarbonReceiver
 import java.time.InstantSource
-import java.util.LinkedList
-import kotlin.math.roundToInt
 
 public interface Timeshifter : CarbonReceiver {
     public val windowSize: Int
@@ -36,8 +34,7 @@ public interface Timeshifter : CarbonReceiver {
     public val longForecastThreshold: Double
     public val forecastSize: Int
 
-    public val pastCarbonIntensities: LinkedList<Double>
-    public var carbonRunningSum: Double
+    public val pastCarbonIntensities: CarbonHistory
     public var shortLowCarbon: Boolean // Low carbon regime for short tasks (< 2 hours)
     public var longLowCarbon: Boolean // Low carbon regime for long tasks (>= hours)
     public var carbonMod: CarbonModel?
@@ -52,13 +49,10 @@ public interface Timeshifter : CarbonReceiver {
             return
         }
 
-        val forecast = carbonMod!!.getForecast(forecastSize)
-        val localForecastSize = forecast.size
-
-        val shortQuantileIndex = (localForecastSize * shortForecastThreshold).roundToInt()
-        val shortCarbonIntensity = forecast.sorted()[shortQuantileIndex]
-        val longQuantileIndex = (localForecastSize * longForecastThreshold).roundToInt()
-        val longCarbonIntensity = forecast.sorted()[longQuantileIndex]
+        // The quantiles of the forecast windows are precomputed by the shared carbon timeline
+        val carbonModel = carbonMod!!
+        val shortCarbonIntensity = carbonModel.getForecastPercentile(forecastSize, shortForecastThreshold)
+        val longCarbonIntensity = carbonModel.getForecastPercentile(forecastSize, longForecastThreshold)
 
         shortLowCarbon = newCarbonIntensity < shortCarbonIntensity
         longLowCarbon = newCarbonIntensity < longCarbonIntensity
@@ -69,19 +63,10 @@ public interface Timeshifter : CarbonReceiver {
      number of intensity updates
      */
     private fun noForecastUpdateCarbonIntensity(newCarbonIntensity: Double) {
-        val previousCarbonIntensity =
-            if (this.pastCarbonIntensities.isEmpty()) {
-                0.0
-            } else {
-                this.pastCarbonIntensities.last()
-            }
-        this.pastCarbonIntensities.addLast(newCarbonIntensity)
-        this.carbonRunningSum += newCarbonIntensity
-        if (this.pastCarbonIntensities.size > this.windowSize) {
-            this.carbonRunningSum -= this.pastCarbonIntensities.removeFirst()
-        }
+        val previousCarbonIntensity = this.pastCarbonIntensities.last
+        this.pastCarbonIntensities.add(newCarbonIntensity)
 
-        val thresholdCarbonIntensity = this.carbonRunningSum / this.pastCarbonIntensities.size
+        val thresholdCarbonIntensity = this.pastCarbonIntensities.mean
 
         shortLowCarbon = (newCarbonIntensity < thresholdCarbonIntensity) &&
             (newCarbonIntensity > previousCarbonIntensity)
@@ -32,10 +32,15 @@ import org.opendc.common.asCoroutineDispatcher
 import org.opendc.compute.simulator.host.SimHost
 import org.opendc.compute.simulator.service.ComputeService
 import org.opendc.compute.simulator.service.ServiceTask
+import org.opendc.compute.simulator.telemetry.table.TableBatch
+import org.opendc.compute.simulator.telemetry.table.battery.BatteryTableBatch
 import org.opendc.compute.simulator.telemetry.table.battery.BatteryTableReaderImpl
+import org.opendc.compute.simulator.telemetry.table.host.HostTableBatch
 import org.opendc.compute.simulator.telemetry.table.host.HostTableReaderImpl
+import org.opendc.compute.simulator.telemetry.table.powerSource.PowerSourceTableBatch
 import org.opendc.compute.simulator.telemetry.table.powerSource.PowerSourceTableReaderImpl
 import org.opendc.compute.simulator.telemetry.table.service.ServiceTableReaderImpl
+import org.opendc.compute.simulator.telemetry.table.task.TaskTableBatch
 import org.opendc.compute.simulator.telemetry.table.task.TaskTableReaderImpl
 import org.opendc.simulator.compute.power.SimPowerSource
 import org.opendc.simulator.compute.power.batteries.SimBattery
@@ -101,6 +106,14 @@ public class ComputeMetricReader(
      */
     private val batteryTableReaders = mutableMapOf<SimBattery, BatteryTableReaderImpl>()
 
+    /**
+     * The columnar batches that are reused across export ticks.
+     */
+    private val hostBatches = TableBatch.Pool(::HostTableBatch)
+    private val taskBatches = TableBatch.Pool(::TaskTableBatch)
+    private val powerSourceBatches = TableBatch.Pool(::PowerSourceTableBatch)
+    private val batteryBatches = TableBatch.Pool(::BatteryTableBatch)
+
     /**
      * The background job that is responsible for collecting the metrics every cycle.
      */
@@ -126,6 +139,7 @@ public class ComputeMetricReader(
             val now = this.clock.instant()
 
             if (toMonitor[OutputFiles.HOST] == true) {
+                val batch = this.hostBatches.acquire()
                 for (host in this.service.hosts) {
                     val reader =
                         this.hostTableReaders.computeIfAbsent(host) {
@@ -135,12 +149,15 @@ public class ComputeMetricReader(
                             )
                         }
                     reader.record(now)
-                    this.monitor.record(reader.copy())
+                    batch.add(host, reader)
                     reader.reset()
                 }
+                this.monitor.record(batch)
+                batch.release()
             }
 
             if (toMonitor[OutputFiles.TASK] == true) {
+                val batch = this.taskBatches.acquire()
                 for (task in this.service.tasks.values) {
                     val reader =
                         this.taskTableReaders.computeIfAbsent(task) {
@@ -151,9 +168,11 @@ public class ComputeMetricReader(
                             )
                         }
                     reader.record(now)
-                    this.monitor.record(reader.copy())
+                    batch.add(service, task, reader)
                     reader.reset()
                 }
+                this.monitor.record(batch)
+                batch.release()
             }
 
             for (task in this.service.tasksToRemove) {
@@ -163,6 +182,7 @@ public class ComputeMetricReader(
             this.service.clearTasksToRemove()
 
             if (toMonitor[OutputFiles.POWER_SOURCE] == true) {
+                val batch = this.powerSourceBatches.acquire()
                 for (simPowerSource in this.service.powerSources) {
                     val reader =
                         this.powerSourceTableReaders.computeIfAbsent(simPowerSource) {
@@ -173,12 +193,15 @@ public class ComputeMetricReader(
                         }
 
                     reader.record(now)
-                    this.monitor.record(reader.copy())
+                    batch.add(simPowerSource, reader)
                     reader.reset()
                 }
+                this.monitor.record(batch)
+                batch.release()
             }
 
             if (toMonitor[OutputFiles.BATTERY] == true) {
+                val batch = this.batteryBatches.acquire()
                 for (simBattery in this.service.batteries) {
                     val reader =
                         this.batteryTableReaders.computeIfAbsent(simBattery) {
@@ -189,9 +212,11 @@ public class ComputeMetricReader(
                         }
 
                     reader.record(now)
-                    this.monitor.record(reader.copy())
+                    batch.add(simBattery, reader)
                     reader.reset()
                 }
+                this.monitor.record(batch)
+                batch.release()
             }
 
             if (toMonitor[OutputFiles.SERVICE] == true) {
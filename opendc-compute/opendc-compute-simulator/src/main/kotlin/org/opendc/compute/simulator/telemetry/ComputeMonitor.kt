@@ -22,14 +22,22 @@
 
 package org.opendc.compute.simulator.telemetry
 
+import org.opendc.compute.simulator.telemetry.table.battery.BatteryTableBatch
 import org.opendc.compute.simulator.telemetry.table.battery.BatteryTableReader
+import org.opendc.compute.simulator.telemetry.table.host.HostTableBatch
 import org.opendc.compute.simulator.telemetry.table.host.HostTableReader
+import org.opendc.compute.simulator.telemetry.table.powerSource.PowerSourceTableBatch
 import org.opendc.compute.simulator.telemetry.table.powerSource.PowerSourceTableReader
 import org.opendc.compute.simulator.telemetry.table.service.ServiceTableReader
+import org.opendc.compute.simulator.telemetry.table.task.TaskTableBatch
 import org.opendc.compute.simulator.telemetry.table.task.TaskTableReader
 
 /**
  * A monitor that tracks the metrics and events of the OpenDC Compute service.
+ *
+ * Every export tick, the metrics of each table are delivered as a columnar batch. By default, the batch methods
+ * forward a retainable copy of every row to the per-row methods; monitors that consume the rows during the call may
+ * override the batch methods to avoid these copies.
  */
 public interface ComputeMonitor {
     /**
@@ -56,4 +64,40 @@ public interface ComputeMonitor {
      * Record an entry with the specified [reader].
      */
     public fun record(reader: ServiceTableReader) {}
+
+    /**
+     * Record the task metrics of a single export tick.
+     */
+    public fun record(batch: TaskTableBatch) {
+        for (i in 0 until batch.size) {
+            record(batch.snapshot(i))
+        }
+    }
+
+    /**
+     * Record the host metrics of a single export tick.
+     */
+    public fun record(batch: HostTableBatch) {
+        for (i in 0 until batch.size) {
+            record(batch.snapshot(i))
+        }
+    }
+
+    /**
+     * Record the power source metrics of a single export tick.
+     */
+    public fun record(batch: PowerSourceTableBatch) {
+        for (i in 0 until batch.size) {
+            record(batch.snapshot(i))
+        }
+    }
+
+    /**
+     * Record the battery metrics of a single export tick.
+     */
+    public fun record(batch: BatteryTableBatch) {
+        for (i in 0 until batch.size) {
+            record(batch.snapshot(i))
+        }
+    }
 }
@@ -48,12 +48,12 @@ import org.opendc.trace.util.parquet.exporter.ExportColumn
  */
 public object DfltBatteryExportColumns {
     public val TIMESTAMP: ExportColumn<BatteryTableReader> =
-        ExportColumn(
+        ExportColumn.ofLong(
             field = Types.required(INT64).named("timestamp"),
         ) { it.timestamp.toEpochMilli() }
 
     public val TIMESTAMP_ABS: ExportColumn<BatteryTableReader> =
-        ExportColumn(
+        ExportColumn.ofLong(
             field = Types.required(INT64).named("timestamp_absolute"),
         ) { it.timestampAbsolute.toEpochMilli() }
 
@@ -73,28 +73,36 @@ public object DfltBatteryExportColumns {
                     .named("cluster_name"),
         ) { Binary.fromString(it.batteryInfo.clusterName) }
 
-    public val POWER_DRAW: ExportColumn<BatteryTableReader> =
+    public val REGION: ExportColumn<BatteryTableReader> =
         ExportColumn(
+            field =
+                Types.required(BINARY)
+                    .`as`(LogicalTypeAnnotation.stringType())
+                    .named("region"),
+        ) { Binary.fromString(it.batteryInfo.region ?: "") }
+
+    public val POWER_DRAW: ExportColumn<BatteryTableReader> =
+        ExportColumn.ofDouble(
             field = Types.required(FLOAT).named("power_draw"),
         ) { it.powerDraw }
 
     public val ENERGY_USAGE: ExportColumn<BatteryTableReader> =
-        ExportColumn(
+        ExportColumn.ofDouble(
             field = Types.required(FLOAT).named("energy_usage"),
         ) { it.energyUsage }
 
     public val EMBODIED_CARBON: ExportColumn<BatteryTableReader> =
-        ExportColumn(
+        ExportColumn.ofDouble(
             field = Types.required(FLOAT).named("embodied_carbon_emission"),
         ) { it.embodiedCarbonEmission }
 
     public val CHARGE: ExportColumn<BatteryTableReader> =
-        ExportColumn(
+        ExportColumn.ofDouble(
             field = Types.required(FLOAT).named("charge"),
         ) { it.charge }
 
     public val CAPACITY: ExportColumn<BatteryTableReader> =
-        ExportColumn(
+        ExportColumn.ofDouble(
             field = Types.required(FLOAT).named("capacity"),
         ) { it.capacity }
 
@@ -115,5 +123,6 @@ public object DfltBatteryExportColumns {
             CLUSTER_NAME,
             TIMESTAMP,
             TIMESTAMP_ABS,
+            REGION,
         )
 }
@@ -49,12 +49,12 @@ import org.opendc.trace.util.parquet.exporter.ExportColumn
  */
 public object DfltHostExportColumns {
     public val TIMESTAMP: ExportColumn<HostTableReader> =
-        ExportColumn(
+        ExportColumn.ofLong(
             field = Types.required(INT64).named("timestamp"),
         ) { it.timestamp.toEpochMilli() }
 
     public val TIMESTAMP_ABS: ExportColumn<HostTableReader> =
-        ExportColumn(
+        ExportColumn.ofLong(
             field = Types.required(INT64).named("timestamp_absolute"),
         ) { it.timestampAbsolute.toEpochMilli() }
 
@@ -74,98 +74,106 @@ public object DfltHostExportColumns {
                     .named("cluster_name"),
         ) { Binary.fromString(it.hostInfo.clusterName) }
 
-    public val CPU_COUNT: ExportColumn<HostTableReader> =
+    public val REGION: ExportColumn<HostTableReader> =
         ExportColumn(
+            field =
+                Types.required(BINARY)
+                    .`as`(LogicalTypeAnnotation.stringType())
+                    .named("region"),
+        ) { Binary.fromString(it.hostInfo.region ?: "") }
+
+    public val CPU_COUNT: ExportColumn<HostTableReader> =
+        ExportColumn.ofInt(
             field = Types.required(INT32).named("core_count"),
         ) { it.hostInfo.coreCount }
 
     public val MEM_CAPACITY: ExportColumn<HostTableReader> =
-        ExportColumn(
+        ExportColumn.ofLong(
             field = Types.required(INT64).named("mem_capacity"),
         ) { it.hostInfo.memCapacity }
 
     public val TASKS_TERMINATED: ExportColumn<HostTableReader> =
-        ExportColumn(
+        ExportColumn.ofInt(
             field = Types.required(INT32).named("tasks_terminated"),
         ) { it.tasksTerminated }
 
     public val TASKS_RUNNING: ExportColumn<HostTableReader> =
-        ExportColumn(
+        ExportColumn.ofInt(
             field = Types.required(INT32).named("tasks_running"),
         ) { it.tasksActive }
 
     public val TASKS_ERROR: ExportColumn<HostTableReader> =
-        ExportColumn(
+        ExportColumn.ofInt(
             field = Types.required(INT32).named("tasks_error"),
         ) { it.guestsError }
 
     public val TASKS_INVALID: ExportColumn<HostTableReader> =
-        ExportColumn(
+        ExportColumn.ofInt(
             field = Types.required(INT32).named("tasks_invalid"),
         ) { it.guestsInvalid }
 
     public val CPU_CAPACITY: ExportColumn<HostTableReader> =
-        ExportColumn(
+        ExportColumn.ofDouble(
             field = Types.required(FLOAT).named("cpu_capacity"),
         ) { it.cpuCapacity }
 
     public val CPU_USAGE: ExportColumn<HostTableReader> =
-        ExportColumn(
+        ExportColumn.ofDouble(
             field = Types.required(FLOAT).named("cpu_usage"),
         ) { it.cpuUsage }
 
     public val CPU_DEMAND: ExportColumn<HostTableReader> =
-        ExportColumn(
+        ExportColumn.ofDouble(
             field = Types.required(FLOAT).named("cpu_demand"),
         ) { it.cpuDemand }
 
     public val CPU_UTILIZATION: ExportColumn<HostTableReader> =
-        ExportColumn(
+        ExportColumn.ofDouble(
             field = Types.required(FLOAT).named("cpu_utilization"),
         ) { it.cpuUtilization }
 
     public val CPU_TIME_ACTIVE: ExportColumn<HostTableReader> =
-        ExportColumn(
+        ExportColumn.ofLong(
             field = Types.required(INT64).named("cpu_time_active"),
         ) { it.cpuActiveTime }
 
     public val CPU_TIME_IDLE: ExportColumn<HostTableReader> =
-        ExportColumn(
+        ExportColumn.ofLong(
             field = Types.required(INT64).named("cpu_time_idle"),
         ) { it.cpuIdleTime }
 
     public val CPU_TIME_STEAL: ExportColumn<HostTableReader> =
-        ExportColumn(
+        ExportColumn.ofLong(
             field = Types.required(INT64).named("cpu_time_steal"),
         ) { it.cpuStealTime }
 
     public val CPU_TIME_LOST: ExportColumn<HostTableReader> =
-        ExportColumn(
+        ExportColumn.ofLong(
             field = Types.required(INT64).named("cpu_time_lost"),
         ) { it.cpuLostTime }
 
     public val POWER_DRAW: ExportColumn<HostTableReader> =
-        ExportColumn(
+        ExportColumn.ofDouble(
             field = Types.required(FLOAT).named("power_draw"),
         ) { it.powerDraw }
 
     public val ENERGY_USAGE: ExportColumn<HostTableReader> =
-        ExportColumn(
+        ExportColumn.ofDouble(
             field = Types.required(FLOAT).named("energy_usage"),
         ) { it.energyUsage }
 
     public val EMBODIED_CARBON: ExportColumn<HostTableReader> =
-        ExportColumn(
+        ExportColumn.ofDouble(
             field = Types.required(FLOAT).named("embodied_carbon"),
         ) { it.embodiedCarbon }
 
     public val UP_TIME: ExportColumn<HostTableReader> =
-        ExportColumn(
+        ExportColumn.ofLong(
             field = Types.required(INT64).named("uptime"),
         ) { it.uptime }
 
     public val DOWN_TIME: ExportColumn<HostTableReader> =
-        ExportColumn(
+        ExportColumn.ofLong(
             field = Types.required(INT64).named("downtime"),
         ) { it.downtime }
 
@@ -219,5 +227,6 @@ public object DfltHostExportColumns {
             CLUSTER_NAME,
             TIMESTAMP,
             TIMESTAMP_ABS,
+            REGION,
         )
 }
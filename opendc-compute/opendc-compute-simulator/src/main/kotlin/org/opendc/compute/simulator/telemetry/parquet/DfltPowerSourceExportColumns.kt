@@ -48,12 +48,12 @@ import org.opendc.trace.util.parquet.exporter.ExportColumn
  */
 public object DfltPowerSourceExportColumns {
     public val TIMESTAMP: ExportColumn<PowerSourceTableReader> =
-        ExportColumn(
+        ExportColumn.ofLong(
             field = Types.required(INT64).named("timestamp"),
         ) { it.timestamp.toEpochMilli() }
 
     public val TIMESTAMP_ABS: ExportColumn<PowerSourceTableReader> =
-        ExportColumn(
+        ExportColumn.ofLong(
             field = Types.required(INT64).named("timestamp_absolute"),
         ) { it.timestampAbsolute.toEpochMilli() }
 
@@ -73,23 +73,31 @@ public object DfltPowerSourceExportColumns {
                     .named("cluster_name"),
         ) { Binary.fromString(it.powerSourceInfo.clusterName) }
 
-    public val POWER_DRAW: ExportColumn<PowerSourceTableReader> =
+    public val REGION: ExportColumn<PowerSourceTableReader> =
         ExportColumn(
+            field =
+                Types.required(BINARY)
+                    .`as`(LogicalTypeAnnotation.stringType())
+                    .named("region"),
+        ) { Binary.fromString(it.powerSourceInfo.region ?: "") }
+
+    public val POWER_DRAW: ExportColumn<PowerSourceTableReader> =
+        ExportColumn.ofDouble(
             field = Types.required(FLOAT).named("power_draw"),
         ) { it.powerDraw }
 
     public val ENERGY_USAGE: ExportColumn<PowerSourceTableReader> =
-        ExportColumn(
+        ExportColumn.ofDouble(
             field = Types.required(FLOAT).named("energy_usage"),
         ) { it.energyUsage }
 
     public val CARBON_INTENSITY: ExportColumn<PowerSourceTableReader> =
-        ExportColumn(
+        ExportColumn.ofDouble(
             field = Types.required(FLOAT).named("carbon_intensity"),
         ) { it.carbonIntensity }
 
     public val CARBON_EMISSION: ExportColumn<PowerSourceTableReader> =
-        ExportColumn(
+        ExportColumn.ofDouble(
             field = Types.required(FLOAT).named("carbon_emission"),
         ) { it.carbonEmission }
 
@@ -102,5 +110,6 @@ public object DfltPowerSourceExportColumns {
             CLUSTER_NAME,
             TIMESTAMP,
             TIMESTAMP_ABS,
+            REGION,
         )
 }
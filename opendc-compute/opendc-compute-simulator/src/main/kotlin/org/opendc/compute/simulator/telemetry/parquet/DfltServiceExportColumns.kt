@@ -45,47 +45,47 @@ import org.opendc.trace.util.parquet.exporter.ExportColumn
  */
 public object DfltServiceExportColumns {
     public val TIMESTAMP: ExportColumn<ServiceTableReader> =
-        ExportColumn(
+        ExportColumn.ofLong(
             field = Types.required(INT64).named("timestamp"),
         ) { it.timestamp.toEpochMilli() }
 
     public val TIMESTAMP_ABS: ExportColumn<ServiceTableReader> =
-        ExportColumn(
+        ExportColumn.ofLong(
             field = Types.required(INT64).named("timestamp_absolute"),
         ) { it.timestampAbsolute.toEpochMilli() }
 
     public val HOSTS_UP: ExportColumn<ServiceTableReader> =
-        ExportColumn(
+        ExportColumn.ofInt(
             field = Types.required(INT32).named("hosts_up"),
         ) { it.hostsUp }
 
     public val HOSTS_DOWN: ExportColumn<ServiceTableReader> =
-        ExportColumn(
+        ExportColumn.ofInt(
             field = Types.required(INT32).named("hosts_down"),
         ) { it.hostsDown }
 
     public val TASKS_TOTAL: ExportColumn<ServiceTableReader> =
-        ExportColumn(
+        ExportColumn.ofInt(
             field = Types.required(INT32).named("tasks_total"),
         ) { it.tasksTotal }
 
     public val TASKS_PENDING: ExportColumn<ServiceTableReader> =
-        ExportColumn(
+        ExportColumn.ofInt(
             field = Types.required(INT32).named("tasks_pending"),
         ) { it.tasksPending }
 
     public val TASKS_ACTIVE: ExportColumn<ServiceTableReader> =
-        ExportColumn(
+        ExportColumn.ofInt(
             field = Types.required(INT32).named("tasks_active"),
         ) { it.tasksActive }
 
     public val TASKS_COMPLETED: ExportColumn<ServiceTableReader> =
-        ExportColumn(
+        ExportColumn.ofInt(
             field = Types.required(INT32).named("tasks_completed"),
         ) { it.tasksCompleted }
 
     public val TASKS_TERMINATED: ExportColumn<ServiceTableReader> =
-        ExportColumn(
+        ExportColumn.ofInt(
             field = Types.required(INT32).named("tasks_terminated"),
         ) { it.tasksTerminated }
 
@@ -49,12 +49,12 @@ import org.opendc.trace.util.parquet.exporter.ExportColumn
  */
 public object DfltTaskExportColumns {
     public val TIMESTAMP: ExportColumn<TaskTableReader> =
-        ExportColumn(
+        ExportColumn.ofLong(
             field = Types.required(INT64).named("timestamp"),
         ) { it.timestamp.toEpochMilli() }
 
     public val TIMESTAMP_ABS: ExportColumn<TaskTableReader> =
-        ExportColumn(
+        ExportColumn.ofLong(
             field = Types.required(INT64).named("timestamp_absolute"),
         ) { it.timestampAbsolute.toEpochMilli() }
 
@@ -91,48 +91,56 @@ public object DfltTaskExportColumns {
             return@ExportColumn Binary.fromString(it.hostName)
         }
 
-    public val MEM_CAPACITY: ExportColumn<TaskTableReader> =
+    public val REGION: ExportColumn<TaskTableReader> =
         ExportColumn(
+            field =
+                Types.required(BINARY)
+                    .`as`(LogicalTypeAnnotation.stringType())
+                    .named("region"),
+        ) { Binary.fromString(it.hostInfo?.region ?: "") }
+
+    public val MEM_CAPACITY: ExportColumn<TaskTableReader> =
+        ExportColumn.ofLong(
             field = Types.required(INT64).named("mem_capacity"),
         ) { it.taskInfo.memCapacity }
 
     public val CPU_COUNT: ExportColumn<TaskTableReader> =
-        ExportColumn(
+        ExportColumn.ofInt(
             field = Types.required(INT32).named("cpu_count"),
         ) { it.taskInfo.cpuCount }
 
     public val CPU_LIMIT: ExportColumn<TaskTableReader> =
-        ExportColumn(
+        ExportColumn.ofDouble(
             field = Types.required(FLOAT).named("cpu_limit"),
         ) { it.cpuLimit }
 
     public val CPU_USAGE: ExportColumn<TaskTableReader> =
-        ExportColumn(
+        ExportColumn.ofDouble(
             field = Types.required(FLOAT).named("cpu_usage"),
         ) { it.cpuUsage }
 
     public val CPU_DEMAND: ExportColumn<TaskTableReader> =
-        ExportColumn(
+        ExportColumn.ofDouble(
             field = Types.required(FLOAT).named("cpu_demand"),
         ) { it.cpuDemand }
 
     public val CPU_TIME_ACTIVE: ExportColumn<TaskTableReader> =
-        ExportColumn(
+        ExportColumn.ofLong(
             field = Types.required(INT64).named("cpu_time_active"),
         ) { it.cpuActiveTime }
 
     public val CPU_TIME_IDLE: ExportColumn<TaskTableReader> =
-        ExportColumn(
+        ExportColumn.ofLong(
             field = Types.required(INT64).named("cpu_time_idle"),
         ) { it.cpuIdleTime }
 
     public val CPU_TIME_STEAL: ExportColumn<TaskTableReader> =
-        ExportColumn(
+        ExportColumn.ofLong(
             field = Types.required(INT64).named("cpu_time_steal"),
         ) { it.cpuStealTime }
 
     public val CPU_TIME_LOST: ExportColumn<TaskTableReader> =
-        ExportColumn(
+        ExportColumn.ofLong(
             field = Types.required(INT64).named("cpu_time_lost"),
         ) { it.cpuLostTime }
 
@@ -177,24 +185,24 @@ public object DfltTaskExportColumns {
         ) { it.gpuLostTime }
 
     public val UP_TIME: ExportColumn<TaskTableReader> =
-        ExportColumn(
+        ExportColumn.ofLong(
             field = Types.required(INT64).named("uptime"),
         ) { it.uptime }
 
     public val DOWN_TIME: ExportColumn<TaskTableReader> =
-        ExportColumn(
+        ExportColumn.ofLong(
             field = Types.required(INT64).named("downtime"),
         ) { it.downtime }
 
     public val NUM_FAILURES: ExportColumn<TaskTableReader> =
-        ExportColumn(
+        ExportColumn.ofLong(
             field = Types.required(INT64).named("num_failures"),
-        ) { it.numFailures }
+        ) { it.numFailures.toLong() }
 
     public val NUM_PAUSES: ExportColumn<TaskTableReader> =
-        ExportColumn(
+        ExportColumn.ofLong(
             field = Types.required(INT64).named("num_pauses"),
-        ) { it.numPauses }
+        ) { it.numPauses.toLong() }
 
     public val SCHEDULE_TIME: ExportColumn<TaskTableReader> =
         ExportColumn(
@@ -248,5 +256,6 @@ public object DfltTaskExportColumns {
             TASK_NAME,
             TIMESTAMP,
             TIMESTAMP_ABS,
+            REGION,
         )
 }
@@ -24,11 +24,16 @@ package org.opendc.compute.simulator.telemetry.parquet
 
 import org.opendc.compute.simulator.telemetry.ComputeMonitor
 import org.opendc.compute.simulator.telemetry.OutputFiles
+import org.opendc.compute.simulator.telemetry.table.battery.BatteryTableBatch
 import org.opendc.compute.simulator.telemetry.table.battery.BatteryTableReader
+import org.opendc.compute.simulator.telemetry.table.host.HostTableBatch
 import org.opendc.compute.simulator.telemetry.table.host.HostTableReader
+import org.opendc.compute.simulator.telemetry.table.powerSource.PowerSourceTableBatch
 import org.opendc.compute.simulator.telemetry.table.powerSource.PowerSourceTableReader
 import org.opendc.compute.simulator.telemetry.table.service.ServiceTableReader
+import org.opendc.compute.simulator.telemetry.table.task.TaskTableBatch
 import org.opendc.compute.simulator.telemetry.table.task.TaskTableReader
+import org.opendc.trace.util.parquet.BackPressurePolicy
 import org.opendc.trace.util.parquet.exporter.ExportColumn
 import org.opendc.trace.util.parquet.exporter.Exportable
 import org.opendc.trace.util.parquet.exporter.Exporter
@@ -36,6 +41,9 @@ import java.io.File
 
 /**
  * A [ComputeMonitor] that logs the events to a Parquet file.
+ *
+ * The column vectors of every batch are shared with the writer threads of the exporters, which read the rows without
+ * copying them.
  */
 public class ParquetComputeMonitor(
     private val hostExporter: Exporter<HostTableReader>?,
@@ -64,6 +72,22 @@ public class ParquetComputeMonitor(
         serviceExporter?.write(reader)
     }
 
+    override fun record(batch: HostTableBatch) {
+        hostExporter?.writeAll(batch.share())
+    }
+
+    override fun record(batch: TaskTableBatch) {
+        taskExporter?.writeAll(batch.share())
+    }
+
+    override fun record(batch: PowerSourceTableBatch) {
+        powerSourceExporter?.writeAll(batch.share())
+    }
+
+    override fun record(batch: BatteryTableBatch) {
+        batteryExporter?.writeAll(batch.share())
+    }
+
     override fun close() {
         hostExporter?.close()
         taskExporter?.close()
@@ -79,6 +103,7 @@ public class ParquetComputeMonitor(
          * @param[base]         parent pathname for output file.
          * @param[partition]    child pathname for output file.
          * @param[bufferSize]   size of the buffer used by the writer thread.
+         * @param[backPressure] the policy to apply when a writer thread cannot keep up with the simulation.
          */
         public operator fun invoke(
             base: File,
@@ -86,6 +111,7 @@ public class ParquetComputeMonitor(
             bufferSize: Int,
             filesToExport: Map<OutputFiles, Boolean>,
             computeExportConfig: ComputeExportConfig,
+            backPressure: BackPressurePolicy = BackPressurePolicy.BLOCK,
         ): ParquetComputeMonitor =
             invoke(
                 base = base,
@@ -97,6 +123,7 @@ public class ParquetComputeMonitor(
                 powerSourceExportColumns = computeExportConfig.powerSourceExportColumns,
                 batteryExportColumns = computeExportConfig.batteryExportColumns,
                 serviceExportColumns = computeExportConfig.serviceExportColumns,
+                backPressure = backPressure,
             )
 
         /**
@@ -107,6 +134,7 @@ public class ParquetComputeMonitor(
          * @param[base]         parent pathname for output file.
          * @param[partition]    child pathname for output file.
          * @param[bufferSize]   size of the buffer used by the writer thread.
+         * @param[backPressure] the policy to apply when a writer thread cannot keep up with the simulation.
          */
         public operator fun invoke(
             base: File,
@@ -118,6 +146,7 @@ public class ParquetComputeMonitor(
             powerSourceExportColumns: Collection<ExportColumn<PowerSourceTableReader>>? = null,
             batteryExportColumns: Collection<ExportColumn<BatteryTableReader>>? = null,
             serviceExportColumns: Collection<ExportColumn<ServiceTableReader>>? = null,
+            backPressure: BackPressurePolicy = BackPressurePolicy.BLOCK,
         ): ParquetComputeMonitor {
             // Loads the fields in case they need to be retrieved if optional params are omitted.
             ComputeExportConfig.loadDfltColumns()
@@ -128,6 +157,7 @@ public class ParquetComputeMonitor(
                         outputFile = File(base, "$partition/host.parquet").also { it.parentFile.mkdirs() },
                         columns = hostExportColumns ?: Exportable.getAllLoadedColumns(),
                         bufferSize = bufferSize,
+                        backPressure = backPressure,
                     )
                 } else {
                     null
@@ -139,6 +169,7 @@ public class ParquetComputeMonitor(
                         outputFile = File(base, "$partition/task.parquet").also { it.parentFile.mkdirs() },
                         columns = taskExportColumns ?: Exportable.getAllLoadedColumns(),
                         bufferSize = bufferSize,
+                        backPressure = backPressure,
                     )
                 } else {
                     null
@@ -150,6 +181,7 @@ public class ParquetComputeMonitor(
                         outputFile = File(base, "$partition/powerSource.parquet").also { it.parentFile.mkdirs() },
                         columns = powerSourceExportColumns ?: Exportable.getAllLoadedColumns(),
                         bufferSize = bufferSize,
+                        backPressure = backPressure,
                     )
                 } else {
                     null
@@ -161,6 +193,7 @@ public class ParquetComputeMonitor(
                         outputFile = File(base, "$partition/battery.parquet").also { it.parentFile.mkdirs() },
                         columns = batteryExportColumns ?: Exportable.getAllLoadedColumns(),
                         bufferSize = bufferSize,
+                        backPressure = backPressure,
                     )
                 } else {
                     null
@@ -172,6 +205,7 @@ public class ParquetComputeMonitor(
                         outputFile = File(base, "$partition/service.parquet").also { it.parentFile.mkdirs() },
                         columns = serviceExportColumns ?: Exportable.getAllLoadedColumns(),
                         bufferSize = bufferSize,
+                        backPressure = backPressure,
                     )
                 } else {
                     null
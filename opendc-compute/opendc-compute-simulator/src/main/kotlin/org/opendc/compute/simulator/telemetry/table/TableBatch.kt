@@ -0,0 +1,239 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package org.opendc.compute.simulator.telemetry.table
+
+import org.opendc.trace.util.parquet.ColumnChunk
+import java.time.Instant
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.atomic.AtomicBoolean
+import java.util.concurrent.atomic.AtomicInteger
+
+/**
+ * A columnar snapshot of a telemetry table at a single export tick.
+ *
+ * The values of every entity are stored in a slot of primitive column vectors that are reused across ticks, such
+ * that collecting the metrics does not allocate a reader object per row. The rows of the batch are only valid during
+ * the call to the monitor that receives the batch; use [snapshot] to retain a row beyond that call, or [share] to
+ * hand the column vectors to a consumer on another thread.
+ *
+ * @param R The type of the per-row reader of the table.
+ */
+public abstract class TableBatch<R : Any> {
+    /**
+     * The number of rows in the batch.
+     */
+    public var size: Int = 0
+        private set
+
+    /**
+     * The timestamp of the rows relative to the start of the workload.
+     */
+    public var timestamp: Instant = Instant.MIN
+        protected set
+
+    /**
+     * The absolute timestamp of the rows.
+     */
+    public var timestampAbsolute: Instant = Instant.MIN
+        protected set
+
+    /**
+     * The number of slots allocated in the column vectors.
+     */
+    protected var capacity: Int = 0
+        private set
+
+    /**
+     * The row copies created for the current tick, shared by all monitors that consume rows individually.
+     */
+    private var snapshots = arrayOfNulls<Any>(0)
+
+    /**
+     * The view returned by [row].
+     */
+    private val view: RowView<R> by lazy { newView() }
+
+    /**
+     * The number of holders of the batch: the metric reader while it delivers the batch, and every [share]d chunk
+     * that has not yet been released.
+     */
+    private val holders = AtomicInteger()
+
+    /**
+     * The action that returns the batch to its [Pool] once it has no holders left.
+     */
+    private var recycler: (() -> Unit)? = null
+
+    /**
+     * Return a view of the row at [index], which is reused for every call and must not be retained.
+     */
+    public fun row(index: Int): R {
+        checkIndex(index)
+        val view = view
+        view.index = index
+        return view.reader
+    }
+
+    /**
+     * Return a copy of the row at [index] that can be retained after the current tick.
+     *
+     * The copy is created once per tick and shared between callers.
+     */
+    public fun snapshot(index: Int): R {
+        checkIndex(index)
+
+        @Suppress("UNCHECKED_CAST")
+        return snapshots[index] as R? ?: copyRow(index).also { snapshots[index] = it }
+    }
+
+    /**
+     * Return the [snapshot]s of all rows in the batch.
+     */
+    public fun snapshots(): List<R> = List(size) { snapshot(it) }
+
+    /**
+     * Share the column vectors of this batch with a consumer that reads them after the current tick, such as the
+     * writer thread of an exporter.
+     *
+     * The rows are not copied: the batch is not filled again until the returned chunk is released, and the metric
+     * reader fills another batch of its pool in the meantime.
+     */
+    public fun share(): ColumnChunk<R> {
+        holders.incrementAndGet()
+        return SharedChunk()
+    }
+
+    /**
+     * Create a new view over the rows of this batch.
+     */
+    protected abstract fun newView(): RowView<R>
+
+    /**
+     * Create a standalone copy of the row at [index].
+     */
+    protected abstract fun copyRow(index: Int): R
+
+    /**
+     * Resize the column vectors to the specified [capacity], retaining the existing values.
+     */
+    protected abstract fun resize(capacity: Int)
+
+    /**
+     * Clear the batch for a new export tick.
+     */
+    internal fun clear() {
+        snapshots.fill(null, 0, size)
+        size = 0
+    }
+
+    /**
+     * Allocate the next slot of the batch and return its index.
+     */
+    protected fun nextSlot(): Int {
+        val slot = size
+        if (slot == capacity) {
+            val newCapacity = maxOf(16, capacity + (capacity shr 1))
+            resize(newCapacity)
+            snapshots = snapshots.copyOf(newCapacity)
+            capacity = newCapacity
+        }
+        size = slot + 1
+        return slot
+    }
+
+    /**
+     * Ensure that [index] refers to a row of the batch.
+     */
+    protected fun checkIndex(index: Int) {
+        if (index < 0 || index >= size) {
+            throw IndexOutOfBoundsException("Index $index out of bounds for batch of size $size")
+        }
+    }
+
+    /**
+     * Drop a holder of the batch, returning the batch to its pool when it was the last one.
+     */
+    internal fun release() {
+        if (holders.decrementAndGet() == 0) {
+            recycler?.invoke()
+        }
+    }
+
+    /**
+     * A view of a single row of a batch, which is moved to another row by setting its [index].
+     */
+    protected interface RowView<out R> {
+        /**
+         * The index of the row that is read by the view.
+         */
+        public var index: Int
+
+        /**
+         * The view as a reader of the table.
+         */
+        public val reader: R
+    }
+
+    /**
+     * A [ColumnChunk] over the rows of this batch, with a view of its own so it can be read from another thread.
+     */
+    private inner class SharedChunk : ColumnChunk<R> {
+        private val view = newView()
+        private val released = AtomicBoolean()
+
+        override val size: Int = this@TableBatch.size
+
+        override fun row(index: Int): R {
+            checkIndex(index)
+            view.index = index
+            return view.reader
+        }
+
+        override fun release() {
+            if (released.compareAndSet(false, true)) {
+                this@TableBatch.release()
+            }
+        }
+    }
+
+    /**
+     * The batches of a single table, of which the metric reader fills one at every export tick.
+     *
+     * A batch returns to the pool once the metric reader and every consumer it was [share]d with have released it,
+     * so a single batch is reused as long as the consumers keep up.
+     */
+    internal class Pool<B : TableBatch<*>>(private val factory: () -> B) {
+        private val free = ConcurrentLinkedQueue<B>()
+
+        /**
+         * Take an empty batch from the pool, held by the caller until it calls [TableBatch.release].
+         */
+        fun acquire(): B {
+            val batch = free.poll() ?: factory().also { batch -> batch.recycler = { free.add(batch) } }
+            batch.clear()
+            batch.holders.set(1)
+            return batch
+        }
+    }
+}
@@ -27,4 +27,5 @@ public data class BatteryInfo(
     val clusterName: String,
     val arch: String,
     val capacity: Double,
+    val region: String? = null,
 )
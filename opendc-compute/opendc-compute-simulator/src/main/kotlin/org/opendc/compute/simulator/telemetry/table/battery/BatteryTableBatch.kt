@@ -0,0 +1,134 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package org.opendc.compute.simulator.telemetry.table.battery
+
+import org.opendc.compute.simulator.telemetry.table.TableBatch
+import org.opendc.simulator.compute.power.batteries.BatteryState
+import org.opendc.simulator.compute.power.batteries.SimBattery
+import java.time.Instant
+
+/**
+ * A columnar batch of battery metrics, containing one row per battery.
+ */
+public class BatteryTableBatch : TableBatch<BatteryTableReader>() {
+    private var batteries = arrayOfNulls<SimBattery>(0)
+    private var batteryInfos = arrayOfNulls<BatteryInfo>(0)
+    private var powerDraw = DoubleArray(0)
+    private var energyUsage = DoubleArray(0)
+    private var embodiedCarbonEmission = DoubleArray(0)
+    private var batteryStates = arrayOfNulls<BatteryState>(0)
+    private var charge = DoubleArray(0)
+    private var capacities = DoubleArray(0)
+
+    override fun newView(): RowView<BatteryTableReader> = Row()
+
+    override fun copyRow(index: Int): BatteryTableReader {
+        val copy = BatteryTableReaderImpl(batteries[index]!!)
+        copy.setValues(Row().also { it.index = index })
+        return copy
+    }
+
+    /**
+     * Append the current values of [reader] for the specified [battery] to the batch.
+     */
+    internal fun add(
+        battery: SimBattery,
+        reader: BatteryTableReader,
+    ) {
+        val i = nextSlot()
+        timestamp = reader.timestamp
+        timestampAbsolute = reader.timestampAbsolute
+
+        batteries[i] = battery
+        batteryInfos[i] = reader.batteryInfo
+        powerDraw[i] = reader.powerDraw
+        energyUsage[i] = reader.energyUsage
+        embodiedCarbonEmission[i] = reader.embodiedCarbonEmission
+        batteryStates[i] = reader.batteryState
+        charge[i] = reader.charge
+        capacities[i] = reader.capacity
+    }
+
+    override fun resize(capacity: Int) {
+        batteries = batteries.copyOf(capacity)
+        batteryInfos = batteryInfos.copyOf(capacity)
+        powerDraw = powerDraw.copyOf(capacity)
+        energyUsage = energyUsage.copyOf(capacity)
+        embodiedCarbonEmission = embodiedCarbonEmission.copyOf(capacity)
+        batteryStates = batteryStates.copyOf(capacity)
+        charge = charge.copyOf(capacity)
+        capacities = capacities.copyOf(capacity)
+    }
+
+    /**
+     * A read-only view of a single row of the batch.
+     */
+    private inner class Row : BatteryTableReader, RowView<BatteryTableReader> {
+        override var index = 0
+
+        override val reader: BatteryTableReader
+            get() = this
+
+        override fun copy(): BatteryTableReader = snapshot(index)
+
+        override fun setValues(table: BatteryTableReader) {
+            throw UnsupportedOperationException("Rows of a batch are read-only")
+        }
+
+        override fun record(now: Instant) {
+            throw UnsupportedOperationException("Rows of a batch are read-only")
+        }
+
+        override fun reset() {
+            throw UnsupportedOperationException("Rows of a batch are read-only")
+        }
+
+        override val batteryInfo: BatteryInfo
+            get() = batteryInfos[index]!!
+
+        override val timestamp: Instant
+            get() = this@BatteryTableBatch.timestamp
+
+        override val timestampAbsolute: Instant
+            get() = this@BatteryTableBatch.timestampAbsolute
+
+        override val powerDraw: Double
+            get() = this@BatteryTableBatch.powerDraw[index]
+
+        override val energyUsage: Double
+            get() = this@BatteryTableBatch.energyUsage[index]
+
+        override val embodiedCarbonEmission: Double
+            get() = this@BatteryTableBatch.embodiedCarbonEmission[index]
+
+        override val batteryState: BatteryState
+            get() = batteryStates[index]!!
+
+        override val charge: Double
+            get() = this@BatteryTableBatch.charge[index]
+
+        override val capacity: Double
+            get() = capacities[index]
+    }
+}
@@ -62,6 +62,7 @@ public class BatteryTableReaderImpl(
             battery.clusterName,
             "XXX",
             battery.capacity,
+            battery.region,
         )
 
     private var _timestamp = Instant.MIN
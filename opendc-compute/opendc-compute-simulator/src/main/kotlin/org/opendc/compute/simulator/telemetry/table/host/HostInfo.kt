@@ -32,4 +32,5 @@ public data class HostInfo(
     val coreCount: Int,
     val coreSpeed: Double,
     val memCapacity: Long,
+    val region: String? = null,
 )
@@ -0,0 +1,271 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package org.opendc.compute.simulator.telemetry.table.host
+
+import org.opendc.compute.simulator.host.SimHost
+import org.opendc.compute.simulator.telemetry.table.TableBatch
+import java.time.Instant
+
+/**
+ * A columnar batch of host metrics, containing one row per host.
+ */
+public class HostTableBatch : TableBatch<HostTableReader>() {
+    private var hosts = arrayOfNulls<SimHost>(0)
+    private var hostInfos = arrayOfNulls<HostInfo>(0)
+
+    private var tasksTerminated = IntArray(0)
+    private var tasksActive = IntArray(0)
+    private var guestsError = IntArray(0)
+    private var guestsInvalid = IntArray(0)
+
+    private var cpuCapacity = DoubleArray(0)
+    private var cpuUsage = DoubleArray(0)
+    private var cpuDemand = DoubleArray(0)
+    private var cpuUtilization = DoubleArray(0)
+    private var cpuActiveTime = LongArray(0)
+    private var cpuIdleTime = LongArray(0)
+    private var cpuStealTime = LongArray(0)
+    private var cpuLostTime = LongArray(0)
+
+    private var gpuCapacities = arrayOfNulls<ArrayList<Double>>(0)
+    private var gpuUsages = arrayOfNulls<ArrayList<Double>>(0)
+    private var gpuDemands = arrayOfNulls<ArrayList<Double>>(0)
+    private var gpuUtilizations = arrayOfNulls<ArrayList<Double>>(0)
+    private var gpuActiveTimes = arrayOfNulls<ArrayList<Long>>(0)
+    private var gpuIdleTimes = arrayOfNulls<ArrayList<Long>>(0)
+    private var gpuStealTimes = arrayOfNulls<ArrayList<Long>>(0)
+    private var gpuLostTimes = arrayOfNulls<ArrayList<Long>>(0)
+    private var gpuPowerDraws = arrayOfNulls<ArrayList<Double>>(0)
+
+    private var powerDraw = DoubleArray(0)
+    private var energyUsage = DoubleArray(0)
+    private var embodiedCarbon = DoubleArray(0)
+    private var uptime = LongArray(0)
+    private var downtime = LongArray(0)
+    private var bootTime = arrayOfNulls<Instant>(0)
+
+    override fun newView(): RowView<HostTableReader> = Row()
+
+    override fun copyRow(index: Int): HostTableReader {
+        val copy = HostTableReaderImpl(hosts[index]!!)
+        copy.setValues(Row().also { it.index = index })
+        return copy
+    }
+
+    /**
+     * Append the current values of [reader] for the specified [host] to the batch.
+     */
+    internal fun add(
+        host: SimHost,
+        reader: HostTableReader,
+    ) {
+        val i = nextSlot()
+        timestamp = reader.timestamp
+        timestampAbsolute = reader.timestampAbsolute
+
+        hosts[i] = host
+        hostInfos[i] = reader.hostInfo
+
+        tasksTerminated[i] = reader.tasksTerminated
+        tasksActive[i] = reader.tasksActive
+        guestsError[i] = reader.guestsError
+        guestsInvalid[i] = reader.guestsInvalid
+
+        cpuCapacity[i] = reader.cpuCapacity
+        cpuUsage[i] = reader.cpuUsage
+        cpuDemand[i] = reader.cpuDemand
+        cpuUtilization[i] = reader.cpuUtilization
+        cpuActiveTime[i] = reader.cpuActiveTime
+        cpuIdleTime[i] = reader.cpuIdleTime
+        cpuStealTime[i] = reader.cpuStealTime
+        cpuLostTime[i] = reader.cpuLostTime
+
+        gpuCapacities[i] = reader.gpuCapacities
+        gpuUsages[i] = reader.gpuUsages
+        gpuDemands[i] = reader.gpuDemands
+        gpuUtilizations[i] = reader.gpuUtilizations
+        gpuActiveTimes[i] = reader.gpuActiveTimes
+        gpuIdleTimes[i] = reader.gpuIdleTimes
+        gpuStealTimes[i] = reader.gpuStealTimes
+        gpuLostTimes[i] = reader.gpuLostTimes
+        gpuPowerDraws[i] = reader.gpuPowerDraws
+
+        powerDraw[i] = reader.powerDraw
+        energyUsage[i] = reader.energyUsage
+        embodiedCarbon[i] = reader.embodiedCarbon
+        uptime[i] = reader.uptime
+        downtime[i] = reader.downtime
+        bootTime[i] = reader.bootTime
+    }
+
+    override fun resize(capacity: Int) {
+        hosts = hosts.copyOf(capacity)
+        hostInfos = hostInfos.copyOf(capacity)
+
+        tasksTerminated = tasksTerminated.copyOf(capacity)
+        tasksActive = tasksActive.copyOf(capacity)
+        guestsError = guestsError.copyOf(capacity)
+        guestsInvalid = guestsInvalid.copyOf(capacity)
+
+        cpuCapacity = cpuCapacity.copyOf(capacity)
+        cpuUsage = cpuUsage.copyOf(capacity)
+        cpuDemand = cpuDemand.copyOf(capacity)
+        cpuUtilization = cpuUtilization.copyOf(capacity)
+        cpuActiveTime = cpuActiveTime.copyOf(capacity)
+        cpuIdleTime = cpuIdleTime.copyOf(capacity)
+        cpuStealTime = cpuStealTime.copyOf(capacity)
+        cpuLostTime = cpuLostTime.copyOf(capacity)
+
+        gpuCapacities = gpuCapacities.copyOf(capacity)
+        gpuUsages = gpuUsages.copyOf(capacity)
+        gpuDemands = gpuDemands.copyOf(capacity)
+        gpuUtilizations = gpuUtilizations.copyOf(capacity)
+        gpuActiveTimes = gpuActiveTimes.copyOf(capacity)
+        gpuIdleTimes = gpuIdleTimes.copyOf(capacity)
+        gpuStealTimes = gpuStealTimes.copyOf(capacity)
+        gpuLostTimes = gpuLostTimes.copyOf(capacity)
+        gpuPowerDraws = gpuPowerDraws.copyOf(capacity)
+
+        powerDraw = powerDraw.copyOf(capacity)
+        energyUsage = energyUsage.copyOf(capacity)
+        embodiedCarbon = embodiedCarbon.copyOf(capacity)
+        uptime = uptime.copyOf(capacity)
+        downtime = downtime.copyOf(capacity)
+        bootTime = bootTime.copyOf(capacity)
+    }
+
+    /**
+     * A read-only view of a single row of the batch.
+     */
+    private inner class Row : HostTableReader, RowView<HostTableReader> {
+        override var index = 0
+
+        override val reader: HostTableReader
+            get() = this
+
+        override fun copy(): HostTableReader = snapshot(index)
+
+        override fun setValues(table: HostTableReader) {
+            throw UnsupportedOperationException("Rows of a batch are read-only")
+        }
+
+        override fun record(now: Instant) {
+            throw UnsupportedOperationException("Rows of a batch are read-only")
+        }
+
+        override fun reset() {
+            throw UnsupportedOperationException("Rows of a batch are read-only")
+        }
+
+        override val hostInfo: HostInfo
+            get() = hostInfos[index]!!
+
+        override val timestamp: Instant
+            get() = this@HostTableBatch.timestamp
+
+        override val timestampAbsolute: Instant
+            get() = this@HostTableBatch.timestampAbsolute
+
+        override val tasksTerminated: Int
+            get() = this@HostTableBatch.tasksTerminated[index]
+
+        override val tasksActive: Int
+            get() = this@HostTableBatch.tasksActive[index]
+
+        override val guestsError: Int
+            get() = this@HostTableBatch.guestsError[index]
+
+        override val guestsInvalid: Int
+            get() = this@HostTableBatch.guestsInvalid[index]
+
+        override val cpuCapacity: Double
+            get() = this@HostTableBatch.cpuCapacity[index]
+
+        override val cpuUsage: Double
+            get() = this@HostTableBatch.cpuUsage[index]
+
+        override val cpuDemand: Double
+            get() = this@HostTableBatch.cpuDemand[index]
+
+        override val cpuUtilization: Double
+            get() = this@HostTableBatch.cpuUtilization[index]
+
+        override val cpuActiveTime: Long
+            get() = this@HostTableBatch.cpuActiveTime[index]
+
+        override val cpuIdleTime: Long
+            get() = this@HostTableBatch.cpuIdleTime[index]
+
+        override val cpuStealTime: Long
+            get() = this@HostTableBatch.cpuStealTime[index]
+
+        override val cpuLostTime: Long
+            get() = this@HostTableBatch.cpuLostTime[index]
+
+        override val gpuCapacities: ArrayList<Double>
+            get() = this@HostTableBatch.gpuCapacities[index]!!
+
+        override val gpuUsages: ArrayList<Double>
+            get() = this@HostTableBatch.gpuUsages[index]!!
+
+        override val gpuDemands: ArrayList<Double>
+            get() = this@HostTableBatch.gpuDemands[index]!!
+
+        override val gpuUtilizations: ArrayList<Double>
+            get() = this@HostTableBatch.gpuUtilizations[index]!!
+
+        override val gpuActiveTimes: ArrayList<Long>
+            get() = this@HostTableBatch.gpuActiveTimes[index]!!
+
+        override val gpuIdleTimes: ArrayList<Long>
+            get() = this@HostTableBatch.gpuIdleTimes[index]!!
+
+        override val gpuStealTimes: ArrayList<Long>
+            get() = this@HostTableBatch.gpuStealTimes[index]!!
+
+        override val gpuLostTimes: ArrayList<Long>
+            get() = this@HostTableBatch.gpuLostTimes[index]!!
+
+        override val gpuPowerDraws: ArrayList<Double>
+            get() = this@HostTableBatch.gpuPowerDraws[index]!!
+
+        override val powerDraw: Double
+            get() = this@HostTableBatch.powerDraw[index]
+
+        override val energyUsage: Double
+            get() = this@HostTableBatch.energyUsage[index]
+
+        override val embodiedCarbon: Double
+            get() = this@HostTableBatch.embodiedCarbon[index]
+
+        override val uptime: Long
+            get() = this@HostTableBatch.uptime[index]
+
+        override val downtime: Long
+            get() = this@HostTableBatch.downtime[index]
+
+        override val bootTime: Instant?
+            get() = this@HostTableBatch.bootTime[index]
+    }
+}
@@ -86,6 +86,7 @@ public class HostTableReaderImpl(
             host.getModel().coreCount,
             host.getModel().cpuCapacity,
             host.getModel().memoryCapacity,
+            host.getRegion(),
         )
 
     override val timestamp: Instant
@@ -27,4 +27,5 @@ public data class PowerSourceInfo(
     val clusterName: String,
     val arch: String,
     val capacity: Double,
+    val region: String? = null,
 )
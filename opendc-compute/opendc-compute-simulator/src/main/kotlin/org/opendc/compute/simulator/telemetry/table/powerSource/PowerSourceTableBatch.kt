@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package org.opendc.compute.simulator.telemetry.table.powerSource
+
+import org.opendc.compute.simulator.telemetry.table.TableBatch
+import org.opendc.simulator.compute.power.SimPowerSource
+import java.time.Instant
+
+/**
+ * A columnar batch of power source metrics, containing one row per power source.
+ */
+public class PowerSourceTableBatch : TableBatch<PowerSourceTableReader>() {
+    private var powerSources = arrayOfNulls<SimPowerSource>(0)
+    private var powerSourceInfos = arrayOfNulls<PowerSourceInfo>(0)
+    private var hostsConnected = IntArray(0)
+    private var powerDraw = DoubleArray(0)
+    private var energyUsage = DoubleArray(0)
+    private var carbonIntensity = DoubleArray(0)
+    private var carbonEmission = DoubleArray(0)
+
+    override fun newView(): RowView<PowerSourceTableReader> = Row()
+
+    override fun copyRow(index: Int): PowerSourceTableReader {
+        val copy = PowerSourceTableReaderImpl(powerSources[index]!!)
+        copy.setValues(Row().also { it.index = index })
+        return copy
+    }
+
+    /**
+     * Append the current values of [reader] for the specified [powerSource] to the batch.
+     */
+    internal fun add(
+        powerSource: SimPowerSource,
+        reader: PowerSourceTableReader,
+    ) {
+        val i = nextSlot()
+        timestamp = reader.timestamp
+        timestampAbsolute = reader.timestampAbsolute
+
+        powerSources[i] = powerSource
+        powerSourceInfos[i] = reader.powerSourceInfo
+        hostsConnected[i] = reader.hostsConnected
+        powerDraw[i] = reader.powerDraw
+        energyUsage[i] = reader.energyUsage
+        carbonIntensity[i] = reader.carbonIntensity
+        carbonEmission[i] = reader.carbonEmission
+    }
+
+    override fun resize(capacity: Int) {
+        powerSources = powerSources.copyOf(capacity)
+        powerSourceInfos = powerSourceInfos.copyOf(capacity)
+        hostsConnected = hostsConnected.copyOf(capacity)
+        powerDraw = powerDraw.copyOf(capacity)
+        energyUsage = energyUsage.copyOf(capacity)
+        carbonIntensity = carbonIntensity.copyOf(capacity)
+        carbonEmission = carbonEmission.copyOf(capacity)
+    }
+
+    /**
+     * A read-only view of a single row of the batch.
+     */
+    private inner class Row : PowerSourceTableReader, RowView<PowerSourceTableReader> {
+        override var index = 0
+
+        override val reader: PowerSourceTableReader
+            get() = this
+
+        override fun copy(): PowerSourceTableReader = snapshot(index)
+
+        override fun setValues(table: PowerSourceTableReader) {
+            throw UnsupportedOperationException("Rows of a batch are read-only")
+        }
+
+        override fun record(now: Instant) {
+            throw UnsupportedOperationException("Rows of a batch are read-only")
+        }
+
+        override fun reset() {
+            throw UnsupportedOperationException("Rows of a batch are read-only")
+        }
+
+        override val powerSourceInfo: PowerSourceInfo
+            get() = powerSourceInfos[index]!!
+
+        override val timestamp: Instant
+            get() = this@PowerSourceTableBatch.timestamp
+
+        override val timestampAbsolute: Instant
+            get() = this@PowerSourceTableBatch.timestampAbsolute
+
+        override val hostsConnected: Int
+            get() = this@PowerSourceTableBatch.hostsConnected[index]
+
+        override val powerDraw: Double
+            get() = this@PowerSourceTableBatch.powerDraw[index]
+
+        override val energyUsage: Double
+            get() = this@PowerSourceTableBatch.energyUsage[index]
+
+        override val carbonIntensity: Double
+            get() = this@PowerSourceTableBatch.carbonIntensity[index]
+
+        override val carbonEmission: Double
+            get() = this@PowerSourceTableBatch.carbonEmission[index]
+    }
+}
@@ -60,6 +60,7 @@ public class PowerSourceTableReaderImpl(
             powerSource.clusterName,
             "XXX",
             powerSource.capacity,
+            powerSource.region,
         )
 
     private var _timestamp = Instant.MIN
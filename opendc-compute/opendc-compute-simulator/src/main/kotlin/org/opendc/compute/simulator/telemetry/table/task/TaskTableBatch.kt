@@ -0,0 +1,330 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package org.opendc.compute.simulator.telemetry.table.task
+
+import org.opendc.compute.api.TaskState
+import org.opendc.compute.simulator.service.ComputeService
+import org.opendc.compute.simulator.service.ServiceTask
+import org.opendc.compute.simulator.telemetry.table.TableBatch
+import org.opendc.compute.simulator.telemetry.table.host.HostInfo
+import java.time.Instant
+
+/**
+ * A columnar batch of task metrics, containing one row per task.
+ */
+public class TaskTableBatch : TableBatch<TaskTableReader>() {
+    private var service: ComputeService? = null
+    private var tasks = arrayOfNulls<ServiceTask>(0)
+    private var taskInfos = arrayOfNulls<TaskInfo>(0)
+    private var hostInfos = arrayOfNulls<HostInfo>(0)
+    private var hostNames = arrayOfNulls<String>(0)
+
+    private var uptime = LongArray(0)
+    private var downtime = LongArray(0)
+    private var numFailures = IntArray(0)
+    private var numPauses = IntArray(0)
+    private var scheduleTime = LongArray(0)
+    private var submissionTime = LongArray(0)
+    private var finishTime = LongArray(0)
+
+    private var cpuLimit = DoubleArray(0)
+    private var cpuUsage = DoubleArray(0)
+    private var cpuDemand = DoubleArray(0)
+    private var cpuActiveTime = LongArray(0)
+    private var cpuIdleTime = LongArray(0)
+    private var cpuStealTime = LongArray(0)
+    private var cpuLostTime = LongArray(0)
+
+    private var gpuLimit = DoubleArray(0)
+    private var gpuUsage = DoubleArray(0)
+    private var gpuDemand = DoubleArray(0)
+    private var gpuActiveTime = LongArray(0)
+    private var gpuIdleTime = LongArray(0)
+    private var gpuStealTime = LongArray(0)
+    private var gpuLostTime = LongArray(0)
+
+    private var taskStates = arrayOfNulls<TaskState>(0)
+    private var schedulingDelay = LongArray(0)
+    private var failureDelay = LongArray(0)
+    private var checkpointDelay = LongArray(0)
+
+    /**
+     * A bit mask per row of the nullable columns that are `null`.
+     */
+    private var nulls = IntArray(0)
+
+    override fun newView(): RowView<TaskTableReader> = Row()
+
+    override fun copyRow(index: Int): TaskTableReader {
+        val copy = TaskTableReaderImpl(service!!, tasks[index]!!)
+        copy.setValues(Row().also { it.index = index })
+        return copy
+    }
+
+    /**
+     * Append the current values of [reader] for the specified [task] to the batch.
+     */
+    internal fun add(
+        service: ComputeService,
+        task: ServiceTask,
+        reader: TaskTableReader,
+    ) {
+        val i = nextSlot()
+        this.service = service
+        timestamp = reader.timestamp
+        timestampAbsolute = reader.timestampAbsolute
+
+        tasks[i] = task
+        taskInfos[i] = reader.taskInfo
+        hostInfos[i] = reader.hostInfo
+        hostNames[i] = reader.hostName
+
+        var mask = 0
+        uptime[i] = reader.uptime
+        downtime[i] = reader.downtime
+        numFailures[i] = reader.numFailures
+        numPauses[i] = reader.numPauses
+        mask = mask or putLong(scheduleTime, i, reader.scheduleTime, SCHEDULE_TIME)
+        mask = mask or putLong(submissionTime, i, reader.submissionTime, SUBMISSION_TIME)
+        mask = mask or putLong(finishTime, i, reader.finishTime, FINISH_TIME)
+
+        cpuLimit[i] = reader.cpuLimit
+        cpuUsage[i] = reader.cpuUsage
+        cpuDemand[i] = reader.cpuDemand
+        cpuActiveTime[i] = reader.cpuActiveTime
+        cpuIdleTime[i] = reader.cpuIdleTime
+        cpuStealTime[i] = reader.cpuStealTime
+        cpuLostTime[i] = reader.cpuLostTime
+
+        mask = mask or putDouble(gpuLimit, i, reader.gpuLimit, GPU_LIMIT)
+        mask = mask or putDouble(gpuUsage, i, reader.gpuUsage, GPU_USAGE)
+        mask = mask or putDouble(gpuDemand, i, reader.gpuDemand, GPU_DEMAND)
+        mask = mask or putLong(gpuActiveTime, i, reader.gpuActiveTime, GPU_ACTIVE_TIME)
+        mask = mask or putLong(gpuIdleTime, i, reader.gpuIdleTime, GPU_IDLE_TIME)
+        mask = mask or putLong(gpuStealTime, i, reader.gpuStealTime, GPU_STEAL_TIME)
+        mask = mask or putLong(gpuLostTime, i, reader.gpuLostTime, GPU_LOST_TIME)
+        nulls[i] = mask
+
+        taskStates[i] = reader.taskState
+        schedulingDelay[i] = reader.schedulingDelay
+        failureDelay[i] = reader.failureDelay
+        checkpointDelay[i] = reader.checkpointDelay
+    }
+
+    override fun resize(capacity: Int) {
+        tasks = tasks.copyOf(capacity)
+        taskInfos = taskInfos.copyOf(capacity)
+        hostInfos = hostInfos.copyOf(capacity)
+        hostNames = hostNames.copyOf(capacity)
+
+        uptime = uptime.copyOf(capacity)
+        downtime = downtime.copyOf(capacity)
+        numFailures = numFailures.copyOf(capacity)
+        numPauses = numPauses.copyOf(capacity)
+        scheduleTime = scheduleTime.copyOf(capacity)
+        submissionTime = submissionTime.copyOf(capacity)
+        finishTime = finishTime.copyOf(capacity)
+
+        cpuLimit = cpuLimit.copyOf(capacity)
+        cpuUsage = cpuUsage.copyOf(capacity)
+        cpuDemand = cpuDemand.copyOf(capacity)
+        cpuActiveTime = cpuActiveTime.copyOf(capacity)
+        cpuIdleTime = cpuIdleTime.copyOf(capacity)
+        cpuStealTime = cpuStealTime.copyOf(capacity)
+        cpuLostTime = cpuLostTime.copyOf(capacity)
+
+        gpuLimit = gpuLimit.copyOf(capacity)
+        gpuUsage = gpuUsage.copyOf(capacity)
+        gpuDemand = gpuDemand.copyOf(capacity)
+        gpuActiveTime = gpuActiveTime.copyOf(capacity)
+        gpuIdleTime = gpuIdleTime.copyOf(capacity)
+        gpuStealTime = gpuStealTime.copyOf(capacity)
+        gpuLostTime = gpuLostTime.copyOf(capacity)
+
+        taskStates = taskStates.copyOf(capacity)
+        schedulingDelay = schedulingDelay.copyOf(capacity)
+        failureDelay = failureDelay.copyOf(capacity)
+        checkpointDelay = checkpointDelay.copyOf(capacity)
+        nulls = nulls.copyOf(capacity)
+    }
+
+    private fun putLong(
+        column: LongArray,
+        index: Int,
+        value: Long?,
+        bit: Int,
+    ): Int {
+        column[index] = value ?: 0L
+        return if (value == null) bit else 0
+    }
+
+    private fun putDouble(
+        column: DoubleArray,
+        index: Int,
+        value: Double?,
+        bit: Int,
+    ): Int {
+        column[index] = value ?: 0.0
+        return if (value == null) bit else 0
+    }
+
+    /**
+     * A read-only view of a single row of the batch.
+     */
+    private inner class Row : TaskTableReader, RowView<TaskTableReader> {
+        override var index = 0
+
+        override val reader: TaskTableReader
+            get() = this
+
+        private fun isNull(bit: Int): Boolean = (nulls[index] and bit) != 0
+
+        private fun getLong(
+            column: LongArray,
+            bit: Int,
+        ): Long? = if (isNull(bit)) null else column[index]
+
+        private fun getDouble(
+            column: DoubleArray,
+            bit: Int,
+        ): Double? = if (isNull(bit)) null else column[index]
+
+        override fun copy(): TaskTableReader = snapshot(index)
+
+        override fun setValues(table: TaskTableReader) {
+            throw UnsupportedOperationException("Rows of a batch are read-only")
+        }
+
+        override fun record(now: Instant) {
+            throw UnsupportedOperationException("Rows of a batch are read-only")
+        }
+
+        override fun reset() {
+            throw UnsupportedOperationException("Rows of a batch are read-only")
+        }
+
+        override val timestamp: Instant
+            get() = this@TaskTableBatch.timestamp
+
+        override val timestampAbsolute: Instant
+            get() = this@TaskTableBatch.timestampAbsolute
+
+        override val taskInfo: TaskInfo
+            get() = taskInfos[index]!!
+
+        override val hostInfo: HostInfo?
+            get() = hostInfos[index]
+
+        override val hostName: String?
+            get() = hostNames[index]
+
+        override val uptime: Long
+            get() = this@TaskTableBatch.uptime[index]
+
+        override val downtime: Long
+            get() = this@TaskTableBatch.downtime[index]
+
+        override val numFailures: Int
+            get() = this@TaskTableBatch.numFailures[index]
+
+        override val numPauses: Int
+            get() = this@TaskTableBatch.numPauses[index]
+
+        override val scheduleTime: Long?
+            get() = getLong(this@TaskTableBatch.scheduleTime, SCHEDULE_TIME)
+
+        override val submissionTime: Long?
+            get() = getLong(this@TaskTableBatch.submissionTime, SUBMISSION_TIME)
+
+        override val finishTime: Long?
+            get() = getLong(this@TaskTableBatch.finishTime, FINISH_TIME)
+
+        override val cpuLimit: Double
+            get() = this@TaskTableBatch.cpuLimit[index]
+
+        override val cpuUsage: Double
+            get() = this@TaskTableBatch.cpuUsage[index]
+
+        override val cpuDemand: Double
+            get() = this@TaskTableBatch.cpuDemand[index]
+
+        override val cpuActiveTime: Long
+            get() = this@TaskTableBatch.cpuActiveTime[index]
+
+        override val cpuIdleTime: Long
+            get() = this@TaskTableBatch.cpuIdleTime[index]
+
+        override val cpuStealTime: Long
+            get() = this@TaskTableBatch.cpuStealTime[index]
+
+        override val cpuLostTime: Long
+            get() = this@TaskTableBatch.cpuLostTime[index]
+
+        override val gpuLimit: Double?
+            get() = getDouble(this@TaskTableBatch.gpuLimit, GPU_LIMIT)
+
+        override val gpuUsage: Double?
+            get() = getDouble(this@TaskTableBatch.gpuUsage, GPU_USAGE)
+
+        override val gpuDemand: Double?
+            get() = getDouble(this@TaskTableBatch.gpuDemand, GPU_DEMAND)
+
+        override val gpuActiveTime: Long?
+            get() = getLong(this@TaskTableBatch.gpuActiveTime, GPU_ACTIVE_TIME)
+
+        override val gpuIdleTime: Long?
+            get() = getLong(this@TaskTableBatch.gpuIdleTime, GPU_IDLE_TIME)
+
+        override val gpuStealTime: Long?
+            get() = getLong(this@TaskTableBatch.gpuStealTime, GPU_STEAL_TIME)
+
+        override val gpuLostTime: Long?
+            get() = getLong(this@TaskTableBatch.gpuLostTime, GPU_LOST_TIME)
+
+        override val taskState: TaskState?
+            get() = taskStates[index]
+
+        override val schedulingDelay: Long
+            get() = this@TaskTableBatch.schedulingDelay[index]
+
+        override val failureDelay: Long
+            get() = this@TaskTableBatch.failureDelay[index]
+
+        override val checkpointDelay: Long
+            get() = this@TaskTableBatch.checkpointDelay[index]
+    }
+
+    private companion object {
+        const val SCHEDULE_TIME = 1 shl 0
+        const val SUBMISSION_TIME = 1 shl 1
+        const val FINISH_TIME = 1 shl 2
+        const val GPU_LIMIT = 1 shl 3
+        const val GPU_USAGE = 1 shl 4
+        const val GPU_DEMAND = 1 shl 5
+        const val GPU_ACTIVE_TIME = 1 shl 6
+        const val GPU_IDLE_TIME = 1 shl 7
+        const val GPU_STEAL_TIME = 1 shl 8
+        const val GPU_LOST_TIME = 1 shl 9
+    }
+}
@@ -24,10 +24,12 @@ package org.opendc.compute.simulator.host
 
 import io.mockk.every
 import io.mockk.mockk
+import org.junit.jupiter.api.Assertions.assertEquals
 import org.junit.jupiter.api.Assertions.assertFalse
 import org.junit.jupiter.api.Assertions.assertTrue
 import org.junit.jupiter.api.Test
 import org.opendc.compute.api.TaskState
+import org.opendc.compute.simulator.internal.Guest
 import org.opendc.compute.simulator.service.ServiceTask
 import org.opendc.simulator.compute.machine.SimMachine
 import org.opendc.simulator.compute.models.CpuModel
@@ -99,46 +101,75 @@ class SimHostMemoryTest {
         // Mock taskToGuestMap to simulate running tasks
         val taskToGuestMapField = host.javaClass.getDeclaredField("taskToGuestMap")
         taskToGuestMapField.isAccessible = true
-        val taskToGuestMap = taskToGuestMapField.get(host) as MutableMap<ServiceTask, Any>
-
-        val guest1 = mockk<org.opendc.compute.simulator.internal.Guest>(relaxed = true)
+        val taskToGuestMap = taskToGuestMapField.get(host) as MutableMap<ServiceTask, Guest>
+
+        // Place a guest on the host and account for it in the ledger, as SimHost.spawn does
+        fun place(
+            task: ServiceTask,
+            guest: Guest,
+        ) {
+            every { guest.task } returns task
+            taskToGuestMap[task] = guest
+            host.getLedger().add(task, guest.state == TaskState.RUNNING)
+        }
+
+        // Change the state of a guest and notify the host when it starts or stops running, as the state setter of
+        // Guest does
+        fun transition(
+            guest: Guest,
+            state: TaskState,
+        ) {
+            val wasRunning = guest.state == TaskState.RUNNING
+            every { guest.state } returns state
+            if (wasRunning != (state == TaskState.RUNNING)) {
+                host.onGuestRunningChanged(guest)
+            }
+        }
+
+        val guest1 = mockk<Guest>(relaxed = true)
         every { guest1.state } returns TaskState.RUNNING
 
-        taskToGuestMap[task1] = guest1
+        place(task1, guest1)
 
         // After task1 is RUNNING, used memory is 512. host capacity is 1024.
         // canFit(task2) should be true (1024 - 512 >= 512)
         assertTrue(host.canFit(task2), "Task 2 should fit when Task 1 is running")
 
-        val guest2 = mockk<org.opendc.compute.simulator.internal.Guest>(relaxed = true)
+        val guest2 = mockk<Guest>(relaxed = true)
         every { guest2.state } returns TaskState.RUNNING
-        taskToGuestMap[task2] = guest2
+        place(task2, guest2)
 
         // After task1 and task2 are RUNNING, used memory is 1024.
         // canFit(task3) should be false (1024 - 1024 < 256)
         assertFalse(host.canFit(task3), "Task 3 should not fit when Task 1 and 2 are running")
 
         // If guest2 stops
-        every { guest2.state } returns TaskState.COMPLETED
+        transition(guest2, TaskState.COMPLETED)
         assertTrue(host.canFit(task3), "Task 3 should fit after Task 2 stops running")
 
         // If guest2 fails
-        every { guest2.state } returns TaskState.FAILED
+        transition(guest2, TaskState.FAILED)
         assertTrue(host.canFit(task3), "Task 3 should fit after Task 2 fails")
 
         // If guest1 is paused
-        every { guest1.state } returns TaskState.PAUSED
+        transition(guest1, TaskState.PAUSED)
         assertTrue(host.canFit(task1), "Task 1 should fit when only task 1 is on host and it's paused")
         // But task1 is in taskToGuestMap. Memory calculation should not include it if it's not RUNNING.
-        // Wait, if task1 is PAUSED, usedMemoryByRunningTasks() will sum 0 for it.
+        // Wait, if task1 is PAUSED, the running memory in the ledger will not include it.
         // So host.canFit(task1) should return (1024 - 0) >= 512, which is true. Correct.
 
         // Add a running task3
-        val guest3 = mockk<org.opendc.compute.simulator.internal.Guest>(relaxed = true)
+        val guest3 = mockk<Guest>(relaxed = true)
         every { guest3.state } returns TaskState.RUNNING
-        taskToGuestMap[task3] = guest3
+        place(task3, guest3)
         // Memory: task1 (PAUSED, 0) + task2 (FAILED, 0) + task3 (RUNNING, 256) = 256
         // canFit task1 (512): (1024 - 256) >= 512 -> 768 >= 512 (true)
         assertTrue(host.canFit(task1), "Task 1 should fit with only task 3 running")
+
+        // The ledger must match the slow path over the guests
+        host.getLedger().verify(taskToGuestMap)
+        assertEquals(3, host.getLedger().instanceCount)
+        assertEquals(256L, host.getLedger().runningMemory)
+        assertEquals(1024L - 1280L, host.getLedger().availableMemory)
     }
 }
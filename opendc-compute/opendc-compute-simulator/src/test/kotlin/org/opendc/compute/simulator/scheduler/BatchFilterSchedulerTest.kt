@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.compute.simulator.scheduler
+
+import io.mockk.every
+import io.mockk.mockk
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Test
+import org.opendc.compute.simulator.host.HostState
+import org.opendc.compute.simulator.scheduler.filters.RamFilter
+import org.opendc.compute.simulator.scheduler.filters.VCpuFilter
+import org.opendc.compute.simulator.scheduler.weights.RamWeigher
+import org.opendc.compute.simulator.service.HostView
+import org.opendc.compute.simulator.service.ServiceTask
+import java.util.Random
+
+/**
+ * Test suite for the [BatchFilterScheduler].
+ */
+internal class BatchFilterSchedulerTest {
+    /**
+     * A set of hosts whose resources are updated as tasks are placed and removed.
+     */
+    private class Cluster(val scheduler: ComputeScheduler, size: Int) {
+        val cores = IntArray(size) { 8 + 8 * (it % 3) }
+        val memory = LongArray(size) { 16384L * (1 + it % 2) }
+        val instances = IntArray(size)
+        val hosts = List(size) { host(it) }
+        val placed = ArrayList<Pair<ServiceTask, Int>>()
+        val log = ArrayList<String>()
+
+        init {
+            hosts.forEach { scheduler.addHost(it) }
+        }
+
+        private fun host(id: Int): HostView {
+            val host = mockk<HostView>()
+            every { host.host.getType() } returns "type${id % 3}"
+            every { host.host.getState() } returns HostState.UP
+            every { host.host.isEmpty() } answers { instances[id] == 0 }
+            every { host.availableCpuCores } answers { cores[id] }
+            every { host.availableMemory } answers { memory[id] }
+            return host
+        }
+
+        fun place(result: SchedulingResult): Boolean {
+            val task = result.req!!.task
+            val host = result.host
+            if (host == null) {
+                log.add("${task.name} failed")
+                return false
+            }
+
+            val id = hosts.indexOf(host)
+            cores[id] -= task.cpuCoreCount
+            memory[id] -= task.memorySize
+            instances[id]++
+            placed.add(task to id)
+            log.add("${task.name} on $id")
+            scheduler.updateHost(hosts[id])
+            return true
+        }
+
+        fun finish(index: Int) {
+            val (task, id) = placed.removeAt(index)
+            cores[id] += task.cpuCoreCount
+            memory[id] += task.memorySize
+            instances[id]--
+            if (instances[id] == 0) {
+                scheduler.setHostEmpty(hosts[id])
+            } else {
+                scheduler.updateHost(hosts[id])
+            }
+        }
+    }
+
+    private fun request(
+        id: Int,
+        shape: Int,
+    ): SchedulingRequest {
+        val task = mockk<ServiceTask>()
+        every { task.name } returns "task$id"
+        every { task.cpuCoreCount } returns 1 + 2 * shape
+        every { task.cpuCapacity } returns 0.0
+        every { task.memorySize } returns 1024L + 3072L * shape
+        every { task.gpuCoreCount } returns 0
+        every { task.gpuCapacity } returns 0.0
+        return SchedulingRequest(task, 0)
+    }
+
+    /**
+     * Replay a random workload on a cluster of the specified scheduler and return the scheduling decisions.
+     */
+    private fun replay(
+        scheduler: ComputeScheduler,
+        seed: Long,
+    ): List<String> {
+        val cluster = Cluster(scheduler, 40)
+        val random = Random(seed)
+        val queue = ArrayDeque<SchedulingRequest>()
+        var id = 0
+
+        repeat(30) {
+            repeat(random.nextInt(60)) { queue.add(request(id++, random.nextInt(4))) }
+
+            if (scheduler is BatchComputeScheduler) {
+                val placed = HashSet<SchedulingRequest>()
+                scheduler.selectBatch(queue.toList()) { result ->
+                    cluster.place(result).also { if (it) placed.add(result.req!!) }
+                }
+                queue.removeAll(placed)
+            } else {
+                while (queue.isNotEmpty()) {
+                    val result = scheduler.select(queue.iterator())
+                    if (!cluster.place(result)) {
+                        break
+                    }
+                }
+            }
+
+            repeat(random.nextInt(40)) {
+                if (cluster.placed.isNotEmpty()) {
+                    cluster.finish(random.nextInt(cluster.placed.size))
+                }
+            }
+        }
+
+        return cluster.log
+    }
+
+    @Test
+    fun testSamePlacementsAsFilterScheduler() {
+        for (seed in 0L until 5L) {
+            val filters = listOf(VCpuFilter(1.0), RamFilter(1.0))
+            val weighers = listOf(RamWeigher(-1.0))
+
+            assertEquals(
+                replay(FilterScheduler(filters, weighers), seed),
+                replay(BatchFilterScheduler(filters, weighers), seed),
+            )
+        }
+    }
+
+    @Test
+    fun testSamePlacementsWithoutWeighers() {
+        val filters = listOf(RamFilter(1.0), VCpuFilter(1.0))
+
+        assertEquals(
+            replay(FilterScheduler(filters, emptyList()), 42),
+            replay(BatchFilterScheduler(filters, emptyList()), 42),
+        )
+    }
+}
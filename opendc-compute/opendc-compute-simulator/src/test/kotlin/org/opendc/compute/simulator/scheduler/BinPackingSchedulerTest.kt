@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.compute.simulator.scheduler
+
+import io.mockk.every
+import io.mockk.mockk
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertNull
+import org.junit.jupiter.api.Test
+import org.opendc.compute.simulator.host.HostModel
+import org.opendc.compute.simulator.scheduler.filters.RamFilter
+import org.opendc.compute.simulator.scheduler.filters.VCpuFilter
+import org.opendc.compute.simulator.service.HostView
+import org.opendc.compute.simulator.service.ServiceTask
+
+/**
+ * Test suite for the [BinPackingScheduler].
+ */
+internal class BinPackingSchedulerTest {
+    private val cores = IntArray(8)
+    private val memory = LongArray(8)
+
+    private fun host(
+        id: Int,
+        availableCores: Int,
+    ): HostView {
+        cores[id] = availableCores
+        memory[id] = 4096
+
+        val host = mockk<HostView>()
+        every { host.host.getModel() } returns HostModel(4 * 2600.0, 4, 4096)
+        every { host.availableCpuCores } answers { cores[id] }
+        every { host.availableMemory } answers { memory[id] }
+        return host
+    }
+
+    private fun request(cpuCoreCount: Int): SchedulingRequest {
+        val task = mockk<ServiceTask>()
+        every { task.cpuCoreCount } returns cpuCoreCount
+        every { task.memorySize } returns 512L * cpuCoreCount
+        return SchedulingRequest(task, 0)
+    }
+
+    /**
+     * Schedule [requests] as one batch and return the selected host per request, placing each task on its host.
+     */
+    private fun schedule(
+        scheduler: BinPackingScheduler,
+        hosts: List<HostView>,
+        requests: List<SchedulingRequest>,
+    ): Map<SchedulingRequest, HostView?> {
+        val result = LinkedHashMap<SchedulingRequest, HostView?>()
+        scheduler.selectBatch(requests) { res ->
+            val host = res.host
+            result[res.req!!] = host
+            if (host != null) {
+                val id = hosts.indexOf(host)
+                cores[id] -= res.req!!.task.cpuCoreCount
+                memory[id] -= res.req!!.task.memorySize
+                scheduler.updateHost(host)
+            }
+            host != null
+        }
+        return result
+    }
+
+    @Test
+    fun testFirstFitDecreasing() {
+        val scheduler = BinPackingScheduler(listOf(VCpuFilter(1.0), RamFilter(1.0)))
+        val hosts = List(3) { host(it, 4) }
+        hosts.forEach { scheduler.addHost(it) }
+
+        val requests = listOf(request(1), request(3), request(2), request(2))
+        val result = schedule(scheduler, hosts, requests)
+
+        // The largest tasks are placed first, after which the smallest task fills up the first host
+        assertEquals(listOf(requests[1], requests[2], requests[3], requests[0]), result.keys.toList())
+        assertEquals(listOf(hosts[0], hosts[1], hosts[1], hosts[0]), result.values.toList())
+    }
+
+    @Test
+    fun testBestFitDecreasing() {
+        val scheduler =
+            BinPackingScheduler(listOf(VCpuFilter(1.0), RamFilter(1.0)), BinPackingPolicy.BEST_FIT_DECREASING)
+        val hosts = listOf(host(0, 4), host(1, 2), host(2, 3))
+        hosts.forEach { scheduler.addHost(it) }
+
+        val requests = listOf(request(2), request(3))
+        val result = schedule(scheduler, hosts, requests)
+
+        assertEquals(hosts[2], result[requests[1]])
+        assertEquals(hosts[1], result[requests[0]])
+    }
+
+    @Test
+    fun testContinuesAfterFailure() {
+        val scheduler = BinPackingScheduler(listOf(VCpuFilter(1.0), RamFilter(1.0)))
+        val hosts = listOf(host(0, 2))
+        hosts.forEach { scheduler.addHost(it) }
+
+        val requests = listOf(request(4), request(1))
+        val result = schedule(scheduler, hosts, requests)
+
+        assertNull(result[requests[0]])
+        assertEquals(hosts[0], result[requests[1]])
+    }
+
+    @Test
+    fun testFailedHost() {
+        val scheduler = BinPackingScheduler(listOf(VCpuFilter(1.0), RamFilter(1.0)))
+        val hosts = listOf(host(0, 4), host(1, 4))
+        hosts.forEach { scheduler.addHost(it) }
+
+        scheduler.failHost(hosts[0])
+        assertEquals(hosts[1], scheduler.select(mutableListOf(request(1)).iterator()).host)
+
+        scheduler.restartHost(hosts[0])
+        assertEquals(hosts[0], scheduler.select(mutableListOf(request(1)).iterator()).host)
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.compute.simulator.scheduler
+
+import io.mockk.every
+import io.mockk.mockk
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import org.opendc.compute.simulator.scheduler.filters.RamFilter
+import org.opendc.compute.simulator.scheduler.filters.VCpuFilter
+import org.opendc.compute.simulator.service.HostView
+import org.opendc.compute.simulator.service.ServiceTask
+import java.util.Random
+
+/**
+ * Test suite for the [HostCapacityIndex].
+ */
+internal class HostCapacityIndexTest {
+    private val cores = IntArray(256)
+    private val memory = LongArray(256)
+
+    private fun host(
+        id: Int,
+        availableCores: Int,
+        availableMemory: Long,
+    ): HostView {
+        cores[id] = availableCores
+        memory[id] = availableMemory
+
+        val host = mockk<HostView>()
+        every { host.availableCpuCores } answers { cores[id] }
+        every { host.availableMemory } answers { memory[id] }
+        return host
+    }
+
+    private fun task(
+        cpuCoreCount: Int,
+        memorySize: Long,
+    ): ServiceTask {
+        val task = mockk<ServiceTask>()
+        every { task.cpuCoreCount } returns cpuCoreCount
+        every { task.memorySize } returns memorySize
+        return task
+    }
+
+    @Test
+    fun testOrder() {
+        val index = HostCapacityIndex(listOf(VCpuFilter(), RamFilter()), blockSize = 2)
+        val hosts = listOf(host(0, 4, 512), host(1, 1, 1024), host(2, 4, 256), host(3, 2, 2048))
+
+        hosts.forEach { index.add(it) }
+
+        assertEquals(listOf(hosts[1], hosts[3], hosts[2], hosts[0]), index.toList())
+        assertTrue(index.isSorted())
+    }
+
+    @Test
+    fun testUpdateAndRemove() {
+        val index = HostCapacityIndex(listOf(VCpuFilter(), RamFilter()), blockSize = 2)
+        val hosts = List(8) { host(it, it, 1024) }
+
+        hosts.forEach { index.add(it) }
+
+        cores[0] = 16
+        index.update(hosts[0])
+        assertEquals(hosts[0], index[7])
+
+        assertTrue(index.remove(hosts[3]))
+        assertFalse(index.remove(hosts[3]))
+        assertFalse(hosts[3] in index)
+        assertEquals(7, index.size)
+        assertTrue(index.isSorted())
+    }
+
+    @Test
+    fun testFittingHosts() {
+        val index = HostCapacityIndex(listOf(VCpuFilter(), RamFilter()), blockSize = 2)
+        val hosts = listOf(host(0, 1, 4096), host(1, 2, 512), host(2, 4, 4096), host(3, 8, 1024), host(4, 8, 8192))
+
+        hosts.forEach { index.add(it) }
+
+        assertEquals(listOf(hosts[2], hosts[4]), index.getFittingHosts(task(2, 2048)))
+        assertEquals(listOf(hosts[2]), index.getFittingHosts(task(2, 2048), limit = 1))
+        assertEquals(emptyList<HostView>(), index.getFittingHosts(task(16, 0)))
+    }
+
+    /**
+     * Verify that the index matches a sorted list of the hosts under random updates.
+     */
+    @Test
+    fun testMatchesSortedList() {
+        val random = Random(0)
+        val index = HostCapacityIndex(listOf(VCpuFilter(), RamFilter()), blockSize = 4)
+        val hosts = List(256) { host(it, random.nextInt(16), random.nextInt(8) * 512L) }
+        val comparator = compareBy<HostView>({ it.availableCpuCores }, { it.availableMemory })
+
+        repeat(5000) {
+            val host = hosts[random.nextInt(hosts.size)]
+            when (random.nextInt(3)) {
+                0 -> index.remove(host)
+                1 -> {
+                    val id = hosts.indexOf(host)
+                    cores[id] = random.nextInt(16)
+                    memory[id] = random.nextInt(8) * 512L
+                    if (host in index) index.update(host)
+                }
+                else -> index.add(host)
+            }
+
+            val task = task(random.nextInt(16), random.nextInt(8) * 512L)
+            val expected =
+                index.toList().filter { it.availableCpuCores >= task.cpuCoreCount && it.availableMemory >= task.memorySize }
+
+            assertTrue(index.isSorted())
+            assertEquals(index.toList().sortedWith(comparator), index.toList())
+            assertEquals(expected, index.getFittingHosts(task))
+        }
+    }
+}
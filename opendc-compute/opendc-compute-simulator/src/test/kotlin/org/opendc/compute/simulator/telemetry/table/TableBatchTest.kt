@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.compute.simulator.telemetry.table
+
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertNotSame
+import org.junit.jupiter.api.Assertions.assertSame
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertThrows
+import org.opendc.compute.simulator.telemetry.table.powerSource.PowerSourceInfo
+import org.opendc.compute.simulator.telemetry.table.powerSource.PowerSourceTableBatch
+import org.opendc.compute.simulator.telemetry.table.powerSource.PowerSourceTableReader
+import org.opendc.simulator.SimulationDispatcher
+import org.opendc.simulator.compute.power.SimPowerSource
+import org.opendc.simulator.engine.engine.FlowEngine
+import java.time.Instant
+
+/**
+ * Test suite for [TableBatch], exercised through the [PowerSourceTableBatch].
+ */
+class TableBatchTest {
+    private val powerSource = SimPowerSource(FlowEngine.create(SimulationDispatcher()), 1000.0, "P01", "C01")
+
+    @Test
+    fun testFill() {
+        val pool = TableBatch.Pool(::PowerSourceTableBatch)
+        val batch = pool.acquire()
+
+        // Grow the column vectors beyond their initial capacity
+        repeat(40) { batch.add(powerSource, Reading(it)) }
+
+        assertEquals(40, batch.size)
+        assertEquals(Instant.ofEpochMilli(1000), batch.timestamp)
+        for (i in 0 until 40) {
+            val row = batch.row(i)
+            assertEquals(i, row.hostsConnected)
+            assertEquals(i * 10.0, row.powerDraw)
+            assertEquals(i * 100.0, row.energyUsage)
+            assertEquals("P$i", row.powerSourceInfo.name)
+        }
+        assertThrows<IndexOutOfBoundsException> { batch.row(40) }
+    }
+
+    @Test
+    fun testReset() {
+        val pool = TableBatch.Pool(::PowerSourceTableBatch)
+        val batch = pool.acquire()
+        repeat(3) { batch.add(powerSource, Reading(it)) }
+        val snapshot = batch.snapshot(2)
+        batch.release()
+
+        // Without consumers holding the batch, the same batch is reused empty for the next tick
+        val next = pool.acquire()
+        assertSame(batch, next)
+        assertEquals(0, next.size)
+        assertThrows<IndexOutOfBoundsException> { next.row(0) }
+
+        next.add(powerSource, Reading(7))
+        assertEquals(7, next.row(0).hostsConnected)
+        assertNotSame(snapshot, next.snapshot(0))
+        assertEquals(7, next.snapshot(0).hostsConnected)
+
+        // The snapshot of the previous tick retains its values
+        assertEquals(2, snapshot.hostsConnected)
+        assertEquals(20.0, snapshot.powerDraw)
+    }
+
+    @Test
+    fun testSharedColumnReads() {
+        val pool = TableBatch.Pool(::PowerSourceTableBatch)
+        val batch = pool.acquire()
+        repeat(20) { batch.add(powerSource, Reading(it)) }
+        val chunk = batch.share()
+        batch.release()
+
+        // The shared batch is not refilled while the chunk is held
+        val other = pool.acquire()
+        assertNotSame(batch, other)
+        repeat(5) { other.add(powerSource, Reading(100 + it)) }
+
+        assertEquals(20, chunk.size)
+        for (i in 0 until chunk.size) {
+            val row = chunk.row(i)
+            assertEquals(i, row.hostsConnected)
+            assertEquals(i * 10.0, row.powerDraw)
+        }
+        assertThrows<IndexOutOfBoundsException> { chunk.row(20) }
+
+        // Releasing the chunk returns the batch to the pool, also when released more than once
+        chunk.release()
+        chunk.release()
+        other.release()
+        val reused = setOf(pool.acquire(), pool.acquire())
+        assertEquals(setOf(batch, other), reused)
+        assertNotSame(batch, pool.acquire())
+    }
+
+    /**
+     * A [PowerSourceTableReader] with values derived from [seq].
+     */
+    private class Reading(private val seq: Int) : PowerSourceTableReader {
+        override fun copy(): PowerSourceTableReader = this
+
+        override fun setValues(table: PowerSourceTableReader) {}
+
+        override fun record(now: Instant) {}
+
+        override fun reset() {}
+
+        override val powerSourceInfo: PowerSourceInfo = PowerSourceInfo("P$seq", "C01", "arch", 1000.0)
+
+        override val timestamp: Instant = Instant.ofEpochMilli(1000)
+
+        override val timestampAbsolute: Instant = Instant.ofEpochMilli(2000)
+
+        override val hostsConnected: Int = seq
+
+        override val powerDraw: Double = seq * 10.0
+
+        override val energyUsage: Double = seq * 100.0
+
+        override val carbonIntensity: Double = 0.0
+
+        override val carbonEmission: Double = 0.0
+    }
+}
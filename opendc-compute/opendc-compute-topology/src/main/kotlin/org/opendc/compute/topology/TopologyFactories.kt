@@ -40,12 +40,37 @@ import org.opendc.simulator.compute.models.MemoryUnit
 import org.opendc.simulator.compute.power.getPowerModel
 import java.io.File
 import java.io.InputStream
+import java.lang.ref.SoftReference
+import java.util.concurrent.ConcurrentHashMap
 
 /**
  * A [TopologyReader] that is used to read the cluster definition file.
  */
 private val reader = TopologyReader()
 
+/**
+ * The topology specifications read from files, shared by all simulation runs in this process.
+ *
+ * Specifications are immutable, so a run only pays for converting the cached specification into fresh [ClusterSpec]s.
+ * They are softly referenced, such that they can be reclaimed under memory pressure.
+ */
+private val topologies = ConcurrentHashMap<TopologyKey, SoftReference<TopologySpec>>()
+
+/**
+ * The key of a topology file in the [topologies] cache.
+ */
+private data class TopologyKey(
+    val file: File,
+    val strictReader: Boolean,
+    val length: Long,
+    val lastModified: Long,
+) {
+    /**
+     * Whether this key refers to an earlier version of the file of [other], read in the same mode.
+     */
+    fun isEarlierVersionOf(other: TopologyKey): Boolean = file == other.file && strictReader == other.strictReader && this != other
+}
+
 // Lists used to make sure all cluster, host, power source and battery have unique names
 private val clusterNames: HashMap<String, Int> = HashMap()
 private val hostNames: HashMap<String, Int> = HashMap()
@@ -93,7 +118,14 @@ public fun clusterTopology(
     file: File,
     strictReader: Boolean,
 ): List<ClusterSpec> {
-    val topology = reader.read(file, strictReader)
+    val canonicalFile = file.canonicalFile
+    val key = TopologyKey(canonicalFile, strictReader, canonicalFile.length(), canonicalFile.lastModified())
+
+    val topology =
+        topologies[key]?.get() ?: reader.read(file, strictReader).also { spec ->
+            topologies.keys.removeIf { it.isEarlierVersionOf(key) }
+            topologies[key] = SoftReference(spec)
+        }
     return topology.toClusterSpec()
 }
 
@@ -107,22 +139,31 @@ public fun clusterTopology(input: InputStream): List<ClusterSpec> {
 
 /**
  * Helper method to convert a [TopologySpec] into a list of [HostSpec]s.
+ *
+ * The conversion is synchronized, since the unique names and device ids are tracked globally and topologies may be
+ * constructed by simulation runs in parallel.
  */
+@Synchronized
 private fun TopologySpec.toClusterSpec(): List<ClusterSpec> {
     clusterNames.clear()
     hostNames.clear()
     powerSourceNames.clear()
     batteryNames.clear()
 
+    val carbonTraces = regions.associate { it.name to it.carbonTracePath }
+    require(carbonTraces.size == regions.size) { "The names of the regions must be unique" }
+
     return clusters.map { cluster ->
-        cluster.toClusterSpec()
+        cluster.toClusterSpec(carbonTraces)
     }
 }
 
 /**
  * Helper method to convert a [ClusterJSONSpec] into a list of [HostSpec]s.
+ *
+ * @param carbonTraces The carbon trace of each region of the topology.
  */
-private fun ClusterJSONSpec.toClusterSpec(): ClusterSpec {
+private fun ClusterJSONSpec.toClusterSpec(carbonTraces: Map<String, String>): ClusterSpec {
     val clusterName = createUniqueName(this.name, clusterNames)
 
     val hostSpecs =
@@ -135,11 +176,24 @@ private fun ClusterJSONSpec.toClusterSpec(): ClusterSpec {
                 }
             )
         }
+
+    // Clusters in a region use the carbon trace of the region instead of their own
+    val carbonTracePath =
+        if (region != null) {
+            val regionTrace = requireNotNull(carbonTraces[region]) { "Cluster $clusterName references unknown region $region" }
+            require(this.powerSource.carbonTracePath == null || this.powerSource.carbonTracePath == regionTrace) {
+                "Cluster $clusterName defines a carbon trace different from the trace of region $region"
+            }
+            regionTrace
+        } else {
+            this.powerSource.carbonTracePath
+        }
+
     val powerSourceSpec =
         PowerSourceSpec(
             createUniqueName(this.powerSource.name, powerSourceNames),
             totalPower = this.powerSource.maxPower,
-            carbonTracePath = this.powerSource.carbonTracePath,
+            carbonTracePath = carbonTracePath,
         )
 
     var batterySpec: BatteryJSONSpec? = null
@@ -156,7 +210,7 @@ private fun ClusterJSONSpec.toClusterSpec(): ClusterSpec {
             )
     }
 
-    return ClusterSpec(clusterName, hostSpecs, powerSourceSpec, batterySpec)
+    return ClusterSpec(clusterName, hostSpecs, powerSourceSpec, batterySpec, region)
 }
 
 /**
@@ -210,6 +264,7 @@ private fun HostJSONSpec.toHostSpec(clusterName: String): HostSpec {
             cpuPowerModel.calibrationFactor,
             cpuPowerModel.asymUtil,
             cpuPowerModel.dvfs,
+            cpuPowerModel.tabulated,
         )
 
     val gpuPowerModel =
@@ -224,6 +279,7 @@ private fun HostJSONSpec.toHostSpec(clusterName: String): HostSpec {
                 gpuPowerModel.calibrationFactor,
                 gpuPowerModel.asymUtil,
                 gpuPowerModel.dvfs,
+                gpuPowerModel.tabulated,
             )
         }
 
@@ -22,9 +22,15 @@
 
 package org.opendc.compute.topology.specs
 
+/**
+ * A cluster of hosts that share a power source and an optional battery.
+ *
+ * @param region The name of the grid region the cluster draws power from or `null` if it is not part of a region.
+ */
 public data class ClusterSpec(
     val name: String,
     val hostSpecs: List<HostSpec>,
     val powerSource: PowerSourceSpec,
     val battery: BatteryJSONSpec? = null,
+    val region: String? = null,
 )
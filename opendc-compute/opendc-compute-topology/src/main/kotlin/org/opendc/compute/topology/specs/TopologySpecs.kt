@@ -31,6 +31,7 @@ import org.opendc.common.units.Power
 import org.opendc.simulator.compute.power.batteries.BatteryAggregator
 import org.opendc.simulator.compute.power.batteries.SimBattery
 import org.opendc.simulator.compute.power.batteries.policy.BatteryPolicy
+import org.opendc.simulator.compute.power.batteries.policy.CarbonIntensityWindow
 import org.opendc.simulator.compute.power.batteries.policy.DoubleThresholdBatteryPolicy
 import org.opendc.simulator.compute.power.batteries.policy.RunningMeanBatteryPolicy
 import org.opendc.simulator.compute.power.batteries.policy.RunningMeanPlusBatteryPolicy
@@ -43,10 +44,26 @@ import org.opendc.simulator.engine.graph.distributionPolicies.FlowDistributorFac
  * Definition of a Topology modeled in the simulation.
  *
  * @param clusters List of the clusters in this topology
+ * @param regions List of the grid regions referenced by the clusters
  */
 @Serializable
 public data class TopologySpec(
     val clusters: List<ClusterJSONSpec>,
+    val regions: List<RegionJSONSpec> = emptyList(),
+)
+
+/**
+ * Definition of a grid region modeled in the simulation.
+ *
+ * The carbon trace of a region is loaded once and shared by all clusters in the region.
+ *
+ * @param name The name of the region.
+ * @param carbonTracePath The path to the carbon intensity trace of the region.
+ */
+@Serializable
+public data class RegionJSONSpec(
+    val name: String,
+    val carbonTracePath: String,
 )
 
 /**
@@ -54,6 +71,7 @@ public data class TopologySpec(
  *
  * @param name The name of the cluster.
  * @param hosts List of the different hosts (nodes) available in this cluster
+ * @param region The name of the grid region the cluster draws power from, if any
  */
 @Serializable
 public data class ClusterJSONSpec(
@@ -62,6 +80,7 @@ public data class ClusterJSONSpec(
     val hosts: List<HostJSONSpec>,
     val powerSource: PowerSourceJSONSpec = PowerSourceJSONSpec.DFLT,
     val battery: BatteryJSONSpec? = null,
+    val region: String? = null,
 )
 
 /**
@@ -150,6 +169,7 @@ public data class PowerModelSpec(
     val calibrationFactor: Double = 1.0,
     val asymUtil: Double = 0.0,
     val dvfs: Boolean = true,
+    val tabulated: Boolean = false,
 ) {
     init {
         require(maxPower >= idlePower) { "The max power of a power model can not be less than the idle power" }
@@ -213,6 +233,7 @@ public fun DistributionPolicySpec.toDistributionPolicy(): DistributionPolicy {
             }
         is FirstFitDistributionPolicySpec -> DistributionPolicy.FIRST_FIT
         is MaxMinFairnessDistributionPolicySpec -> DistributionPolicy.MAX_MIN_FAIRNESS
+        is IncrementalMaxMinFairnessDistributionPolicySpec -> DistributionPolicy.INCREMENTAL_MAX_MIN_FAIRNESS
     }
 }
 
@@ -222,6 +243,12 @@ public data class MaxMinFairnessDistributionPolicySpec(
     override val type: DistributionPolicy = DistributionPolicy.MAX_MIN_FAIRNESS,
 ) : DistributionPolicySpec
 
+@Serializable
+@SerialName("INCREMENTAL_MAX_MIN_FAIRNESS")
+public data class IncrementalMaxMinFairnessDistributionPolicySpec(
+    override val type: DistributionPolicy = DistributionPolicy.INCREMENTAL_MAX_MIN_FAIRNESS,
+) : DistributionPolicySpec
+
 @Serializable
 public sealed interface VirtualizationOverheadModelSpec {
     public val type: VirtualizationOverheadModelEnum
@@ -348,11 +375,18 @@ public data class RunningQuartilesPolicyJSONSpec(
     val windowSize: Int,
 ) : BatteryPolicyJSONSpec
 
+/**
+ * Create the [BatteryPolicy] of a battery.
+ *
+ * @param carbonWindow A function to obtain a [CarbonIntensityWindow] for a starting threshold and window size that is
+ * shared with the running mean policies of other batteries on the same grid, or `null` to give each policy its own.
+ */
 public fun createSimBatteryPolicy(
     batterySpec: BatteryPolicyJSONSpec,
     engine: FlowEngine,
     battery: SimBattery,
     batteryAggregator: BatteryAggregator,
+    carbonWindow: ((startingThreshold: Double, windowSize: Int) -> CarbonIntensityWindow)? = null,
 ): BatteryPolicy {
     return when (batterySpec) {
         is SingleBatteryPolicyJSONSpec ->
@@ -371,21 +405,39 @@ public fun createSimBatteryPolicy(
                 batterySpec.upperThreshold,
             )
         is RunningMeanPolicyJSONSpec ->
-            RunningMeanBatteryPolicy(
-                engine,
-                battery,
-                batteryAggregator,
-                batterySpec.startingThreshold,
-                batterySpec.windowSize,
-            )
+            if (carbonWindow != null) {
+                RunningMeanBatteryPolicy(
+                    engine,
+                    battery,
+                    batteryAggregator,
+                    carbonWindow(batterySpec.startingThreshold, batterySpec.windowSize),
+                )
+            } else {
+                RunningMeanBatteryPolicy(
+                    engine,
+                    battery,
+                    batteryAggregator,
+                    batterySpec.startingThreshold,
+                    batterySpec.windowSize,
+                )
+            }
         is RunningMeanPlusPolicyJSONSpec ->
-            RunningMeanPlusBatteryPolicy(
-                engine,
-                battery,
-                batteryAggregator,
-                batterySpec.startingThreshold,
-                batterySpec.windowSize,
-            )
+            if (carbonWindow != null) {
+                RunningMeanPlusBatteryPolicy(
+                    engine,
+                    battery,
+                    batteryAggregator,
+                    carbonWindow(batterySpec.startingThreshold, batterySpec.windowSize),
+                )
+            } else {
+                RunningMeanPlusBatteryPolicy(
+                    engine,
+                    battery,
+                    batteryAggregator,
+                    batterySpec.startingThreshold,
+                    batterySpec.windowSize,
+                )
+            }
         else -> throw IllegalArgumentException("Unknown battery policy")
     }
 }
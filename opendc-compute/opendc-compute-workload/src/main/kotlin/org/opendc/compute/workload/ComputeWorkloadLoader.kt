@@ -23,10 +23,18 @@
 package org.opendc.compute.workload
 
 import mu.KotlinLogging
+import org.opendc.common.ResourceType
 import org.opendc.compute.simulator.service.ServiceTask
+import org.opendc.compute.workload.cache.ArrayFragmentSource
+import org.opendc.compute.workload.cache.CoalescedWorkloadTable
+import org.opendc.compute.workload.cache.HeapWorkloadTable
+import org.opendc.compute.workload.cache.WorkloadCache
+import org.opendc.compute.workload.cache.WorkloadTable
 import org.opendc.simulator.compute.workload.trace.TraceWorkload
 import org.opendc.simulator.compute.workload.trace.scaling.NoDelayScaling
 import org.opendc.simulator.compute.workload.trace.scaling.ScalingPolicy
+import org.opendc.trace.BatchTableReader
+import org.opendc.trace.TablePredicate
 import org.opendc.trace.Trace
 import org.opendc.trace.conv.FRAGMENT_CPU_USAGE
 import org.opendc.trace.conv.FRAGMENT_DURATION
@@ -46,15 +54,32 @@ import org.opendc.trace.conv.TASK_MEM_CAPACITY
 import org.opendc.trace.conv.TASK_NAME
 import org.opendc.trace.conv.TASK_PARENTS
 import org.opendc.trace.conv.TASK_SUBMISSION_TIME
+import org.opendc.trace.formats.workload.WorkloadTraceFormat
 import java.io.File
+import java.io.IOException
 import java.lang.ref.SoftReference
-import java.time.Duration
+import java.util.Collections
 import java.util.concurrent.ConcurrentHashMap
 import kotlin.math.roundToLong
 
 /**
  * A helper class for loading compute workload traces into memory.
  *
+ * Parsed traces are shared in memory by all loaders in the process, and every call to [load] creates fresh tasks
+ * over the shared data. Hence, experiments that run the same trace for many seeds or scenarios parse it only once.
+ *
+ * When a [cacheDirectory] is given, the parsed trace is stored there as a memory-mapped binary image keyed by the
+ * content of the trace, so that subsequent loads of the same trace skip parsing the Parquet files. The fragments of
+ * tasks loaded from such an image are read directly from the mapped file.
+ *
+ * When a [coalescing] stage is given, runs of adjacent fragments with (near-)identical usage are merged after the
+ * trace is parsed. The coalesced trace is shared in memory as well, and the effect of the stage is available through
+ * [coalescingReport] after the trace is loaded.
+ *
+ * When a [window] is given, only the tasks submitted within the window are loaded. The window is pushed down into the
+ * trace reader, such that loading a short window of a long trace only reads the parts of the trace that overlap it.
+ * Dependencies between tasks inside and outside the window are dropped, so the tasks in the window never wait for
+ * tasks that are not loaded.
  */
 public class ComputeWorkloadLoader(
     private val pathToFile: File,
@@ -64,6 +89,9 @@ public class ComputeWorkloadLoader(
     private val checkpointIntervalScaling: Double = 1.0,
     private val scalingPolicy: ScalingPolicy = NoDelayScaling(),
     private val deferAll: Boolean = false,
+    private val cacheDirectory: File? = null,
+    private val coalescing: FragmentCoalescing? = null,
+    private val window: WorkloadWindow? = null,
 ) : WorkloadLoader(subMissionTime) {
     /**
      * The logger for this instance.
@@ -71,44 +99,53 @@ public class ComputeWorkloadLoader(
     private val logger = KotlinLogging.logger {}
 
     /**
-     * The cache of workloads.
+     * The report of the [coalescing] stage for the last loaded trace, or `null` if the fragments are not coalesced.
      */
-    private val cache = ConcurrentHashMap<File, SoftReference<List<ServiceTask>>>()
+    public var coalescingReport: FragmentCoalescingReport? = null
+        private set
 
     /**
      * Read the fragments into memory.
      */
-    private fun parseFragments(trace: Trace): Map<Int, Builder> {
-        val reader = checkNotNull(trace.getTable(TABLE_FRAGMENTS)).newReader()
+    private fun parseFragments(
+        trace: Trace,
+        predicate: TablePredicate?,
+    ): Map<Int, ArrayFragmentSource.Builder> {
+        val reader = checkNotNull(trace.getTable(TABLE_FRAGMENTS)).newBatchReader(predicate = predicate)
 
         val idCol = reader.resolve(TASK_ID)
         val durationCol = reader.resolve(FRAGMENT_DURATION)
         val usageCol = reader.resolve(FRAGMENT_CPU_USAGE)
         val resourceGpuCapacityCol = reader.resolve(FRAGMENT_GPU_USAGE)
 
-        val fragments = mutableMapOf<Int, Builder>()
+        val fragments = mutableMapOf<Int, ArrayFragmentSource.Builder>()
+
+        // Fragments of a task are stored consecutively, so only look up the builder when the task changes
+        var lastId = 0
+        var builder: ArrayFragmentSource.Builder? = null
 
         return try {
-            while (reader.nextRow()) {
-                val id = reader.getInt(idCol)
-                val durationMs = reader.getDuration(durationCol)!!
-                val cpuUsage = reader.getDouble(usageCol)
-                val gpuUsage =
-                    if (reader.getDouble(
-                            resourceGpuCapacityCol,
-                        ).isNaN()
-                    ) {
-                        0.0
-                    } else {
-                        reader.getDouble(resourceGpuCapacityCol) // Default to 0 if not present
-                    }
-                val gpuMemory = 0 // Default to 0 if not present
+            while (true) {
+                val n = reader.nextBatch(BatchTableReader.DEFAULT_BATCH_SIZE)
+                if (n == 0) {
+                    break
+                }
 
-                val builder =
-                    fragments.computeIfAbsent(
-                        id,
-                    ) { Builder(checkpointInterval, checkpointDuration, checkpointIntervalScaling, scalingPolicy, id) }
-                builder.add(durationMs, cpuUsage, gpuUsage, gpuMemory)
+                val ids = reader.getInts(idCol)
+                val durations = reader.getLongs(durationCol)
+                val cpuUsages = reader.getDoubles(usageCol)
+                val gpuUsages = reader.getDoubles(resourceGpuCapacityCol)
+
+                for (i in 0 until n) {
+                    val id = ids[i]
+                    val gpuUsage = gpuUsages[i].let { if (it.isNaN()) 0.0 else it } // Default to 0 if not present
+
+                    if (builder == null || id != lastId) {
+                        builder = fragments.computeIfAbsent(id) { ArrayFragmentSource.Builder() }
+                        lastId = id
+                    }
+                    builder.add(durations[i], cpuUsages[i], gpuUsage)
+                }
             }
 
             fragments
@@ -118,13 +155,14 @@ public class ComputeWorkloadLoader(
     }
 
     /**
-     * Read the metadata into a workload.
+     * Read the metadata into a workload table.
      */
     private fun parseTasks(
         trace: Trace,
-        fragments: Map<Int, Builder>,
-    ): List<ServiceTask> {
-        val reader = checkNotNull(trace.getTable(TABLE_TASKS)).newReader()
+        fragments: Map<Int, ArrayFragmentSource.Builder>,
+        predicate: TablePredicate?,
+    ): WorkloadTable {
+        val reader = checkNotNull(trace.getTable(TABLE_TASKS)).newReader(predicate = predicate)
 
         val idCol = reader.resolve(TASK_ID)
         val idName = reader.resolve(TASK_NAME)
@@ -140,16 +178,14 @@ public class ComputeWorkloadLoader(
         val deferrableCol = reader.resolve(TASK_DEFERRABLE)
         val deadlineCol = reader.resolve(TASK_DEADLINE)
 
-        val entries = mutableListOf<ServiceTask>()
+        val table = HeapWorkloadTable.Builder()
 
         return try {
             while (reader.nextRow()) {
                 val id = reader.getInt(idCol)
-                var name = reader.getString(idName)
+                val name = reader.getString(idName)
 
-                if (!fragments.containsKey(id)) {
-                    continue
-                }
+                val builder = fragments[id] ?: continue // Get all fragments related to this VM
 
                 val submissionTime = reader.getInstant(submissionTimeCol)!!.toEpochMilli()
                 val duration = reader.getLong(durationCol)
@@ -168,60 +204,37 @@ public class ComputeWorkloadLoader(
                 val gpuCoreCount = reader.getInt(gpuCoreCountCol) // Default to 0 if not present
                 val gpuMemory = 0L // currently not implemented
 
-                var parents = reader.getSet(parentsCol, Int::class.java) // No dependencies in the trace
-                var children = reader.getSet(childrenCol, Int::class.java) // No dependencies in the trace
-
-                var parentsOutput: ArrayList<Int>? = null
+                // Drop dependencies on tasks that are not loaded (e.g., outside the window), since a task whose parent is
+                // never submitted would be blocked forever
+                val parents = reader.getSet(parentsCol, Int::class.java)?.filter { it in fragments }
+                val children = reader.getSet(childrenCol, Int::class.java)?.filter { it in fragments }
 
-                if (parents?.isEmpty() == true) {
-                    parentsOutput = null
-                } else {
-                    parentsOutput = ArrayList(parents!!)
-                }
-
-                if (children?.isEmpty() == true) {
-                    children = null
-                }
-
-                var deferrable = reader.getBoolean(deferrableCol)
-                var deadline = reader.getLong(deadlineCol)
-                if (deferAll) {
-                    deferrable = true
-                    deadline = submissionTime + (3 * duration)
-                }
-
-                val builder = fragments.getValue(id) // Get all fragments related to this VM
-                val totalLoad = builder.totalLoad
-
-                entries.add(
-                    ServiceTask(
+                table.add(
+                    HeapWorkloadTable.Row(
                         id,
                         name,
                         submissionTime,
                         duration,
                         cpuCoreCount,
                         cpuCapacity,
-                        totalLoad,
+                        builder.totalLoad,
                         memUsage.roundToLong(),
                         gpuCoreCount,
                         gpuCapacity,
                         gpuMemory,
+                        reader.getBoolean(deferrableCol),
+                        reader.getLong(deadlineCol),
+                        builder.usesGpu,
+                        if (parents.isNullOrEmpty()) null else parents.toIntArray(),
+                        // The children are shared by the tasks of every run, and must therefore never be modified
+                        if (children.isNullOrEmpty()) null else Collections.unmodifiableSet(LinkedHashSet(children)),
                         builder.build(),
-                        deferrable,
-                        deadline,
-                        parentsOutput,
-                        children,
                     ),
                 )
             }
 
             // Make sure the virtual machines are ordered by start time
-            entries.sortBy { it.submittedAt }
-
-            entries
-        } catch (e: Exception) {
-            e.printStackTrace()
-            throw e
+            table.build()
         } finally {
             reader.close()
         }
@@ -229,71 +242,235 @@ public class ComputeWorkloadLoader(
 
     /**
      * Load the trace at the specified [pathToFile].
+     *
+     * The parsed trace is shared with every other loader of the same trace in this process, so repeated runs over
+     * the same trace (e.g., for multiple seeds or scenarios) parse it only once. Each call returns fresh tasks and
+     * workloads, such that runs never observe each other's state.
      */
     override fun load(): List<ServiceTask> {
-        val trace = Trace.open(pathToFile, "workload")
-        val fragments = parseFragments(trace)
-        val vms = parseTasks(trace, fragments)
+        val key = TableKey.of(pathToFile).copy(window = window)
+        val coalescing = coalescing ?: return rawTable(key).toServiceTasks()
 
-        return vms
+        val table = coalescedTable(key, coalescing)
+        coalescingReport = table.report
+        return table.toServiceTasks()
     }
 
+    /**
+     * Return the table of the trace with the specified [key] from the process-wide cache, loading it on a miss.
+     */
+    private fun rawTable(key: TableKey): WorkloadTable =
+        sharedTable(key) { cacheDirectory?.let { loadCached(WorkloadCache(it)) } ?: parse() }
+
+    /**
+     * Return the table of the trace with the specified [key] after applying the [coalescing] stage from the
+     * process-wide cache, coalescing the raw table on a miss.
+     */
+    private fun coalescedTable(
+        key: TableKey,
+        coalescing: FragmentCoalescing,
+    ): CoalescedWorkloadTable =
+        sharedTable(key.copy(epsilon = coalescing.epsilon)) {
+            val table = coalescing.coalesce(rawTable(key))
+            val report = table.report
+            logger.info {
+                "Coalesced ${report.fragments} fragments of $pathToFile into ${report.coalescedFragments} " +
+                    "(compression ratio ${"%.2f".format(report.compressionRatio)}, " +
+                    "load deviation ${"%.3g".format(report.loadDeviation)} MFLOPs or " +
+                    "${"%.3g".format(report.relativeLoadDeviation * 100)}% of the total load)"
+            }
+            table
+        }
+
+    /**
+     * Return the table with the specified [key] from the process-wide cache, creating it with [create] on a miss.
+     */
+    private inline fun <T : WorkloadTable> sharedTable(
+        key: TableKey,
+        create: () -> T,
+    ): T {
+        @Suppress("UNCHECKED_CAST")
+        (tables[key]?.get() as T?)?.let { return it }
+
+        // Make sure concurrent runs over the same trace load it only once
+        val lock = locks.computeIfAbsent(key) { Any() }
+        try {
+            synchronized(lock) {
+                @Suppress("UNCHECKED_CAST")
+                (tables[key]?.get() as T?)?.let { return it }
+
+                val table = create()
+                // Drop tables of earlier versions of the trace
+                tables.keys.removeIf { it.file == key.file && it.stamp != key.stamp }
+                tables[key] = SoftReference(table)
+                return table
+            }
+        } finally {
+            // Runs that arrive later find the table, so the lock is only needed while the trace is loading
+            locks.remove(key, lock)
+        }
+    }
+
+    /**
+     * Parse the trace at [pathToFile].
+     */
+    private fun parse(): WorkloadTable {
+        // Partitioned traces are decoded on multiple threads, while preserving the order of the fragments
+        val trace = Trace.open(pathToFile.toPath(), WorkloadTraceFormat(parallelism = PARSE_PARALLELISM))
+        val window = window ?: return parseTasks(trace, parseFragments(trace, null), null)
+
+        // Find the tasks submitted in the window first, so that only their fragments are read
+        val tasks = TablePredicate.between(TASK_SUBMISSION_TIME, window.from, window.until)
+        val ids = parseIds(trace, tasks)
+        val fragments = parseFragments(trace, TablePredicate.isIn(TASK_ID, ids))
+        return parseTasks(trace, fragments, tasks)
+    }
+
+    /**
+     * Read the identifiers of the tasks that match [predicate].
+     */
+    private fun parseIds(
+        trace: Trace,
+        predicate: TablePredicate,
+    ): Set<Int> {
+        val reader = checkNotNull(trace.getTable(TABLE_TASKS)).newReader(listOf(TASK_ID), predicate)
+        val idCol = reader.resolve(TASK_ID)
+
+        return reader.use {
+            val ids = HashSet<Int>()
+            while (it.nextRow()) {
+                ids.add(it.getInt(idCol))
+            }
+            ids
+        }
+    }
+
+    /**
+     * Load the trace at [pathToFile] through the specified [cache], populating the cache on a miss.
+     */
+    private fun loadCached(cache: WorkloadCache): WorkloadTable {
+        var parsed: WorkloadTable? = null
+        return try {
+            // Images of different windows of the same trace are stored side by side
+            val window = window
+            val suffix = if (window != null) "-${window.from?.toEpochMilli() ?: ""}-${window.until?.toEpochMilli() ?: ""}" else ""
+            val key = cache.keyOf(pathToFile) + suffix
+            cache.open(key) ?: run {
+                logger.info { "Building workload cache for $pathToFile" }
+                val table = parse()
+                parsed = table
+                cache.write(key, table)
+                cache.open(key) ?: table
+            }
+        } catch (e: IOException) {
+            logger.warn(e) { "Failed to use workload cache in $cacheDirectory" }
+            parsed ?: parse()
+        }
+    }
+
+    /**
+     * Convert the tasks of a [WorkloadTable] into [ServiceTask]s, applying the options of this loader.
+     */
+    private fun WorkloadTable.toServiceTasks(): List<ServiceTask> =
+        List(size) { i ->
+            val id = id(i)
+            val submissionTime = submissionTime(i)
+            val duration = duration(i)
+
+            var deferrable = deferrable(i)
+            var deadline = deadline(i)
+            if (deferAll) {
+                deferrable = true
+                deadline = submissionTime + (3 * duration)
+            }
+
+            val resourceTypes = arrayOfNulls<ResourceType>(ResourceType.entries.size)
+            resourceTypes[ResourceType.CPU.ordinal] = ResourceType.CPU
+            if (usesGpu(i)) {
+                resourceTypes[ResourceType.GPU.ordinal] = ResourceType.GPU
+            }
+
+            ServiceTask(
+                id,
+                name(i),
+                submissionTime,
+                duration,
+                cpuCount(i),
+                cpuCapacity(i),
+                totalLoad(i),
+                memCapacity(i),
+                gpuCount(i),
+                gpuCapacity(i),
+                gpuMemCapacity(i),
+                TraceWorkload(
+                    fragments(i),
+                    checkpointInterval,
+                    checkpointDuration,
+                    checkpointIntervalScaling,
+                    scalingPolicy,
+                    id,
+                    resourceTypes,
+                ),
+                deferrable,
+                deadline,
+                parents(i),
+                children(i),
+            )
+        }
+
     /**
      * Clear the workload cache.
      */
     public fun reset() {
-        cache.clear()
+        val file = pathToFile.canonicalFile
+        tables.keys.removeIf { it.file == file }
     }
 
     /**
-     * A builder for a VM trace.
+     * The key of a parsed trace in the process-wide cache.
+     *
+     * @param file The canonical path to the trace.
+     * @param stamp A stamp derived from the size and modification time of the files of the trace.
+     * @param epsilon The epsilon with which the fragments of the trace are coalesced, or `null` for the raw trace.
+     * @param window The time window of the trace that is loaded, or `null` for the whole trace.
      */
-    private class Builder(
-        checkpointInterval: Long,
-        checkpointDuration: Long,
-        checkpointIntervalScaling: Double,
-        scalingPolicy: ScalingPolicy,
-        taskId: Int,
+    private data class TableKey(
+        val file: File,
+        val stamp: Long,
+        val epsilon: Double? = null,
+        val window: WorkloadWindow? = null,
     ) {
-        /**
-         * The total load of the trace.
-         */
-        @JvmField var totalLoad: Double = 0.0
+        companion object {
+            fun of(path: File): TableKey {
+                val file = path.canonicalFile
+                val files = if (file.isDirectory) file.walkTopDown().filter { it.isFile }.sorted().toList() else listOf(file)
+
+                var stamp = 17L
+                for (f in files) {
+                    stamp = 31 * stamp + f.path.hashCode()
+                    stamp = 31 * stamp + f.length()
+                    stamp = 31 * stamp + f.lastModified()
+                }
+                return TableKey(file, stamp)
+            }
+        }
+    }
 
+    private companion object {
         /**
-         * The internal builder for the trace.
+         * The parsed traces shared by all loaders in this process. The tables are softly referenced, such that they
+         * can be reclaimed under memory pressure once no run uses them.
          */
-        private val builder =
-            TraceWorkload.builder(
-                checkpointInterval,
-                checkpointDuration,
-                checkpointIntervalScaling,
-                scalingPolicy,
-                taskId,
-            )
+        private val tables = ConcurrentHashMap<TableKey, SoftReference<WorkloadTable>>()
 
         /**
-         * Add a fragment to the trace.
-         *
-         * @param duration The duration of the fragment (in epoch millis).
-         * @param cpuUsage CPU usage of this fragment.
-         * @param gpuUsage GPU usage of this fragment.
-         * @param gpuMemoryUsage GPU memory usage of this fragment.
+         * The locks that serialize the loading of each trace, held only while a trace is loading.
          */
-        fun add(
-            duration: Duration,
-            cpuUsage: Double,
-            gpuUsage: Double = 0.0,
-            gpuMemoryUsage: Int = 0,
-        ) {
-            totalLoad += ((cpuUsage * duration.toMillis()) + (gpuUsage * duration.toMillis())) / 1000 // avg MHz * duration = MFLOPs
-
-            builder.add(duration.toMillis(), cpuUsage, gpuUsage, gpuMemoryUsage)
-        }
+        private val locks = ConcurrentHashMap<TableKey, Any>()
 
         /**
-         * Build the trace.
+         * The number of threads on which the row groups of a trace are decoded.
          */
-        fun build(): TraceWorkload = builder.build()
+        private val PARSE_PARALLELISM = Runtime.getRuntime().availableProcessors().coerceIn(1, 8)
     }
 }
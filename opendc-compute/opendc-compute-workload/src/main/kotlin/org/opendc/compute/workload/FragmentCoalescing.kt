@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.compute.workload
+
+import org.opendc.compute.workload.cache.ArrayFragmentSource
+import org.opendc.compute.workload.cache.CoalescedWorkloadTable
+import org.opendc.compute.workload.cache.WorkloadTable
+import org.opendc.simulator.compute.workload.trace.TraceFragmentSource
+import kotlin.math.abs
+import kotlin.math.max
+import kotlin.math.min
+
+/**
+ * A loading stage that merges runs of adjacent fragments of a task with (near-)identical resource usage into a single
+ * fragment, such that the simulator has to process fewer fragment transitions.
+ *
+ * A fragment joins the current run as long as the CPU and GPU usage of all fragments in the run lie within [epsilon]
+ * (in MHz) of each other. The merged fragment lasts as long as the run and uses the duration-weighted mean usage of the
+ * run, so the total load of every task is preserved. With the default [epsilon] of zero, only fragments with exactly
+ * the same usage are merged and the demand of every task is unchanged.
+ *
+ * @param epsilon The maximum difference in usage (in MHz) between the fragments of a run.
+ */
+public class FragmentCoalescing(public val epsilon: Double = 0.0) {
+    init {
+        require(epsilon >= 0.0) { "The coalescing epsilon must be non-negative (currently epsilon=$epsilon)" }
+    }
+
+    /**
+     * Coalesce the fragments of all tasks in the specified [table].
+     */
+    internal fun coalesce(table: WorkloadTable): CoalescedWorkloadTable {
+        val stats = Stats()
+        val fragments = Array(table.size) { coalesce(table.fragments(it), stats) }
+        val report = FragmentCoalescingReport(stats.fragments, stats.coalescedFragments, stats.totalLoad, stats.loadDeviation)
+        return CoalescedWorkloadTable(table, fragments, report)
+    }
+
+    /**
+     * Coalesce the fragments of a single task.
+     */
+    private fun coalesce(
+        source: TraceFragmentSource,
+        stats: Stats,
+    ): ArrayFragmentSource {
+        val builder = ArrayFragmentSource.Builder()
+        val size = source.size()
+        var start = 0
+
+        while (start < size) {
+            var cpuMin = source.cpuUsage(start)
+            var cpuMax = cpuMin
+            var gpuMin = source.gpuUsage(start)
+            var gpuMax = gpuMin
+            var end = start + 1
+
+            while (end < size) {
+                val cpuUsage = source.cpuUsage(end)
+                val gpuUsage = source.gpuUsage(end)
+
+                val cpuSpread = max(cpuMax, cpuUsage) - min(cpuMin, cpuUsage)
+                val gpuSpread = max(gpuMax, gpuUsage) - min(gpuMin, gpuUsage)
+
+                // Written as a negation, such that fragments with unknown (NaN) usage are never merged
+                if (!(cpuSpread <= epsilon && gpuSpread <= epsilon)) {
+                    break
+                }
+
+                cpuMin = min(cpuMin, cpuUsage)
+                cpuMax = max(cpuMax, cpuUsage)
+                gpuMin = min(gpuMin, gpuUsage)
+                gpuMax = max(gpuMax, gpuUsage)
+                end++
+            }
+
+            emit(source, start, end, cpuMin == cpuMax, gpuMin == gpuMax, builder, stats)
+            start = end
+        }
+
+        stats.fragments += size
+        stats.coalescedFragments += builder.size
+        return builder.build()
+    }
+
+    /**
+     * Add a single fragment to [builder] for the run of fragments between [start] (inclusive) and [end] (exclusive).
+     */
+    private fun emit(
+        source: TraceFragmentSource,
+        start: Int,
+        end: Int,
+        cpuConstant: Boolean,
+        gpuConstant: Boolean,
+        builder: ArrayFragmentSource.Builder,
+        stats: Stats,
+    ) {
+        var duration = 0L
+        var cpuWork = 0.0
+        var gpuWork = 0.0
+        for (i in start until end) {
+            val fragmentDuration = source.duration(i)
+            duration += fragmentDuration
+            cpuWork += source.cpuUsage(i) * fragmentDuration
+            gpuWork += source.gpuUsage(i) * fragmentDuration
+        }
+
+        // Keep the usage of exact runs bit-for-bit, since the weighted mean may differ from it in the last bit
+        val cpuUsage = if (cpuConstant || duration == 0L) source.cpuUsage(start) else cpuWork / duration
+        val gpuUsage = if (gpuConstant || duration == 0L) source.gpuUsage(start) else gpuWork / duration
+
+        var deviation = 0.0
+        if (!cpuConstant || !gpuConstant) {
+            for (i in start until end) {
+                val fragmentDuration = source.duration(i)
+                deviation += (abs(source.cpuUsage(i) - cpuUsage) + abs(source.gpuUsage(i) - gpuUsage)) * fragmentDuration
+            }
+        }
+
+        builder.add(duration, cpuUsage, gpuUsage)
+        stats.totalLoad += (cpuWork + gpuWork) / 1000 // avg MHz * duration = MFLOPs
+        stats.loadDeviation += deviation / 1000
+    }
+
+    override fun toString(): String = "FragmentCoalescing[epsilon=$epsilon]"
+
+    /**
+     * The statistics collected while coalescing the tasks of a table.
+     */
+    private class Stats {
+        var fragments = 0L
+        var coalescedFragments = 0L
+        var totalLoad = 0.0
+        var loadDeviation = 0.0
+    }
+}
+
+/**
+ * A report of the effect of [FragmentCoalescing] on a workload.
+ *
+ * @property fragments The number of fragments in the workload before coalescing.
+ * @property coalescedFragments The number of fragments in the workload after coalescing.
+ * @property totalLoad The total load of the workload (in MFLOPs).
+ * @property loadDeviation The total absolute difference between the original and the coalesced demand of all tasks,
+ * integrated over time (in MFLOPs). This is zero for exact merges.
+ */
+public data class FragmentCoalescingReport(
+    public val fragments: Long,
+    public val coalescedFragments: Long,
+    public val totalLoad: Double,
+    public val loadDeviation: Double,
+) {
+    /**
+     * The factor by which the number of fragments was reduced.
+     */
+    public val compressionRatio: Double
+        get() = if (coalescedFragments == 0L) 1.0 else fragments.toDouble() / coalescedFragments
+
+    /**
+     * The [loadDeviation] relative to the [totalLoad] of the workload.
+     */
+    public val relativeLoadDeviation: Double
+        get() = if (totalLoad == 0.0) 0.0 else loadDeviation / totalLoad
+
+    /**
+     * Return an upper bound on the energy error (in J) introduced by coalescing for a power model whose power draw
+     * changes by at most [maxPowerSlope] W per MHz of demand.
+     *
+     * The bound assumes that the demand of the tasks is met; contention may shift work in time but does not change the
+     * work that is done.
+     */
+    public fun energyErrorBound(maxPowerSlope: Double): Double = maxPowerSlope * loadDeviation
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.compute.workload
+
+import java.time.Instant
+
+/**
+ * A time window of a workload trace, which restricts loading to the tasks submitted from [from] (inclusive) until
+ * [until] (exclusive). A `null` bound leaves that side of the window open.
+ *
+ * The window is pushed down into the trace reader, so the parts of the trace outside the window are skipped instead
+ * of being parsed and discarded. Dependencies on tasks outside the window are dropped.
+ *
+ * @param from The first instant of the window or `null` to start at the beginning of the trace.
+ * @param until The instant at which the window ends or `null` to continue until the end of the trace.
+ */
+public data class WorkloadWindow(
+    public val from: Instant? = null,
+    public val until: Instant? = null,
+) {
+    init {
+        require(from == null || until == null || from < until) {
+            "The start of the window must lie before its end (currently from=$from, until=$until)"
+        }
+    }
+}
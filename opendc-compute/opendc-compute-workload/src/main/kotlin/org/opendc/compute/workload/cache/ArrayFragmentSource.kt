@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.compute.workload.cache
+
+import org.opendc.simulator.compute.workload.trace.TraceFragmentSource
+
+/**
+ * A [TraceFragmentSource] that keeps the fragments of a single task in primitive arrays on the heap.
+ */
+internal class ArrayFragmentSource private constructor(
+    private val durations: LongArray,
+    private val cpuUsages: DoubleArray,
+    private val gpuUsages: DoubleArray,
+) : TraceFragmentSource {
+    override fun size(): Int = durations.size
+
+    override fun duration(index: Int): Long = durations[index]
+
+    override fun cpuUsage(index: Int): Double = cpuUsages[index]
+
+    override fun gpuUsage(index: Int): Double = gpuUsages[index]
+
+    /**
+     * A builder for an [ArrayFragmentSource].
+     */
+    class Builder {
+        /**
+         * The total load of the fragments added so far (in MFLOPs).
+         */
+        var totalLoad: Double = 0.0
+            private set
+
+        /**
+         * A flag to indicate that one of the fragments added so far uses the GPU.
+         */
+        var usesGpu: Boolean = false
+            private set
+
+        private var durations = LongArray(16)
+        private var cpuUsages = DoubleArray(16)
+        private var gpuUsages = DoubleArray(16)
+
+        /**
+         * The number of fragments added so far.
+         */
+        var size: Int = 0
+            private set
+
+        /**
+         * Add a fragment to the source.
+         *
+         * @param duration The duration of the fragment (in ms).
+         * @param cpuUsage CPU usage of this fragment.
+         * @param gpuUsage GPU usage of this fragment.
+         */
+        fun add(
+            duration: Long,
+            cpuUsage: Double,
+            gpuUsage: Double,
+        ) {
+            if (size == durations.size) {
+                val capacity = size * 2
+                durations = durations.copyOf(capacity)
+                cpuUsages = cpuUsages.copyOf(capacity)
+                gpuUsages = gpuUsages.copyOf(capacity)
+            }
+
+            durations[size] = duration
+            cpuUsages[size] = cpuUsage
+            gpuUsages[size] = gpuUsage
+            size++
+
+            totalLoad += ((cpuUsage * duration) + (gpuUsage * duration)) / 1000 // avg MHz * duration = MFLOPs
+            usesGpu = usesGpu || gpuUsage > 0.0
+        }
+
+        /**
+         * Build the source.
+         */
+        fun build(): ArrayFragmentSource = ArrayFragmentSource(durations.copyOf(size), cpuUsages.copyOf(size), gpuUsages.copyOf(size))
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.compute.workload.cache
+
+/**
+ * A [WorkloadTable] that keeps the tasks of a parsed trace on the heap, ordered by submission time.
+ */
+internal class HeapWorkloadTable private constructor(private val rows: List<Row>) : WorkloadTable {
+    override val size: Int
+        get() = rows.size
+
+    override fun id(task: Int): Int = rows[task].id
+
+    override fun submissionTime(task: Int): Long = rows[task].submissionTime
+
+    override fun duration(task: Int): Long = rows[task].duration
+
+    override fun cpuCount(task: Int): Int = rows[task].cpuCount
+
+    override fun cpuCapacity(task: Int): Double = rows[task].cpuCapacity
+
+    override fun totalLoad(task: Int): Double = rows[task].totalLoad
+
+    override fun memCapacity(task: Int): Long = rows[task].memCapacity
+
+    override fun gpuCount(task: Int): Int = rows[task].gpuCount
+
+    override fun gpuCapacity(task: Int): Double = rows[task].gpuCapacity
+
+    override fun gpuMemCapacity(task: Int): Long = rows[task].gpuMemCapacity
+
+    override fun deadline(task: Int): Long = rows[task].deadline
+
+    override fun deferrable(task: Int): Boolean = rows[task].deferrable
+
+    override fun usesGpu(task: Int): Boolean = rows[task].usesGpu
+
+    override fun name(task: Int): String? = rows[task].name
+
+    override fun parents(task: Int): ArrayList<Int>? = rows[task].parents?.let { it.toCollection(ArrayList(it.size)) }
+
+    override fun children(task: Int): Set<Int>? = rows[task].children
+
+    override fun fragments(task: Int): ArrayFragmentSource = rows[task].fragments
+
+    /**
+     * A single task of the table.
+     */
+    class Row(
+        val id: Int,
+        val name: String?,
+        val submissionTime: Long,
+        val duration: Long,
+        val cpuCount: Int,
+        val cpuCapacity: Double,
+        val totalLoad: Double,
+        val memCapacity: Long,
+        val gpuCount: Int,
+        val gpuCapacity: Double,
+        val gpuMemCapacity: Long,
+        val deferrable: Boolean,
+        val deadline: Long,
+        val usesGpu: Boolean,
+        val parents: IntArray?,
+        val children: Set<Int>?,
+        val fragments: ArrayFragmentSource,
+    )
+
+    /**
+     * A builder for a [HeapWorkloadTable].
+     */
+    class Builder {
+        private val rows = ArrayList<Row>()
+
+        /**
+         * Add the specified [row] to the table.
+         */
+        fun add(row: Row) {
+            rows.add(row)
+        }
+
+        /**
+         * Build the table, ordering the tasks by their submission time.
+         */
+        fun build(): HeapWorkloadTable {
+            rows.sortBy { it.submissionTime }
+            return HeapWorkloadTable(rows.toList())
+        }
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.compute.workload.cache
+
+import java.nio.ByteBuffer
+import java.nio.ByteOrder
+import java.nio.channels.FileChannel
+
+/**
+ * A column of fixed-width values in a memory-mapped file.
+ *
+ * A [java.nio.MappedByteBuffer] is limited to 2 GiB, so the column is mapped in segments of [SEGMENT_SIZE] bytes.
+ * Since the width of a value divides the segment size, a value never straddles two segments.
+ *
+ * @param segments The mapped segments of the column.
+ * @param width The width of a single value in bytes.
+ */
+internal class MappedColumn private constructor(
+    private val segments: Array<ByteBuffer>,
+    private val width: Int,
+) {
+    fun getByte(index: Long): Byte {
+        val pos = index * width
+        return segments[(pos ushr SEGMENT_SHIFT).toInt()].get((pos and SEGMENT_MASK).toInt())
+    }
+
+    fun getInt(index: Long): Int {
+        val pos = index * width
+        return segments[(pos ushr SEGMENT_SHIFT).toInt()].getInt((pos and SEGMENT_MASK).toInt())
+    }
+
+    fun getLong(index: Long): Long {
+        val pos = index * width
+        return segments[(pos ushr SEGMENT_SHIFT).toInt()].getLong((pos and SEGMENT_MASK).toInt())
+    }
+
+    fun getDouble(index: Long): Double {
+        val pos = index * width
+        return segments[(pos ushr SEGMENT_SHIFT).toInt()].getDouble((pos and SEGMENT_MASK).toInt())
+    }
+
+    companion object {
+        private const val SEGMENT_SHIFT = 30
+        private const val SEGMENT_SIZE = 1L shl SEGMENT_SHIFT
+        private const val SEGMENT_MASK = SEGMENT_SIZE - 1
+
+        /**
+         * Map [count] values of [width] bytes starting at [offset] in the file of [channel].
+         */
+        fun map(
+            channel: FileChannel,
+            offset: Long,
+            count: Long,
+            width: Int,
+        ): MappedColumn {
+            val size = count * width
+            val segmentCount = ((size + SEGMENT_SIZE - 1) ushr SEGMENT_SHIFT).toInt()
+            val segments =
+                Array<ByteBuffer>(segmentCount) { i ->
+                    val start = i * SEGMENT_SIZE
+                    channel.map(FileChannel.MapMode.READ_ONLY, offset + start, minOf(SEGMENT_SIZE, size - start))
+                        .order(ByteOrder.LITTLE_ENDIAN)
+                }
+            return MappedColumn(segments, width)
+        }
+    }
+}
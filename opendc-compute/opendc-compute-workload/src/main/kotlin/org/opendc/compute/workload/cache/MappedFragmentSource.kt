@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.compute.workload.cache
+
+import org.opendc.simulator.compute.workload.trace.TraceFragmentSource
+
+/**
+ * A [TraceFragmentSource] that reads the fragments of a single task from the mapped columns of a [WorkloadImage].
+ *
+ * @param start The index of the first fragment of the task in the fragment columns.
+ * @param count The number of fragments of the task.
+ */
+internal class MappedFragmentSource(
+    private val durations: MappedColumn,
+    private val cpuUsages: MappedColumn,
+    private val gpuUsages: MappedColumn,
+    private val start: Long,
+    private val count: Int,
+) : TraceFragmentSource {
+    override fun size(): Int = count
+
+    override fun duration(index: Int): Long = durations.getLong(start + checkIndex(index))
+
+    override fun cpuUsage(index: Int): Double = cpuUsages.getDouble(start + checkIndex(index))
+
+    override fun gpuUsage(index: Int): Double = gpuUsages.getDouble(start + checkIndex(index))
+
+    private fun checkIndex(index: Int): Int {
+        if (index < 0 || index >= count) {
+            throw IndexOutOfBoundsException("Index $index out of bounds for length $count")
+        }
+        return index
+    }
+}
@@ -0,0 +1,282 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.compute.workload.cache
+
+import mu.KotlinLogging
+import org.opendc.simulator.compute.workload.trace.TraceFragmentSource
+import java.io.File
+import java.io.IOException
+import java.nio.ByteBuffer
+import java.nio.ByteOrder
+import java.nio.channels.FileChannel
+import java.nio.file.AtomicMoveNotSupportedException
+import java.nio.file.Files
+import java.nio.file.Path
+import java.nio.file.StandardCopyOption
+import java.nio.file.StandardOpenOption
+import java.security.MessageDigest
+import java.util.HexFormat
+
+/**
+ * A persistent on-disk cache of parsed compute workload traces.
+ *
+ * Each trace is stored as a [WorkloadImage] in [directory], in a file named after the SHA-256 hash of the content of
+ * the trace. Consequently, a modified trace never hits a stale image, while copies of the same trace share one.
+ *
+ * @param directory The directory in which the images are stored.
+ */
+internal class WorkloadCache(private val directory: File) {
+    /**
+     * The logger for this instance.
+     */
+    private val logger = KotlinLogging.logger {}
+
+    /**
+     * Compute the cache key of the trace at [path], which is either a single file or a directory of files.
+     */
+    fun keyOf(path: File): String {
+        val root = path.toPath()
+        val files =
+            if (Files.isDirectory(root)) {
+                Files.walk(root).use { stream -> stream.filter { Files.isRegularFile(it) }.sorted().toList() }
+            } else {
+                listOf(root)
+            }
+
+        val digest = MessageDigest.getInstance("SHA-256")
+        val buffer = ByteBuffer.allocateDirect(1 shl 16)
+        for (file in files) {
+            digest.update(root.relativize(file).toString().toByteArray(Charsets.UTF_8))
+            FileChannel.open(file, StandardOpenOption.READ).use { channel ->
+                while (channel.read(buffer) >= 0) {
+                    buffer.flip()
+                    digest.update(buffer)
+                    buffer.clear()
+                }
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest())
+    }
+
+    /**
+     * Open the image stored under [key], or return `null` if the cache does not contain a valid image.
+     */
+    fun open(key: String): WorkloadImage? {
+        val file = fileOf(key)
+        if (!file.isFile) {
+            return null
+        }
+
+        return try {
+            WorkloadImage.open(file) ?: run {
+                logger.warn { "Ignoring incompatible workload cache $file" }
+                null
+            }
+        } catch (e: IOException) {
+            logger.warn(e) { "Failed to open workload cache $file" }
+            null
+        }
+    }
+
+    /**
+     * Store the specified [table] under [key].
+     */
+    fun write(
+        key: String,
+        table: WorkloadTable,
+    ) {
+        val n = table.size
+        val fragments = Array(n) { table.fragments(it) }
+        val names = Array(n) { table.name(it)?.toByteArray(Charsets.UTF_8) }
+        val parents = Array(n) { table.parents(it) }
+        val children = Array(n) { table.children(it) }
+
+        var fragmentCount = 0L
+        var nameBytes = 0L
+        var edgeCount = 0L
+        for (i in 0 until n) {
+            fragmentCount += fragments[i].size()
+            nameBytes += names[i]?.size ?: 0
+            edgeCount += (parents[i]?.size ?: 0) + (children[i]?.size ?: 0)
+        }
+
+        val layout = WorkloadLayout(n, fragmentCount, nameBytes, edgeCount)
+        val dir = directory.toPath()
+        Files.createDirectories(dir)
+
+        val tmp = Files.createTempFile(dir, "workload-", ".tmp")
+        try {
+            FileChannel.open(tmp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING).use { channel ->
+                ColumnWriter(channel).use { out ->
+                    out.putInt(WorkloadImage.MAGIC)
+                    out.putInt(WorkloadImage.VERSION)
+                    out.putInt(n)
+                    out.putInt(0)
+                    out.putLong(fragmentCount)
+                    out.putLong(nameBytes)
+                    out.putLong(edgeCount)
+                    out.putLong(layout.size)
+
+                    for (column in ImageColumn.entries) {
+                        writeColumn(out, column, table, fragments, names, parents, children)
+                    }
+                }
+            }
+
+            move(tmp, fileOf(key).toPath())
+        } finally {
+            Files.deleteIfExists(tmp)
+        }
+    }
+
+    /**
+     * Write the values of [column] for all tasks of [table].
+     */
+    private fun writeColumn(
+        out: ColumnWriter,
+        column: ImageColumn,
+        table: WorkloadTable,
+        fragments: Array<TraceFragmentSource>,
+        names: Array<ByteArray?>,
+        parents: Array<ArrayList<Int>?>,
+        children: Array<Set<Int>?>,
+    ) {
+        val n = table.size
+        var offset = 0L
+        when (column) {
+            ImageColumn.ID -> for (i in 0 until n) out.putInt(table.id(i))
+            ImageColumn.SUBMISSION_TIME -> for (i in 0 until n) out.putLong(table.submissionTime(i))
+            ImageColumn.DURATION -> for (i in 0 until n) out.putLong(table.duration(i))
+            ImageColumn.CPU_COUNT -> for (i in 0 until n) out.putInt(table.cpuCount(i))
+            ImageColumn.CPU_CAPACITY -> for (i in 0 until n) out.putDouble(table.cpuCapacity(i))
+            ImageColumn.TOTAL_LOAD -> for (i in 0 until n) out.putDouble(table.totalLoad(i))
+            ImageColumn.MEM_CAPACITY -> for (i in 0 until n) out.putLong(table.memCapacity(i))
+            ImageColumn.GPU_COUNT -> for (i in 0 until n) out.putInt(table.gpuCount(i))
+            ImageColumn.GPU_CAPACITY -> for (i in 0 until n) out.putDouble(table.gpuCapacity(i))
+            ImageColumn.GPU_MEM_CAPACITY -> for (i in 0 until n) out.putLong(table.gpuMemCapacity(i))
+            ImageColumn.DEADLINE -> for (i in 0 until n) out.putLong(table.deadline(i))
+            ImageColumn.FLAGS ->
+                for (i in 0 until n) {
+                    var flags = 0
+                    if (table.deferrable(i)) flags = flags or WorkloadImage.FLAG_DEFERRABLE
+                    if (table.usesGpu(i)) flags = flags or WorkloadImage.FLAG_GPU
+                    out.putByte(flags.toByte())
+                }
+            ImageColumn.FRAGMENT_START ->
+                fragments.forEach {
+                    out.putLong(offset)
+                    offset += it.size()
+                }
+            ImageColumn.FRAGMENT_COUNT -> fragments.forEach { out.putInt(it.size()) }
+            ImageColumn.NAME_START ->
+                names.forEach {
+                    out.putLong(offset)
+                    offset += it?.size ?: 0
+                }
+            ImageColumn.NAME_LENGTH -> names.forEach { out.putInt(it?.size ?: -1) }
+            ImageColumn.EDGE_START ->
+                for (i in 0 until n) {
+                    out.putLong(offset)
+                    offset += (parents[i]?.size ?: 0) + (children[i]?.size ?: 0)
+                }
+            ImageColumn.PARENT_COUNT -> parents.forEach { out.putInt(it?.size ?: 0) }
+            ImageColumn.CHILD_COUNT -> children.forEach { out.putInt(it?.size ?: 0) }
+            ImageColumn.FRAGMENT_DURATION ->
+                fragments.forEach { source ->
+                    for (j in 0 until source.size()) out.putLong(source.duration(j))
+                }
+            ImageColumn.FRAGMENT_CPU_USAGE ->
+                fragments.forEach { source ->
+                    for (j in 0 until source.size()) out.putDouble(source.cpuUsage(j))
+                }
+            ImageColumn.FRAGMENT_GPU_USAGE ->
+                fragments.forEach { source ->
+                    for (j in 0 until source.size()) out.putDouble(source.gpuUsage(j))
+                }
+            ImageColumn.NAMES -> names.forEach { bytes -> bytes?.forEach { out.putByte(it) } }
+            ImageColumn.EDGES ->
+                for (i in 0 until n) {
+                    parents[i]?.forEach { out.putInt(it) }
+                    children[i]?.forEach { out.putInt(it) }
+                }
+        }
+    }
+
+    /**
+     * Move the completed image into place, such that concurrent readers never observe a partial image.
+     */
+    private fun move(
+        source: Path,
+        target: Path,
+    ) {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING)
+        } catch (e: AtomicMoveNotSupportedException) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING)
+        }
+    }
+
+    private fun fileOf(key: String): File = File(directory, "workload-$key.bin")
+
+    /**
+     * A buffered little-endian writer of column values.
+     */
+    private class ColumnWriter(private val channel: FileChannel) : AutoCloseable {
+        private val buffer = ByteBuffer.allocateDirect(1 shl 20).order(ByteOrder.LITTLE_ENDIAN)
+
+        fun putByte(value: Byte) {
+            ensure(1).put(value)
+        }
+
+        fun putInt(value: Int) {
+            ensure(4).putInt(value)
+        }
+
+        fun putLong(value: Long) {
+            ensure(8).putLong(value)
+        }
+
+        fun putDouble(value: Double) {
+            ensure(8).putDouble(value)
+        }
+
+        private fun ensure(bytes: Int): ByteBuffer {
+            if (buffer.remaining() < bytes) {
+                flush()
+            }
+            return buffer
+        }
+
+        private fun flush() {
+            buffer.flip()
+            while (buffer.hasRemaining()) {
+                channel.write(buffer)
+            }
+            buffer.clear()
+        }
+
+        override fun close() {
+            flush()
+        }
+    }
+}
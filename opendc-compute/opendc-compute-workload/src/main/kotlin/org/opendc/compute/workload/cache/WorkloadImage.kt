@@ -0,0 +1,253 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.compute.workload.cache
+
+import java.io.File
+import java.nio.ByteBuffer
+import java.nio.ByteOrder
+import java.nio.channels.FileChannel
+import java.nio.file.StandardOpenOption
+
+/**
+ * A memory-mapped, columnar [WorkloadTable] of a compute workload trace as written by [WorkloadCache].
+ *
+ * The image starts with a header of [HEADER_SIZE] bytes, followed by the [ImageColumn]s in declaration order.
+ * All values are stored little-endian.
+ */
+internal class WorkloadImage private constructor(
+    private val layout: WorkloadLayout,
+    private val columns: Array<MappedColumn>,
+) : WorkloadTable {
+    /**
+     * The number of tasks in the image.
+     */
+    override val size: Int
+        get() = layout.taskCount
+
+    override fun id(task: Int): Int = column(ImageColumn.ID).getInt(task.toLong())
+
+    override fun submissionTime(task: Int): Long = column(ImageColumn.SUBMISSION_TIME).getLong(task.toLong())
+
+    override fun duration(task: Int): Long = column(ImageColumn.DURATION).getLong(task.toLong())
+
+    override fun cpuCount(task: Int): Int = column(ImageColumn.CPU_COUNT).getInt(task.toLong())
+
+    override fun cpuCapacity(task: Int): Double = column(ImageColumn.CPU_CAPACITY).getDouble(task.toLong())
+
+    override fun totalLoad(task: Int): Double = column(ImageColumn.TOTAL_LOAD).getDouble(task.toLong())
+
+    override fun memCapacity(task: Int): Long = column(ImageColumn.MEM_CAPACITY).getLong(task.toLong())
+
+    override fun gpuCount(task: Int): Int = column(ImageColumn.GPU_COUNT).getInt(task.toLong())
+
+    override fun gpuCapacity(task: Int): Double = column(ImageColumn.GPU_CAPACITY).getDouble(task.toLong())
+
+    override fun gpuMemCapacity(task: Int): Long = column(ImageColumn.GPU_MEM_CAPACITY).getLong(task.toLong())
+
+    override fun deadline(task: Int): Long = column(ImageColumn.DEADLINE).getLong(task.toLong())
+
+    override fun deferrable(task: Int): Boolean = (flags(task) and FLAG_DEFERRABLE) != 0
+
+    override fun usesGpu(task: Int): Boolean = (flags(task) and FLAG_GPU) != 0
+
+    override fun name(task: Int): String? {
+        val length = column(ImageColumn.NAME_LENGTH).getInt(task.toLong())
+        if (length < 0) {
+            return null
+        }
+
+        val heap = column(ImageColumn.NAMES)
+        val start = column(ImageColumn.NAME_START).getLong(task.toLong())
+        return String(ByteArray(length) { heap.getByte(start + it) }, Charsets.UTF_8)
+    }
+
+    override fun parents(task: Int): ArrayList<Int>? {
+        val count = column(ImageColumn.PARENT_COUNT).getInt(task.toLong())
+        if (count == 0) {
+            return null
+        }
+
+        val edges = column(ImageColumn.EDGES)
+        val start = column(ImageColumn.EDGE_START).getLong(task.toLong())
+        val parents = ArrayList<Int>(count)
+        for (i in 0 until count) {
+            parents.add(edges.getInt(start + i))
+        }
+        return parents
+    }
+
+    override fun children(task: Int): Set<Int>? {
+        val count = column(ImageColumn.CHILD_COUNT).getInt(task.toLong())
+        if (count == 0) {
+            return null
+        }
+
+        val edges = column(ImageColumn.EDGES)
+        val start = column(ImageColumn.EDGE_START).getLong(task.toLong()) + column(ImageColumn.PARENT_COUNT).getInt(task.toLong())
+        val children = LinkedHashSet<Int>(count * 2)
+        for (i in 0 until count) {
+            children.add(edges.getInt(start + i))
+        }
+        return children
+    }
+
+    /**
+     * Return a [MappedFragmentSource] over the fragments of the specified task.
+     */
+    override fun fragments(task: Int): MappedFragmentSource =
+        MappedFragmentSource(
+            column(ImageColumn.FRAGMENT_DURATION),
+            column(ImageColumn.FRAGMENT_CPU_USAGE),
+            column(ImageColumn.FRAGMENT_GPU_USAGE),
+            column(ImageColumn.FRAGMENT_START).getLong(task.toLong()),
+            column(ImageColumn.FRAGMENT_COUNT).getInt(task.toLong()),
+        )
+
+    private fun flags(task: Int): Int = column(ImageColumn.FLAGS).getByte(task.toLong()).toInt()
+
+    private fun column(column: ImageColumn): MappedColumn = columns[column.ordinal]
+
+    companion object {
+        const val MAGIC = 0x4F44_4357 // "ODCW"
+        const val VERSION = 1
+        const val HEADER_SIZE = 48L
+
+        const val FLAG_DEFERRABLE = 1
+        const val FLAG_GPU = 2
+
+        /**
+         * Map the image stored in [file], or return `null` if the file is not a valid image of the current version.
+         */
+        fun open(file: File): WorkloadImage? {
+            FileChannel.open(file.toPath(), StandardOpenOption.READ).use { channel ->
+                val fileSize = channel.size()
+                if (fileSize < HEADER_SIZE) {
+                    return null
+                }
+
+                val header = ByteBuffer.allocate(HEADER_SIZE.toInt()).order(ByteOrder.LITTLE_ENDIAN)
+                if (channel.read(header, 0L) < HEADER_SIZE || header.getInt(0) != MAGIC || header.getInt(4) != VERSION) {
+                    return null
+                }
+
+                val taskCount = header.getInt(8)
+                val fragmentCount = header.getLong(16)
+                val nameBytes = header.getLong(24)
+                val edgeCount = header.getLong(32)
+                if (taskCount < 0 || fragmentCount < 0 || nameBytes < 0 || edgeCount < 0) {
+                    return null
+                }
+
+                val layout = WorkloadLayout(taskCount, fragmentCount, nameBytes, edgeCount)
+                if (header.getLong(40) != fileSize || layout.size != fileSize) {
+                    return null
+                }
+
+                val columns =
+                    Array(ImageColumn.entries.size) { i ->
+                        val column = ImageColumn.entries[i]
+                        MappedColumn.map(channel, layout.offsetOf(column), layout.countOf(column), column.width)
+                    }
+                return WorkloadImage(layout, columns)
+            }
+        }
+    }
+}
+
+/**
+ * The section of a [WorkloadImage] a column belongs to, which determines its number of values.
+ */
+internal enum class ImageSection {
+    TASKS,
+    FRAGMENTS,
+    NAMES,
+    EDGES,
+}
+
+/**
+ * The columns of a [WorkloadImage] in the order in which they are stored.
+ *
+ * @property width The width of a value in bytes.
+ */
+internal enum class ImageColumn(val width: Int, val section: ImageSection) {
+    ID(4, ImageSection.TASKS),
+    SUBMISSION_TIME(8, ImageSection.TASKS),
+    DURATION(8, ImageSection.TASKS),
+    CPU_COUNT(4, ImageSection.TASKS),
+    CPU_CAPACITY(8, ImageSection.TASKS),
+    TOTAL_LOAD(8, ImageSection.TASKS),
+    MEM_CAPACITY(8, ImageSection.TASKS),
+    GPU_COUNT(4, ImageSection.TASKS),
+    GPU_CAPACITY(8, ImageSection.TASKS),
+    GPU_MEM_CAPACITY(8, ImageSection.TASKS),
+    DEADLINE(8, ImageSection.TASKS),
+    FLAGS(1, ImageSection.TASKS),
+    FRAGMENT_START(8, ImageSection.TASKS),
+    FRAGMENT_COUNT(4, ImageSection.TASKS),
+    NAME_START(8, ImageSection.TASKS),
+    NAME_LENGTH(4, ImageSection.TASKS),
+    EDGE_START(8, ImageSection.TASKS),
+    PARENT_COUNT(4, ImageSection.TASKS),
+    CHILD_COUNT(4, ImageSection.TASKS),
+    FRAGMENT_DURATION(8, ImageSection.FRAGMENTS),
+    FRAGMENT_CPU_USAGE(8, ImageSection.FRAGMENTS),
+    FRAGMENT_GPU_USAGE(8, ImageSection.FRAGMENTS),
+    NAMES(1, ImageSection.NAMES),
+    EDGES(4, ImageSection.EDGES),
+}
+
+/**
+ * The offsets of the columns of a [WorkloadImage] with the specified section sizes.
+ */
+internal class WorkloadLayout(
+    val taskCount: Int,
+    val fragmentCount: Long,
+    val nameBytes: Long,
+    val edgeCount: Long,
+) {
+    private val offsets = LongArray(ImageColumn.entries.size)
+
+    /**
+     * The total size of the image in bytes.
+     */
+    val size: Long
+
+    init {
+        var position = WorkloadImage.HEADER_SIZE
+        for (column in ImageColumn.entries) {
+            offsets[column.ordinal] = position
+            position += countOf(column) * column.width
+        }
+        size = position
+    }
+
+    fun offsetOf(column: ImageColumn): Long = offsets[column.ordinal]
+
+    fun countOf(column: ImageColumn): Long =
+        when (column.section) {
+            ImageSection.TASKS -> taskCount.toLong()
+            ImageSection.FRAGMENTS -> fragmentCount
+            ImageSection.NAMES -> nameBytes
+            ImageSection.EDGES -> edgeCount
+        }
+}
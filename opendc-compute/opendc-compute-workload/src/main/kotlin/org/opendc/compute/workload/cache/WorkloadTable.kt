@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.compute.workload.cache
+
+import org.opendc.simulator.compute.workload.trace.TraceFragmentSource
+
+/**
+ * An immutable, column-oriented view of the tasks of a parsed compute workload trace.
+ *
+ * A table holds the trace as-is, independent of loader options such as checkpointing or deferral, so that a single
+ * table can back the tasks of many simulation runs. Accessors that return mutable collections return a fresh copy on
+ * every call.
+ */
+internal interface WorkloadTable {
+    /**
+     * The number of tasks in the table.
+     */
+    val size: Int
+
+    fun id(task: Int): Int
+
+    fun submissionTime(task: Int): Long
+
+    fun duration(task: Int): Long
+
+    fun cpuCount(task: Int): Int
+
+    fun cpuCapacity(task: Int): Double
+
+    fun totalLoad(task: Int): Double
+
+    fun memCapacity(task: Int): Long
+
+    fun gpuCount(task: Int): Int
+
+    fun gpuCapacity(task: Int): Double
+
+    fun gpuMemCapacity(task: Int): Long
+
+    fun deadline(task: Int): Long
+
+    fun deferrable(task: Int): Boolean
+
+    fun usesGpu(task: Int): Boolean
+
+    fun name(task: Int): String?
+
+    fun parents(task: Int): ArrayList<Int>?
+
+    fun children(task: Int): Set<Int>?
+
+    /**
+     * Return a read-only [TraceFragmentSource] over the fragments of the specified task.
+     */
+    fun fragments(task: Int): TraceFragmentSource
+}
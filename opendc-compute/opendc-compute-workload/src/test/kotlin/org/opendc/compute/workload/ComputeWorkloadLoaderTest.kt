@@ -0,0 +1,266 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.compute.workload
+
+import org.apache.parquet.example.data.Group
+import org.apache.parquet.example.data.simple.SimpleGroupFactory
+import org.apache.parquet.hadoop.ParquetFileWriter
+import org.apache.parquet.hadoop.example.ExampleParquetWriter
+import org.apache.parquet.schema.MessageType
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertAll
+import org.opendc.compute.simulator.service.ServiceTask
+import org.opendc.simulator.compute.workload.trace.TraceWorkload
+import org.opendc.trace.formats.workload.parquet.FRAGMENT_SCHEMA
+import org.opendc.trace.formats.workload.parquet.TASK_SCHEMA
+import org.opendc.trace.util.parquet.LocalOutputFile
+import java.io.File
+import java.nio.file.Files
+import java.nio.file.Path
+import java.time.Instant
+
+/**
+ * Test suite for the [ComputeWorkloadLoader] class.
+ */
+internal class ComputeWorkloadLoaderTest {
+    private lateinit var path: Path
+    private lateinit var trace: File
+    private lateinit var cache: File
+
+    @BeforeEach
+    fun setUp() {
+        path = Files.createTempDirectory("opendc-workload")
+        trace = path.resolve("trace").toFile()
+        cache = path.resolve("cache").toFile()
+        writeTrace(TASKS, "task")
+    }
+
+    @AfterEach
+    fun tearDown() {
+        ComputeWorkloadLoader(trace).reset()
+        path.toFile().deleteRecursively()
+    }
+
+    /**
+     * Test that a trace written to the cache and mapped back in equals the parsed trace.
+     */
+    @Test
+    fun testImageRoundTrip() {
+        val parsed = load(null)
+        val built = load(cache)
+        val mapped = load(cache)
+
+        assertEquals(1, cache.listFiles()!!.size)
+        assertTasksEqual(parsed, built)
+        assertTasksEqual(parsed, mapped)
+    }
+
+    /**
+     * Test that a trace is reloaded when its size changes, even if its modification time does not.
+     */
+    @Test
+    fun testInvalidateOnSize() {
+        val before = load(cache)
+        val lastModified = trace.resolve("tasks.parquet").lastModified()
+
+        writeTrace(TASKS + 1, "task")
+        trace.walkTopDown().filter { it.isFile }.forEach { it.setLastModified(lastModified) }
+
+        val after = load(cache, reset = false)
+        assertAll(
+            { assertEquals(TASKS, before.size) },
+            { assertEquals(TASKS + 1, after.size) },
+            { assertEquals(2, cache.listFiles()!!.size) },
+        )
+        assertTasksEqual(after, load(null))
+    }
+
+    /**
+     * Test that a trace is reloaded when its modification time changes, even if its size does not.
+     */
+    @Test
+    fun testInvalidateOnModificationTime() {
+        val before = load(cache)
+        val file = trace.resolve("tasks.parquet")
+        val length = file.length()
+        val lastModified = file.lastModified()
+
+        writeTrace(TASKS, "work")
+        file.setLastModified(lastModified + 60_000)
+
+        val after = load(cache, reset = false)
+        assertAll(
+            { assertEquals(length, file.length()) },
+            { assertEquals("task-0", before[0].name) },
+            { assertEquals("work-0", after[0].name) },
+            { assertEquals(2, cache.listFiles()!!.size) },
+        )
+        assertTasksEqual(after, load(null))
+    }
+
+    /**
+     * Test that dependencies on tasks outside the window are dropped, such that no task in the window waits for a
+     * task that is never submitted.
+     */
+    @Test
+    fun testWindowDropsOutsideDependencies() {
+        val window = WorkloadWindow(Instant.ofEpochMilli(3 * 60_000L), Instant.ofEpochMilli(6 * 60_000L))
+        val tasks = ComputeWorkloadLoader(trace, window = window).load()
+
+        assertAll(
+            { assertEquals(listOf(3, 4, 5), tasks.map { it.id }) },
+            { assertTrue(tasks[0].parents.isNullOrEmpty()) },
+            { assertEquals(listOf(3), tasks[1].parents) },
+            { assertEquals(setOf(4), tasks[0].children) },
+            { assertEquals(setOf(5), tasks[1].children) },
+            { assertTrue(tasks[2].children.isNullOrEmpty()) },
+        )
+
+        val cached = ComputeWorkloadLoader(trace, cacheDirectory = cache, window = window)
+        cached.reset()
+        assertTasksEqual(tasks, cached.load())
+    }
+
+    /**
+     * Load the trace through a fresh loader with the specified [cacheDirectory], optionally evicting the trace from
+     * the in-memory cache first such that the trace is read from disk.
+     */
+    private fun load(
+        cacheDirectory: File?,
+        reset: Boolean = true,
+    ): List<ServiceTask> {
+        val loader = ComputeWorkloadLoader(trace, cacheDirectory = cacheDirectory)
+        if (reset) {
+            loader.reset()
+        }
+        return loader.load()
+    }
+
+    /**
+     * Assert that the [expected] and [actual] tasks are equal.
+     */
+    private fun assertTasksEqual(
+        expected: List<ServiceTask>,
+        actual: List<ServiceTask>,
+    ) {
+        assertEquals(expected.size, actual.size)
+        for ((e, a) in expected.zip(actual)) {
+            assertAll(
+                { assertEquals(e.id, a.id) },
+                { assertEquals(e.name, a.name) },
+                { assertEquals(e.submittedAt, a.submittedAt) },
+                { assertEquals(e.duration, a.duration) },
+                { assertEquals(e.cpuCoreCount, a.cpuCoreCount) },
+                { assertEquals(e.cpuCapacity, a.cpuCapacity) },
+                { assertEquals(e.totalCPULoad, a.totalCPULoad) },
+                { assertEquals(e.memorySize, a.memorySize) },
+                { assertEquals(e.gpuCoreCount, a.gpuCoreCount) },
+                { assertEquals(e.gpuCapacity, a.gpuCapacity) },
+                { assertEquals(e.deferrable, a.deferrable) },
+                { assertEquals(e.deadline, a.deadline) },
+                { assertEquals(e.parents, a.parents) },
+                { assertEquals(e.children, a.children) },
+                { assertEquals((e.workload as TraceWorkload).fragments, (a.workload as TraceWorkload).fragments) },
+            )
+        }
+    }
+
+    /**
+     * Write a trace of [tasks] tasks named after [prefix], where each task depends on the task before it.
+     */
+    private fun writeTrace(
+        tasks: Int,
+        prefix: String,
+    ) {
+        val dir = trace.toPath()
+        Files.createDirectories(dir)
+
+        writeTable(dir.resolve("tasks.parquet"), TASK_SCHEMA, tasks) { i ->
+            append("id", i)
+            append("name", "$prefix-$i")
+            append("submission_time", i * 60_000L)
+            append("duration", FRAGMENTS * 10_000L)
+            append("cpu_count", 1 + i % 4)
+            append("cpu_capacity", 1000.0 * (1 + i % 4))
+            append("mem_capacity", 1024_000L * (i + 1))
+            if (i % 3 == 0) {
+                append("gpu_count", 1)
+                append("gpu_capacity", 1200.0)
+            }
+            if (i > 0) {
+                addGroup("parents").addGroup("list").append("element", i - 1)
+            }
+            if (i + 1 < tasks) {
+                addGroup("children").addGroup("list").append("element", i + 1)
+            }
+            append("deferrable", i % 2 == 1)
+            append("deadline", i * 60_000L + 3_600_000L)
+        }
+
+        writeTable(dir.resolve("fragments.parquet"), FRAGMENT_SCHEMA, tasks * FRAGMENTS) { i ->
+            append("id", i / FRAGMENTS)
+            append("duration", 10_000L)
+            append("cpu_usage", (i % 7) * 100.0)
+            if (i % 2 == 0) {
+                append("gpu_usage", (i % 5) * 50.0)
+            }
+        }
+    }
+
+    /**
+     * Write [rows] records of [schema] to the Parquet file at [path].
+     */
+    private fun writeTable(
+        path: Path,
+        schema: MessageType,
+        rows: Int,
+        block: Group.(Int) -> Unit,
+    ) {
+        val factory = SimpleGroupFactory(schema)
+        ExampleParquetWriter.builder(LocalOutputFile(path))
+            .withType(schema)
+            .withWriteMode(ParquetFileWriter.Mode.OVERWRITE)
+            .build()
+            .use { writer ->
+                for (i in 0 until rows) {
+                    writer.write(factory.newGroup().apply { block(i) })
+                }
+            }
+    }
+
+    private companion object {
+        /**
+         * The number of tasks in the trace.
+         */
+        const val TASKS = 12
+
+        /**
+         * The number of fragments per task.
+         */
+        const val FRAGMENTS = 5
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.compute.workload
+
+import org.junit.jupiter.api.Assertions.assertArrayEquals
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertAll
+import org.junit.jupiter.api.assertThrows
+import org.opendc.compute.workload.cache.ArrayFragmentSource
+import org.opendc.compute.workload.cache.HeapWorkloadTable
+import org.opendc.compute.workload.cache.WorkloadTable
+import org.opendc.simulator.compute.workload.trace.TraceFragmentSource
+
+/**
+ * Test suite for the [FragmentCoalescing] class.
+ */
+internal class FragmentCoalescingTest {
+    @Test
+    fun testNegativeEpsilon() {
+        assertThrows<IllegalArgumentException> { FragmentCoalescing(-1.0) }
+    }
+
+    @Test
+    fun testExactRuns() {
+        val table = coalesce(0.0, task(1000L to 100.0, 2000L to 100.0, 500L to 200.0, 500L to 200.0, 100L to 100.0))
+        val fragments = table.fragments(0)
+
+        assertAll(
+            { assertArrayEquals(longArrayOf(3000, 1000, 100), durations(fragments)) },
+            { assertArrayEquals(doubleArrayOf(100.0, 200.0, 100.0), cpuUsages(fragments)) },
+            { assertEquals(0.0, table.report.loadDeviation) },
+        )
+    }
+
+    @Test
+    fun testToleranceBoundary() {
+        val fragments = coalesce(10.0, task(1000L to 100.0, 1000L to 110.0, 1000L to 110.5)).fragments(0)
+
+        assertAll(
+            { assertArrayEquals(longArrayOf(2000, 1000), durations(fragments)) },
+            { assertArrayEquals(doubleArrayOf(105.0, 110.5), cpuUsages(fragments)) },
+        )
+    }
+
+    @Test
+    fun testToleranceSpansRun() {
+        // Each step lies within the tolerance, but the run as a whole does not
+        val fragments = coalesce(10.0, task(1000L to 100.0, 1000L to 108.0, 1000L to 116.0)).fragments(0)
+
+        assertAll(
+            { assertArrayEquals(longArrayOf(2000, 1000), durations(fragments)) },
+            { assertArrayEquals(doubleArrayOf(104.0, 116.0), cpuUsages(fragments)) },
+        )
+    }
+
+    @Test
+    fun testGpuMismatch() {
+        val fragments = coalesce(5.0, task(Triple(1000L, 100.0, 0.0), Triple(1000L, 100.0, 50.0))).fragments(0)
+
+        assertAll(
+            { assertEquals(2, fragments.size()) },
+            { assertArrayEquals(doubleArrayOf(0.0, 50.0), gpuUsages(fragments)) },
+        )
+    }
+
+    @Test
+    fun testCpuMismatch() {
+        val fragments = coalesce(5.0, task(Triple(1000L, 100.0, 50.0), Triple(1000L, 200.0, 50.0))).fragments(0)
+
+        assertAll(
+            { assertEquals(2, fragments.size()) },
+            { assertArrayEquals(doubleArrayOf(100.0, 200.0), cpuUsages(fragments)) },
+        )
+    }
+
+    @Test
+    fun testNaNNeverMerged() {
+        val fragments = coalesce(1000.0, task(1000L to Double.NaN, 1000L to Double.NaN)).fragments(0)
+
+        assertEquals(2, fragments.size())
+    }
+
+    @Test
+    fun testDurationWeightedMerge() {
+        val table = coalesce(5.0, task(Triple(1000L, 100.0, 20.0), Triple(3000L, 104.0, 24.0)))
+        val fragments = table.fragments(0)
+
+        assertAll(
+            { assertArrayEquals(longArrayOf(4000), durations(fragments)) },
+            { assertArrayEquals(doubleArrayOf(103.0), cpuUsages(fragments)) },
+            { assertArrayEquals(doubleArrayOf(23.0), gpuUsages(fragments)) },
+        )
+    }
+
+    @Test
+    fun testReport() {
+        val table =
+            coalesce(
+                5.0,
+                task(1000L to 100.0, 3000L to 104.0, 1000L to 300.0),
+                task(2000L to 50.0, 2000L to 50.0),
+                ArrayFragmentSource.Builder().build(),
+            )
+        val report = table.report
+
+        assertAll(
+            { assertEquals(5L, report.fragments) },
+            { assertEquals(3L, report.coalescedFragments) },
+            { assertEquals(5.0 / 3, report.compressionRatio, 1e-9) },
+            { assertEquals(912.0, report.totalLoad, 1e-9) },
+            // |100 - 103| * 1000 + |104 - 103| * 3000 = 6000 MHz * ms
+            { assertEquals(6.0, report.loadDeviation, 1e-9) },
+            { assertEquals(6.0 / 912.0, report.relativeLoadDeviation, 1e-12) },
+            { assertEquals(12.0, report.energyErrorBound(2.0), 1e-9) },
+        )
+    }
+
+    @Test
+    fun testTotalLoadPreserved() {
+        val table = coalesce(50.0, task(700L to 10.0, 300L to 35.0, 1100L to 42.0, 900L to 55.0))
+        val before = ArrayFragmentSource.Builder()
+        listOf(700L to 10.0, 300L to 35.0, 1100L to 42.0, 900L to 55.0).forEach { (d, c) -> before.add(d, c, 0.0) }
+
+        assertEquals(before.totalLoad, table.report.totalLoad, 1e-9)
+        assertEquals(3000L, durations(table.fragments(0)).sum())
+    }
+
+    /**
+     * Coalesce the specified [tasks] with [epsilon].
+     */
+    private fun coalesce(
+        epsilon: Double,
+        vararg tasks: ArrayFragmentSource,
+    ) = FragmentCoalescing(epsilon).coalesce(table(*tasks))
+
+    /**
+     * Construct a [WorkloadTable] with a task for each of the specified fragment [sources].
+     */
+    private fun table(vararg sources: ArrayFragmentSource): WorkloadTable {
+        val builder = HeapWorkloadTable.Builder()
+        sources.forEachIndexed { i, fragments ->
+            builder.add(
+                HeapWorkloadTable.Row(
+                    i, null, i.toLong(), 0L, 1, 1000.0, 0.0, 0L, 0, 0.0, 0L, false, Long.MAX_VALUE, false, null, null,
+                    fragments,
+                ),
+            )
+        }
+        return builder.build()
+    }
+
+    /**
+     * Construct the fragments of a CPU-only task.
+     */
+    private fun task(vararg fragments: Pair<Long, Double>): ArrayFragmentSource =
+        task(*fragments.map { (duration, cpuUsage) -> Triple(duration, cpuUsage, 0.0) }.toTypedArray())
+
+    /**
+     * Construct the fragments of a task from its (duration, CPU usage, GPU usage) triples.
+     */
+    @JvmName("taskWithGpu")
+    private fun task(vararg fragments: Triple<Long, Double, Double>): ArrayFragmentSource {
+        val builder = ArrayFragmentSource.Builder()
+        for ((duration, cpuUsage, gpuUsage) in fragments) {
+            builder.add(duration, cpuUsage, gpuUsage)
+        }
+        return builder.build()
+    }
+
+    private fun durations(source: TraceFragmentSource) = LongArray(source.size()) { source.duration(it) }
+
+    private fun cpuUsages(source: TraceFragmentSource) = DoubleArray(source.size()) { source.cpuUsage(it) }
+
+    private fun gpuUsages(source: TraceFragmentSource) = DoubleArray(source.size()) { source.gpuUsage(it) }
+}
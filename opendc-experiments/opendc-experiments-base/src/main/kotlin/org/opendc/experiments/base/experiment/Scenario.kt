@@ -25,6 +25,7 @@
 package org.opendc.experiments.base.experiment
 
 import kotlinx.serialization.Serializable
+import org.opendc.common.util.EventQueueType
 import org.opendc.experiments.base.experiment.specs.CheckpointModelSpec
 import org.opendc.experiments.base.experiment.specs.ExportModelSpec
 import org.opendc.experiments.base.experiment.specs.FailureModelSpec
@@ -45,6 +46,7 @@ import org.opendc.experiments.base.experiment.specs.allocation.AllocationPolicyS
  * @property runs The Int representing the number of runs of the scenario. It defaults to 1.
  * @property initialSeed The Int representing the initial seed of the scenario. It defaults to 0.
  * @property computeExportConfig configures which parquet columns are to be included in the output files.
+ * @property eventQueue The type of event queue of the simulation. It defaults to [EventQueueType.HEAP].
  */
 
 @Serializable
@@ -62,4 +64,5 @@ public data class Scenario(
     val failureModelSpec: FailureModelSpec?,
     val checkpointModelSpec: CheckpointModelSpec?,
     val maxNumFailures: Int = 10,
+    val eventQueue: EventQueueType = EventQueueType.HEAP,
 )
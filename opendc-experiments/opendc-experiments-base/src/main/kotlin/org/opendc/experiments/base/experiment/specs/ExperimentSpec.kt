@@ -25,6 +25,7 @@
 package org.opendc.experiments.base.experiment.specs
 
 import kotlinx.serialization.Serializable
+import org.opendc.common.util.EventQueueType
 import org.opendc.compute.simulator.scheduler.ComputeSchedulerEnum
 import org.opendc.experiments.base.experiment.Scenario
 import org.opendc.experiments.base.experiment.specs.allocation.AllocationPolicySpec
@@ -46,6 +47,8 @@ import java.util.UUID
  * @property initialSeed Seed used to initialize the random generators. Successive runs of a
  * scenario increment from this value. Default value is 0.
  * @property runs Number of runs (seeds) executed per scenario. Must be greater than 0. Default value is 1.
+ * @property eventQueue The type of event queue used by the simulation dispatcher and the flow engine. The choice does
+ * not affect the results, only the performance of the simulation. Default is [EventQueueType.HEAP].
  * @property topologies Datacenter topologies to simulate, each referenced by a path to a topology JSON file.
  * @property workloads Workload traces to replay against the topologies.
  * @property allocationPolicies Scheduling policies that decide how and when to schedule tasks.
@@ -65,6 +68,7 @@ public data class ExperimentSpec(
     val outputFolder: String = "output",
     val initialSeed: Int = 0,
     val runs: Int = 1,
+    val eventQueue: EventQueueType = EventQueueType.HEAP,
     val topologies: Set<TopologyPathSpec>,
     val workloads: Set<WorkloadSpec>,
     val allocationPolicies: Set<AllocationPolicySpec> = setOf(PrefabAllocationPolicySpec(ComputeSchedulerEnum.Mem)),
@@ -191,6 +195,7 @@ public data class ExperimentSpec(
                         failureModelList[(i / failureDiv) % failureModelList.size],
                         checkpointModelList[(i / checkpointDiv) % checkpointModelList.size],
                         maxNumFailuresList[i % maxNumFailuresList.size],
+                        eventQueue,
                     ),
                 )
             }
@@ -27,6 +27,7 @@ import org.opendc.common.logger.infoNewLine
 import org.opendc.common.logger.logger
 import org.opendc.compute.simulator.telemetry.OutputFiles
 import org.opendc.compute.simulator.telemetry.parquet.ComputeExportConfig
+import org.opendc.trace.util.parquet.BackPressurePolicy
 import kotlin.getValue
 
 /**
@@ -38,6 +39,8 @@ import kotlin.getValue
  * progress printing. When set it must be positive. Default is 24.
  * @property computeExportConfig Configuration of which metrics are written to the output files. Default is all metrics.
  * @property filesToExport The output files that should be written during the simulation. Default is all files.
+ * @property backPressure What the output writers do when they cannot keep up with the simulation. Default is
+ * [BackPressurePolicy.BLOCK], which never loses metrics.
  */
 @Serializable
 @Deprecated("Replaced by the opendc-sdk model (org.opendc.sdk.model.*); run experiments with the new opendc CLI (opendc-cli).")
@@ -46,6 +49,7 @@ public data class ExportModelSpec(
     var printFrequency: Int? = 24,
     val computeExportConfig: ComputeExportConfig = ComputeExportConfig.ALL_COLUMNS,
     val filesToExport: List<OutputFiles> = OutputFiles.entries.toList(),
+    val backPressure: BackPressurePolicy = BackPressurePolicy.BLOCK,
 ) {
     /**
      * Lookup that maps every [OutputFiles] entry to whether it should be exported.
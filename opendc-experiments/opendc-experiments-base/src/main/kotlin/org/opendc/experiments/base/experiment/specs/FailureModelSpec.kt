@@ -36,13 +36,19 @@ import org.apache.commons.math3.distribution.UniformRealDistribution
 import org.apache.commons.math3.distribution.WeibullDistribution
 import org.apache.commons.math3.random.Well19937c
 import org.opendc.compute.failure.models.FailureModel
+import org.opendc.compute.failure.models.FailureSchedule
+import org.opendc.compute.failure.models.FailureSchedules
 import org.opendc.compute.failure.models.SampleBasedFailureModel
+import org.opendc.compute.failure.models.ScheduledFailureModel
 import org.opendc.compute.failure.models.TraceBasedFailureModel
+import org.opendc.compute.failure.models.loadFailureTrace
 import org.opendc.compute.failure.prefab.FailurePrefab
 import org.opendc.compute.failure.prefab.createFailureModelPrefab
+import org.opendc.compute.failure.prefab.getFailureSchedulePrefab
 import org.opendc.compute.simulator.service.ComputeService
 import java.io.File
 import java.time.InstantSource
+import java.util.Random
 import kotlin.coroutines.CoroutineContext
 
 /**
@@ -398,6 +404,53 @@ public fun createFailureModel(
     }
 }
 
+/**
+ * Create a [ScheduledFailureModel] that injects the precomputed schedule of the provided [FailureModelSpec]
+ *
+ * The schedule is compiled directly from the specification for the specified [seed], and is shared by all simulations
+ * of the same failure model and seed. Its failures occur at the same times as those of the [FailureModel] created for
+ * a [Random] with the same seed, but their victims are selected by the schedule (see [FailureSchedule]).
+ *
+ * @param context
+ * @param clock
+ * @param service
+ * @param seed The seed from which the schedule is compiled.
+ * @param failureModelSpec
+ * @return
+ */
+public fun createFailureModel(
+    context: CoroutineContext,
+    clock: InstantSource,
+    service: ComputeService,
+    seed: Long,
+    failureModelSpec: FailureModelSpec?,
+): FailureModel? {
+    val schedule =
+        when (failureModelSpec) {
+            is PrefabFailureModelSpec ->
+                getFailureSchedulePrefab(context, clock, service, seed, failureModelSpec.prefabName)
+            is TraceBasedFailureModelSpec ->
+                FailureSchedules.getOrCompile(failureModelSpec to seed) {
+                    val failures = loadFailureTrace(failureModelSpec.pathToFile, failureModelSpec.startPoint)
+                    FailureSchedule.compile(failures, failureModelSpec.repeat, Random(seed))
+                }
+            is CustomFailureModelSpec ->
+                FailureSchedules.getOrCompile(failureModelSpec to seed) {
+                    // Seed the samplers in the same order as the failure model created for the same seed
+                    val random = Random(seed)
+                    val rng: org.apache.commons.math3.random.RandomGenerator = Well19937c(random.nextLong())
+                    FailureSchedule.compile(
+                        createSampler(rng, failureModelSpec.iatSampler),
+                        createSampler(rng, failureModelSpec.durationSampler),
+                        createSampler(rng, failureModelSpec.nohSampler),
+                        random,
+                    )
+                }
+            else -> return null
+        }
+    return ScheduledFailureModel(context, clock, service, schedule)
+}
+
 /**
  * Create [FailureModel] based on the provided [PrefabFailureModelSpec]
  *
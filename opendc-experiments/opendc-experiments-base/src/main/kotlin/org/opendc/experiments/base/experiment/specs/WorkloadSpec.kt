@@ -27,11 +27,17 @@ package org.opendc.experiments.base.experiment.specs
 import kotlinx.serialization.Serializable
 import org.opendc.compute.simulator.service.ServiceTask
 import org.opendc.compute.workload.ComputeWorkloadLoader
+import org.opendc.compute.workload.FragmentCoalescing
 import org.opendc.compute.workload.WorkloadLoader
+import org.opendc.compute.workload.WorkloadWindow
 import org.opendc.simulator.compute.workload.trace.scaling.NoDelayScaling
 import org.opendc.simulator.compute.workload.trace.scaling.PerfectScaling
 import org.opendc.simulator.compute.workload.trace.scaling.ScalingPolicy
 import java.io.File
+import java.time.Instant
+import java.time.LocalDateTime
+import java.time.ZoneOffset
+import java.time.format.DateTimeParseException
 
 /**
  * Specification describing a workload trace that is replayed against the topologies.
@@ -45,6 +51,14 @@ import java.io.File
  * @property deferAll Whether every task should be deferred, overriding the submission times of the trace.
  * @property scalingPolicy Policy that decides how a task's remaining work is scaled when it does not receive
  * its full demand. See [ScalingPolicyEnum].
+ * @property coalesceFragments Whether runs of adjacent fragments with (near-)identical usage are merged when the
+ * trace is loaded.
+ * @property coalescingEpsilon Maximum difference in usage (in MHz) between merged fragments. The default of 0 only
+ * merges fragments with identical usage. Must be 0 or greater.
+ * @property windowStart Optional ISO-8601 local date-time (in UTC) of the first submission time to load from the trace.
+ * Tasks submitted earlier are skipped while reading the trace.
+ * @property windowEnd Optional ISO-8601 local date-time (in UTC) until which tasks are loaded from the trace. Tasks
+ * submitted at or after this time are skipped while reading the trace. Must lie after [windowStart].
  */
 @Serializable
 @Deprecated("Replaced by the opendc-sdk model (org.opendc.sdk.model.*); run experiments with the new opendc CLI (opendc-cli).")
@@ -55,6 +69,10 @@ public data class WorkloadSpec(
     val submissionTime: String? = null,
     val deferAll: Boolean = false,
     val scalingPolicy: ScalingPolicyEnum = ScalingPolicyEnum.NoDelay,
+    val coalesceFragments: Boolean = false,
+    val coalescingEpsilon: Double = 0.0,
+    val windowStart: String? = null,
+    val windowEnd: String? = null,
 ) {
     public val name: String = File(pathToFile).nameWithoutExtension
 
@@ -73,17 +91,53 @@ public data class WorkloadSpec(
                 if (sampleFraction <= 0) {
                     add("The fraction of the tasks can not be 0.0 or lower (currently sampleFraction=$sampleFraction)")
                 }
+                if (coalescingEpsilon < 0) {
+                    add("The coalescing epsilon can not be lower than 0.0 (currently coalescingEpsilon=$coalescingEpsilon)")
+                }
                 if (!File(pathToFile).exists()) {
                     add("The provided path to the workload '$pathToFile' does not exist")
                 }
+
+                val start = windowStart?.let(::parseWindowBound)
+                val end = windowEnd?.let(::parseWindowBound)
+                if (windowStart != null && start == null) {
+                    add("The window start '$windowStart' is not a valid ISO-8601 date-time")
+                }
+                if (windowEnd != null && end == null) {
+                    add("The window end '$windowEnd' is not a valid ISO-8601 date-time")
+                }
+                if (start != null && end != null && start >= end) {
+                    add("The window start must lie before its end (currently windowStart=$windowStart, windowEnd=$windowEnd)")
+                }
             }
 
         if (errors.isNotEmpty()) {
             throw InvalidWorkloadException(errors)
         }
     }
+
+    /**
+     * The [WorkloadWindow] described by [windowStart] and [windowEnd] or `null` if the whole trace is loaded.
+     */
+    public val window: WorkloadWindow?
+        get() =
+            if (windowStart == null && windowEnd == null) {
+                null
+            } else {
+                WorkloadWindow(windowStart?.let(::parseWindowBound), windowEnd?.let(::parseWindowBound))
+            }
 }
 
+/**
+ * Parse a bound of a workload window as an ISO-8601 local date-time in UTC, or return `null` if it is malformed.
+ */
+private fun parseWindowBound(value: String): Instant? =
+    try {
+        LocalDateTime.parse(value).toInstant(ZoneOffset.UTC)
+    } catch (_: DateTimeParseException) {
+        null
+    }
+
 /**
  * Exception thrown when a [WorkloadSpec] violates one or more of its constraints.
  *
@@ -123,6 +177,8 @@ public fun getWorkloadLoader(
                 checkpointModelSpec?.checkpointIntervalScaling ?: 1.0,
                 scalingPolicy,
                 workloadSpec.deferAll,
+                coalescing = if (workloadSpec.coalesceFragments) FragmentCoalescing(workloadSpec.coalescingEpsilon) else null,
+                window = workloadSpec.window,
             )
     }
 }
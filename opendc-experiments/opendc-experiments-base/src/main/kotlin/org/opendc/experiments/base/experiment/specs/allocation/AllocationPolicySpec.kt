@@ -26,6 +26,9 @@ package org.opendc.experiments.base.experiment.specs.allocation
 
 import kotlinx.serialization.SerialName
 import kotlinx.serialization.Serializable
+import org.opendc.compute.simulator.scheduler.BatchFilterScheduler
+import org.opendc.compute.simulator.scheduler.BinPackingPolicy
+import org.opendc.compute.simulator.scheduler.BinPackingScheduler
 import org.opendc.compute.simulator.scheduler.ComputeScheduler
 import org.opendc.compute.simulator.scheduler.ComputeSchedulerEnum
 import org.opendc.compute.simulator.scheduler.FilterScheduler
@@ -45,6 +48,7 @@ import kotlin.coroutines.CoroutineContext
  * - [PrefabAllocationPolicySpec] (`"prefab"`): one of the schedulers already present in OpenDC.
  * - [FilterAllocationPolicySpec] (`"filter"`): a filter scheduler built from host filters and weighers.
  * - [TimeShiftAllocationPolicySpec] (`"timeshift"`): a carbon-aware scheduler that shifts tasks in time.
+ * - [BinPackingAllocationPolicySpec] (`"binpacking"`): a scheduler that packs the pending tasks onto few hosts.
  */
 @Serializable
 @Deprecated("Replaced by the opendc-sdk model (org.opendc.sdk.model.*); run experiments with the new opendc CLI (opendc-cli).")
@@ -89,6 +93,9 @@ public data class PrefabAllocationPolicySpec(
  * @property weighers Weighers that rank the hosts that pass the filters. Default is no weighers.
  * @property subsetSize Number of top-ranked hosts to randomly pick the placement from. Must be positive.
  * Default is 1, which always selects the single best host.
+ * @property batch Whether all tasks pending in a scheduling cycle are scheduled as one batch. Tasks with the same
+ * resource demands then share the filter pass, while every task is placed on the same host as without batching.
+ * Default is false.
  */
 @Serializable
 @SerialName("filter")
@@ -96,6 +103,7 @@ public data class FilterAllocationPolicySpec(
     val filters: List<HostFilterSpec> = listOf(ComputeFilterSpec()),
     val weighers: List<HostWeigherSpec> = emptyList(),
     val subsetSize: Int = 1,
+    val batch: Boolean = false,
 ) : AllocationPolicySpec {
     override fun validate() {
         val errors =
@@ -112,6 +120,37 @@ public data class FilterAllocationPolicySpec(
     }
 }
 
+/**
+ * An allocation policy that packs the tasks pending in a scheduling cycle onto as few hosts as possible.
+ *
+ * All pending tasks are scheduled as one batch, sorted by decreasing size, where the size of a task is the largest
+ * fraction of the CPU cores or memory of the largest host that it demands. Each task is then placed on a host that
+ * passes every [HostFilterSpec] in [filters], chosen according to [policy]. A task that does not fit does not stop
+ * the other tasks of the batch from being placed.
+ *
+ * @property filters Filters that remove hosts unable to run a task. Default is a single [ComputeFilterSpec].
+ * @property policy How a host is chosen among the hosts that pass the filters: `FIRST_FIT_DECREASING` picks the first
+ * host in the order of the topology, and `BEST_FIT_DECREASING` picks the host with the least room left. Default is
+ * `FIRST_FIT_DECREASING`.
+ */
+@Serializable
+@SerialName("binpacking")
+public data class BinPackingAllocationPolicySpec(
+    val filters: List<HostFilterSpec> = listOf(ComputeFilterSpec()),
+    val policy: BinPackingPolicy = BinPackingPolicy.FIRST_FIT_DECREASING,
+) : AllocationPolicySpec {
+    override fun validate() {
+        val errors =
+            buildList {
+                addFilterAndWeigherErrors(filters, emptyList())
+            }
+
+        if (errors.isNotEmpty()) {
+            throw InvalidAllocationPolicyException(errors)
+        }
+    }
+}
+
 /**
  * A carbon-aware allocation policy that defers tasks to periods of lower carbon intensity.
  *
@@ -119,7 +158,8 @@ public data class FilterAllocationPolicySpec(
  * current moment is a "low carbon" regime and holds deferrable tasks until such a moment. The current
  * carbon intensity is compared either against a quantile of the forecast (when [forecast] is true) or
  * against the moving average of the past [windowSize] samples (when it is false). Separate short- and
- * long-task regimes are tracked using [shortForecastThreshold] and [longForecastThreshold].
+ * long-task regimes are tracked using [shortForecastThreshold] and [longForecastThreshold]. The policy follows a
+ * single carbon trace, so topologies whose clusters use different carbon traces are rejected.
  *
  * @property filters Filters that remove hosts unable to run a task. Default is a single [ComputeFilterSpec].
  * @property weighers Weighers that rank the hosts that pass the filters. Default is no weighers.
@@ -200,7 +240,15 @@ public fun createComputeScheduler(
         is FilterAllocationPolicySpec -> {
             val filters = spec.filters.map { createHostFilter(it) }
             val weighers = spec.weighers.map { createHostWeigher(it) }
-            FilterScheduler(filters, weighers, spec.subsetSize, seeder, numHosts)
+            if (spec.batch) {
+                BatchFilterScheduler(filters, weighers, spec.subsetSize, seeder, numHosts)
+            } else {
+                FilterScheduler(filters, weighers, spec.subsetSize, seeder, numHosts)
+            }
+        }
+        is BinPackingAllocationPolicySpec -> {
+            val filters = spec.filters.map { createHostFilter(it) }
+            BinPackingScheduler(filters, spec.policy)
         }
         is TimeShiftAllocationPolicySpec -> {
             val filters = spec.filters.map { createHostFilter(it) }
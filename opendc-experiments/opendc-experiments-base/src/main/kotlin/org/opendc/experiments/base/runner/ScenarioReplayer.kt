@@ -35,11 +35,11 @@ import org.opendc.compute.api.TaskState
 import org.opendc.compute.failure.models.FailureModel
 import org.opendc.compute.simulator.TaskWatcher
 import org.opendc.compute.simulator.service.ComputeService
+import org.opendc.compute.simulator.service.ServiceSnapshot
 import org.opendc.compute.simulator.service.ServiceTask
 import org.opendc.experiments.base.experiment.specs.FailureModelSpec
 import org.opendc.experiments.base.experiment.specs.createFailureModel
 import java.time.InstantSource
-import java.util.Random
 import kotlin.coroutines.coroutineContext
 import kotlin.math.max
 
@@ -93,7 +93,7 @@ public suspend fun ComputeService.replay(
     // Create a failure model based on the failureModelSpec, if not null, otherwise set failureModel to null
     val failureModel: FailureModel? =
         failureModelSpec?.let {
-            createFailureModel(coroutineContext, clock, this, Random(seed), it)
+            createFailureModel(coroutineContext, clock, this, seed, it)
         }
 
     try {
@@ -141,3 +141,66 @@ public suspend fun ComputeService.replay(
         client.close()
     }
 }
+
+/**
+ * Helper method to replay the specified list of [Task] until the virtual time [until] and capture a [ServiceSnapshot]
+ * of the service at that moment. The replay is cancelled once the snapshot is taken.
+ *
+ * Independent continuations of the simulation can be created from the snapshot with [ServiceSnapshot.fork], which
+ * can be replayed in fresh simulations with a different scheduler or failure model.
+ *
+ * @param clock The simulation clock.
+ * @param trace The trace to simulate.
+ * @param until The virtual time at which the snapshot is taken (in milliseconds).
+ * @param failureModelSpec A failure model to use for injecting failures.
+ * @param seed The seed to use for randomness.
+ */
+public suspend fun ComputeService.replayUntil(
+    clock: InstantSource,
+    trace: List<ServiceTask>,
+    until: Long,
+    failureModelSpec: FailureModelSpec? = null,
+    seed: Long = 0,
+): ServiceSnapshot =
+    coroutineScope {
+        val replay = launch { replay(clock, trace, failureModelSpec, seed) }
+
+        delay(max(0, until - clock.millis()))
+        val snapshot = snapshot()
+
+        replay.cancel()
+        snapshot
+    }
+
+/**
+ * Helper method to replay the continuation of a simulation from the specified [snapshot], which was captured from a
+ * replay of [trace] (see [replayUntil]). The dynamic state of the snapshot is restored into this service, after which
+ * the tasks created by [ServiceSnapshot.fork] are replayed. Virtual time zero of the continuation corresponds to the
+ * moment of the snapshot.
+ *
+ * @param clock The simulation clock.
+ * @param snapshot The snapshot to continue from.
+ * @param trace The trace of the snapshotted simulation as it was before that simulation started.
+ * @param failureModelSpec A failure model to use for injecting failures in the continuation.
+ * @param seed The seed to use for randomness.
+ * @return The tasks that were replayed in the continuation.
+ */
+public suspend fun ComputeService.replayFrom(
+    clock: InstantSource,
+    snapshot: ServiceSnapshot,
+    trace: List<ServiceTask>,
+    failureModelSpec: FailureModelSpec? = null,
+    seed: Long = 0,
+): List<ServiceTask> {
+    restore(snapshot)
+
+    val tasks = snapshot.fork(trace)
+    if (tasks.isEmpty()) {
+        return tasks
+    }
+
+    // Align the start of the replay with the moment of the snapshot, as the first task may be submitted later
+    delay(max(0, tasks.first().submittedAt - snapshot.getForkTime(trace) - clock.millis()))
+    replay(clock, tasks, failureModelSpec, seed)
+    return tasks
+}
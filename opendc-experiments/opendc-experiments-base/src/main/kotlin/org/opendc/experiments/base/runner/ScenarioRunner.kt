@@ -41,6 +41,7 @@ import org.opendc.experiments.base.experiment.specs.allocation.TimeShiftAllocati
 import org.opendc.experiments.base.experiment.specs.allocation.createComputeScheduler
 import org.opendc.experiments.base.experiment.specs.allocation.createTaskStopper
 import org.opendc.experiments.base.experiment.specs.getWorkload
+import org.opendc.simulator.SimulationDispatcher
 import org.opendc.simulator.compute.power.CarbonModel
 import org.opendc.simulator.compute.power.CarbonReceiver
 import org.opendc.simulator.kotlin.runSimulation
@@ -85,7 +86,7 @@ public fun runScenario(
     seed: Long,
     strictReader: Boolean = false,
 ): Unit =
-    runSimulation {
+    runSimulation(scheduler = SimulationDispatcher(0, scenario.eventQueue)) {
         val serviceDomain = "compute.opendc.org"
         Provisioner(dispatcher, seed).use { provisioner ->
 
@@ -120,7 +121,7 @@ public fun runScenario(
                     },
                     maxNumFailures = scenario.maxNumFailures,
                 ),
-                setupHosts(serviceDomain, topology, startTimeLong),
+                setupHosts(serviceDomain, topology, startTimeLong, scenario.eventQueue),
             )
 
             initializeExportModel(
@@ -200,6 +201,7 @@ public fun initializeExportModel(
                 bufferSize = 4096,
                 scenario.exportModelSpec.filesToExportDict,
                 computeExportConfig = computeExportConfig,
+                backPressure = scenario.exportModelSpec.backPressure,
             ),
             Duration.ofSeconds(scenario.exportModelSpec.exportInterval),
             startTime,
@@ -0,0 +1,399 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.experiments.base
+
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertNotSame
+import org.junit.jupiter.api.Assertions.assertNull
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertAll
+import org.opendc.compute.simulator.provisioner.Provisioner
+import org.opendc.compute.simulator.provisioner.registerComputeMonitor
+import org.opendc.compute.simulator.provisioner.setupComputeService
+import org.opendc.compute.simulator.provisioner.setupHosts
+import org.opendc.compute.simulator.scheduler.FilterScheduler
+import org.opendc.compute.simulator.scheduler.filters.ComputeFilter
+import org.opendc.compute.simulator.scheduler.filters.RamFilter
+import org.opendc.compute.simulator.scheduler.filters.VCpuFilter
+import org.opendc.compute.simulator.scheduler.weights.CoreRamWeigher
+import org.opendc.compute.simulator.service.ComputeService
+import org.opendc.compute.simulator.service.ServiceSnapshot
+import org.opendc.compute.simulator.service.ServiceTask
+import org.opendc.compute.topology.specs.ClusterSpec
+import org.opendc.experiments.base.runner.replay
+import org.opendc.experiments.base.runner.replayFrom
+import org.opendc.experiments.base.runner.replayUntil
+import org.opendc.simulator.compute.workload.ChainWorkload
+import org.opendc.simulator.compute.workload.trace.TraceFragment
+import org.opendc.simulator.compute.workload.trace.TraceWorkload
+import org.opendc.simulator.kotlin.runSimulation
+import java.time.Duration
+import java.util.ArrayList
+
+/**
+ * Testing suite containing tests for forking a simulation from a snapshot.
+ */
+class SnapshotTest {
+    /**
+     * Snapshot test 1: A running task
+     * The snapshot is taken halfway through the first fragment of the task, so the continuation should only execute
+     * the remaining five minutes of that fragment, followed by the second fragment.
+     */
+    @Test
+    fun testSnapshot1() {
+        val workload: ArrayList<ServiceTask> =
+            arrayListOf(
+                createTestTask(
+                    id = 0,
+                    fragments =
+                        arrayListOf(
+                            TraceFragment(10 * 60 * 1000, 2000.0),
+                            TraceFragment(10 * 60 * 1000, 1000.0),
+                        ),
+                    cpuCoreCount = 1,
+                ),
+            )
+        val topology = createTopology("single_1_2000.json")
+
+        val snapshot = runUntil(topology, workload, 5 * 60 * 1000)
+        val progress = snapshot.progress[0]?.fragments
+
+        // Fork two continuations from the same snapshot, which must not share any state
+        val forkA = snapshot.fork(workload)
+        val forkB = snapshot.fork(workload)
+        val monitorA = runTest(topology, ArrayList(forkA))
+        val monitorB = runTest(topology, ArrayList(forkB))
+
+        assertAll(
+            { assertEquals(5 * 60 * 1000L, snapshot.timestamp) { "The snapshot was taken at the wrong time" } },
+            { assertTrue(snapshot.finishedTasks.isEmpty()) { "No task should have finished" } },
+            { assertEquals(listOf(5 * 60 * 1000L, 10 * 60 * 1000L), progress?.map { it.duration }) },
+            { assertEquals(listOf(2000.0, 1000.0), progress?.map { it.cpuUsage }) },
+            { assertEquals(5 * 60 * 1000L, forkA[0].submittedAt) { "The task should be resubmitted at the snapshot" } },
+            { assertNotSame(forkA[0].workload, forkB[0].workload) { "The forks should not share workloads" } },
+            { assertEquals(900000, monitorA.maxTimestamp) { "The continuation took longer to finish than expected." } },
+            { assertEquals(900000, monitorB.maxTimestamp) { "The continuation took longer to finish than expected." } },
+            { assertEquals(1, monitorB.tasksCompleted) { "The continuation did not complete the task" } },
+        )
+    }
+
+    /**
+     * Snapshot test 2: A finished parent task
+     * The parent task finishes before the snapshot, so the continuation should only contain the child task, which
+     * no longer waits for its parent.
+     */
+    @Test
+    fun testSnapshot2() {
+        val workload: ArrayList<ServiceTask> =
+            arrayListOf(
+                createTestTask(
+                    id = 0,
+                    fragments = arrayListOf(TraceFragment(5 * 60 * 1000, 1000.0)),
+                    cpuCoreCount = 1,
+                    children = setOf(1),
+                ),
+                createTestTask(
+                    id = 1,
+                    fragments = arrayListOf(TraceFragment(10 * 60 * 1000, 1000.0)),
+                    cpuCoreCount = 1,
+                    parents = arrayListOf(0),
+                ),
+            )
+        val topology = createTopology("single_1_2000.json")
+
+        val snapshot = runUntil(topology, workload, 7 * 60 * 1000)
+        val fork = snapshot.fork(workload)
+
+        assertAll(
+            { assertEquals(setOf(0), snapshot.finishedTasks) { "The parent task should have finished" } },
+            { assertNull(snapshot.progress[0]) { "A finished task should not have progress" } },
+            { assertEquals(listOf(1), fork.map { it.id }) { "Only the child task should continue" } },
+            { assertFalse(fork[0].hasParents()) { "The child task should not wait for its finished parent" } },
+        )
+    }
+
+    /**
+     * Snapshot test 3: A continuation is equivalent to an uninterrupted run
+     * At the moment of the snapshot, two tasks are running, one task is waiting for capacity and one task has not been
+     * submitted yet. The continuation should complete every task at the same moment as the uninterrupted run, and the
+     * energy of the snapshot and the continuation together should equal the energy of the uninterrupted run.
+     */
+    @Test
+    fun testSnapshot3() {
+        val workload: ArrayList<ServiceTask> =
+            arrayListOf(
+                createTestTask(
+                    id = 0,
+                    fragments =
+                        arrayListOf(
+                            TraceFragment(10 * 60 * 1000, 2000.0),
+                            TraceFragment(10 * 60 * 1000, 1000.0),
+                        ),
+                    cpuCoreCount = 1,
+                ),
+                createTestTask(
+                    id = 1,
+                    fragments = arrayListOf(TraceFragment(10 * 60 * 1000, 1000.0)),
+                    cpuCoreCount = 1,
+                ),
+                createTestTask(
+                    id = 2,
+                    submissionTime = "1970-01-01T00:05",
+                    fragments = arrayListOf(TraceFragment(10 * 60 * 1000, 1500.0)),
+                    cpuCoreCount = 1,
+                ),
+                createTestTask(
+                    id = 3,
+                    submissionTime = "1970-01-01T00:15",
+                    fragments = arrayListOf(TraceFragment(5 * 60 * 1000, 1000.0)),
+                    cpuCoreCount = 1,
+                ),
+            )
+        val topology = createTopology("single_2_2000.json")
+        val until = 7 * 60 * 1000L
+
+        val (original, originalEnd) = runFrom(topology, workload, null)
+        val snapshot = runUntil(topology, workload, until)
+        val (continuation, continuationEnd) = runFrom(topology, workload, snapshot)
+
+        assertAll(
+            { assertEquals("H01", snapshot.progress[0]?.host) { "The running task should record its host" } },
+            { assertNull(snapshot.progress[2]?.host) { "The waiting task should not have a host" } },
+            { assertEquals(setOf(0, 1, 2, 3), continuation.keys) { "The continuation should run every task" } },
+            {
+                assertEquals(original, continuation.mapValues { it.value + until }) {
+                    "The continuation completed the tasks at other moments than the uninterrupted run"
+                }
+            },
+            {
+                assertEquals(
+                    originalEnd.hosts["H01"]!!.energyUsage,
+                    snapshot.hosts["H01"]!!.energyUsage + continuationEnd.hosts["H01"]!!.energyUsage,
+                    1e-6,
+                ) { "The snapshot and the continuation should use the energy of the uninterrupted run" }
+            },
+            {
+                assertEquals(
+                    originalEnd.hosts["H01"]!!.uptime,
+                    snapshot.hosts["H01"]!!.uptime + continuationEnd.hosts["H01"]!!.uptime,
+                ) { "The snapshot and the continuation should have the uptime of the uninterrupted run" }
+            },
+        )
+    }
+
+    /**
+     * Snapshot test 4: A running chain workload
+     * The snapshot is taken during the second workload of the chain, so the continuation should only execute the
+     * remainder of that workload and no longer share the workload with the trace.
+     */
+    @Test
+    fun testSnapshot4() {
+        val first = createTestTask(id = 0, fragments = arrayListOf(TraceFragment(10 * 60 * 1000, 2000.0)))
+        val second = createTestTask(id = 0, fragments = arrayListOf(TraceFragment(10 * 60 * 1000, 1000.0)))
+        val task = createTestTask(id = 0, fragments = arrayListOf(TraceFragment(20 * 60 * 1000, 2000.0)))
+        task.workload = ChainWorkload(arrayListOf(first.workload, second.workload), 0L, 0L, 1.0)
+
+        val workload: ArrayList<ServiceTask> = arrayListOf(task)
+        val topology = createTopology("single_1_2000.json")
+
+        val snapshot = runUntil(topology, workload, 15 * 60 * 1000)
+        val fork = snapshot.fork(workload)
+        val (continuation, _) = runFrom(topology, workload, snapshot)
+
+        val forked = fork[0].workload as ChainWorkload
+        assertAll(
+            { assertEquals(listOf(5 * 60 * 1000L), snapshot.progress[0]?.fragments?.map { it.duration }) },
+            { assertNotSame(task.workload, forked) { "The fork should not share the chain with the trace" } },
+            { assertEquals(1, forked.workloads().size) { "The remaining work should be a single trace workload" } },
+            {
+                assertEquals(listOf(1000.0), (forked.workloads()[0] as TraceWorkload).fragments.map { it.cpuUsage })
+            },
+            { assertEquals(2, (task.workload as ChainWorkload).workloads().size) { "The trace should be untouched" } },
+            { assertEquals(5 * 60 * 1000L, continuation[0]) { "The continuation took longer to finish than expected." } },
+        )
+    }
+
+    /**
+     * Snapshot test 5: Advancing across fragment boundaries
+     * The task has a fragment without duration between its first and second fragment. Snapshots taken during the
+     * second and third fragment should only contain the remainder of the current fragment and the fragments after it.
+     */
+    @Test
+    fun testSnapshot5() {
+        val workload: ArrayList<ServiceTask> =
+            arrayListOf(
+                createTestTask(
+                    id = 0,
+                    fragments =
+                        arrayListOf(
+                            TraceFragment(5 * 60 * 1000, 1000.0),
+                            TraceFragment(0, 2000.0),
+                            TraceFragment(5 * 60 * 1000, 2000.0),
+                            TraceFragment(5 * 60 * 1000, 500.0),
+                        ),
+                    cpuCoreCount = 1,
+                ),
+            )
+        val topology = createTopology("single_1_2000.json")
+
+        val second = runUntil(topology, workload, 7 * 60 * 1000).progress[0]?.fragments
+        val third = runUntil(topology, workload, 12 * 60 * 1000).progress[0]?.fragments
+
+        assertAll(
+            { assertEquals(listOf(3 * 60 * 1000L, 5 * 60 * 1000L), second?.map { it.duration }) },
+            { assertEquals(listOf(2000.0, 500.0), second?.map { it.cpuUsage }) },
+            { assertEquals(listOf(3 * 60 * 1000L), third?.map { it.duration }) },
+            { assertEquals(listOf(500.0), third?.map { it.cpuUsage }) },
+        )
+    }
+
+    /**
+     * Snapshot test 6: A workload with a head and an offset
+     * The first fragment of the workload was removed and a fragment was prepended, so the task should first execute
+     * the prepended fragment and continue with the second fragment of the source.
+     */
+    @Test
+    fun testSnapshot6() {
+        val task =
+            createTestTask(
+                id = 0,
+                fragments =
+                    arrayListOf(
+                        TraceFragment(5 * 60 * 1000, 1000.0),
+                        TraceFragment(5 * 60 * 1000, 2000.0),
+                        TraceFragment(5 * 60 * 1000, 500.0),
+                    ),
+                cpuCoreCount = 1,
+            )
+        val trace = task.workload as TraceWorkload
+        trace.removeFragments(1)
+        trace.addFirst(TraceFragment(2 * 60 * 1000, 1000.0))
+
+        val workload: ArrayList<ServiceTask> = arrayListOf(task)
+        val topology = createTopology("single_1_2000.json")
+
+        val head = runUntil(topology, workload, 1 * 60 * 1000).progress[0]?.fragments
+        val source = runUntil(topology, workload, 3 * 60 * 1000).progress[0]?.fragments
+
+        assertAll(
+            { assertEquals(listOf(60 * 1000L, 5 * 60 * 1000L, 5 * 60 * 1000L), head?.map { it.duration }) },
+            { assertEquals(listOf(1000.0, 2000.0, 500.0), head?.map { it.cpuUsage }) },
+            { assertEquals(listOf(4 * 60 * 1000L, 5 * 60 * 1000L), source?.map { it.duration }) },
+            { assertEquals(listOf(2000.0, 500.0), source?.map { it.cpuUsage }) },
+        )
+    }
+
+    /**
+     * Replay a copy of [workload] on [topology] until [until] and return the snapshot taken at that moment.
+     */
+    private fun runUntil(
+        topology: List<ClusterSpec>,
+        workload: List<ServiceTask>,
+        until: Long,
+    ): ServiceSnapshot {
+        var snapshot: ServiceSnapshot? = null
+
+        runSimulation {
+            Provisioner(dispatcher, 0L).use { provisioner ->
+                val computeScheduler =
+                    FilterScheduler(
+                        filters = listOf(ComputeFilter(), VCpuFilter(1.0), RamFilter(1.0)),
+                        weighers = listOf(CoreRamWeigher(multiplier = 1.0)),
+                    )
+
+                provisioner.runSteps(
+                    setupComputeService(serviceDomain = "compute.opendc.org", { computeScheduler }),
+                    setupHosts(serviceDomain = "compute.opendc.org", topology, workload.minOf { it.submittedAt }),
+                )
+
+                val service = provisioner.registry.resolve("compute.opendc.org", ComputeService::class.java)!!
+                service.setTasksExpected(workload.size)
+
+                snapshot = service.replayUntil(timeSource, workload.map { it.copy() }, until)
+            }
+        }
+
+        return checkNotNull(snapshot)
+    }
+
+    /**
+     * Replay [workload] on [topology] to the end, continuing from [snapshot] if it is not `null`, and return the
+     * moments at which the tasks finished together with a snapshot taken at the end of the replay.
+     */
+    private fun runFrom(
+        topology: List<ClusterSpec>,
+        workload: List<ServiceTask>,
+        snapshot: ServiceSnapshot?,
+    ): Pair<Map<Int, Long>, ServiceSnapshot> {
+        var result: Pair<Map<Int, Long>, ServiceSnapshot>? = null
+
+        runSimulation {
+            Provisioner(dispatcher, 0L).use { provisioner ->
+                val computeScheduler =
+                    FilterScheduler(
+                        filters = listOf(ComputeFilter(), VCpuFilter(1.0), RamFilter(1.0)),
+                        weighers = listOf(CoreRamWeigher(multiplier = 1.0)),
+                    )
+
+                val startTime = workload.minOf { it.submittedAt }
+
+                // The monitor deletes the finished tasks, which ends the replay
+                provisioner.runSteps(
+                    setupComputeService(serviceDomain = "compute.opendc.org", { computeScheduler }),
+                    registerComputeMonitor(
+                        serviceDomain = "compute.opendc.org",
+                        TestComputeMonitor(),
+                        exportInterval = Duration.ofMinutes(1),
+                        Duration.ofMillis(startTime),
+                    ),
+                    setupHosts(serviceDomain = "compute.opendc.org", topology, startTime),
+                )
+
+                val service = provisioner.registry.resolve("compute.opendc.org", ComputeService::class.java)!!
+                service.setTasksExpected(workload.size)
+                service.addMetricReader(provisioner.getMonitors())
+
+                val tasks =
+                    if (snapshot == null) {
+                        val copies = copiesOf(workload)
+                        service.replay(timeSource, copies)
+                        copies
+                    } else {
+                        service.replayFrom(timeSource, snapshot, workload)
+                    }
+
+                result = Pair(tasks.associate { it.id to it.finishedAt }, service.snapshot())
+            }
+        }
+
+        return checkNotNull(result)
+    }
+
+    /**
+     * Return copies of the tasks of [workload] that do not share their workloads with [workload].
+     */
+    private fun copiesOf(workload: List<ServiceTask>): List<ServiceTask> =
+        workload.map { task -> task.copy().also { it.workload = (task.workload as TraceWorkload).copy() } }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.experiments.base
+
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertAll
+import org.opendc.compute.simulator.provisioner.Provisioner
+import org.opendc.compute.simulator.provisioner.registerComputeMonitor
+import org.opendc.compute.simulator.provisioner.setupComputeService
+import org.opendc.compute.simulator.provisioner.setupHosts
+import org.opendc.compute.simulator.scheduler.FilterScheduler
+import org.opendc.compute.simulator.scheduler.filters.ComputeFilter
+import org.opendc.compute.simulator.scheduler.filters.RamFilter
+import org.opendc.compute.simulator.scheduler.filters.VCpuFilter
+import org.opendc.compute.simulator.scheduler.weights.CoreRamWeigher
+import org.opendc.compute.simulator.service.ComputeService
+import org.opendc.compute.simulator.service.ServiceTask
+import org.opendc.compute.topology.specs.ClusterSpec
+import org.opendc.experiments.base.runner.replay
+import org.opendc.simulator.compute.workload.trace.TraceFragment
+import org.opendc.simulator.compute.workload.trace.TraceWorkload
+import org.opendc.simulator.engine.engine.FlowTolerance
+import org.opendc.simulator.kotlin.runSimulation
+import java.time.Duration
+import java.util.ArrayList
+import java.util.Random
+import kotlin.math.abs
+
+/**
+ * Testing suite containing tests for the tolerance with which the flow engine compares flow rates.
+ */
+class ToleranceTest {
+    /**
+     * Tolerance test 1: Exact comparison
+     * A reference workload of tasks with fluctuating CPU usage is run with exact comparisons and with the default
+     * tolerance. The tasks should complete at the same moments, and the energy usage may differ by at most the
+     * default tolerance on the power draw of each host for the duration of the run.
+     */
+    @Test
+    fun testTolerance1() {
+        val workload = createReferenceWorkload()
+        val topology = createTopology("single_50_big.json")
+
+        val (exactTimes, exactMonitor) = runWithTolerance(topology, workload, FlowTolerance.of(0.0, 0.0))
+        val (defaultTimes, defaultMonitor) = runWithTolerance(topology, workload, FlowTolerance.DEFAULT)
+
+        val exactEnergy = exactMonitor.hostEnergyUsages.values.sumOf { it.sum() }
+        val defaultEnergy = defaultMonitor.hostEnergyUsages.values.sumOf { it.sum() }
+        val seconds = exactTimes.values.max() / 1000.0
+        // The power draw of a host may be off by the tolerance, where the hosts draw at most 400 W
+        val tolerance = FlowTolerance.DEFAULT
+        val bound = (tolerance.absolute + tolerance.relative * 400.0) * seconds * exactMonitor.hostEnergyUsages.size
+
+        assertAll(
+            { assertEquals(workload.size, exactTimes.size) { "Not every task completed" } },
+            { assertEquals(exactTimes, defaultTimes) { "The tasks completed at other moments" } },
+            { assertTrue(exactEnergy > 0.0) { "The hosts did not use any energy" } },
+            {
+                assertTrue(abs(exactEnergy - defaultEnergy) <= bound) {
+                    "The energy usage differs by ${abs(exactEnergy - defaultEnergy)} J, more than $bound J"
+                }
+            },
+        )
+    }
+
+    /**
+     * Create a reference workload of tasks whose CPU usage changes every few minutes.
+     */
+    private fun createReferenceWorkload(): List<ServiceTask> {
+        val random = Random(0)
+        return (0 until 40).map { id ->
+            val fragments = ArrayList<TraceFragment>()
+            repeat(1 + random.nextInt(10)) {
+                fragments.add(TraceFragment((1 + random.nextInt(5)) * 60 * 1000L, 100.0 + random.nextDouble() * 7900.0))
+            }
+
+            createTestTask(
+                id = id,
+                submissionTime = "1970-01-01T00:%02d".format(random.nextInt(30)),
+                fragments = fragments,
+                cpuCoreCount = 4,
+            )
+        }
+    }
+
+    /**
+     * Run [workload] on [topology] with a flow engine that compares flow rates with [tolerance], and return the
+     * moments at which the tasks completed together with the monitor of the run.
+     */
+    private fun runWithTolerance(
+        topology: List<ClusterSpec>,
+        workload: List<ServiceTask>,
+        tolerance: FlowTolerance,
+    ): Pair<Map<Int, Long>, TestComputeMonitor> {
+        val monitor = TestComputeMonitor()
+        val tasks = workload.map { task -> task.copy().also { it.workload = (task.workload as TraceWorkload).copy() } }
+
+        runSimulation {
+            Provisioner(dispatcher, 0L).use { provisioner ->
+                val computeScheduler =
+                    FilterScheduler(
+                        filters = listOf(ComputeFilter(), VCpuFilter(1.0), RamFilter(1.0)),
+                        weighers = listOf(CoreRamWeigher(multiplier = 1.0)),
+                    )
+                val startTime = workload.minOf { it.submittedAt }
+
+                provisioner.runSteps(
+                    setupComputeService(serviceDomain = "compute.opendc.org", { computeScheduler }),
+                    registerComputeMonitor(
+                        serviceDomain = "compute.opendc.org",
+                        monitor,
+                        exportInterval = Duration.ofMinutes(1),
+                        Duration.ofMillis(startTime),
+                    ),
+                    setupHosts(serviceDomain = "compute.opendc.org", topology, startTime, tolerance = tolerance),
+                )
+
+                val service = provisioner.registry.resolve("compute.opendc.org", ComputeService::class.java)!!
+                service.setTasksExpected(tasks.size)
+                service.addMetricReader(provisioner.getMonitors())
+
+                service.replay(timeSource, tasks)
+            }
+        }
+
+        return Pair(tasks.associate { it.id to it.finishedAt }, monitor)
+    }
+}
@@ -23,6 +23,7 @@
 package org.opendc.sdk.model.dsl
 
 import org.opendc.sdk.model.checkpoint.CheckpointSpec
+import org.opendc.sdk.model.experiment.EventQueueSpec
 import org.opendc.sdk.model.experiment.ExperimentSpec
 import org.opendc.sdk.model.experiment.ScenarioSpec
 import org.opendc.sdk.model.export.ExportSpec
@@ -64,6 +65,9 @@ public class ExperimentBuilder {
     /** The seed used to derive per-run random seeds. */
     public var initialSeed: Int = 0
 
+    /** The event queue implementation of the simulations. */
+    public var eventQueue: EventQueueSpec = EventQueueSpec.HEAP
+
     /** A human-readable name for the experiment. */
     public var name: String = ""
 
@@ -114,6 +118,7 @@ public class ExperimentBuilder {
             exportModels = exportModels.ifEmpty { setOf(ExportSpec()) }.toSet(),
             runs = runs,
             initialSeed = initialSeed,
+            eventQueue = eventQueue,
             name = name,
         )
 }
@@ -143,6 +148,9 @@ public class ScenarioBuilder {
     /** The seed used to derive per-run random seeds. */
     public var initialSeed: Int = 0
 
+    /** The event queue implementation of the simulation. */
+    public var eventQueue: EventQueueSpec = EventQueueSpec.HEAP
+
     /** A stable numeric identifier for the scenario. */
     public var id: Int = -1
 
@@ -174,7 +182,7 @@ public class ScenarioBuilder {
         val resolvedWorkload = workload ?: error("scenario requires a workload")
         return ScenarioSpec(
             resolvedTopology, resolvedWorkload, allocationPolicy, exportModel, failureModel,
-            checkpointModel, maxNumFailures, runs, initialSeed, id, name,
+            checkpointModel, maxNumFailures, runs, initialSeed, eventQueue, id, name,
         )
     }
 }
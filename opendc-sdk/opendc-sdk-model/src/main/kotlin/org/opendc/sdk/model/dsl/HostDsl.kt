@@ -126,5 +126,8 @@ public class PowerModelBuilder {
     /** Whether dynamic voltage and frequency scaling is modelled. */
     public var dvfs: Boolean = true
 
-    internal fun build(): PowerSpec = PowerSpec(type, maxPower, idlePower, power, calibrationFactor, asymUtil, dvfs)
+    /** Whether the model is evaluated through an interpolated lookup table. */
+    public var tabulated: Boolean = false
+
+    internal fun build(): PowerSpec = PowerSpec(type, maxPower, idlePower, power, calibrationFactor, asymUtil, dvfs, tabulated)
 }
@@ -22,6 +22,8 @@
 
 package org.opendc.sdk.model.dsl
 
+import org.opendc.sdk.model.scheduler.BinPackingAllocationPolicySpec
+import org.opendc.sdk.model.scheduler.BinPackingPolicySpec
 import org.opendc.sdk.model.scheduler.ComputeHostFilterSpec
 import org.opendc.sdk.model.scheduler.FilterAllocationPolicySpec
 import org.opendc.sdk.model.scheduler.HostFilterSpec
@@ -54,6 +56,14 @@ public fun filterScheduler(block: FilterSchedulerBuilder.() -> Unit): FilterAllo
 public fun timeShiftScheduler(block: TimeShiftSchedulerBuilder.() -> Unit): TimeShiftAllocationPolicySpec =
     TimeShiftSchedulerBuilder().apply(block).build()
 
+/**
+ * Builds a scheduler that packs all tasks pending in a scheduling cycle onto as few hosts as possible.
+ *
+ * @param block Configures the scheduler through a [BinPackingSchedulerBuilder].
+ */
+public fun binPackingScheduler(block: BinPackingSchedulerBuilder.() -> Unit): BinPackingAllocationPolicySpec =
+    BinPackingSchedulerBuilder().apply(block).build()
+
 /** Collects the filters, weighers, and subset size of a [FilterAllocationPolicySpec]. */
 @SdkDsl
 public class FilterSchedulerBuilder {
@@ -63,6 +73,9 @@ public class FilterSchedulerBuilder {
     /** The size of the top-ranked subset sampled from for placement. */
     public var subsetSize: Int = 1
 
+    /** Whether all tasks pending in a scheduling cycle are scheduled as one batch. */
+    public var batch: Boolean = false
+
     public fun filter(filter: HostFilterSpec) {
         filters += filter
     }
@@ -73,7 +86,25 @@ public class FilterSchedulerBuilder {
 
     internal fun build(): FilterAllocationPolicySpec {
         val resolvedFilters = filters.ifEmpty { listOf(ComputeHostFilterSpec) }
-        return FilterAllocationPolicySpec(resolvedFilters, weighers.toList(), subsetSize)
+        return FilterAllocationPolicySpec(resolvedFilters, weighers.toList(), subsetSize, batch)
+    }
+}
+
+/** Collects the filters and policy of a [BinPackingAllocationPolicySpec]. */
+@SdkDsl
+public class BinPackingSchedulerBuilder {
+    private val filters = mutableListOf<HostFilterSpec>()
+
+    /** The rule by which a task is placed among the eligible hosts. */
+    public var policy: BinPackingPolicySpec = BinPackingPolicySpec.FirstFitDecreasing
+
+    public fun filter(filter: HostFilterSpec) {
+        filters += filter
+    }
+
+    internal fun build(): BinPackingAllocationPolicySpec {
+        val resolvedFilters = filters.ifEmpty { listOf(ComputeHostFilterSpec) }
+        return BinPackingAllocationPolicySpec(resolvedFilters, policy)
     }
 }
 
@@ -27,6 +27,7 @@ import org.opendc.sdk.model.resource.ResourceReference
 import org.opendc.sdk.model.topology.BatteryPolicy
 import org.opendc.sdk.model.topology.BatterySpec
 import org.opendc.sdk.model.topology.ClusterSpec
+import org.opendc.sdk.model.topology.GridRegionSpec
 import org.opendc.sdk.model.topology.HostSpec
 import org.opendc.sdk.model.topology.PowerSourceSpec
 import org.opendc.sdk.model.topology.TopologySpec
@@ -38,25 +39,37 @@ import org.opendc.sdk.model.topology.TopologySpec
  */
 public fun topology(block: TopologyBuilder.() -> Unit): TopologySpec = TopologyBuilder().apply(block).build()
 
-/** Collects the clusters composing a [TopologySpec]. */
+/** Collects the clusters and grid regions composing a [TopologySpec]. */
 @SdkDsl
 public class TopologyBuilder {
     private val clusters = mutableListOf<ClusterSpec>()
+    private val regions = mutableListOf<GridRegionSpec>()
+
+    /**
+     * Declares a grid region whose [carbon] trace is shared by the clusters that reference it by [name].
+     */
+    public fun region(
+        name: String,
+        carbon: ResourceReference,
+    ) {
+        regions += GridRegionSpec(name, carbon)
+    }
 
     public fun cluster(
         name: String = "Cluster",
         count: Int = 1,
+        region: String? = null,
         block: ClusterBuilder.() -> Unit,
     ) {
-        clusters += ClusterBuilder(name, count).apply(block).build()
+        clusters += ClusterBuilder(name, count, region).apply(block).build()
     }
 
-    internal fun build(): TopologySpec = TopologySpec(clusters.toList())
+    internal fun build(): TopologySpec = TopologySpec(clusters.toList(), regions.toList())
 }
 
 /** Collects the hosts, power source, and optional battery of a [ClusterSpec]. */
 @SdkDsl
-public class ClusterBuilder(private val name: String, private val count: Int) {
+public class ClusterBuilder(private val name: String, private val count: Int, private val region: String? = null) {
     private val hosts = mutableListOf<HostSpec>()
     private var powerSource: PowerSourceSpec = PowerSourceSpec()
     private var battery: BatterySpec? = null
@@ -89,5 +102,5 @@ public class ClusterBuilder(private val name: String, private val count: Int) {
         battery = BatterySpec(name, capacity, chargingSpeed, initialCharge, policy, embodiedCarbon, expectedLifetime)
     }
 
-    internal fun build(): ClusterSpec = ClusterSpec(name, count, hosts.toList(), powerSource, battery)
+    internal fun build(): ClusterSpec = ClusterSpec(name, count, hosts.toList(), powerSource, battery, region)
 }
@@ -26,10 +26,12 @@ import org.opendc.common.units.DataSize
 import org.opendc.common.units.Frequency
 import org.opendc.common.units.TimeDelta
 import org.opendc.sdk.model.resource.ResourceReference
+import org.opendc.sdk.model.workload.FragmentCoalescingSpec
 import org.opendc.sdk.model.workload.InlineWorkloadSpec
 import org.opendc.sdk.model.workload.ScalingPolicySpec
 import org.opendc.sdk.model.workload.TaskFragmentSpec
 import org.opendc.sdk.model.workload.TaskSpec
+import org.opendc.sdk.model.workload.TraceWindowSpec
 import org.opendc.sdk.model.workload.TraceWorkloadSpec
 
 /**
@@ -43,7 +45,9 @@ public fun traceWorkload(
     submissionTime: String? = null,
     scalingPolicy: ScalingPolicySpec = ScalingPolicySpec.NoDelay,
     deferAll: Boolean = false,
-): TraceWorkloadSpec = TraceWorkloadSpec(source, sampleFraction, submissionTime, scalingPolicy, deferAll)
+    coalescing: FragmentCoalescingSpec? = null,
+    window: TraceWindowSpec? = null,
+): TraceWorkloadSpec = TraceWorkloadSpec(source, sampleFraction, submissionTime, scalingPolicy, deferAll, coalescing, window)
 
 /**
  * Builds an [InlineWorkloadSpec] from tasks defined directly in the [block].
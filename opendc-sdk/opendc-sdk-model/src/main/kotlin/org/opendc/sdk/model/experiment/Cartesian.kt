@@ -61,6 +61,7 @@ public fun ExperimentSpec.expand(): List<ScenarioSpec> {
             maxNumFailures = maxFailures,
             runs = runs,
             initialSeed = initialSeed,
+            eventQueue = eventQueue,
             id = i,
             name = i.toString(),
         )
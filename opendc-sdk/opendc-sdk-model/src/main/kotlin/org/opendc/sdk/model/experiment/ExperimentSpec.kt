@@ -47,6 +47,7 @@ import org.opendc.sdk.model.workload.WorkloadSpec
  * @property exportModels The candidate export configurations.
  * @property runs The number of independent repetitions per scenario.
  * @property initialSeed The seed used to derive per-run random seeds.
+ * @property eventQueue The event queue implementation of the simulations.
  * @property name A human-readable name for the experiment.
  */
 @Serializable
@@ -60,6 +61,7 @@ public data class ExperimentSpec(
     public val exportModels: Set<ExportSpec> = setOf(ExportSpec()),
     public val runs: Int = 1,
     public val initialSeed: Int = 0,
+    public val eventQueue: EventQueueSpec = EventQueueSpec.HEAP,
     public val name: String = "",
 ) : Validatable {
     override fun validate(): List<ValidationIssue> =
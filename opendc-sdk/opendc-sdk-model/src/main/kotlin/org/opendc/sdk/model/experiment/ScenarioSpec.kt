@@ -46,6 +46,7 @@ import org.opendc.sdk.model.workload.WorkloadSpec
  * @property maxNumFailures The maximum number of failures a task may survive before it is terminated.
  * @property runs The number of independent repetitions of this scenario.
  * @property initialSeed The seed used to derive per-run random seeds.
+ * @property eventQueue The event queue implementation of the simulation.
  * @property id A stable numeric identifier for the scenario.
  * @property name A human-readable name for the scenario.
  */
@@ -60,6 +61,7 @@ public data class ScenarioSpec(
     public val maxNumFailures: Int = 10,
     public val runs: Int = 1,
     public val initialSeed: Int = 0,
+    public val eventQueue: EventQueueSpec = EventQueueSpec.HEAP,
     public val id: Int = -1,
     public val name: String = "",
 ) : Validatable {
@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.sdk.model.export
+
+import kotlinx.serialization.SerialName
+import kotlinx.serialization.Serializable
+
+/** What the output writers do when they cannot keep up with the simulation. */
+@Serializable
+public enum class BackPressureSpec {
+    /** Pause the simulation until the writer has room for the metrics. No metrics are lost. */
+    @SerialName("block")
+    BLOCK,
+
+    /** Discard the metrics that do not fit in the writer's buffer; the number of discarded rows is logged. */
+    @SerialName("drop")
+    DROP,
+
+    /** Never pause nor discard, buffering the metrics in memory while the writer lags behind. */
+    @SerialName("unbounded")
+    UNBOUNDED,
+}
@@ -34,6 +34,7 @@ import org.opendc.sdk.model.validation.ValidationIssue
  * @property printFrequency Number of snapshots between progress prints, or `null` to disable printing.
  * @property columns Per-output-file column selections.
  * @property filesToExport Output files to produce.
+ * @property backPressure What the output writers do when they cannot keep up with the simulation.
  */
 @Serializable
 public data class ExportSpec(
@@ -41,6 +42,7 @@ public data class ExportSpec(
     public val printFrequency: Int? = 24,
     public val columns: ExportColumnsSpec = ExportColumnsSpec(),
     public val filesToExport: List<OutputFileSpec> = OutputFileSpec.entries.toList(),
+    public val backPressure: BackPressureSpec = BackPressureSpec.BLOCK,
 ) : Validatable {
     override fun validate(): List<ValidationIssue> =
         buildList {
@@ -52,6 +52,8 @@ public data class PrefabAllocationPolicySpec(public val prefabName: SchedulerNam
  * @property filters The eligibility predicates applied to candidate hosts.
  * @property weighers The scorers used to rank the remaining candidates.
  * @property subsetSize The size of the top-ranked subset sampled from for placement.
+ * @property batch Whether all tasks pending in a scheduling cycle are scheduled as one batch, which shares the
+ * filter pass between tasks with the same resource demands without changing the placements.
  */
 @Serializable
 @SerialName("filter")
@@ -59,6 +61,7 @@ public data class FilterAllocationPolicySpec(
     public val filters: List<HostFilterSpec> = listOf(ComputeHostFilterSpec),
     public val weighers: List<HostWeigherSpec> = emptyList(),
     public val subsetSize: Int = 1,
+    public val batch: Boolean = false,
 ) : AllocationPolicySpec {
     override fun validate(): List<ValidationIssue> =
         buildList {
@@ -68,8 +71,24 @@ public data class FilterAllocationPolicySpec(
         }
 }
 
+/**
+ * Packs all tasks pending in a scheduling cycle onto as few hosts as possible, largest tasks first.
+ *
+ * @property filters The eligibility predicates applied to candidate hosts.
+ * @property policy The rule by which a task is placed among the eligible hosts.
+ */
+@Serializable
+@SerialName("binpacking")
+public data class BinPackingAllocationPolicySpec(
+    public val filters: List<HostFilterSpec> = listOf(ComputeHostFilterSpec),
+    public val policy: BinPackingPolicySpec = BinPackingPolicySpec.FirstFitDecreasing,
+) : AllocationPolicySpec {
+    override fun validate(): List<ValidationIssue> = filters.validateEach("filters")
+}
+
 /**
  * A filter-and-weigh scheduler that defers tasks based on a (forecasted) carbon signal.
+ * The carbon signal comes from a single carbon trace, so topologies with several carbon traces are rejected.
  *
  * @property filters The eligibility predicates applied to candidate hosts.
  * @property weighers The scorers used to rank the remaining candidates.
@@ -35,6 +35,7 @@ import org.opendc.sdk.model.validation.validateEach
  * @property hosts Hosts contained in the cluster.
  * @property powerSource Power source feeding the cluster.
  * @property battery Optional battery buffering the power source.
+ * @property region Name of the [GridRegionSpec] the cluster draws power from, whose carbon trace the power source uses.
  */
 @Serializable
 public data class ClusterSpec(
@@ -43,10 +44,14 @@ public data class ClusterSpec(
     public val hosts: List<HostSpec>,
     public val powerSource: PowerSourceSpec = PowerSourceSpec(),
     public val battery: BatterySpec? = null,
+    public val region: String? = null,
 ) : Validatable {
     override fun validate(): List<ValidationIssue> =
         buildList {
             if (hosts.isEmpty()) add(ValidationIssue("hosts", "must not be empty"))
+            if (region != null && powerSource.carbon != null) {
+                add(ValidationIssue("powerSource.carbon", "must not be set for a cluster in a region"))
+            }
             addAll(hosts.validateEach("hosts"))
         }
 }
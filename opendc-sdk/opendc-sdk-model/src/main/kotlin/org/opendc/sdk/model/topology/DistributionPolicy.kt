@@ -36,6 +36,14 @@ public sealed interface DistributionPolicy
 @SerialName("maxMinFairness")
 public data object MaxMinFairness : DistributionPolicy
 
+/**
+ * Distributes capacity like [MaxMinFairness], but updates the shares incrementally when a single consumer changes its
+ * demand. Intended for hosts with many consumers.
+ */
+@Serializable
+@SerialName("incrementalMaxMinFairness")
+public data object IncrementalMaxMinFairness : DistributionPolicy
+
 /**
  * Distributes capacity opportunistically, refreshing shares on a fixed cadence.
  *
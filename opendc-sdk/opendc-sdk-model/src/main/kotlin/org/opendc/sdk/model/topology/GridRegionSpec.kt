@@ -0,0 +1,47 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.sdk.model.topology
+
+import kotlinx.serialization.Serializable
+import org.opendc.sdk.model.resource.ResourceReference
+import org.opendc.sdk.model.validation.Validatable
+import org.opendc.sdk.model.validation.ValidationIssue
+
+/**
+ * A grid region whose carbon-intensity trace is shared by all clusters that reference it.
+ *
+ * The trace of a region is loaded once per run, however many clusters draw power from the region.
+ *
+ * @property name The name clusters use to reference the region; it also tags the exported rows of those clusters.
+ * @property carbon The carbon-intensity trace of the region.
+ */
+@Serializable
+public data class GridRegionSpec(
+    public val name: String,
+    public val carbon: ResourceReference,
+) : Validatable {
+    override fun validate(): List<ValidationIssue> =
+        buildList {
+            if (name.isBlank()) add(ValidationIssue("name", "must not be blank"))
+        }
+}
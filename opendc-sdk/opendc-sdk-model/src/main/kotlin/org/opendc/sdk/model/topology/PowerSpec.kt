@@ -63,6 +63,8 @@ public enum class PowerModelType {
  * @property calibrationFactor Multiplier applied to the modelled power draw, used by [PowerModelType.MSE].
  * @property asymUtil Asymptotic utilization parameter, used by [PowerModelType.ASYMPTOTIC].
  * @property dvfs Whether dynamic voltage and frequency scaling is modelled, used by [PowerModelType.ASYMPTOTIC].
+ * @property tabulated Whether the model is evaluated through an interpolated lookup table, which is only used when it
+ * stays within 1 mW of the model.
  */
 @Serializable
 public data class PowerSpec(
@@ -73,6 +75,7 @@ public data class PowerSpec(
     public val calibrationFactor: Double = 1.0,
     public val asymUtil: Double = 0.0,
     public val dvfs: Boolean = true,
+    public val tabulated: Boolean = false,
 ) : Validatable {
     override fun validate(): List<ValidationIssue> =
         buildList {
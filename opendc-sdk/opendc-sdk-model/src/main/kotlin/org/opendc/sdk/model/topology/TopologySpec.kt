@@ -31,12 +31,27 @@ import org.opendc.sdk.model.validation.validateEach
  * The datacenter a scenario runs on, described as a list of clusters.
  *
  * @property clusters Clusters composing the datacenter.
+ * @property regions Grid regions the clusters draw power from, each with a carbon trace shared by its clusters.
  */
 @Serializable
-public data class TopologySpec(public val clusters: List<ClusterSpec>) : Validatable {
+public data class TopologySpec(
+    public val clusters: List<ClusterSpec>,
+    public val regions: List<GridRegionSpec> = emptyList(),
+) : Validatable {
     override fun validate(): List<ValidationIssue> =
         buildList {
             if (clusters.isEmpty()) add(ValidationIssue("clusters", "must not be empty"))
             addAll(clusters.validateEach("clusters"))
+            addAll(regions.validateEach("regions"))
+
+            val names = mutableSetOf<String>()
+            regions.forEachIndexed { i, region ->
+                if (!names.add(region.name)) add(ValidationIssue("regions[$i].name", "must be unique"))
+            }
+            clusters.forEachIndexed { i, cluster ->
+                if (cluster.region != null && cluster.region !in names) {
+                    add(ValidationIssue("clusters[$i].region", "must reference a declared region"))
+                }
+            }
         }
 }
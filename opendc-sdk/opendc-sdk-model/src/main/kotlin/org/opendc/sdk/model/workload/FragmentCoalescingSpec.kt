@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.sdk.model.workload
+
+import kotlinx.serialization.Serializable
+import org.opendc.common.units.Frequency
+import org.opendc.sdk.model.validation.Validatable
+import org.opendc.sdk.model.validation.ValidationIssue
+
+/**
+ * Merges runs of adjacent trace fragments with (near-)identical usage when a trace is loaded, such that the
+ * simulation processes fewer fragment transitions. The merged fragment uses the duration-weighted mean usage of the
+ * run, so the total load of every task is preserved.
+ *
+ * @property epsilon Maximum difference in CPU and GPU usage between merged fragments. Zero only merges fragments with
+ * identical usage, which leaves the demand of every task unchanged.
+ */
+@Serializable
+public data class FragmentCoalescingSpec(
+    public val epsilon: Frequency = Frequency.ofMHz(0),
+) : Validatable {
+    override fun validate(): List<ValidationIssue> =
+        buildList {
+            if (epsilon.toMHz() < 0.0) add(ValidationIssue("epsilon", "must not be negative"))
+        }
+}
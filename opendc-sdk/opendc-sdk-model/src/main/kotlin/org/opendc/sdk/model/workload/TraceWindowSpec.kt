@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.sdk.model.workload
+
+import kotlinx.serialization.Serializable
+import org.opendc.sdk.model.validation.Validatable
+import org.opendc.sdk.model.validation.ValidationIssue
+import java.time.LocalDateTime
+import java.time.format.DateTimeParseException
+
+/**
+ * Restricts a trace workload to the tasks submitted within a time window. The window is pushed down into the trace
+ * reader, so the parts of the trace outside the window are skipped instead of being parsed and discarded.
+ *
+ * @property from Optional ISO-8601 local date-time (in UTC) of the first submission time to load. When `null` the
+ * window starts at the beginning of the trace.
+ * @property until Optional ISO-8601 local date-time (in UTC) at which the window ends (exclusive). When `null` the
+ * window continues until the end of the trace.
+ */
+@Serializable
+public data class TraceWindowSpec(
+    public val from: String? = null,
+    public val until: String? = null,
+) : Validatable {
+    override fun validate(): List<ValidationIssue> =
+        buildList {
+            val start = from?.let(::parseDateTime)
+            val end = until?.let(::parseDateTime)
+
+            if (from != null && start == null) add(ValidationIssue("from", "must be an ISO-8601 local date-time"))
+            if (until != null && end == null) add(ValidationIssue("until", "must be an ISO-8601 local date-time"))
+            if (start != null && end != null && start >= end) add(ValidationIssue("until", "must lie after from"))
+        }
+
+    private fun parseDateTime(value: String): LocalDateTime? =
+        try {
+            LocalDateTime.parse(value)
+        } catch (_: DateTimeParseException) {
+            null
+        }
+}
@@ -27,6 +27,7 @@ import kotlinx.serialization.Serializable
 import org.opendc.sdk.model.resource.ResourceReference
 import org.opendc.sdk.model.validation.Validatable
 import org.opendc.sdk.model.validation.ValidationIssue
+import org.opendc.sdk.model.validation.prefixed
 import org.opendc.sdk.model.validation.validateEach
 
 /**
@@ -45,6 +46,8 @@ public sealed interface WorkloadSpec : Validatable {
  * @property submissionTime Optional ISO-8601 local date-time used as the workload start.
  * @property scalingPolicy How tasks react to resource contention.
  * @property deferAll Whether every task should be treated as deferrable.
+ * @property coalescing Optional stage that merges adjacent fragments with (near-)identical usage on load.
+ * @property window Optional time window that restricts loading to the tasks submitted within it.
  */
 @Serializable
 @SerialName("trace")
@@ -54,10 +57,14 @@ public data class TraceWorkloadSpec(
     public val submissionTime: String? = null,
     public val scalingPolicy: ScalingPolicySpec = ScalingPolicySpec.NoDelay,
     public val deferAll: Boolean = false,
+    public val coalescing: FragmentCoalescingSpec? = null,
+    public val window: TraceWindowSpec? = null,
 ) : WorkloadSpec {
     override fun validate(): List<ValidationIssue> =
         buildList {
             if (sampleFraction <= 0.0) add(ValidationIssue("sampleFraction", "must be greater than zero"))
+            addAll(coalescing?.validate().orEmpty().prefixed("coalescing"))
+            addAll(window?.validate().orEmpty().prefixed("window"))
         }
 }
 
@@ -35,6 +35,8 @@ import org.opendc.sdk.model.failure.TraceBasedFailureSpec
 import org.opendc.sdk.model.resource.NamedReference
 import org.opendc.sdk.model.sampleTopology
 import org.opendc.sdk.model.sampleWorkload
+import org.opendc.sdk.model.scheduler.BinPackingAllocationPolicySpec
+import org.opendc.sdk.model.scheduler.BinPackingPolicySpec
 import org.opendc.sdk.model.scheduler.ComputeHostFilterSpec
 import org.opendc.sdk.model.scheduler.CoreRamWeigherSpec
 import org.opendc.sdk.model.scheduler.FilterAllocationPolicySpec
@@ -50,7 +52,10 @@ import org.opendc.sdk.model.topology.DoubleThresholdPolicy
 import org.opendc.sdk.model.topology.EqualShare
 import org.opendc.sdk.model.topology.FixedShare
 import org.opendc.sdk.model.topology.PowerModelType
+import org.opendc.sdk.model.workload.FragmentCoalescingSpec
 import org.opendc.sdk.model.workload.ScalingPolicySpec
+import org.opendc.sdk.model.workload.TraceWindowSpec
+import org.opendc.sdk.model.workload.TraceWorkloadSpec
 import kotlin.test.assertEquals
 
 /**
@@ -118,6 +123,26 @@ class DslTest {
         assertEquals(sampleWorkload, built)
     }
 
+    @Test
+    fun `trace workload DSL with coalescing equals constructor-built workload`() {
+        val built = traceWorkload(NamedReference("trace"), coalescing = FragmentCoalescingSpec(epsilon = 5.mhz))
+
+        assertEquals(
+            TraceWorkloadSpec(source = NamedReference("trace"), coalescing = FragmentCoalescingSpec(Frequency.ofMHz(5))),
+            built,
+        )
+    }
+
+    @Test
+    fun `trace workload DSL with window equals constructor-built workload`() {
+        val built = traceWorkload(NamedReference("trace"), window = TraceWindowSpec(from = "2024-01-01T00:00:00"))
+
+        assertEquals(
+            TraceWorkloadSpec(source = NamedReference("trace"), window = TraceWindowSpec("2024-01-01T00:00:00", null)),
+            built,
+        )
+    }
+
     @Test
     fun `filter scheduler DSL equals constructor-built policy`() {
         val built =
@@ -139,6 +164,32 @@ class DslTest {
         assertEquals(FilterAllocationPolicySpec(listOf(ComputeHostFilterSpec), listOf(RamWeigherSpec()), 1), built)
     }
 
+    @Test
+    fun `batch filter scheduler DSL equals constructor-built policy`() {
+        val built =
+            filterScheduler {
+                batch = true
+                weigher(RamWeigherSpec())
+            }
+
+        assertEquals(FilterAllocationPolicySpec(listOf(ComputeHostFilterSpec), listOf(RamWeigherSpec()), 1, batch = true), built)
+    }
+
+    @Test
+    fun `bin-packing scheduler DSL equals constructor-built policy`() {
+        val built =
+            binPackingScheduler {
+                policy = BinPackingPolicySpec.BestFitDecreasing
+                filter(VCpuFilterSpec(1.0))
+                filter(RamFilterSpec(1.0))
+            }
+
+        val expected =
+            BinPackingAllocationPolicySpec(listOf(VCpuFilterSpec(1.0), RamFilterSpec(1.0)), BinPackingPolicySpec.BestFitDecreasing)
+        assertEquals(expected, built)
+        assertEquals(BinPackingAllocationPolicySpec(), binPackingScheduler {})
+    }
+
     @Test
     fun `time-shift scheduler DSL equals constructor-built policy`() {
         val built =
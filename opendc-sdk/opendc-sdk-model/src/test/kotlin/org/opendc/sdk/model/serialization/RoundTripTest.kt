@@ -88,6 +88,7 @@ import org.opendc.sdk.model.topology.DoubleThresholdPolicy
 import org.opendc.sdk.model.topology.EqualShare
 import org.opendc.sdk.model.topology.FirstFit
 import org.opendc.sdk.model.topology.FixedShare
+import org.opendc.sdk.model.topology.IncrementalMaxMinFairness
 import org.opendc.sdk.model.topology.MaxMinFairness
 import org.opendc.sdk.model.topology.NoVirtualizationOverheadSpec
 import org.opendc.sdk.model.topology.RunningMeanPlusPolicy
@@ -323,6 +324,7 @@ class RoundTripTest {
         val policies: List<DistributionPolicy> =
             listOf(
                 MaxMinFairness,
+                IncrementalMaxMinFairness,
                 BestEffort(updateIntervalMs = 2000),
                 EqualShare,
                 FirstFit,
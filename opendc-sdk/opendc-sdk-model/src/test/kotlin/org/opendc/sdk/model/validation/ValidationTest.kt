@@ -37,12 +37,17 @@ import org.opendc.sdk.model.scheduler.InstanceCountFilterSpec
 import org.opendc.sdk.model.scheduler.TaskStopperSpec
 import org.opendc.sdk.model.topology.ClusterSpec
 import org.opendc.sdk.model.topology.CpuSpec
+import org.opendc.sdk.model.topology.GridRegionSpec
 import org.opendc.sdk.model.topology.HostSpec
+import org.opendc.sdk.model.topology.PowerSourceSpec
 import org.opendc.sdk.model.topology.PowerSpec
 import org.opendc.sdk.model.topology.TopologySpec
 import org.opendc.sdk.model.validExperiment
+import org.opendc.sdk.model.validHost
 import org.opendc.sdk.model.validMemory
 import org.opendc.sdk.model.validTask
+import org.opendc.sdk.model.workload.FragmentCoalescingSpec
+import org.opendc.sdk.model.workload.TraceWindowSpec
 import org.opendc.sdk.model.workload.TraceWorkloadSpec
 import kotlin.test.assertContains
 import kotlin.test.assertEquals
@@ -62,6 +67,40 @@ class ValidationTest {
         assertEquals("must be greater than zero", issues.messageAt("sampleFraction"))
     }
 
+    @Test
+    fun `trace workload with negative coalescing epsilon reports coalescing epsilon`() {
+        val workload =
+            TraceWorkloadSpec(source = NamedReference("trace"), coalescing = FragmentCoalescingSpec(Frequency.ofMHz(-1)))
+
+        val issues = assertDoesNotThrow { workload.validate() }
+
+        assertEquals("must not be negative", issues.messageAt("coalescing.epsilon"))
+    }
+
+    @Test
+    fun `trace workload with malformed window reports window bounds`() {
+        val workload =
+            TraceWorkloadSpec(source = NamedReference("trace"), window = TraceWindowSpec(from = "yesterday", until = "2024-01-01"))
+
+        val issues = assertDoesNotThrow { workload.validate() }
+
+        assertEquals("must be an ISO-8601 local date-time", issues.messageAt("window.from"))
+        assertEquals("must be an ISO-8601 local date-time", issues.messageAt("window.until"))
+    }
+
+    @Test
+    fun `trace workload with inverted window reports window until`() {
+        val workload =
+            TraceWorkloadSpec(
+                source = NamedReference("trace"),
+                window = TraceWindowSpec(from = "2024-01-02T00:00:00", until = "2024-01-01T00:00:00"),
+            )
+
+        val issues = assertDoesNotThrow { workload.validate() }
+
+        assertEquals("must lie after from", issues.messageAt("window.until"))
+    }
+
     @Test
     fun `filter allocation policy with zero subsetSize reports subsetSize`() {
         val policy = FilterAllocationPolicySpec(subsetSize = 0)
@@ -169,6 +208,46 @@ class ValidationTest {
         assertTrue(issues.any { it.path.contains("clusters[0].hosts[0].cpu") })
     }
 
+    @Test
+    fun `cluster referencing an undeclared region reports region`() {
+        val topology =
+            TopologySpec(
+                clusters = listOf(ClusterSpec(hosts = listOf(validHost), region = "NL")),
+                regions = listOf(GridRegionSpec("BE", NamedReference("carbon/BE"))),
+            )
+
+        val issues = assertDoesNotThrow { topology.validate() }
+
+        assertEquals("must reference a declared region", issues.messageAt("clusters[0].region"))
+    }
+
+    @Test
+    fun `duplicate region names report region name`() {
+        val topology =
+            TopologySpec(
+                clusters = listOf(ClusterSpec(hosts = listOf(validHost), region = "BE")),
+                regions = listOf(GridRegionSpec("BE", NamedReference("carbon/BE")), GridRegionSpec("BE", NamedReference("carbon/NL"))),
+            )
+
+        val issues = assertDoesNotThrow { topology.validate() }
+
+        assertEquals("must be unique", issues.messageAt("regions[1].name"))
+    }
+
+    @Test
+    fun `cluster in a region with its own carbon trace reports powerSource carbon`() {
+        val cluster =
+            ClusterSpec(
+                hosts = listOf(validHost),
+                powerSource = PowerSourceSpec(carbon = NamedReference("carbon/NL")),
+                region = "BE",
+            )
+
+        val issues = assertDoesNotThrow { cluster.validate() }
+
+        assertEquals("must not be set for a cluster in a region", issues.messageAt("powerSource.carbon"))
+    }
+
     private fun List<ValidationIssue>.paths(): List<String> = map { it.path }
 
     private fun List<ValidationIssue>.messageAt(path: String): String? = firstOrNull { it.path == path }?.message
@@ -17,10 +17,10 @@ dependencies {
     implementation(project(":opendc-compute:opendc-compute-workload"))
     implementation(project(":opendc-compute:opendc-compute-carbon"))
     implementation(project(":opendc-compute:opendc-compute-failure"))
+    implementation(project(":opendc-trace:opendc-trace-parquet"))
     implementation(libs.commons.math3)
     implementation(libs.kotlinx.coroutines)
 
-    testImplementation(project(":opendc-trace:opendc-trace-parquet"))
     testImplementation(libs.kotlinx.serialization.json)
     testRuntimeOnly(libs.log4j.core)
     testRuntimeOnly(libs.log4j.slf4j)
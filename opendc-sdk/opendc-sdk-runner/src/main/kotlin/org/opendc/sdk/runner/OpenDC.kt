@@ -44,7 +44,7 @@ import java.util.concurrent.ForkJoinPool
  * val report = OpenDC.builder()
  *     .provisioner(FileSystemResourceProvisioner(inputRoot))
  *     .output(outputRoot)      // parquet
- *     .sink(InMemorySink())    // typed in-memory metrics
+ *     .sink(ColumnarSink())    // columnar in-memory metrics
  *     .build()
  *     .simulate(experiment)
  * ```
@@ -24,16 +24,23 @@ package org.opendc.sdk.runner
 
 import org.opendc.sdk.model.experiment.ScenarioSpec
 import org.opendc.sdk.runner.sink.CollectedMetrics
+import org.opendc.sdk.runner.sink.ColumnarMetrics
 import org.opendc.sdk.runner.sink.ParquetOutput
 import org.opendc.sdk.runner.sink.SinkResult
 import java.nio.file.Path
 
 /**
  * The outcome of a [OpenDC.simulate] call: one [ScenarioResult] per scenario that was run.
+ *
+ * Closing the report releases the temporary files of the [ColumnarMetrics] of its runs.
  */
-public data class SimulationReport(public val scenarios: List<ScenarioResult>) {
+public data class SimulationReport(public val scenarios: List<ScenarioResult>) : AutoCloseable {
     /** Every run across every scenario, flattened. */
     public val runs: List<RunResult> get() = scenarios.flatMap { it.runs }
+
+    override fun close() {
+        runs.forEach { run -> run.results.filterIsInstance<ColumnarMetrics>().forEach { it.close() } }
+    }
 }
 
 /**
@@ -62,4 +69,7 @@ public data class RunResult(
 
     /** The metrics captured in memory, if an [org.opendc.sdk.runner.sink.InMemorySink] was configured. */
     public val metrics: CollectedMetrics? get() = results.filterIsInstance<CollectedMetrics>().firstOrNull()
+
+    /** The metrics captured in columns, if a [org.opendc.sdk.runner.sink.ColumnarSink] was configured. */
+    public val columnarMetrics: ColumnarMetrics? get() = results.filterIsInstance<ColumnarMetrics>().firstOrNull()
 }
@@ -23,15 +23,22 @@
 package org.opendc.sdk.runner.executor
 
 import org.opendc.compute.simulator.telemetry.ComputeMonitor
+import org.opendc.compute.simulator.telemetry.table.battery.BatteryTableBatch
 import org.opendc.compute.simulator.telemetry.table.battery.BatteryTableReader
+import org.opendc.compute.simulator.telemetry.table.host.HostTableBatch
 import org.opendc.compute.simulator.telemetry.table.host.HostTableReader
+import org.opendc.compute.simulator.telemetry.table.powerSource.PowerSourceTableBatch
 import org.opendc.compute.simulator.telemetry.table.powerSource.PowerSourceTableReader
 import org.opendc.compute.simulator.telemetry.table.service.ServiceTableReader
+import org.opendc.compute.simulator.telemetry.table.task.TaskTableBatch
 import org.opendc.compute.simulator.telemetry.table.task.TaskTableReader
 
 /**
  * Fans every metric record out to all [monitors] and closes any that are [AutoCloseable] when the
  * run ends. This is how parquet, in-memory and callback sinks observe a single run together.
+ *
+ * Batches are forwarded as-is, so monitors that fall back to per-row records share one snapshot
+ * of each row instead of each taking their own copy.
  */
 internal class CompositeComputeMonitor(private val monitors: List<ComputeMonitor>) : ComputeMonitor, AutoCloseable {
     override fun record(reader: TaskTableReader): Unit = monitors.forEach { it.record(reader) }
@@ -44,5 +51,13 @@ internal class CompositeComputeMonitor(private val monitors: List<ComputeMonitor
 
     override fun record(reader: ServiceTableReader): Unit = monitors.forEach { it.record(reader) }
 
+    override fun record(batch: TaskTableBatch): Unit = monitors.forEach { it.record(batch) }
+
+    override fun record(batch: HostTableBatch): Unit = monitors.forEach { it.record(batch) }
+
+    override fun record(batch: PowerSourceTableBatch): Unit = monitors.forEach { it.record(batch) }
+
+    override fun record(batch: BatteryTableBatch): Unit = monitors.forEach { it.record(batch) }
+
     override fun close(): Unit = monitors.forEach { if (it is AutoCloseable) it.close() }
 }
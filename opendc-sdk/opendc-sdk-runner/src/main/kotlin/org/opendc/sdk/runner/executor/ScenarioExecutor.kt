@@ -22,6 +22,7 @@
 
 package org.opendc.sdk.runner.executor
 
+import org.opendc.common.util.EventQueueType
 import org.opendc.compute.simulator.provisioner.Provisioner
 import org.opendc.compute.simulator.provisioner.ProvisioningContext
 import org.opendc.compute.simulator.provisioner.registerComputeMonitor
@@ -31,6 +32,7 @@ import org.opendc.compute.simulator.scheduler.ComputeScheduler
 import org.opendc.compute.simulator.service.ComputeService
 import org.opendc.compute.simulator.telemetry.OutputFiles
 import org.opendc.compute.topology.specs.ClusterSpec
+import org.opendc.sdk.model.experiment.EventQueueSpec
 import org.opendc.sdk.model.experiment.ScenarioSpec
 import org.opendc.sdk.model.resource.ResourceProvisioner
 import org.opendc.sdk.model.scheduler.TimeShiftAllocationPolicySpec
@@ -43,6 +45,7 @@ import org.opendc.sdk.runner.factory.toServiceTasks
 import org.opendc.sdk.runner.sink.OutputSink
 import org.opendc.sdk.runner.sink.RunContext
 import org.opendc.sdk.runner.sink.SinkSession
+import org.opendc.simulator.SimulationDispatcher
 import org.opendc.simulator.compute.power.CarbonModel
 import org.opendc.simulator.compute.power.CarbonReceiver
 import org.opendc.simulator.kotlin.SimulationCoroutineScope
@@ -67,7 +70,7 @@ internal fun runScenario(
     provisioner: ResourceProvisioner,
 ): RunResult {
     var result: RunResult? = null
-    runSimulation {
+    runSimulation(scheduler = SimulationDispatcher(0, scenario.eventQueue.toEngine())) {
         ResourceScope(provisioner).use { resources ->
             Provisioner(dispatcher, seed).use { engine ->
                 result =
@@ -119,7 +122,7 @@ private class ScenarioRun(
                 { it.createScheduler(numHosts) },
                 maxNumFailures = scenario.maxNumFailures,
             ),
-            setupHosts(SERVICE_DOMAIN, clusters, startTime),
+            setupHosts(SERVICE_DOMAIN, clusters, startTime, scenario.eventQueue.toEngine()),
         )
     }
 
@@ -176,6 +179,13 @@ private class ScenarioRun(
     }
 }
 
+private fun EventQueueSpec.toEngine(): EventQueueType =
+    when (this) {
+        EventQueueSpec.HEAP -> EventQueueType.HEAP
+        EventQueueSpec.CALENDAR -> EventQueueType.CALENDAR
+        EventQueueSpec.LADDER -> EventQueueType.LADDER
+    }
+
 private fun List<ClusterSpec>.gpuCount(): Int = flatMap { it.hostSpecs }.maxOfOrNull { it.model.gpuModels.size } ?: 0
 
 private fun <T : Any> Provisioner.resolve(type: Class<T>): T = registry.resolve(SERVICE_DOMAIN, type)!!
@@ -35,7 +35,6 @@ import org.opendc.sdk.model.resource.ResourceReference
 import org.opendc.sdk.runner.factory.toEngine
 import java.nio.file.Path
 import java.time.InstantSource
-import java.util.Random
 import kotlin.coroutines.coroutineContext
 import kotlin.math.max
 import org.opendc.sdk.model.failure.FailureModelSpec as SdkFailureModel
@@ -57,7 +56,7 @@ internal suspend fun ComputeService.replay(
     submitImmediately: Boolean = false,
 ) {
     val client = newClient()
-    val engineFailure = failureModel.toEngine(coroutineContext, clock, this, Random(seed), resolve)
+    val engineFailure = failureModel.toEngine(coroutineContext, clock, this, seed, resolve)
     try {
         coroutineScope {
             engineFailure?.start()
@@ -31,10 +31,12 @@ import org.opendc.compute.simulator.telemetry.table.powerSource.PowerSourceTable
 import org.opendc.compute.simulator.telemetry.table.service.ServiceTableReader
 import org.opendc.compute.simulator.telemetry.table.task.TaskTableReader
 import org.opendc.sdk.model.export.AllColumns
+import org.opendc.sdk.model.export.BackPressureSpec
 import org.opendc.sdk.model.export.ColumnSelection
 import org.opendc.sdk.model.export.ExportSpec
 import org.opendc.sdk.model.export.OnlyColumns
 import org.opendc.sdk.model.export.OutputFileSpec
+import org.opendc.trace.util.parquet.BackPressurePolicy
 import org.opendc.trace.util.parquet.exporter.ExportColumn
 import org.opendc.trace.util.parquet.exporter.Exportable
 import java.time.Duration
@@ -45,6 +47,7 @@ internal data class ExportSettings(
     val filesToExport: Map<OutputFiles, Boolean>,
     val exportInterval: Duration,
     val printFrequency: Int?,
+    val backPressure: BackPressurePolicy,
 )
 
 /** Derives the engine export settings from this [ExportSpec], adding GPU columns for [gpuCount] GPUs. */
@@ -54,6 +57,7 @@ internal fun ExportSpec.toExportSettings(gpuCount: Int): ExportSettings =
         filesToExport = toFilesToExport(),
         exportInterval = Duration.ofMillis(exportInterval.toMsLong()),
         printFrequency = printFrequency,
+        backPressure = backPressure.toEngine(),
     )
 
 private fun ExportSpec.toComputeExportConfig(gpuCount: Int): ComputeExportConfig {
@@ -80,6 +84,13 @@ private fun ExportSpec.toFilesToExport(): Map<OutputFiles, Boolean> {
     return OutputFiles.entries.associateWith { it in enabled }
 }
 
+private fun BackPressureSpec.toEngine(): BackPressurePolicy =
+    when (this) {
+        BackPressureSpec.BLOCK -> BackPressurePolicy.BLOCK
+        BackPressureSpec.DROP -> BackPressurePolicy.DROP
+        BackPressureSpec.UNBOUNDED -> BackPressurePolicy.UNBOUNDED
+    }
+
 internal fun OutputFileSpec.toEngineOutputFiles(): OutputFiles =
     when (this) {
         OutputFileSpec.HOST -> OutputFiles.HOST
@@ -26,9 +26,11 @@ import org.apache.commons.math3.distribution.ConstantRealDistribution
 import org.apache.commons.math3.distribution.RealDistribution
 import org.apache.commons.math3.distribution.UniformRealDistribution
 import org.apache.commons.math3.random.Well19937c
-import org.opendc.compute.failure.models.SampleBasedFailureModel
-import org.opendc.compute.failure.models.TraceBasedFailureModel
-import org.opendc.compute.failure.prefab.createFailureModelPrefab
+import org.opendc.compute.failure.models.FailureSchedule
+import org.opendc.compute.failure.models.FailureSchedules
+import org.opendc.compute.failure.models.ScheduledFailureModel
+import org.opendc.compute.failure.models.loadFailureTrace
+import org.opendc.compute.failure.prefab.getFailureSchedulePrefab
 import org.opendc.compute.simulator.service.ComputeService
 import org.opendc.sdk.model.failure.ConstantDistributionSpec
 import org.opendc.sdk.model.failure.CustomFailureSpec
@@ -45,7 +47,7 @@ import org.opendc.sdk.model.failure.WeibullDistributionSpec
 import org.opendc.sdk.model.resource.ResourceReference
 import java.nio.file.Path
 import java.time.InstantSource
-import java.util.random.RandomGenerator
+import java.util.Random
 import kotlin.coroutines.CoroutineContext
 import org.apache.commons.math3.distribution.ExponentialDistribution as CmExponentialDistribution
 import org.apache.commons.math3.distribution.GammaDistribution as CmGammaDistribution
@@ -61,31 +63,52 @@ import org.opendc.sdk.model.failure.FailureModelSpec as SdkFailureModel
 /**
  * Converts an SDK [SdkFailureModel] into the engine failure model injected during replay, or null
  * when no failures are configured. Trace references are materialized through [resolve].
+ *
+ * The failures are compiled into a [FailureSchedule] for the specified [seed], which is shared by all
+ * runs of the same failure model and seed. The failures occur at the same times as those drawn by the
+ * engine failure model for the same seed, but their victims are selected by the schedule.
  */
 internal fun SdkFailureModel.toEngine(
     context: CoroutineContext,
     clock: InstantSource,
     service: ComputeService,
-    random: RandomGenerator,
+    seed: Long,
     resolve: (ResourceReference) -> Path,
-): EngineFailureModel? =
-    when (this) {
-        NoFailureSpec -> null
-        is TraceBasedFailureSpec -> TraceBasedFailureModel(context, clock, service, random, resolve(source).toString(), startPoint, repeat)
-        is PrefabFailureSpec -> createFailureModelPrefab(context, clock, service, random, EngineFailurePrefab.valueOf(prefabName.name))
-        is CustomFailureSpec -> {
-            val rng = Well19937c(random.nextLong())
-            SampleBasedFailureModel(
-                context,
-                clock,
-                service,
-                random,
-                interArrival.toSampler(rng),
-                duration.toSampler(rng),
-                hostFraction.toSampler(rng),
-            )
+): EngineFailureModel? {
+    val schedule =
+        when (this) {
+            NoFailureSpec -> return null
+            is TraceBasedFailureSpec -> {
+                val path = resolve(source).toString()
+                FailureSchedules.getOrCompile(TraceScheduleKey(path, startPoint, repeat, seed)) {
+                    FailureSchedule.compile(loadFailureTrace(path, startPoint), repeat, Random(seed))
+                }
+            }
+            is PrefabFailureSpec -> {
+                val prefab = EngineFailurePrefab.valueOf(prefabName.name)
+                getFailureSchedulePrefab(context, clock, service, seed, prefab)
+            }
+            is CustomFailureSpec ->
+                FailureSchedules.getOrCompile(CustomScheduleKey(this, seed)) {
+                    // Seed the samplers in the same order as the failure model created for the same seed
+                    val random = Random(seed)
+                    val rng = Well19937c(random.nextLong())
+                    FailureSchedule.compile(
+                        interArrival.toSampler(rng),
+                        duration.toSampler(rng),
+                        hostFraction.toSampler(rng),
+                        random,
+                    )
+                }
         }
-    }
+    return ScheduledFailureModel(context, clock, service, schedule)
+}
+
+/** The key of a trace-based failure model in the cache of failure schedules. */
+private data class TraceScheduleKey(val path: String, val startPoint: Double, val repeat: Boolean, val seed: Long)
+
+/** The key of a custom failure model in the cache of failure schedules. */
+private data class CustomScheduleKey(val spec: CustomFailureSpec, val seed: Long)
 
 private fun DistributionSpec.toSampler(rng: org.apache.commons.math3.random.RandomGenerator): RealDistribution =
     when (this) {
@@ -22,6 +22,9 @@
 
 package org.opendc.sdk.runner.factory
 
+import org.opendc.compute.simulator.scheduler.BatchFilterScheduler
+import org.opendc.compute.simulator.scheduler.BinPackingPolicy
+import org.opendc.compute.simulator.scheduler.BinPackingScheduler
 import org.opendc.compute.simulator.scheduler.ComputeScheduler
 import org.opendc.compute.simulator.scheduler.FilterScheduler
 import org.opendc.compute.simulator.scheduler.createPrefabComputeScheduler
@@ -29,6 +32,8 @@ import org.opendc.compute.simulator.scheduler.filters.ComputeFilter
 import org.opendc.compute.simulator.scheduler.timeshift.MemorizingTimeshift
 import org.opendc.compute.simulator.scheduler.timeshift.TimeshiftScheduler
 import org.opendc.sdk.model.scheduler.AllocationPolicySpec
+import org.opendc.sdk.model.scheduler.BinPackingAllocationPolicySpec
+import org.opendc.sdk.model.scheduler.BinPackingPolicySpec
 import org.opendc.sdk.model.scheduler.ComputeHostFilterSpec
 import org.opendc.sdk.model.scheduler.CoreRamWeigherSpec
 import org.opendc.sdk.model.scheduler.DifferentHostFilterSpec
@@ -81,7 +86,12 @@ internal fun AllocationPolicySpec.toScheduler(
     when (this) {
         is PrefabAllocationPolicySpec -> createPrefabComputeScheduler(prefabName.name, seeder, clock, numHosts)
         is FilterAllocationPolicySpec ->
-            FilterScheduler(filters.map { it.toEngine() }, weighers.map { it.toEngine() }, subsetSize, seeder, numHosts)
+            if (batch) {
+                BatchFilterScheduler(filters.map { it.toEngine() }, weighers.map { it.toEngine() }, subsetSize, seeder, numHosts)
+            } else {
+                FilterScheduler(filters.map { it.toEngine() }, weighers.map { it.toEngine() }, subsetSize, seeder, numHosts)
+            }
+        is BinPackingAllocationPolicySpec -> BinPackingScheduler(filters.map { it.toEngine() }, policy.toEngine())
         is TimeShiftAllocationPolicySpec -> toTimeshiftScheduler(seeder, clock)
     }
 
@@ -113,6 +123,12 @@ private fun TimeShiftAllocationPolicySpec.toTimeshiftScheduler(
     )
 }
 
+private fun BinPackingPolicySpec.toEngine(): BinPackingPolicy =
+    when (this) {
+        BinPackingPolicySpec.FirstFitDecreasing -> BinPackingPolicy.FIRST_FIT_DECREASING
+        BinPackingPolicySpec.BestFitDecreasing -> BinPackingPolicy.BEST_FIT_DECREASING
+    }
+
 private fun HostFilterSpec.toEngine(): EngineHostFilter =
     when (this) {
         ComputeHostFilterSpec -> ComputeFilter()
@@ -42,6 +42,7 @@ import org.opendc.sdk.model.topology.EqualShare
 import org.opendc.sdk.model.topology.FirstFit
 import org.opendc.sdk.model.topology.FixedShare
 import org.opendc.sdk.model.topology.GpuSpec
+import org.opendc.sdk.model.topology.IncrementalMaxMinFairness
 import org.opendc.sdk.model.topology.MaxMinFairness
 import org.opendc.sdk.model.topology.NoVirtualizationOverheadSpec
 import org.opendc.sdk.model.topology.PowerModelType
@@ -70,20 +71,28 @@ import org.opendc.simulator.engine.graph.distributionPolicies.FlowDistributorFac
 
 /**
  * Converts an SDK [TopologySpec] into the engine's [ClusterSpec] list consumed by
- * `setupHosts`. External carbon traces are materialized through [resolve].
+ * `setupHosts`. External carbon traces are materialized through [resolve], once per region.
  */
 internal fun TopologySpec.toClusterSpecs(resolve: (ResourceReference) -> Path): List<ClusterSpec> {
     val naming = TopologyNaming()
-    return clusters.flatMap { cluster -> List(cluster.count) { cluster.toClusterSpec(naming, resolve) } }
+    val regionTraces = regions.associate { it.name to resolve(it.carbon).toString() }
+    return clusters.flatMap { cluster -> List(cluster.count) { cluster.toClusterSpec(naming, regionTraces, resolve) } }
 }
 
 private fun SdkClusterSpec.toClusterSpec(
     naming: TopologyNaming,
+    regionTraces: Map<String, String>,
     resolve: (ResourceReference) -> Path,
 ): ClusterSpec {
     val clusterName = naming.cluster(name)
     val hostSpecs = hosts.flatMap { host -> List(host.count) { host.toHostSpec(clusterName, naming) } }
-    return ClusterSpec(clusterName, hostSpecs, powerSource.toSpec(naming, resolve), battery?.toSpec(naming))
+    val carbonTracePath =
+        if (region != null) {
+            requireNotNull(regionTraces[region]) { "Cluster $name references unknown region $region" }
+        } else {
+            powerSource.carbon?.let { resolve(it).toString() }
+        }
+    return ClusterSpec(clusterName, hostSpecs, powerSource.toSpec(naming, carbonTracePath), battery?.toSpec(naming), region)
 }
 
 private fun SdkHostSpec.toHostSpec(
@@ -120,19 +129,19 @@ private fun GpuSpec.toGpuModel(id: Int): GpuModel =
 
 private fun SdkPowerSourceSpec.toSpec(
     naming: TopologyNaming,
-    resolve: (ResourceReference) -> Path,
+    carbonTracePath: String?,
 ): PowerSourceSpec =
     PowerSourceSpec(
         naming.powerSource(name),
         totalPower = maxPower.toWatts().toLong(),
-        carbonTracePath = carbon?.let { resolve(it).toString() },
+        carbonTracePath = carbonTracePath,
     )
 
 private fun BatterySpec.toSpec(naming: TopologyNaming): BatteryJSONSpec =
     BatteryJSONSpec(naming.battery(name), capacity, chargingSpeed, initialCharge, policy.toSpec(), embodiedCarbon, expectedLifetime)
 
 private fun SdkPowerModel.toEngine() =
-    getPowerModel(type.modelType, power.toWatts(), maxPower.toWatts(), idlePower.toWatts(), calibrationFactor, asymUtil, dvfs)
+    getPowerModel(type.modelType, power.toWatts(), maxPower.toWatts(), idlePower.toWatts(), calibrationFactor, asymUtil, dvfs, tabulated)
 
 private val PowerModelType.modelType: String
     get() =
@@ -149,6 +158,7 @@ private val PowerModelType.modelType: String
 private fun SdkDistributionPolicy.toEngine(): EngineDistributionPolicy =
     when (this) {
         MaxMinFairness -> EngineDistributionPolicy.MAX_MIN_FAIRNESS
+        IncrementalMaxMinFairness -> EngineDistributionPolicy.INCREMENTAL_MAX_MIN_FAIRNESS
         EqualShare -> EngineDistributionPolicy.EQUAL_SHARE
         FirstFit -> EngineDistributionPolicy.FIRST_FIT
         is BestEffort -> EngineDistributionPolicy.BEST_EFFORT.apply { setProperty("updateIntervalLength", updateIntervalMs) }
@@ -25,17 +25,22 @@ package org.opendc.sdk.runner.factory
 import org.opendc.common.ResourceType
 import org.opendc.compute.simulator.service.ServiceTask
 import org.opendc.compute.workload.ComputeWorkloadLoader
+import org.opendc.compute.workload.FragmentCoalescing
+import org.opendc.compute.workload.WorkloadWindow
 import org.opendc.sdk.model.checkpoint.CheckpointSpec
 import org.opendc.sdk.model.resource.ResourceReference
 import org.opendc.sdk.model.workload.InlineWorkloadSpec
 import org.opendc.sdk.model.workload.ScalingPolicySpec
 import org.opendc.sdk.model.workload.TaskSpec
+import org.opendc.sdk.model.workload.TraceWindowSpec
 import org.opendc.sdk.model.workload.TraceWorkloadSpec
 import org.opendc.sdk.model.workload.WorkloadSpec
 import org.opendc.simulator.compute.workload.trace.TraceFragment
 import org.opendc.simulator.compute.workload.trace.scaling.NoDelayScaling
 import org.opendc.simulator.compute.workload.trace.scaling.PerfectScaling
 import java.nio.file.Path
+import java.time.LocalDateTime
+import java.time.ZoneOffset
 import org.opendc.simulator.compute.workload.trace.TraceWorkload as EngineTraceWorkload
 import org.opendc.simulator.compute.workload.trace.scaling.ScalingPolicy as EngineScalingPolicy
 
@@ -64,8 +69,16 @@ private fun TraceWorkloadSpec.loadTrace(
         checkpoint.scaling(),
         scalingPolicy.toEngine(),
         deferAll,
+        coalescing = coalescing?.let { FragmentCoalescing(it.epsilon.toMHz()) },
+        window = window?.toEngine(),
     ).sampleByLoad(sampleFraction)
 
+private fun TraceWindowSpec.toEngine(): WorkloadWindow =
+    WorkloadWindow(
+        from?.let { LocalDateTime.parse(it).toInstant(ZoneOffset.UTC) },
+        until?.let { LocalDateTime.parse(it).toInstant(ZoneOffset.UTC) },
+    )
+
 private fun TaskSpec.toServiceTask(
     scaling: EngineScalingPolicy,
     checkpoint: CheckpointSpec?,
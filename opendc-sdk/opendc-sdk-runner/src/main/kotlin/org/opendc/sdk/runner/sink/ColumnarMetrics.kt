@@ -0,0 +1,376 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.sdk.runner.sink
+
+import java.nio.file.Files
+import java.nio.file.Path
+
+/**
+ * The metrics captured by a [ColumnarSink], stored per table as primitive column arrays.
+ *
+ * Tables that exceeded the sink's memory budget during the run are partly held in temporary Parquet files, which are
+ * read back transparently by the queries of this class. [close] deletes those files once the metrics are no longer
+ * needed; they are otherwise deleted when the JVM exits.
+ *
+ * @property host The host table. See [hostSeries] and [hostTotals] for typed queries.
+ * @property task The task table.
+ * @property service The service table. See [serviceSeries] for a typed query.
+ * @property powerSource The power source table. See [powerSourceTotals] for a typed query.
+ * @property battery The battery table.
+ */
+public class ColumnarMetrics internal constructor(
+    public val host: MetricTable,
+    public val task: MetricTable,
+    public val service: MetricTable,
+    public val powerSource: MetricTable,
+    public val battery: MetricTable,
+    private val spillDirectory: Path?,
+) : SinkResult, AutoCloseable {
+    /**
+     * The names of the hosts that appear in the host table.
+     */
+    public val hosts: List<String>
+        get() = host.table.dictionary(HostColumns.HOST_NAME).strings
+
+    /**
+     * The metrics of the host named [name] over time, in the order they were recorded.
+     *
+     * If the sink aggregated samples at ingest, every entry describes one aggregation interval: the usage, utilization
+     * and power draw are the mean over the interval and the energy usage is the total of the interval. Otherwise, the
+     * minimum and maximum of an entry equal its value.
+     */
+    public fun hostSeries(name: String): HostSeries {
+        val table = host.table
+        val id = table.dictionary(HostColumns.HOST_NAME).find(name)
+        val aggregated = "samples" in table
+        val columns =
+            buildList {
+                add("timestamp")
+                add("cpu_usage")
+                add("cpu_demand")
+                add("cpu_utilization")
+                add("power_draw")
+                add("energy_usage")
+                if (aggregated) {
+                    add("cpu_utilization_min")
+                    add("cpu_utilization_max")
+                    add("power_draw_min")
+                    add("power_draw_max")
+                }
+            }
+
+        val chunk = table.select(columns) { c, row -> c.ints(HostColumns.HOST_NAME)[row] == id }
+        val size = chunk.size
+        val cpuUtilization = chunk.doubles(3).copyOf(size)
+        val powerDraw = chunk.doubles(4).copyOf(size)
+        return HostSeries(
+            name,
+            chunk.longs(0).copyOf(size),
+            chunk.doubles(1).copyOf(size),
+            chunk.doubles(2).copyOf(size),
+            cpuUtilization,
+            if (aggregated) chunk.doubles(6).copyOf(size) else cpuUtilization,
+            if (aggregated) chunk.doubles(7).copyOf(size) else cpuUtilization,
+            powerDraw,
+            if (aggregated) chunk.doubles(8).copyOf(size) else powerDraw,
+            if (aggregated) chunk.doubles(9).copyOf(size) else powerDraw,
+            chunk.doubles(5).copyOf(size),
+        )
+    }
+
+    /**
+     * The metrics of all hosts summed per timestamp, ordered by timestamp.
+     */
+    public fun hostTotals(): HostTotals {
+        val totals =
+            sumPerTimestamp(
+                host.table,
+                HostColumns.TIMESTAMP,
+                intArrayOf(HostColumns.CPU_USAGE, HostColumns.CPU_DEMAND, HostColumns.POWER_DRAW, HostColumns.ENERGY_USAGE),
+            )
+        return HostTotals(totals.timestamps, totals.values[0], totals.values[1], totals.values[2], totals.values[3])
+    }
+
+    /**
+     * The metrics of all power sources summed per timestamp, ordered by timestamp.
+     */
+    public fun powerSourceTotals(): PowerSourceTotals {
+        val totals =
+            sumPerTimestamp(
+                powerSource.table,
+                PowerSourceColumns.TIMESTAMP,
+                intArrayOf(PowerSourceColumns.POWER_DRAW, PowerSourceColumns.ENERGY_USAGE, PowerSourceColumns.CARBON_EMISSION),
+            )
+        return PowerSourceTotals(totals.timestamps, totals.values[0], totals.values[1], totals.values[2])
+    }
+
+    /**
+     * The state of the compute service over time, in the order it was recorded.
+     */
+    public fun serviceSeries(): ServiceSeries {
+        val chunk = service.table.select(ServiceColumns.columns.map { it.name })
+        val size = chunk.size
+        return ServiceSeries(
+            chunk.longs(ServiceColumns.TIMESTAMP).copyOf(size),
+            chunk.ints(ServiceColumns.HOSTS_UP).copyOf(size),
+            chunk.ints(ServiceColumns.HOSTS_DOWN).copyOf(size),
+            chunk.ints(ServiceColumns.TASKS_TOTAL).copyOf(size),
+            chunk.ints(ServiceColumns.TASKS_PENDING).copyOf(size),
+            chunk.ints(ServiceColumns.TASKS_ACTIVE).copyOf(size),
+            chunk.ints(ServiceColumns.TASKS_COMPLETED).copyOf(size),
+            chunk.ints(ServiceColumns.TASKS_TERMINATED).copyOf(size),
+        )
+    }
+
+    /**
+     * The mean CPU utilization over all host samples, or zero if no host samples were recorded. Samples that were
+     * aggregated at ingest are weighted by the number of samples they represent.
+     */
+    public fun meanCpuUtilization(): Double {
+        val table = host.table
+        val samples = if ("samples" in table) table.columnIndex("samples") else -1
+        var total = 0.0
+        var count = 0L
+        table.forEachChunk { chunk ->
+            val utilization = chunk.doubles(HostColumns.CPU_UTILIZATION)
+            for (row in 0 until chunk.size) {
+                val weight = if (samples >= 0) chunk.ints(samples)[row] else 1
+                total += utilization[row] * weight
+                count += weight
+            }
+        }
+        return if (count == 0L) 0.0 else total / count
+    }
+
+    /**
+     * Delete the temporary files holding the spilled rows of the tables.
+     */
+    override fun close() {
+        for (table in listOf(host, task, service, powerSource, battery)) {
+            table.table.delete()
+        }
+        spillDirectory?.let { Files.deleteIfExists(it) }
+    }
+
+    override fun toString(): String =
+        "ColumnarMetrics[host=${host.rowCount}, task=${task.rowCount}, service=${service.rowCount}, " +
+            "powerSource=${powerSource.rowCount}, battery=${battery.rowCount}]"
+}
+
+/**
+ * A table of a [ColumnarMetrics], whose columns can be read as primitive arrays. Column names follow the Parquet
+ * output of OpenDC, e.g., `cpu_utilization`.
+ */
+public class MetricTable internal constructor(internal val table: ColumnarTable) {
+    /**
+     * The name of the table.
+     */
+    public val name: String
+        get() = table.name
+
+    /**
+     * The names of the columns of the table.
+     */
+    public val columns: List<String>
+        get() = table.columns.map { it.name }
+
+    /**
+     * The number of rows in the table.
+     */
+    public val rowCount: Long
+        get() = table.rowCount
+
+    /**
+     * Read the integer column named [column].
+     *
+     * @throws IllegalArgumentException if the table has no integer column with that name.
+     */
+    public fun ints(column: String): IntArray {
+        checkColumn(column, MetricType.INT)
+        return table.select(listOf(column)).let { it.ints(0).copyOf(it.size) }
+    }
+
+    /**
+     * Read the long column named [column].
+     *
+     * @throws IllegalArgumentException if the table has no long column with that name.
+     */
+    public fun longs(column: String): LongArray {
+        checkColumn(column, MetricType.LONG)
+        return table.select(listOf(column)).let { it.longs(0).copyOf(it.size) }
+    }
+
+    /**
+     * Read the double column named [column].
+     *
+     * @throws IllegalArgumentException if the table has no double column with that name.
+     */
+    public fun doubles(column: String): DoubleArray {
+        checkColumn(column, MetricType.DOUBLE)
+        return table.select(listOf(column)).let { it.doubles(0).copyOf(it.size) }
+    }
+
+    /**
+     * Read the string column named [column].
+     *
+     * @throws IllegalArgumentException if the table has no string column with that name.
+     */
+    public fun strings(column: String): List<String?> {
+        val index = checkColumn(column, MetricType.STRING)
+        val chunk = table.select(listOf(column))
+        val ids = chunk.ints(0)
+        val dictionary = table.dictionary(index)
+        return List(chunk.size) { dictionary[ids[it]] }
+    }
+
+    private fun checkColumn(
+        name: String,
+        type: MetricType,
+    ): Int {
+        val index = table.columnIndex(name)
+        require(table.columns[index].type == type) { "Column '$name' of table ${table.name} is not of type $type" }
+        return index
+    }
+
+    override fun toString(): String = "MetricTable[name=$name, rows=$rowCount]"
+}
+
+/**
+ * The metrics of a single host over time, as returned by [ColumnarMetrics.hostSeries]. CPU usage and demand are in
+ * MHz, power draw in W and energy usage in J.
+ */
+public class HostSeries internal constructor(
+    public val host: String,
+    public val timestamps: LongArray,
+    public val cpuUsage: DoubleArray,
+    public val cpuDemand: DoubleArray,
+    public val cpuUtilization: DoubleArray,
+    public val cpuUtilizationMin: DoubleArray,
+    public val cpuUtilizationMax: DoubleArray,
+    public val powerDraw: DoubleArray,
+    public val powerDrawMin: DoubleArray,
+    public val powerDrawMax: DoubleArray,
+    public val energyUsage: DoubleArray,
+) {
+    /**
+     * The number of entries in the series.
+     */
+    public val size: Int
+        get() = timestamps.size
+}
+
+/**
+ * The metrics of all hosts summed per timestamp, as returned by [ColumnarMetrics.hostTotals].
+ */
+public class HostTotals internal constructor(
+    public val timestamps: LongArray,
+    public val cpuUsage: DoubleArray,
+    public val cpuDemand: DoubleArray,
+    public val powerDraw: DoubleArray,
+    public val energyUsage: DoubleArray,
+) {
+    /**
+     * The number of timestamps.
+     */
+    public val size: Int
+        get() = timestamps.size
+}
+
+/**
+ * The metrics of all power sources summed per timestamp, as returned by [ColumnarMetrics.powerSourceTotals]. Carbon
+ * emissions are in grams.
+ */
+public class PowerSourceTotals internal constructor(
+    public val timestamps: LongArray,
+    public val powerDraw: DoubleArray,
+    public val energyUsage: DoubleArray,
+    public val carbonEmission: DoubleArray,
+) {
+    /**
+     * The number of timestamps.
+     */
+    public val size: Int
+        get() = timestamps.size
+}
+
+/**
+ * The state of the compute service over time, as returned by [ColumnarMetrics.serviceSeries].
+ */
+public class ServiceSeries internal constructor(
+    public val timestamps: LongArray,
+    public val hostsUp: IntArray,
+    public val hostsDown: IntArray,
+    public val tasksTotal: IntArray,
+    public val tasksPending: IntArray,
+    public val tasksActive: IntArray,
+    public val tasksCompleted: IntArray,
+    public val tasksTerminated: IntArray,
+) {
+    /**
+     * The number of entries in the series.
+     */
+    public val size: Int
+        get() = timestamps.size
+}
+
+/**
+ * The sums of some columns of a table per timestamp.
+ */
+private class TimestampSums(val timestamps: LongArray, val values: List<DoubleArray>)
+
+/**
+ * Sum the double [columns] of [table] per value of its [timestamp] column. Only one running sum per distinct
+ * timestamp is kept in memory, so the table is not materialized.
+ */
+private fun sumPerTimestamp(
+    table: ColumnarTable,
+    timestamp: Int,
+    columns: IntArray,
+): TimestampSums {
+    val slots = HashMap<Long, Int>()
+    val keys = ArrayList<Long>()
+    val sums = Array(columns.size) { DoubleArray(64) }
+
+    table.forEachChunk { chunk ->
+        val timestamps = chunk.longs(timestamp)
+        for (row in 0 until chunk.size) {
+            val slot =
+                slots.getOrPut(timestamps[row]) {
+                    keys.add(timestamps[row])
+                    keys.size - 1
+                }
+            for (i in columns.indices) {
+                if (slot >= sums[i].size) {
+                    sums[i] = sums[i].copyOf(sums[i].size * 2)
+                }
+                sums[i][slot] += chunk.doubles(columns[i])[row]
+            }
+        }
+    }
+
+    val order = keys.indices.sortedBy { keys[it] }
+    return TimestampSums(
+        LongArray(order.size) { keys[order[it]] },
+        sums.map { values -> DoubleArray(order.size) { values[order[it]] } },
+    )
+}
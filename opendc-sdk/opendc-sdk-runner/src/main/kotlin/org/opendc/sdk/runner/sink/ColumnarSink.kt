@@ -0,0 +1,406 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.sdk.runner.sink
+
+import org.opendc.common.units.DataSize
+import org.opendc.common.units.TimeDelta
+import org.opendc.compute.simulator.telemetry.ComputeMonitor
+import org.opendc.compute.simulator.telemetry.OutputFiles
+import org.opendc.compute.simulator.telemetry.table.battery.BatteryTableBatch
+import org.opendc.compute.simulator.telemetry.table.battery.BatteryTableReader
+import org.opendc.compute.simulator.telemetry.table.host.HostTableBatch
+import org.opendc.compute.simulator.telemetry.table.host.HostTableReader
+import org.opendc.compute.simulator.telemetry.table.powerSource.PowerSourceTableBatch
+import org.opendc.compute.simulator.telemetry.table.powerSource.PowerSourceTableReader
+import org.opendc.compute.simulator.telemetry.table.service.ServiceTableReader
+import org.opendc.compute.simulator.telemetry.table.task.TaskTableBatch
+import org.opendc.compute.simulator.telemetry.table.task.TaskTableReader
+import org.opendc.sdk.model.export.OutputFileSpec
+import org.opendc.sdk.runner.factory.toEngineOutputFiles
+import java.nio.file.Files
+import java.nio.file.Path
+
+/**
+ * Captures each run's metrics in memory as primitive column arrays, available on the run's result as
+ * [ColumnarMetrics]. Unlike [InMemorySink], no object is allocated per sample, and the memory used per run is bounded:
+ * once the captured tables exceed [memoryBudget], the largest table is spilled to a temporary Parquet file.
+ *
+ * With a [hostInterval], the samples of every host are aggregated at ingest into one row per interval, holding the
+ * mean, minimum and maximum utilization and power draw and the total energy usage over the interval.
+ *
+ * @property tables The metric tables to capture; defaults to all.
+ * @property hostInterval The interval to aggregate host samples over, or `null` to keep every host sample.
+ * @property memoryBudget The memory the captured tables of a single run may use before they are spilled to disk.
+ * @property spillDirectory The directory to create spill files in, or `null` to use the temporary directory.
+ */
+public class ColumnarSink
+    @JvmOverloads
+    constructor(
+        private val tables: Set<OutputFileSpec> = OutputFileSpec.entries.toSet(),
+        private val hostInterval: TimeDelta? = null,
+        private val memoryBudget: DataSize = DataSize.ofMiB(128),
+        private val spillDirectory: Path? = null,
+    ) : OutputSink {
+        init {
+            require(hostInterval == null || hostInterval.toMsLong() > 0) { "The host interval must be positive" }
+            require(memoryBudget.toBytes() > 0) { "The memory budget must be positive" }
+        }
+
+        override fun open(context: RunContext): SinkSession = Session()
+
+        private inner class Session : SinkSession {
+            private val host = ColumnarTable("host", HostColumns.columns(hostInterval != null))
+            private val task = ColumnarTable("task", TaskColumns.columns)
+            private val service = ColumnarTable("service", ServiceColumns.columns)
+            private val powerSource = ColumnarTable("powerSource", PowerSourceColumns.columns)
+            private val battery = ColumnarTable("battery", BatteryColumns.columns)
+            private val all = listOf(host, task, service, powerSource, battery)
+            private val capture = this@ColumnarSink.tables
+
+            private val hostRow = MetricRow(host.columns.size)
+            private val taskRow = MetricRow(task.columns.size)
+            private val serviceRow = MetricRow(service.columns.size)
+            private val powerSourceRow = MetricRow(powerSource.columns.size)
+            private val batteryRow = MetricRow(battery.columns.size)
+
+            private val hostAggregator = hostInterval?.let { HostAggregator(host, it.toMsLong()) }
+            private val budget = memoryBudget.toBytes().toLong()
+            private var directory: Path? = null
+
+            override val monitor: ComputeMonitor =
+                object : ComputeMonitor {
+                    override fun record(reader: HostTableReader) {
+                        if (OutputFileSpec.HOST in capture) {
+                            addHost(reader)
+                            checkBudget()
+                        }
+                    }
+
+                    override fun record(reader: TaskTableReader) {
+                        if (OutputFileSpec.TASK in capture) {
+                            addTask(reader)
+                            checkBudget()
+                        }
+                    }
+
+                    override fun record(reader: ServiceTableReader) {
+                        if (OutputFileSpec.SERVICE in capture) {
+                            addService(reader)
+                            checkBudget()
+                        }
+                    }
+
+                    override fun record(reader: PowerSourceTableReader) {
+                        if (OutputFileSpec.POWER_SOURCE in capture) {
+                            addPowerSource(reader)
+                            checkBudget()
+                        }
+                    }
+
+                    override fun record(reader: BatteryTableReader) {
+                        if (OutputFileSpec.BATTERY in capture) {
+                            addBattery(reader)
+                            checkBudget()
+                        }
+                    }
+
+                    // Rows are copied into the columns straight away, so read the batch rows without snapshotting them
+                    override fun record(batch: HostTableBatch) {
+                        if (OutputFileSpec.HOST in capture) {
+                            for (i in 0 until batch.size) addHost(batch.row(i))
+                            checkBudget()
+                        }
+                    }
+
+                    override fun record(batch: TaskTableBatch) {
+                        if (OutputFileSpec.TASK in capture) {
+                            for (i in 0 until batch.size) addTask(batch.row(i))
+                            checkBudget()
+                        }
+                    }
+
+                    override fun record(batch: PowerSourceTableBatch) {
+                        if (OutputFileSpec.POWER_SOURCE in capture) {
+                            for (i in 0 until batch.size) addPowerSource(batch.row(i))
+                            checkBudget()
+                        }
+                    }
+
+                    override fun record(batch: BatteryTableBatch) {
+                        if (OutputFileSpec.BATTERY in capture) {
+                            for (i in 0 until batch.size) addBattery(batch.row(i))
+                            checkBudget()
+                        }
+                    }
+                }
+
+            override val tables: Set<OutputFiles> = capture.map { it.toEngineOutputFiles() }.toSet()
+
+            override fun result(): SinkResult {
+                hostAggregator?.flush()
+                return ColumnarMetrics(
+                    MetricTable(host),
+                    MetricTable(task),
+                    MetricTable(service),
+                    MetricTable(powerSource),
+                    MetricTable(battery),
+                    directory,
+                )
+            }
+
+            private fun addHost(reader: HostTableReader) {
+                val row = hostRow
+                val longs = row.longs
+                val doubles = row.doubles
+                longs[HostColumns.TIMESTAMP] = reader.timestamp.toEpochMilli()
+                longs[HostColumns.TIMESTAMP_ABSOLUTE] = reader.timestampAbsolute.toEpochMilli()
+                longs[HostColumns.HOST_NAME] = host.dictionary(HostColumns.HOST_NAME).id(reader.hostInfo.name).toLong()
+                longs[HostColumns.CLUSTER_NAME] = host.dictionary(HostColumns.CLUSTER_NAME).id(reader.hostInfo.clusterName).toLong()
+                longs[HostColumns.REGION] = host.dictionary(HostColumns.REGION).id(reader.hostInfo.region).toLong()
+                longs[HostColumns.TASKS_ACTIVE] = reader.tasksActive.toLong()
+                longs[HostColumns.TASKS_TERMINATED] = reader.tasksTerminated.toLong()
+                doubles[HostColumns.CPU_CAPACITY] = reader.cpuCapacity
+                doubles[HostColumns.CPU_USAGE] = reader.cpuUsage
+                doubles[HostColumns.CPU_DEMAND] = reader.cpuDemand
+                doubles[HostColumns.CPU_UTILIZATION] = reader.cpuUtilization
+                longs[HostColumns.CPU_TIME_ACTIVE] = reader.cpuActiveTime
+                longs[HostColumns.CPU_TIME_IDLE] = reader.cpuIdleTime
+                longs[HostColumns.CPU_TIME_STEAL] = reader.cpuStealTime
+                longs[HostColumns.CPU_TIME_LOST] = reader.cpuLostTime
+                doubles[HostColumns.GPU_USAGE] = reader.gpuUsages.sum()
+                doubles[HostColumns.GPU_DEMAND] = reader.gpuDemands.sum()
+                doubles[HostColumns.GPU_UTILIZATION] = if (reader.gpuUtilizations.isEmpty()) 0.0 else reader.gpuUtilizations.average()
+                doubles[HostColumns.GPU_POWER_DRAW] = reader.gpuPowerDraws.sum()
+                doubles[HostColumns.POWER_DRAW] = reader.powerDraw
+                doubles[HostColumns.ENERGY_USAGE] = reader.energyUsage
+                doubles[HostColumns.EMBODIED_CARBON] = reader.embodiedCarbon
+                longs[HostColumns.UPTIME] = reader.uptime
+                longs[HostColumns.DOWNTIME] = reader.downtime
+
+                val aggregator = hostAggregator
+                if (aggregator == null) {
+                    host.append(row)
+                } else {
+                    longs[HostColumns.SAMPLES] = 1
+                    doubles[HostColumns.CPU_UTILIZATION_MIN] = reader.cpuUtilization
+                    doubles[HostColumns.CPU_UTILIZATION_MAX] = reader.cpuUtilization
+                    doubles[HostColumns.POWER_DRAW_MIN] = reader.powerDraw
+                    doubles[HostColumns.POWER_DRAW_MAX] = reader.powerDraw
+                    aggregator.add(row)
+                }
+            }
+
+            private fun addTask(reader: TaskTableReader) {
+                val longs = taskRow.longs
+                val doubles = taskRow.doubles
+                longs[TaskColumns.TIMESTAMP] = reader.timestamp.toEpochMilli()
+                longs[TaskColumns.TIMESTAMP_ABSOLUTE] = reader.timestampAbsolute.toEpochMilli()
+                longs[TaskColumns.TASK_ID] = reader.taskInfo.id.toLong()
+                longs[TaskColumns.TASK_NAME] = task.dictionary(TaskColumns.TASK_NAME).id(reader.taskInfo.name).toLong()
+                longs[TaskColumns.HOST_NAME] = task.dictionary(TaskColumns.HOST_NAME).id(reader.hostName).toLong()
+                longs[TaskColumns.REGION] = task.dictionary(TaskColumns.REGION).id(reader.hostInfo?.region).toLong()
+                longs[TaskColumns.TASK_STATE] = task.dictionary(TaskColumns.TASK_STATE).id(reader.taskState?.toString()).toLong()
+                doubles[TaskColumns.CPU_LIMIT] = reader.cpuLimit
+                doubles[TaskColumns.CPU_USAGE] = reader.cpuUsage
+                doubles[TaskColumns.CPU_DEMAND] = reader.cpuDemand
+                longs[TaskColumns.CPU_TIME_ACTIVE] = reader.cpuActiveTime
+                longs[TaskColumns.CPU_TIME_IDLE] = reader.cpuIdleTime
+                longs[TaskColumns.CPU_TIME_STEAL] = reader.cpuStealTime
+                longs[TaskColumns.CPU_TIME_LOST] = reader.cpuLostTime
+                doubles[TaskColumns.GPU_LIMIT] = reader.gpuLimit ?: Double.NaN
+                doubles[TaskColumns.GPU_USAGE] = reader.gpuUsage ?: Double.NaN
+                doubles[TaskColumns.GPU_DEMAND] = reader.gpuDemand ?: Double.NaN
+                longs[TaskColumns.UPTIME] = reader.uptime
+                longs[TaskColumns.DOWNTIME] = reader.downtime
+                longs[TaskColumns.NUM_FAILURES] = reader.numFailures.toLong()
+                longs[TaskColumns.NUM_PAUSES] = reader.numPauses.toLong()
+                longs[TaskColumns.SUBMISSION_TIME] = reader.submissionTime ?: -1L
+                longs[TaskColumns.SCHEDULE_TIME] = reader.scheduleTime ?: -1L
+                longs[TaskColumns.FINISH_TIME] = reader.finishTime ?: -1L
+                longs[TaskColumns.SCHEDULING_DELAY] = reader.schedulingDelay
+                longs[TaskColumns.FAILURE_DELAY] = reader.failureDelay
+                longs[TaskColumns.CHECKPOINT_DELAY] = reader.checkpointDelay
+                task.append(taskRow)
+            }
+
+            private fun addService(reader: ServiceTableReader) {
+                val longs = serviceRow.longs
+                longs[ServiceColumns.TIMESTAMP] = reader.timestamp.toEpochMilli()
+                longs[ServiceColumns.TIMESTAMP_ABSOLUTE] = reader.timestampAbsolute.toEpochMilli()
+                longs[ServiceColumns.HOSTS_UP] = reader.hostsUp.toLong()
+                longs[ServiceColumns.HOSTS_DOWN] = reader.hostsDown.toLong()
+                longs[ServiceColumns.TASKS_TOTAL] = reader.tasksTotal.toLong()
+                longs[ServiceColumns.TASKS_PENDING] = reader.tasksPending.toLong()
+                longs[ServiceColumns.TASKS_ACTIVE] = reader.tasksActive.toLong()
+                longs[ServiceColumns.TASKS_COMPLETED] = reader.tasksCompleted.toLong()
+                longs[ServiceColumns.TASKS_TERMINATED] = reader.tasksTerminated.toLong()
+                longs[ServiceColumns.ATTEMPTS_SUCCESS] = reader.attemptsSuccess.toLong()
+                longs[ServiceColumns.ATTEMPTS_FAILURE] = reader.attemptsFailure.toLong()
+                service.append(serviceRow)
+            }
+
+            private fun addPowerSource(reader: PowerSourceTableReader) {
+                val longs = powerSourceRow.longs
+                val doubles = powerSourceRow.doubles
+                longs[PowerSourceColumns.TIMESTAMP] = reader.timestamp.toEpochMilli()
+                longs[PowerSourceColumns.TIMESTAMP_ABSOLUTE] = reader.timestampAbsolute.toEpochMilli()
+                longs[PowerSourceColumns.POWER_SOURCE_NAME] =
+                    powerSource.dictionary(PowerSourceColumns.POWER_SOURCE_NAME).id(reader.powerSourceInfo.name).toLong()
+                longs[PowerSourceColumns.REGION] =
+                    powerSource.dictionary(PowerSourceColumns.REGION).id(reader.powerSourceInfo.region).toLong()
+                longs[PowerSourceColumns.HOSTS_CONNECTED] = reader.hostsConnected.toLong()
+                doubles[PowerSourceColumns.POWER_DRAW] = reader.powerDraw
+                doubles[PowerSourceColumns.ENERGY_USAGE] = reader.energyUsage
+                doubles[PowerSourceColumns.CARBON_INTENSITY] = reader.carbonIntensity
+                doubles[PowerSourceColumns.CARBON_EMISSION] = reader.carbonEmission
+                powerSource.append(powerSourceRow)
+            }
+
+            private fun addBattery(reader: BatteryTableReader) {
+                val longs = batteryRow.longs
+                val doubles = batteryRow.doubles
+                longs[BatteryColumns.TIMESTAMP] = reader.timestamp.toEpochMilli()
+                longs[BatteryColumns.TIMESTAMP_ABSOLUTE] = reader.timestampAbsolute.toEpochMilli()
+                longs[BatteryColumns.BATTERY_NAME] = battery.dictionary(BatteryColumns.BATTERY_NAME).id(reader.batteryInfo.name).toLong()
+                longs[BatteryColumns.REGION] = battery.dictionary(BatteryColumns.REGION).id(reader.batteryInfo.region).toLong()
+                doubles[BatteryColumns.POWER_DRAW] = reader.powerDraw
+                doubles[BatteryColumns.ENERGY_USAGE] = reader.energyUsage
+                doubles[BatteryColumns.EMBODIED_CARBON_EMISSION] = reader.embodiedCarbonEmission
+                doubles[BatteryColumns.CHARGE] = reader.charge
+                doubles[BatteryColumns.CAPACITY] = reader.capacity
+                longs[BatteryColumns.BATTERY_STATE] =
+                    battery.dictionary(BatteryColumns.BATTERY_STATE).id(reader.batteryState.toString()).toLong()
+                battery.append(batteryRow)
+            }
+
+            /**
+             * Spill the largest tables to disk until the captured tables fit in the memory budget again.
+             */
+            private fun checkBudget() {
+                while (all.sumOf { it.bytesInMemory } > budget) {
+                    val largest = all.maxBy { it.bytesInMemory }
+                    if (largest.rowCount == 0L) {
+                        break
+                    }
+
+                    val before = largest.bytesInMemory
+                    largest.spill(directory ?: createSpillDirectory())
+                    if (largest.bytesInMemory >= before) {
+                        break
+                    }
+                }
+            }
+
+            private fun createSpillDirectory(): Path {
+                val directory =
+                    if (spillDirectory != null) {
+                        Files.createTempDirectory(spillDirectory, "opendc-metrics-")
+                    } else {
+                        Files.createTempDirectory("opendc-metrics-")
+                    }
+                directory.toFile().deleteOnExit()
+                this.directory = directory
+                return directory
+            }
+        }
+    }
+
+/**
+ * Folds the samples of every host into one row per interval of [interval] milliseconds, combining the values of each
+ * column according to its [Aggregation]. A row is appended to [table] once a sample of the host's next interval
+ * arrives, or when the aggregator is [flush]ed at the end of the run.
+ */
+private class HostAggregator(
+    private val table: ColumnarTable,
+    private val interval: Long,
+) {
+    private val columns = table.columns
+    private val windows = HashMap<Int, Window>()
+
+    fun add(row: MetricRow) {
+        val host = row.longs[HostColumns.HOST_NAME].toInt()
+        // Samples are stamped at the end of their export interval, so a sample at a multiple of the interval closes it
+        val bucket = Math.floorDiv(row.longs[HostColumns.TIMESTAMP] - 1, interval)
+        val window = windows.getOrPut(host) { Window() }
+
+        if (window.count > 0 && window.bucket != bucket) {
+            window.emit()
+        }
+        window.fold(bucket, row)
+    }
+
+    fun flush() {
+        for (window in windows.values) {
+            if (window.count > 0) {
+                window.emit()
+            }
+        }
+    }
+
+    private inner class Window {
+        var bucket = 0L
+        var count = 0
+        private val acc = MetricRow(columns.size)
+
+        fun fold(
+            bucket: Long,
+            row: MetricRow,
+        ) {
+            this.bucket = bucket
+            val first = count++ == 0
+
+            for (i in columns.indices) {
+                val aggregation = columns[i].aggregation
+                if (columns[i].type == MetricType.DOUBLE) {
+                    val value = row.doubles[i]
+                    acc.doubles[i] =
+                        when {
+                            first || aggregation == Aggregation.LAST -> value
+                            aggregation == Aggregation.MIN -> minOf(acc.doubles[i], value)
+                            aggregation == Aggregation.MAX -> maxOf(acc.doubles[i], value)
+                            else -> acc.doubles[i] + value
+                        }
+                } else {
+                    val value = row.longs[i]
+                    acc.longs[i] =
+                        when {
+                            first || aggregation == Aggregation.LAST -> value
+                            aggregation == Aggregation.MIN -> minOf(acc.longs[i], value)
+                            aggregation == Aggregation.MAX -> maxOf(acc.longs[i], value)
+                            else -> acc.longs[i] + value
+                        }
+                }
+            }
+        }
+
+        fun emit() {
+            for (i in columns.indices) {
+                if (columns[i].aggregation == Aggregation.MEAN) {
+                    if (columns[i].type == MetricType.DOUBLE) acc.doubles[i] /= count else acc.longs[i] /= count
+                }
+            }
+            table.append(acc)
+            count = 0
+        }
+    }
+}
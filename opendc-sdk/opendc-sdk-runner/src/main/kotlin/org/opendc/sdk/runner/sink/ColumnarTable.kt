@@ -0,0 +1,464 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.sdk.runner.sink
+
+import org.apache.hadoop.conf.Configuration
+import org.apache.parquet.hadoop.ParquetFileWriter
+import org.apache.parquet.hadoop.api.WriteSupport
+import org.apache.parquet.hadoop.metadata.CompressionCodecName
+import org.apache.parquet.hadoop.metadata.FileMetaData
+import org.apache.parquet.io.api.RecordConsumer
+import org.apache.parquet.schema.MessageType
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName
+import org.apache.parquet.schema.Types
+import org.opendc.trace.util.parquet.LocalParquetRowGroupReader
+import org.opendc.trace.util.parquet.LocalParquetWriter
+import org.opendc.trace.util.parquet.ParquetRowGroup
+import org.opendc.trace.util.parquet.ParquetRowGroupDecoder
+import org.opendc.trace.util.parquet.readDoubles
+import org.opendc.trace.util.parquet.readInts
+import org.opendc.trace.util.parquet.readLongs
+import java.nio.file.Files
+import java.nio.file.Path
+
+/**
+ * The physical type of a [MetricColumn].
+ *
+ * @property bytes The number of bytes a single value occupies in memory.
+ */
+internal enum class MetricType(val bytes: Int) {
+    INT(4),
+    LONG(8),
+    DOUBLE(8),
+
+    /**
+     * A string column, stored as the ids of the [StringDictionary] of its table.
+     */
+    STRING(4),
+}
+
+/**
+ * How the values of a [MetricColumn] are combined when several samples are folded into a single row.
+ */
+internal enum class Aggregation {
+    LAST,
+    SUM,
+    MEAN,
+    MIN,
+    MAX,
+}
+
+/**
+ * A column of a [ColumnarTable].
+ *
+ * @property name The name of the column.
+ * @property type The physical type of the column.
+ * @property aggregation How the values of the column are combined when samples are aggregated at ingest.
+ */
+internal class MetricColumn(
+    val name: String,
+    val type: MetricType,
+    val aggregation: Aggregation = Aggregation.LAST,
+)
+
+/**
+ * A buffer holding the values of a single row before it is appended to a [ColumnarTable]. The values of integral and
+ * string columns are held in [longs], the values of floating-point columns in [doubles].
+ */
+internal class MetricRow(size: Int) {
+    val longs = LongArray(size)
+    val doubles = DoubleArray(size)
+}
+
+/**
+ * Interns the strings of a column of a [ColumnarTable], such that the column can be stored as primitive ids. The id of
+ * `null` is `-1`.
+ */
+internal class StringDictionary {
+    private val ids = HashMap<String, Int>()
+    private val values = ArrayList<String>()
+
+    /**
+     * Obtain the id of [value], adding it to the dictionary if necessary.
+     */
+    fun id(value: String?): Int {
+        if (value == null) {
+            return -1
+        }
+
+        return ids.getOrPut(value) {
+            values.add(value)
+            values.size - 1
+        }
+    }
+
+    /**
+     * Look up the id of [value] without adding it, or return `-2` if it is not in the dictionary.
+     */
+    fun find(value: String): Int = ids[value] ?: -2
+
+    /**
+     * Obtain the string with the specified [id].
+     */
+    operator fun get(id: Int): String? = if (id < 0) null else values[id]
+
+    /**
+     * The strings in the dictionary, in the order they were added.
+     */
+    val strings: List<String>
+        get() = values
+}
+
+/**
+ * A chunk of rows of a [ColumnarTable], stored as one primitive array per column.
+ */
+internal class ColumnChunk(
+    val columns: List<MetricColumn>,
+    capacity: Int,
+) {
+    /**
+     * The number of rows in the chunk.
+     */
+    var size: Int = 0
+        private set
+
+    /**
+     * The number of rows the chunk can hold before its arrays are grown.
+     */
+    var capacity: Int = capacity
+        private set
+
+    private val rowBytes = columns.sumOf { it.type.bytes }
+    private val ints = arrayOfNulls<IntArray>(columns.size)
+    private val longs = arrayOfNulls<LongArray>(columns.size)
+    private val doubles = arrayOfNulls<DoubleArray>(columns.size)
+
+    init {
+        for ((i, column) in columns.withIndex()) {
+            when (column.type) {
+                MetricType.INT, MetricType.STRING -> ints[i] = IntArray(capacity)
+                MetricType.LONG -> longs[i] = LongArray(capacity)
+                MetricType.DOUBLE -> doubles[i] = DoubleArray(capacity)
+            }
+        }
+    }
+
+    /**
+     * The number of bytes occupied by the arrays of this chunk.
+     */
+    val bytes: Long
+        get() = capacity.toLong() * rowBytes
+
+    /**
+     * The values of the `INT` or `STRING` column at [column]. Only the first [size] values are valid.
+     */
+    fun ints(column: Int): IntArray = checkNotNull(ints[column]) { "Column ${columns[column].name} is not an integer column" }
+
+    /**
+     * The values of the `LONG` column at [column]. Only the first [size] values are valid.
+     */
+    fun longs(column: Int): LongArray = checkNotNull(longs[column]) { "Column ${columns[column].name} is not a long column" }
+
+    /**
+     * The values of the `DOUBLE` column at [column]. Only the first [size] values are valid.
+     */
+    fun doubles(column: Int): DoubleArray = checkNotNull(doubles[column]) { "Column ${columns[column].name} is not a double column" }
+
+    /**
+     * Append the values of [row] to this chunk.
+     */
+    fun append(row: MetricRow) {
+        if (size == capacity) {
+            grow(maxOf(capacity * 2, 16))
+        }
+
+        val index = size++
+        for (i in columns.indices) {
+            when (columns[i].type) {
+                MetricType.INT, MetricType.STRING -> ints[i]!![index] = row.longs[i].toInt()
+                MetricType.LONG -> longs[i]!![index] = row.longs[i]
+                MetricType.DOUBLE -> doubles[i]!![index] = row.doubles[i]
+            }
+        }
+    }
+
+    /**
+     * Append the row at [index] of [source] to this chunk, where [mapping] holds for every column of this chunk the
+     * index of the corresponding column of [source].
+     */
+    fun appendFrom(
+        source: ColumnChunk,
+        index: Int,
+        mapping: IntArray,
+    ) {
+        if (size == capacity) {
+            grow(maxOf(capacity * 2, 16))
+        }
+
+        val dst = size++
+        for (i in columns.indices) {
+            val src = mapping[i]
+            when (columns[i].type) {
+                MetricType.INT, MetricType.STRING -> ints[i]!![dst] = source.ints(src)[index]
+                MetricType.LONG -> longs[i]!![dst] = source.longs(src)[index]
+                MetricType.DOUBLE -> doubles[i]!![dst] = source.doubles(src)[index]
+            }
+        }
+    }
+
+    /**
+     * Set the number of rows in the chunk to [size] after its arrays have been filled directly.
+     */
+    fun setSize(size: Int) {
+        require(size in 0..capacity) { "Size out of bounds" }
+        this.size = size
+    }
+
+    private fun grow(capacity: Int) {
+        for (i in columns.indices) {
+            ints[i] = ints[i]?.copyOf(capacity)
+            longs[i] = longs[i]?.copyOf(capacity)
+            doubles[i] = doubles[i]?.copyOf(capacity)
+        }
+        this.capacity = capacity
+    }
+}
+
+/**
+ * A table of metrics stored column by column in primitive arrays.
+ *
+ * Rows are appended to an in-memory [ColumnChunk]. When the owner of the table decides that it uses too much memory,
+ * the chunk is [spill]ed to a temporary Parquet file and a new, small chunk is started. Reading the table visits the
+ * spilled chunks in the order they were written, followed by the in-memory chunk.
+ *
+ * @property name The name of the table, which is used to name its spill files.
+ * @property columns The columns of the table.
+ */
+internal class ColumnarTable(
+    val name: String,
+    val columns: List<MetricColumn>,
+) {
+    private val dictionaries = Array(columns.size) { if (columns[it].type == MetricType.STRING) StringDictionary() else null }
+
+    private val index = columns.withIndex().associate { (i, column) -> column.name to i }
+    private var chunk = ColumnChunk(columns, INITIAL_CAPACITY)
+    private val spills = ArrayList<Path>()
+    private var spilledRows = 0L
+
+    /**
+     * The total number of rows in the table.
+     */
+    val rowCount: Long
+        get() = spilledRows + chunk.size
+
+    /**
+     * The number of bytes the rows of the table occupy in memory.
+     */
+    val bytesInMemory: Long
+        get() = chunk.bytes
+
+    /**
+     * Obtain the index of the column with the specified [name].
+     *
+     * @throws IllegalArgumentException if the table has no such column.
+     */
+    fun columnIndex(name: String): Int = index[name] ?: throw IllegalArgumentException("Table ${this.name} has no column '$name'")
+
+    /**
+     * Obtain the [StringDictionary] of the `STRING` column at [column].
+     */
+    fun dictionary(column: Int): StringDictionary =
+        checkNotNull(dictionaries[column]) { "Column ${columns[column].name} is not a string column" }
+
+    /**
+     * Determine whether the table has a column with the specified [name].
+     */
+    operator fun contains(name: String): Boolean = name in index
+
+    /**
+     * Append [row] to the table.
+     */
+    fun append(row: MetricRow) {
+        chunk.append(row)
+    }
+
+    /**
+     * Write the rows held in memory to a Parquet file in [directory] and release their memory.
+     */
+    fun spill(directory: Path) {
+        val chunk = chunk
+        if (chunk.size == 0) {
+            return
+        }
+
+        val file = directory.resolve("$name-${spills.size}.parquet")
+        val cursor = RowCursor(chunk)
+        LocalParquetWriter.builder(file, ChunkWriteSupport(schema))
+            .withCompressionCodec(CompressionCodecName.SNAPPY)
+            .withWriteMode(ParquetFileWriter.Mode.OVERWRITE)
+            .build()
+            .use { writer ->
+                while (cursor.index < chunk.size) {
+                    writer.write(cursor)
+                    cursor.index++
+                }
+            }
+
+        file.toFile().deleteOnExit()
+        spills.add(file)
+        spilledRows += chunk.size
+        this.chunk = ColumnChunk(columns, INITIAL_CAPACITY)
+    }
+
+    /**
+     * Visit the chunks of the table in the order their rows were appended.
+     */
+    fun forEachChunk(block: (ColumnChunk) -> Unit) {
+        for (file in spills) {
+            LocalParquetRowGroupReader(file, ChunkDecoder(schema, columns)).use { reader ->
+                while (true) {
+                    block(reader.read() ?: break)
+                }
+            }
+        }
+
+        if (chunk.size > 0) {
+            block(chunk)
+        }
+    }
+
+    /**
+     * Collect the values of the columns named [names] of the rows that match [predicate] into a single chunk.
+     */
+    fun select(
+        names: List<String>,
+        predicate: (ColumnChunk, Int) -> Boolean = { _, _ -> true },
+    ): ColumnChunk {
+        val mapping = IntArray(names.size) { columnIndex(names[it]) }
+        val result = ColumnChunk(mapping.map { columns[it] }, INITIAL_CAPACITY)
+        forEachChunk { chunk ->
+            for (row in 0 until chunk.size) {
+                if (predicate(chunk, row)) {
+                    result.appendFrom(chunk, row, mapping)
+                }
+            }
+        }
+        return result
+    }
+
+    /**
+     * Delete the spill files of the table.
+     */
+    fun delete() {
+        spills.forEach(Files::deleteIfExists)
+        spills.clear()
+        spilledRows = 0
+    }
+
+    /**
+     * The Parquet schema of the spill files.
+     */
+    private val schema: MessageType by lazy {
+        val builder = Types.buildMessage()
+        for (column in columns) {
+            val type =
+                when (column.type) {
+                    MetricType.INT, MetricType.STRING -> PrimitiveTypeName.INT32
+                    MetricType.LONG -> PrimitiveTypeName.INT64
+                    MetricType.DOUBLE -> PrimitiveTypeName.DOUBLE
+                }
+            builder.required(type).named(column.name)
+        }
+        builder.named(name)
+    }
+
+    private companion object {
+        /**
+         * The number of rows a new chunk can hold before it is grown.
+         */
+        const val INITIAL_CAPACITY = 1024
+    }
+}
+
+/**
+ * A pointer to the row of a [ColumnChunk] that is written next.
+ */
+private class RowCursor(val chunk: ColumnChunk) {
+    var index = 0
+}
+
+/**
+ * A [WriteSupport] that writes the rows of a [ColumnChunk] as flat Parquet records.
+ */
+private class ChunkWriteSupport(private val schema: MessageType) : WriteSupport<RowCursor>() {
+    private lateinit var recordConsumer: RecordConsumer
+
+    override fun init(configuration: Configuration): WriteContext = WriteContext(schema, emptyMap())
+
+    override fun prepareForWrite(recordConsumer: RecordConsumer) {
+        this.recordConsumer = recordConsumer
+    }
+
+    override fun write(record: RowCursor) {
+        val consumer = recordConsumer
+        val chunk = record.chunk
+        val row = record.index
+
+        consumer.startMessage()
+        for ((i, column) in chunk.columns.withIndex()) {
+            consumer.startField(column.name, i)
+            when (column.type) {
+                MetricType.INT, MetricType.STRING -> consumer.addInteger(chunk.ints(i)[row])
+                MetricType.LONG -> consumer.addLong(chunk.longs(i)[row])
+                MetricType.DOUBLE -> consumer.addDouble(chunk.doubles(i)[row])
+            }
+            consumer.endField(column.name, i)
+        }
+        consumer.endMessage()
+    }
+}
+
+/**
+ * A [ParquetRowGroupDecoder] that reads the row groups of a spill file back into [ColumnChunk]s.
+ */
+private class ChunkDecoder(
+    private val schema: MessageType,
+    private val columns: List<MetricColumn>,
+) : ParquetRowGroupDecoder<ColumnChunk> {
+    override fun requestSchema(fileMetaData: FileMetaData): MessageType = schema
+
+    override fun decode(rowGroup: ParquetRowGroup): ColumnChunk {
+        val size = rowGroup.rowCount.toInt()
+        val chunk = ColumnChunk(columns, size)
+        for ((i, column) in columns.withIndex()) {
+            val reader = rowGroup.getColumnReader(column.name)
+            when (column.type) {
+                MetricType.INT, MetricType.STRING -> reader.readInts(chunk.ints(i), 0, size)
+                MetricType.LONG -> reader.readLongs(chunk.longs(i), 0, size)
+                MetricType.DOUBLE -> reader.readDoubles(chunk.doubles(i), 0, size)
+            }
+        }
+        chunk.setSize(size)
+        return chunk
+    }
+}
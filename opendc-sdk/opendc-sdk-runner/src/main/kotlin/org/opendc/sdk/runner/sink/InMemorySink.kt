@@ -24,10 +24,14 @@ package org.opendc.sdk.runner.sink
 
 import org.opendc.compute.simulator.telemetry.ComputeMonitor
 import org.opendc.compute.simulator.telemetry.OutputFiles
+import org.opendc.compute.simulator.telemetry.table.battery.BatteryTableBatch
 import org.opendc.compute.simulator.telemetry.table.battery.BatteryTableReader
+import org.opendc.compute.simulator.telemetry.table.host.HostTableBatch
 import org.opendc.compute.simulator.telemetry.table.host.HostTableReader
+import org.opendc.compute.simulator.telemetry.table.powerSource.PowerSourceTableBatch
 import org.opendc.compute.simulator.telemetry.table.powerSource.PowerSourceTableReader
 import org.opendc.compute.simulator.telemetry.table.service.ServiceTableReader
+import org.opendc.compute.simulator.telemetry.table.task.TaskTableBatch
 import org.opendc.compute.simulator.telemetry.table.task.TaskTableReader
 import org.opendc.sdk.model.export.OutputFileSpec
 import org.opendc.sdk.runner.factory.toEngineOutputFiles
@@ -35,6 +39,7 @@ import org.opendc.sdk.runner.factory.toEngineOutputFiles
 /**
  * Captures each run's metrics in memory as strongly-typed [CollectedMetrics], available on the
  * run's result. Choose which [tables] to capture; each records the full typed sample per snapshot.
+ * Every sample is a separate object, so for large topologies or fine export intervals prefer a [ColumnarSink].
  *
  * @property tables The metric tables to capture; defaults to all.
  */
@@ -73,6 +78,31 @@ public class InMemorySink
                     override fun record(reader: BatteryTableReader) {
                         if (OutputFileSpec.BATTERY in captureTables) battery += reader.toSample()
                     }
+
+                    // Samples are materialised straight away, so read the batch rows without snapshotting them
+                    override fun record(batch: HostTableBatch) {
+                        if (OutputFileSpec.HOST in captureTables) {
+                            for (i in 0 until batch.size) host += batch.row(i).toSample()
+                        }
+                    }
+
+                    override fun record(batch: TaskTableBatch) {
+                        if (OutputFileSpec.TASK in captureTables) {
+                            for (i in 0 until batch.size) task += batch.row(i).toSample()
+                        }
+                    }
+
+                    override fun record(batch: PowerSourceTableBatch) {
+                        if (OutputFileSpec.POWER_SOURCE in captureTables) {
+                            for (i in 0 until batch.size) powerSource += batch.row(i).toSample()
+                        }
+                    }
+
+                    override fun record(batch: BatteryTableBatch) {
+                        if (OutputFileSpec.BATTERY in captureTables) {
+                            for (i in 0 until batch.size) battery += batch.row(i).toSample()
+                        }
+                    }
                 }
 
             override val tables: Set<OutputFiles> = captureTables.map { it.toEngineOutputFiles() }.toSet()
@@ -0,0 +1,267 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.sdk.runner.sink
+
+import org.opendc.sdk.runner.sink.Aggregation.MAX
+import org.opendc.sdk.runner.sink.Aggregation.MEAN
+import org.opendc.sdk.runner.sink.Aggregation.MIN
+import org.opendc.sdk.runner.sink.Aggregation.SUM
+import org.opendc.sdk.runner.sink.MetricType.DOUBLE
+import org.opendc.sdk.runner.sink.MetricType.INT
+import org.opendc.sdk.runner.sink.MetricType.LONG
+import org.opendc.sdk.runner.sink.MetricType.STRING
+
+/**
+ * The columns of the host table of a [ColumnarSink]. GPU metrics are reduced over the GPUs of a host: usage, demand
+ * and power draw are summed, utilization is averaged.
+ *
+ * The columns from [SAMPLES] onwards are only present when samples are aggregated at ingest.
+ */
+internal object HostColumns {
+    const val TIMESTAMP = 0
+    const val TIMESTAMP_ABSOLUTE = 1
+    const val HOST_NAME = 2
+    const val CLUSTER_NAME = 3
+    const val REGION = 4
+    const val TASKS_ACTIVE = 5
+    const val TASKS_TERMINATED = 6
+    const val CPU_CAPACITY = 7
+    const val CPU_USAGE = 8
+    const val CPU_DEMAND = 9
+    const val CPU_UTILIZATION = 10
+    const val CPU_TIME_ACTIVE = 11
+    const val CPU_TIME_IDLE = 12
+    const val CPU_TIME_STEAL = 13
+    const val CPU_TIME_LOST = 14
+    const val GPU_USAGE = 15
+    const val GPU_DEMAND = 16
+    const val GPU_UTILIZATION = 17
+    const val GPU_POWER_DRAW = 18
+    const val POWER_DRAW = 19
+    const val ENERGY_USAGE = 20
+    const val EMBODIED_CARBON = 21
+    const val UPTIME = 22
+    const val DOWNTIME = 23
+    const val SAMPLES = 24
+    const val CPU_UTILIZATION_MIN = 25
+    const val CPU_UTILIZATION_MAX = 26
+    const val POWER_DRAW_MIN = 27
+    const val POWER_DRAW_MAX = 28
+
+    private val raw =
+        listOf(
+            MetricColumn("timestamp", LONG),
+            MetricColumn("timestamp_absolute", LONG),
+            MetricColumn("host_name", STRING),
+            MetricColumn("cluster_name", STRING),
+            MetricColumn("region", STRING),
+            MetricColumn("tasks_active", INT),
+            MetricColumn("tasks_terminated", INT, SUM),
+            MetricColumn("cpu_capacity", DOUBLE),
+            MetricColumn("cpu_usage", DOUBLE, MEAN),
+            MetricColumn("cpu_demand", DOUBLE, MEAN),
+            MetricColumn("cpu_utilization", DOUBLE, MEAN),
+            MetricColumn("cpu_time_active", LONG, SUM),
+            MetricColumn("cpu_time_idle", LONG, SUM),
+            MetricColumn("cpu_time_steal", LONG, SUM),
+            MetricColumn("cpu_time_lost", LONG, SUM),
+            MetricColumn("gpu_usage", DOUBLE, MEAN),
+            MetricColumn("gpu_demand", DOUBLE, MEAN),
+            MetricColumn("gpu_utilization", DOUBLE, MEAN),
+            MetricColumn("gpu_power_draw", DOUBLE, MEAN),
+            MetricColumn("power_draw", DOUBLE, MEAN),
+            MetricColumn("energy_usage", DOUBLE, SUM),
+            MetricColumn("embodied_carbon", DOUBLE, SUM),
+            MetricColumn("uptime", LONG, SUM),
+            MetricColumn("downtime", LONG, SUM),
+        )
+
+    private val aggregated =
+        raw +
+            listOf(
+                MetricColumn("samples", INT, SUM),
+                MetricColumn("cpu_utilization_min", DOUBLE, MIN),
+                MetricColumn("cpu_utilization_max", DOUBLE, MAX),
+                MetricColumn("power_draw_min", DOUBLE, MIN),
+                MetricColumn("power_draw_max", DOUBLE, MAX),
+            )
+
+    /**
+     * The columns of the table, depending on whether samples are [aggregated] at ingest.
+     */
+    fun columns(aggregated: Boolean): List<MetricColumn> = if (aggregated) this.aggregated else raw
+}
+
+/**
+ * The columns of the task table of a [ColumnarSink]. Absent GPU metrics are stored as `NaN`, absent times as `-1`.
+ */
+internal object TaskColumns {
+    const val TIMESTAMP = 0
+    const val TIMESTAMP_ABSOLUTE = 1
+    const val TASK_ID = 2
+    const val TASK_NAME = 3
+    const val HOST_NAME = 4
+    const val REGION = 5
+    const val TASK_STATE = 6
+    const val CPU_LIMIT = 7
+    const val CPU_USAGE = 8
+    const val CPU_DEMAND = 9
+    const val CPU_TIME_ACTIVE = 10
+    const val CPU_TIME_IDLE = 11
+    const val CPU_TIME_STEAL = 12
+    const val CPU_TIME_LOST = 13
+    const val GPU_LIMIT = 14
+    const val GPU_USAGE = 15
+    const val GPU_DEMAND = 16
+    const val UPTIME = 17
+    const val DOWNTIME = 18
+    const val NUM_FAILURES = 19
+    const val NUM_PAUSES = 20
+    const val SUBMISSION_TIME = 21
+    const val SCHEDULE_TIME = 22
+    const val FINISH_TIME = 23
+    const val SCHEDULING_DELAY = 24
+    const val FAILURE_DELAY = 25
+    const val CHECKPOINT_DELAY = 26
+
+    val columns =
+        listOf(
+            MetricColumn("timestamp", LONG),
+            MetricColumn("timestamp_absolute", LONG),
+            MetricColumn("task_id", INT),
+            MetricColumn("task_name", STRING),
+            MetricColumn("host_name", STRING),
+            MetricColumn("region", STRING),
+            MetricColumn("task_state", STRING),
+            MetricColumn("cpu_limit", DOUBLE),
+            MetricColumn("cpu_usage", DOUBLE),
+            MetricColumn("cpu_demand", DOUBLE),
+            MetricColumn("cpu_time_active", LONG),
+            MetricColumn("cpu_time_idle", LONG),
+            MetricColumn("cpu_time_steal", LONG),
+            MetricColumn("cpu_time_lost", LONG),
+            MetricColumn("gpu_limit", DOUBLE),
+            MetricColumn("gpu_usage", DOUBLE),
+            MetricColumn("gpu_demand", DOUBLE),
+            MetricColumn("uptime", LONG),
+            MetricColumn("downtime", LONG),
+            MetricColumn("num_failures", INT),
+            MetricColumn("num_pauses", INT),
+            MetricColumn("submission_time", LONG),
+            MetricColumn("schedule_time", LONG),
+            MetricColumn("finish_time", LONG),
+            MetricColumn("scheduling_delay", LONG),
+            MetricColumn("failure_delay", LONG),
+            MetricColumn("checkpoint_delay", LONG),
+        )
+}
+
+/**
+ * The columns of the service table of a [ColumnarSink].
+ */
+internal object ServiceColumns {
+    const val TIMESTAMP = 0
+    const val TIMESTAMP_ABSOLUTE = 1
+    const val HOSTS_UP = 2
+    const val HOSTS_DOWN = 3
+    const val TASKS_TOTAL = 4
+    const val TASKS_PENDING = 5
+    const val TASKS_ACTIVE = 6
+    const val TASKS_COMPLETED = 7
+    const val TASKS_TERMINATED = 8
+    const val ATTEMPTS_SUCCESS = 9
+    const val ATTEMPTS_FAILURE = 10
+
+    val columns =
+        listOf(
+            MetricColumn("timestamp", LONG),
+            MetricColumn("timestamp_absolute", LONG),
+            MetricColumn("hosts_up", INT),
+            MetricColumn("hosts_down", INT),
+            MetricColumn("tasks_total", INT),
+            MetricColumn("tasks_pending", INT),
+            MetricColumn("tasks_active", INT),
+            MetricColumn("tasks_completed", INT),
+            MetricColumn("tasks_terminated", INT),
+            MetricColumn("attempts_success", INT),
+            MetricColumn("attempts_failure", INT),
+        )
+}
+
+/**
+ * The columns of the power source table of a [ColumnarSink].
+ */
+internal object PowerSourceColumns {
+    const val TIMESTAMP = 0
+    const val TIMESTAMP_ABSOLUTE = 1
+    const val POWER_SOURCE_NAME = 2
+    const val REGION = 3
+    const val HOSTS_CONNECTED = 4
+    const val POWER_DRAW = 5
+    const val ENERGY_USAGE = 6
+    const val CARBON_INTENSITY = 7
+    const val CARBON_EMISSION = 8
+
+    val columns =
+        listOf(
+            MetricColumn("timestamp", LONG),
+            MetricColumn("timestamp_absolute", LONG),
+            MetricColumn("power_source_name", STRING),
+            MetricColumn("region", STRING),
+            MetricColumn("hosts_connected", INT),
+            MetricColumn("power_draw", DOUBLE),
+            MetricColumn("energy_usage", DOUBLE),
+            MetricColumn("carbon_intensity", DOUBLE),
+            MetricColumn("carbon_emission", DOUBLE),
+        )
+}
+
+/**
+ * The columns of the battery table of a [ColumnarSink].
+ */
+internal object BatteryColumns {
+    const val TIMESTAMP = 0
+    const val TIMESTAMP_ABSOLUTE = 1
+    const val BATTERY_NAME = 2
+    const val REGION = 3
+    const val POWER_DRAW = 4
+    const val ENERGY_USAGE = 5
+    const val EMBODIED_CARBON_EMISSION = 6
+    const val CHARGE = 7
+    const val CAPACITY = 8
+    const val BATTERY_STATE = 9
+
+    val columns =
+        listOf(
+            MetricColumn("timestamp", LONG),
+            MetricColumn("timestamp_absolute", LONG),
+            MetricColumn("battery_name", STRING),
+            MetricColumn("region", STRING),
+            MetricColumn("power_draw", DOUBLE),
+            MetricColumn("energy_usage", DOUBLE),
+            MetricColumn("embodied_carbon_emission", DOUBLE),
+            MetricColumn("charge", DOUBLE),
+            MetricColumn("capacity", DOUBLE),
+            MetricColumn("battery_state", STRING),
+        )
+}
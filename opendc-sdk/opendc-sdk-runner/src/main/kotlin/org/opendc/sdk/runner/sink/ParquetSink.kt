@@ -46,7 +46,15 @@ public class ParquetSink
             val export = context.export
             val base = root.resolve(context.experimentName).resolve("raw-output").resolve(context.scenarioId.toString())
             val partition = "seed=${context.seed}"
-            val parquetMonitor = ParquetComputeMonitor(base.toFile(), partition, bufferSize, export.filesToExport, export.config)
+            val parquetMonitor =
+                ParquetComputeMonitor(
+                    base.toFile(),
+                    partition,
+                    bufferSize,
+                    export.filesToExport,
+                    export.config,
+                    export.backPressure,
+                )
             return object : SinkSession {
                 override val monitor: ComputeMonitor = parquetMonitor
                 override val tables: Set<OutputFiles> = export.filesToExport.filterValues { it }.keys
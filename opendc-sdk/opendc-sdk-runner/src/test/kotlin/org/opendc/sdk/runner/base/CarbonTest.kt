@@ -22,12 +22,16 @@
 
 package org.opendc.sdk.runner.base
 import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertNotEquals
 import org.junit.jupiter.api.Test
 import org.junit.jupiter.api.assertAll
+import org.junit.jupiter.api.assertThrows
+import org.opendc.sdk.model.scheduler.TimeShiftAllocationPolicySpec
 import org.opendc.sdk.runner.base.harness.createTestTask
 import org.opendc.sdk.runner.base.harness.createTopology
 import org.opendc.sdk.runner.base.harness.fragment
 import org.opendc.sdk.runner.base.harness.runTest
+import org.opendc.sdk.runner.base.harness.toClusters
 
 /**
  * Testing suite containing tests that specifically test the FlowDistributor
@@ -203,4 +207,67 @@ class CarbonTest {
             },
         )
     }
+
+    /**
+     * Carbon test 4: Three clusters in two grid regions
+     * Two clusters share the Belgian region and one cluster is in the Dutch region.
+     *
+     * We check if the clusters of a region share the carbon trace of the region, and if every power source is tagged
+     * with its region and follows the carbon intensity of its own region.
+     */
+    @Test
+    fun testCarbonRegions() {
+        val workload =
+            listOf(
+                createTestTask(
+                    id = 0,
+                    fragments =
+                        listOf(
+                            fragment(60 * 60 * 1000, 1000.0),
+                        ),
+                    submissionTime = "2022-01-01T00:00",
+                ),
+            )
+
+        val topology = createTopology("multi_region_BE_NL.json")
+        val clusters = topology.toClusters()
+        val monitor = runTest(topology, workload)
+
+        val intensities = monitor.powerSourceCarbonIntensities
+
+        assertAll(
+            { assertEquals(listOf("BE", "BE", "NL"), clusters.map { it.region }) },
+            { assertEquals(clusters[0].powerSource.carbonTracePath, clusters[1].powerSource.carbonTracePath) },
+            { assertNotEquals(clusters[0].powerSource.carbonTracePath, clusters[2].powerSource.carbonTracePath) },
+            { assertEquals(mapOf("PowerSource" to "BE", "PowerSource-0" to "BE", "PowerSource-1" to "NL"), monitor.powerSourceRegions) },
+            { assertEquals(intensities["PowerSource"], intensities["PowerSource-0"]) { "The clusters of a region must share its trace" } },
+            { assertEquals(164.5177, intensities["PowerSource-1"]!![0], 1e-3) { "The Carbon Intensity is incorrect" } },
+            { assertEquals(164.5177, intensities["PowerSource-1"]!![13], 1e-3) { "The Carbon Intensity is incorrect" } },
+            { assertEquals(162.9489, intensities["PowerSource-1"]!![14], 1e-3) { "The Carbon Intensity is incorrect" } },
+        )
+    }
+
+    /**
+     * Carbon test 5: A carbon-aware scheduler on a topology with two grid regions
+     *
+     * We check if the topology is rejected, since the scheduler can only follow the carbon trace of a single region.
+     */
+    @Test
+    fun testCarbonRegionsTimeShift() {
+        val workload =
+            listOf(
+                createTestTask(
+                    id = 0,
+                    fragments =
+                        listOf(
+                            fragment(60 * 60 * 1000, 1000.0),
+                        ),
+                    submissionTime = "2022-01-01T00:00",
+                ),
+            )
+
+        val topology = createTopology("multi_region_BE_NL.json")
+
+        assertThrows<IllegalArgumentException> { runTest(topology, workload, allocationPolicy = TimeShiftAllocationPolicySpec()) }
+    }
 }
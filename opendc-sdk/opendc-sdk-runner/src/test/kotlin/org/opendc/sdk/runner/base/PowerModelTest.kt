@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.sdk.runner.base
+
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertNotEquals
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertAll
+import org.opendc.sdk.model.topology.TopologySpec
+import org.opendc.sdk.runner.base.harness.createTestTask
+import org.opendc.sdk.runner.base.harness.createTopology
+import org.opendc.sdk.runner.base.harness.fragment
+import org.opendc.sdk.runner.base.harness.runTest
+import org.opendc.sdk.runner.base.harness.toClusters
+
+/**
+ * Testing suite containing tests that check the power models of hosts.
+ */
+class PowerModelTest {
+    /**
+     * Tabulated power model test: the CPU power draw of a host with a tabulated power model stays within the error
+     * bound of the table of the analytic power draw.
+     */
+    @Test
+    fun testTabulatedPowerModel() {
+        val workload =
+            listOf(
+                createTestTask(
+                    id = 0,
+                    fragments =
+                        listOf(
+                            fragment(10 * 60 * 1000, 123.4),
+                            fragment(10 * 60 * 1000, 777.7),
+                            fragment(10 * 60 * 1000, 1500.3),
+                            fragment(10 * 60 * 1000, 2000.0),
+                        ),
+                ),
+            )
+
+        val tabulatedTopology = createTopology("single_1_2000_cubic_tabulated.json")
+        val analyticTopology = tabulatedTopology.withTabulated(false)
+
+        val tabulated = runTest(tabulatedTopology, workload).hostPowerDraws.getValue("H01")
+        val analytic = runTest(analyticTopology, workload).hostPowerDraws.getValue("H01")
+
+        assertAll(
+            {
+                assertTrue(tabulatedTopology.toClusters()[0].hostSpecs[0].cpuPowerModel.toString().startsWith("Tabulated")) {
+                    "The power model is not tabulated"
+                }
+            },
+            { assertNotEquals(analytic, tabulated) { "The tabulated power model is not used" } },
+            { assertEquals(analytic.size, tabulated.size) },
+            { assertEquals(200.0, tabulated.max()) { "The power draw at full utilization is not exact" } },
+            {
+                analytic.zip(tabulated).forEachIndexed { i, (expected, actual) ->
+                    assertEquals(expected, actual, 1e-3) { "The power draw at sample $i is not within the error bound" }
+                }
+            },
+        )
+    }
+
+    private fun TopologySpec.withTabulated(tabulated: Boolean): TopologySpec =
+        copy(
+            clusters =
+                clusters.map { cluster ->
+                    cluster.copy(hosts = cluster.hosts.map { it.copy(cpuPowerModel = it.cpuPowerModel.copy(tabulated = tabulated)) })
+                },
+        )
+}
@@ -149,11 +149,18 @@ class TestComputeMonitor : ComputeMonitor {
     var carbonIntensities = ArrayList<Double>()
     var carbonEmissions = ArrayList<Double>()
 
+    var powerSourceRegions = mutableMapOf<String, String?>()
+    var powerSourceCarbonIntensities = mutableMapOf<String, ArrayList<Double>>()
+
     override fun record(reader: PowerSourceTableReader) {
         powerDraws.add(reader.powerDraw)
         energyUsages.add(reader.energyUsage)
 
         carbonIntensities.add(reader.carbonIntensity)
         carbonEmissions.add(reader.carbonEmission)
+
+        val sourceName = reader.powerSourceInfo.name
+        powerSourceRegions[sourceName] = reader.powerSourceInfo.region
+        powerSourceCarbonIntensities.getOrPut(sourceName) { ArrayList() }.add(reader.carbonIntensity)
     }
 }
@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.sdk.runner.unit
+
+import org.junit.jupiter.api.Assertions.assertArrayEquals
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertAll
+import org.opendc.common.units.DataSize
+import org.opendc.sdk.model.dsl.experiment
+import org.opendc.sdk.model.dsl.gib
+import org.opendc.sdk.model.dsl.mhz
+import org.opendc.sdk.model.dsl.mib
+import org.opendc.sdk.model.dsl.minutes
+import org.opendc.sdk.model.dsl.ms
+import org.opendc.sdk.model.dsl.topology
+import org.opendc.sdk.model.dsl.watts
+import org.opendc.sdk.model.experiment.ExperimentSpec
+import org.opendc.sdk.model.export.ExportSpec
+import org.opendc.sdk.model.resource.NamedReference
+import org.opendc.sdk.model.topology.PowerModelType
+import org.opendc.sdk.model.topology.TopologySpec
+import org.opendc.sdk.model.workload.InlineWorkloadSpec
+import org.opendc.sdk.model.workload.TaskFragmentSpec
+import org.opendc.sdk.model.workload.TaskSpec
+import org.opendc.sdk.runner.OpenDC
+import org.opendc.sdk.runner.SimulationReport
+import org.opendc.sdk.runner.provision.FileSystemResourceProvisioner
+import org.opendc.sdk.runner.sink.ColumnarSink
+import org.opendc.sdk.runner.sink.InMemorySink
+import org.opendc.sdk.runner.sink.OutputSink
+import java.nio.file.Files
+import java.nio.file.Path
+import kotlin.io.path.listDirectoryEntries
+
+/**
+ * Validates that a [ColumnarSink] captures the same metrics as an [InMemorySink], both when every sample is kept and
+ * when the captured tables are spilled to disk, that host samples aggregated at ingest preserve the totals, and that
+ * rows are tagged with the grid region of their cluster.
+ */
+class ColumnarSinkTest {
+    @Test
+    fun `columnar sink captures the same metrics as the in-memory sink`() {
+        // Each sink has its own metric reader, and the reader that samples first drops the final rows of finished
+        // tasks for the others, so the sinks are compared across two runs of the same scenario
+        val collected = simulate(InMemorySink()).use { report -> requireNotNull(report.runs.single().metrics) }
+        simulate(ColumnarSink()).use { report ->
+            val columnar = requireNotNull(report.runs.single().columnarMetrics)
+            val series = columnar.hostSeries("H01")
+            val samples = collected.host.filter { it.host == "H01" }
+            val carbon = columnar.powerSourceTotals().carbonEmission.sum()
+
+            assertAll(
+                { assertEquals(collected.host.size.toLong(), columnar.host.rowCount) },
+                { assertEquals(collected.task.size.toLong(), columnar.task.rowCount) },
+                { assertEquals(collected.service.size.toLong(), columnar.service.rowCount) },
+                { assertEquals(collected.powerSource.size.toLong(), columnar.powerSource.rowCount) },
+                { assertEquals(setOf("H01", "H02"), columnar.hosts.toSet()) },
+                { assertArrayEquals(samples.map { it.timestamp }.toLongArray(), series.timestamps) },
+                { assertArrayEquals(samples.map { it.powerDraw }.toDoubleArray(), series.powerDraw) },
+                { assertEquals(collected.host.map { it.cpuUtilization }.average(), columnar.meanCpuUtilization(), 1e-9) },
+                { assertEquals(collected.host.sumOf { it.energyUsage }, columnar.hostTotals().energyUsage.sum(), 1e-6) },
+                { assertEquals(collected.powerSource.sumOf { it.carbonEmission }, carbon, 1e-6) },
+                { assertEquals(collected.service.maxOf { it.tasksCompleted }, columnar.serviceSeries().tasksCompleted.max()) },
+                { assertEquals(collected.task.map { it.taskName }, columnar.task.strings("task_name")) },
+            )
+        }
+    }
+
+    @Test
+    fun `columnar sink spills to disk past its memory budget`() {
+        val spillRoot = Files.createTempDirectory("spill")
+        simulate(ColumnarSink(memoryBudget = DataSize.ofBytes(1), spillDirectory = spillRoot), InMemorySink()).use { report ->
+            val run = report.runs.single()
+            val collected = requireNotNull(run.metrics)
+            val columnar = requireNotNull(run.columnarMetrics)
+
+            assertAll(
+                { assertTrue(spillRoot.listDirectoryEntries().isNotEmpty()) { "the tables were spilled" } },
+                { assertEquals(collected.host.size.toLong(), columnar.host.rowCount) },
+                { assertArrayEquals(collected.host.map { it.timestamp }.toLongArray(), columnar.host.longs("timestamp")) },
+                { assertArrayEquals(collected.host.map { it.cpuUsage }.toDoubleArray(), columnar.host.doubles("cpu_usage")) },
+                { assertEquals(collected.host.map { it.host }, columnar.host.strings("host_name")) },
+            )
+        }
+
+        assertTrue(spillRoot.listDirectoryEntries().isEmpty()) { "closing the report deletes the spill files" }
+    }
+
+    @Test
+    fun `columnar sink aggregates host samples per interval`() {
+        simulate(ColumnarSink(hostInterval = 5.minutes), InMemorySink()).use { report ->
+            val run = report.runs.single()
+            val collected = requireNotNull(run.metrics)
+            val columnar = requireNotNull(run.columnarMetrics)
+            val series = columnar.hostSeries("H01")
+            val samples = collected.host.filter { it.host == "H01" }
+
+            assertAll(
+                { assertTrue(series.size < samples.size) { "samples are folded into fewer rows" } },
+                { assertEquals(collected.host.size, columnar.host.ints("samples").sum()) },
+                { assertEquals(samples.sumOf { it.energyUsage }, series.energyUsage.sum(), 1e-6) },
+                { assertEquals(samples.maxOf { it.powerDraw }, series.powerDrawMax.max(), 1e-9) },
+                { assertEquals(samples.minOf { it.powerDraw }, series.powerDrawMin.min(), 1e-9) },
+                { assertEquals(collected.host.map { it.cpuUtilization }.average(), columnar.meanCpuUtilization(), 1e-9) },
+            )
+        }
+    }
+
+    @Test
+    fun `columnar sink tags rows with their region`() {
+        val datacenter =
+            topology {
+                region("BE", NamedReference("carbonTraces/2022-01-01_2022-12-31_BE.parquet"))
+                region("NL", NamedReference("carbonTraces/2022-01-01_2022-12-31_NL.parquet"))
+                cluster(name = "C01", region = "BE") {
+                    host(name = "H01") {
+                        cpu(coreCount = 1, coreSpeed = 2000.mhz)
+                        memory(size = 1.gib)
+                    }
+                    powerSource(name = "P01")
+                }
+                cluster(name = "C02", region = "NL") {
+                    host(name = "H02") {
+                        cpu(coreCount = 1, coreSpeed = 2000.mhz)
+                        memory(size = 1.gib)
+                    }
+                    powerSource(name = "P02")
+                }
+            }
+        val provisioner = FileSystemResourceProvisioner(testResourcesRoot)
+
+        simulate(ColumnarSink(), provisioner = provisioner, experiment = experiment(datacenter)).use { report ->
+            val columnar = requireNotNull(report.runs.single().columnarMetrics)
+            val hostRegions = columnar.host.strings("host_name").zip(columnar.host.strings("region")).toSet()
+            val powerSourceRegions =
+                columnar.powerSource.strings("power_source_name").zip(columnar.powerSource.strings("region")).toSet()
+            val taskRegions = columnar.task.strings("host_name").zip(columnar.task.strings("region")).toSet()
+
+            assertAll(
+                { assertEquals(setOf("H01" to "BE", "H02" to "NL"), hostRegions) },
+                { assertEquals(setOf("P01" to "BE", "P02" to "NL"), powerSourceRegions) },
+                { assertTrue(taskRegions.all { (host, region) -> region == mapOf("H01" to "BE", "H02" to "NL")[host] }) },
+            )
+        }
+    }
+
+    private fun simulate(
+        vararg sinks: OutputSink,
+        provisioner: FileSystemResourceProvisioner = FileSystemResourceProvisioner(Files.createTempDirectory("sink")),
+        experiment: ExperimentSpec = experiment(),
+    ): SimulationReport {
+        val builder =
+            OpenDC.builder()
+                .provisioner(provisioner)
+                .parallelism(1)
+        sinks.forEach { builder.sink(it) }
+        return builder.build().simulate(experiment)
+    }
+
+    private fun datacenter(): TopologySpec =
+        topology {
+            cluster(name = "C01") {
+                host(name = "H01") {
+                    cpu(coreCount = 1, coreSpeed = 2000.mhz)
+                    memory(size = 1.gib)
+                    power {
+                        type = PowerModelType.LINEAR
+                        maxPower = 200.watts
+                        idlePower = 100.watts
+                    }
+                }
+                host(name = "H02") {
+                    cpu(coreCount = 1, coreSpeed = 2000.mhz)
+                    memory(size = 1.gib)
+                }
+            }
+        }
+
+    private fun experiment(datacenter: TopologySpec = datacenter()): ExperimentSpec {
+        val tasks =
+            List(2) { i ->
+                TaskSpec(
+                    id = i,
+                    name = "t$i",
+                    submissionTime = (i * 3 * 60 * 1000).ms,
+                    duration = (20 * 60 * 1000).ms,
+                    cpuCoreCount = 1,
+                    cpuCapacity = 1000.mhz,
+                    memory = 0.mib,
+                    fragments =
+                        listOf(
+                            TaskFragmentSpec(duration = (10 * 60 * 1000).ms, cpuUsage = 500.mhz),
+                            TaskFragmentSpec(duration = (10 * 60 * 1000).ms, cpuUsage = 1000.mhz),
+                        ),
+                )
+            }
+        return experiment {
+            name = "columnar-sink-test"
+            topology(datacenter)
+            workload(InlineWorkloadSpec(tasks))
+            exportModel(ExportSpec(exportInterval = 1.minutes, printFrequency = null))
+        }
+    }
+
+    private companion object {
+        val testResourcesRoot: Path = Path.of(object {}.javaClass.getResource("/carbonTraces")!!.toURI()).parent
+    }
+}
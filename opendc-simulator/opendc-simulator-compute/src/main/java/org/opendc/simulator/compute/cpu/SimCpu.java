@@ -22,8 +22,6 @@
 
 package org.opendc.simulator.compute.cpu;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.util.List;
 import java.util.Map;
 import org.opendc.common.ResourceType;
@@ -143,11 +141,8 @@ public final class SimCpu extends FlowNode implements FlowSupplier, FlowConsumer
     public long onUpdate(long now) {
         updateCounters(now);
 
-        // Check if supply == demand
-        // using big decimal to avoid floating point precision issues
-        if (!new BigDecimal(this.currentPowerDemand)
-                .setScale(5, RoundingMode.HALF_UP)
-                .equals(new BigDecimal(this.currentPowerSupplied).setScale(5, RoundingMode.HALF_UP))) {
+        // Check if supply == demand, allowing for floating point rounding errors
+        if (!this.engine.getTolerance().isEqual(this.currentPowerDemand, this.currentPowerSupplied)) {
             this.pushOutgoingDemand(this.psuEdge, this.currentPowerDemand);
 
             return Long.MAX_VALUE;
@@ -31,7 +31,7 @@ import org.opendc.simulator.engine.graph.FlowNode;
 
 /**
  * CarbonModel used to provide the Carbon Intensity of a {@link SimPowerSource}
- * A CarbonModel is based on a list of {@link CarbonFragment} that define the carbon intensity at specific time frames.
+ * A CarbonModel is based on a {@link CarbonTimeline} that defines the carbon intensity at specific time frames.
  */
 public class CarbonModel extends FlowNode {
 
@@ -39,8 +39,7 @@ public class CarbonModel extends FlowNode {
 
     private final long startTime; // The absolute timestamp on which the workload started
 
-    private final List<CarbonFragment> fragments;
-    private CarbonFragment current_fragment;
+    private final CarbonTimeline timeline;
 
     private int fragment_index;
 
@@ -53,14 +52,25 @@ public class CarbonModel extends FlowNode {
      *                  to absolute time (used by carbon fragments).
      */
     public CarbonModel(FlowEngine engine, List<CarbonFragment> carbonFragments, long startTime) {
+        this(engine, CarbonTimeline.of(carbonFragments), startTime);
+    }
+
+    /**
+     * Construct a CarbonModel
+     *
+     * @param engine The {@link FlowEngine} the node belongs to
+     * @param timeline The (shared) {@link CarbonTimeline} defining the carbon intensity at different time frames
+     * @param startTime The start time of the simulation. This is used to go from relative time (used by the clock)
+     *                  to absolute time (used by carbon fragments).
+     */
+    public CarbonModel(FlowEngine engine, CarbonTimeline timeline, long startTime) {
         super(engine);
 
         this.startTime = startTime;
-        this.fragments = carbonFragments;
+        this.timeline = timeline;
 
         this.fragment_index = 0;
-        this.current_fragment = this.fragments.get(this.fragment_index);
-        this.pushCarbonIntensity(this.current_fragment.getCarbonIntensity());
+        this.pushCarbonIntensity(this.timeline.getCarbonIntensity(this.fragment_index));
     }
 
     public void close() {
@@ -87,36 +97,21 @@ public class CarbonModel extends FlowNode {
         return time - startTime;
     }
 
-    /**
-     * Traverse the fragments to find the fragment that matches the given absoluteTime
-     */
-    private void findCorrectFragment(long absoluteTime) {
-
-        // Traverse to the previous fragment, until you reach the correct fragment
-        while (absoluteTime < this.current_fragment.getStartTime()) {
-            this.current_fragment = fragments.get(--this.fragment_index);
-        }
-
-        // Traverse to the next fragment, until you reach the correct fragment
-        while (absoluteTime >= this.current_fragment.getEndTime()) {
-            this.current_fragment = fragments.get(++this.fragment_index);
-        }
-    }
-
     @Override
     public long onUpdate(long now) {
         long absolute_time = getAbsoluteTime(now);
 
         // Check if the current fragment is still the correct fragment,
-        // Otherwise, find the correct fragment.
-        if ((absolute_time < current_fragment.getStartTime()) || (absolute_time >= current_fragment.getEndTime())) {
-            this.findCorrectFragment(absolute_time);
+        // Otherwise, look up the correct fragment.
+        if ((absolute_time < timeline.getStartTime(fragment_index))
+                || (absolute_time >= timeline.getEndTime(fragment_index))) {
+            this.fragment_index = timeline.indexOf(absolute_time);
 
-            pushCarbonIntensity(current_fragment.getCarbonIntensity());
+            pushCarbonIntensity(timeline.getCarbonIntensity(fragment_index));
         }
 
         // Update again at the end of this fragment
-        return getRelativeTime(current_fragment.getEndTime());
+        return getRelativeTime(timeline.getEndTime(fragment_index));
     }
 
     private void pushCarbonIntensity(double carbonIntensity) {
@@ -130,17 +125,37 @@ public class CarbonModel extends FlowNode {
 
         receiver.setCarbonModel(this);
 
-        receiver.updateCarbonIntensity(this.current_fragment.getCarbonIntensity());
+        receiver.updateCarbonIntensity(this.timeline.getCarbonIntensity(this.fragment_index));
+    }
+
+    /**
+     * Return the {@link CarbonTimeline} of this model.
+     */
+    public CarbonTimeline getTimeline() {
+        return timeline;
+    }
+
+    /**
+     * Return the index of the current fragment in the {@link CarbonTimeline}.
+     */
+    public int getFragmentIndex() {
+        return fragment_index;
     }
 
+    /**
+     * Return the carbon intensities of the next fragments, up to {@code forecastSize - 1} fragments.
+     */
     public double[] getForecast(int forecastSize) {
-        return this.fragments
-                .subList(
-                        Math.min(this.fragment_index + 1, this.fragments.size() - 1),
-                        Math.min(this.fragment_index + forecastSize, this.fragments.size()))
-                .stream()
-                .mapToDouble(CarbonFragment::getCarbonIntensity)
-                .toArray();
+        return this.timeline.forecast(this.fragment_index, forecastSize);
+    }
+
+    /**
+     * Return the carbon intensity at the given quantile of the forecast of the given size.
+     *
+     * @see CarbonTimeline#forecastPercentile(int, int, double)
+     */
+    public double getForecastPercentile(int forecastSize, double quantile) {
+        return this.timeline.forecastPercentile(this.fragment_index, forecastSize, quantile);
     }
 
     public static <T, U> List<U> castList(List<T> list, Class<U> clazz) {
@@ -0,0 +1,363 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.simulator.compute.power;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An immutable, indexed timeline of the carbon intensity of a region.
+ * <p>
+ * The timeline stores the fragments of a carbon trace as primitive arrays, together with a prefix sum and a sparse
+ * table of the minimum and maximum intensities. Looking up the fragment at a point in time takes O(log n) time, while
+ * the mean, minimum and maximum of any range of fragments are answered in O(1) time. Percentiles of the forecast
+ * windows used by the carbon-aware schedulers are precomputed once per window size and quantile, after which they are
+ * answered in O(1) time as well.
+ * <p>
+ * Since a timeline is immutable, a single instance can be shared by all simulations that use the same carbon trace.
+ */
+public final class CarbonTimeline {
+    private final long[] startTimes;
+    private final long[] endTimes;
+    private final double[] intensities;
+
+    /**
+     * The prefix sum of the intensities, such that {@code prefixSums[i]} is the sum of the first {@code i} fragments.
+     */
+    private final double[] prefixSums;
+
+    /**
+     * The sparse tables of the minimum and maximum intensities, such that {@code minTable[k][i]} is the minimum of
+     * the {@code 2^k} fragments starting at fragment {@code i}.
+     */
+    private final double[][] minTable;
+
+    private final double[][] maxTable;
+
+    /**
+     * The forecast percentiles per fragment, computed on first use for each window size and quantile.
+     */
+    private final ConcurrentHashMap<ForecastKey, double[]> forecastPercentiles = new ConcurrentHashMap<>();
+
+    private record ForecastKey(int forecastSize, double quantile) {}
+
+    /**
+     * Construct a {@link CarbonTimeline}.
+     *
+     * @param startTimes The start times of the fragments in epoch milliseconds, in ascending order.
+     * @param endTimes The end times of the fragments in epoch milliseconds.
+     * @param intensities The carbon intensity during each fragment.
+     */
+    public CarbonTimeline(long[] startTimes, long[] endTimes, double[] intensities) {
+        int size = intensities.length;
+        if (size == 0) {
+            throw new IllegalArgumentException("A carbon timeline requires at least one fragment");
+        }
+        if (startTimes.length != size || endTimes.length != size) {
+            throw new IllegalArgumentException("The number of start times, end times and intensities must be equal");
+        }
+
+        this.startTimes = startTimes.clone();
+        this.endTimes = endTimes.clone();
+        this.intensities = intensities.clone();
+
+        this.prefixSums = new double[size + 1];
+        for (int i = 0; i < size; i++) {
+            this.prefixSums[i + 1] = this.prefixSums[i] + this.intensities[i];
+        }
+
+        int levels = 32 - Integer.numberOfLeadingZeros(size);
+        this.minTable = new double[levels][];
+        this.maxTable = new double[levels][];
+        this.minTable[0] = this.intensities;
+        this.maxTable[0] = this.intensities;
+
+        for (int k = 1; k < levels; k++) {
+            int half = 1 << (k - 1);
+            int count = size - (1 << k) + 1;
+            double[] previousMin = this.minTable[k - 1];
+            double[] previousMax = this.maxTable[k - 1];
+            double[] min = new double[count];
+            double[] max = new double[count];
+
+            for (int i = 0; i < count; i++) {
+                min[i] = Math.min(previousMin[i], previousMin[i + half]);
+                max[i] = Math.max(previousMax[i], previousMax[i + half]);
+            }
+
+            this.minTable[k] = min;
+            this.maxTable[k] = max;
+        }
+    }
+
+    /**
+     * Construct a {@link CarbonTimeline} from a list of {@link CarbonFragment}s ordered by start time.
+     */
+    public static CarbonTimeline of(List<CarbonFragment> fragments) {
+        int size = fragments.size();
+        long[] startTimes = new long[size];
+        long[] endTimes = new long[size];
+        double[] intensities = new double[size];
+
+        for (int i = 0; i < size; i++) {
+            CarbonFragment fragment = fragments.get(i);
+            startTimes[i] = fragment.getStartTime();
+            endTimes[i] = fragment.getEndTime();
+            intensities[i] = fragment.getCarbonIntensity();
+        }
+
+        return new CarbonTimeline(startTimes, endTimes, intensities);
+    }
+
+    /**
+     * Return the number of fragments in the timeline.
+     */
+    public int size() {
+        return intensities.length;
+    }
+
+    /**
+     * Return the start time of the fragment at the given index in epoch milliseconds.
+     */
+    public long getStartTime(int index) {
+        return startTimes[index];
+    }
+
+    /**
+     * Return the end time of the fragment at the given index in epoch milliseconds.
+     */
+    public long getEndTime(int index) {
+        return endTimes[index];
+    }
+
+    /**
+     * Return the carbon intensity of the fragment at the given index.
+     */
+    public double getCarbonIntensity(int index) {
+        return intensities[index];
+    }
+
+    /**
+     * Find the index of the fragment that is active at the given absolute time.
+     * <p>
+     * Times before the first fragment map to the first fragment, and times after the last fragment map to the last
+     * fragment.
+     *
+     * @param absoluteTime The time in epoch milliseconds.
+     */
+    public int indexOf(long absoluteTime) {
+        int index = Arrays.binarySearch(startTimes, absoluteTime);
+        if (index < 0) {
+            // Take the fragment before the insertion point
+            index = -index - 2;
+        } else {
+            // Skip any empty fragments that share the same start time
+            while (index + 1 < startTimes.length && startTimes[index + 1] == absoluteTime) {
+                index++;
+            }
+        }
+
+        return Math.max(index, 0);
+    }
+
+    /**
+     * Return the carbon intensity at the given absolute time.
+     */
+    public double getCarbonIntensityAt(long absoluteTime) {
+        return intensities[indexOf(absoluteTime)];
+    }
+
+    /**
+     * Return the mean carbon intensity of the fragments in the range {@code [from, to)}.
+     */
+    public double mean(int from, int to) {
+        checkRange(from, to);
+        return (prefixSums[to] - prefixSums[from]) / (to - from);
+    }
+
+    /**
+     * Return the minimum carbon intensity of the fragments in the range {@code [from, to)}.
+     */
+    public double min(int from, int to) {
+        checkRange(from, to);
+        int k = 31 - Integer.numberOfLeadingZeros(to - from);
+        return Math.min(minTable[k][from], minTable[k][to - (1 << k)]);
+    }
+
+    /**
+     * Return the maximum carbon intensity of the fragments in the range {@code [from, to)}.
+     */
+    public double max(int from, int to) {
+        checkRange(from, to);
+        int k = 31 - Integer.numberOfLeadingZeros(to - from);
+        return Math.max(maxTable[k][from], maxTable[k][to - (1 << k)]);
+    }
+
+    /**
+     * Return the carbon intensity at the given quantile of the fragments in the range {@code [from, to)}.
+     * <p>
+     * The quantile is taken as the element at index {@code round(n * quantile)} of the sorted range of {@code n}
+     * intensities, clamped to the last element. Arbitrary ranges are answered in O(n) time by selection; use
+     * {@link #forecastPercentile(int, int, double)} for the O(1) lookup of forecast windows.
+     */
+    public double percentile(int from, int to, double quantile) {
+        checkRange(from, to);
+        double[] window = Arrays.copyOfRange(intensities, from, to);
+        return select(window, rank(window.length, quantile));
+    }
+
+    /**
+     * Return the start (inclusive) of the forecast window of the given size after the fragment at the given index.
+     * <p>
+     * The forecast window consists of the fragments following the current fragment, up to {@code forecastSize - 1}
+     * fragments. At the end of the timeline, the window consists of only the last fragment.
+     */
+    public int forecastStart(int index) {
+        return Math.min(index + 1, intensities.length - 1);
+    }
+
+    /**
+     * Return the end (exclusive) of the forecast window of the given size after the fragment at the given index.
+     */
+    public int forecastEnd(int index, int forecastSize) {
+        return Math.min(index + forecastSize, intensities.length);
+    }
+
+    /**
+     * Return the carbon intensities of the forecast window of the given size after the fragment at the given index.
+     */
+    public double[] forecast(int index, int forecastSize) {
+        int from = forecastStart(index);
+        int to = forecastEnd(index, forecastSize);
+        return from < to ? Arrays.copyOfRange(intensities, from, to) : new double[0];
+    }
+
+    /**
+     * Return the carbon intensity at the given quantile of the forecast window of the given size after the fragment
+     * at the given index.
+     * <p>
+     * The quantiles of all forecast windows are computed with a sliding sorted window the first time a combination of
+     * forecast size and quantile is requested, after which each lookup takes O(1) time.
+     *
+     * @return The carbon intensity at the quantile or {@link Double#NaN} if the forecast window is empty.
+     */
+    public double forecastPercentile(int index, int forecastSize, double quantile) {
+        double[] percentiles =
+                forecastPercentiles.computeIfAbsent(new ForecastKey(forecastSize, quantile), this::computePercentiles);
+        return percentiles[index];
+    }
+
+    private double[] computePercentiles(ForecastKey key) {
+        int size = intensities.length;
+        double[] result = new double[size];
+
+        // The bounds of the forecast windows only move forward, so maintain the window as a sorted array
+        double[] sorted = new double[Math.max(key.forecastSize(), 1)];
+        int count = 0;
+        int lo = 0;
+        int hi = 0;
+
+        for (int i = 0; i < size; i++) {
+            int from = forecastStart(i);
+            int to = Math.max(forecastEnd(i, key.forecastSize()), from);
+
+            for (; lo < from; lo++) {
+                if (lo < hi) {
+                    count = remove(sorted, count, intensities[lo]);
+                }
+            }
+            for (hi = Math.max(hi, lo); hi < to; hi++) {
+                count = insert(sorted, count, intensities[hi]);
+            }
+
+            result[i] = count > 0 ? sorted[rank(count, key.quantile())] : Double.NaN;
+        }
+
+        return result;
+    }
+
+    private static int insert(double[] sorted, int count, double value) {
+        int index = Arrays.binarySearch(sorted, 0, count, value);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        System.arraycopy(sorted, index, sorted, index + 1, count - index);
+        sorted[index] = value;
+        return count + 1;
+    }
+
+    private static int remove(double[] sorted, int count, double value) {
+        int index = Arrays.binarySearch(sorted, 0, count, value);
+        System.arraycopy(sorted, index + 1, sorted, index, count - index - 1);
+        return count - 1;
+    }
+
+    private static int rank(int count, double quantile) {
+        return Math.max(0, Math.min((int) Math.round(count * quantile), count - 1));
+    }
+
+    /**
+     * Select the element with the given rank using quickselect.
+     */
+    private static double select(double[] values, int rank) {
+        int lo = 0;
+        int hi = values.length - 1;
+
+        while (lo < hi) {
+            double pivot = values[(lo + hi) >>> 1];
+            int i = lo;
+            int j = hi;
+
+            while (i <= j) {
+                while (Double.compare(values[i], pivot) < 0) {
+                    i++;
+                }
+                while (Double.compare(values[j], pivot) > 0) {
+                    j--;
+                }
+                if (i <= j) {
+                    double tmp = values[i];
+                    values[i++] = values[j];
+                    values[j--] = tmp;
+                }
+            }
+
+            if (rank <= j) {
+                hi = j;
+            } else if (rank >= i) {
+                lo = i;
+            } else {
+                break;
+            }
+        }
+
+        return values[rank];
+    }
+
+    private void checkRange(int from, int to) {
+        if (from < 0 || to > intensities.length || from >= to) {
+            throw new IndexOutOfBoundsException("Invalid range [" + from + ", " + to + ") of " + intensities.length);
+        }
+    }
+}
@@ -36,6 +36,23 @@ public interface PowerModel {
      */
     double computePower(double utilization);
 
+    /**
+     * Computes the power consumption for a batch of resources in one pass.
+     *
+     * <p>
+     * This is equivalent to invoking {@link #computePower(double)} for each utilization, but allows implementations
+     * such as the tabulated models of {@link PowerModels#tabulate(PowerModel)} to evaluate the batch in a tight loop.
+     *
+     * @param utilizations The utilization percentages of the resources.
+     * @param powers The array to store the power consumption (in W) of each resource in.
+     * @param length The number of resources to compute the power consumption for.
+     */
+    default void computePower(double[] utilizations, double[] powers, int length) {
+        for (int i = 0; i < length; i++) {
+            powers[i] = computePower(utilizations[i]);
+        }
+    }
+
     String getName();
 
     default String getFullName() {
@@ -131,6 +131,46 @@ public class PowerModels {
         return new ZeroIdlePowerDecorator(delegate);
     }
 
+    /**
+     * Compile a {@link PowerModel} into a dense lookup table that is linearly interpolated between its entries, using
+     * 1024 segments and a maximum error of 1 mW.
+     *
+     * @param model The {@link PowerModel} to tabulate.
+     * @see #tabulate(PowerModel, int, double)
+     */
+    public static PowerModel tabulate(PowerModel model) {
+        return tabulate(model, 1024, 1e-3);
+    }
+
+    /**
+     * Compile a {@link PowerModel} into a dense lookup table that is linearly interpolated between its entries.
+     *
+     * <p>
+     * The table covers utilization levels between 0.0 and 1.0, while other levels are passed to the original model.
+     * Before the table is used, it is validated against the original model at several points within each segment. If
+     * the interpolation error exceeds <code>maxError</code> anywhere (e.g., for the steep start of a square root
+     * model), the original model is returned instead.
+     *
+     * @param model The {@link PowerModel} to tabulate.
+     * @param segments The number of segments in which the utilization range is divided.
+     * @param maxError The maximum absolute difference (in W) with the original model.
+     * @return The tabulated {@link PowerModel} or <code>model</code> if the table does not meet the error bound.
+     */
+    public static PowerModel tabulate(PowerModel model, int segments, double maxError) {
+        if (segments <= 0) {
+            throw new IllegalArgumentException("The number of segments must be positive");
+        } else if (model instanceof TabulatedPowerModel) {
+            return model;
+        } else if (model instanceof ZeroIdlePowerDecorator decorator) {
+            // The jump at zero utilization cannot be interpolated, so tabulate the delegate instead
+            PowerModel delegate = tabulate(decorator.delegate, segments, maxError);
+            return delegate == decorator.delegate ? model : new ZeroIdlePowerDecorator(delegate);
+        }
+
+        TabulatedPowerModel table = new TabulatedPowerModel(model, segments);
+        return table.computeMaxError() <= maxError ? table : model;
+    }
+
     private static final class ConstantPowerModel implements PowerModel {
         private final double power;
 
@@ -380,6 +420,111 @@ public class PowerModels {
         }
     }
 
+    private static final class TabulatedPowerModel implements PowerModel {
+        /**
+         * The number of points within each segment at which the table is validated.
+         */
+        private static final int VALIDATION_POINTS = 8;
+
+        private final PowerModel delegate;
+        private final int segments;
+        private final double[] levels;
+        private final double[] slopes;
+
+        TabulatedPowerModel(PowerModel delegate, int segments) {
+            this.delegate = delegate;
+            this.segments = segments;
+            this.levels = new double[segments + 1];
+            this.slopes = new double[segments + 1];
+
+            for (int i = 0; i <= segments; i++) {
+                levels[i] = delegate.computePower((double) i / segments);
+            }
+
+            // The slope of the last entry is zero, so a utilization of exactly 1.0 resolves to the last level
+            for (int i = 0; i < segments; i++) {
+                slopes[i] = levels[i + 1] - levels[i];
+            }
+        }
+
+        /**
+         * Compute the maximum absolute difference between the table and the original model, which is
+         * {@link Double#NaN} if either produces a non-finite value. Both are evaluated in a single batch.
+         */
+        double computeMaxError() {
+            int count = segments * VALIDATION_POINTS + 1;
+            double[] utilizations = new double[count];
+            double[] expected = new double[count];
+            double[] actual = new double[count];
+
+            for (int i = 0; i < segments; i++) {
+                for (int j = 0; j < VALIDATION_POINTS; j++) {
+                    utilizations[i * VALIDATION_POINTS + j] = (i + (double) j / VALIDATION_POINTS) / segments;
+                }
+            }
+            utilizations[count - 1] = 1.0;
+
+            delegate.computePower(utilizations, expected, count);
+            computePower(utilizations, actual, count);
+
+            double maxError = 0.0;
+            for (int i = 0; i < count; i++) {
+                if (!Double.isFinite(expected[i]) || !Double.isFinite(actual[i])) {
+                    return Double.NaN;
+                }
+
+                maxError = Math.max(maxError, Math.abs(actual[i] - expected[i]));
+            }
+
+            return maxError;
+        }
+
+        @Override
+        public double computePower(double utilization) {
+            if (!(utilization >= 0.0 && utilization <= 1.0)) {
+                return delegate.computePower(utilization);
+            }
+
+            double position = utilization * segments;
+            int index = (int) position;
+            return levels[index] + slopes[index] * (position - index);
+        }
+
+        @Override
+        public void computePower(double[] utilizations, double[] powers, int length) {
+            final double[] levels = this.levels;
+            final double[] slopes = this.slopes;
+            final double segments = this.segments;
+
+            for (int i = 0; i < length; i++) {
+                double utilization = utilizations[i];
+
+                if (utilization >= 0.0 && utilization <= 1.0) {
+                    double position = utilization * segments;
+                    int index = (int) position;
+                    powers[i] = levels[index] + slopes[index] * (position - index);
+                } else {
+                    powers[i] = delegate.computePower(utilization);
+                }
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "TabulatedPowerModel[segments=" + segments + ",delegate=" + delegate + "]";
+        }
+
+        @Override
+        public String getName() {
+            return delegate.getName();
+        }
+
+        @Override
+        public String getFullName() {
+            return delegate.getFullName();
+        }
+    }
+
     private static final class ZeroIdlePowerDecorator implements PowerModel {
         private final PowerModel delegate;
 
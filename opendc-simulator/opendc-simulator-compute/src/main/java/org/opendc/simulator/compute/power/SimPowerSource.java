@@ -52,6 +52,7 @@ public final class SimPowerSource extends FlowNode implements FlowSupplier, Carb
 
     private final String name;
     private final String clusterName;
+    private final String region;
 
     ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
     // Basic Getters and Setters
@@ -110,11 +111,32 @@ public final class SimPowerSource extends FlowNode implements FlowSupplier, Carb
         return clusterName;
     }
 
+    /**
+     * Return the name of the grid region the power source draws from or <code>null</code> if it is not part of a
+     * region.
+     */
+    public String getRegion() {
+        return region;
+    }
+
     ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
     // Constructors
     ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
 
     public SimPowerSource(FlowEngine engine, double max_capacity, String name, String clusterName) {
+        this(engine, max_capacity, name, clusterName, null);
+    }
+
+    /**
+     * Construct a new {@link SimPowerSource} instance.
+     *
+     * @param engine The {@link FlowEngine} instance this power source is part of.
+     * @param max_capacity The maximum power the power source can deliver (in W).
+     * @param name The name of the power source.
+     * @param clusterName The name of the cluster the power source is part of.
+     * @param region The name of the grid region the power source draws from or <code>null</code>.
+     */
+    public SimPowerSource(FlowEngine engine, double max_capacity, String name, String clusterName, String region) {
         super(engine);
 
         this.capacity = max_capacity;
@@ -123,6 +145,7 @@ public final class SimPowerSource extends FlowNode implements FlowSupplier, Carb
 
         this.name = name;
         this.clusterName = clusterName;
+        this.region = region;
     }
 
     public void close() {
@@ -56,8 +56,10 @@ public class BatteryAggregator extends FlowNode implements FlowConsumer, FlowSup
      * Construct a new {@link FlowNode} instance.
      *
      * @param engine The {@link FlowEngine} this node belongs to.
+     * @param battery The {@link SimBattery} or {@link SimBatteryFleet} to draw power from when discharging.
+     * @param powerSourceDistributor The {@link FlowDistributor} of the power source to draw power from otherwise.
      */
-    public BatteryAggregator(FlowEngine engine, SimBattery battery, FlowDistributor powerSourceDistributor) {
+    public BatteryAggregator(FlowEngine engine, FlowSupplier battery, FlowDistributor powerSourceDistributor) {
         super(engine);
 
         this.powerSourceEdge = new FlowEdge(this, powerSourceDistributor);
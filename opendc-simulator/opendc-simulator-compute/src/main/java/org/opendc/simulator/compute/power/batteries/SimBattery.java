@@ -52,6 +52,7 @@ public class SimBattery extends FlowNode implements FlowConsumer, FlowSupplier {
 
     private final String name;
     private final String clusterName;
+    private final String region;
     private final Double embodiedCarbonRate; // The rate of carbon emissions per millisecond
     private Double embodiedCarbonEmission = 0.0;
 
@@ -67,6 +68,14 @@ public class SimBattery extends FlowNode implements FlowConsumer, FlowSupplier {
         return clusterName;
     }
 
+    /**
+     * Return the name of the grid region the battery is charged from or <code>null</code> if it is not part of a
+     * region.
+     */
+    public String getRegion() {
+        return region;
+    }
+
     public double getTotalEnergyUsage() {
         return totalEnergyUsage;
     }
@@ -141,6 +150,41 @@ public class SimBattery extends FlowNode implements FlowConsumer, FlowSupplier {
             String clusterName,
             Double totalEmbodiedCarbon,
             Double expectedLifeTime) {
+        this(
+                engine,
+                capacity,
+                chargingSpeed,
+                initialCharge,
+                name,
+                clusterName,
+                null,
+                totalEmbodiedCarbon,
+                expectedLifeTime);
+    }
+
+    /**
+     * Construct a new {@link SimBattery} instance that is part of a grid region.
+     *
+     * @param engine The {@link FlowEngine} instance this battery is part of.
+     * @param capacity The capacity of the battery in kWh.
+     * @param chargingSpeed The charging speed of the battery in J.
+     * @param initialCharge The initial charge of the battery in kWh.
+     * @param name The name of the battery.
+     * @param clusterName The name of the cluster the battery is part of.
+     * @param region The name of the grid region the battery is charged from or <code>null</code>.
+     * @param totalEmbodiedCarbon The total embodied carbon used to manufacture the battery in kg.
+     * @param expectedLifeTime The expected lifetime of the battery in years.
+     */
+    public SimBattery(
+            FlowEngine engine,
+            double capacity,
+            double chargingSpeed,
+            double initialCharge,
+            String name,
+            String clusterName,
+            String region,
+            Double totalEmbodiedCarbon,
+            Double expectedLifeTime) {
 
         super(engine);
         this.capacity = capacity * 3600000;
@@ -149,6 +193,7 @@ public class SimBattery extends FlowNode implements FlowConsumer, FlowSupplier {
         this.charge = initialCharge * 3600000;
         this.name = name;
         this.clusterName = clusterName;
+        this.region = region;
 
         // TODO: maybe change this to days instead of years?
         this.embodiedCarbonRate =
@@ -0,0 +1,480 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.simulator.compute.power.batteries;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import org.opendc.common.ResourceType;
+import org.opendc.simulator.compute.power.batteries.policy.BatteryFleetPolicy;
+import org.opendc.simulator.engine.engine.FlowEngine;
+import org.opendc.simulator.engine.graph.FlowConsumer;
+import org.opendc.simulator.engine.graph.FlowEdge;
+import org.opendc.simulator.engine.graph.FlowNode;
+import org.opendc.simulator.engine.graph.FlowSupplier;
+
+/**
+ * A fleet of identical batteries that is simulated as a single {@link FlowNode}.
+ *
+ * <p>
+ * Each battery of the fleet behaves like a {@link SimBattery}: it is charged through its own power distributor and
+ * discharged into its own {@link BatteryAggregator}. The state of charge of all batteries is kept in primitive arrays
+ * and updated in a single pass, and the batteries are controlled by one {@link BatteryFleetPolicy}. This avoids a
+ * battery and policy node per battery for studies with thousands of batteries.
+ *
+ * <p>
+ * To produce the same results as individual batteries, the counters of a battery are only updated when a
+ * {@link SimBattery} would be updated: when its state, supply, or demand changes, when its timer expires, or when
+ * {@link #updateCounters()} is invoked.
+ *
+ * <p>
+ * Battery <code>i</code> is formed by the <code>i</code>-th edge from a distributor and the <code>i</code>-th edge to
+ * an aggregator, so both must be connected in the same order.
+ */
+public final class SimBatteryFleet extends FlowNode implements FlowConsumer, FlowSupplier {
+    private final int batteryCount;
+    private final double capacity;
+    private final double chargingSpeed;
+
+    private final FlowEdge[] distributorEdges;
+    private final FlowEdge[] aggregatorEdges;
+    private int distributorEdgeCount;
+    private int aggregatorEdgeCount;
+
+    private final BatteryState[] batteryStates;
+    private final double[] charges;
+    private final double[] chargeRates; // The change of the charge of each battery per second
+    private final double[] incomingSupplies;
+    private final double[] incomingDemands;
+    private final double[] outgoingSupplies;
+    private final double[] totalEnergyUsages;
+
+    private final long[] lastUpdates;
+    private final long[] deadlines;
+    private final boolean[] updatesNeeded;
+
+    private long lastCarbonUpdate;
+
+    private final String name;
+    private final String clusterName;
+    private final double embodiedCarbonRate; // The rate of carbon emissions per millisecond of each battery
+    private double embodiedCarbonEmission = 0.0;
+
+    private BatteryFleetPolicy batteryPolicy;
+
+    /**
+     * Construct a new {@link SimBatteryFleet} instance.
+     *
+     * @param engine The {@link FlowEngine} instance this fleet is part of.
+     * @param batteryCount The number of batteries in the fleet.
+     * @param capacity The capacity of each battery in kWh.
+     * @param chargingSpeed The charging speed of each battery in J.
+     * @param initialCharge The initial charge of each battery in kWh.
+     * @param name The name of the fleet.
+     * @param clusterName The name of the cluster the fleet is part of.
+     * @param totalEmbodiedCarbon The total embodied carbon used to manufacture a battery in kg.
+     * @param expectedLifeTime The expected lifetime of a battery in years.
+     */
+    public SimBatteryFleet(
+            FlowEngine engine,
+            int batteryCount,
+            double capacity,
+            double chargingSpeed,
+            double initialCharge,
+            String name,
+            String clusterName,
+            double totalEmbodiedCarbon,
+            double expectedLifeTime) {
+        super(engine);
+
+        if (batteryCount <= 0) {
+            throw new IllegalArgumentException("The number of batteries must be positive");
+        }
+
+        this.batteryCount = batteryCount;
+        this.capacity = capacity * 3600000;
+        this.chargingSpeed = chargingSpeed;
+
+        this.distributorEdges = new FlowEdge[batteryCount];
+        this.aggregatorEdges = new FlowEdge[batteryCount];
+
+        this.batteryStates = new BatteryState[batteryCount];
+        Arrays.fill(this.batteryStates, BatteryState.IDLE);
+        this.charges = new double[batteryCount];
+        Arrays.fill(this.charges, initialCharge * 3600000);
+        this.chargeRates = new double[batteryCount];
+        this.incomingSupplies = new double[batteryCount];
+        this.incomingDemands = new double[batteryCount];
+        this.outgoingSupplies = new double[batteryCount];
+        this.totalEnergyUsages = new double[batteryCount];
+
+        this.lastUpdates = new long[batteryCount];
+        this.deadlines = new long[batteryCount];
+        Arrays.fill(this.deadlines, Long.MAX_VALUE);
+        this.updatesNeeded = new boolean[batteryCount];
+
+        this.name = name;
+        this.clusterName = clusterName;
+        this.embodiedCarbonRate =
+                (totalEmbodiedCarbon * 1000) / (expectedLifeTime * 365.0 * 24.0 * 60.0 * 60.0 * 1000.0);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getClusterName() {
+        return clusterName;
+    }
+
+    public int getBatteryCount() {
+        return batteryCount;
+    }
+
+    public BatteryFleetPolicy getBatteryPolicy() {
+        return batteryPolicy;
+    }
+
+    public void setBatteryPolicy(BatteryFleetPolicy batteryPolicy) {
+        this.batteryPolicy = batteryPolicy;
+    }
+
+    /**
+     * Return the capacity of each battery in J.
+     */
+    @Override
+    public double getCapacity() {
+        return this.capacity;
+    }
+
+    public BatteryState getBatteryState(int index) {
+        return this.batteryStates[index];
+    }
+
+    public double getCharge(int index) {
+        return this.charges[index];
+    }
+
+    public double getOutgoingSupply(int index) {
+        return this.outgoingSupplies[index];
+    }
+
+    public double getTotalEnergyUsage(int index) {
+        return this.totalEnergyUsages[index];
+    }
+
+    /**
+     * Return the embodied carbon emission of each battery, which is equal for all batteries of the fleet.
+     */
+    public double getEmbodiedCarbonEmission() {
+        return this.embodiedCarbonEmission;
+    }
+
+    public boolean isFull(int index) {
+        return (this.charges[index] >= this.capacity);
+    }
+
+    public boolean isEmpty(int index) {
+        return (this.charges[index] <= 0.0);
+    }
+
+    public void close() {
+        Arrays.fill(this.distributorEdges, null);
+        Arrays.fill(this.aggregatorEdges, null);
+
+        this.closeNode();
+    }
+
+    @Override
+    public long onUpdate(long now) {
+        final long[] deadlines = this.deadlines;
+        final boolean[] updatesNeeded = this.updatesNeeded;
+
+        long nextUpdate = Long.MAX_VALUE;
+        boolean policyUpdateNeeded = false;
+
+        for (int i = 0; i < this.batteryCount; i++) {
+            if (updatesNeeded[i] || deadlines[i] <= now) {
+                updatesNeeded[i] = false;
+                long deadline = this.updateBattery(i, now);
+
+                // A battery that became full or empty requires a new decision of the policy
+                if (deadline == Long.MIN_VALUE) {
+                    policyUpdateNeeded = true;
+                    deadline = Long.MAX_VALUE;
+                }
+
+                deadlines[i] = deadline;
+            }
+
+            nextUpdate = Math.min(nextUpdate, deadlines[i]);
+        }
+
+        if (policyUpdateNeeded) {
+            this.batteryPolicy.invalidate();
+        }
+
+        return nextUpdate;
+    }
+
+    /**
+     * Update a single battery of the fleet, like {@link SimBattery#onUpdate(long)}.
+     *
+     * @return The next deadline of the battery, or {@link Long#MIN_VALUE} if the battery became full or empty.
+     */
+    private long updateBattery(int index, long now) {
+        this.updateCounters(index, now);
+
+        BatteryState batteryState = this.batteryStates[index];
+
+        if (batteryState == BatteryState.IDLE) {
+            return Long.MAX_VALUE;
+        }
+
+        if (batteryState == BatteryState.CHARGING && this.isFull(index)) {
+            return Long.MIN_VALUE;
+        }
+
+        if (batteryState == BatteryState.DISCHARGING) {
+            if (this.isEmpty(index)) {
+                return Long.MIN_VALUE;
+            }
+
+            this.pushOutgoingSupply(this.aggregatorEdges[index], this.incomingDemands[index]);
+        }
+
+        long nextUpdate = now + this.calculateRemainingTime(index);
+
+        if (nextUpdate < 0) {
+            nextUpdate = Long.MAX_VALUE;
+        }
+        return nextUpdate;
+    }
+
+    /**
+     * Update the counters of all batteries in the fleet.
+     */
+    public void updateCounters(long now) {
+        this.updateCarbonCounters(now);
+
+        final double[] charges = this.charges;
+        final double[] chargeRates = this.chargeRates;
+        final double[] outgoingSupplies = this.outgoingSupplies;
+        final double[] totalEnergyUsages = this.totalEnergyUsages;
+        final long[] lastUpdates = this.lastUpdates;
+
+        for (int i = 0; i < charges.length; i++) {
+            long passedTime = now - lastUpdates[i];
+            lastUpdates[i] = now;
+
+            if (passedTime > 0) {
+                charges[i] += chargeRates[i] * (passedTime / 1000.0);
+                totalEnergyUsages[i] += outgoingSupplies[i] * passedTime * 0.001;
+            }
+        }
+    }
+
+    public void updateCounters() {
+        updateCounters(clock.millis());
+    }
+
+    private void updateCounters(int index, long now) {
+        this.updateCarbonCounters(now);
+
+        long passedTime = now - this.lastUpdates[index];
+        this.lastUpdates[index] = now;
+
+        if (passedTime > 0) {
+            this.charges[index] += this.chargeRates[index] * (passedTime / 1000.0);
+            this.totalEnergyUsages[index] += this.outgoingSupplies[index] * passedTime * 0.001;
+        }
+    }
+
+    private void updateCarbonCounters(long now) {
+        long passedTime = now - this.lastCarbonUpdate;
+        this.lastCarbonUpdate = now;
+
+        if (passedTime > 0) {
+            this.embodiedCarbonEmission += this.embodiedCarbonRate * passedTime;
+        }
+    }
+
+    private long calculateRemainingTime(int index) {
+        BatteryState batteryState = this.batteryStates[index];
+
+        if ((batteryState == BatteryState.CHARGING) && (this.incomingSupplies[index] > 0.0)) {
+            double remainingCharge = this.capacity - this.charges[index];
+            return (long) Math.ceil((remainingCharge / this.incomingSupplies[index]) * 1000);
+        }
+
+        if ((batteryState == BatteryState.DISCHARGING) && (this.outgoingSupplies[index] > 0.0)) {
+            return (long) Math.ceil((this.charges[index] / this.outgoingSupplies[index]) * 1000);
+        }
+
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * Update the rate at which the charge of a battery changes after its state or supply has changed.
+     */
+    private void updateChargeRate(int index) {
+        BatteryState batteryState = this.batteryStates[index];
+
+        if (batteryState == BatteryState.CHARGING) {
+            this.chargeRates[index] = this.incomingSupplies[index];
+        } else if (batteryState == BatteryState.DISCHARGING) {
+            this.chargeRates[index] = -this.outgoingSupplies[index];
+        } else {
+            this.chargeRates[index] = 0.0;
+        }
+    }
+
+    public void setBatteryState(int index, BatteryState newBatteryState) {
+        if (newBatteryState == this.batteryStates[index]) {
+            return;
+        }
+
+        updateCounters(index, this.clock.millis());
+
+        this.batteryStates[index] = newBatteryState;
+
+        if (newBatteryState == BatteryState.IDLE) {
+            this.pushOutgoingDemand(this.distributorEdges[index], 0.0f);
+            this.pushOutgoingSupply(this.aggregatorEdges[index], 0.0f);
+        }
+
+        if (newBatteryState == BatteryState.CHARGING) {
+            this.pushOutgoingDemand(this.distributorEdges[index], this.chargingSpeed);
+            this.pushOutgoingSupply(this.aggregatorEdges[index], 0.0f);
+        }
+
+        if (newBatteryState == BatteryState.DISCHARGING) {
+            this.pushOutgoingDemand(this.distributorEdges[index], 0.0f);
+        }
+
+        this.updateChargeRate(index);
+        this.invalidateBattery(index);
+    }
+
+    /**
+     * Schedule an update of the battery at the given index.
+     */
+    private void invalidateBattery(int index) {
+        this.updatesNeeded[index] = true;
+        this.invalidate();
+    }
+
+    @Override
+    public void handleIncomingSupply(FlowEdge supplierEdge, double newSupply) {
+        int index = supplierEdge.getSupplierIndex();
+
+        this.incomingSupplies[index] = newSupply;
+        this.updateChargeRate(index);
+
+        this.invalidateBattery(index);
+    }
+
+    @Override
+    public void pushOutgoingDemand(FlowEdge supplierEdge, double newDemand) {
+        supplierEdge.pushDemand(newDemand);
+    }
+
+    @Override
+    public void addSupplierEdge(FlowEdge supplierEdge) {
+        if (this.distributorEdgeCount == this.batteryCount) {
+            throw new IllegalStateException("All batteries of the fleet are connected to a distributor");
+        }
+
+        int index = this.distributorEdgeCount++;
+        supplierEdge.setSupplierIndex(index);
+        this.distributorEdges[index] = supplierEdge;
+    }
+
+    @Override
+    public void removeSupplierEdge(FlowEdge supplierEdge) {
+        this.distributorEdges[supplierEdge.getSupplierIndex()] = null;
+    }
+
+    @Override
+    public void handleIncomingDemand(FlowEdge consumerEdge, double newDemand) {
+        this.incomingDemands[consumerEdge.getConsumerIndex()] = newDemand;
+
+        this.invalidateBattery(consumerEdge.getConsumerIndex());
+    }
+
+    @Override
+    public void pushOutgoingSupply(FlowEdge consumerEdge, double newSupply) {
+        int index = consumerEdge.getConsumerIndex();
+
+        this.outgoingSupplies[index] = newSupply;
+        this.updateChargeRate(index);
+
+        consumerEdge.pushSupply(newSupply);
+    }
+
+    @Override
+    public void addConsumerEdge(FlowEdge consumerEdge) {
+        if (this.aggregatorEdgeCount == this.batteryCount) {
+            throw new IllegalStateException("All batteries of the fleet are connected to an aggregator");
+        }
+
+        int index = this.aggregatorEdgeCount++;
+        consumerEdge.setConsumerIndex(index);
+        this.aggregatorEdges[index] = consumerEdge;
+    }
+
+    @Override
+    public void removeConsumerEdge(FlowEdge consumerEdge) {
+        this.aggregatorEdges[consumerEdge.getConsumerIndex()] = null;
+    }
+
+    @Override
+    public Map<FlowEdge.NodeType, List<FlowEdge>> getConnectedEdges() {
+        List<FlowEdge> consumingEdges = new ArrayList<>();
+        List<FlowEdge> supplyingEdges = new ArrayList<>();
+
+        for (int i = 0; i < this.batteryCount; i++) {
+            if (this.distributorEdges[i] != null) {
+                consumingEdges.add(this.distributorEdges[i]);
+            }
+            if (this.aggregatorEdges[i] != null) {
+                supplyingEdges.add(this.aggregatorEdges[i]);
+            }
+        }
+
+        return Map.of(
+                FlowEdge.NodeType.CONSUMING, consumingEdges,
+                FlowEdge.NodeType.SUPPLYING, supplyingEdges);
+    }
+
+    @Override
+    public ResourceType getSupplierResourceType() {
+        return ResourceType.POWER;
+    }
+
+    @Override
+    public ResourceType getConsumerResourceType() {
+        return ResourceType.POWER;
+    }
+}
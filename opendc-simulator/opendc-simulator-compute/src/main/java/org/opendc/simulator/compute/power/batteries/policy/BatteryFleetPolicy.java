@@ -0,0 +1,291 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.simulator.compute.power.batteries.policy;
+
+import java.util.List;
+import java.util.Map;
+import org.opendc.simulator.compute.power.CarbonModel;
+import org.opendc.simulator.compute.power.CarbonReceiver;
+import org.opendc.simulator.compute.power.batteries.BatteryAggregator;
+import org.opendc.simulator.compute.power.batteries.BatteryState;
+import org.opendc.simulator.compute.power.batteries.PowerSourceType;
+import org.opendc.simulator.compute.power.batteries.SimBatteryFleet;
+import org.opendc.simulator.engine.engine.FlowEngine;
+import org.opendc.simulator.engine.graph.FlowEdge;
+import org.opendc.simulator.engine.graph.FlowNode;
+
+/**
+ * An abstract class representing a battery policy for a {@link SimBatteryFleet}.
+ * The policy evaluates the same rules as the corresponding {@link BatteryPolicy} for every battery of the fleet in a
+ * single pass, instead of using a policy node per battery.
+ */
+public abstract class BatteryFleetPolicy extends FlowNode implements CarbonReceiver {
+
+    protected final SimBatteryFleet fleet;
+    private final BatteryAggregator[] aggregators;
+
+    protected double carbonIntensity; // The current carbon Intensity of the grid
+
+    /**
+     * Construct a new {@link BatteryFleetPolicy} instance.
+     *
+     * @param engine The {@link FlowEngine} this node belongs to.
+     * @param fleet The {@link SimBatteryFleet} to control.
+     * @param aggregators The {@link BatteryAggregator} of each battery in the fleet.
+     */
+    protected BatteryFleetPolicy(FlowEngine engine, SimBatteryFleet fleet, List<BatteryAggregator> aggregators) {
+        super(engine);
+
+        if (aggregators.size() != fleet.getBatteryCount()) {
+            throw new IllegalArgumentException("Every battery of the fleet requires an aggregator");
+        }
+
+        this.fleet = fleet;
+        this.fleet.setBatteryPolicy(this);
+
+        this.aggregators = aggregators.toArray(new BatteryAggregator[0]);
+    }
+
+    /**
+     * Construct a policy that uses a single threshold, like {@link SingleThresholdBatteryPolicy}.
+     *
+     * @param engine The {@link FlowEngine} this node belongs to.
+     * @param fleet The {@link SimBatteryFleet} to control.
+     * @param aggregators The {@link BatteryAggregator} of each battery in the fleet.
+     * @param carbonThreshold The carbon intensity threshold to trigger charging or discharging.
+     */
+    public static BatteryFleetPolicy singleThreshold(
+            FlowEngine engine, SimBatteryFleet fleet, List<BatteryAggregator> aggregators, double carbonThreshold) {
+        return new SingleThresholdFleetPolicy(engine, fleet, aggregators, carbonThreshold);
+    }
+
+    /**
+     * Construct a policy that uses two thresholds, like {@link DoubleThresholdBatteryPolicy}.
+     *
+     * @param engine The {@link FlowEngine} this node belongs to.
+     * @param fleet The {@link SimBatteryFleet} to control.
+     * @param aggregators The {@link BatteryAggregator} of each battery in the fleet.
+     * @param lowerThreshold The lower carbon intensity threshold to trigger charging or discharging.
+     * @param upperThreshold The upper carbon intensity threshold to trigger charging or discharging.
+     */
+    public static BatteryFleetPolicy doubleThreshold(
+            FlowEngine engine,
+            SimBatteryFleet fleet,
+            List<BatteryAggregator> aggregators,
+            double lowerThreshold,
+            double upperThreshold) {
+        return new DoubleThresholdFleetPolicy(engine, fleet, aggregators, lowerThreshold, upperThreshold);
+    }
+
+    /**
+     * Construct a policy that uses a running mean, like {@link RunningMeanBatteryPolicy}.
+     * The window must be registered as a receiver of the carbon model that this policy is registered with.
+     *
+     * @param engine The {@link FlowEngine} this node belongs to.
+     * @param fleet The {@link SimBatteryFleet} to control.
+     * @param aggregators The {@link BatteryAggregator} of each battery in the fleet.
+     * @param window The (shared) {@link CarbonIntensityWindow} to compute the running mean with.
+     */
+    public static BatteryFleetPolicy runningMean(
+            FlowEngine engine,
+            SimBatteryFleet fleet,
+            List<BatteryAggregator> aggregators,
+            CarbonIntensityWindow window) {
+        return new RunningMeanFleetPolicy(engine, fleet, aggregators, window, false);
+    }
+
+    /**
+     * Construct a policy that uses a running mean and only starts charging when the carbon intensity is not
+     * decreasing anymore, like {@link RunningMeanPlusBatteryPolicy}.
+     * The window must be registered as a receiver of the carbon model that this policy is registered with.
+     *
+     * @param engine The {@link FlowEngine} this node belongs to.
+     * @param fleet The {@link SimBatteryFleet} to control.
+     * @param aggregators The {@link BatteryAggregator} of each battery in the fleet.
+     * @param window The (shared) {@link CarbonIntensityWindow} to compute the running mean with.
+     */
+    public static BatteryFleetPolicy runningMeanPlus(
+            FlowEngine engine,
+            SimBatteryFleet fleet,
+            List<BatteryAggregator> aggregators,
+            CarbonIntensityWindow window) {
+        return new RunningMeanFleetPolicy(engine, fleet, aggregators, window, true);
+    }
+
+    public void close() {
+        this.closeNode();
+    }
+
+    /**
+     * Determine the state of a battery of the fleet.
+     *
+     * @param isEmpty A flag to indicate that the battery is empty.
+     * @param isFull A flag to indicate that the battery is full.
+     * @return The new state of the battery.
+     */
+    protected abstract BatteryState decide(boolean isEmpty, boolean isFull);
+
+    @Override
+    public long onUpdate(long now) {
+        final SimBatteryFleet fleet = this.fleet;
+
+        for (int i = 0; i < this.aggregators.length; i++) {
+            this.setBatteryState(i, this.decide(fleet.isEmpty(i), fleet.isFull(i)));
+        }
+
+        return Long.MAX_VALUE;
+    }
+
+    /**
+     * Set the state of a battery of the fleet.
+     * Both the battery and its aggregator are updated based on the new state.
+     *
+     * @param index The index of the battery in the fleet.
+     * @param newBatteryState The new battery state.
+     */
+    private void setBatteryState(int index, BatteryState newBatteryState) {
+        if (newBatteryState == this.fleet.getBatteryState(index)) {
+            return;
+        }
+
+        this.fleet.setBatteryState(index, newBatteryState);
+
+        if (newBatteryState == BatteryState.DISCHARGING) {
+            this.aggregators[index].setPowerSourceType(PowerSourceType.Battery);
+        } else {
+            this.aggregators[index].setPowerSourceType(PowerSourceType.PowerSource);
+        }
+    }
+
+    @Override
+    public void updateCarbonIntensity(double newCarbonIntensity) {
+        if (newCarbonIntensity == this.carbonIntensity) {
+            return;
+        }
+
+        this.carbonIntensity = newCarbonIntensity;
+
+        this.invalidate();
+    }
+
+    @Override
+    public void setCarbonModel(CarbonModel carbonModel) {}
+
+    @Override
+    public void removeCarbonModel(CarbonModel carbonModel) {
+        this.close();
+    }
+
+    @Override
+    public Map<FlowEdge.NodeType, List<FlowEdge>> getConnectedEdges() {
+        return Map.of(FlowEdge.NodeType.SUPPLYING, List.of());
+    }
+
+    private static final class SingleThresholdFleetPolicy extends BatteryFleetPolicy {
+        private final double carbonThreshold;
+
+        SingleThresholdFleetPolicy(
+                FlowEngine engine, SimBatteryFleet fleet, List<BatteryAggregator> aggregators, double carbonThreshold) {
+            super(engine, fleet, aggregators);
+
+            this.carbonThreshold = carbonThreshold;
+        }
+
+        @Override
+        protected BatteryState decide(boolean isEmpty, boolean isFull) {
+            if (this.carbonIntensity >= this.carbonThreshold & !isEmpty) {
+                return BatteryState.DISCHARGING;
+            }
+
+            if (this.carbonIntensity < this.carbonThreshold & !isFull) {
+                return BatteryState.CHARGING;
+            }
+
+            return BatteryState.IDLE;
+        }
+    }
+
+    private static final class DoubleThresholdFleetPolicy extends BatteryFleetPolicy {
+        private final double lowerThreshold;
+        private final double upperThreshold;
+
+        DoubleThresholdFleetPolicy(
+                FlowEngine engine,
+                SimBatteryFleet fleet,
+                List<BatteryAggregator> aggregators,
+                double lowerThreshold,
+                double upperThreshold) {
+            super(engine, fleet, aggregators);
+
+            this.lowerThreshold = lowerThreshold;
+            this.upperThreshold = upperThreshold;
+        }
+
+        @Override
+        protected BatteryState decide(boolean isEmpty, boolean isFull) {
+            if (this.carbonIntensity > this.upperThreshold & !isEmpty) {
+                return BatteryState.DISCHARGING;
+            }
+
+            if (this.carbonIntensity < this.lowerThreshold & !isFull) {
+                return BatteryState.CHARGING;
+            }
+
+            return BatteryState.IDLE;
+        }
+    }
+
+    private static final class RunningMeanFleetPolicy extends BatteryFleetPolicy {
+        private final CarbonIntensityWindow window;
+        private final boolean waitForIncrease;
+
+        RunningMeanFleetPolicy(
+                FlowEngine engine,
+                SimBatteryFleet fleet,
+                List<BatteryAggregator> aggregators,
+                CarbonIntensityWindow window,
+                boolean waitForIncrease) {
+            super(engine, fleet, aggregators);
+
+            this.window = window;
+            this.waitForIncrease = waitForIncrease;
+        }
+
+        @Override
+        protected BatteryState decide(boolean isEmpty, boolean isFull) {
+            double mean = this.window.getMean();
+
+            if (this.carbonIntensity >= mean & !isEmpty) {
+                return BatteryState.DISCHARGING;
+            }
+
+            if (this.carbonIntensity < mean & !isFull) {
+                if (!this.waitForIncrease || this.carbonIntensity >= this.window.getPrevious()) {
+                    return BatteryState.CHARGING;
+                }
+            }
+
+            return BatteryState.IDLE;
+        }
+    }
+}
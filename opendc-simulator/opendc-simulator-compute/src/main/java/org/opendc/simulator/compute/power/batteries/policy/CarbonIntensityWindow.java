@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.simulator.compute.power.batteries.policy;
+
+import org.opendc.simulator.compute.power.CarbonModel;
+import org.opendc.simulator.compute.power.CarbonReceiver;
+
+/**
+ * A sliding window over the most recent carbon intensities of a grid, which is used by the running mean battery
+ * policies.
+ * The sum of the window is updated incrementally, so adding a carbon intensity and reading the mean take constant
+ * time.
+ *
+ * <p>
+ * A window can be shared between the policies of all batteries that are charged from the same {@link CarbonModel}
+ * by registering it as a receiver of that model. Otherwise, the window is updated by the policy that owns it.
+ */
+public final class CarbonIntensityWindow implements CarbonReceiver {
+    private final double[] values;
+
+    private int head;
+    private int size;
+
+    private double sum;
+    private double mean;
+    private double previous;
+
+    /**
+     * Construct a new {@link CarbonIntensityWindow} instance.
+     *
+     * @param windowSize The number of carbon intensities to keep in the window.
+     * @param startingValue The carbon intensity the window starts with.
+     */
+    public CarbonIntensityWindow(int windowSize, double startingValue) {
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("The window size must be positive");
+        }
+
+        this.values = new double[windowSize];
+        this.add(startingValue);
+    }
+
+    /**
+     * Add a carbon intensity to the window, evicting the oldest carbon intensity if the window is full.
+     */
+    public void add(double carbonIntensity) {
+        final double[] values = this.values;
+
+        if (this.size == values.length) {
+            this.sum -= values[this.head];
+            this.head = (this.head + 1) % values.length;
+            this.size--;
+        }
+
+        if (this.size > 0) {
+            this.previous = values[(this.head + this.size - 1) % values.length];
+        }
+
+        values[(this.head + this.size) % values.length] = carbonIntensity;
+        this.size++;
+        this.sum += carbonIntensity;
+        this.mean = this.sum / this.size;
+    }
+
+    /**
+     * Return the mean of the carbon intensities in the window.
+     */
+    public double getMean() {
+        return this.mean;
+    }
+
+    /**
+     * Return the carbon intensity that preceded the most recent carbon intensity in the window, or zero if there is
+     * none.
+     */
+    public double getPrevious() {
+        return this.previous;
+    }
+
+    /**
+     * Return the number of carbon intensities in the window.
+     */
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public void updateCarbonIntensity(double carbonIntensity) {
+        this.add(carbonIntensity);
+    }
+
+    @Override
+    public void setCarbonModel(CarbonModel carbonModel) {}
+
+    @Override
+    public void removeCarbonModel(CarbonModel carbonModel) {}
+}
@@ -22,7 +22,6 @@
 
 package org.opendc.simulator.compute.power.batteries.policy;
 
-import java.util.LinkedList;
 import org.opendc.simulator.compute.power.batteries.BatteryAggregator;
 import org.opendc.simulator.compute.power.batteries.BatteryState;
 import org.opendc.simulator.compute.power.batteries.SimBattery;
@@ -38,11 +37,8 @@ import org.opendc.simulator.engine.engine.FlowEngine;
  *   the battery will start discharging until empty.
  */
 public class RunningMeanBatteryPolicy extends BatteryPolicy {
-    private final int windowSize;
-
-    private final LinkedList<Double> pastCarbonIntensities = new LinkedList<>();
-    private double pastCarbonIntensitiesSum = 0.0;
-    private double pastCarbonIntensitiesMean = 0.0;
+    private final CarbonIntensityWindow window;
+    private final boolean ownsWindow;
 
     /**
      *
@@ -56,43 +52,52 @@ public class RunningMeanBatteryPolicy extends BatteryPolicy {
             BatteryAggregator aggregator,
             double startingThreshold,
             int windowSize) {
-        super(engine, battery, aggregator);
-
-        this.windowSize = windowSize;
-
-        this.updatePastCarbonIntensities(startingThreshold);
+        this(engine, battery, aggregator, new CarbonIntensityWindow(windowSize, startingThreshold), true);
     }
 
     /**
-     * Update the past carbon intensities with the new carbon intensity.
+     * Construct a policy that uses a {@link CarbonIntensityWindow} shared with other policies. The window must be
+     * registered as a receiver of the carbon model that this policy is registered with.
      *
-     * Update the current sum and mean.
-     * @param newCarbonIntensity
+     * @param engine     The {@link FlowEngine} this node belongs to.
+     * @param battery        The {@link SimBattery} to control.
+     * @param aggregator    The {@link BatteryAggregator} to use.
+     * @param window The shared {@link CarbonIntensityWindow} to compute the running mean with.
      */
-    private void updatePastCarbonIntensities(double newCarbonIntensity) {
-        if (this.pastCarbonIntensities.size() == this.windowSize) {
-            this.pastCarbonIntensitiesSum -= this.pastCarbonIntensities.removeFirst();
-        }
-        this.pastCarbonIntensities.addLast(newCarbonIntensity);
-        this.pastCarbonIntensitiesSum += newCarbonIntensity;
-        this.pastCarbonIntensitiesMean = this.pastCarbonIntensitiesSum / this.pastCarbonIntensities.size();
+    public RunningMeanBatteryPolicy(
+            FlowEngine engine, SimBattery battery, BatteryAggregator aggregator, CarbonIntensityWindow window) {
+        this(engine, battery, aggregator, window, false);
+    }
+
+    private RunningMeanBatteryPolicy(
+            FlowEngine engine,
+            SimBattery battery,
+            BatteryAggregator aggregator,
+            CarbonIntensityWindow window,
+            boolean ownsWindow) {
+        super(engine, battery, aggregator);
+
+        this.window = window;
+        this.ownsWindow = ownsWindow;
     }
 
     @Override
     public void updateCarbonIntensity(double newCarbonIntensity) {
-        this.updatePastCarbonIntensities(newCarbonIntensity);
+        if (this.ownsWindow) {
+            this.window.add(newCarbonIntensity);
+        }
 
         super.updateCarbonIntensity(newCarbonIntensity);
     }
 
     @Override
     public long onUpdate(long now) {
-        if (this.carbonIntensity >= this.pastCarbonIntensitiesMean & !this.battery.isEmpty()) {
+        if (this.carbonIntensity >= this.window.getMean() & !this.battery.isEmpty()) {
             this.setBatteryState(BatteryState.DISCHARGING);
             return Long.MAX_VALUE;
         }
 
-        if (this.carbonIntensity < this.pastCarbonIntensitiesMean & !this.battery.isFull()) {
+        if (this.carbonIntensity < this.window.getMean() & !this.battery.isFull()) {
             this.setBatteryState(BatteryState.CHARGING);
             return Long.MAX_VALUE;
         }
@@ -22,7 +22,6 @@
 
 package org.opendc.simulator.compute.power.batteries.policy;
 
-import java.util.LinkedList;
 import org.opendc.simulator.compute.power.batteries.BatteryAggregator;
 import org.opendc.simulator.compute.power.batteries.BatteryState;
 import org.opendc.simulator.compute.power.batteries.SimBattery;
@@ -33,13 +32,8 @@ import org.opendc.simulator.engine.engine.FlowEngine;
  * It uses the same logic, but only start charging if the carbon intensity is not decreasing anymore.
  */
 public class RunningMeanPlusBatteryPolicy extends BatteryPolicy {
-    private final int windowSize;
-
-    private final LinkedList<Double> pastCarbonIntensities = new LinkedList<>();
-    private double previousCarbonIntensity = 0.0;
-
-    private double pastCarbonIntensitiesSum = 0.0;
-    private double pastCarbonIntensitiesMean = 0.0;
+    private final CarbonIntensityWindow window;
+    private final boolean ownsWindow;
 
     /**
      *
@@ -53,30 +47,40 @@ public class RunningMeanPlusBatteryPolicy extends BatteryPolicy {
             BatteryAggregator aggregator,
             double startingThreshold,
             int windowSize) {
-        super(engine, battery, aggregator);
-
-        this.windowSize = windowSize;
-
-        this.updatePastCarbonIntensities(startingThreshold);
+        this(engine, battery, aggregator, new CarbonIntensityWindow(windowSize, startingThreshold), true);
     }
 
-    private void updatePastCarbonIntensities(double newCarbonIntensity) {
-        if (this.pastCarbonIntensities.size() == this.windowSize) {
-            this.pastCarbonIntensitiesSum -= this.pastCarbonIntensities.removeFirst();
-        }
+    /**
+     * Construct a policy that uses a {@link CarbonIntensityWindow} shared with other policies. The window must be
+     * registered as a receiver of the carbon model that this policy is registered with.
+     *
+     * @param engine     The {@link FlowEngine} this stage belongs to.
+     * @param battery        The {@link SimBattery} to control.
+     * @param aggregator    The {@link BatteryAggregator} to use.
+     * @param window The shared {@link CarbonIntensityWindow} to compute the running mean with.
+     */
+    public RunningMeanPlusBatteryPolicy(
+            FlowEngine engine, SimBattery battery, BatteryAggregator aggregator, CarbonIntensityWindow window) {
+        this(engine, battery, aggregator, window, false);
+    }
 
-        if (this.pastCarbonIntensities.size() > 0) {
-            this.previousCarbonIntensity = this.pastCarbonIntensities.getLast();
-        }
+    private RunningMeanPlusBatteryPolicy(
+            FlowEngine engine,
+            SimBattery battery,
+            BatteryAggregator aggregator,
+            CarbonIntensityWindow window,
+            boolean ownsWindow) {
+        super(engine, battery, aggregator);
 
-        this.pastCarbonIntensities.addLast(newCarbonIntensity);
-        this.pastCarbonIntensitiesSum += newCarbonIntensity;
-        this.pastCarbonIntensitiesMean = this.pastCarbonIntensitiesSum / this.pastCarbonIntensities.size();
+        this.window = window;
+        this.ownsWindow = ownsWindow;
     }
 
     @Override
     public void updateCarbonIntensity(double newCarbonIntensity) {
-        this.updatePastCarbonIntensities(newCarbonIntensity);
+        if (this.ownsWindow) {
+            this.window.add(newCarbonIntensity);
+        }
 
         super.updateCarbonIntensity(newCarbonIntensity);
     }
@@ -85,14 +89,14 @@ public class RunningMeanPlusBatteryPolicy extends BatteryPolicy {
 
     @Override
     public long onUpdate(long now) {
-        if (this.carbonIntensity >= this.pastCarbonIntensitiesMean & !this.battery.isEmpty()) {
+        if (this.carbonIntensity >= this.window.getMean() & !this.battery.isEmpty()) {
             this.isCharging = false;
             this.setBatteryState(BatteryState.DISCHARGING);
             return Long.MAX_VALUE;
         }
 
-        if (this.carbonIntensity < this.pastCarbonIntensitiesMean & !this.battery.isFull()) {
-            if (this.carbonIntensity >= this.previousCarbonIntensity || this.isCharging) {
+        if (this.carbonIntensity < this.window.getMean() & !this.battery.isFull()) {
+            if (this.carbonIntensity >= this.window.getPrevious() || this.isCharging) {
                 this.setBatteryState(BatteryState.CHARGING);
                 return Long.MAX_VALUE;
             }
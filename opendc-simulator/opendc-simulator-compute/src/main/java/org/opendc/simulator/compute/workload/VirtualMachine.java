@@ -33,6 +33,9 @@ import org.opendc.common.ResourceType;
 import org.opendc.simulator.compute.ComputeResource;
 import org.opendc.simulator.compute.machine.PerformanceCounters;
 import org.opendc.simulator.compute.machine.SimMachine;
+import org.opendc.simulator.compute.workload.trace.SimTraceWorkload;
+import org.opendc.simulator.compute.workload.trace.TraceFragment;
+import org.opendc.simulator.compute.workload.trace.TraceWorkload;
 import org.opendc.simulator.engine.graph.FlowEdge;
 import org.opendc.simulator.engine.graph.FlowNode;
 import org.opendc.simulator.engine.graph.FlowSupplier;
@@ -284,6 +287,34 @@ public final class VirtualMachine extends SimWorkload implements FlowSupplier {
         activeWorkload.makeSnapshot(now);
     }
 
+    /**
+     * Return the fragments that this virtual machine still has to execute at the specified time, without modifying
+     * its state.
+     *
+     * @param now Current time in milliseconds
+     * @return The remaining fragments of the active and pending workloads, or <code>null</code> if one of these
+     *     workloads is not a trace workload.
+     */
+    public List<TraceFragment> getRemainingFragments(long now) {
+        List<TraceFragment> fragments = new ArrayList<>();
+
+        if (this.activeWorkload != null) {
+            if (!(this.activeWorkload instanceof SimTraceWorkload trace)) {
+                return null;
+            }
+            fragments.addAll(trace.getRemainingFragments(now));
+        }
+
+        for (Workload workload : this.workloads) {
+            if (!(workload instanceof TraceWorkload trace)) {
+                return null;
+            }
+            fragments.addAll(trace.getFragments());
+        }
+
+        return fragments;
+    }
+
     ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
     // FlowGraph Related functionality
     ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
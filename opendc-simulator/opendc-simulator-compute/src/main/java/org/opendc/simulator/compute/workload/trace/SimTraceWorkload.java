@@ -22,10 +22,10 @@
 
 package org.opendc.simulator.compute.workload.trace;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import org.opendc.common.ResourceType;
@@ -41,10 +41,18 @@ import org.slf4j.LoggerFactory;
 
 public class SimTraceWorkload extends SimWorkload implements FlowConsumer {
     private static final Logger LOGGER = LoggerFactory.getLogger(SimTraceWorkload.class);
-    private LinkedList<TraceFragment> remainingFragments;
+    // The fragments that remain to be executed are the pending fragments, followed by the fragments of the source
+    // from the cursor onwards. The source is shared with the workload and never modified.
+    private TraceFragmentSource fragments;
+    private int cursor;
+    private final ArrayDeque<TraceFragment> pendingFragments = new ArrayDeque<>();
     private int fragmentIndex;
 
-    private TraceFragment currentFragment;
+    // The fragment that is currently executed
+    private boolean hasCurrentFragment;
+    private double currentCpuUsage;
+    private double currentGpuUsage;
+    private int currentGpuMemoryUsage;
     private long startOfFragment;
 
     // The resources used by this workload and the edges to the components
@@ -121,7 +129,9 @@ public class SimTraceWorkload extends SimWorkload implements FlowConsumer {
         this.snapshot = workload;
         this.checkpointDuration = workload.checkpointDuration();
         this.scalingPolicy = workload.getScalingPolicy();
-        this.remainingFragments = new LinkedList<>(workload.getFragments());
+        this.fragments = workload.getSource();
+        this.cursor = workload.getOffset();
+        this.pendingFragments.addAll(workload.getHead());
         this.fragmentIndex = 0;
         this.taskId = workload.getTaskId();
 
@@ -142,7 +152,9 @@ public class SimTraceWorkload extends SimWorkload implements FlowConsumer {
         this.snapshot = workload;
         this.checkpointDuration = workload.checkpointDuration();
         this.scalingPolicy = workload.getScalingPolicy();
-        this.remainingFragments = new LinkedList<>(workload.getFragments());
+        this.fragments = workload.getSource();
+        this.cursor = workload.getOffset();
+        this.pendingFragments.addAll(workload.getHead());
         this.fragmentIndex = 0;
         this.taskId = workload.getTaskId();
 
@@ -197,6 +209,19 @@ public class SimTraceWorkload extends SimWorkload implements FlowConsumer {
         }
     }
 
+    /**
+     * Update the remaining work with the work done since the start of the current fragment and move the start of the
+     * fragment to the specified timestamp.
+     *
+     * @param now The virtual timestamp in milliseconds up to which the work is done.
+     */
+    private void updateRemainingWorkUntil(long now) {
+        long passedTime = getPassedTime(now);
+        this.startOfFragment = now;
+
+        this.updateRemainingWork(passedTime);
+    }
+
     /**
      * Update the remaining time for each resource using the ScalingPolicy, remaining work and supplied resources
      */
@@ -240,7 +265,8 @@ public class SimTraceWorkload extends SimWorkload implements FlowConsumer {
      * <p>
      * There are three possible scenarios:
      * <ol>
-     *     <li>The fragment is completed across all resources: start the next fragment and call onUpdate again</li>
+     *     <li>The fragment is completed across all resources: start the next fragment until one is found that is not
+     *     completed right away</li>
      *     <li>The fragment is not yet completed: push new demands and update remaining time</li>
      *     <li>The workload is completed: stop the workload</li>
      * </ol>
@@ -250,20 +276,19 @@ public class SimTraceWorkload extends SimWorkload implements FlowConsumer {
      */
     @Override
     public long onUpdate(long now) {
-        long passedTime = getPassedTime(now);
-        this.startOfFragment = now;
+        this.updateRemainingWorkUntil(now);
 
-        this.updateRemainingWork(passedTime);
-
-        // If this.totalRemainingWork <= 0, the fragment has been completed across all resources
-        if ((int) this.totalRemainingWork <= 0) {
+        // If this.totalRemainingWork <= 0, the fragment has been completed across all resources. Fragments without
+        // work complete immediately, so this loop may advance past several fragments in a single update.
+        while ((int) this.totalRemainingWork <= 0) {
             this.startNextFragment();
 
             if (this.nodeState == NodeState.CLOSING || this.nodeState == NodeState.CLOSED) {
                 return Long.MAX_VALUE;
             }
 
-            return this.onUpdate(now);
+            // Starting a fragment pushes new demands, which may already have moved the start of the fragment
+            this.updateRemainingWorkUntil(now);
         }
 
         this.pushNewDemands();
@@ -273,18 +298,53 @@ public class SimTraceWorkload extends SimWorkload implements FlowConsumer {
     }
 
     /**
-     * Get the next fragment to be executed
+     * Determine whether fragments remain to be executed after the current fragment.
+     */
+    private boolean hasRemainingFragments() {
+        final TraceFragmentSource fragments = this.fragments;
+        return fragments != null && (!this.pendingFragments.isEmpty() || this.cursor < fragments.size());
+    }
+
+    /**
+     * Make the next fragment the current fragment.
      *
-     * @return The next TraceFragment or null if there are no more fragments
+     * @return The duration of the next fragment (in ms), or -1 if there are no more fragments.
      */
-    public TraceFragment getNextFragment() {
-        if (this.remainingFragments.isEmpty()) {
-            return null;
+    private long advanceFragment() {
+        if (!this.hasRemainingFragments()) {
+            return -1;
         }
-        this.currentFragment = this.remainingFragments.pop();
+
+        long duration;
+        TraceFragment pending = this.pendingFragments.pollFirst();
+        if (pending != null) {
+            duration = pending.duration();
+            this.currentCpuUsage = pending.cpuUsage();
+            this.currentGpuUsage = pending.gpuUsage();
+            this.currentGpuMemoryUsage = pending.gpuMemoryUsage();
+        } else {
+            final TraceFragmentSource fragments = this.fragments;
+            final int index = this.cursor++;
+            duration = fragments.duration(index);
+            this.currentCpuUsage = fragments.cpuUsage(index);
+            this.currentGpuUsage = fragments.gpuUsage(index);
+            this.currentGpuMemoryUsage = fragments.gpuMemoryUsage(index);
+        }
+
+        this.hasCurrentFragment = true;
         this.fragmentIndex++;
+        return duration;
+    }
 
-        return this.currentFragment;
+    /**
+     * Return the usage of the current fragment for the specified resource type.
+     */
+    private double getCurrentUsage(ResourceType resourceType) {
+        return switch (resourceType) {
+            case CPU -> this.currentCpuUsage;
+            case GPU -> this.currentGpuUsage;
+            default -> throw new IllegalArgumentException("Invalid resource type: " + resourceType);
+        };
     }
 
     /**
@@ -293,8 +353,8 @@ public class SimTraceWorkload extends SimWorkload implements FlowConsumer {
      * If no more fragments are left, stopWorkload is called.
      */
     private void startNextFragment() {
-        TraceFragment nextFragment = this.getNextFragment();
-        if (nextFragment == null) {
+        long duration = this.advanceFragment();
+        if (duration < 0) {
             this.stopWorkload();
             return;
         }
@@ -303,10 +363,9 @@ public class SimTraceWorkload extends SimWorkload implements FlowConsumer {
         this.totalRemainingWork = 0.0;
 
         for (ResourceType resourceType : usedResourceTypes) {
-            double demand = nextFragment.getResourceUsage(resourceType);
+            double demand = this.getCurrentUsage(resourceType);
 
-            this.remainingWork[resourceType.ordinal()] =
-                    this.scalingPolicy.getRemainingWork(demand, nextFragment.duration());
+            this.remainingWork[resourceType.ordinal()] = this.scalingPolicy.getRemainingWork(demand, duration);
             this.totalRemainingWork += this.remainingWork[resourceType.ordinal()];
             this.resourceFinished[resourceType.ordinal()] = false;
 
@@ -330,15 +389,12 @@ public class SimTraceWorkload extends SimWorkload implements FlowConsumer {
     @Override
     public void stopWorkload() {
         // If the workload is stopped due to an error or failure, calculate the wasted time for bookkeeping.
-        if (this.totalRemainingWork > 0.0 || !this.remainingFragments.isEmpty()) {
+        if (this.totalRemainingWork > 0.0 || this.hasRemainingFragments()) {
             // Failure
 
             this.updateRemainingWork(this.clock.millis() - this.startOfFragment);
 
-            for (int i = 0; i < this.fragmentIndex; i++) {
-                this.snapshot.failureDelay +=
-                        this.snapshot.getFragments().get(i).duration();
-            }
+            this.snapshot.failureDelay += this.snapshot.getDuration(this.fragmentIndex);
             this.snapshot.failureDelay -= (long) this.totalRemainingWork;
         }
 
@@ -355,8 +411,9 @@ public class SimTraceWorkload extends SimWorkload implements FlowConsumer {
             this.resourceFinished[resourceType.ordinal()] = true;
         }
 
-        this.remainingFragments = null;
-        this.currentFragment = null;
+        this.fragments = null;
+        this.pendingFragments.clear();
+        this.hasCurrentFragment = false;
     }
 
     ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -391,7 +448,7 @@ public class SimTraceWorkload extends SimWorkload implements FlowConsumer {
         long remainingDuration = Arrays.stream(this.remainingTime).max().orElseThrow();
 
         // If this is the end of the Task, don't make a snapshot
-        if (this.currentFragment == null || (remainingDuration <= 0 && remainingFragments.isEmpty())) {
+        if (!this.hasCurrentFragment || (remainingDuration <= 0 && !this.hasRemainingFragments())) {
             return;
         }
 
@@ -404,13 +461,10 @@ public class SimTraceWorkload extends SimWorkload implements FlowConsumer {
         // remaining fragments and snapshot
         if (remainingDuration > 0) {
             TraceFragment adjustedFragment = new TraceFragment(
-                    remainingDuration,
-                    currentFragment.cpuUsage(),
-                    currentFragment.gpuUsage(),
-                    currentFragment.gpuMemoryUsage());
+                    remainingDuration, this.currentCpuUsage, this.currentGpuUsage, this.currentGpuMemoryUsage);
 
             this.snapshot.addFirst(adjustedFragment);
-            this.remainingFragments.addFirst(adjustedFragment);
+            this.pendingFragments.addFirst(adjustedFragment);
         }
 
         // Create a fragment for processing the snapshot process and add it to the front of the remaining fragments
@@ -419,7 +473,7 @@ public class SimTraceWorkload extends SimWorkload implements FlowConsumer {
                 this.snapshot.getMaxCpuDemand(),
                 this.snapshot.getMaxGpuDemand(),
                 this.snapshot.getMaxGpuMemoryDemand());
-        this.remainingFragments.addFirst(snapshotFragment);
+        this.pendingFragments.addFirst(snapshotFragment);
 
         // Add the checkpoint duration for bookkeeping
         this.snapshot.checkpointDelay += this.checkpointDuration;
@@ -430,6 +484,50 @@ public class SimTraceWorkload extends SimWorkload implements FlowConsumer {
         this.invalidate();
     }
 
+    /**
+     * Return the fragments that this workload still has to execute at the specified time.
+     * <p>
+     * Like {@link #makeSnapshot(long)}, the current fragment is shortened to its remaining duration. In contrast to
+     * {@link #makeSnapshot(long)}, the state of the workload is not modified and no checkpoint fragment is added.
+     *
+     * @param now Current time in milliseconds
+     * @return The remaining fragments, which is empty if the workload has finished.
+     */
+    public List<TraceFragment> getRemainingFragments(long now) {
+        final TraceFragmentSource source = this.fragments;
+        if (!this.hasCurrentFragment || source == null) {
+            return new ArrayList<>();
+        }
+
+        List<TraceFragment> fragments =
+                new ArrayList<>(this.pendingFragments.size() + source.size() - this.cursor + 1);
+
+        long passedTime = getPassedTime(now);
+        long remainingDuration = 0;
+        for (ResourceType resourceType : this.usedResourceTypes) {
+            int i = resourceType.ordinal();
+            double finishedWork =
+                    this.scalingPolicy.getFinishedWork(this.resourcesDemand[i], this.resourcesSupplied[i], passedTime);
+            double remainingWork = Math.max(0, this.remainingWork[i] - finishedWork);
+
+            remainingDuration = Math.max(
+                    remainingDuration,
+                    this.scalingPolicy.getRemainingDuration(
+                            this.resourcesDemand[i], this.resourcesSupplied[i], remainingWork));
+        }
+
+        if (remainingDuration > 0) {
+            fragments.add(new TraceFragment(
+                    remainingDuration, this.currentCpuUsage, this.currentGpuUsage, this.currentGpuMemoryUsage));
+        }
+
+        fragments.addAll(this.pendingFragments);
+        for (int i = this.cursor, n = source.size(); i < n; i++) {
+            fragments.add(source.get(i));
+        }
+        return fragments;
+    }
+
     ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
     // FlowGraph Related functionality
     ////////////////////////////////////////////////////////////////////////////////////////////////////////////////////
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.simulator.compute.workload.trace;
+
+import java.util.List;
+
+/**
+ * A read-only, indexed source of the fragments of a {@link TraceWorkload}.
+ * <p>
+ * Sources allow a workload to keep its fragments outside the heap (e.g., in a memory-mapped file) or in primitive
+ * arrays. A source is never modified, so it may be shared by all copies of a workload and by the
+ * {@link SimTraceWorkload}s that execute them.
+ */
+public interface TraceFragmentSource {
+    /**
+     * Return the number of fragments in the source.
+     */
+    int size();
+
+    /**
+     * Return the duration of the fragment at the specified index (in ms).
+     */
+    long duration(int index);
+
+    /**
+     * Return the CPU usage of the fragment at the specified index.
+     */
+    double cpuUsage(int index);
+
+    /**
+     * Return the GPU usage of the fragment at the specified index.
+     */
+    double gpuUsage(int index);
+
+    /**
+     * Return the GPU memory usage of the fragment at the specified index.
+     */
+    default int gpuMemoryUsage(int index) {
+        return 0;
+    }
+
+    /**
+     * Materialize the fragment at the specified index.
+     */
+    default TraceFragment get(int index) {
+        return new TraceFragment(duration(index), cpuUsage(index), gpuUsage(index), gpuMemoryUsage(index));
+    }
+
+    /**
+     * Return a {@link TraceFragmentSource} that reads the fragments from the specified list.
+     * <p>
+     * The list is not copied, so it must not be modified once the source is created.
+     */
+    static TraceFragmentSource of(List<TraceFragment> fragments) {
+        return new TraceFragmentSource() {
+            @Override
+            public int size() {
+                return fragments.size();
+            }
+
+            @Override
+            public long duration(int index) {
+                return fragments.get(index).duration();
+            }
+
+            @Override
+            public double cpuUsage(int index) {
+                return fragments.get(index).cpuUsage();
+            }
+
+            @Override
+            public double gpuUsage(int index) {
+                return fragments.get(index).gpuUsage();
+            }
+
+            @Override
+            public int gpuMemoryUsage(int index) {
+                return fragments.get(index).gpuMemoryUsage();
+            }
+
+            @Override
+            public TraceFragment get(int index) {
+                return fragments.get(index);
+            }
+        };
+    }
+}
@@ -36,7 +36,11 @@ import org.opendc.simulator.compute.workload.trace.scaling.ScalingPolicy;
 import org.opendc.simulator.engine.graph.FlowSupplier;
 
 public class TraceWorkload implements Workload {
-    private final ArrayList<TraceFragment> fragments;
+    // The fragments of the workload are the head followed by the fragments of the source from the offset onwards
+    private final TraceFragmentSource source;
+    private int offset;
+    private ArrayList<TraceFragment> head;
+
     private final long checkpointInterval;
     private final long checkpointDuration;
     private final double checkpointIntervalScaling;
@@ -63,7 +67,7 @@ public class TraceWorkload implements Workload {
             ScalingPolicy scalingPolicy,
             int taskId,
             ResourceType[] resourceTypes) {
-        this.fragments = fragments;
+        this.source = TraceFragmentSource.of(fragments);
         this.checkpointInterval = checkpointInterval;
         this.checkpointDuration = checkpointDuration;
         this.checkpointIntervalScaling = checkpointIntervalScaling;
@@ -84,10 +88,101 @@ public class TraceWorkload implements Workload {
         this.resourceTypes = resourceTypes;
     }
 
+    /**
+     * Construct a {@link TraceWorkload} whose fragments are read from the specified {@link TraceFragmentSource}.
+     * <p>
+     * The fragments are never materialized on the heap by the workload itself: the {@link SimTraceWorkload} that
+     * executes the workload reads them from the source as it advances.
+     */
+    public TraceWorkload(
+            TraceFragmentSource source,
+            long checkpointInterval,
+            long checkpointDuration,
+            double checkpointIntervalScaling,
+            ScalingPolicy scalingPolicy,
+            int taskId,
+            ResourceType[] resourceTypes) {
+        this.source = source;
+        this.checkpointInterval = checkpointInterval;
+        this.checkpointDuration = checkpointDuration;
+        this.checkpointIntervalScaling = checkpointIntervalScaling;
+        this.scalingPolicy = scalingPolicy;
+        this.taskId = taskId;
+
+        double maxCpuDemand = 0.0;
+        double maxGpuDemand = 0.0;
+        for (int i = 0, n = source.size(); i < n; i++) {
+            maxCpuDemand = Math.max(maxCpuDemand, source.cpuUsage(i));
+            maxGpuDemand = Math.max(maxGpuDemand, source.gpuUsage(i));
+        }
+        this.maxCpuDemand = maxCpuDemand;
+        this.maxGpuDemand = maxGpuDemand;
+        this.maxGpuMemoryDemand = 0;
+
+        this.resourceTypes = resourceTypes;
+    }
+
+    /**
+     * Return a copy of the fragments of this workload.
+     */
     public ArrayList<TraceFragment> getFragments() {
+        final ArrayList<TraceFragment> head = this.head;
+        final TraceFragmentSource source = this.source;
+        final int n = source.size();
+
+        ArrayList<TraceFragment> fragments = new ArrayList<>(getFragmentCount());
+        if (head != null) {
+            fragments.addAll(head);
+        }
+        for (int i = this.offset; i < n; i++) {
+            fragments.add(source.get(i));
+        }
         return fragments;
     }
 
+    /**
+     * Return the number of fragments of this workload.
+     */
+    public int getFragmentCount() {
+        final ArrayList<TraceFragment> head = this.head;
+        return (head != null ? head.size() : 0) + this.source.size() - this.offset;
+    }
+
+    /**
+     * Return the total duration of the first <code>count</code> fragments of this workload (in ms).
+     */
+    public long getDuration(int count) {
+        final ArrayList<TraceFragment> head = this.head;
+        final int headSize = head != null ? head.size() : 0;
+
+        long duration = 0;
+        for (int i = 0; i < count; i++) {
+            duration += i < headSize ? head.get(i).duration() : this.source.duration(this.offset + i - headSize);
+        }
+        return duration;
+    }
+
+    /**
+     * Return the fragments that precede the fragments of the source, which are added by {@link #addFirst}.
+     */
+    List<TraceFragment> getHead() {
+        return this.head != null ? this.head : List.of();
+    }
+
+    /**
+     * Return the immutable source of the fragments of this workload.
+     */
+    TraceFragmentSource getSource() {
+        return this.source;
+    }
+
+    /**
+     * Return the index of the first fragment of the source that is part of this workload.
+     */
+    int getOffset() {
+        return this.offset;
+    }
+
     @Override
     public long checkpointInterval() {
         return checkpointInterval;
@@ -131,12 +226,58 @@ public class TraceWorkload implements Workload {
         if (numberOfFragments <= 0) {
             return;
         }
+        if (numberOfFragments > getFragmentCount()) {
+            throw new IndexOutOfBoundsException(
+                    "Cannot remove " + numberOfFragments + " of " + getFragmentCount() + " fragments");
+        }
 
-        this.fragments.subList(0, numberOfFragments).clear();
+        // The source is shared, so fragments are removed by moving the offset past them
+        final ArrayList<TraceFragment> head = this.head;
+        final int fromHead = head != null ? Math.min(head.size(), numberOfFragments) : 0;
+        if (fromHead > 0) {
+            head.subList(0, fromHead).clear();
+        }
+        this.offset += numberOfFragments - fromHead;
     }
 
     public void addFirst(TraceFragment fragment) {
-        this.fragments.addFirst(fragment);
+        if (this.head == null) {
+            this.head = new ArrayList<>();
+        }
+        this.head.addFirst(fragment);
+    }
+
+    /**
+     * Create a fresh copy of this workload with the same fragments and settings, but none of its progress.
+     */
+    public TraceWorkload copy() {
+        if (this.offset == 0 && getHead().isEmpty()) {
+            return new TraceWorkload(
+                    this.source,
+                    this.checkpointInterval,
+                    this.checkpointDuration,
+                    this.checkpointIntervalScaling,
+                    this.scalingPolicy,
+                    this.taskId,
+                    this.resourceTypes.clone());
+        }
+        return copy(getFragments());
+    }
+
+    /**
+     * Create a fresh workload with the settings of this workload that executes the specified fragments.
+     *
+     * @param fragments The fragments to execute, which must not be empty.
+     */
+    public TraceWorkload copy(List<TraceFragment> fragments) {
+        return new TraceWorkload(
+                new ArrayList<>(fragments),
+                this.checkpointInterval,
+                this.checkpointDuration,
+                this.checkpointIntervalScaling,
+                this.scalingPolicy,
+                this.taskId,
+                this.resourceTypes.clone());
     }
 
     public ResourceType[] getResourceTypes() {
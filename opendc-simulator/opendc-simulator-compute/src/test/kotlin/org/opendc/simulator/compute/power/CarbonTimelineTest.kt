@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.simulator.compute.power
+
+import org.junit.jupiter.api.Assertions.assertArrayEquals
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertThrows
+import kotlin.math.roundToInt
+import kotlin.random.Random
+
+/**
+ * Test suite for the [CarbonTimeline] class.
+ */
+class CarbonTimelineTest {
+    private val intensities = doubleArrayOf(100.0, 80.0, 120.0, 60.0, 90.0, 150.0, 70.0, 110.0)
+
+    private val timeline =
+        CarbonTimeline(
+            LongArray(intensities.size) { if (it == 0) Long.MIN_VALUE else it * 1000L },
+            LongArray(intensities.size) { if (it == intensities.size - 1) Long.MAX_VALUE else (it + 1) * 1000L },
+            intensities,
+        )
+
+    @Test
+    fun testIndexOf() {
+        assertEquals(0, timeline.indexOf(-5000))
+        assertEquals(0, timeline.indexOf(999))
+        assertEquals(1, timeline.indexOf(1000))
+        assertEquals(3, timeline.indexOf(3500))
+        assertEquals(7, timeline.indexOf(100_000))
+        assertEquals(60.0, timeline.getCarbonIntensityAt(3999))
+    }
+
+    @Test
+    fun testRangeQueries() {
+        for (from in intensities.indices) {
+            for (to in from + 1..intensities.size) {
+                val window = intensities.copyOfRange(from, to)
+                assertEquals(window.min(), timeline.min(from, to))
+                assertEquals(window.max(), timeline.max(from, to))
+                assertEquals(window.average(), timeline.mean(from, to), 1e-9)
+            }
+        }
+
+        assertThrows<IndexOutOfBoundsException> { timeline.mean(3, 3) }
+    }
+
+    @Test
+    fun testForecast() {
+        assertArrayEquals(doubleArrayOf(80.0, 120.0, 60.0), timeline.forecast(0, 4))
+        assertArrayEquals(doubleArrayOf(110.0), timeline.forecast(6, 4))
+        assertArrayEquals(doubleArrayOf(110.0), timeline.forecast(7, 4))
+    }
+
+    @Test
+    fun testForecastPercentileMatchesSortedForecast() {
+        for (forecastSize in 2..10) {
+            for (quantile in listOf(0.0, 0.2, 0.35, 0.6)) {
+                for (index in intensities.indices) {
+                    val forecast = timeline.forecast(index, forecastSize).sorted()
+                    val expected = forecast[(forecast.size * quantile).roundToInt().coerceAtMost(forecast.size - 1)]
+
+                    assertEquals(expected, timeline.forecastPercentile(index, forecastSize, quantile))
+                    val from = timeline.forecastStart(index)
+                    val to = timeline.forecastEnd(index, forecastSize)
+                    assertEquals(expected, timeline.percentile(from, to, quantile))
+                }
+            }
+        }
+    }
+
+    @Test
+    fun testFromFragments() {
+        val random = Random(0)
+        val fragments = List(50) { CarbonFragment(it * 60_000L, (it + 1) * 60_000L, random.nextDouble(0.0, 500.0)) }
+        fragments.first().startTime = Long.MIN_VALUE
+        fragments.last().endTime = Long.MAX_VALUE
+
+        val timeline = CarbonTimeline.of(fragments)
+
+        assertEquals(50, timeline.size())
+        for ((index, fragment) in fragments.withIndex()) {
+            assertEquals(index, timeline.indexOf(index * 60_000L + 30_000L))
+            assertEquals(fragment.carbonIntensity, timeline.getCarbonIntensity(index))
+        }
+    }
+}
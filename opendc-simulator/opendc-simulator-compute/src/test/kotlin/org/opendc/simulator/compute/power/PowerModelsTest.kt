@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.simulator.compute.power
+
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertNotSame
+import org.junit.jupiter.api.Assertions.assertSame
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertThrows
+import kotlin.random.Random
+
+/**
+ * Test suite for the tabulated models of [PowerModels].
+ */
+class PowerModelsTest {
+    private val utilizations =
+        Random(42).let { random -> DoubleArray(10_000) { random.nextDouble() } } + doubleArrayOf(0.0, 0.5, 1.0)
+
+    @Test
+    fun testTabulatedModelsWithinErrorBound() {
+        val models =
+            listOf(
+                PowerModels.linear(350.0, 200.0),
+                PowerModels.square(350.0, 200.0),
+                PowerModels.cubic(350.0, 200.0),
+                PowerModels.mse(350.0, 200.0, 2.0),
+                PowerModels.asymptotic(350.0, 200.0, 0.3, false),
+            )
+
+        for (model in models) {
+            val table = PowerModels.tabulate(model)
+            assertNotSame(model, table, "$model")
+            assertEquals(model.fullName, table.fullName)
+
+            for (utilization in utilizations) {
+                assertEquals(model.computePower(utilization), table.computePower(utilization), 1e-3, "$model")
+            }
+        }
+    }
+
+    @Test
+    fun testTabulateFallsBackToModel() {
+        val sqrt = PowerModels.sqrt(350.0, 200.0)
+        assertSame(sqrt, PowerModels.tabulate(sqrt))
+
+        // A utilization level of zero results in an undefined power draw
+        val asymptotic = PowerModels.asymptotic(350.0, 200.0, 0.0, true)
+        assertSame(asymptotic, PowerModels.tabulate(asymptotic))
+
+        assertThrows<IllegalArgumentException> { PowerModels.tabulate(sqrt, 0, 1.0) }
+    }
+
+    @Test
+    fun testTabulatedInterpolation() {
+        val model = PowerModels.interpolate(200.0, 210.0, 225.0, 240.0, 260.0, 270.0, 285.0, 300.0, 320.0, 335.0, 350.0)
+
+        // The bends of the model fall within segments of the default table, but on the entries of a table of 1000
+        assertSame(model, PowerModels.tabulate(model))
+
+        val table = PowerModels.tabulate(model, 1000, 1e-3)
+        assertNotSame(model, table)
+
+        for (utilization in utilizations) {
+            assertEquals(model.computePower(utilization), table.computePower(utilization), 1e-3)
+        }
+    }
+
+    @Test
+    fun testTabulatedZeroIdle() {
+        val model = PowerModels.zeroIdle(PowerModels.cubic(350.0, 200.0))
+        val table = PowerModels.tabulate(model)
+
+        assertNotSame(model, table)
+        assertEquals(0.0, table.computePower(0.0))
+        assertEquals(model.computePower(1e-6), table.computePower(1e-6), 1e-3)
+    }
+
+    @Test
+    fun testOutOfRangeUtilization() {
+        val model = PowerModels.mse(350.0, 200.0, 2.0)
+        val table = PowerModels.tabulate(model)
+
+        assertEquals(model.computePower(1.5), table.computePower(1.5))
+        assertEquals(model.computePower(-0.5), table.computePower(-0.5))
+    }
+
+    @Test
+    fun testBatchMatchesScalar() {
+        for (model in listOf(PowerModels.cubic(350.0, 200.0), PowerModels.sqrt(350.0, 200.0))) {
+            val table = PowerModels.tabulate(model)
+            val input = utilizations + doubleArrayOf(1.2, -0.1)
+            val powers = DoubleArray(input.size)
+            table.computePower(input, powers, input.size)
+
+            for (i in input.indices) {
+                assertEquals(table.computePower(input[i]), powers[i])
+            }
+        }
+    }
+}
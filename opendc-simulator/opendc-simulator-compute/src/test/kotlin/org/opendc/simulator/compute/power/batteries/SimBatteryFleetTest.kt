@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.simulator.compute.power.batteries
+
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import org.opendc.common.ResourceType
+import org.opendc.simulator.SimulationDispatcher
+import org.opendc.simulator.compute.power.CarbonFragment
+import org.opendc.simulator.compute.power.CarbonModel
+import org.opendc.simulator.compute.power.SimPowerSource
+import org.opendc.simulator.compute.power.batteries.policy.BatteryFleetPolicy
+import org.opendc.simulator.compute.power.batteries.policy.BatteryPolicy
+import org.opendc.simulator.compute.power.batteries.policy.CarbonIntensityWindow
+import org.opendc.simulator.compute.power.batteries.policy.RunningMeanPlusBatteryPolicy
+import org.opendc.simulator.compute.power.batteries.policy.SingleThresholdBatteryPolicy
+import org.opendc.simulator.engine.engine.FlowEngine
+import org.opendc.simulator.engine.graph.FlowConsumer
+import org.opendc.simulator.engine.graph.FlowEdge
+import org.opendc.simulator.engine.graph.FlowNode
+import org.opendc.simulator.engine.graph.FlowSupplier
+import org.opendc.simulator.engine.graph.distributionPolicies.FlowDistributorFactory
+import org.opendc.simulator.engine.graph.distributionPolicies.FlowDistributorFactory.DistributionPolicy
+import java.util.LinkedList
+
+/**
+ * Test suite for the [SimBatteryFleet] class.
+ */
+class SimBatteryFleetTest {
+    private val demands = doubleArrayOf(20.0, 50.0, 80.0, 120.0, 0.0, 65.0)
+
+    private val intensities = doubleArrayOf(100.0, 300.0, 250.0, 50.0, 80.0, 400.0, 120.0, 90.0, 350.0, 60.0)
+
+    @Test
+    fun testSingleThresholdMatchesBatteries() {
+        assertFleetMatchesBatteries(
+            { engine, battery, aggregator -> SingleThresholdBatteryPolicy(engine, battery, aggregator, 200.0) },
+            { engine, fleet, aggregators, _ -> BatteryFleetPolicy.singleThreshold(engine, fleet, aggregators, 200.0) },
+        )
+    }
+
+    @Test
+    fun testRunningMeanPlusMatchesBatteries() {
+        assertFleetMatchesBatteries(
+            { engine, battery, aggregator -> RunningMeanPlusBatteryPolicy(engine, battery, aggregator, 150.0, 3) },
+            { engine, fleet, aggregators, carbonModel ->
+                val window = CarbonIntensityWindow(3, 150.0)
+                carbonModel.addReceiver(window)
+                BatteryFleetPolicy.runningMeanPlus(engine, fleet, aggregators, window)
+            },
+        )
+    }
+
+    @Test
+    fun testWindowMatchesList() {
+        for (windowSize in 1..4) {
+            val window = CarbonIntensityWindow(windowSize, 150.0)
+            val list = LinkedList(listOf(150.0))
+            var previous = 0.0
+
+            for (intensity in intensities) {
+                window.add(intensity)
+
+                if (list.size == windowSize) {
+                    list.removeFirst()
+                }
+                if (list.isNotEmpty()) {
+                    previous = list.last()
+                }
+                list.addLast(intensity)
+
+                assertEquals(list.size, window.size())
+                assertEquals(list.average(), window.mean, 1e-9)
+                assertEquals(previous, window.previous)
+            }
+        }
+    }
+
+    /**
+     * Run the same scenario with a [SimBattery] and policy per demand and with a single [SimBatteryFleet], and
+     * compare the state, charge, and energy usage of each battery at every minute.
+     */
+    private fun assertFleetMatchesBatteries(
+        batteryPolicy: (FlowEngine, SimBattery, BatteryAggregator) -> BatteryPolicy,
+        fleetPolicy: (FlowEngine, SimBatteryFleet, List<BatteryAggregator>, CarbonModel) -> BatteryFleetPolicy,
+    ) {
+        val batteriesDispatcher = SimulationDispatcher()
+        val batteriesEngine = FlowEngine.create(batteriesDispatcher)
+        val batteriesCarbon = createCarbonModel(batteriesEngine)
+        val batteries =
+            demands.map { demand ->
+                val battery = SimBattery(batteriesEngine, CAPACITY, CHARGING_SPEED, 0.0, "battery", "cluster", 1000.0, 10.0)
+                val aggregator = connect(batteriesEngine, battery, demand)
+                batteriesCarbon.addReceiver(batteryPolicy(batteriesEngine, battery, aggregator))
+                battery
+            }
+
+        val fleetDispatcher = SimulationDispatcher()
+        val fleetEngine = FlowEngine.create(fleetDispatcher)
+        val fleetCarbon = createCarbonModel(fleetEngine)
+        val fleet =
+            SimBatteryFleet(fleetEngine, demands.size, CAPACITY, CHARGING_SPEED, 0.0, "fleet", "cluster", 1000.0, 10.0)
+        val aggregators = demands.map { demand -> connect(fleetEngine, fleet, demand) }
+        fleetCarbon.addReceiver(fleetPolicy(fleetEngine, fleet, aggregators, fleetCarbon))
+
+        var transitions = 0
+        val previousStates = Array(demands.size) { BatteryState.IDLE }
+
+        for (minute in 1..intensities.size) {
+            batteriesDispatcher.advanceUntil(minute * 60_000L)
+            fleetDispatcher.advanceUntil(minute * 60_000L)
+            fleet.updateCounters()
+
+            for ((i, battery) in batteries.withIndex()) {
+                battery.updateCounters()
+
+                val message = "battery $i at minute $minute"
+                assertEquals(battery.batteryState, fleet.getBatteryState(i), message)
+                assertEquals(battery.charge, fleet.getCharge(i), 1e-6, message)
+                assertEquals(battery.totalEnergyUsage, fleet.getTotalEnergyUsage(i), 1e-6, message)
+
+                if (previousStates[i] != battery.batteryState) {
+                    transitions++
+                }
+                previousStates[i] = battery.batteryState
+            }
+        }
+
+        // Ensure that the scenario exercises the policy
+        assertTrue(transitions > demands.size)
+    }
+
+    private fun createCarbonModel(engine: FlowEngine): CarbonModel {
+        val fragments =
+            intensities.mapIndexed { i, intensity ->
+                val end = if (i == intensities.size - 1) Long.MAX_VALUE else (i + 1) * 60_000L
+                CarbonFragment(i * 60_000L, end, intensity)
+            }
+        return CarbonModel(engine, fragments, 0L)
+    }
+
+    /**
+     * Connect a battery to a power source and a consumer with the given power demand, like a cluster.
+     */
+    private fun <T> connect(
+        engine: FlowEngine,
+        battery: T,
+        demand: Double,
+    ): BatteryAggregator where T : FlowConsumer, T : FlowSupplier {
+        val powerSource = SimPowerSource(engine, 10_000.0, "source", "cluster")
+        val batteryDistributor =
+            FlowDistributorFactory.getFlowDistributor(engine, DistributionPolicy.MAX_MIN_FAIRNESS, 2, 1)
+        FlowEdge(batteryDistributor, powerSource)
+        FlowEdge(battery, batteryDistributor)
+
+        val aggregator = BatteryAggregator(engine, battery, batteryDistributor)
+        val consumer = TestConsumer(engine)
+        FlowEdge(consumer, aggregator, ResourceType.POWER)
+        consumer.pushDemand(demand)
+        return aggregator
+    }
+
+    private class TestConsumer(engine: FlowEngine) : FlowNode(engine), FlowConsumer {
+        private var edge: FlowEdge? = null
+
+        fun pushDemand(demand: Double) {
+            pushOutgoingDemand(edge!!, demand)
+        }
+
+        override fun handleIncomingSupply(
+            supplierEdge: FlowEdge,
+            newSupply: Double,
+        ) {}
+
+        override fun pushOutgoingDemand(
+            supplierEdge: FlowEdge,
+            newDemand: Double,
+        ) {
+            supplierEdge.pushDemand(newDemand)
+        }
+
+        override fun addSupplierEdge(supplierEdge: FlowEdge) {
+            edge = supplierEdge
+        }
+
+        override fun removeSupplierEdge(supplierEdge: FlowEdge) {
+            edge = null
+        }
+
+        override fun getConnectedEdges(): Map<FlowEdge.NodeType, List<FlowEdge>> = mapOf(FlowEdge.NodeType.SUPPLYING to listOfNotNull(edge))
+
+        override fun onUpdate(now: Long): Long = Long.MAX_VALUE
+    }
+
+    private companion object {
+        // A capacity of 1 Wh, which is charged in 72 seconds and discharged in 30 seconds to 3 minutes
+        const val CAPACITY = 0.001
+        const val CHARGING_SPEED = 50.0
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.simulator.compute.workload.trace
+
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertSame
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertThrows
+import org.opendc.common.ResourceType
+import org.opendc.simulator.compute.workload.trace.scaling.NoDelayScaling
+
+/**
+ * Test suite for the fragments of a [TraceWorkload], which are a head followed by a shared source from an offset.
+ */
+class TraceWorkloadTest {
+    private val fragments = List(4) { TraceFragment((it + 1) * 1000L, (it + 1) * 100.0) }
+
+    @Test
+    fun testRemoveFragmentsMovesOffset() {
+        val workload = createWorkload()
+
+        workload.removeFragments(2)
+
+        assertEquals(2, workload.offset)
+        assertEquals(fragments.subList(2, 4), workload.fragments)
+        assertEquals(7000L, workload.getDuration(2))
+    }
+
+    @Test
+    fun testRemoveFragmentsAcrossHead() {
+        val workload = createWorkload()
+        val resume = TraceFragment(500L, 50.0)
+        workload.removeFragments(1)
+        workload.addFirst(resume)
+        workload.addFirst(resume)
+
+        assertEquals(listOf(resume, resume) + fragments.subList(1, 4), workload.fragments)
+        assertEquals(500L + 500L + 2000L, workload.getDuration(3)) { "The duration should span the head and the source" }
+
+        // Remove the head and the first fragment of the source in a single call
+        workload.removeFragments(3)
+
+        assertEquals(emptyList<TraceFragment>(), workload.head)
+        assertEquals(2, workload.offset)
+        assertEquals(fragments.subList(2, 4), workload.fragments)
+    }
+
+    @Test
+    fun testCopyResetsOffsetAfterHeadConsumption() {
+        val workload = createWorkload()
+        workload.addFirst(TraceFragment(500L, 50.0))
+        workload.removeFragments(2)
+
+        val copy = workload.copy()
+
+        assertEquals(0, copy.offset) { "The copy should start at the first of its own fragments" }
+        assertEquals(emptyList<TraceFragment>(), copy.head)
+        assertEquals(fragments.subList(1, 4), copy.fragments)
+        assertEquals(fragments.subList(1, 4), workload.fragments) { "Copying should not affect the original" }
+    }
+
+    @Test
+    fun testCopySharesUnmodifiedSource() {
+        val workload = createWorkload()
+        workload.addFirst(TraceFragment(500L, 50.0))
+        workload.removeFragments(1)
+
+        // The head is consumed and the offset is still zero, so the workload equals its source again
+        assertSame(workload.source, workload.copy().source)
+    }
+
+    @Test
+    fun testRemoveTooManyFragments() {
+        val workload = createWorkload()
+        workload.addFirst(TraceFragment(500L, 50.0))
+
+        assertThrows<IndexOutOfBoundsException> { workload.removeFragments(6) }
+        assertEquals(5, workload.fragmentCount) { "A failed removal should not change the workload" }
+    }
+
+    private fun createWorkload(): TraceWorkload {
+        return TraceWorkload(ArrayList(fragments), 0L, 0L, 1.0, NoDelayScaling(), 0, arrayOf(ResourceType.CPU))
+    }
+}
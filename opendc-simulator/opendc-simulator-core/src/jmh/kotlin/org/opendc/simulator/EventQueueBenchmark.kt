@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package org.opendc.simulator
+
+import org.opendc.common.DispatcherHandle
+import org.opendc.common.util.EventQueueType
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.Fork
+import org.openjdk.jmh.annotations.Measurement
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.annotations.Warmup
+import java.io.File
+import java.util.concurrent.TimeUnit
+import kotlin.random.Random
+
+/**
+ * Benchmark suite that replays streams of task delays against the event queues of the [SimulationDispatcher].
+ *
+ * Each run follows the hold model: a fixed number of tasks is kept pending, and every task that runs schedules a new
+ * task with the next delay of the stream. A fraction of the pending tasks is cancelled and rescheduled, as happens
+ * when a workload fragment is preempted.
+ *
+ * A recorded stream can be supplied with `-Pjmh.params=stream=<path>`, where the file contains a single delay (in
+ * milliseconds) per line. By default, a synthetic stream is used that clusters the deadlines on multiples of five
+ * minutes, similar to the sampling interval of the traces used by OpenDC.
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 2, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+class EventQueueBenchmark {
+    @Param("HEAP", "CALENDAR", "LADDER")
+    lateinit var queueType: EventQueueType
+
+    @Param("")
+    lateinit var stream: String
+
+    @Param("10000")
+    var pending: Int = 0
+
+    private lateinit var delays: LongArray
+
+    @Setup
+    fun setUp() {
+        delays =
+            if (stream.isEmpty()) {
+                val random = Random(0)
+                LongArray(1_000_000) { (random.nextLong(1, 12) * 300_000) - random.nextLong(0, 2) }
+            } else {
+                File(stream).useLines { lines -> lines.filter { it.isNotBlank() }.map { it.trim().toLong() }.toList() }
+                    .toLongArray()
+            }
+    }
+
+    @Benchmark
+    fun replay(): Long {
+        val dispatcher = SimulationDispatcher(0, queueType)
+        val handles = arrayOfNulls<DispatcherHandle>(pending)
+        val delays = delays
+        var cursor = 0
+        var remaining = delays.size
+
+        fun hold(slot: Int) {
+            if (remaining-- <= 0) {
+                return
+            }
+
+            val delay = delays[cursor]
+            cursor = if (cursor + 1 == delays.size) 0 else cursor + 1
+
+            // Every eighth event preempts the task of a neighbouring slot
+            if ((cursor and 7) == 0) {
+                val victim = (slot + 1) % handles.size
+                handles[victim]?.cancel()
+                handles[victim] = dispatcher.scheduleCancellable(delay) { hold(victim) }
+            }
+
+            handles[slot] = dispatcher.scheduleCancellable(delay) { hold(slot) }
+        }
+
+        for (slot in handles.indices) {
+            hold(slot)
+        }
+
+        dispatcher.advanceUntilIdle()
+        return dispatcher.currentTime
+    }
+}
@@ -0,0 +1,389 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.simulator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A conservative parallel discrete-event simulation that consists of multiple independent partitions, each with their
+ * own {@link SimulationDispatcher} (and thus their own flow engine).
+ *
+ * <p>
+ * The partitions advance in lock-step windows. A window starts at the earliest pending event across all partitions
+ * and spans the <i>lookahead</i> of the simulation. Within a window every partition executes its own events in
+ * parallel, since no partition can affect another partition earlier than the lookahead. At the end of the window
+ * (the barrier), messages that partitions sent to each other are delivered into the dispatcher of the target.
+ *
+ * <p>
+ * Partitions may only interact through {@link #send(int, int, long, Runnable)}, with a delay of at least the
+ * lookahead. The lookahead must be derived from the model itself: interactions within the compute service (such as
+ * scheduling cycles, which may run in the same millisecond as the request that triggered them) have no lookahead.
+ *
+ * <p>
+ * The simulation is deterministic: each partition runs its events sequentially on a single thread, and messages are
+ * delivered in the order of their timestamp, source partition and send order, independent of thread timing.
+ * Random number generators used by a partition should be seeded from the experiment seed and the partition index.
+ *
+ * <p>
+ * This class is not thread-safe: the advance methods must be called from a single thread.
+ *
+ * <p>
+ * The compute service calls its hosts synchronously, so it cannot yet be split across partitions. Until it can, this
+ * class is internal to the simulator core.
+ */
+final class PartitionedSimulation implements AutoCloseable {
+    /**
+     * The dispatchers of the partitions.
+     */
+    private final SimulationDispatcher[] partitions;
+
+    /**
+     * The outgoing messages of each partition in the current window. Each outbox is only written by the thread
+     * running the partition and only read at the barrier.
+     */
+    private final List<Message>[] outboxes;
+
+    /**
+     * The lookahead of the simulation in milliseconds.
+     */
+    private final long lookaheadMs;
+
+    /**
+     * The executor to run the partitions on or <code>null</code> to run the partitions sequentially.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * The partition that is currently executing on each thread, used to validate the source of messages.
+     */
+    private final ThreadLocal<int[]> activePartition = ThreadLocal.withInitial(() -> new int[] {-1});
+
+    /**
+     * The virtual time of the last barrier.
+     */
+    private long currentTime;
+
+    /**
+     * Construct a {@link PartitionedSimulation}.
+     *
+     * @param partitionCount The number of partitions.
+     * @param lookaheadMs The minimum delay of messages between partitions (in milliseconds).
+     * @param threads The number of threads to run the partitions on. With a single thread, the partitions are
+     *     executed sequentially on the calling thread.
+     * @param initialTimeMs The initial virtual time of the partitions in milliseconds since epoch.
+     */
+    @SuppressWarnings("unchecked")
+    public PartitionedSimulation(int partitionCount, long lookaheadMs, int threads, long initialTimeMs) {
+        if (partitionCount <= 0) {
+            throw new IllegalArgumentException("The number of partitions must be positive");
+        }
+        if (lookaheadMs <= 0) {
+            throw new IllegalArgumentException("The lookahead must be positive: " + lookaheadMs + " ms");
+        }
+        if (threads <= 0) {
+            throw new IllegalArgumentException("The number of threads must be positive");
+        }
+
+        this.lookaheadMs = lookaheadMs;
+        this.currentTime = initialTimeMs;
+        this.partitions = new SimulationDispatcher[partitionCount];
+        this.outboxes = new List[partitionCount];
+
+        for (int i = 0; i < partitionCount; i++) {
+            this.partitions[i] = new SimulationDispatcher(initialTimeMs);
+            this.outboxes[i] = new ArrayList<>();
+        }
+
+        int poolSize = Math.min(threads, partitionCount);
+        this.executor = poolSize > 1 ? Executors.newFixedThreadPool(poolSize, new PartitionThreadFactory()) : null;
+    }
+
+    /**
+     * Construct a {@link PartitionedSimulation} with the initial time set to UNIX Epoch 0.
+     *
+     * @param partitionCount The number of partitions.
+     * @param lookaheadMs The minimum delay of messages between partitions (in milliseconds).
+     * @param threads The number of threads to run the partitions on.
+     */
+    public PartitionedSimulation(int partitionCount, long lookaheadMs, int threads) {
+        this(partitionCount, lookaheadMs, threads, 0);
+    }
+
+    /**
+     * Return the number of partitions of the simulation.
+     */
+    public int getPartitionCount() {
+        return partitions.length;
+    }
+
+    /**
+     * Return the {@link SimulationDispatcher} of the specified partition.
+     */
+    public SimulationDispatcher getDispatcher(int partition) {
+        return partitions[partition];
+    }
+
+    /**
+     * Return the lookahead of the simulation in milliseconds.
+     */
+    public long getLookahead() {
+        return lookaheadMs;
+    }
+
+    /**
+     * Return the virtual time of the last barrier (in milliseconds since epoch).
+     */
+    public long getCurrentTime() {
+        return currentTime;
+    }
+
+    /**
+     * Send a message from one partition to another. The message is executed on the dispatcher of the target partition
+     * after the specified delay, which must be at least the lookahead of the simulation.
+     * <p>
+     * This method must be called from a task running on the <code>source</code> partition, or while the simulation is
+     * not advancing.
+     *
+     * @param source The index of the partition sending the message.
+     * @param target The index of the partition receiving the message.
+     * @param delayMs The delay from the current time of the source partition until the message is executed.
+     * @param message The task to execute on the target partition.
+     */
+    public void send(int source, int target, long delayMs, Runnable message) {
+        if (delayMs < lookaheadMs) {
+            throw new IllegalArgumentException(
+                    "Message delay " + delayMs + " ms is smaller than the lookahead of " + lookaheadMs + " ms");
+        }
+
+        int active = activePartition.get()[0];
+        if (active != -1 && active != source) {
+            throw new IllegalStateException(
+                    "Partition " + active + " attempted to send a message on behalf of partition " + source);
+        }
+
+        // The clock of an idle partition may lag behind the last barrier
+        long timestamp = Math.max(partitions[source].getCurrentTime(), currentTime) + delayMs;
+        if (timestamp < 0) {
+            timestamp = Long.MAX_VALUE;
+        }
+
+        List<Message> outbox = outboxes[source];
+        outbox.add(new Message(timestamp, source, outbox.size(), target, message));
+
+        // Outside a window, deliver the message right away
+        if (active == -1) {
+            deliverMessages();
+        }
+    }
+
+    /**
+     * Run all partitions until none of them has pending tasks.
+     */
+    public void advanceUntilIdle() {
+        advanceTo(Long.MAX_VALUE);
+    }
+
+    /**
+     * Run all partitions until the specified virtual timestamp. Tasks scheduled at or after the timestamp are not
+     * executed.
+     *
+     * @param timestamp The (exclusive) virtual timestamp to advance to (in milliseconds since epoch).
+     */
+    public void advanceTo(long timestamp) {
+        while (true) {
+            long next = nextDeadline();
+            if (next == Long.MAX_VALUE || next >= timestamp) {
+                break;
+            }
+
+            // No partition can affect another partition before the end of this window
+            long windowEnd = next + lookaheadMs;
+            if (windowEnd < 0 || windowEnd > timestamp) {
+                windowEnd = timestamp;
+            }
+
+            runWindow(windowEnd);
+            currentTime = windowEnd == Long.MAX_VALUE ? next : windowEnd;
+            deliverMessages();
+        }
+
+        if (timestamp != Long.MAX_VALUE && timestamp > currentTime) {
+            currentTime = timestamp;
+        }
+    }
+
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Return the earliest pending deadline across all partitions.
+     */
+    private long nextDeadline() {
+        long next = Long.MAX_VALUE;
+        for (SimulationDispatcher partition : partitions) {
+            next = Math.min(next, partition.getNextDeadline());
+        }
+        return next;
+    }
+
+    /**
+     * Execute the tasks of all partitions that are scheduled before <code>windowEnd</code>.
+     */
+    private void runWindow(long windowEnd) {
+        final SimulationDispatcher[] partitions = this.partitions;
+
+        if (executor == null) {
+            for (int i = 0; i < partitions.length; i++) {
+                if (partitions[i].getNextDeadline() < windowEnd) {
+                    runPartition(i, windowEnd);
+                }
+            }
+            return;
+        }
+
+        List<Callable<Void>> jobs = new ArrayList<>(partitions.length);
+        for (int i = 0; i < partitions.length; i++) {
+            if (partitions[i].getNextDeadline() < windowEnd) {
+                final int index = i;
+                jobs.add(() -> {
+                    runPartition(index, windowEnd);
+                    return null;
+                });
+            }
+        }
+
+        List<Future<Void>> futures;
+        try {
+            futures = executor.invokeAll(jobs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for partitions", e);
+        }
+
+        // Report the failure of the partition with the lowest index to keep errors deterministic
+        for (Future<Void> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for partitions", e);
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                } else if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new IllegalStateException(cause);
+            }
+        }
+    }
+
+    /**
+     * Run a single partition until the end of the window.
+     */
+    private void runPartition(int index, long windowEnd) {
+        int[] active = activePartition.get();
+        active[0] = index;
+        try {
+            partitions[index].advanceUntil(windowEnd);
+        } finally {
+            active[0] = -1;
+        }
+    }
+
+    /**
+     * Deliver the messages sent in the last window to their target partitions in a deterministic order.
+     */
+    private void deliverMessages() {
+        int total = 0;
+        for (List<Message> outbox : outboxes) {
+            total += outbox.size();
+        }
+
+        if (total == 0) {
+            return;
+        }
+
+        Message[] messages = new Message[total];
+        int n = 0;
+        for (List<Message> outbox : outboxes) {
+            for (Message message : outbox) {
+                messages[n++] = message;
+            }
+            outbox.clear();
+        }
+
+        Arrays.sort(messages, PartitionedSimulation::compare);
+
+        for (Message message : messages) {
+            SimulationDispatcher target = partitions[message.target];
+            long delay = message.timestamp - target.getCurrentTime();
+            target.schedule(Math.max(0, delay), message.task);
+        }
+    }
+
+    /**
+     * Order messages on timestamp, source partition and send order.
+     */
+    private static int compare(Message a, Message b) {
+        int cmp = Long.compare(a.timestamp, b.timestamp);
+        if (cmp != 0) {
+            return cmp;
+        }
+        cmp = Integer.compare(a.source, b.source);
+        return cmp != 0 ? cmp : Integer.compare(a.sequence, b.sequence);
+    }
+
+    /**
+     * A message between two partitions.
+     */
+    private record Message(long timestamp, int source, int sequence, int target, Runnable task) {}
+
+    /**
+     * A {@link ThreadFactory} that creates daemon threads for the partitions.
+     */
+    private static final class PartitionThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "opendc-partition-" + counter.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
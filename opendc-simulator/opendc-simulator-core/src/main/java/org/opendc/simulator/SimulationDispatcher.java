@@ -26,6 +26,8 @@ import java.time.Instant;
 import java.time.InstantSource;
 import org.opendc.common.Dispatcher;
 import org.opendc.common.DispatcherHandle;
+import org.opendc.common.util.EventQueue;
+import org.opendc.common.util.EventQueueType;
 
 /**
  * A {@link Dispatcher} used by simulations to manage execution of (future) tasks, providing a controllable (virtual)
@@ -42,9 +44,9 @@ import org.opendc.common.DispatcherHandle;
  */
 public final class SimulationDispatcher implements Dispatcher {
     /**
-     * The {@link TaskQueue} containing the pending tasks.
+     * The {@link EventQueue} containing the pending tasks.
      */
-    private final TaskQueue queue = new TaskQueue();
+    private final EventQueue<Runnable> queue;
 
     /**
      * The current time of the scheduler in milliseconds since epoch.
@@ -67,7 +69,18 @@ public final class SimulationDispatcher implements Dispatcher {
      * @param initialTimeMs The initial virtual time of the scheduler in milliseconds since epoch.
      */
     public SimulationDispatcher(long initialTimeMs) {
+        this(initialTimeMs, EventQueueType.HEAP);
+    }
+
+    /**
+     * Construct a {@link SimulationDispatcher} instance with the specified initial time and event queue.
+     *
+     * @param initialTimeMs The initial virtual time of the scheduler in milliseconds since epoch.
+     * @param queueType The type of event queue to store the pending tasks in.
+     */
+    public SimulationDispatcher(long initialTimeMs, EventQueueType queueType) {
         this.currentTime = initialTimeMs;
+        this.queue = queueType == EventQueueType.HEAP ? new TaskQueue() : queueType.create();
     }
 
     /**
@@ -118,7 +131,7 @@ public final class SimulationDispatcher implements Dispatcher {
      * tasks in the queue of this scheduler.
      */
     public void advanceUntilIdle() {
-        final TaskQueue queue = this.queue;
+        final EventQueue<Runnable> queue = this.queue;
 
         while (true) {
             long deadline = queue.peekDeadline();
@@ -150,7 +163,7 @@ public final class SimulationDispatcher implements Dispatcher {
             target = Long.MAX_VALUE;
         }
 
-        final TaskQueue queue = this.queue;
+        final EventQueue<Runnable> queue = this.queue;
         long deadline;
 
         while ((deadline = queue.peekDeadline()) < target) {
@@ -163,11 +176,40 @@ public final class SimulationDispatcher implements Dispatcher {
         currentTime = target;
     }
 
+    /**
+     * Run the enqueued tasks whose deadline lies strictly before the specified timestamp, advancing the virtual time
+     * as needed. In contrast to {@link #advanceBy(long)}, the virtual clock is not moved to <code>timestamp</code>
+     * but stays at the deadline of the last executed task.
+     *
+     * @param timestamp The (exclusive) virtual timestamp up to which tasks are executed (in milliseconds since epoch).
+     */
+    public void advanceUntil(long timestamp) {
+        final EventQueue<Runnable> queue = this.queue;
+        long deadline;
+
+        while ((deadline = queue.peekDeadline()) < timestamp) {
+            Runnable task = queue.poll(); // Cannot be null since while condition is always false on an empty queue
+
+            currentTime = deadline;
+            task.run();
+        }
+    }
+
+    /**
+     * Return the deadline of the earliest pending task.
+     *
+     * @return The earliest deadline (in milliseconds since epoch) or {@link Long#MAX_VALUE} if there are no pending
+     *     tasks.
+     */
+    public long getNextDeadline() {
+        return queue.peekDeadline();
+    }
+
     /**
      * Execute the tasks that are scheduled to execute at this moment of virtual time.
      */
     public void runCurrent() {
-        final TaskQueue queue = this.queue;
+        final EventQueue<Runnable> queue = this.queue;
         long currentTime = this.currentTime;
 
         while (queue.peekDeadline() == currentTime) {
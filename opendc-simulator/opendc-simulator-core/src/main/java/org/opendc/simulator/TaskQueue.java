@@ -23,6 +23,7 @@
 package org.opendc.simulator;
 
 import java.util.Arrays;
+import org.opendc.common.util.EventQueue;
 
 /**
  * Specialized priority queue for pending tasks.
@@ -31,7 +32,7 @@ import java.util.Arrays;
  * This class uses a specialized priority queue (as opposed to a generic {@link java.util.PriorityQueue}), which reduces
  * unnecessary allocations in the simulator's hot path.
  */
-final class TaskQueue {
+final class TaskQueue implements EventQueue<Runnable> {
     /**
      * The deadlines of the pending tasks.
      */
@@ -78,6 +79,7 @@ final class TaskQueue {
      * @param id       The identifier of the task.
      * @param task     The {@link Runnable} representing the task to execute.
      */
+    @Override
     public void add(long deadline, int id, Runnable task) {
         int i = size;
         long[] deadlines = this.deadlines;
@@ -99,6 +101,7 @@ final class TaskQueue {
      *
      * @return The head of the queue or <code>null</code> if the queue is empty.
      */
+    @Override
     public Runnable poll() {
         final Runnable[] tasks = this.tasks;
         final Runnable result = tasks[0];
@@ -125,6 +128,7 @@ final class TaskQueue {
      *
      * @return The earliest deadline in the queue or {@link Long#MAX_VALUE} if the queue is empty.
      */
+    @Override
     public long peekDeadline() {
         if (size == 0) {
             return Long.MAX_VALUE;
@@ -136,6 +140,7 @@ final class TaskQueue {
     /**
      * Remove the timer entry with the specified <code>deadline</code> and <code>id</code>.
      */
+    @Override
     public boolean remove(long deadline, int id) {
         long[] deadlines = this.deadlines;
         int[] ids = this.ids;
@@ -176,6 +181,11 @@ final class TaskQueue {
         return true;
     }
 
+    @Override
+    public int size() {
+        return size;
+    }
+
     /**
      * Increases the capacity of the priority queue.
      */
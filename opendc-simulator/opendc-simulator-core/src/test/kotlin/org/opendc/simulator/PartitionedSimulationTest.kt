@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package org.opendc.simulator
+
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertThrows
+import java.util.Random
+
+/**
+ * Test suite for the [PartitionedSimulation] class.
+ */
+class PartitionedSimulationTest {
+    /**
+     * Test that independent partitions execute their own tasks.
+     */
+    @Test
+    fun testIndependentPartitions() {
+        PartitionedSimulation(2, 10, 2).use { simulation ->
+            val times = LongArray(2)
+
+            simulation.getDispatcher(0).schedule(5) { times[0] = simulation.getDispatcher(0).currentTime }
+            simulation.getDispatcher(1).schedule(25) { times[1] = simulation.getDispatcher(1).currentTime }
+
+            simulation.advanceUntilIdle()
+
+            assertEquals(5, times[0])
+            assertEquals(25, times[1])
+        }
+    }
+
+    /**
+     * Test that a message is executed on the target partition after its delay.
+     */
+    @Test
+    fun testMessageDelivery() {
+        PartitionedSimulation(2, 10, 1).use { simulation ->
+            var receivedAt = -1L
+
+            simulation.getDispatcher(0).schedule(3) {
+                simulation.send(0, 1, 15) { receivedAt = simulation.getDispatcher(1).currentTime }
+            }
+
+            simulation.advanceUntilIdle()
+
+            assertEquals(18, receivedAt)
+        }
+    }
+
+    /**
+     * Test that messages faster than the lookahead are rejected.
+     */
+    @Test
+    fun testLookaheadViolation() {
+        PartitionedSimulation(2, 10, 1).use { simulation ->
+            assertThrows<IllegalArgumentException> { simulation.send(0, 1, 5) {} }
+        }
+    }
+
+    /**
+     * Test that advancing to a timestamp does not run later tasks.
+     */
+    @Test
+    fun testAdvanceTo() {
+        PartitionedSimulation(2, 10, 1).use { simulation ->
+            var count = 0
+
+            simulation.getDispatcher(0).schedule(5) { count++ }
+            simulation.getDispatcher(1).schedule(50) { count++ }
+
+            simulation.advanceTo(20)
+            assertEquals(1, count)
+            assertEquals(20, simulation.currentTime)
+
+            simulation.advanceUntilIdle()
+            assertEquals(2, count)
+        }
+    }
+
+    /**
+     * Test that the outcome of a simulation with many interacting partitions does not depend on the number of threads.
+     */
+    @Test
+    fun testDeterminism() {
+        val sequential = runExchange(threads = 1)
+        val parallel = runExchange(threads = 4)
+
+        assertEquals(sequential, parallel)
+    }
+
+    private fun runExchange(threads: Int): List<List<String>> {
+        val partitions = 8
+        return PartitionedSimulation(partitions, 60, threads).use { simulation ->
+            val logs = List(partitions) { mutableListOf<String>() }
+
+            for (p in 0 until partitions) {
+                val random = Random(42L + p)
+                val dispatcher = simulation.getDispatcher(p)
+
+                fun step(remaining: Int) {
+                    logs[p].add("local@${dispatcher.currentTime}")
+                    if (remaining == 0) {
+                        return
+                    }
+
+                    val target = random.nextInt(partitions)
+                    val time = dispatcher.currentTime
+                    simulation.send(p, target, 60L + random.nextInt(100)) {
+                        logs[target].add("from $p sent@$time recv@${simulation.getDispatcher(target).currentTime}")
+                    }
+                    dispatcher.schedule(random.nextInt(50).toLong()) { step(remaining - 1) }
+                }
+
+                dispatcher.schedule(random.nextInt(10).toLong()) { step(200) }
+            }
+
+            simulation.advanceUntilIdle()
+            logs
+        }
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package org.opendc.simulator.engine
+
+import org.opendc.simulator.SimulationDispatcher
+import org.opendc.simulator.engine.engine.FlowEngine
+import org.opendc.simulator.engine.graph.FlowConsumer
+import org.opendc.simulator.engine.graph.FlowEdge
+import org.opendc.simulator.engine.graph.FlowNode
+import org.opendc.simulator.engine.graph.FlowSupplier
+import org.opendc.simulator.engine.graph.distributionPolicies.FlowDistributorFactory
+import org.opendc.simulator.engine.graph.distributionPolicies.FlowDistributorFactory.DistributionPolicy
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.Fork
+import org.openjdk.jmh.annotations.Measurement
+import org.openjdk.jmh.annotations.OperationsPerInvocation
+import org.openjdk.jmh.annotations.Param
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.annotations.Warmup
+import java.util.SplittableRandom
+import java.util.concurrent.TimeUnit
+
+/**
+ * Benchmark suite for the [FlowDistributorFactory] policies, measuring the cost of propagating demand changes through
+ * a single distributor at varying fan-out.
+ *
+ * The supplier can provide half of the total demand of the consumers, such that the distributor has to share the
+ * supply between the consumers.
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 2, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+class FlowDistributorBenchmark {
+    @Param("EQUAL_SHARE", "FIRST_FIT", "FIXED_SHARE", "MAX_MIN_FAIRNESS", "INCREMENTAL_MAX_MIN_FAIRNESS")
+    lateinit var policy: DistributionPolicy
+
+    @Param("16", "256", "4096")
+    var fanOut: Int = 0
+
+    private lateinit var dispatcher: SimulationDispatcher
+    private lateinit var consumers: Array<BenchmarkConsumer>
+    private val random = SplittableRandom(0)
+
+    @Setup
+    fun setUp() {
+        DistributionPolicy.FIXED_SHARE.setProperty("shareRatio", 1.0 / fanOut)
+
+        dispatcher = SimulationDispatcher()
+        val engine = FlowEngine.create(dispatcher)
+        val supplier = BenchmarkSupplier(engine, fanOut * 50.0)
+        val distributor = FlowDistributorFactory.getFlowDistributor(engine, policy, fanOut, 1)
+        FlowEdge(distributor, supplier)
+
+        consumers = Array(fanOut) { BenchmarkConsumer(engine).also { FlowEdge(it, distributor) } }
+        for (consumer in consumers) {
+            consumer.pushDemand(random.nextDouble(0.0, 100.0))
+        }
+        dispatcher.advanceUntilIdle()
+    }
+
+    /**
+     * Change the demand of a single consumer and propagate the new supplies.
+     */
+    @Benchmark
+    fun updateSingleDemand(): Double {
+        val consumer = consumers[random.nextInt(consumers.size)]
+        consumer.pushDemand(random.nextDouble(0.0, 100.0))
+        dispatcher.advanceUntilIdle()
+        return consumer.supply
+    }
+
+    /**
+     * Change the demand of sixteen consumers within the same engine cycle.
+     */
+    @Benchmark
+    @OperationsPerInvocation(16)
+    fun updateBatchedDemand(): Double {
+        val consumers = consumers
+        for (i in 0 until 16) {
+            consumers[random.nextInt(consumers.size)].pushDemand(random.nextDouble(0.0, 100.0))
+        }
+        dispatcher.advanceUntilIdle()
+        return consumers[0].supply
+    }
+
+    /**
+     * A supplier with a fixed capacity.
+     */
+    private class BenchmarkSupplier(engine: FlowEngine, private val capacity: Double) : FlowNode(engine), FlowSupplier {
+        private var edge: FlowEdge? = null
+
+        override fun handleIncomingDemand(
+            consumerEdge: FlowEdge,
+            newDemand: Double,
+        ) {
+            consumerEdge.pushSupply(minOf(newDemand, capacity))
+        }
+
+        override fun pushOutgoingSupply(
+            consumerEdge: FlowEdge,
+            newSupply: Double,
+        ) {
+            consumerEdge.pushSupply(newSupply)
+        }
+
+        override fun addConsumerEdge(consumerEdge: FlowEdge) {
+            edge = consumerEdge
+        }
+
+        override fun removeConsumerEdge(consumerEdge: FlowEdge) {
+            edge = null
+        }
+
+        override fun getCapacity(): Double = capacity
+
+        override fun getConnectedEdges(): Map<FlowEdge.NodeType, List<FlowEdge>> = mapOf(FlowEdge.NodeType.CONSUMING to listOfNotNull(edge))
+
+        override fun onUpdate(now: Long): Long = Long.MAX_VALUE
+    }
+
+    /**
+     * A consumer whose demand is set by the benchmark.
+     */
+    private class BenchmarkConsumer(engine: FlowEngine) : FlowNode(engine), FlowConsumer {
+        private var edge: FlowEdge? = null
+        var supply = 0.0
+
+        fun pushDemand(demand: Double) {
+            pushOutgoingDemand(edge!!, demand)
+        }
+
+        override fun handleIncomingSupply(
+            supplierEdge: FlowEdge,
+            newSupply: Double,
+        ) {
+            supply = newSupply
+        }
+
+        override fun pushOutgoingDemand(
+            supplierEdge: FlowEdge,
+            newDemand: Double,
+        ) {
+            supplierEdge.pushDemand(newDemand)
+        }
+
+        override fun addSupplierEdge(supplierEdge: FlowEdge) {
+            edge = supplierEdge
+        }
+
+        override fun removeSupplierEdge(supplierEdge: FlowEdge) {
+            edge = null
+        }
+
+        override fun getConnectedEdges(): Map<FlowEdge.NodeType, List<FlowEdge>> = mapOf(FlowEdge.NodeType.SUPPLYING to listOfNotNull(edge))
+
+        override fun onUpdate(now: Long): Long = Long.MAX_VALUE
+    }
+}
@@ -23,103 +23,211 @@
 package org.opendc.simulator.engine.engine;
 
 import java.util.ArrayDeque;
-import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
 import org.opendc.simulator.engine.graph.FlowNode;
 
 /**
  * A specialized {@link ArrayDeque} implementation that contains the {@link FlowNode}s
  * that should be updated in the current cycle, because of a change caused by another update in the current cycle.
  * <p>
- * By using a specialized class, we reduce the overhead caused by type-erasure.
+ * The queue is a ring buffer whose capacity is always a power of two, so that wrapping the head and tail can be done
+ * with a mask. A {@link FlowNode} is only added once: the in-queue flag of the node is used to ignore duplicate adds
+ * until the node is polled again.
+ * <p>
+ * By using a specialized class, we reduce the overhead caused by type-erasure and avoid the node allocations of a
+ * linked list.
  */
 public final class FlowCycleQueue {
+    /**
+     * The maximum capacity of the queue.
+     */
+    private static final int MAX_CAPACITY = 1 << 30;
 
     /**
      * The array of elements in the queue.
      */
     private FlowNode[] nodeQueue;
 
+    /**
+     * The index of the first element in the queue.
+     */
     private int head = 0;
-    private int tail = 0;
 
+    /**
+     * The number of elements in the queue.
+     */
+    private int size = 0;
+
+    /**
+     * The number of times a node was added to the queue per node type, or <code>null</code> if statistics are
+     * disabled. The counters are keyed on the class of the node to avoid string hashing on the hot path.
+     */
+    private final IdentityHashMap<Class<?>, long[]> nodeTypeCounter;
+
+    /**
+     * Construct a {@link FlowCycleQueue} without node type statistics.
+     *
+     * @param initialCapacity The initial capacity of the queue.
+     */
     public FlowCycleQueue(int initialCapacity) {
-        nodeQueue = new FlowNode[initialCapacity];
+        this(initialCapacity, false);
     }
 
-    public final HashMap<String, Integer> nodeTypeCounter = new HashMap<>();
     /**
-     * Add the specified context to the queue.
+     * Construct a {@link FlowCycleQueue}.
+     *
+     * @param initialCapacity The initial capacity of the queue.
+     * @param collectStatistics A flag to indicate that the number of additions per node type should be counted.
      */
-    void add(FlowNode ctx) {
+    public FlowCycleQueue(int initialCapacity, boolean collectStatistics) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Initial capacity must be non-negative");
+        }
 
-        String nodeType = ctx.getClass().getSimpleName();
-        nodeTypeCounter.putIfAbsent(nodeType, 0);
-        nodeTypeCounter.put(nodeType, nodeTypeCounter.get(nodeType) + 1);
+        this.nodeQueue = new FlowNode[capacityFor(initialCapacity)];
+        this.nodeTypeCounter = collectStatistics ? new IdentityHashMap<>() : null;
+    }
+
+    /**
+     * Add the specified node to the queue, unless it is already queued.
+     *
+     * @param ctx The node to add.
+     */
+    public void add(FlowNode ctx) {
+        final IdentityHashMap<Class<?>, long[]> counter = this.nodeTypeCounter;
+        if (counter != null) {
+            countNode(counter, ctx);
+        }
 
         if (ctx.getInCycleQueue()) {
             return;
         }
 
-        final FlowNode[] es = nodeQueue;
-        int tail = this.tail;
+        FlowNode[] es = this.nodeQueue;
+        if (this.size == es.length) {
+            es = doubleCapacity();
+        }
 
-        es[tail] = ctx;
+        es[(this.head + this.size) & (es.length - 1)] = ctx;
+        this.size++;
 
-        tail = inc(tail, es.length);
-        this.tail = tail;
+        ctx.setInCycleQueue(true);
+    }
 
-        if (head == tail) {
-            doubleCapacity();
+    /**
+     * Remove a {@link FlowNode} from the queue or <code>null</code> if the queue is empty.
+     */
+    public FlowNode poll() {
+        if (this.size == 0) {
+            return null;
         }
 
-        ctx.setInCycleQueue(true);
+        final FlowNode[] es = this.nodeQueue;
+        final int head = this.head;
+        final FlowNode ctx = es[head];
+
+        es[head] = null;
+        this.head = (head + 1) & (es.length - 1);
+        this.size--;
+
+        ctx.setInCycleQueue(false);
+        return ctx;
     }
 
     /**
-     * Remove a {@link FlowNode} from the queue or <code>null</code> if the queue is empty.
+     * Return the number of nodes in the queue.
      */
-    FlowNode poll() {
-        final FlowNode[] es = nodeQueue;
-        int head = this.head;
-        FlowNode ctx = es[head];
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * Determine whether the queue is empty.
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
 
-        if (ctx != null) {
-            es[head] = null;
-            this.head = inc(head, es.length);
-            ctx.setInCycleQueue(false);
+    /**
+     * Remove all nodes from the queue.
+     */
+    public void clear() {
+        while (poll() != null) {
+            // Polling resets the in-queue flag of the node
         }
+        this.head = 0;
+    }
 
-        return ctx;
+    /**
+     * Determine whether this queue collects node type statistics.
+     */
+    public boolean isCollectingStatistics() {
+        return this.nodeTypeCounter != null;
     }
 
     /**
-     * Doubles the capacity of this deque
+     * Return the number of times a node was added to the queue per node type (simple class name). Returns an empty
+     * map when statistics are disabled.
      */
-    private void doubleCapacity() {
-        int oldCapacity = nodeQueue.length;
-        int newCapacity = oldCapacity + (oldCapacity >> 1);
-        if (newCapacity < 0) {
-            throw new IllegalStateException("Sorry, deque too big");
+    public Map<String, Long> getNodeTypeCounts() {
+        final IdentityHashMap<Class<?>, long[]> counter = this.nodeTypeCounter;
+        if (counter == null) {
+            return Collections.emptyMap();
         }
 
-        final FlowNode[] es = nodeQueue = Arrays.copyOf(nodeQueue, newCapacity);
+        Map<String, Long> result = new HashMap<>();
+        for (Map.Entry<Class<?>, long[]> entry : counter.entrySet()) {
+            result.merge(entry.getKey().getSimpleName(), entry.getValue()[0], Long::sum);
+        }
+        return result;
+    }
+
+    /**
+     * Increment the counter of the node type of the specified node.
+     */
+    private static void countNode(IdentityHashMap<Class<?>, long[]> counter, FlowNode ctx) {
+        final Class<?> nodeType = ctx.getClass();
+        long[] count = counter.get(nodeType);
+        if (count == null) {
+            count = new long[1];
+            counter.put(nodeType, count);
+        }
+        count[0]++;
+    }
 
-        // Exceptionally, here tail == head needs to be disambiguated
-        if (tail < head || (tail == head && es[head] != null)) {
-            // wrap around; slide first leg forward to end of array
-            int newSpace = newCapacity - oldCapacity;
-            System.arraycopy(es, head, es, head + newSpace, oldCapacity - head);
-            for (int i = head, to = (head += newSpace); i < to; i++) es[i] = null;
+    /**
+     * Doubles the capacity of this queue and moves the elements to the start of the new array.
+     */
+    private FlowNode[] doubleCapacity() {
+        final FlowNode[] old = this.nodeQueue;
+        final int oldCapacity = old.length;
+        if (oldCapacity >= MAX_CAPACITY) {
+            throw new IllegalStateException("Sorry, deque too big");
         }
+
+        final FlowNode[] es = new FlowNode[oldCapacity << 1];
+        final int head = this.head;
+        final int firstLeg = oldCapacity - head;
+
+        // Unwrap the ring buffer so that the head is at index 0 again
+        System.arraycopy(old, head, es, 0, firstLeg);
+        System.arraycopy(old, 0, es, firstLeg, head);
+
+        this.nodeQueue = es;
+        this.head = 0;
+        return es;
     }
 
     /**
-     * Circularly increments i, mod modulus.
-     * Precondition and postcondition: 0 <= i < modulus.
+     * Return the smallest power of two that is at least the specified capacity (and at least two).
      */
-    private static int inc(int i, int modulus) {
-        if (++i >= modulus) i = 0;
-        return i;
+    private static int capacityFor(int capacity) {
+        if (capacity >= MAX_CAPACITY) {
+            return MAX_CAPACITY;
+        }
+        return Math.max(2, Integer.highestOneBit(Math.max(1, capacity - 1)) << 1);
     }
 }
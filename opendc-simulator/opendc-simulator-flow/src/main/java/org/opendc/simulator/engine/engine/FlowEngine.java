@@ -24,9 +24,10 @@ package org.opendc.simulator.engine.engine;
 
 import java.time.Clock;
 import java.time.InstantSource;
-import java.util.LinkedList;
+import java.util.Map;
 import kotlin.coroutines.CoroutineContext;
 import org.opendc.common.Dispatcher;
+import org.opendc.common.util.EventQueueType;
 import org.opendc.simulator.engine.graph.FlowNode;
 
 /**
@@ -39,14 +40,12 @@ public final class FlowEngine implements Runnable {
     /**
      * The queue of {@link FlowNode} updates that need to be updated in the current cycle.
      */
-    //    private final FlowCycleQueue cycleQueue = new FlowCycleQueue(256);
-
-    private final LinkedList<FlowNode> cycleQueue = new LinkedList<>();
+    private final FlowCycleQueue cycleQueue;
 
     /**
      * A priority queue containing the {@link FlowNode} updates to be scheduled in the future.
      */
-    private final FlowEventQueue eventQueue = new FlowEventQueue(256);
+    private final FlowTimerQueue eventQueue;
 
     /**
      * The stack of engine invocations to occur in the future.
@@ -58,6 +57,11 @@ public final class FlowEngine implements Runnable {
      */
     private boolean active;
 
+    /**
+     * The tolerance with which the nodes in this engine compare flow rates.
+     */
+    private FlowTolerance tolerance = FlowTolerance.DEFAULT;
+
     private final Dispatcher dispatcher;
     private final InstantSource clock;
 
@@ -65,12 +69,36 @@ public final class FlowEngine implements Runnable {
      * Create a new {@link FlowEngine} instance using the specified {@link CoroutineContext} and {@link InstantSource}.
      */
     public static FlowEngine create(Dispatcher dispatcher) {
-        return new FlowEngine(dispatcher);
+        return new FlowEngine(dispatcher, false, EventQueueType.HEAP);
+    }
+
+    /**
+     * Create a new {@link FlowEngine} instance that optionally counts the cycle updates per node type.
+     *
+     * @param dispatcher The {@link Dispatcher} driving the simulation.
+     * @param collectStatistics A flag to indicate that the cycle updates per node type should be counted.
+     */
+    public static FlowEngine create(Dispatcher dispatcher, boolean collectStatistics) {
+        return new FlowEngine(dispatcher, collectStatistics, EventQueueType.HEAP);
+    }
+
+    /**
+     * Create a new {@link FlowEngine} instance that stores the timers of the nodes in the specified type of queue.
+     *
+     * @param dispatcher The {@link Dispatcher} driving the simulation.
+     * @param collectStatistics A flag to indicate that the cycle updates per node type should be counted.
+     * @param queueType The type of event queue to store the timers of the nodes in.
+     */
+    public static FlowEngine create(Dispatcher dispatcher, boolean collectStatistics, EventQueueType queueType) {
+        return new FlowEngine(dispatcher, collectStatistics, queueType);
     }
 
-    FlowEngine(Dispatcher dispatcher) {
+    FlowEngine(Dispatcher dispatcher, boolean collectStatistics, EventQueueType queueType) {
         this.dispatcher = dispatcher;
         this.clock = dispatcher.getTimeSource();
+        this.cycleQueue = new FlowCycleQueue(256, collectStatistics);
+        this.eventQueue =
+                queueType == EventQueueType.HEAP ? new FlowEventQueue(256) : new GenericFlowEventQueue(queueType);
     }
 
     /**
@@ -80,6 +108,28 @@ public final class FlowEngine implements Runnable {
         return clock;
     }
 
+    /**
+     * Return the tolerance with which the nodes in this engine compare flow rates.
+     */
+    public FlowTolerance getTolerance() {
+        return tolerance;
+    }
+
+    /**
+     * Set the tolerance with which the nodes in this engine compare flow rates.
+     */
+    public void setTolerance(FlowTolerance tolerance) {
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * Return the number of immediate (cycle) updates per node type, or an empty map if the engine was not created with
+     * statistics enabled.
+     */
+    public Map<String, Long> getCycleStatistics() {
+        return cycleQueue.getNodeTypeCounts();
+    }
+
     /**
      * Enqueue the specified {@link FlowNode} to be updated immediately during the active engine cycle.
      * <p>
@@ -134,7 +184,7 @@ public final class FlowEngine implements Runnable {
      * This method should only be invoked while inside an engine cycle.
      */
     public void scheduleDelayedInContext(FlowNode ctx) {
-        FlowEventQueue eventQueue = this.eventQueue;
+        FlowTimerQueue eventQueue = this.eventQueue;
         eventQueue.enqueue(ctx);
     }
 
@@ -146,7 +196,6 @@ public final class FlowEngine implements Runnable {
             // Mark the engine as active to prevent concurrent calls to this method
             active = true;
 
-            //            int EventCount = 0;
             // Execute all scheduled updates at current timestamp
             while (true) {
                 final FlowNode ctx = this.eventQueue.poll(now);
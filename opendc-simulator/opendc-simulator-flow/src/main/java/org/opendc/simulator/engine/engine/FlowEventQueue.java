@@ -35,7 +35,7 @@ import org.opendc.simulator.engine.graph.FlowNode;
  * By using a specialized priority queue, we reduce the overhead caused by the default priority queue implementation
  * being generic.
  */
-public final class FlowEventQueue {
+public final class FlowEventQueue implements FlowTimerQueue {
     /**
      * Array representation of binary heap of {@link FlowNode} instances.
      */
@@ -61,6 +61,7 @@ public final class FlowEventQueue {
      * When Long.MAX_VALUE is given as a deadline, the node is removed from the queue
      * @param node node to queue
      */
+    @Override
     public void enqueue(FlowNode node) {
         // The timerIndex indicates whether a node is already in the queue
         int timerIndex = node.getTimerIndex();
@@ -83,6 +84,7 @@ public final class FlowEventQueue {
      * @param now The timestamp that the deadline of the head of the queue should not exceed.
      * @return The head of the queue if its deadline does not exceed <code>now</code>, otherwise <code>null</code>.
      */
+    @Override
     public FlowNode poll(long now) {
         if (this.size == 0) {
             return null;
@@ -112,6 +114,7 @@ public final class FlowEventQueue {
     /**
      * Find the earliest deadline in the queue.
      */
+    @Override
     public long peekDeadline() {
         if (this.size > 0) {
             return this.queue[0].getDeadline();
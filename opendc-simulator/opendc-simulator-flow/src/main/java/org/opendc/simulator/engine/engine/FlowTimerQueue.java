@@ -0,0 +1,54 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.simulator.engine.engine;
+
+import org.opendc.simulator.engine.graph.FlowNode;
+
+/**
+ * A queue of timers for {@link FlowNode}s that should be updated at their deadline.
+ */
+public interface FlowTimerQueue {
+    /**
+     * Enqueue a timer for the specified node or update the existing timer.
+     * <p>
+     * When {@link Long#MAX_VALUE} is the deadline of the node, its timer is removed from the queue.
+     *
+     * @param node The node to queue.
+     */
+    void enqueue(FlowNode node);
+
+    /**
+     * Retrieve the head of the queue if its deadline does not exceed <code>now</code>.
+     *
+     * @param now The timestamp that the deadline of the head of the queue should not exceed.
+     * @return The head of the queue if its deadline does not exceed <code>now</code>, otherwise <code>null</code>.
+     */
+    FlowNode poll(long now);
+
+    /**
+     * Find the earliest deadline in the queue.
+     *
+     * @return The earliest deadline in the queue or {@link Long#MAX_VALUE} if the queue is empty.
+     */
+    long peekDeadline();
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.simulator.engine.engine;
+
+/**
+ * Primitive comparison of flow rates and power values.
+ * <p>
+ * Rates in the flow network are recomputed from sums and products of doubles, so values that are logically equal
+ * may differ in their last bits. A {@link FlowTolerance} considers two values equal when they differ by at most the
+ * absolute tolerance, or by at most the relative tolerance times the larger magnitude of the two.
+ */
+public final class FlowTolerance {
+    /**
+     * The default absolute tolerance, which corresponds to comparing values rounded to five decimals.
+     */
+    public static final double DEFAULT_ABSOLUTE_TOLERANCE = 5e-6;
+
+    /**
+     * The default relative tolerance.
+     */
+    public static final double DEFAULT_RELATIVE_TOLERANCE = 1e-9;
+
+    /**
+     * The tolerance used by a {@link FlowEngine} unless configured otherwise.
+     */
+    public static final FlowTolerance DEFAULT =
+            new FlowTolerance(DEFAULT_RELATIVE_TOLERANCE, DEFAULT_ABSOLUTE_TOLERANCE);
+
+    private final double relative;
+    private final double absolute;
+
+    private FlowTolerance(double relative, double absolute) {
+        this.relative = relative;
+        this.absolute = absolute;
+    }
+
+    /**
+     * Construct a {@link FlowTolerance} with the specified relative and absolute tolerance.
+     *
+     * @param relative The maximum difference relative to the larger magnitude of the compared values.
+     * @param absolute The maximum absolute difference between the compared values.
+     */
+    public static FlowTolerance of(double relative, double absolute) {
+        if (!(relative >= 0.0) || !(absolute >= 0.0)) {
+            throw new IllegalArgumentException("Tolerances must be non-negative");
+        }
+        return new FlowTolerance(relative, absolute);
+    }
+
+    public double getRelative() {
+        return relative;
+    }
+
+    public double getAbsolute() {
+        return absolute;
+    }
+
+    /**
+     * Determine whether <code>a</code> and <code>b</code> are equal within this tolerance.
+     */
+    public boolean isEqual(double a, double b) {
+        if (a == b) {
+            return true;
+        }
+
+        double diff = Math.abs(a - b);
+        return diff <= absolute || diff <= relative * Math.max(Math.abs(a), Math.abs(b));
+    }
+
+    /**
+     * Determine whether <code>a</code> is smaller than <code>b</code> by more than this tolerance.
+     */
+    public boolean isLess(double a, double b) {
+        return a < b && !isEqual(a, b);
+    }
+
+    /**
+     * Determine whether <code>a</code> is larger than <code>b</code> by more than this tolerance.
+     */
+    public boolean isGreater(double a, double b) {
+        return a > b && !isEqual(a, b);
+    }
+
+    /**
+     * Determine whether <code>value</code> is zero within the absolute tolerance.
+     */
+    public boolean isZero(double value) {
+        return Math.abs(value) <= absolute;
+    }
+
+    /**
+     * Determine whether <code>a</code> and <code>b</code> are at most <code>maxUlps</code> representable doubles
+     * apart. Values of different sign are only considered equal when both are zero.
+     */
+    public static boolean isEqualUlps(double a, double b, long maxUlps) {
+        if (a == b) {
+            return true;
+        }
+        if (Double.isNaN(a) || Double.isNaN(b)) {
+            return false;
+        }
+
+        long x = Double.doubleToRawLongBits(a);
+        long y = Double.doubleToRawLongBits(b);
+        if ((x ^ y) < 0) {
+            return false;
+        }
+        return Math.abs(x - y) <= maxUlps;
+    }
+
+    @Override
+    public String toString() {
+        return "FlowTolerance[relative=" + relative + ",absolute=" + absolute + "]";
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.simulator.engine.engine;
+
+import org.opendc.common.util.EventQueue;
+import org.opendc.common.util.EventQueueType;
+import org.opendc.simulator.engine.graph.FlowNode;
+
+/**
+ * A {@link FlowTimerQueue} backed by one of the generic {@link EventQueue} implementations.
+ * <p>
+ * The timer index of a queued node holds the identifier under which its timer was added, while the timer deadline of
+ * the node records the deadline at which it was added, such that the timer can be found again when the deadline of
+ * the node changes.
+ */
+public final class GenericFlowEventQueue implements FlowTimerQueue {
+    /**
+     * The underlying event queue.
+     */
+    private final EventQueue<FlowNode> queue;
+
+    /**
+     * The identifier to assign to the next timer.
+     */
+    private int nextId = 0;
+
+    /**
+     * Construct a {@link GenericFlowEventQueue} of the specified type.
+     *
+     * @param type The type of event queue to use, which must not be {@link EventQueueType#HEAP}.
+     */
+    public GenericFlowEventQueue(EventQueueType type) {
+        this.queue = type.create();
+    }
+
+    @Override
+    public void enqueue(FlowNode node) {
+        int id = node.getTimerIndex();
+        long deadline = node.getDeadline();
+
+        if (id >= 0) {
+            if (node.getTimerDeadline() == deadline) {
+                return;
+            }
+
+            queue.remove(node.getTimerDeadline(), id);
+            node.setTimerIndex(-1);
+        }
+
+        if (deadline != Long.MAX_VALUE) {
+            id = nextId;
+            nextId = (id + 1) & Integer.MAX_VALUE; // Identifiers must be non-negative
+
+            queue.add(deadline, id, node);
+            node.setTimerIndex(id);
+            node.setTimerDeadline(deadline);
+        }
+    }
+
+    @Override
+    public FlowNode poll(long now) {
+        if (now < queue.peekDeadline()) {
+            return null;
+        }
+
+        FlowNode head = queue.poll();
+        head.setTimerIndex(-1);
+        return head;
+    }
+
+    @Override
+    public long peekDeadline() {
+        return queue.peekDeadline();
+    }
+}
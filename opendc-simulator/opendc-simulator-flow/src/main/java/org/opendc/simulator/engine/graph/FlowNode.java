@@ -25,6 +25,7 @@ package org.opendc.simulator.engine.graph;
 import java.time.InstantSource;
 import java.util.List;
 import java.util.Map;
+import org.opendc.simulator.engine.engine.FlowCycleQueue;
 import org.opendc.simulator.engine.engine.FlowEngine;
 import org.opendc.simulator.engine.engine.FlowEventQueue;
 import org.slf4j.Logger;
@@ -62,11 +63,19 @@ public abstract class FlowNode {
         this.timerIndex = index;
     }
 
-    public Boolean getInCycleQueue() {
+    public long getTimerDeadline() {
+        return timerDeadline;
+    }
+
+    public void setTimerDeadline(long timerDeadline) {
+        this.timerDeadline = timerDeadline;
+    }
+
+    public boolean getInCycleQueue() {
         return inCycleQueue;
     }
 
-    public void setInCycleQueue(Boolean inCycleQueue) {
+    public void setInCycleQueue(boolean inCycleQueue) {
         this.inCycleQueue = inCycleQueue;
     }
 
@@ -107,7 +116,15 @@ public abstract class FlowNode {
      */
     private int timerIndex = -1;
 
-    private Boolean inCycleQueue = false;
+    /**
+     * The deadline with which the timer was added to a {@link org.opendc.simulator.engine.engine.GenericFlowEventQueue}.
+     */
+    private long timerDeadline = Long.MAX_VALUE;
+
+    /**
+     * A flag to indicate that the node is currently queued in the {@link FlowCycleQueue}.
+     */
+    private boolean inCycleQueue = false;
 
     protected InstantSource clock;
     protected FlowEngine engine;
@@ -0,0 +1,309 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.simulator.engine.graph.distributionPolicies;
+
+import java.util.Arrays;
+
+/**
+ * An ordered set of consumer demands used by {@link IncrementalMaxMinFairnessFlowDistributor} to compute the max-min
+ * water level without re-sorting all demands.
+ * <p>
+ * The set is a treap whose nodes are identified by the consumer index, so that all state can be kept in primitive
+ * arrays sized to the maximum number of consumers. Every node keeps the size and the demand sum of its subtree, which
+ * allows the water level to be found with a single walk from the root. Only positive demands are stored: consumers
+ * without demand do not take part in the distribution.
+ * <p>
+ * Insertion, removal and the water level query run in O(log n) expected time.
+ */
+final class DemandTree {
+    private static final int NIL = -1;
+
+    private final double[] demand;
+    private final int[] left;
+    private final int[] right;
+    private final int[] priority;
+    private final int[] count;
+    private final double[] sum;
+    private final boolean[] present;
+
+    private int root = NIL;
+
+    /**
+     * Construct a {@link DemandTree} for the specified number of consumers.
+     *
+     * @param capacity The maximum number of consumers.
+     */
+    DemandTree(int capacity) {
+        this.demand = new double[capacity];
+        this.left = new int[capacity];
+        this.right = new int[capacity];
+        this.priority = new int[capacity];
+        this.count = new int[capacity];
+        this.sum = new double[capacity];
+        this.present = new boolean[capacity];
+
+        Arrays.fill(this.left, NIL);
+        Arrays.fill(this.right, NIL);
+
+        // Use a fixed hash of the index as priority to keep the tree shape deterministic
+        for (int i = 0; i < capacity; i++) {
+            this.priority[i] = mix(i);
+        }
+    }
+
+    /**
+     * Return the number of consumers with a positive demand.
+     */
+    int size() {
+        return count(this.root);
+    }
+
+    /**
+     * Return the sum of all demands in the tree.
+     */
+    double total() {
+        return sum(this.root);
+    }
+
+    /**
+     * Set the demand of the specified consumer, removing it from the tree if the demand is not positive.
+     *
+     * @param consumer The index of the consumer.
+     * @param newDemand The new demand of the consumer.
+     */
+    void update(int consumer, double newDemand) {
+        if (this.present[consumer]) {
+            if (this.demand[consumer] == newDemand) {
+                return;
+            }
+            this.root = remove(this.root, consumer);
+            this.present[consumer] = false;
+        }
+
+        if (newDemand > 0.0) {
+            this.demand[consumer] = newDemand;
+            this.left[consumer] = NIL;
+            this.right[consumer] = NIL;
+            this.count[consumer] = 1;
+            this.sum[consumer] = newDemand;
+            this.root = insert(this.root, consumer);
+            this.present[consumer] = true;
+        } else {
+            this.demand[consumer] = 0.0;
+        }
+    }
+
+    /**
+     * Remove the specified consumer from the tree.
+     */
+    void remove(int consumer) {
+        update(consumer, 0.0);
+    }
+
+    /**
+     * Compute the max-min fair water level for the specified supply.
+     * <p>
+     * Every consumer receives <code>min(demand, level)</code>. In case the supply covers all demands,
+     * {@link Double#POSITIVE_INFINITY} is returned.
+     *
+     * @param supply The total supply to distribute.
+     * @return The water level.
+     */
+    double waterLevel(double supply) {
+        final int n = count(this.root);
+
+        int x = this.root;
+        int before = 0;
+        double prefix = 0.0;
+
+        int levelRank = -1;
+        double levelPrefix = 0.0;
+
+        // Find the first rank k for which granting every consumer from rank k onwards the demand at rank k would
+        // exceed the supply. All consumers before rank k are fully satisfied.
+        while (x != NIL) {
+            final int l = this.left[x];
+            final double leftSum = sum(l);
+            final int rank = before + count(l);
+
+            final double allocated = prefix + leftSum + this.demand[x] * (n - rank);
+            if (allocated > supply) {
+                levelRank = rank;
+                levelPrefix = prefix + leftSum;
+                x = l;
+            } else {
+                prefix += leftSum + this.demand[x];
+                before = rank + 1;
+                x = this.right[x];
+            }
+        }
+
+        if (levelRank < 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+
+        return Math.max(0.0, supply - levelPrefix) / (n - levelRank);
+    }
+
+    /**
+     * Collect the consumers whose demand exceeds the specified threshold.
+     *
+     * @param threshold The demand threshold.
+     * @param out The array to write the consumer indices into.
+     * @return The number of consumers written to <code>out</code>.
+     */
+    int collectAbove(double threshold, int[] out) {
+        return collectAbove(this.root, threshold, out, 0);
+    }
+
+    private int collectAbove(int x, double threshold, int[] out, int n) {
+        while (x != NIL) {
+            if (this.demand[x] > threshold) {
+                n = collectAbove(this.left[x], threshold, out, n);
+                out[n++] = x;
+            }
+            x = this.right[x];
+        }
+        return n;
+    }
+
+    private int insert(int x, int node) {
+        if (x == NIL) {
+            return node;
+        }
+
+        if (this.priority[node] > this.priority[x]) {
+            split(x, node);
+            this.left[node] = this.splitLeft;
+            this.right[node] = this.splitRight;
+            pull(node);
+            return node;
+        }
+
+        if (less(node, x)) {
+            this.left[x] = insert(this.left[x], node);
+        } else {
+            this.right[x] = insert(this.right[x], node);
+        }
+        pull(x);
+        return x;
+    }
+
+    private int remove(int x, int node) {
+        if (x == node) {
+            return merge(this.left[x], this.right[x]);
+        }
+
+        if (less(node, x)) {
+            this.left[x] = remove(this.left[x], node);
+        } else {
+            this.right[x] = remove(this.right[x], node);
+        }
+        pull(x);
+        return x;
+    }
+
+    /**
+     * The results of the last {@link #split(int, int)} call.
+     */
+    private int splitLeft;
+
+    private int splitRight;
+
+    /**
+     * Split the subtree rooted at <code>x</code> into the nodes ordered before and after <code>node</code>.
+     */
+    private void split(int x, int node) {
+        if (x == NIL) {
+            this.splitLeft = NIL;
+            this.splitRight = NIL;
+            return;
+        }
+
+        if (less(x, node)) {
+            split(this.right[x], node);
+            this.right[x] = this.splitLeft;
+            pull(x);
+            this.splitLeft = x;
+        } else {
+            split(this.left[x], node);
+            this.left[x] = this.splitRight;
+            pull(x);
+            this.splitRight = x;
+        }
+    }
+
+    private int merge(int a, int b) {
+        if (a == NIL) {
+            return b;
+        }
+        if (b == NIL) {
+            return a;
+        }
+
+        if (this.priority[a] > this.priority[b]) {
+            this.right[a] = merge(this.right[a], b);
+            pull(a);
+            return a;
+        }
+
+        this.left[b] = merge(a, this.left[b]);
+        pull(b);
+        return b;
+    }
+
+    /**
+     * Recompute the aggregates of a node from its children.
+     */
+    private void pull(int x) {
+        final int l = this.left[x];
+        final int r = this.right[x];
+        this.count[x] = 1 + count(l) + count(r);
+        this.sum[x] = sum(l) + this.demand[x] + sum(r);
+    }
+
+    /**
+     * Order nodes on demand, breaking ties on consumer index.
+     */
+    private boolean less(int a, int b) {
+        final double da = this.demand[a];
+        final double db = this.demand[b];
+        return da < db || (da == db && a < b);
+    }
+
+    private int count(int x) {
+        return x == NIL ? 0 : this.count[x];
+    }
+
+    private double sum(int x) {
+        return x == NIL ? 0.0 : this.sum[x];
+    }
+
+    private static int mix(int i) {
+        int h = i * 0x9E3779B9;
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        return h;
+    }
+}
@@ -35,7 +35,8 @@ public class FlowDistributorFactory {
         EQUAL_SHARE,
         FIRST_FIT,
         FIXED_SHARE,
-        MAX_MIN_FAIRNESS;
+        MAX_MIN_FAIRNESS,
+        INCREMENTAL_MAX_MIN_FAIRNESS;
 
         private final Map<String, Object> properties = new HashMap<>();
 
@@ -78,6 +79,8 @@ public class FlowDistributorFactory {
                         maxConsumers,
                         maxSuppliers);
             }
+            case INCREMENTAL_MAX_MIN_FAIRNESS -> new IncrementalMaxMinFairnessFlowDistributor(
+                    flowEngine, maxConsumers, maxSuppliers);
             default -> new MaxMinFairnessFlowDistributor(flowEngine, maxConsumers, maxSuppliers);
         };
     }
@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.simulator.engine.graph.distributionPolicies;
+
+import java.util.Arrays;
+import org.opendc.simulator.engine.engine.FlowEngine;
+import org.opendc.simulator.engine.graph.FlowDistributor;
+import org.opendc.simulator.engine.graph.FlowEdge;
+
+/**
+ * A flow distributor that implements the max-min fairness distribution policy incrementally.
+ * <p>
+ * This policy produces the same distribution as {@link MaxMinFairnessFlowDistributor}, but keeps the demands of the
+ * consumers ordered in a {@link DemandTree}. A demand change updates the tree in O(log n) and the water level is found
+ * with a single walk over the tree. When the supply is redistributed, only the consumers that are (or were) capped by
+ * the water level and the consumers that changed their demand are visited, instead of all consumers.
+ */
+public class IncrementalMaxMinFairnessFlowDistributor extends FlowDistributor {
+
+    /**
+     * The demands of the consumers, ordered on value.
+     */
+    private final DemandTree demands;
+
+    /**
+     * The water level of the last distribution, or {@link Double#POSITIVE_INFINITY} if not overloaded.
+     */
+    private double waterLevel = Double.POSITIVE_INFINITY;
+
+    /**
+     * The consumers that changed their demand since the last distribution.
+     */
+    private int[] changedConsumers;
+
+    private int numChangedConsumers = 0;
+
+    /**
+     * Scratch buffer for the consumers that are capped by the water level.
+     */
+    private final int[] cappedConsumers;
+
+    public IncrementalMaxMinFairnessFlowDistributor(FlowEngine engine, int maxConsumers, int maxSuppliers) {
+        super(engine, maxConsumers, maxSuppliers);
+
+        this.demands = new DemandTree(maxConsumers);
+        this.changedConsumers = new int[Math.max(1, maxConsumers)];
+        this.cappedConsumers = new int[maxConsumers];
+    }
+
+    @Override
+    public void handleIncomingDemand(FlowEdge consumerEdge, double newDemand) {
+        int consumerIndex = consumerEdge.getConsumerIndex();
+
+        if (consumerIndex != -1) {
+            if (!this.updatedDemands[consumerIndex]) {
+                markChanged(consumerIndex);
+            }
+            this.demands.update(consumerIndex, newDemand);
+        }
+
+        super.handleIncomingDemand(consumerEdge, newDemand);
+    }
+
+    @Override
+    public void removeConsumerEdge(FlowEdge consumerEdge) {
+        int consumerIndex = consumerEdge.getConsumerIndex();
+
+        if (consumerIndex != -1) {
+            this.demands.remove(consumerIndex);
+        }
+
+        super.removeConsumerEdge(consumerEdge);
+    }
+
+    @Override
+    protected void updateOutgoingDemand() {
+        if (this.totalIncomingDemand == this.previousTotalDemand) {
+            this.outgoingDemandUpdateNeeded = false;
+            this.updateOutgoingSupplies();
+            return;
+        }
+
+        this.previousTotalDemand = this.totalIncomingDemand;
+
+        double demandPerSupplier = this.totalIncomingDemand / this.numSuppliers;
+
+        for (int supplierIndex : this.usedSupplierIndices) {
+            this.pushOutgoingDemand(this.supplierEdges[supplierIndex], demandPerSupplier);
+        }
+
+        this.outgoingDemandUpdateNeeded = false;
+    }
+
+    @Override
+    protected void updateOutgoingSupplies() {
+        final double previousLevel = this.waterLevel;
+
+        // If the demand is higher than the current supply, the system is overloaded.
+        // The available supply is capped at the water level.
+        if (this.totalIncomingDemand > this.totalIncomingSupply) {
+            this.overloaded = true;
+            this.waterLevel = this.demands.waterLevel(this.totalIncomingSupply);
+        } else {
+            this.overloaded = false;
+            this.waterLevel = Double.POSITIVE_INFINITY;
+        }
+
+        final double level = this.waterLevel;
+
+        // Consumers with a demand below both the previous and the current water level keep receiving their demand
+        final double threshold = Math.min(previousLevel, level);
+        if (threshold != Double.POSITIVE_INFINITY) {
+            final int[] capped = this.cappedConsumers;
+            final int numCapped = this.demands.collectAbove(threshold, capped);
+            for (int i = 0; i < numCapped; i++) {
+                pushSupply(capped[i], level);
+            }
+        }
+
+        final int[] changed = this.changedConsumers;
+        for (int i = 0; i < this.numChangedConsumers; i++) {
+            final int consumerIndex = changed[i];
+            this.updatedDemands[consumerIndex] = false;
+            pushSupply(consumerIndex, level);
+        }
+
+        this.numChangedConsumers = 0;
+        this.numUpdatedDemands = 0;
+    }
+
+    /**
+     * Push the supply at the specified water level to the specified consumer.
+     */
+    private void pushSupply(int consumerIndex, double level) {
+        final FlowEdge edge = this.consumerEdges[consumerIndex];
+        if (edge == null) {
+            return;
+        }
+
+        this.pushOutgoingSupply(
+                edge, Math.min(this.incomingDemands[consumerIndex], level), this.getConsumerResourceType());
+    }
+
+    /**
+     * Record that the demand of the specified consumer changed since the last distribution.
+     */
+    private void markChanged(int consumerIndex) {
+        if (this.numChangedConsumers == this.changedConsumers.length) {
+            this.changedConsumers = Arrays.copyOf(this.changedConsumers, this.changedConsumers.length << 1);
+        }
+        this.changedConsumers[this.numChangedConsumers++] = consumerIndex;
+    }
+
+    /**
+     * Compute the max-min fair distribution of the specified supply without using the incremental state.
+     * <p>
+     * The positive demands are sorted as primitives to find the water level.
+     */
+    @Override
+    public double[] distributeSupply(double[] demands, double[] currentSupply, double totalSupply) {
+        final int inputSize = demands.length;
+        final double[] supplies = new double[inputSize];
+
+        final double[] sorted = new double[inputSize];
+        int n = 0;
+        for (double d : demands) {
+            if (d > 0.0) {
+                sorted[n++] = d;
+            }
+        }
+        Arrays.sort(sorted, 0, n);
+
+        double level = Double.POSITIVE_INFINITY;
+        double availableCapacity = totalSupply;
+        for (int i = 0; i < n; i++) {
+            double availableShare = availableCapacity / (n - i);
+            if (sorted[i] > availableShare) {
+                level = availableShare;
+                break;
+            }
+            availableCapacity -= sorted[i];
+        }
+
+        for (int i = 0; i < inputSize; i++) {
+            supplies[i] = Math.max(0.0, Math.min(demands[i], level));
+        }
+
+        return supplies;
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertNull
+import org.junit.jupiter.api.Assertions.assertSame
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import org.opendc.simulator.SimulationDispatcher
+import org.opendc.simulator.engine.engine.FlowCycleQueue
+import org.opendc.simulator.engine.engine.FlowEngine
+import org.opendc.simulator.engine.graph.FlowEdge
+import org.opendc.simulator.engine.graph.FlowNode
+
+/**
+ * Test suite for the [FlowCycleQueue] class.
+ */
+class FlowCycleQueueTest {
+    private val dispatcher = SimulationDispatcher()
+    private val engine = FlowEngine.create(dispatcher)
+
+    @Test
+    fun testPollEmpty() {
+        val queue = FlowCycleQueue(2)
+        assertNull(queue.poll())
+        assertTrue(queue.isEmpty)
+    }
+
+    @Test
+    fun testFifoOrder() {
+        val queue = FlowCycleQueue(2)
+        val nodes = createNodes(3)
+
+        nodes.forEach { queue.add(it) }
+        assertEquals(3, queue.size())
+
+        for (node in nodes) {
+            assertSame(node, queue.poll())
+            assertFalse(node.inCycleQueue)
+        }
+        assertNull(queue.poll())
+    }
+
+    @Test
+    fun testDeduplicate() {
+        val queue = FlowCycleQueue(2)
+        val node = createNodes(1)[0]
+
+        queue.add(node)
+        queue.add(node)
+        assertTrue(node.inCycleQueue)
+        assertEquals(1, queue.size())
+
+        assertSame(node, queue.poll())
+        assertNull(queue.poll())
+
+        // The node can be queued again after it has been polled
+        queue.add(node)
+        assertSame(node, queue.poll())
+    }
+
+    @Test
+    fun testGrowWrapped() {
+        val queue = FlowCycleQueue(4)
+        val nodes = createNodes(10)
+
+        // Move the head forward so that the buffer wraps before it grows
+        queue.add(nodes[0])
+        queue.add(nodes[1])
+        assertSame(nodes[0], queue.poll())
+        assertSame(nodes[1], queue.poll())
+
+        for (i in 2 until 10) {
+            queue.add(nodes[i])
+        }
+
+        for (i in 2 until 10) {
+            assertSame(nodes[i], queue.poll())
+        }
+        assertNull(queue.poll())
+    }
+
+    @Test
+    fun testStatistics() {
+        val queue = FlowCycleQueue(2, true)
+        val node = createNodes(1)[0]
+
+        queue.add(node)
+        queue.add(node)
+
+        assertTrue(queue.isCollectingStatistics)
+        assertEquals(mapOf("TestNode" to 2L), queue.nodeTypeCounts)
+    }
+
+    @Test
+    fun testStatisticsDisabled() {
+        val queue = FlowCycleQueue(2)
+        queue.add(createNodes(1)[0])
+
+        assertFalse(queue.isCollectingStatistics)
+        assertTrue(queue.nodeTypeCounts.isEmpty())
+    }
+
+    /**
+     * Create [count] idle nodes that are not queued in the engine anymore.
+     */
+    private fun createNodes(count: Int): List<FlowNode> {
+        val nodes = List(count) { TestNode(engine) }
+        dispatcher.advanceUntilIdle()
+        return nodes
+    }
+
+    private class TestNode(engine: FlowEngine) : FlowNode(engine) {
+        override fun getConnectedEdges(): Map<FlowEdge.NodeType, List<FlowEdge>> = emptyMap()
+
+        override fun onUpdate(now: Long): Long = Long.MAX_VALUE
+    }
+}
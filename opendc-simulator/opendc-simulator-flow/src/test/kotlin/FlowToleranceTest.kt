@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertThrows
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Test
+import org.opendc.simulator.engine.engine.FlowTolerance
+import java.math.BigDecimal
+import java.math.RoundingMode
+import java.util.Random
+
+/**
+ * Test suite for the [FlowTolerance] class.
+ */
+class FlowToleranceTest {
+    @Test
+    fun testExactlyEqual() {
+        val tolerance = FlowTolerance.of(0.0, 0.0)
+
+        assertTrue(tolerance.isEqual(0.0, -0.0))
+        assertTrue(tolerance.isEqual(42.5, 42.5))
+        assertFalse(tolerance.isEqual(42.5, Math.nextUp(42.5)))
+    }
+
+    @Test
+    fun testAbsoluteTolerance() {
+        val tolerance = FlowTolerance.DEFAULT
+
+        assertTrue(tolerance.isEqual(0.1 + 0.2, 0.3))
+        assertTrue(tolerance.isEqual(100.0, 100.000004))
+        assertFalse(tolerance.isEqual(100.0, 100.00001))
+        assertTrue(tolerance.isZero(-1e-7))
+        assertFalse(tolerance.isZero(1e-3))
+    }
+
+    @Test
+    fun testRelativeTolerance() {
+        val tolerance = FlowTolerance.of(1e-6, 0.0)
+
+        assertTrue(tolerance.isEqual(1e9, 1e9 + 999.0))
+        assertFalse(tolerance.isEqual(1e9, 1e9 + 1001.0))
+        assertTrue(tolerance.isLess(1.0, 2.0))
+        assertFalse(tolerance.isLess(1e9, 1e9 + 1.0))
+        assertTrue(tolerance.isGreater(2.0, 1.0))
+    }
+
+    @Test
+    fun testUlps() {
+        val value = 123.456
+
+        assertTrue(FlowTolerance.isEqualUlps(value, Math.nextUp(Math.nextUp(value)), 2))
+        assertFalse(FlowTolerance.isEqualUlps(value, Math.nextUp(Math.nextUp(value)), 1))
+        assertTrue(FlowTolerance.isEqualUlps(0.0, -0.0, 0))
+        assertFalse(FlowTolerance.isEqualUlps(Double.MIN_VALUE, -Double.MIN_VALUE, 4))
+        assertFalse(FlowTolerance.isEqualUlps(Double.NaN, Double.NaN, 4))
+    }
+
+    @Test
+    fun testInvalidTolerance() {
+        assertThrows(IllegalArgumentException::class.java) { FlowTolerance.of(-1.0, 0.0) }
+        assertThrows(IllegalArgumentException::class.java) { FlowTolerance.of(0.0, Double.NaN) }
+    }
+
+    /**
+     * Verify that the default tolerance agrees with the previous comparison of power values rounded to five
+     * decimals, except for values that lie within a rounding unit of each other (e.g., two values that differ only
+     * in their last bits but fall on either side of a rounding boundary).
+     */
+    @Test
+    fun testMatchesRoundedComparison() {
+        val tolerance = FlowTolerance.DEFAULT
+        val random = Random(0)
+
+        repeat(100_000) {
+            val a = random.nextDouble() * 1000.0
+            val b =
+                when (it % 3) {
+                    0 -> a
+                    1 -> a + (random.nextDouble() - 0.5) * 1e-9
+                    else -> random.nextDouble() * 1000.0
+                }
+
+            val rounded = round(a) == round(b)
+            if (rounded != tolerance.isEqual(a, b)) {
+                assertTrue(Math.abs(a - b) < 1e-5)
+            }
+        }
+    }
+
+    private fun round(value: Double): BigDecimal = BigDecimal(value).setScale(5, RoundingMode.HALF_UP)
+}
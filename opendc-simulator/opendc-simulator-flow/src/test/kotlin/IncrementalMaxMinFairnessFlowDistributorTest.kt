@@ -0,0 +1,197 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Test
+import org.opendc.simulator.SimulationDispatcher
+import org.opendc.simulator.engine.engine.FlowEngine
+import org.opendc.simulator.engine.graph.FlowConsumer
+import org.opendc.simulator.engine.graph.FlowDistributor
+import org.opendc.simulator.engine.graph.FlowEdge
+import org.opendc.simulator.engine.graph.FlowNode
+import org.opendc.simulator.engine.graph.FlowSupplier
+import org.opendc.simulator.engine.graph.distributionPolicies.IncrementalMaxMinFairnessFlowDistributor
+import org.opendc.simulator.engine.graph.distributionPolicies.MaxMinFairnessFlowDistributor
+import java.util.Random
+
+/**
+ * Test suite for the [IncrementalMaxMinFairnessFlowDistributor] class.
+ */
+class IncrementalMaxMinFairnessFlowDistributorTest {
+    @Test
+    fun testDistributeSupplyMatchesMaxMinFairness() {
+        val dispatcher = SimulationDispatcher()
+        val engine = FlowEngine.create(dispatcher)
+        val reference = MaxMinFairnessFlowDistributor(engine, 64, 1)
+        val incremental = IncrementalMaxMinFairnessFlowDistributor(engine, 64, 1)
+        val random = Random(0)
+
+        repeat(100) {
+            val demands = DoubleArray(64) { if (random.nextInt(4) == 0) 0.0 else random.nextDouble() * 100 }
+            val supply = random.nextDouble() * demands.sum()
+
+            val expected = reference.distributeSupply(demands, DoubleArray(64), supply)
+            val actual = incremental.distributeSupply(demands, DoubleArray(64), supply)
+
+            for (i in demands.indices) {
+                assertEquals(expected[i], actual[i], 1e-9)
+            }
+        }
+    }
+
+    @Test
+    fun testIncrementalUpdatesMatchMaxMinFairness() {
+        val dispatcher = SimulationDispatcher()
+        val engine = FlowEngine.create(dispatcher)
+
+        val reference = Graph(engine, MaxMinFairnessFlowDistributor(engine, 32, 1), 32)
+        val incremental = Graph(engine, IncrementalMaxMinFairnessFlowDistributor(engine, 32, 1), 32)
+        val random = Random(1)
+
+        repeat(500) {
+            val consumer = random.nextInt(32)
+            val demand = if (random.nextInt(5) == 0) 0.0 else random.nextDouble() * 400
+
+            reference.consumers[consumer].pushDemand(demand)
+            incremental.consumers[consumer].pushDemand(demand)
+            dispatcher.advanceUntilIdle()
+
+            for (i in 0 until 32) {
+                assertEquals(reference.consumers[i].supply, incremental.consumers[i].supply, 1e-6)
+            }
+        }
+    }
+
+    @Test
+    fun testRemoveConsumerMatchesMaxMinFairness() {
+        val dispatcher = SimulationDispatcher()
+        val engine = FlowEngine.create(dispatcher)
+
+        val reference = Graph(engine, MaxMinFairnessFlowDistributor(engine, 3, 1), 3)
+        val incremental = Graph(engine, IncrementalMaxMinFairnessFlowDistributor(engine, 3, 1), 3)
+
+        for (graph in listOf(reference, incremental)) {
+            graph.consumers[0].pushDemand(1000.0)
+            graph.consumers[1].pushDemand(1000.0)
+            graph.consumers[2].pushDemand(200.0)
+        }
+        dispatcher.advanceUntilIdle()
+
+        assertEquals(400.0, incremental.consumers[0].supply, 1e-9)
+        assertEquals(400.0, incremental.consumers[1].supply, 1e-9)
+        assertEquals(200.0, incremental.consumers[2].supply, 1e-9)
+
+        reference.consumers[1].close()
+        incremental.consumers[1].close()
+        reference.consumers[2].pushDemand(100.0)
+        incremental.consumers[2].pushDemand(100.0)
+        dispatcher.advanceUntilIdle()
+
+        assertEquals(reference.consumers[0].supply, incremental.consumers[0].supply, 1e-9)
+        assertEquals(reference.consumers[2].supply, incremental.consumers[2].supply, 1e-9)
+    }
+
+    /**
+     * A distributor fed by a single supplier of 1000 units with [count] consumers.
+     */
+    private class Graph(engine: FlowEngine, distributor: FlowDistributor, count: Int) {
+        val supplier = TestSupplier(engine, 1000.0)
+        val consumers: List<TestConsumer>
+
+        init {
+            FlowEdge(distributor, supplier)
+            consumers = List(count) { TestConsumer(engine).also { c -> FlowEdge(c, distributor) } }
+        }
+    }
+
+    private class TestSupplier(engine: FlowEngine, private val capacity: Double) : FlowNode(engine), FlowSupplier {
+        private var edge: FlowEdge? = null
+
+        override fun handleIncomingDemand(
+            consumerEdge: FlowEdge,
+            newDemand: Double,
+        ) {
+            consumerEdge.pushSupply(minOf(newDemand, capacity))
+        }
+
+        override fun pushOutgoingSupply(
+            consumerEdge: FlowEdge,
+            newSupply: Double,
+        ) {
+            consumerEdge.pushSupply(newSupply)
+        }
+
+        override fun addConsumerEdge(consumerEdge: FlowEdge) {
+            edge = consumerEdge
+        }
+
+        override fun removeConsumerEdge(consumerEdge: FlowEdge) {
+            edge = null
+        }
+
+        override fun getCapacity(): Double = capacity
+
+        override fun getConnectedEdges(): Map<FlowEdge.NodeType, List<FlowEdge>> = mapOf(FlowEdge.NodeType.CONSUMING to listOfNotNull(edge))
+
+        override fun onUpdate(now: Long): Long = Long.MAX_VALUE
+    }
+
+    private class TestConsumer(engine: FlowEngine) : FlowNode(engine), FlowConsumer {
+        private var edge: FlowEdge? = null
+        var supply = 0.0
+
+        fun pushDemand(demand: Double) {
+            pushOutgoingDemand(edge!!, demand)
+        }
+
+        fun close() {
+            edge?.close()
+        }
+
+        override fun handleIncomingSupply(
+            supplierEdge: FlowEdge,
+            newSupply: Double,
+        ) {
+            supply = newSupply
+        }
+
+        override fun pushOutgoingDemand(
+            supplierEdge: FlowEdge,
+            newDemand: Double,
+        ) {
+            supplierEdge.pushDemand(newDemand)
+        }
+
+        override fun addSupplierEdge(supplierEdge: FlowEdge) {
+            edge = supplierEdge
+        }
+
+        override fun removeSupplierEdge(supplierEdge: FlowEdge) {
+            edge = null
+        }
+
+        override fun getConnectedEdges(): Map<FlowEdge.NodeType, List<FlowEdge>> = mapOf(FlowEdge.NodeType.SUPPLYING to listOfNotNull(edge))
+
+        override fun onUpdate(now: Long): Long = Long.MAX_VALUE
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.trace
+
+/**
+ * A [TableReader] that additionally supports reading entities in batches of rows, which are exposed as primitive
+ * column vectors.
+ *
+ * The vectors returned by this interface are owned by the reader and are reused between batches, so their contents
+ * are only valid until the next call to [nextBatch] or [nextRow] that loads a new batch. Only the first
+ * [nextBatch] rows of a vector are valid; the vectors may be larger than the batch. `null` values are represented
+ * by the default value of the column, as reported by [TableReader].
+ *
+ * The row-oriented methods of [TableReader] iterate over the rows of the current batch and load a new batch once
+ * the current batch is exhausted. Hence, after a call to [nextBatch], [nextRow] positions the reader at the first
+ * row of that batch.
+ */
+public interface BatchTableReader : TableReader {
+    /**
+     * Load the next batch of at most [maxRows] rows.
+     *
+     * @param maxRows The maximum number of rows to read.
+     * @throws IllegalArgumentException if [maxRows] is not positive.
+     * @return The number of rows in the batch or zero if there are no more rows.
+     */
+    public fun nextBatch(maxRows: Int): Int
+
+    /**
+     * Obtain the values of the boolean column with the specified [index] for the current batch.
+     *
+     * @param index The zero-based index of the column to obtain the values for.
+     * @throws IllegalArgumentException if the column index is not valid for this reader or this type.
+     */
+    public fun getBooleans(index: Int): BooleanArray
+
+    /**
+     * Obtain the values of the integer column with the specified [index] for the current batch.
+     *
+     * For [TableColumnType.List] and [TableColumnType.Set] columns of integers, this method returns the elements of
+     * all rows in the batch, which are delimited by [getOffsets].
+     *
+     * @param index The zero-based index of the column to obtain the values for.
+     * @throws IllegalArgumentException if the column index is not valid for this reader or this type.
+     */
+    public fun getInts(index: Int): IntArray
+
+    /**
+     * Obtain the values of the long column with the specified [index] for the current batch.
+     *
+     * [TableColumnType.Instant] columns are represented as milliseconds since the epoch and
+     * [TableColumnType.Duration] columns as milliseconds.
+     *
+     * @param index The zero-based index of the column to obtain the values for.
+     * @throws IllegalArgumentException if the column index is not valid for this reader or this type.
+     */
+    public fun getLongs(index: Int): LongArray
+
+    /**
+     * Obtain the values of the double column with the specified [index] for the current batch.
+     *
+     * @param index The zero-based index of the column to obtain the values for.
+     * @throws IllegalArgumentException if the column index is not valid for this reader or this type.
+     */
+    public fun getDoubles(index: Int): DoubleArray
+
+    /**
+     * Obtain the values of the string column with the specified [index] for the current batch.
+     *
+     * @param index The zero-based index of the column to obtain the values for.
+     * @throws IllegalArgumentException if the column index is not valid for this reader or this type.
+     */
+    public fun getStrings(index: Int): Array<String?>
+
+    /**
+     * Obtain the offsets of the collection column with the specified [index] for the current batch.
+     *
+     * The elements of row `i` are stored at the indices `offsets[i] until offsets[i + 1]` of the element vector of the
+     * column (e.g., [getInts]). Collections that are `null` are represented as empty collections.
+     *
+     * @param index The zero-based index of the column to obtain the offsets for.
+     * @throws IllegalArgumentException if the column index is not valid for this reader or this type.
+     */
+    public fun getOffsets(index: Int): IntArray
+
+    /**
+     * Obtain the values of the boolean column with the specified [name] for the current batch.
+     */
+    public fun getBooleans(name: String): BooleanArray = getBooleans(resolve(name))
+
+    /**
+     * Obtain the values of the integer column with the specified [name] for the current batch.
+     */
+    public fun getInts(name: String): IntArray = getInts(resolve(name))
+
+    /**
+     * Obtain the values of the long column with the specified [name] for the current batch.
+     */
+    public fun getLongs(name: String): LongArray = getLongs(resolve(name))
+
+    /**
+     * Obtain the values of the double column with the specified [name] for the current batch.
+     */
+    public fun getDoubles(name: String): DoubleArray = getDoubles(resolve(name))
+
+    /**
+     * Obtain the values of the string column with the specified [name] for the current batch.
+     */
+    public fun getStrings(name: String): Array<String?> = getStrings(resolve(name))
+
+    /**
+     * Obtain the offsets of the collection column with the specified [name] for the current batch.
+     */
+    public fun getOffsets(name: String): IntArray = getOffsets(resolve(name))
+
+    public companion object {
+        /**
+         * The number of rows loaded per batch when the reader is advanced using [nextRow].
+         */
+        public const val DEFAULT_BATCH_SIZE: Int = 4096
+    }
+}
@@ -40,8 +40,23 @@ public interface Table {
      * Open a [TableReader] for a projection of this table.
      *
      * @param projection The names of the columns to fetch from the table or `null` if no projection is performed.
+     * @param predicate The predicate that the returned rows must match or `null` to return all rows.
      */
-    public fun newReader(projection: List<String>? = null): TableReader
+    public fun newReader(
+        projection: List<String>? = null,
+        predicate: TablePredicate? = null,
+    ): TableReader
+
+    /**
+     * Open a [BatchTableReader] for a projection of this table.
+     *
+     * @param projection The names of the columns to fetch from the table or `null` if no projection is performed.
+     * @param predicate The predicate that the returned rows must match or `null` to return all rows.
+     */
+    public fun newBatchReader(
+        projection: List<String>? = null,
+        predicate: TablePredicate? = null,
+    ): BatchTableReader
 
     /**
      * Open a [TableWriter] for this table.
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.trace
+
+import java.time.Instant
+
+/**
+ * A predicate on the rows of a [Table], which restricts the rows returned by the readers of the table.
+ *
+ * Trace formats may push a predicate down into their storage layer, for instance to skip the parts of a file whose
+ * statistics show that none of its rows match. Regardless of whether a predicate is pushed down, readers only return
+ * the rows that match it.
+ */
+public sealed interface TablePredicate {
+    /**
+     * The names of the columns referenced by this predicate.
+     */
+    public val columns: Set<String>
+
+    /**
+     * A predicate matching the rows whose value of the [TableColumnType.Instant] [column] lies in the half-open
+     * interval from [from] (inclusive) until [until] (exclusive). A `null` bound leaves that side of the interval open.
+     */
+    public data class TimeRange(
+        public val column: String,
+        public val from: Instant?,
+        public val until: Instant?,
+    ) : TablePredicate {
+        init {
+            require(from == null || until == null || from <= until) { "Start of time range lies after its end" }
+        }
+
+        override val columns: Set<String>
+            get() = setOf(column)
+    }
+
+    /**
+     * A predicate matching the rows whose value of the [TableColumnType.Int] [column] is one of [values].
+     */
+    public data class In(
+        public val column: String,
+        public val values: Set<Int>,
+    ) : TablePredicate {
+        override val columns: Set<String>
+            get() = setOf(column)
+    }
+
+    /**
+     * A predicate matching the rows that match all of the specified [predicates].
+     */
+    public data class And(
+        public val predicates: List<TablePredicate>,
+    ) : TablePredicate {
+        override val columns: Set<String>
+            get() = predicates.flatMapTo(LinkedHashSet()) { it.columns }
+    }
+
+    /**
+     * Helper methods for constructing [TablePredicate]s.
+     */
+    public companion object {
+        /**
+         * Construct a predicate matching the rows whose [column] lies in the half-open interval [[from], [until]).
+         */
+        @JvmStatic
+        public fun between(
+            column: String,
+            from: Instant?,
+            until: Instant?,
+        ): TablePredicate = TimeRange(column, from, until)
+
+        /**
+         * Construct a predicate matching the rows whose [column] equals [value].
+         */
+        @JvmStatic
+        public fun eq(
+            column: String,
+            value: Int,
+        ): TablePredicate = In(column, setOf(value))
+
+        /**
+         * Construct a predicate matching the rows whose [column] equals one of [values].
+         */
+        @JvmStatic
+        public fun isIn(
+            column: String,
+            values: Collection<Int>,
+        ): TablePredicate = In(column, values.toSet())
+
+        /**
+         * Construct a predicate matching the rows that match all of the specified [predicates].
+         */
+        @JvmStatic
+        public fun and(vararg predicates: TablePredicate): TablePredicate = And(predicates.toList())
+    }
+}
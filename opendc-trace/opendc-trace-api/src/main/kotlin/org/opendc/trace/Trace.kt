@@ -76,6 +76,18 @@ public interface Trace {
             return TraceImpl(provider, path)
         }
 
+        /**
+         * Open a [Trace] at the specified [path] using the given [format] instance, e.g., to configure the format.
+         *
+         * @param path The [Path] to the trace.
+         * @param format The [TraceFormat] of the trace to open.
+         */
+        @JvmStatic
+        public fun open(
+            path: Path,
+            format: TraceFormat,
+        ): Trace = TraceImpl(format, path)
+
         /**
          * Create a [Trace] at the specified [path] in the given [format].
          *
@@ -22,8 +22,10 @@
 
 package org.opendc.trace.formats.carbon
 
+import org.apache.parquet.filter2.compat.FilterCompat
 import org.opendc.trace.TableColumn
 import org.opendc.trace.TableColumnType
+import org.opendc.trace.TablePredicate
 import org.opendc.trace.TableReader
 import org.opendc.trace.TableWriter
 import org.opendc.trace.conv.CARBON_INTENSITY
@@ -33,10 +35,13 @@ import org.opendc.trace.formats.carbon.parquet.CarbonReadSupport
 import org.opendc.trace.spi.TableDetails
 import org.opendc.trace.spi.TraceFormat
 import org.opendc.trace.util.parquet.LocalParquetReader
+import org.opendc.trace.util.toParquetFilter
 import java.nio.file.Path
 
 /**
  * A [TraceFormat] implementation for the Carbon Intensity trace.
+ *
+ * Predicates on the timestamp are pushed down into Parquet, such that row groups outside a time window are skipped.
  */
 public class CarbonTraceFormat : TraceFormat {
     override val name: String = "carbon_intensity"
@@ -67,10 +72,21 @@ public class CarbonTraceFormat : TraceFormat {
         path: Path,
         table: String,
         projection: List<String>?,
+    ): TableReader = newReader(path, table, projection, null)
+
+    override fun newReader(
+        path: Path,
+        table: String,
+        projection: List<String>?,
+        predicate: TablePredicate?,
     ): TableReader {
+        // Parquet can only evaluate the predicate on the rows if its columns are read
+        val columns = if (predicate != null) projection?.let { (it + predicate.columns).distinct() } else projection
+
         return when (table) {
             TABLE_CARBON -> {
-                val reader = LocalParquetReader(path, CarbonReadSupport(projection))
+                val filter = predicate?.toParquetFilter(::carbonField) ?: FilterCompat.NOOP
+                val reader = LocalParquetReader(path, CarbonReadSupport(columns), filter = filter)
                 CarbonTableReader(reader)
             }
             else -> throw IllegalArgumentException("Table $table not supported")
@@ -83,4 +99,14 @@ public class CarbonTraceFormat : TraceFormat {
     ): TableWriter {
         throw UnsupportedOperationException("Writing not supported for this format")
     }
+
+    /**
+     * Map the columns of the carbon table that can be filtered to their Parquet field.
+     */
+    private fun carbonField(column: String): String? {
+        return when (column) {
+            CARBON_TIMESTAMP -> "timestamp"
+            else -> null
+        }
+    }
 }
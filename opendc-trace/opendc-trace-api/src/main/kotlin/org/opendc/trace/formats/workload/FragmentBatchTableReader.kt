@@ -0,0 +1,405 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.trace.formats.workload
+
+import org.apache.parquet.filter2.compat.FilterCompat
+import org.apache.parquet.hadoop.metadata.FileMetaData
+import org.apache.parquet.schema.MessageType
+import org.opendc.trace.BatchTableReader
+import org.opendc.trace.TablePredicate
+import org.opendc.trace.conv.FRAGMENT_CPU_USAGE
+import org.opendc.trace.conv.FRAGMENT_DURATION
+import org.opendc.trace.conv.FRAGMENT_GPU_USAGE
+import org.opendc.trace.conv.TASK_ID
+import org.opendc.trace.formats.workload.parquet.FRAGMENT_SCHEMA
+import org.opendc.trace.util.compile
+import org.opendc.trace.util.parquet.LocalParquetRowGroupReader
+import org.opendc.trace.util.parquet.ParquetRowGroup
+import org.opendc.trace.util.parquet.ParquetRowGroupDecoder
+import org.opendc.trace.util.parquet.readDoubles
+import org.opendc.trace.util.parquet.readInts
+import org.opendc.trace.util.parquet.readLongs
+import java.nio.file.Path
+import java.time.Duration
+import java.time.Instant
+import java.util.UUID
+
+/**
+ * A [BatchTableReader] implementation for the fragments table of the OpenDC workload trace format, which decodes the
+ * Parquet columns directly into primitive vectors.
+ *
+ * @param path The path to the fragments file or directory.
+ * @param projection The name of the columns to read or `null` to read all columns.
+ * @param parallelism The number of threads to decode the row groups of the table on.
+ * @param predicate The predicate that the returned rows must match or `null` to return all rows.
+ * @param filter The Parquet filter derived from [predicate] to skip row groups that do not match.
+ */
+internal class FragmentBatchTableReader(
+    path: Path,
+    projection: List<String>?,
+    parallelism: Int = 1,
+    predicate: TablePredicate? = null,
+    filter: FilterCompat.Filter = FilterCompat.NOOP,
+) : BatchTableReader {
+    private val colID = 0
+    private val colDuration = 1
+    private val colCpuUsage = 2
+    private val colGpuUsage = 3
+
+    /**
+     * The underlying row group reader.
+     */
+    private val reader =
+        LocalParquetRowGroupReader(
+            path,
+            Decoder(projectSchema(projection, predicate), predicate),
+            parallelism,
+            filter = filter,
+        )
+
+    /**
+     * The row group that is currently being read.
+     */
+    private var chunk: Chunk? = null
+
+    /**
+     * The index of the next row to read from [chunk].
+     */
+    private var position = 0
+
+    private var ids = IntArray(0)
+    private var durations = LongArray(0)
+    private var cpuUsages = DoubleArray(0)
+    private var gpuUsages = DoubleArray(0)
+
+    /**
+     * The number of rows in the current batch.
+     */
+    private var size = 0
+
+    /**
+     * The index of the current row in the batch or -1 if the reader is not positioned at a row.
+     */
+    private var row = -1
+
+    override fun nextBatch(maxRows: Int): Int {
+        require(maxRows > 0) { "Batch size must be positive" }
+
+        try {
+            ensureCapacity(maxRows)
+
+            var n = 0
+            while (n < maxRows) {
+                val chunk = nextChunk() ?: break
+                val count = minOf(chunk.size - position, maxRows - n)
+                val end = position + count
+
+                chunk.ids.copyInto(ids, n, position, end)
+                chunk.durations.copyInto(durations, n, position, end)
+                chunk.cpuUsages.copyInto(cpuUsages, n, position, end)
+                chunk.gpuUsages.copyInto(gpuUsages, n, position, end)
+
+                n += count
+                position = end
+            }
+
+            size = n
+            row = -1
+            return n
+        } catch (e: Throwable) {
+            size = 0
+            row = -1
+            throw e
+        }
+    }
+
+    override fun nextRow(): Boolean {
+        if (row + 1 < size) {
+            row++
+            return true
+        }
+
+        if (nextBatch(BatchTableReader.DEFAULT_BATCH_SIZE) > 0) {
+            row = 0
+            return true
+        }
+
+        return false
+    }
+
+    override fun resolve(name: String): Int {
+        return when (name) {
+            TASK_ID -> colID
+            FRAGMENT_DURATION -> colDuration
+            FRAGMENT_CPU_USAGE -> colCpuUsage
+            FRAGMENT_GPU_USAGE -> colGpuUsage
+            else -> -1
+        }
+    }
+
+    override fun isNull(index: Int): Boolean {
+        require(index in 0..colGpuUsage) { "Invalid column index" }
+        return false
+    }
+
+    override fun getBoolean(index: Int): Boolean {
+        throw IllegalArgumentException("Invalid column or type [index $index]")
+    }
+
+    override fun getInt(index: Int): Int {
+        return when (index) {
+            colID -> ids[checkRow()]
+            else -> throw IllegalArgumentException("Invalid column or type [index $index]")
+        }
+    }
+
+    override fun getLong(index: Int): Long {
+        throw IllegalArgumentException("Invalid column or type [index $index]")
+    }
+
+    override fun getFloat(index: Int): Float {
+        throw IllegalArgumentException("Invalid column or type [index $index]")
+    }
+
+    override fun getDouble(index: Int): Double {
+        return when (index) {
+            colCpuUsage -> cpuUsages[checkRow()]
+            colGpuUsage -> gpuUsages[checkRow()]
+            else -> throw IllegalArgumentException("Invalid column or type [index $index]")
+        }
+    }
+
+    override fun getString(index: Int): String {
+        throw IllegalArgumentException("Invalid column index $index")
+    }
+
+    override fun getUUID(index: Int): UUID? {
+        throw IllegalArgumentException("Invalid column or type [index $index]")
+    }
+
+    override fun getInstant(index: Int): Instant {
+        throw IllegalArgumentException("Invalid column index $index")
+    }
+
+    override fun getDuration(index: Int): Duration {
+        return when (index) {
+            colDuration -> Duration.ofMillis(durations[checkRow()])
+            else -> throw IllegalArgumentException("Invalid column index $index")
+        }
+    }
+
+    override fun <T> getList(
+        index: Int,
+        elementType: Class<T>,
+    ): List<T>? {
+        throw IllegalArgumentException("Invalid column or type [index $index]")
+    }
+
+    override fun <T> getSet(
+        index: Int,
+        elementType: Class<T>,
+    ): Set<T>? {
+        throw IllegalArgumentException("Invalid column or type [index $index]")
+    }
+
+    override fun <K, V> getMap(
+        index: Int,
+        keyType: Class<K>,
+        valueType: Class<V>,
+    ): Map<K, V>? {
+        throw IllegalArgumentException("Invalid column or type [index $index]")
+    }
+
+    override fun getBooleans(index: Int): BooleanArray {
+        throw IllegalArgumentException("Invalid column or type [index $index]")
+    }
+
+    override fun getInts(index: Int): IntArray {
+        return when (index) {
+            colID -> ids
+            else -> throw IllegalArgumentException("Invalid column or type [index $index]")
+        }
+    }
+
+    override fun getLongs(index: Int): LongArray {
+        return when (index) {
+            colDuration -> durations
+            else -> throw IllegalArgumentException("Invalid column or type [index $index]")
+        }
+    }
+
+    override fun getDoubles(index: Int): DoubleArray {
+        return when (index) {
+            colCpuUsage -> cpuUsages
+            colGpuUsage -> gpuUsages
+            else -> throw IllegalArgumentException("Invalid column or type [index $index]")
+        }
+    }
+
+    override fun getStrings(index: Int): Array<String?> {
+        throw IllegalArgumentException("Invalid column or type [index $index]")
+    }
+
+    override fun getOffsets(index: Int): IntArray {
+        throw IllegalArgumentException("Invalid column or type [index $index]")
+    }
+
+    override fun close() {
+        reader.close()
+        chunk = null
+        size = 0
+        row = -1
+    }
+
+    override fun toString(): String = "FragmentBatchTableReader"
+
+    /**
+     * Return the index of the current row or throw an [IllegalStateException] if the reader is not positioned at a row.
+     */
+    private fun checkRow(): Int {
+        val row = row
+        check(row >= 0) { "Reader in invalid state" }
+        return row
+    }
+
+    /**
+     * Return the row group with remaining rows, reading the next row group if the current one is exhausted.
+     */
+    private fun nextChunk(): Chunk? {
+        val chunk = chunk
+        if (chunk != null && position < chunk.size) {
+            return chunk
+        }
+
+        val next = reader.read()
+        this.chunk = next
+        position = 0
+        return next
+    }
+
+    /**
+     * Ensure the vectors can hold [capacity] rows.
+     */
+    private fun ensureCapacity(capacity: Int) {
+        if (ids.size >= capacity) {
+            return
+        }
+
+        ids = IntArray(capacity)
+        durations = LongArray(capacity)
+        cpuUsages = DoubleArray(capacity)
+        gpuUsages = DoubleArray(capacity)
+    }
+
+    /**
+     * Restrict [FRAGMENT_SCHEMA] to the columns in [projection] and the columns needed to evaluate [predicate].
+     */
+    private fun projectSchema(
+        projection: List<String>?,
+        predicate: TablePredicate?,
+    ): MessageType {
+        if (projection == null) {
+            return FRAGMENT_SCHEMA
+        }
+
+        val columns = if (predicate != null) projection + predicate.columns else projection
+        val fields = FRAGMENT_SCHEMA.fields.filter { field -> resolveField(field.name) in columns }
+        return MessageType(FRAGMENT_SCHEMA.name, fields)
+    }
+
+    /**
+     * Map the Parquet field with the specified [name] to the name of its column in the table.
+     */
+    private fun resolveField(name: String): String? {
+        return when (name) {
+            "id" -> TASK_ID
+            "duration" -> FRAGMENT_DURATION
+            "cpu_usage" -> FRAGMENT_CPU_USAGE
+            "gpu_usage" -> FRAGMENT_GPU_USAGE
+            else -> null
+        }
+    }
+
+    /**
+     * The decoded columns of a row group.
+     */
+    private class Chunk(var size: Int) {
+        val ids = IntArray(size)
+        val durations = LongArray(size)
+        val cpuUsages = DoubleArray(size)
+        val gpuUsages = DoubleArray(size)
+
+        /**
+         * Retain only the rows that match [predicate], preserving their order.
+         */
+        fun retain(predicate: TablePredicate) {
+            val test =
+                predicate.compile { column ->
+                    when (column) {
+                        TASK_ID -> ids
+                        else -> throw IllegalArgumentException("Column $column cannot be filtered")
+                    }
+                }
+
+            var n = 0
+            for (i in 0 until size) {
+                if (!test.test(i)) {
+                    continue
+                }
+
+                ids[n] = ids[i]
+                durations[n] = durations[i]
+                cpuUsages[n] = cpuUsages[i]
+                gpuUsages[n] = gpuUsages[i]
+                n++
+            }
+            size = n
+        }
+    }
+
+    /**
+     * A [ParquetRowGroupDecoder] that decodes the projected columns of a row group into a [Chunk].
+     */
+    private class Decoder(
+        private val schema: MessageType,
+        private val predicate: TablePredicate?,
+    ) : ParquetRowGroupDecoder<Chunk> {
+        override fun requestSchema(fileMetaData: FileMetaData): MessageType {
+            return ParquetRowGroupDecoder.selectColumns(schema, fileMetaData.schema)
+        }
+
+        override fun decode(rowGroup: ParquetRowGroup): Chunk {
+            val chunk = Chunk(Math.toIntExact(rowGroup.rowCount))
+            val size = chunk.size
+
+            rowGroup.getColumnReader("id").readInts(chunk.ids, 0, size)
+            rowGroup.getColumnReader("duration").readLongs(chunk.durations, 0, size)
+            rowGroup.getColumnReader("cpu_usage").readDoubles(chunk.cpuUsages, 0, size)
+            rowGroup.getColumnReader("gpu_usage").readDoubles(chunk.gpuUsages, 0, size)
+
+            // Row groups that may contain matching rows are read in full, so drop the rows that do not match
+            predicate?.let { chunk.retain(it) }
+            return chunk
+        }
+    }
+}
@@ -0,0 +1,614 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.trace.formats.workload
+
+import org.apache.parquet.filter2.compat.FilterCompat
+import org.apache.parquet.hadoop.metadata.FileMetaData
+import org.apache.parquet.schema.MessageType
+import org.opendc.trace.BatchTableReader
+import org.opendc.trace.TableColumnType
+import org.opendc.trace.TablePredicate
+import org.opendc.trace.conv.TASK_CHILDREN
+import org.opendc.trace.conv.TASK_CPU_CAPACITY
+import org.opendc.trace.conv.TASK_CPU_COUNT
+import org.opendc.trace.conv.TASK_DEADLINE
+import org.opendc.trace.conv.TASK_DEFERRABLE
+import org.opendc.trace.conv.TASK_DURATION
+import org.opendc.trace.conv.TASK_GPU_CAPACITY
+import org.opendc.trace.conv.TASK_GPU_COUNT
+import org.opendc.trace.conv.TASK_ID
+import org.opendc.trace.conv.TASK_MEM_CAPACITY
+import org.opendc.trace.conv.TASK_NAME
+import org.opendc.trace.conv.TASK_PARENTS
+import org.opendc.trace.conv.TASK_SUBMISSION_TIME
+import org.opendc.trace.formats.workload.parquet.TASK_SCHEMA
+import org.opendc.trace.util.compile
+import org.opendc.trace.util.convertTo
+import org.opendc.trace.util.parquet.LocalParquetRowGroupReader
+import org.opendc.trace.util.parquet.ParquetRowGroup
+import org.opendc.trace.util.parquet.ParquetRowGroupDecoder
+import org.opendc.trace.util.parquet.readBooleans
+import org.opendc.trace.util.parquet.readDoubles
+import org.opendc.trace.util.parquet.readIntLists
+import org.opendc.trace.util.parquet.readInts
+import org.opendc.trace.util.parquet.readLongs
+import org.opendc.trace.util.parquet.readStrings
+import java.nio.file.Path
+import java.time.Duration
+import java.time.Instant
+import java.util.UUID
+
+/**
+ * A [BatchTableReader] implementation for the tasks table of the OpenDC workload trace format, which decodes the
+ * Parquet columns directly into primitive vectors.
+ *
+ * @param path The path to the tasks file or directory.
+ * @param projection The name of the columns to read or `null` to read all columns.
+ * @param parallelism The number of threads to decode the row groups of the table on.
+ * @param predicate The predicate that the returned rows must match or `null` to return all rows.
+ * @param filter The Parquet filter derived from [predicate] to skip row groups that do not match.
+ */
+internal class TaskBatchTableReader(
+    path: Path,
+    projection: List<String>?,
+    parallelism: Int = 1,
+    predicate: TablePredicate? = null,
+    filter: FilterCompat.Filter = FilterCompat.NOOP,
+) : BatchTableReader {
+    private val colID = 0
+    private val colName = 1
+    private val colSubmissionTime = 2
+    private val colDurationTime = 3
+    private val colCpuCount = 4
+    private val colCpuCapacity = 5
+    private val colMemCapacity = 6
+    private val colGpuCapacity = 7
+    private val colGpuCount = 8
+    private val colParents = 9
+    private val colChildren = 10
+    private val colDeferrable = 11
+    private val colDeadline = 12
+
+    private val typeParents = TableColumnType.Set(TableColumnType.Int)
+    private val typeChildren = TableColumnType.Set(TableColumnType.Int)
+
+    /**
+     * The underlying row group reader.
+     */
+    private val reader =
+        LocalParquetRowGroupReader(
+            path,
+            Decoder(projectSchema(projection, predicate), predicate),
+            parallelism,
+            filter = filter,
+        )
+
+    /**
+     * The row group that is currently being read.
+     */
+    private var chunk: Chunk? = null
+
+    /**
+     * The index of the next row to read from [chunk].
+     */
+    private var position = 0
+
+    private var ids = IntArray(0)
+    private var names = arrayOfNulls<String>(0)
+    private var submissionTimes = LongArray(0)
+    private var durations = LongArray(0)
+    private var cpuCounts = IntArray(0)
+    private var cpuCapacities = DoubleArray(0)
+    private var memCapacities = DoubleArray(0)
+    private var gpuCapacities = DoubleArray(0)
+    private var gpuCounts = IntArray(0)
+    private var parentOffsets = IntArray(1)
+    private var parents = IntArray(0)
+    private var childOffsets = IntArray(1)
+    private var children = IntArray(0)
+    private var deferrables = BooleanArray(0)
+    private var deadlines = LongArray(0)
+
+    /**
+     * The number of rows in the current batch.
+     */
+    private var size = 0
+
+    /**
+     * The index of the current row in the batch or -1 if the reader is not positioned at a row.
+     */
+    private var row = -1
+
+    override fun nextBatch(maxRows: Int): Int {
+        require(maxRows > 0) { "Batch size must be positive" }
+
+        try {
+            ensureCapacity(maxRows)
+
+            var n = 0
+            parentOffsets[0] = 0
+            childOffsets[0] = 0
+
+            while (n < maxRows) {
+                val chunk = nextChunk() ?: break
+                val count = minOf(chunk.size - position, maxRows - n)
+                val end = position + count
+
+                chunk.ids.copyInto(ids, n, position, end)
+                chunk.names.copyInto(names, n, position, end)
+                chunk.submissionTimes.copyInto(submissionTimes, n, position, end)
+                chunk.durations.copyInto(durations, n, position, end)
+                chunk.cpuCounts.copyInto(cpuCounts, n, position, end)
+                chunk.cpuCapacities.copyInto(cpuCapacities, n, position, end)
+                chunk.memCapacities.copyInto(memCapacities, n, position, end)
+                chunk.gpuCapacities.copyInto(gpuCapacities, n, position, end)
+                chunk.gpuCounts.copyInto(gpuCounts, n, position, end)
+                parents = copyElements(chunk.parentOffsets, chunk.parents, parentOffsets, parents, n, count)
+                children = copyElements(chunk.childOffsets, chunk.children, childOffsets, children, n, count)
+                chunk.deferrables.copyInto(deferrables, n, position, end)
+                chunk.deadlines.copyInto(deadlines, n, position, end)
+
+                n += count
+                position = end
+            }
+
+            size = n
+            row = -1
+            return n
+        } catch (e: Throwable) {
+            size = 0
+            row = -1
+            throw e
+        }
+    }
+
+    override fun nextRow(): Boolean {
+        if (row + 1 < size) {
+            row++
+            return true
+        }
+
+        if (nextBatch(BatchTableReader.DEFAULT_BATCH_SIZE) > 0) {
+            row = 0
+            return true
+        }
+
+        return false
+    }
+
+    override fun resolve(name: String): Int {
+        return when (name) {
+            TASK_ID -> colID
+            TASK_NAME -> colName
+            TASK_SUBMISSION_TIME -> colSubmissionTime
+            TASK_DURATION -> colDurationTime
+            TASK_CPU_COUNT -> colCpuCount
+            TASK_CPU_CAPACITY -> colCpuCapacity
+            TASK_MEM_CAPACITY -> colMemCapacity
+            TASK_GPU_COUNT -> colGpuCount
+            TASK_GPU_CAPACITY -> colGpuCapacity
+            TASK_PARENTS -> colParents
+            TASK_CHILDREN -> colChildren
+            TASK_DEFERRABLE -> colDeferrable
+            TASK_DEADLINE -> colDeadline
+            else -> -1
+        }
+    }
+
+    override fun isNull(index: Int): Boolean {
+        require(index in 0..colDeadline) { "Invalid column index" }
+        val row = checkRow()
+
+        return when (index) {
+            colDeadline -> deadlines[row] == -1L
+            else -> false
+        }
+    }
+
+    override fun getBoolean(index: Int): Boolean {
+        return when (index) {
+            colDeferrable -> deferrables[checkRow()]
+            else -> throw IllegalArgumentException("Invalid column")
+        }
+    }
+
+    override fun getInt(index: Int): Int {
+        return when (index) {
+            colID -> ids[checkRow()]
+            colCpuCount -> cpuCounts[checkRow()]
+            colGpuCount -> gpuCounts[checkRow()]
+            else -> throw IllegalArgumentException("Invalid column")
+        }
+    }
+
+    override fun getLong(index: Int): Long {
+        return when (index) {
+            colDurationTime -> durations[checkRow()]
+            colDeadline -> deadlines[checkRow()]
+            else -> throw IllegalArgumentException("Invalid column")
+        }
+    }
+
+    override fun getFloat(index: Int): Float {
+        throw IllegalArgumentException("Invalid column")
+    }
+
+    override fun getDouble(index: Int): Double {
+        return when (index) {
+            colCpuCapacity -> cpuCapacities[checkRow()]
+            colMemCapacity -> memCapacities[checkRow()]
+            colGpuCapacity -> gpuCapacities[checkRow()]
+            else -> throw IllegalArgumentException("Invalid column")
+        }
+    }
+
+    override fun getString(index: Int): String? {
+        return when (index) {
+            colName -> names[checkRow()]
+            else -> throw IllegalArgumentException("Invalid column")
+        }
+    }
+
+    override fun getUUID(index: Int): UUID {
+        throw IllegalArgumentException("Invalid column")
+    }
+
+    override fun getInstant(index: Int): Instant {
+        return when (index) {
+            colSubmissionTime -> Instant.ofEpochMilli(submissionTimes[checkRow()])
+            else -> throw IllegalArgumentException("Invalid column")
+        }
+    }
+
+    override fun getDuration(index: Int): Duration {
+        throw IllegalArgumentException("Invalid column")
+    }
+
+    override fun <T> getList(
+        index: Int,
+        elementType: Class<T>,
+    ): List<T>? {
+        throw IllegalArgumentException("Invalid column")
+    }
+
+    override fun <T> getSet(
+        index: Int,
+        elementType: Class<T>,
+    ): Set<T>? {
+        return when (index) {
+            colParents -> typeParents.convertTo(sliceToSet(parents, parentOffsets, checkRow()), elementType)
+            colChildren -> typeChildren.convertTo(sliceToSet(children, childOffsets, checkRow()), elementType)
+            else -> throw IllegalArgumentException("Invalid column")
+        }
+    }
+
+    override fun <K, V> getMap(
+        index: Int,
+        keyType: Class<K>,
+        valueType: Class<V>,
+    ): Map<K, V>? {
+        throw IllegalArgumentException("Invalid column")
+    }
+
+    override fun getBooleans(index: Int): BooleanArray {
+        return when (index) {
+            colDeferrable -> deferrables
+            else -> throw IllegalArgumentException("Invalid column")
+        }
+    }
+
+    override fun getInts(index: Int): IntArray {
+        return when (index) {
+            colID -> ids
+            colCpuCount -> cpuCounts
+            colGpuCount -> gpuCounts
+            colParents -> parents
+            colChildren -> children
+            else -> throw IllegalArgumentException("Invalid column")
+        }
+    }
+
+    override fun getLongs(index: Int): LongArray {
+        return when (index) {
+            colSubmissionTime -> submissionTimes
+            colDurationTime -> durations
+            colDeadline -> deadlines
+            else -> throw IllegalArgumentException("Invalid column")
+        }
+    }
+
+    override fun getDoubles(index: Int): DoubleArray {
+        return when (index) {
+            colCpuCapacity -> cpuCapacities
+            colMemCapacity -> memCapacities
+            colGpuCapacity -> gpuCapacities
+            else -> throw IllegalArgumentException("Invalid column")
+        }
+    }
+
+    override fun getStrings(index: Int): Array<String?> {
+        return when (index) {
+            colName -> names
+            else -> throw IllegalArgumentException("Invalid column")
+        }
+    }
+
+    override fun getOffsets(index: Int): IntArray {
+        return when (index) {
+            colParents -> parentOffsets
+            colChildren -> childOffsets
+            else -> throw IllegalArgumentException("Invalid column")
+        }
+    }
+
+    override fun close() {
+        reader.close()
+        chunk = null
+        size = 0
+        row = -1
+    }
+
+    override fun toString(): String = "TaskBatchTableReader"
+
+    /**
+     * Return the index of the current row or throw an [IllegalStateException] if the reader is not positioned at a row.
+     */
+    private fun checkRow(): Int {
+        val row = row
+        check(row >= 0) { "Reader in invalid state" }
+        return row
+    }
+
+    /**
+     * Collect the elements of [row] in a collection column into a [Set].
+     */
+    private fun sliceToSet(
+        values: IntArray,
+        offsets: IntArray,
+        row: Int,
+    ): Set<Int> {
+        val result = LinkedHashSet<Int>()
+        for (i in offsets[row] until offsets[row + 1]) {
+            result.add(values[i])
+        }
+        return result
+    }
+
+    /**
+     * Return the row group with remaining rows, reading the next row group if the current one is exhausted.
+     */
+    private fun nextChunk(): Chunk? {
+        val chunk = chunk
+        if (chunk != null && position < chunk.size) {
+            return chunk
+        }
+
+        val next = reader.read()
+        this.chunk = next
+        position = 0
+        return next
+    }
+
+    /**
+     * Copy the elements of [count] rows of a collection column, starting at the current position in the chunk, to
+     * row [n] of the batch.
+     *
+     * @return The element vector of the batch, which is a larger copy of [values] if the elements did not fit.
+     */
+    private fun copyElements(
+        chunkOffsets: IntArray,
+        chunkValues: IntArray,
+        offsets: IntArray,
+        values: IntArray,
+        n: Int,
+        count: Int,
+    ): IntArray {
+        val base = offsets[n]
+        val from = chunkOffsets[position]
+        val to = chunkOffsets[position + count]
+
+        val required = base + to - from
+        val dst = if (required > values.size) values.copyOf(maxOf(required, values.size * 2)) else values
+        chunkValues.copyInto(dst, base, from, to)
+
+        for (i in 1..count) {
+            offsets[n + i] = base + chunkOffsets[position + i] - from
+        }
+        return dst
+    }
+
+    /**
+     * Ensure the vectors can hold [capacity] rows.
+     */
+    private fun ensureCapacity(capacity: Int) {
+        if (ids.size >= capacity) {
+            return
+        }
+
+        ids = IntArray(capacity)
+        names = arrayOfNulls(capacity)
+        submissionTimes = LongArray(capacity)
+        durations = LongArray(capacity)
+        cpuCounts = IntArray(capacity)
+        cpuCapacities = DoubleArray(capacity)
+        memCapacities = DoubleArray(capacity)
+        gpuCapacities = DoubleArray(capacity)
+        gpuCounts = IntArray(capacity)
+        parentOffsets = IntArray(capacity + 1)
+        childOffsets = IntArray(capacity + 1)
+        deferrables = BooleanArray(capacity)
+        deadlines = LongArray(capacity)
+    }
+
+    /**
+     * Restrict [TASK_SCHEMA] to the columns in [projection] and the columns needed to evaluate [predicate].
+     */
+    private fun projectSchema(
+        projection: List<String>?,
+        predicate: TablePredicate?,
+    ): MessageType {
+        if (projection == null) {
+            return TASK_SCHEMA
+        }
+
+        val columns = if (predicate != null) projection + predicate.columns else projection
+        val fields = TASK_SCHEMA.fields.filter { field -> resolveField(field.name) in columns }
+        return MessageType(TASK_SCHEMA.name, fields)
+    }
+
+    /**
+     * Map the Parquet field with the specified [name] to the name of its column in the table.
+     */
+    private fun resolveField(name: String): String? {
+        return when (name) {
+            "id" -> TASK_ID
+            "name" -> TASK_NAME
+            "submission_time" -> TASK_SUBMISSION_TIME
+            "duration" -> TASK_DURATION
+            "cpu_count" -> TASK_CPU_COUNT
+            "cpu_capacity" -> TASK_CPU_CAPACITY
+            "mem_capacity" -> TASK_MEM_CAPACITY
+            "gpu_count" -> TASK_GPU_COUNT
+            "gpu_capacity" -> TASK_GPU_CAPACITY
+            "parents" -> TASK_PARENTS
+            "children" -> TASK_CHILDREN
+            "deferrable" -> TASK_DEFERRABLE
+            "deadline" -> TASK_DEADLINE
+            else -> null
+        }
+    }
+
+    /**
+     * The decoded columns of a row group.
+     */
+    private class Chunk(var size: Int) {
+        val ids = IntArray(size)
+        val names = arrayOfNulls<String>(size)
+        val submissionTimes = LongArray(size)
+        val durations = LongArray(size)
+        val cpuCounts = IntArray(size)
+        val cpuCapacities = DoubleArray(size)
+        val memCapacities = DoubleArray(size)
+        val gpuCapacities = DoubleArray(size)
+        val gpuCounts = IntArray(size)
+        val parentOffsets = IntArray(size + 1)
+        var parents = IntArray(0)
+        val childOffsets = IntArray(size + 1)
+        var children = IntArray(0)
+        val deferrables = BooleanArray(size)
+        val deadlines = LongArray(size)
+
+        /**
+         * Retain only the rows that match [predicate], preserving their order.
+         */
+        fun retain(predicate: TablePredicate) {
+            val test =
+                predicate.compile { column ->
+                    when (column) {
+                        TASK_ID -> ids
+                        TASK_SUBMISSION_TIME -> submissionTimes
+                        else -> throw IllegalArgumentException("Column $column cannot be filtered")
+                    }
+                }
+
+            var n = 0
+            var parentEnd = 0
+            var childEnd = 0
+            for (i in 0 until size) {
+                // Read the bounds of the lists of this row before the offsets are overwritten
+                val parentStart = parentOffsets[i]
+                val parentLimit = parentOffsets[i + 1]
+                val childStart = childOffsets[i]
+                val childLimit = childOffsets[i + 1]
+
+                if (!test.test(i)) {
+                    continue
+                }
+
+                ids[n] = ids[i]
+                names[n] = names[i]
+                submissionTimes[n] = submissionTimes[i]
+                durations[n] = durations[i]
+                cpuCounts[n] = cpuCounts[i]
+                cpuCapacities[n] = cpuCapacities[i]
+                memCapacities[n] = memCapacities[i]
+                gpuCapacities[n] = gpuCapacities[i]
+                gpuCounts[n] = gpuCounts[i]
+                deferrables[n] = deferrables[i]
+                deadlines[n] = deadlines[i]
+
+                parents.copyInto(parents, parentEnd, parentStart, parentLimit)
+                parentEnd += parentLimit - parentStart
+                parentOffsets[n + 1] = parentEnd
+
+                children.copyInto(children, childEnd, childStart, childLimit)
+                childEnd += childLimit - childStart
+                childOffsets[n + 1] = childEnd
+
+                n++
+            }
+
+            names.fill(null, n, size)
+            parentOffsets[0] = 0
+            childOffsets[0] = 0
+            size = n
+        }
+    }
+
+    /**
+     * A [ParquetRowGroupDecoder] that decodes the projected columns of a row group into a [Chunk].
+     */
+    private class Decoder(
+        private val schema: MessageType,
+        private val predicate: TablePredicate?,
+    ) : ParquetRowGroupDecoder<Chunk> {
+        override fun requestSchema(fileMetaData: FileMetaData): MessageType {
+            return ParquetRowGroupDecoder.selectColumns(schema, fileMetaData.schema)
+        }
+
+        override fun decode(rowGroup: ParquetRowGroup): Chunk {
+            val chunk = Chunk(Math.toIntExact(rowGroup.rowCount))
+            val size = chunk.size
+
+            rowGroup.getColumnReader("id").readInts(chunk.ids, 0, size)
+            rowGroup.getColumnReader("name").readStrings(chunk.names, 0, size)
+            rowGroup.getColumnReader("submission_time").readLongs(chunk.submissionTimes, 0, size)
+            rowGroup.getColumnReader("duration").readLongs(chunk.durations, 0, size)
+            rowGroup.getColumnReader("cpu_count").readInts(chunk.cpuCounts, 0, size)
+            rowGroup.getColumnReader("cpu_capacity").readDoubles(chunk.cpuCapacities, 0, size)
+            rowGroup.getColumnReader("mem_capacity").readDoubles(chunk.memCapacities, 0, size)
+            rowGroup.getColumnReader("gpu_capacity").readDoubles(chunk.gpuCapacities, 0, size)
+            rowGroup.getColumnReader("gpu_count").readInts(chunk.gpuCounts, 0, size)
+            chunk.parents =
+                rowGroup.getColumnReader("parents", "list", "element").readIntLists(chunk.parentOffsets, 0, size, chunk.parents)
+            chunk.children =
+                rowGroup.getColumnReader("children", "list", "element").readIntLists(chunk.childOffsets, 0, size, chunk.children)
+            rowGroup.getColumnReader("deferrable").readBooleans(chunk.deferrables, 0, size)
+            rowGroup.getColumnReader("deadline").readLongs(chunk.deadlines, 0, size, default = -1L)
+
+            // Row groups that may contain matching rows are read in full, so drop the rows that do not match
+            predicate?.let { chunk.retain(it) }
+            return chunk
+        }
+    }
+}
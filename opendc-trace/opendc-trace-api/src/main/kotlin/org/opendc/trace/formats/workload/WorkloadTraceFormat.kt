@@ -23,10 +23,13 @@
 package org.opendc.trace.formats.workload
 
 import org.apache.parquet.column.ParquetProperties
+import org.apache.parquet.filter2.compat.FilterCompat
 import org.apache.parquet.hadoop.ParquetFileWriter
 import org.apache.parquet.hadoop.metadata.CompressionCodecName
+import org.opendc.trace.BatchTableReader
 import org.opendc.trace.TableColumn
 import org.opendc.trace.TableColumnType
+import org.opendc.trace.TablePredicate
 import org.opendc.trace.TableReader
 import org.opendc.trace.TableWriter
 import org.opendc.trace.conv.FRAGMENT_CPU_USAGE
@@ -53,13 +56,20 @@ import org.opendc.trace.spi.TableDetails
 import org.opendc.trace.spi.TraceFormat
 import org.opendc.trace.util.parquet.LocalParquetReader
 import org.opendc.trace.util.parquet.LocalParquetWriter
+import org.opendc.trace.util.toParquetFilter
 import java.nio.file.Files
 import java.nio.file.Path
 
 /**
  * A [TraceFormat] implementation of the OpenDC virtual machine trace format.
+ *
+ * Predicates on the task identifier (both tables) and the submission time (tasks table) are pushed down into Parquet,
+ * such that row groups whose statistics do not match the predicate are skipped without being decoded.
+ *
+ * @param parallelism The number of threads on which the row groups of a table are decoded. Rows are still returned in
+ * the order of the trace.
  */
-public class WorkloadTraceFormat : TraceFormat {
+public class WorkloadTraceFormat(private val parallelism: Int = 1) : TraceFormat {
     /**
      * The name of this trace format.
      */
@@ -118,20 +128,69 @@ public class WorkloadTraceFormat : TraceFormat {
         path: Path,
         table: String,
         projection: List<String>?,
+    ): TableReader = newReader(path, table, projection, null)
+
+    override fun newReader(
+        path: Path,
+        table: String,
+        projection: List<String>?,
+        predicate: TablePredicate?,
     ): TableReader {
+        // Parquet can only evaluate the predicate on the rows if its columns are read
+        val columns = if (predicate != null) projection?.let { (it + predicate.columns).distinct() } else projection
+
         return when (table) {
             TABLE_TASKS -> {
-                val reader = LocalParquetReader(path.resolve("tasks.parquet"), TaskReadSupport(projection))
+                val filter = predicate?.toParquetFilter(::taskField) ?: FilterCompat.NOOP
+                val reader =
+                    LocalParquetReader(
+                        path.resolve("tasks.parquet"),
+                        TaskReadSupport(columns),
+                        parallelism = parallelism,
+                        filter = filter,
+                    )
                 TaskTableReader(reader)
             }
             TABLE_FRAGMENTS -> {
-                val reader = LocalParquetReader(path.resolve("fragments.parquet"), FragmentReadSupport(projection))
+                val filter = predicate?.toParquetFilter(::fragmentField) ?: FilterCompat.NOOP
+                val reader =
+                    LocalParquetReader(
+                        path.resolve("fragments.parquet"),
+                        FragmentReadSupport(columns),
+                        parallelism = parallelism,
+                        filter = filter,
+                    )
                 FragmentTableReader(reader)
             }
             else -> throw IllegalArgumentException("Table $table not supported")
         }
     }
 
+    override fun newBatchReader(
+        path: Path,
+        table: String,
+        projection: List<String>?,
+    ): BatchTableReader = newBatchReader(path, table, projection, null)
+
+    override fun newBatchReader(
+        path: Path,
+        table: String,
+        projection: List<String>?,
+        predicate: TablePredicate?,
+    ): BatchTableReader {
+        return when (table) {
+            TABLE_TASKS -> {
+                val filter = predicate?.toParquetFilter(::taskField) ?: FilterCompat.NOOP
+                TaskBatchTableReader(path.resolve("tasks.parquet"), projection, parallelism, predicate, filter)
+            }
+            TABLE_FRAGMENTS -> {
+                val filter = predicate?.toParquetFilter(::fragmentField) ?: FilterCompat.NOOP
+                FragmentBatchTableReader(path.resolve("fragments.parquet"), projection, parallelism, predicate, filter)
+            }
+            else -> throw IllegalArgumentException("Table $table not supported")
+        }
+    }
+
     override fun newWriter(
         path: Path,
         table: String,
@@ -162,4 +221,25 @@ public class WorkloadTraceFormat : TraceFormat {
             else -> throw IllegalArgumentException("Table $table not supported")
         }
     }
+
+    /**
+     * Map the columns of the tasks table that can be filtered to their Parquet field.
+     */
+    private fun taskField(column: String): String? {
+        return when (column) {
+            TASK_ID -> "id"
+            TASK_SUBMISSION_TIME -> "submission_time"
+            else -> null
+        }
+    }
+
+    /**
+     * Map the columns of the fragments table that can be filtered to their Parquet field.
+     */
+    private fun fragmentField(column: String): String? {
+        return when (column) {
+            TASK_ID -> "id"
+            else -> null
+        }
+    }
 }
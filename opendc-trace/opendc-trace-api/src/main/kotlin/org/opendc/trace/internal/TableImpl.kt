@@ -22,8 +22,10 @@
 
 package org.opendc.trace.internal
 
+import org.opendc.trace.BatchTableReader
 import org.opendc.trace.Table
 import org.opendc.trace.TableColumn
+import org.opendc.trace.TablePredicate
 import org.opendc.trace.TableReader
 import org.opendc.trace.TableWriter
 import java.util.Objects
@@ -40,8 +42,18 @@ internal class TableImpl(val trace: TraceImpl, override val name: String) : Tabl
     override val columns: List<TableColumn>
         get() = details.columns
 
-    override fun newReader(projection: List<String>?): TableReader {
-        return trace.format.newReader(trace.path, name, projection)
+    override fun newReader(
+        projection: List<String>?,
+        predicate: TablePredicate?,
+    ): TableReader {
+        return trace.format.newReader(trace.path, name, projection, predicate)
+    }
+
+    override fun newBatchReader(
+        projection: List<String>?,
+        predicate: TablePredicate?,
+    ): BatchTableReader {
+        return trace.format.newBatchReader(trace.path, name, projection, predicate)
     }
 
     override fun newWriter(): TableWriter = trace.format.newWriter(trace.path, name)
@@ -22,11 +22,15 @@
 
 package org.opendc.trace.spi
 
+import org.opendc.trace.BatchTableReader
+import org.opendc.trace.TablePredicate
 import org.opendc.trace.TableReader
 import org.opendc.trace.TableWriter
 import org.opendc.trace.formats.carbon.CarbonTraceFormat
 import org.opendc.trace.formats.failure.FailureTraceFormat
 import org.opendc.trace.formats.workload.WorkloadTraceFormat
+import org.opendc.trace.util.FilteringTableReader
+import org.opendc.trace.util.RowBatchTableReader
 import java.nio.file.Path
 import java.util.ServiceLoader
 
@@ -84,6 +88,81 @@ public interface TraceFormat {
         projection: List<String>?,
     ): TableReader
 
+    /**
+     * Open a [TableReader] for the rows of the specified [table] that match [predicate].
+     *
+     * The default implementation evaluates the predicate on every row returned by [newReader]. Formats that can skip
+     * non-matching parts of the trace while reading should override this method.
+     *
+     * @param path The path to the trace to open.
+     * @param table The name of the table to open a [TableReader] for.
+     * @param projection The name of the columns to project or `null` if no projection is performed.
+     * @param predicate The predicate that the returned rows must match or `null` to return all rows.
+     * @throws IllegalArgumentException If [table] does not exist or [predicate] references an unknown column.
+     * @return A [TableReader] instance for the table.
+     */
+    public fun newReader(
+        path: Path,
+        table: String,
+        projection: List<String>?,
+        predicate: TablePredicate?,
+    ): TableReader {
+        if (predicate == null) {
+            return newReader(path, table, projection)
+        }
+
+        // The columns of the predicate must be read in order to evaluate it
+        val columns = projection?.let { (it + predicate.columns).distinct() }
+        return FilteringTableReader(newReader(path, table, columns), predicate)
+    }
+
+    /**
+     * Open a [BatchTableReader] for the specified [table].
+     *
+     * The default implementation fills the column vectors from the rows returned by [newReader]. Formats that can
+     * decode their storage directly into column vectors should override this method.
+     *
+     * @param path The path to the trace to open.
+     * @param table The name of the table to open a [BatchTableReader] for.
+     * @param projection The name of the columns to project or `null` if no projection is performed.
+     * @throws IllegalArgumentException If [table] does not exist.
+     * @return A [BatchTableReader] instance for the table.
+     */
+    public fun newBatchReader(
+        path: Path,
+        table: String,
+        projection: List<String>?,
+    ): BatchTableReader {
+        val columns = getDetails(path, table).columns.filter { projection == null || it.name in projection }
+        return RowBatchTableReader(newReader(path, table, projection), columns)
+    }
+
+    /**
+     * Open a [BatchTableReader] for the rows of the specified [table] that match [predicate].
+     *
+     * The default implementation fills the column vectors from the rows returned by [newReader] with [predicate].
+     *
+     * @param path The path to the trace to open.
+     * @param table The name of the table to open a [BatchTableReader] for.
+     * @param projection The name of the columns to project or `null` if no projection is performed.
+     * @param predicate The predicate that the returned rows must match or `null` to return all rows.
+     * @throws IllegalArgumentException If [table] does not exist or [predicate] references an unknown column.
+     * @return A [BatchTableReader] instance for the table.
+     */
+    public fun newBatchReader(
+        path: Path,
+        table: String,
+        projection: List<String>?,
+        predicate: TablePredicate?,
+    ): BatchTableReader {
+        if (predicate == null) {
+            return newBatchReader(path, table, projection)
+        }
+
+        val columns = getDetails(path, table).columns.filter { projection == null || it.name in projection }
+        return RowBatchTableReader(newReader(path, table, projection, predicate), columns)
+    }
+
     /**
      * Open a [TableWriter] for the specified [table].
      *
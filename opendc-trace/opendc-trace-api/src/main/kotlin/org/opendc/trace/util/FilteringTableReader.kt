@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.trace.util
+
+import org.opendc.trace.TablePredicate
+import org.opendc.trace.TableReader
+
+/**
+ * A [TableReader] that only returns the rows of [delegate] that match [predicate], for trace formats that cannot
+ * push predicates down into their storage layer.
+ */
+internal class FilteringTableReader(
+    private val delegate: TableReader,
+    predicate: TablePredicate,
+) : TableReader by delegate {
+    /**
+     * The test on the current row of [delegate].
+     */
+    private val test = predicate.compile(delegate)
+
+    override fun nextRow(): Boolean {
+        while (delegate.nextRow()) {
+            if (test()) {
+                return true
+            }
+        }
+        return false
+    }
+
+    override fun toString(): String = "FilteringTableReader[delegate=$delegate]"
+}
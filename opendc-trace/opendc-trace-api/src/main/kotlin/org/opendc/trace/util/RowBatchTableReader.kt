@@ -0,0 +1,388 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.trace.util
+
+import org.opendc.trace.BatchTableReader
+import org.opendc.trace.TableColumn
+import org.opendc.trace.TableColumnType
+import org.opendc.trace.TableReader
+import java.time.Duration
+import java.time.Instant
+import java.util.UUID
+
+/**
+ * A [BatchTableReader] that fills its column vectors from the rows of [delegate], for trace formats that do not
+ * provide a native batch reader.
+ *
+ * Integer, long, floating point, boolean and string columns are stored in primitive vectors, [TableColumnType.Instant]
+ * and [TableColumnType.Duration] columns are stored at millisecond precision, and lists and sets of integers are stored
+ * as an element vector with offsets. The remaining columns are only accessible through the row-oriented methods.
+ *
+ * @param delegate The reader to obtain the rows from.
+ * @param columns The columns of the table, of which only the columns that [delegate] can resolve are read.
+ */
+internal class RowBatchTableReader(
+    private val delegate: TableReader,
+    columns: List<TableColumn>,
+) : BatchTableReader {
+    /**
+     * The columns of the table that [delegate] can resolve.
+     */
+    private val resolved = columns.filter { delegate.resolve(it.name) >= 0 }
+
+    /**
+     * The columns that are read from [delegate], indexed by their column index in this reader.
+     */
+    private val columns = resolved.map { Column(delegate.resolve(it.name), it.type) }
+
+    /**
+     * The column indices of this reader by name.
+     */
+    private val indices = resolved.withIndex().associate { (index, column) -> column.name to index }
+
+    /**
+     * The number of rows that the vectors can hold.
+     */
+    private var capacity = 0
+
+    /**
+     * The number of rows in the current batch.
+     */
+    private var size = 0
+
+    /**
+     * The index of the current row in the batch or -1 if the reader is not positioned at a row.
+     */
+    private var row = -1
+
+    override fun nextBatch(maxRows: Int): Int {
+        require(maxRows > 0) { "Batch size must be positive" }
+
+        try {
+            ensureCapacity(maxRows)
+
+            var n = 0
+            while (n < maxRows && delegate.nextRow()) {
+                for (column in columns) {
+                    column.read(delegate, n)
+                }
+                n++
+            }
+
+            size = n
+            row = -1
+            return n
+        } catch (e: Throwable) {
+            size = 0
+            row = -1
+            throw e
+        }
+    }
+
+    override fun nextRow(): Boolean {
+        if (row + 1 < size) {
+            row++
+            return true
+        }
+
+        if (nextBatch(BatchTableReader.DEFAULT_BATCH_SIZE) > 0) {
+            row = 0
+            return true
+        }
+
+        return false
+    }
+
+    override fun resolve(name: String): Int = indices[name] ?: -1
+
+    override fun isNull(index: Int): Boolean {
+        return column(index).nulls[checkRow()]
+    }
+
+    override fun getBoolean(index: Int): Boolean {
+        return column(index, TableColumnType.Boolean).booleans[checkRow()]
+    }
+
+    override fun getInt(index: Int): Int {
+        return column(index, TableColumnType.Int).ints[checkRow()]
+    }
+
+    override fun getLong(index: Int): Long {
+        return column(index, TableColumnType.Long).longs[checkRow()]
+    }
+
+    override fun getFloat(index: Int): Float {
+        return column(index, TableColumnType.Float).doubles[checkRow()].toFloat()
+    }
+
+    override fun getDouble(index: Int): Double {
+        return column(index, TableColumnType.Double).doubles[checkRow()]
+    }
+
+    override fun getString(index: Int): String? {
+        return column(index, TableColumnType.String).strings[checkRow()]
+    }
+
+    override fun getUUID(index: Int): UUID? {
+        return column(index, TableColumnType.UUID).objects[checkRow()] as UUID?
+    }
+
+    override fun getInstant(index: Int): Instant? {
+        val column = column(index, TableColumnType.Instant)
+        val row = checkRow()
+        return if (column.nulls[row]) null else Instant.ofEpochMilli(column.longs[row])
+    }
+
+    override fun getDuration(index: Int): Duration? {
+        val column = column(index, TableColumnType.Duration)
+        val row = checkRow()
+        return if (column.nulls[row]) null else Duration.ofMillis(column.longs[row])
+    }
+
+    override fun <T> getList(
+        index: Int,
+        elementType: Class<T>,
+    ): List<T>? {
+        val column = column(index)
+        val type = column.type as? TableColumnType.List ?: throw IllegalArgumentException("Invalid column or type [index $index]")
+        return type.convertTo(column.collection(checkRow()), elementType)
+    }
+
+    override fun <T> getSet(
+        index: Int,
+        elementType: Class<T>,
+    ): Set<T>? {
+        val column = column(index)
+        val type = column.type as? TableColumnType.Set ?: throw IllegalArgumentException("Invalid column or type [index $index]")
+        return type.convertTo(column.collection(checkRow())?.toSet(), elementType)
+    }
+
+    override fun <K, V> getMap(
+        index: Int,
+        keyType: Class<K>,
+        valueType: Class<V>,
+    ): Map<K, V>? {
+        val column = column(index)
+        val type = column.type as? TableColumnType.Map ?: throw IllegalArgumentException("Invalid column or type [index $index]")
+        return type.convertTo(column.objects[checkRow()] as Map<*, *>?, keyType, valueType)
+    }
+
+    override fun getBooleans(index: Int): BooleanArray {
+        return column(index, TableColumnType.Boolean).booleans
+    }
+
+    override fun getInts(index: Int): IntArray {
+        val column = column(index)
+        return when {
+            column.type == TableColumnType.Int || column.isIntCollection -> column.ints
+            else -> throw IllegalArgumentException("Invalid column or type [index $index]")
+        }
+    }
+
+    override fun getLongs(index: Int): LongArray {
+        val column = column(index)
+        return when (column.type) {
+            TableColumnType.Long, TableColumnType.Instant, TableColumnType.Duration -> column.longs
+            else -> throw IllegalArgumentException("Invalid column or type [index $index]")
+        }
+    }
+
+    override fun getDoubles(index: Int): DoubleArray {
+        val column = column(index)
+        return when (column.type) {
+            TableColumnType.Float, TableColumnType.Double -> column.doubles
+            else -> throw IllegalArgumentException("Invalid column or type [index $index]")
+        }
+    }
+
+    override fun getStrings(index: Int): Array<String?> {
+        return column(index, TableColumnType.String).strings
+    }
+
+    override fun getOffsets(index: Int): IntArray {
+        val column = column(index)
+        require(column.isIntCollection) { "Invalid column or type [index $index]" }
+        return column.offsets
+    }
+
+    override fun close() {
+        delegate.close()
+        size = 0
+        row = -1
+    }
+
+    override fun toString(): String = "RowBatchTableReader[delegate=$delegate]"
+
+    /**
+     * Return the column with the specified [index] or throw an [IllegalArgumentException] if the index is not valid.
+     */
+    private fun column(index: Int): Column {
+        return columns.getOrNull(index) ?: throw IllegalArgumentException("Invalid column index $index")
+    }
+
+    /**
+     * Return the column with the specified [index] and [type] or throw an [IllegalArgumentException] otherwise.
+     */
+    private fun column(
+        index: Int,
+        type: TableColumnType,
+    ): Column {
+        val column = column(index)
+        require(column.type == type) { "Invalid column or type [index $index]" }
+        return column
+    }
+
+    /**
+     * Return the index of the current row or throw an [IllegalStateException] if the reader is not positioned at a row.
+     */
+    private fun checkRow(): Int {
+        val row = row
+        check(row >= 0) { "Reader in invalid state" }
+        return row
+    }
+
+    /**
+     * Ensure the vectors can hold [capacity] rows.
+     */
+    private fun ensureCapacity(capacity: Int) {
+        if (this.capacity >= capacity) {
+            return
+        }
+
+        for (column in columns) {
+            column.allocate(capacity)
+        }
+        this.capacity = capacity
+    }
+
+    /**
+     * The vectors of a single column.
+     *
+     * @param source The index of the column in the delegate reader.
+     * @param type The type of the column.
+     */
+    private class Column(val source: Int, val type: TableColumnType) {
+        /**
+         * A flag to indicate that the column is a list or set of integers, which is stored in [ints] and [offsets].
+         */
+        val isIntCollection =
+            (type is TableColumnType.List && type.elementType == TableColumnType.Int) ||
+                (type is TableColumnType.Set && type.elementType == TableColumnType.Int)
+
+        var nulls = BooleanArray(0)
+        var booleans = BooleanArray(0)
+        var ints = IntArray(0)
+        var longs = LongArray(0)
+        var doubles = DoubleArray(0)
+        var strings = arrayOfNulls<String>(0)
+        var objects = arrayOfNulls<Any>(0)
+        var offsets = IntArray(1)
+
+        /**
+         * Allocate the vectors of this column to hold [capacity] rows.
+         */
+        fun allocate(capacity: Int) {
+            nulls = BooleanArray(capacity)
+            when (type) {
+                TableColumnType.Boolean -> booleans = BooleanArray(capacity)
+                TableColumnType.Int -> ints = IntArray(capacity)
+                TableColumnType.Long, TableColumnType.Instant, TableColumnType.Duration -> longs = LongArray(capacity)
+                TableColumnType.Float, TableColumnType.Double -> doubles = DoubleArray(capacity)
+                TableColumnType.String -> strings = arrayOfNulls(capacity)
+                else ->
+                    if (isIntCollection) {
+                        offsets = IntArray(capacity + 1)
+                    } else {
+                        objects = arrayOfNulls(capacity)
+                    }
+            }
+        }
+
+        /**
+         * Read the value of this column for the current row of [reader] into row [i] of the vectors.
+         */
+        fun read(
+            reader: TableReader,
+            i: Int,
+        ) {
+            nulls[i] = reader.isNull(source)
+
+            // Primitive columns store the value that the delegate reports for null values
+            when (type) {
+                TableColumnType.Boolean -> booleans[i] = reader.getBoolean(source)
+                TableColumnType.Int -> ints[i] = reader.getInt(source)
+                TableColumnType.Long -> longs[i] = reader.getLong(source)
+                TableColumnType.Float -> doubles[i] = reader.getFloat(source).toDouble()
+                TableColumnType.Double -> doubles[i] = reader.getDouble(source)
+                TableColumnType.String -> strings[i] = reader.getString(source)
+                TableColumnType.UUID -> objects[i] = reader.getUUID(source)
+                TableColumnType.Instant -> longs[i] = reader.getInstant(source)?.toEpochMilli() ?: 0
+                TableColumnType.Duration -> longs[i] = reader.getDuration(source)?.toMillis() ?: 0
+                is TableColumnType.List ->
+                    if (isIntCollection) {
+                        appendInts(i, reader.getList(source, Int::class.javaObjectType))
+                    } else {
+                        objects[i] = reader.getList(source, Any::class.java)
+                    }
+                is TableColumnType.Set ->
+                    if (isIntCollection) {
+                        appendInts(i, reader.getSet(source, Int::class.javaObjectType))
+                    } else {
+                        objects[i] = reader.getSet(source, Any::class.java)
+                    }
+                is TableColumnType.Map -> objects[i] = reader.getMap(source, Any::class.java, Any::class.java)
+            }
+        }
+
+        /**
+         * Return the collection value of this column at row [i] or `null` if the value is `null`.
+         */
+        fun collection(i: Int): List<Any?>? {
+            if (nulls[i]) {
+                return null
+            } else if (isIntCollection) {
+                return ints.asList().subList(offsets[i], offsets[i + 1]).toList()
+            }
+            return (objects[i] as Collection<*>).toList()
+        }
+
+        /**
+         * Append the [values] of row [i] to the element vector of an integer collection column.
+         */
+        private fun appendInts(
+            i: Int,
+            values: Collection<Int>?,
+        ) {
+            var end = offsets[i]
+            if (values != null) {
+                if (ints.size < end + values.size) {
+                    ints = ints.copyOf(maxOf(ints.size * 2, end + values.size))
+                }
+                for (value in values) {
+                    ints[end++] = value
+                }
+            }
+            offsets[i + 1] = end
+        }
+    }
+}
@@ -28,6 +28,7 @@ import org.opendc.trace.TableColumnType
 import java.time.Duration
 import java.time.Instant
 import java.util.UUID
+import kotlin.reflect.KClass
 
 /**
  * Helper method to convert a [List] into a [List] with elements of [targetElementType].
@@ -72,11 +73,11 @@ public fun <K, V> TableColumnType.Map.convertTo(
  */
 private fun TableColumnType.isCompatible(javaType: Class<*>): Boolean {
     return when (this) {
-        is TableColumnType.Boolean -> javaType.isAssignableFrom(Boolean::class.java)
-        is TableColumnType.Int -> javaType.isAssignableFrom(Int::class.java)
-        is TableColumnType.Long -> javaType.isAssignableFrom(Long::class.java)
-        is TableColumnType.Float -> javaType.isAssignableFrom(Float::class.java)
-        is TableColumnType.Double -> javaType.isAssignableFrom(Double::class.java)
+        is TableColumnType.Boolean -> javaType.isAssignableFromPrimitive(Boolean::class)
+        is TableColumnType.Int -> javaType.isAssignableFromPrimitive(Int::class)
+        is TableColumnType.Long -> javaType.isAssignableFromPrimitive(Long::class)
+        is TableColumnType.Float -> javaType.isAssignableFromPrimitive(Float::class)
+        is TableColumnType.Double -> javaType.isAssignableFromPrimitive(Double::class)
         is TableColumnType.String -> javaType.isAssignableFrom(String::class.java)
         is TableColumnType.UUID -> javaType.isAssignableFrom(UUID::class.java)
         is TableColumnType.Instant -> javaType.isAssignableFrom(Instant::class.java)
@@ -86,3 +87,10 @@ private fun TableColumnType.isCompatible(javaType: Class<*>): Boolean {
         is TableColumnType.Map -> javaType.isAssignableFrom(Map::class.java)
     }
 }
+
+/**
+ * Helper method to determine whether this class can hold values of the primitive [type], either unboxed or boxed.
+ */
+private fun Class<*>.isAssignableFromPrimitive(type: KClass<*>): Boolean {
+    return isAssignableFrom(type.java) || isAssignableFrom(type.javaObjectType)
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+@file:JvmName("TablePredicates")
+
+package org.opendc.trace.util
+
+import org.apache.parquet.filter2.compat.FilterCompat
+import org.apache.parquet.filter2.predicate.FilterApi
+import org.apache.parquet.filter2.predicate.FilterPredicate
+import org.opendc.trace.TablePredicate
+import org.opendc.trace.TableReader
+import java.util.Arrays
+import java.util.function.IntPredicate
+
+/**
+ * Convert this predicate into a Parquet filter, which skips the row groups and rows that do not match.
+ *
+ * Instant columns are expected to be stored as 64-bit timestamps in milliseconds and integer columns as 32-bit
+ * integers.
+ *
+ * @param field A function that maps the name of a table column to the name of its Parquet field, or `null` if the
+ * column cannot be filtered.
+ * @throws IllegalArgumentException if the predicate references a column that cannot be filtered.
+ */
+internal fun TablePredicate.toParquetFilter(field: (String) -> String?): FilterCompat.Filter {
+    return toFilterPredicate(field)?.let { FilterCompat.get(it) } ?: FilterCompat.NOOP
+}
+
+/**
+ * Convert this predicate into a [FilterPredicate] or `null` if the predicate matches all rows.
+ */
+private fun TablePredicate.toFilterPredicate(field: (String) -> String?): FilterPredicate? {
+    return when (this) {
+        is TablePredicate.TimeRange -> {
+            val column = FilterApi.longColumn(resolveField(column, field))
+            val lower = from?.let { FilterApi.gtEq(column, it.toEpochMilli()) }
+            val upper = until?.let { FilterApi.lt(column, it.toEpochMilli()) }
+
+            if (lower != null && upper != null) FilterApi.and(lower, upper) else lower ?: upper
+        }
+        is TablePredicate.In -> {
+            val column = FilterApi.intColumn(resolveField(column, field))
+            when (values.size) {
+                // No value is smaller than the minimum, so this matches no row
+                0 -> FilterApi.lt(column, Int.MIN_VALUE)
+                1 -> FilterApi.eq(column, values.first())
+                else -> FilterApi.`in`(column, values)
+            }
+        }
+        is TablePredicate.And ->
+            predicates
+                .mapNotNull { it.toFilterPredicate(field) }
+                .reduceOrNull { acc, predicate -> FilterApi.and(acc, predicate) }
+    }
+}
+
+/**
+ * Resolve the Parquet field of the table [column] using [field].
+ */
+private fun resolveField(
+    column: String,
+    field: (String) -> String?,
+): String = requireNotNull(field(column)) { "Column $column cannot be filtered" }
+
+/**
+ * Compile this predicate into a test on the current row of the specified [reader].
+ */
+internal fun TablePredicate.compile(reader: TableReader): () -> Boolean {
+    return when (this) {
+        is TablePredicate.TimeRange -> {
+            val index = resolveColumn(reader, column)
+            val from = from
+            val until = until
+
+            fun(): Boolean {
+                val value = reader.getInstant(index) ?: return false
+                return (from == null || value >= from) && (until == null || value < until)
+            }
+        }
+        is TablePredicate.In -> {
+            val index = resolveColumn(reader, column)
+            val values = values
+
+            fun(): Boolean = !reader.isNull(index) && reader.getInt(index) in values
+        }
+        is TablePredicate.And -> {
+            val tests = predicates.map { it.compile(reader) }
+
+            fun(): Boolean = tests.all { it() }
+        }
+    }
+}
+
+/**
+ * Resolve the index of [column] in [reader].
+ */
+private fun resolveColumn(
+    reader: TableReader,
+    column: String,
+): Int {
+    val index = reader.resolve(column)
+    require(index >= 0) { "Column $column does not exist" }
+    return index
+}
+
+/**
+ * Compile this predicate into a test on the rows of decoded column vectors.
+ *
+ * @param vector A function that returns the vector of a column: a [LongArray] of timestamps in milliseconds for
+ * instant columns and an [IntArray] for integer columns.
+ */
+internal fun TablePredicate.compile(vector: (String) -> Any): IntPredicate {
+    return when (this) {
+        is TablePredicate.TimeRange -> {
+            val values = vector(column) as LongArray
+            val from = from?.toEpochMilli() ?: Long.MIN_VALUE
+            val until = until?.toEpochMilli()
+
+            if (until == null) {
+                IntPredicate { values[it] >= from }
+            } else {
+                IntPredicate { values[it] >= from && values[it] < until }
+            }
+        }
+        is TablePredicate.In -> {
+            val values = vector(column) as IntArray
+            // Search a sorted array to avoid boxing the values of every row
+            val set = this.values.toIntArray().also { it.sort() }
+            IntPredicate { Arrays.binarySearch(set, values[it]) >= 0 }
+        }
+        is TablePredicate.And -> {
+            val tests = predicates.map { it.compile(vector) }
+            IntPredicate { row -> tests.all { it.test(row) } }
+        }
+    }
+}
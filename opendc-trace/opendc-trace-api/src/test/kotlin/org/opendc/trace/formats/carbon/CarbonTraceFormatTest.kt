@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.trace.formats.carbon
+
+import org.apache.parquet.example.data.simple.SimpleGroupFactory
+import org.apache.parquet.hadoop.ParquetFileWriter
+import org.apache.parquet.hadoop.example.ExampleParquetWriter
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Assertions.assertArrayEquals
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.DisplayName
+import org.junit.jupiter.api.Nested
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertAll
+import org.junit.jupiter.api.assertThrows
+import org.opendc.trace.BatchTableReader
+import org.opendc.trace.TableColumn
+import org.opendc.trace.TableColumnType
+import org.opendc.trace.TablePredicate
+import org.opendc.trace.TableReader
+import org.opendc.trace.conv.CARBON_INTENSITY
+import org.opendc.trace.conv.CARBON_TIMESTAMP
+import org.opendc.trace.conv.TABLE_CARBON
+import org.opendc.trace.formats.carbon.parquet.CARBON_SCHEMA
+import org.opendc.trace.testkit.BatchTableReaderTestKit
+import org.opendc.trace.util.parquet.LocalOutputFile
+import java.nio.file.Files
+import java.nio.file.Path
+import java.time.Instant
+
+/**
+ * Test suite for the [CarbonTraceFormat] class, which relies on the default batch reader of the trace format.
+ */
+@DisplayName("Carbon TraceFormat")
+internal class CarbonTraceFormatTest {
+    private val format = CarbonTraceFormat()
+
+    private lateinit var path: Path
+
+    @BeforeEach
+    fun setUp() {
+        path = Files.createTempFile("opendc-trace", ".parquet")
+
+        val factory = SimpleGroupFactory(CARBON_SCHEMA)
+        ExampleParquetWriter.builder(LocalOutputFile(path))
+            .withType(CARBON_SCHEMA)
+            .withWriteMode(ParquetFileWriter.Mode.OVERWRITE)
+            .build()
+            .use { writer ->
+                for (i in 0 until ROWS) {
+                    val group = factory.newGroup()
+                    group.append("timestamp", i * 3_600_000L)
+                    group.append("carbon_intensity", 100.0 + i)
+                    writer.write(group)
+                }
+            }
+    }
+
+    @AfterEach
+    fun tearDown() {
+        Files.deleteIfExists(path)
+    }
+
+    /**
+     * Test that the batches are filled from the rows of the table.
+     */
+    @Test
+    fun testBatches() {
+        format.newBatchReader(path, TABLE_CARBON, null).use { reader ->
+            val sizes = mutableListOf<Int>()
+            val timestamps = mutableListOf<Long>()
+            val intensities = mutableListOf<Double>()
+
+            while (true) {
+                val n = reader.nextBatch(4)
+                if (n == 0) {
+                    break
+                }
+
+                sizes.add(n)
+                timestamps.addAll(reader.getLongs(CARBON_TIMESTAMP).copyOf(n).asList())
+                intensities.addAll(reader.getDoubles(CARBON_INTENSITY).copyOf(n).asList())
+            }
+
+            assertAll(
+                { assertEquals(listOf(4, 4, 2), sizes) },
+                { assertEquals(List(ROWS) { it * 3_600_000L }, timestamps) },
+                { assertEquals(List(ROWS) { 100.0 + it }, intensities) },
+            )
+        }
+    }
+
+    /**
+     * Test that columns outside the projection are not exposed.
+     */
+    @Test
+    fun testProjection() {
+        format.newBatchReader(path, TABLE_CARBON, listOf(CARBON_INTENSITY)).use { reader ->
+            val n = reader.nextBatch(3)
+
+            assertAll(
+                { assertEquals(3, n) },
+                { assertEquals(-1, reader.resolve(CARBON_TIMESTAMP)) },
+                { assertArrayEquals(doubleArrayOf(100.0, 101.0, 102.0), reader.getDoubles(CARBON_INTENSITY).copyOf(n)) },
+                { assertThrows<IllegalArgumentException> { reader.getLongs(CARBON_INTENSITY) } },
+            )
+        }
+    }
+
+    /**
+     * Test that a time window only returns the rows in the window, also when the timestamp is not projected.
+     */
+    @Test
+    fun testTimeWindow() {
+        val predicate = TablePredicate.between(CARBON_TIMESTAMP, Instant.ofEpochMilli(3 * 3_600_000L), Instant.ofEpochMilli(6 * 3_600_000L))
+
+        format.newBatchReader(path, TABLE_CARBON, listOf(CARBON_INTENSITY), predicate).use { reader ->
+            val n = reader.nextBatch(16)
+
+            assertAll(
+                { assertEquals(3, n) },
+                { assertArrayEquals(doubleArrayOf(103.0, 104.0, 105.0), reader.getDoubles(CARBON_INTENSITY).copyOf(n)) },
+            )
+        }
+    }
+
+    @Nested
+    @DisplayName("Carbon table")
+    inner class CarbonTableReaderTest : BatchTableReaderTestKit() {
+        override lateinit var reader: BatchTableReader
+        override lateinit var rowReader: TableReader
+        override lateinit var columns: List<TableColumn>
+
+        @BeforeEach
+        fun setUpReader() {
+            reader = format.newBatchReader(path, TABLE_CARBON, null)
+            rowReader = format.newReader(path, TABLE_CARBON, null)
+            columns =
+                listOf(
+                    TableColumn(CARBON_TIMESTAMP, TableColumnType.Instant),
+                    TableColumn(CARBON_INTENSITY, TableColumnType.Double),
+                )
+        }
+    }
+
+    private companion object {
+        /**
+         * The number of rows in the trace.
+         */
+        const val ROWS = 10
+    }
+}
@@ -0,0 +1,451 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.trace.formats.workload
+
+import org.apache.parquet.example.data.Group
+import org.apache.parquet.example.data.simple.SimpleGroupFactory
+import org.apache.parquet.hadoop.ParquetFileWriter
+import org.apache.parquet.hadoop.example.ExampleParquetWriter
+import org.apache.parquet.schema.MessageType
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Assertions.assertArrayEquals
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.BeforeEach
+import org.junit.jupiter.api.DisplayName
+import org.junit.jupiter.api.Nested
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertAll
+import org.junit.jupiter.api.assertThrows
+import org.junit.jupiter.params.ParameterizedTest
+import org.junit.jupiter.params.provider.ValueSource
+import org.opendc.trace.BatchTableReader
+import org.opendc.trace.TableColumn
+import org.opendc.trace.TableColumnType
+import org.opendc.trace.TablePredicate
+import org.opendc.trace.TableReader
+import org.opendc.trace.conv.FRAGMENT_CPU_USAGE
+import org.opendc.trace.conv.FRAGMENT_DURATION
+import org.opendc.trace.conv.FRAGMENT_GPU_USAGE
+import org.opendc.trace.conv.TABLE_FRAGMENTS
+import org.opendc.trace.conv.TABLE_TASKS
+import org.opendc.trace.conv.TASK_CHILDREN
+import org.opendc.trace.conv.TASK_CPU_CAPACITY
+import org.opendc.trace.conv.TASK_CPU_COUNT
+import org.opendc.trace.conv.TASK_DEADLINE
+import org.opendc.trace.conv.TASK_DEFERRABLE
+import org.opendc.trace.conv.TASK_DURATION
+import org.opendc.trace.conv.TASK_GPU_CAPACITY
+import org.opendc.trace.conv.TASK_GPU_COUNT
+import org.opendc.trace.conv.TASK_ID
+import org.opendc.trace.conv.TASK_MEM_CAPACITY
+import org.opendc.trace.conv.TASK_NAME
+import org.opendc.trace.conv.TASK_PARENTS
+import org.opendc.trace.conv.TASK_SUBMISSION_TIME
+import org.opendc.trace.formats.workload.parquet.FRAGMENT_SCHEMA
+import org.opendc.trace.formats.workload.parquet.TASK_SCHEMA
+import org.opendc.trace.testkit.BatchTableReaderTestKit
+import org.opendc.trace.util.RowBatchTableReader
+import org.opendc.trace.util.parquet.LocalOutputFile
+import java.nio.file.Files
+import java.nio.file.Path
+import java.time.Instant
+
+/**
+ * Test suite for the [WorkloadTraceFormat] class.
+ */
+@DisplayName("Workload TraceFormat")
+internal class WorkloadTraceFormatTest {
+    private val format = WorkloadTraceFormat()
+
+    private lateinit var path: Path
+
+    @BeforeEach
+    fun setUp() {
+        path = Files.createTempDirectory("opendc-trace")
+
+        writeTable(path.resolve("tasks.parquet"), TASK_SCHEMA, TASKS) { i ->
+            append("id", i)
+            if (i % 2 == 0) {
+                append("name", "task-$i")
+            }
+            append("submission_time", i * 1000L)
+            append("duration", 3_600_000L)
+            append("cpu_count", 1 + i % 4)
+            append("cpu_capacity", 2900.0 * (1 + i % 4))
+            append("mem_capacity", 1024L * (i + 1))
+            if (i % 3 == 0) {
+                append("gpu_count", 1)
+                append("gpu_capacity", 1200.0)
+            }
+
+            // Mix null lists, empty lists, null elements and duplicate elements
+            if (i % 5 != 0) {
+                val parents = addGroup("parents")
+                for (parent in i - 2 until i) {
+                    val element = parents.addGroup("list")
+                    if (parent >= 0) {
+                        element.append("element", parent)
+                    }
+                }
+            }
+            val children = addGroup("children")
+            if (i + 1 < TASKS) {
+                children.addGroup("list").append("element", i + 1)
+                children.addGroup("list").append("element", i + 1)
+            }
+
+            append("deferrable", i % 2 == 1)
+            append("deadline", i * 1000L + 7_200_000L)
+        }
+
+        writeTable(path.resolve("fragments.parquet"), FRAGMENT_SCHEMA, FRAGMENTS) { i ->
+            append("id", i / 100)
+            append("duration", 300_000L)
+            append("cpu_usage", (i % 10) * 10.0)
+            if (i % 2 == 0) {
+                append("gpu_usage", (i % 7) * 5.0)
+            }
+        }
+    }
+
+    @AfterEach
+    fun tearDown() {
+        path.toFile().deleteRecursively()
+    }
+
+    /**
+     * Test that the batches of the fragments table span multiple row groups.
+     */
+    @Test
+    fun testFragmentBatches() {
+        format.newBatchReader(path, TABLE_FRAGMENTS, null).use { reader ->
+            var rows = 0
+            while (true) {
+                val n = reader.nextBatch(256)
+                if (n == 0) {
+                    break
+                }
+
+                val ids = reader.getInts(TASK_ID)
+                val durations = reader.getLongs(FRAGMENT_DURATION)
+                val cpuUsages = reader.getDoubles(FRAGMENT_CPU_USAGE)
+                val gpuUsages = reader.getDoubles(FRAGMENT_GPU_USAGE)
+
+                for (i in 0 until n) {
+                    val row = rows + i
+                    assertAll(
+                        { assertEquals(row / 100, ids[i]) },
+                        { assertEquals(300_000L, durations[i]) },
+                        { assertEquals((row % 10) * 10.0, cpuUsages[i]) },
+                        { assertEquals(if (row % 2 == 0) (row % 7) * 5.0 else 0.0, gpuUsages[i]) },
+                    )
+                }
+
+                rows += n
+            }
+
+            assertEquals(FRAGMENTS, rows)
+        }
+    }
+
+    /**
+     * Test that columns outside the projection are not read.
+     */
+    @Test
+    fun testFragmentProjection() {
+        format.newBatchReader(path, TABLE_FRAGMENTS, listOf(TASK_ID, FRAGMENT_CPU_USAGE)).use { reader ->
+            val n = reader.nextBatch(10)
+
+            assertAll(
+                { assertEquals(10, n) },
+                { assertArrayEquals(IntArray(10), reader.getInts(TASK_ID).copyOf(n)) },
+                { assertArrayEquals(DoubleArray(10) { (it % 10) * 10.0 }, reader.getDoubles(FRAGMENT_CPU_USAGE).copyOf(n)) },
+                { assertArrayEquals(LongArray(10), reader.getLongs(FRAGMENT_DURATION).copyOf(n)) },
+            )
+        }
+    }
+
+    /**
+     * Test that the collection columns of the tasks table are exposed as offsets into an element vector.
+     */
+    @Test
+    fun testTaskRelations() {
+        format.newBatchReader(path, TABLE_TASKS, listOf(TASK_ID, TASK_PARENTS)).use { reader ->
+            val n = reader.nextBatch(4)
+            val offsets = reader.getOffsets(TASK_PARENTS)
+            val parents = reader.getInts(TASK_PARENTS)
+
+            assertAll(
+                { assertEquals(4, n) },
+                { assertArrayEquals(intArrayOf(0, 0, 1, 3, 5), offsets.copyOf(n + 1)) },
+                { assertArrayEquals(intArrayOf(0, 0, 1, 1, 2), parents.copyOf(offsets[n])) },
+            )
+        }
+    }
+
+    /**
+     * Test that a time window on the submission time only returns the tasks submitted in the window.
+     */
+    @ParameterizedTest
+    @ValueSource(ints = [1, 4])
+    fun testTaskTimeWindow(parallelism: Int) {
+        val format = WorkloadTraceFormat(parallelism)
+        val predicate = TablePredicate.between(TASK_SUBMISSION_TIME, Instant.ofEpochMilli(5000), Instant.ofEpochMilli(12_000))
+        val expected = (5 until 12).toList()
+
+        val rows = format.newReader(path, TABLE_TASKS, listOf(TASK_ID), predicate).use { it.readIds() }
+        val batches = format.newBatchReader(path, TABLE_TASKS, listOf(TASK_ID), predicate).use { it.readIds() }
+
+        assertAll(
+            { assertEquals(expected, rows) },
+            { assertEquals(expected, batches) },
+        )
+    }
+
+    /**
+     * Test that the collection columns of the tasks table remain aligned with their rows when rows are filtered.
+     */
+    @Test
+    fun testTaskRelationsFiltered() {
+        val predicate = TablePredicate.isIn(TASK_ID, listOf(2, 3, 5))
+
+        format.newBatchReader(path, TABLE_TASKS, listOf(TASK_ID, TASK_PARENTS), predicate).use { reader ->
+            val n = reader.nextBatch(16)
+            val offsets = reader.getOffsets(TASK_PARENTS)
+            val parents = reader.getInts(TASK_PARENTS)
+
+            assertAll(
+                { assertEquals(3, n) },
+                { assertArrayEquals(intArrayOf(2, 3, 5), reader.getInts(TASK_ID).copyOf(n)) },
+                { assertArrayEquals(intArrayOf(0, 2, 4, 4), offsets.copyOf(n + 1)) },
+                { assertArrayEquals(intArrayOf(0, 1, 1, 2), parents.copyOf(offsets[n])) },
+            )
+        }
+    }
+
+    /**
+     * Test that a predicate on the task identifier only returns the fragments of those tasks.
+     */
+    @ParameterizedTest
+    @ValueSource(ints = [1, 4])
+    fun testFragmentIdFilter(parallelism: Int) {
+        val format = WorkloadTraceFormat(parallelism)
+        val predicate = TablePredicate.isIn(TASK_ID, listOf(3, 7))
+        val expected = List(100) { 3 } + List(100) { 7 }
+
+        val rows = format.newReader(path, TABLE_FRAGMENTS, listOf(FRAGMENT_CPU_USAGE), predicate).use { it.readIds() }
+        val batches = format.newBatchReader(path, TABLE_FRAGMENTS, listOf(FRAGMENT_CPU_USAGE), predicate).use { it.readIds() }
+
+        assertAll(
+            { assertEquals(expected, rows) },
+            { assertEquals(expected, batches) },
+        )
+    }
+
+    /**
+     * Test that a predicate that matches no rows returns an empty table.
+     */
+    @Test
+    fun testEmptyFilter() {
+        val predicate = TablePredicate.isIn(TASK_ID, emptyList())
+
+        assertAll(
+            { assertFalse(format.newReader(path, TABLE_FRAGMENTS, null, predicate).use { it.nextRow() }) },
+            { assertEquals(0, format.newBatchReader(path, TABLE_FRAGMENTS, null, predicate).use { it.nextBatch(16) }) },
+        )
+    }
+
+    /**
+     * Test that predicates on columns that cannot be filtered are rejected.
+     */
+    @Test
+    fun testUnsupportedPredicate() {
+        val predicate = TablePredicate.between(TASK_SUBMISSION_TIME, Instant.EPOCH, null)
+
+        assertThrows<IllegalArgumentException> { format.newReader(path, TABLE_FRAGMENTS, null, predicate) }
+    }
+
+    /**
+     * Test that the row groups decoded in parallel are read in the order of the table.
+     */
+    @Test
+    fun testParallelRows() {
+        val parallelFormat = WorkloadTraceFormat(parallelism = 4)
+
+        for (table in listOf(TABLE_TASKS, TABLE_FRAGMENTS)) {
+            val expected = format.newReader(path, table, listOf(TASK_ID)).use { it.readIds() }
+            val actual = parallelFormat.newReader(path, table, listOf(TASK_ID)).use { it.readIds() }
+
+            assertEquals(expected, actual, "Table $table")
+        }
+    }
+
+    @Nested
+    @DisplayName("Tasks table")
+    inner class TasksTableReaderTest : BatchTableReaderTestKit() {
+        override lateinit var reader: BatchTableReader
+        override lateinit var rowReader: TableReader
+        override lateinit var columns: List<TableColumn>
+
+        @BeforeEach
+        fun setUpReader() {
+            reader = format.newBatchReader(path, TABLE_TASKS, null)
+            rowReader = format.newReader(path, TABLE_TASKS, null)
+            columns =
+                listOf(
+                    TableColumn(TASK_ID, TableColumnType.Int),
+                    TableColumn(TASK_NAME, TableColumnType.String),
+                    TableColumn(TASK_SUBMISSION_TIME, TableColumnType.Instant),
+                    TableColumn(TASK_DURATION, TableColumnType.Long),
+                    TableColumn(TASK_CPU_COUNT, TableColumnType.Int),
+                    TableColumn(TASK_CPU_CAPACITY, TableColumnType.Double),
+                    TableColumn(TASK_MEM_CAPACITY, TableColumnType.Double),
+                    TableColumn(TASK_GPU_COUNT, TableColumnType.Int),
+                    TableColumn(TASK_GPU_CAPACITY, TableColumnType.Double),
+                    TableColumn(TASK_PARENTS, TableColumnType.Set(TableColumnType.Int)),
+                    TableColumn(TASK_CHILDREN, TableColumnType.Set(TableColumnType.Int)),
+                    TableColumn(TASK_DEFERRABLE, TableColumnType.Boolean),
+                    TableColumn(TASK_DEADLINE, TableColumnType.Long),
+                )
+        }
+    }
+
+    @Nested
+    @DisplayName("Tasks table (row adapter)")
+    inner class RowTasksTableReaderTest : BatchTableReaderTestKit() {
+        override lateinit var reader: BatchTableReader
+        override lateinit var rowReader: TableReader
+        override lateinit var columns: List<TableColumn>
+
+        @BeforeEach
+        fun setUpReader() {
+            rowReader = format.newReader(path, TABLE_TASKS, null)
+            columns =
+                listOf(
+                    TableColumn(TASK_ID, TableColumnType.Int),
+                    TableColumn(TASK_NAME, TableColumnType.String),
+                    TableColumn(TASK_SUBMISSION_TIME, TableColumnType.Instant),
+                    TableColumn(TASK_DURATION, TableColumnType.Long),
+                    TableColumn(TASK_CPU_COUNT, TableColumnType.Int),
+                    TableColumn(TASK_CPU_CAPACITY, TableColumnType.Double),
+                    TableColumn(TASK_MEM_CAPACITY, TableColumnType.Double),
+                    TableColumn(TASK_GPU_COUNT, TableColumnType.Int),
+                    TableColumn(TASK_GPU_CAPACITY, TableColumnType.Double),
+                    TableColumn(TASK_PARENTS, TableColumnType.Set(TableColumnType.Int)),
+                    TableColumn(TASK_CHILDREN, TableColumnType.Set(TableColumnType.Int)),
+                    TableColumn(TASK_DEFERRABLE, TableColumnType.Boolean),
+                    TableColumn(TASK_DEADLINE, TableColumnType.Long),
+                )
+            reader = RowBatchTableReader(format.newReader(path, TABLE_TASKS, null), columns)
+        }
+    }
+
+    @Nested
+    @DisplayName("Fragments table")
+    inner class FragmentsTableReaderTest : BatchTableReaderTestKit() {
+        override lateinit var reader: BatchTableReader
+        override lateinit var rowReader: TableReader
+        override lateinit var columns: List<TableColumn>
+
+        @BeforeEach
+        fun setUpReader() {
+            reader = format.newBatchReader(path, TABLE_FRAGMENTS, null)
+            rowReader = format.newReader(path, TABLE_FRAGMENTS, null)
+            columns =
+                listOf(
+                    TableColumn(TASK_ID, TableColumnType.Int),
+                    TableColumn(FRAGMENT_DURATION, TableColumnType.Duration),
+                    TableColumn(FRAGMENT_CPU_USAGE, TableColumnType.Double),
+                    TableColumn(FRAGMENT_GPU_USAGE, TableColumnType.Double),
+                )
+        }
+    }
+
+    @Nested
+    @DisplayName("Fragments table (parallel)")
+    inner class ParallelFragmentsTableReaderTest : BatchTableReaderTestKit() {
+        override lateinit var reader: BatchTableReader
+        override lateinit var rowReader: TableReader
+        override lateinit var columns: List<TableColumn>
+
+        @BeforeEach
+        fun setUpReader() {
+            reader = WorkloadTraceFormat(parallelism = 4).newBatchReader(path, TABLE_FRAGMENTS, null)
+            rowReader = format.newReader(path, TABLE_FRAGMENTS, null)
+            columns =
+                listOf(
+                    TableColumn(TASK_ID, TableColumnType.Int),
+                    TableColumn(FRAGMENT_DURATION, TableColumnType.Duration),
+                    TableColumn(FRAGMENT_CPU_USAGE, TableColumnType.Double),
+                    TableColumn(FRAGMENT_GPU_USAGE, TableColumnType.Double),
+                )
+        }
+    }
+
+    /**
+     * Read the task identifiers of all remaining rows of the [TableReader].
+     */
+    private fun TableReader.readIds(): List<Int> {
+        val ids = mutableListOf<Int>()
+        while (nextRow()) {
+            ids.add(getInt(TASK_ID))
+        }
+        return ids
+    }
+
+    /**
+     * Write [rows] records of [schema] to the Parquet file at [path] using small row groups.
+     */
+    private fun writeTable(
+        path: Path,
+        schema: MessageType,
+        rows: Int,
+        block: Group.(Int) -> Unit,
+    ) {
+        val factory = SimpleGroupFactory(schema)
+        ExampleParquetWriter.builder(LocalOutputFile(path))
+            .withType(schema)
+            .withRowGroupSize(1024L)
+            .withMinRowCountForPageSizeCheck(1)
+            .withWriteMode(ParquetFileWriter.Mode.OVERWRITE)
+            .build()
+            .use { writer ->
+                for (i in 0 until rows) {
+                    writer.write(factory.newGroup().apply { block(i) })
+                }
+            }
+    }
+
+    private companion object {
+        /**
+         * The number of tasks in the trace.
+         */
+        const val TASKS = 20
+
+        /**
+         * The number of fragments in the trace.
+         */
+        const val FRAGMENTS = 1000
+    }
+}
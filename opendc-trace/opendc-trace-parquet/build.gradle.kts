@@ -25,6 +25,7 @@ description = "Parquet helpers for traces in OpenDC"
 // Build configuration
 plugins {
     `kotlin-library-conventions`
+    `benchmark-conventions`
     kotlin("plugin.serialization") version "2.3.20"
 }
 
@@ -64,4 +65,6 @@ dependencies {
     }
 
     testRuntimeOnly(libs.slf4j.simple)
+
+    jmhImplementation(projects.opendcTrace.opendcTraceApi)
 }
@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+
+package org.opendc.trace.util.parquet
+
+import org.apache.hadoop.conf.Configuration
+import org.apache.parquet.hadoop.ParquetFileWriter
+import org.apache.parquet.hadoop.api.WriteSupport
+import org.apache.parquet.io.api.RecordConsumer
+import org.opendc.trace.BatchTableReader
+import org.opendc.trace.conv.FRAGMENT_CPU_USAGE
+import org.opendc.trace.conv.FRAGMENT_DURATION
+import org.opendc.trace.conv.TABLE_FRAGMENTS
+import org.opendc.trace.conv.TASK_ID
+import org.opendc.trace.formats.workload.WorkloadTraceFormat
+import org.opendc.trace.formats.workload.parquet.FRAGMENT_SCHEMA
+import org.openjdk.jmh.annotations.Benchmark
+import org.openjdk.jmh.annotations.Fork
+import org.openjdk.jmh.annotations.Measurement
+import org.openjdk.jmh.annotations.OperationsPerInvocation
+import org.openjdk.jmh.annotations.Scope
+import org.openjdk.jmh.annotations.Setup
+import org.openjdk.jmh.annotations.State
+import org.openjdk.jmh.annotations.TearDown
+import org.openjdk.jmh.annotations.Warmup
+import java.nio.file.Files
+import java.nio.file.Path
+import java.util.concurrent.TimeUnit
+
+/**
+ * Benchmark suite for the Parquet I/O of OpenDC, measuring the number of fragment records written by a
+ * [ParquetDataWriter] and read through the fragment table of the [WorkloadTraceFormat] (row by row or in batches)
+ * per second.
+ */
+@State(Scope.Thread)
+@Fork(1)
+@Warmup(iterations = 2, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+class ParquetBenchmark {
+    private lateinit var directory: Path
+    private lateinit var trace: Path
+
+    @Setup
+    fun setUp() {
+        directory = Files.createTempDirectory("opendc-jmh")
+        trace = Files.createDirectory(directory.resolve("trace"))
+
+        LocalParquetWriter.builder(trace.resolve("fragments.parquet"), FragmentWriteSupport())
+            .withWriteMode(ParquetFileWriter.Mode.OVERWRITE)
+            .build()
+            .use { writer ->
+                for (i in 0 until RECORDS) {
+                    writer.write(fragment(i))
+                }
+            }
+    }
+
+    @TearDown
+    fun tearDown() {
+        directory.toFile().deleteRecursively()
+    }
+
+    /**
+     * Write [RECORDS] fragments using the background thread of a [ParquetDataWriter].
+     */
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    fun writeFragments() {
+        val writer = object : ParquetDataWriter<Fragment>(directory.resolve("out.parquet").toFile(), FragmentWriteSupport()) {}
+        writer.use {
+            for (i in 0 until RECORDS) {
+                it.write(fragment(i))
+            }
+        }
+    }
+
+    /**
+     * Read [RECORDS] fragments through the record materializer of the workload trace format.
+     */
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    fun readFragments(): Double {
+        var sum = 0.0
+        WorkloadTraceFormat().newReader(trace, TABLE_FRAGMENTS, null).use { reader ->
+            val colId = reader.resolve(TASK_ID)
+            val colDuration = reader.resolve(FRAGMENT_DURATION)
+            val colCpuUsage = reader.resolve(FRAGMENT_CPU_USAGE)
+
+            while (reader.nextRow()) {
+                sum += reader.getInt(colId) + reader.getDuration(colDuration)!!.toMillis() + reader.getDouble(colCpuUsage)
+            }
+        }
+        return sum
+    }
+
+    /**
+     * Read [RECORDS] fragments as primitive column vectors through the batch reader of the workload trace format.
+     */
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    fun readFragmentBatches(): Double {
+        var sum = 0.0
+        WorkloadTraceFormat().newBatchReader(trace, TABLE_FRAGMENTS, null).use { reader ->
+            val colId = reader.resolve(TASK_ID)
+            val colDuration = reader.resolve(FRAGMENT_DURATION)
+            val colCpuUsage = reader.resolve(FRAGMENT_CPU_USAGE)
+
+            while (true) {
+                val n = reader.nextBatch(BatchTableReader.DEFAULT_BATCH_SIZE)
+                if (n == 0) {
+                    break
+                }
+
+                val ids = reader.getInts(colId)
+                val durations = reader.getLongs(colDuration)
+                val cpuUsages = reader.getDoubles(colCpuUsage)
+                for (i in 0 until n) {
+                    sum += ids[i] + durations[i] + cpuUsages[i]
+                }
+            }
+        }
+        return sum
+    }
+
+    private fun fragment(i: Int): Fragment = Fragment(i / 1000, 300_000L, (i % 100) * 26.0)
+
+    /**
+     * A fragment record of the workload trace format.
+     */
+    private class Fragment(val id: Int, val duration: Long, val cpuUsage: Double)
+
+    /**
+     * A [WriteSupport] for [Fragment]s according to the fragment schema of the workload trace format.
+     */
+    private class FragmentWriteSupport : WriteSupport<Fragment>() {
+        private lateinit var recordConsumer: RecordConsumer
+
+        override fun init(configuration: Configuration): WriteContext = WriteContext(FRAGMENT_SCHEMA, emptyMap())
+
+        override fun prepareForWrite(recordConsumer: RecordConsumer) {
+            this.recordConsumer = recordConsumer
+        }
+
+        override fun write(record: Fragment) {
+            val consumer = recordConsumer
+            consumer.startMessage()
+
+            consumer.startField("id", 0)
+            consumer.addInteger(record.id)
+            consumer.endField("id", 0)
+
+            consumer.startField("duration", 1)
+            consumer.addLong(record.duration)
+            consumer.endField("duration", 1)
+
+            consumer.startField("cpu_usage", 2)
+            consumer.addDouble(record.cpuUsage)
+            consumer.endField("cpu_usage", 2)
+
+            consumer.endMessage()
+        }
+    }
+
+    private companion object {
+        /**
+         * The number of records written or read per invocation.
+         */
+        const val RECORDS = 100_000
+    }
+}
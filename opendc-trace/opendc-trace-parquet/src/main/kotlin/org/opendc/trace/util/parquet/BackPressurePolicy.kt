@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.trace.util.parquet
+
+/**
+ * The policy a [ParquetDataWriter] applies when its writer thread cannot keep up with the producer.
+ */
+public enum class BackPressurePolicy {
+    /**
+     * Block the producer until the writer thread has room for the records. No records are lost.
+     */
+    BLOCK,
+
+    /**
+     * Discard the records that do not fit in the buffer, keeping the producer running at full speed.
+     * The number of discarded records is reported through [ParquetDataWriter.droppedRecords].
+     */
+    DROP,
+
+    /**
+     * Never block nor discard, at the cost of an unbounded buffer that grows while the writer lags behind.
+     */
+    UNBOUNDED,
+}
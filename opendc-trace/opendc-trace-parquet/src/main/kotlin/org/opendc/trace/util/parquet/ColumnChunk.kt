@@ -0,0 +1,50 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.trace.util.parquet
+
+/**
+ * A chunk of records stored column-wise, which a [ParquetDataWriter] writes without materializing each record.
+ *
+ * The writer takes ownership of the chunk when it is handed over: the columns must not change until the writer
+ * thread calls [release], after which the owner may reuse them.
+ *
+ * @param T The type of the records in the chunk.
+ */
+public interface ColumnChunk<out T> {
+    /**
+     * The number of records in the chunk.
+     */
+    public val size: Int
+
+    /**
+     * Return a view of the record at [index], which is only valid until the next call and must not be retained.
+     *
+     * The view reads the values directly from the columns of the chunk.
+     */
+    public fun row(index: Int): T
+
+    /**
+     * Signal that the writer no longer reads from this chunk.
+     */
+    public fun release() {}
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+@file:JvmName("ColumnReaders")
+
+package org.opendc.trace.util.parquet
+
+import org.apache.parquet.column.ColumnReader
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName
+
+/**
+ * Decode the next [count] values of a flat column into [dst] starting at [offset].
+ *
+ * @param dst The buffer to write the values to.
+ * @param offset The index in [dst] of the first value to write.
+ * @param count The number of values to decode.
+ * @param default The value to write for `null` values or if the column is missing (the receiver is `null`).
+ */
+public fun ColumnReader?.readInts(
+    dst: IntArray,
+    offset: Int,
+    count: Int,
+    default: Int = 0,
+) {
+    if (this == null) {
+        dst.fill(default, offset, offset + count)
+        return
+    }
+
+    val maxDef = descriptor.maxDefinitionLevel
+    require(descriptor.primitiveType.primitiveTypeName == PrimitiveTypeName.INT32) {
+        "Column $descriptor is not of type INT32"
+    }
+
+    for (i in offset until offset + count) {
+        dst[i] = if (currentDefinitionLevel == maxDef) integer else default
+        consume()
+    }
+}
+
+/**
+ * Decode the next [count] values of a flat `INT32` or `INT64` column into [dst] starting at [offset].
+ *
+ * @param dst The buffer to write the values to.
+ * @param offset The index in [dst] of the first value to write.
+ * @param count The number of values to decode.
+ * @param default The value to write for `null` values or if the column is missing (the receiver is `null`).
+ */
+public fun ColumnReader?.readLongs(
+    dst: LongArray,
+    offset: Int,
+    count: Int,
+    default: Long = 0L,
+) {
+    if (this == null) {
+        dst.fill(default, offset, offset + count)
+        return
+    }
+
+    val maxDef = descriptor.maxDefinitionLevel
+    val type = descriptor.primitiveType.primitiveTypeName
+    require(type == PrimitiveTypeName.INT64 || type == PrimitiveTypeName.INT32) {
+        "Column $descriptor is not of an integral type"
+    }
+
+    for (i in offset until offset + count) {
+        dst[i] =
+            when {
+                currentDefinitionLevel != maxDef -> default
+                type == PrimitiveTypeName.INT64 -> long
+                else -> integer.toLong()
+            }
+        consume()
+    }
+}
+
+/**
+ * Decode the next [count] values of a flat numeric column into [dst] starting at [offset].
+ *
+ * Integral and single-precision columns are widened to `double`, since older traces store some of the double
+ * columns as integers.
+ *
+ * @param dst The buffer to write the values to.
+ * @param offset The index in [dst] of the first value to write.
+ * @param count The number of values to decode.
+ * @param default The value to write for `null` values or if the column is missing (the receiver is `null`).
+ */
+public fun ColumnReader?.readDoubles(
+    dst: DoubleArray,
+    offset: Int,
+    count: Int,
+    default: Double = 0.0,
+) {
+    if (this == null) {
+        dst.fill(default, offset, offset + count)
+        return
+    }
+
+    val maxDef = descriptor.maxDefinitionLevel
+    val type = descriptor.primitiveType.primitiveTypeName
+    require(
+        type == PrimitiveTypeName.DOUBLE ||
+            type == PrimitiveTypeName.FLOAT ||
+            type == PrimitiveTypeName.INT64 ||
+            type == PrimitiveTypeName.INT32,
+    ) { "Column $descriptor is not of a numeric type" }
+
+    for (i in offset until offset + count) {
+        dst[i] =
+            when {
+                currentDefinitionLevel != maxDef -> default
+                type == PrimitiveTypeName.DOUBLE -> double
+                type == PrimitiveTypeName.FLOAT -> float.toDouble()
+                type == PrimitiveTypeName.INT64 -> long.toDouble()
+                else -> integer.toDouble()
+            }
+        consume()
+    }
+}
+
+/**
+ * Decode the next [count] values of a flat `BOOLEAN` column into [dst] starting at [offset].
+ *
+ * @param dst The buffer to write the values to.
+ * @param offset The index in [dst] of the first value to write.
+ * @param count The number of values to decode.
+ * @param default The value to write for `null` values or if the column is missing (the receiver is `null`).
+ */
+public fun ColumnReader?.readBooleans(
+    dst: BooleanArray,
+    offset: Int,
+    count: Int,
+    default: Boolean = false,
+) {
+    if (this == null) {
+        dst.fill(default, offset, offset + count)
+        return
+    }
+
+    val maxDef = descriptor.maxDefinitionLevel
+    require(descriptor.primitiveType.primitiveTypeName == PrimitiveTypeName.BOOLEAN) {
+        "Column $descriptor is not of type BOOLEAN"
+    }
+
+    for (i in offset until offset + count) {
+        dst[i] = if (currentDefinitionLevel == maxDef) boolean else default
+        consume()
+    }
+}
+
+/**
+ * Decode the next [count] values of a flat UTF-8 `BINARY` column into [dst] starting at [offset].
+ *
+ * @param dst The buffer to write the values to.
+ * @param offset The index in [dst] of the first value to write.
+ * @param count The number of values to decode.
+ */
+public fun ColumnReader?.readStrings(
+    dst: Array<String?>,
+    offset: Int,
+    count: Int,
+) {
+    if (this == null) {
+        dst.fill(null, offset, offset + count)
+        return
+    }
+
+    val maxDef = descriptor.maxDefinitionLevel
+    require(descriptor.primitiveType.primitiveTypeName == PrimitiveTypeName.BINARY) {
+        "Column $descriptor is not of type BINARY"
+    }
+
+    for (i in offset until offset + count) {
+        dst[i] = if (currentDefinitionLevel == maxDef) binary.toStringUsingUTF8() else null
+        consume()
+    }
+}
+
+/**
+ * Decode the next [count] rows of a repeated `INT32` column (such as the elements of a list) into [values].
+ *
+ * The elements of row `i` are stored in `values[offsets[offset + i] until offsets[offset + i + 1]]`, where the
+ * caller must initialize `offsets[offset]` to the position of the first element to write. Rows that are `null` or
+ * empty, as well as `null` elements, do not produce any values.
+ *
+ * @param offsets The buffer to write the end offsets of the rows to.
+ * @param offset The index in [offsets] of the first row to decode.
+ * @param count The number of rows to decode.
+ * @param values The buffer to write the elements to.
+ * @return The buffer holding the elements, which is a larger copy of [values] if the elements did not fit.
+ */
+public fun ColumnReader?.readIntLists(
+    offsets: IntArray,
+    offset: Int,
+    count: Int,
+    values: IntArray,
+): IntArray {
+    var pos = offsets[offset]
+    if (this == null) {
+        offsets.fill(pos, offset + 1, offset + count + 1)
+        return values
+    }
+
+    var dst = values
+    val maxDef = descriptor.maxDefinitionLevel
+    require(descriptor.primitiveType.primitiveTypeName == PrimitiveTypeName.INT32) {
+        "Column $descriptor is not of type INT32"
+    }
+
+    for (i in offset until offset + count) {
+        // The first entry of a row has repetition level zero, the remaining entries a positive repetition level
+        do {
+            if (currentDefinitionLevel == maxDef) {
+                if (pos == dst.size) {
+                    dst = dst.copyOf(maxOf(16, dst.size * 2))
+                }
+                dst[pos++] = integer
+            }
+            consume()
+        } while (currentRepetitionLevel > 0)
+
+        offsets[i + 1] = pos
+    }
+
+    return dst
+}
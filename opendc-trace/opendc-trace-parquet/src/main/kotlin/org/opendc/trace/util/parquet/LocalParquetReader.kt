@@ -22,9 +22,15 @@
 
 package org.opendc.trace.util.parquet
 
+import org.apache.hadoop.conf.Configuration
+import org.apache.parquet.filter2.compat.FilterCompat
 import org.apache.parquet.hadoop.ParquetReader
+import org.apache.parquet.hadoop.api.InitContext
 import org.apache.parquet.hadoop.api.ReadSupport
+import org.apache.parquet.hadoop.metadata.FileMetaData
+import org.apache.parquet.io.ColumnIOFactory
 import org.apache.parquet.io.InputFile
+import org.apache.parquet.schema.MessageType
 import java.io.File
 import java.io.IOException
 import java.nio.file.Files
@@ -34,22 +40,48 @@ import kotlin.io.path.isDirectory
 /**
  * A helper class to read Parquet files from the filesystem.
  *
- * This class wraps a [ParquetReader] in order to support reading partitioned Parquet datasets.
+ * This class wraps a [ParquetReader] in order to support reading partitioned Parquet datasets. With a [parallelism]
+ * larger than one, the row groups of the dataset are instead assembled into records on a bounded pool of threads by a
+ * [LocalParquetRowGroupReader].
  *
  * @param path The path to the Parquet file or directory to read.
  * @param readSupport Helper class to perform conversion from Parquet to [T].
  * @param strictTyping A flag to disable strict typing of primitive types.
+ * @param parallelism The number of threads to assemble records on, or one to read on the calling thread.
+ * @param ordered A flag to indicate that records should be returned in the order of the dataset. If `false`, the
+ * records of a row group are returned as soon as the row group is assembled (only applies if [parallelism] > 1).
+ * @param filter A filter to skip row groups based on their column statistics and records that do not match.
  */
 public class LocalParquetReader<out T>(
     path: Path,
     private val readSupport: ReadSupport<T>,
     private val strictTyping: Boolean = true,
+    parallelism: Int = 1,
+    ordered: Boolean = true,
+    private val filter: FilterCompat.Filter = FilterCompat.NOOP,
 ) : AutoCloseable {
+    /**
+     * The reader of the row groups if records are assembled in parallel.
+     */
+    private val rowGroups =
+        if (parallelism > 1) {
+            LocalParquetRowGroupReader(path, RecordDecoder(), parallelism, ordered, filter)
+        } else {
+            null
+        }
+
+    /**
+     * The remaining records of the current row group if records are assembled in parallel.
+     */
+    private var records: Iterator<T> = emptyList<T>().iterator()
+
     /**
      * The input files to process.
      */
     private val filesIterator =
-        if (path.isDirectory()) {
+        if (rowGroups != null) {
+            emptyList<LocalInputFile>().iterator()
+        } else if (path.isDirectory()) {
             Files.list(path)
                 .filter { !it.isDirectory() }
                 .sorted()
@@ -73,6 +105,10 @@ public class LocalParquetReader<out T>(
      * Read a single entry in the Parquet file.
      */
     public fun read(): T? {
+        if (rowGroups != null) {
+            return readParallel(rowGroups)
+        }
+
         return try {
             val next = reader?.read()
             if (next != null) {
@@ -96,6 +132,18 @@ public class LocalParquetReader<out T>(
      */
     override fun close() {
         reader?.close()
+        rowGroups?.close()
+    }
+
+    /**
+     * Read a single entry from the row groups assembled in parallel.
+     */
+    private fun readParallel(rowGroups: LocalParquetRowGroupReader<List<T>>): T? {
+        while (!records.hasNext()) {
+            records = (rowGroups.read() ?: return null).iterator()
+        }
+
+        return records.next()
     }
 
     /**
@@ -125,6 +173,49 @@ public class LocalParquetReader<out T>(
             override fun getReadSupport(): ReadSupport<@UnsafeVariance T> = this@LocalParquetReader.readSupport
         }
             .set("parquet.strict.typing", strictTyping.toString())
+            .withFilter(filter)
             .build()
     }
+
+    /**
+     * A [ParquetRowGroupDecoder] that assembles all records of a row group using the [ReadSupport] of this reader.
+     */
+    private inner class RecordDecoder : ParquetRowGroupDecoder<List<T>> {
+        /**
+         * The (empty) Hadoop configuration passed to the [ReadSupport].
+         */
+        private val configuration = Configuration(false)
+
+        override fun requestSchema(fileMetaData: FileMetaData): MessageType = init(fileMetaData).requestedSchema
+
+        override fun decode(rowGroup: ParquetRowGroup): List<T> {
+            val fileMetaData = rowGroup.fileMetaData
+            val readContext = init(fileMetaData)
+            val materializer =
+                readSupport.prepareForRead(configuration, fileMetaData.keyValueMetaData, fileMetaData.schema, readContext)
+            val columnIO =
+                ColumnIOFactory(fileMetaData.createdBy).getColumnIO(rowGroup.schema, fileMetaData.schema, strictTyping)
+            val recordReader = columnIO.getRecordReader(rowGroup.pages, materializer, filter)
+
+            val rowCount = rowGroup.rowCount
+            val records = ArrayList<T>(rowCount.toInt())
+            for (i in 0 until rowCount) {
+                val record = recordReader.read()
+
+                // Records that do not match the filter are reported as null
+                if (record != null && !recordReader.shouldSkipCurrentRecord()) {
+                    records.add(record)
+                }
+            }
+            return records
+        }
+
+        /**
+         * Initialize the [ReadSupport] for a file with the specified [fileMetaData].
+         */
+        private fun init(fileMetaData: FileMetaData): ReadSupport.ReadContext {
+            val keyValueMetaData = fileMetaData.keyValueMetaData.mapValues { setOf(it.value) }
+            return readSupport.init(InitContext(configuration, keyValueMetaData, fileMetaData.schema))
+        }
+    }
 }
@@ -0,0 +1,300 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.trace.util.parquet
+
+import org.apache.parquet.ParquetReadOptions
+import org.apache.parquet.filter2.compat.FilterCompat
+import org.apache.parquet.hadoop.ParquetFileReader
+import org.apache.parquet.schema.MessageType
+import java.io.IOException
+import java.io.InterruptedIOException
+import java.nio.file.Files
+import java.nio.file.NoSuchFileException
+import java.nio.file.Path
+import java.util.concurrent.ExecutionException
+import java.util.concurrent.ExecutorCompletionService
+import java.util.concurrent.ExecutorService
+import java.util.concurrent.Executors
+import java.util.concurrent.Future
+import kotlin.io.path.exists
+import kotlin.io.path.isDirectory
+
+/**
+ * A helper class to read the row groups of Parquet files from the filesystem, optionally decoding them in parallel.
+ *
+ * Like [LocalParquetReader], this class supports partitioned Parquet datasets, whose files are read in the order of
+ * their names. With a [parallelism] larger than one, the row groups of all files are read and decoded on a bounded
+ * pool of [parallelism] threads, with at most two row groups per thread in flight.
+ *
+ * @param path The path to the Parquet file or directory to read.
+ * @param decoder The [ParquetRowGroupDecoder] to convert the row groups into values of type [T].
+ * @param parallelism The number of threads to decode the row groups on, or one to decode on the calling thread.
+ * @param ordered A flag to indicate that [read] should return the row groups in the order of the dataset. If `false`,
+ * row groups are returned as soon as they are decoded.
+ * @param filter A filter to skip row groups whose column statistics or dictionaries do not match, as well as the pages
+ * of the remaining row groups whose column index does not match. The rows of a decoded row group may therefore still
+ * include rows that do not match the filter.
+ */
+public class LocalParquetRowGroupReader<out T>(
+    path: Path,
+    private val decoder: ParquetRowGroupDecoder<T>,
+    parallelism: Int = 1,
+    private val ordered: Boolean = true,
+    private val filter: FilterCompat.Filter = FilterCompat.NOOP,
+) : AutoCloseable {
+    init {
+        require(parallelism > 0) { "Parallelism must be positive" }
+    }
+
+    /**
+     * The input files to process.
+     */
+    private val filesIterator =
+        if (path.isDirectory()) {
+            Files.list(path).use { files -> files.filter { !it.isDirectory() }.sorted().toList() }.iterator()
+        } else if (path.exists()) {
+            listOf(path).iterator()
+        } else {
+            throw NoSuchFileException(path.toString())
+        }
+
+    /**
+     * The reader of the current file if row groups are decoded on the calling thread.
+     */
+    private var reader: ParquetFileReader? = null
+
+    /**
+     * The schema requested from the current file if row groups are decoded on the calling thread.
+     */
+    private var schema: MessageType? = null
+
+    /**
+     * The executor to decode the row groups on or `null` if row groups are decoded on the calling thread.
+     */
+    private val executor: ExecutorService? =
+        if (parallelism > 1) {
+            Executors.newFixedThreadPool(parallelism) { runnable ->
+                Thread(runnable, "opendc-parquet-reader").apply { isDaemon = true }
+            }
+        } else {
+            null
+        }
+
+    /**
+     * The service that collects the row groups in the order of completion.
+     */
+    private val completionService = executor?.let { ExecutorCompletionService<@UnsafeVariance T>(it) }
+
+    /**
+     * The row groups that are being decoded, in the order of the dataset.
+     */
+    private val pending = ArrayDeque<Future<@UnsafeVariance T>>()
+
+    /**
+     * The row groups that have been found, but not yet submitted for decoding.
+     */
+    private val rowGroups = ArrayDeque<Pair<Path, Int>>()
+
+    /**
+     * The maximum number of row groups that are in flight.
+     */
+    private val window = 2 * parallelism
+
+    /**
+     * The number of row groups that are being decoded.
+     */
+    private var inFlight = 0
+
+    /**
+     * A flag to indicate that the reader has been closed.
+     */
+    private var isClosed = false
+
+    /**
+     * Read and decode the next row group of the dataset.
+     *
+     * @return The decoded row group or `null` if all row groups have been read.
+     */
+    public fun read(): T? {
+        if (isClosed) {
+            return null
+        }
+
+        return if (executor == null) readSequential() else readParallel()
+    }
+
+    /**
+     * Close the reader and stop decoding row groups.
+     */
+    override fun close() {
+        isClosed = true
+
+        reader?.close()
+        reader = null
+
+        executor?.shutdownNow()
+        pending.clear()
+        rowGroups.clear()
+        inFlight = 0
+    }
+
+    /**
+     * Read the next row group on the calling thread.
+     */
+    private fun readSequential(): T? {
+        while (true) {
+            val reader = reader ?: openNextFile() ?: return null
+            val pages = reader.readNextFilteredRowGroup()
+
+            if (pages == null) {
+                reader.close()
+                this.reader = null
+                continue
+            } else if (pages.rowCount == 0L) {
+                continue
+            }
+
+            return decoder.decode(ParquetRowGroup(reader.fileMetaData, checkNotNull(schema), pages))
+        }
+    }
+
+    /**
+     * Open the next file of the dataset for reading on the calling thread.
+     */
+    private fun openNextFile(): ParquetFileReader? {
+        if (!filesIterator.hasNext()) {
+            return null
+        }
+
+        val reader = open(filesIterator.next())
+        try {
+            val schema = decoder.requestSchema(reader.fileMetaData)
+            reader.setRequestedSchema(schema)
+
+            this.reader = reader
+            this.schema = schema
+            return reader
+        } catch (e: Throwable) {
+            reader.close()
+            throw e
+        }
+    }
+
+    /**
+     * Obtain the next row group decoded by the thread pool.
+     */
+    private fun readParallel(): T? {
+        submitRowGroups()
+
+        if (inFlight == 0) {
+            return null
+        }
+
+        val future = if (ordered) pending.removeFirst() else checkNotNull(completionService).take()
+        inFlight--
+
+        // Keep the pool busy while the caller processes this row group
+        submitRowGroups()
+
+        return try {
+            future.get()
+        } catch (e: ExecutionException) {
+            throw e.cause ?: e
+        } catch (e: InterruptedException) {
+            throw InterruptedIOException().initCause(e)
+        }
+    }
+
+    /**
+     * Submit row groups for decoding until the window is full or all row groups have been submitted.
+     */
+    private fun submitRowGroups() {
+        val executor = checkNotNull(executor)
+
+        while (inFlight < window) {
+            // Files may have no (matching) row groups, so keep looking until one is found
+            while (rowGroups.isEmpty() && findRowGroups()) {
+                continue
+            }
+
+            if (rowGroups.isEmpty()) {
+                break
+            }
+
+            val (file, index) = rowGroups.removeFirst()
+            val task = { decodeRowGroup(file, index) }
+            val future = if (ordered) executor.submit(task) else checkNotNull(completionService).submit(task)
+
+            if (ordered) {
+                pending.addLast(future)
+            }
+            inFlight++
+        }
+    }
+
+    /**
+     * Find the non-empty row groups of the next file that match the filter.
+     *
+     * @return `true` if the next file was processed, `false` if all files have been processed.
+     */
+    private fun findRowGroups(): Boolean {
+        if (!filesIterator.hasNext()) {
+            return false
+        }
+
+        val file = filesIterator.next()
+        open(file).use { reader ->
+            for ((index, block) in reader.rowGroups.withIndex()) {
+                if (block.rowCount > 0) {
+                    rowGroups.addLast(file to index)
+                }
+            }
+        }
+        return true
+    }
+
+    /**
+     * Read and decode the row group at [index] of [file] on a thread of the pool.
+     */
+    private fun decodeRowGroup(
+        file: Path,
+        index: Int,
+    ): T {
+        // Each task opens its own reader, since readers and their decompressors cannot be shared between threads
+        return open(file).use { reader ->
+            val schema = decoder.requestSchema(reader.fileMetaData)
+            reader.setRequestedSchema(schema)
+
+            val pages = reader.readFilteredRowGroup(index) ?: throw IOException("Row group $index of $file is missing")
+            decoder.decode(ParquetRowGroup(reader.fileMetaData, schema, pages))
+        }
+    }
+
+    /**
+     * Open a [ParquetFileReader] for [file], which only exposes the row groups that match the filter.
+     */
+    private fun open(file: Path): ParquetFileReader {
+        val options = ParquetReadOptions.builder().withRecordFilter(filter).build()
+        return ParquetFileReader.open(LocalInputFile(file), options)
+    }
+}
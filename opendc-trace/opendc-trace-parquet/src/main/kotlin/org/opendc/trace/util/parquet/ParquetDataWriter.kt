@@ -19,7 +19,6 @@
  * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
  * SOFTWARE.
  */
-
 package org.opendc.trace.util.parquet
 
 import mu.KotlinLogging
@@ -31,18 +30,28 @@ import org.apache.parquet.hadoop.metadata.CompressionCodecName
 import java.io.File
 import java.util.concurrent.ArrayBlockingQueue
 import java.util.concurrent.BlockingQueue
+import java.util.concurrent.LinkedBlockingQueue
 import kotlin.concurrent.thread
 
 /**
  * A writer that writes data in Parquet format.
  *
+ * Records are handed to a background thread in chunks of [batchSize] records rather than one at a time, so
+ * that the cost of synchronizing with the writer thread is amortized over the whole chunk. Use [writeAll] to
+ * hand off a group of records (e.g., all rows of an export tick) at once.
+ *
  * @param path The path to the file to write the data to.
  * @param writeSupport The [WriteSupport] implementation for converting the records to Parquet format.
+ * @param bufferSize The (approximate) number of records that may be pending for the writer thread.
+ * @param batchSize The number of records [write] collects before handing them to the writer thread.
+ * @param backPressure The policy to apply when the buffer of the writer thread is full.
  */
 public abstract class ParquetDataWriter<in T>(
     path: File,
     private val writeSupport: WriteSupport<T>,
     bufferSize: Int = 4096,
+    private val batchSize: Int = 256,
+    private val backPressure: BackPressurePolicy = BackPressurePolicy.BLOCK,
 ) : AutoCloseable {
     /**
      * The logging instance to use.
@@ -50,13 +59,29 @@ public abstract class ParquetDataWriter<in T>(
     private val logger = KotlinLogging.logger {}
 
     /**
-     * The queue of records to process.
+     * The queue of record chunks to process.
+     */
+    private val queue: BlockingQueue<ColumnChunk<T>> =
+        when (backPressure) {
+            BackPressurePolicy.UNBOUNDED -> LinkedBlockingQueue()
+            else -> ArrayBlockingQueue(maxOf(1, bufferSize / maxOf(1, batchSize)))
+        }
+
+    /**
+     * The chunk of records that has not yet been handed to the writer thread.
      */
-    private val queue: BlockingQueue<T> = ArrayBlockingQueue(bufferSize)
+    private var pending = ArrayList<T>()
+
+    /**
+     * The number of records that were discarded due to the [BackPressurePolicy.DROP] policy.
+     */
+    public var droppedRecords: Long = 0L
+        private set
 
     /**
      * An exception to be propagated to the actual writer.
      */
+    @Volatile
     private var exception: Throwable? = null
 
     /**
@@ -75,20 +100,20 @@ public abstract class ParquetDataWriter<in T>(
                 }
 
             val queue = queue
-            val buf = mutableListOf<T>()
+            val buf = mutableListOf<ColumnChunk<T>>()
             var shouldStop = false
 
             try {
                 while (!shouldStop) {
                     try {
-                        writer.write(queue.take())
+                        writeChunk(writer, queue.take())
                     } catch (e: InterruptedException) {
                         shouldStop = true
                     }
 
                     if (queue.drainTo(buf) > 0) {
-                        for (data in buf) {
-                            writer.write(data)
+                        for (chunk in buf) {
+                            writeChunk(writer, chunk)
                         }
                         buf.clear()
                     }
@@ -111,24 +136,133 @@ public abstract class ParquetDataWriter<in T>(
     /**
      * Write the specified metrics to the database.
      */
+    @Synchronized
     public fun write(data: T) {
-        val exception = exception
-        if (exception != null) {
-            throw IllegalStateException("Writer thread failed", exception)
+        checkWriter()
+
+        val pending = pending
+        pending.add(data)
+        if (pending.size >= batchSize) {
+            flushPending()
+        }
+    }
+
+    /**
+     * Write the specified [records] to the database, handing them to the writer thread as a single chunk.
+     *
+     * The collection is copied, so the caller may reuse it once this method returns.
+     */
+    @Synchronized
+    public fun writeAll(records: Collection<T>) {
+        checkWriter()
+
+        if (records.isEmpty()) {
+            return
         }
 
-        queue.put(data)
+        flushPending()
+        enqueue(RecordChunk(ArrayList(records)))
+    }
+
+    /**
+     * Write the records of the specified [chunk] to the database, handing the chunk itself to the writer thread.
+     *
+     * The records are read from the columns of the chunk on the writer thread, so no record is copied. The writer
+     * owns the chunk until it calls [ColumnChunk.release], which also happens when the chunk is empty or dropped.
+     */
+    @Synchronized
+    public fun writeAll(chunk: ColumnChunk<T>) {
+        checkWriter()
+
+        if (chunk.size == 0) {
+            chunk.release()
+            return
+        }
+
+        flushPending()
+        enqueue(chunk)
     }
 
     /**
      * Signal the writer to stop.
      */
+    @Synchronized
     override fun close() {
+        flushPending()
+
+        if (droppedRecords > 0) {
+            logger.warn { "Parquet data writer dropped $droppedRecords records due to back-pressure" }
+        }
+
         writerThread.interrupt()
         writerThread.join()
     }
 
+    /**
+     * Throw if the writer thread has failed.
+     */
+    private fun checkWriter() {
+        val exception = exception
+        if (exception != null) {
+            throw IllegalStateException("Writer thread failed", exception)
+        }
+    }
+
+    /**
+     * Hand the pending records to the writer thread.
+     */
+    private fun flushPending() {
+        val chunk = pending
+        if (chunk.isEmpty()) {
+            return
+        }
+
+        pending = ArrayList(batchSize)
+        enqueue(RecordChunk(chunk))
+    }
+
+    /**
+     * Hand the specified [chunk] to the writer thread according to the [backPressure] policy.
+     */
+    private fun enqueue(chunk: ColumnChunk<T>) {
+        when (backPressure) {
+            BackPressurePolicy.BLOCK, BackPressurePolicy.UNBOUNDED -> queue.put(chunk)
+            BackPressurePolicy.DROP ->
+                if (!queue.offer(chunk)) {
+                    droppedRecords += chunk.size
+                    chunk.release()
+                }
+        }
+    }
+
+    /**
+     * Write the records of [chunk] with [writer] and release the chunk.
+     */
+    private fun writeChunk(
+        writer: ParquetWriter<T>,
+        chunk: ColumnChunk<T>,
+    ) {
+        try {
+            for (i in 0 until chunk.size) {
+                writer.write(chunk.row(i))
+            }
+        } finally {
+            chunk.release()
+        }
+    }
+
+    /**
+     * A [ColumnChunk] over records that are already materialized.
+     */
+    private class RecordChunk<T>(private val records: List<T>) : ColumnChunk<T> {
+        override val size: Int
+            get() = records.size
+
+        override fun row(index: Int): T = records[index]
+    }
+
     init {
+        require(batchSize > 0) { "Batch size must be positive" }
         writerThread.start()
     }
 }
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.trace.util.parquet
+
+import org.apache.parquet.column.ColumnReader
+import org.apache.parquet.column.impl.ColumnReadStoreImpl
+import org.apache.parquet.column.page.PageReadStore
+import org.apache.parquet.hadoop.metadata.FileMetaData
+import org.apache.parquet.io.api.Converter
+import org.apache.parquet.io.api.GroupConverter
+import org.apache.parquet.io.api.PrimitiveConverter
+import org.apache.parquet.schema.GroupType
+import org.apache.parquet.schema.MessageType
+
+/**
+ * A row group of a Parquet file that has been read from disk, but not yet decoded.
+ *
+ * @property fileMetaData The metadata of the file containing the row group.
+ * @property schema The schema of the columns that were read from the file.
+ * @property pages The pages of the columns in the row group.
+ */
+public class ParquetRowGroup internal constructor(
+    public val fileMetaData: FileMetaData,
+    public val schema: MessageType,
+    public val pages: PageReadStore,
+) {
+    /**
+     * The number of rows in the row group.
+     */
+    public val rowCount: Long
+        get() = pages.rowCount
+
+    /**
+     * The column readers of this row group.
+     */
+    private val store by lazy(LazyThreadSafetyMode.NONE) {
+        ColumnReadStoreImpl(pages, NoopGroupConverter(schema), schema, fileMetaData.createdBy)
+    }
+
+    /**
+     * Obtain a [ColumnReader] for the column at [path].
+     *
+     * Note that each invocation returns a new [ColumnReader] positioned at the start of the row group.
+     *
+     * @param path The path of the column in the schema, e.g., `"parents", "list", "element"` for a list column.
+     * @return The [ColumnReader] for the column or `null` if the column was not read from the file.
+     */
+    public fun getColumnReader(vararg path: String): ColumnReader? {
+        if (!schema.containsPath(path)) {
+            return null
+        }
+
+        return store.getColumnReader(schema.getColumnDescription(path))
+    }
+
+    override fun toString(): String = "ParquetRowGroup[rows=$rowCount]"
+
+    /**
+     * A [GroupConverter] that is required by [ColumnReadStoreImpl], but never receives values since the column readers
+     * are only accessed through their primitive getters.
+     */
+    private class NoopGroupConverter(type: GroupType) : GroupConverter() {
+        private val converters: List<Converter> =
+            type.fields.map { if (it.isPrimitive) NoopPrimitiveConverter else NoopGroupConverter(it.asGroupType()) }
+
+        override fun getConverter(fieldIndex: Int): Converter = converters[fieldIndex]
+
+        override fun start() {}
+
+        override fun end() {}
+    }
+
+    /**
+     * A [PrimitiveConverter] that ignores all values.
+     */
+    private object NoopPrimitiveConverter : PrimitiveConverter()
+}
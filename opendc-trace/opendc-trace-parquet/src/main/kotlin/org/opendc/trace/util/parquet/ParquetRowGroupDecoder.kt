@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.trace.util.parquet
+
+import org.apache.parquet.hadoop.metadata.FileMetaData
+import org.apache.parquet.schema.MessageType
+
+/**
+ * A strategy for decoding the [ParquetRowGroup]s read by a [LocalParquetRowGroupReader] into values of type [T].
+ *
+ * When the reader decodes row groups in parallel, the methods of this interface are invoked concurrently from
+ * multiple threads, so implementations should not share mutable state between invocations.
+ */
+public interface ParquetRowGroupDecoder<out T> {
+    /**
+     * Select the columns to read from a file with the specified [fileMetaData].
+     *
+     * @return The (projected) schema of the columns to read.
+     */
+    public fun requestSchema(fileMetaData: FileMetaData): MessageType
+
+    /**
+     * Decode the specified [rowGroup].
+     */
+    public fun decode(rowGroup: ParquetRowGroup): T
+
+    public companion object {
+        /**
+         * Select the top-level fields of [schema] that are present in [fileSchema], using the types as stored in the
+         * file. This allows decoders to read older files that lack some columns or store them with other types.
+         */
+        @JvmStatic
+        public fun selectColumns(
+            schema: MessageType,
+            fileSchema: MessageType,
+        ): MessageType {
+            val fields = schema.fields.filter { fileSchema.containsField(it.name) }.map { fileSchema.getType(it.name) }
+            return MessageType(schema.name, fields)
+        }
+    }
+}
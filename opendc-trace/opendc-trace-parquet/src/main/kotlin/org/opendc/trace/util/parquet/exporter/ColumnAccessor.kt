@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.trace.util.parquet.exporter
+
+/**
+ * A typed accessor that retrieves the value of an [ExportColumn] from an [Exportable] without boxing it.
+ *
+ * Columns built with one of the typed factories (e.g. [ExportColumn.ofLong]) carry such an accessor,
+ * which the [Exporter] uses to write the value straight to parquet.
+ */
+public sealed interface ColumnAccessor<in T : Exportable>
+
+/**
+ * A [ColumnAccessor] for `INT32` columns.
+ */
+public fun interface IntColumnAccessor<in T : Exportable> : ColumnAccessor<T> {
+    public fun getInt(exportable: T): Int
+}
+
+/**
+ * A [ColumnAccessor] for `INT64` columns.
+ */
+public fun interface LongColumnAccessor<in T : Exportable> : ColumnAccessor<T> {
+    public fun getLong(exportable: T): Long
+}
+
+/**
+ * A [ColumnAccessor] for `DOUBLE` and `FLOAT` columns. Values of `FLOAT` columns are narrowed when written.
+ */
+public fun interface DoubleColumnAccessor<in T : Exportable> : ColumnAccessor<T> {
+    public fun getDouble(exportable: T): Double
+}
+
+/**
+ * A [ColumnAccessor] for `BOOLEAN` columns.
+ */
+public fun interface BooleanColumnAccessor<in T : Exportable> : ColumnAccessor<T> {
+    public fun getBoolean(exportable: T): Boolean
+}
@@ -28,8 +28,11 @@ import kotlinx.coroutines.sync.withLock
 import org.apache.parquet.schema.LogicalTypeAnnotation
 import org.apache.parquet.schema.PrimitiveType
 import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.BOOLEAN
 import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.DOUBLE
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.FLOAT
 import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.INT32
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.INT64
 import org.apache.parquet.schema.Type
 import org.opendc.common.logger.logger
 import org.slf4j.Logger
@@ -69,6 +72,11 @@ import kotlin.reflect.KClass
  * @param[exportableClass]
  * The [KClass] of the [Exportable]. Used for intuitive lof messages. This class
  * can be instantiated with inline constructor [Companion.invoke] without providing this parameter.
+ *
+ * @param[accessor]
+ * An optional typed [ColumnAccessor] that allows the [Exporter] to write required primitive values
+ * without boxing them. Columns built with [Companion.ofInt], [Companion.ofLong], [Companion.ofDouble]
+ * or [Companion.ofBoolean] provide one.
  */
 public class ExportColumn<T : Exportable>
     @PublishedApi
@@ -77,6 +85,7 @@ public class ExportColumn<T : Exportable>
         @PublishedApi internal val regex: Regex,
         @PublishedApi internal val exportableClass: KClass<T>,
         internal val getValue: (T) -> Any?,
+        internal val accessor: ColumnAccessor<T>? = null,
     ) {
         /**
          * The name of the column (e.g. "timestamp").
@@ -89,6 +98,22 @@ public class ExportColumn<T : Exportable>
         public val primitiveTypeName: PrimitiveTypeName by lazy { field.asPrimitiveType().primitiveTypeName }
 
         init {
+            if (accessor != null) {
+                val expected =
+                    when (accessor) {
+                        is IntColumnAccessor -> setOf(INT32)
+                        is LongColumnAccessor -> setOf(INT64)
+                        is DoubleColumnAccessor -> setOf(DOUBLE, FLOAT)
+                        is BooleanColumnAccessor -> setOf(BOOLEAN)
+                    }
+                require(primitiveTypeName in expected) {
+                    "accessor of export field ${field.name} does not match primitive type $primitiveTypeName"
+                }
+                require(field.isRepetition(Type.Repetition.REQUIRED)) {
+                    "typed accessors are only supported for required fields, but ${field.name} is not"
+                }
+            }
+
             // Adds the column among those that can be deserialized.
             addField(this)
         }
@@ -104,7 +129,7 @@ public class ExportColumn<T : Exportable>
              */
             public inline operator fun <reified T : Exportable> invoke(
                 field: Type,
-                regex: Regex = Regex("\\s*(?:${field.name}|${field.name.replace('_', ' ')})\\s*", RegexOption.IGNORE_CASE),
+                regex: Regex = defaultRegex(field),
                 noinline getValue: (T) -> Any?,
             ): ExportColumn<T> =
                 ExportColumn(
@@ -114,6 +139,78 @@ public class ExportColumn<T : Exportable>
                     regex = regex,
                 )
 
+            /**
+             * Reified constructor for a required `INT32` column whose value is retrieved without boxing.
+             */
+            public inline fun <reified T : Exportable> ofInt(
+                field: Type,
+                regex: Regex = defaultRegex(field),
+                accessor: IntColumnAccessor<T>,
+            ): ExportColumn<T> =
+                ExportColumn(
+                    field = field,
+                    getValue = { accessor.getInt(it) },
+                    exportableClass = T::class,
+                    regex = regex,
+                    accessor = accessor,
+                )
+
+            /**
+             * Reified constructor for a required `INT64` column whose value is retrieved without boxing.
+             */
+            public inline fun <reified T : Exportable> ofLong(
+                field: Type,
+                regex: Regex = defaultRegex(field),
+                accessor: LongColumnAccessor<T>,
+            ): ExportColumn<T> =
+                ExportColumn(
+                    field = field,
+                    getValue = { accessor.getLong(it) },
+                    exportableClass = T::class,
+                    regex = regex,
+                    accessor = accessor,
+                )
+
+            /**
+             * Reified constructor for a required `DOUBLE` or `FLOAT` column whose value is retrieved without boxing.
+             */
+            public inline fun <reified T : Exportable> ofDouble(
+                field: Type,
+                regex: Regex = defaultRegex(field),
+                accessor: DoubleColumnAccessor<T>,
+            ): ExportColumn<T> =
+                ExportColumn(
+                    field = field,
+                    getValue = { accessor.getDouble(it) },
+                    exportableClass = T::class,
+                    regex = regex,
+                    accessor = accessor,
+                )
+
+            /**
+             * Reified constructor for a required `BOOLEAN` column whose value is retrieved without boxing.
+             */
+            public inline fun <reified T : Exportable> ofBoolean(
+                field: Type,
+                regex: Regex = defaultRegex(field),
+                accessor: BooleanColumnAccessor<T>,
+            ): ExportColumn<T> =
+                ExportColumn(
+                    field = field,
+                    getValue = { accessor.getBoolean(it) },
+                    exportableClass = T::class,
+                    regex = regex,
+                    accessor = accessor,
+                )
+
+            /**
+             * The default pattern of a column, which matches the column name with either
+             * underscores or blank spaces between words in a case-insensitive manner.
+             */
+            @PublishedApi
+            internal fun defaultRegex(field: Type): Regex =
+                Regex("\\s*(?:${field.name}|${field.name.replace('_', ' ')})\\s*", RegexOption.IGNORE_CASE)
+
             /**
              * All the columns that have been instantiated. They are added in `init` block.
              * Keep in mind that in order to deserialize to a column, that column needs to be loaded by the jvm.
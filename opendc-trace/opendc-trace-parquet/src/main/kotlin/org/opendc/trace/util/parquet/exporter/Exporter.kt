@@ -26,6 +26,7 @@ import org.apache.hadoop.conf.Configuration
 import org.apache.parquet.hadoop.api.WriteSupport
 import org.apache.parquet.io.api.RecordConsumer
 import org.apache.parquet.schema.MessageType
+import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName
 import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.BINARY
 import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.BOOLEAN
 import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.DOUBLE
@@ -34,6 +35,7 @@ import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.INT32
 import org.apache.parquet.schema.PrimitiveType.PrimitiveTypeName.INT64
 import org.apache.parquet.schema.Type
 import org.apache.parquet.schema.Types
+import org.opendc.trace.util.parquet.BackPressurePolicy
 import org.opendc.trace.util.parquet.ParquetDataWriter
 import java.io.File
 
@@ -43,10 +45,14 @@ public class Exporter<T : Exportable>
         outputFile: File,
         writeSupp: WriteSupport<T>,
         bufferSize: Int,
+        batchSize: Int,
+        backPressure: BackPressurePolicy,
     ) : ParquetDataWriter<T>(
             path = outputFile,
             writeSupport = writeSupp,
             bufferSize = bufferSize,
+            batchSize = batchSize,
+            backPressure = backPressure,
         ) {
         public companion object {
             /**
@@ -54,17 +60,24 @@ public class Exporter<T : Exportable>
              * @param[outputFile]   the output file where the [Exportable]s will be written.
              * @param[columns]       the columns that will be included in the output parquet file.
              * @param[schemaName]   the name of the schema of the output parquet file.
+             * @param[bufferSize]   the (approximate) number of records that may be pending for the writer thread.
+             * @param[batchSize]    the number of records handed to the writer thread at once.
+             * @param[backPressure] the policy to apply when the writer thread cannot keep up.
              */
             public inline operator fun <reified T : Exportable> invoke(
                 outputFile: File,
                 vararg columns: ExportColumn<T> = emptyArray(),
                 schemaName: String? = null,
                 bufferSize: Int = 4096,
+                batchSize: Int = 256,
+                backPressure: BackPressurePolicy = BackPressurePolicy.BLOCK,
             ): Exporter<T> =
                 Exporter(
                     outputFile = outputFile,
                     writeSupp = writeSuppFor(columns.toSet(), schemaName = schemaName ?: T::class.simpleName ?: "unknown"),
                     bufferSize = bufferSize,
+                    batchSize = batchSize,
+                    backPressure = backPressure,
                 )
 
             /**
@@ -72,17 +85,24 @@ public class Exporter<T : Exportable>
              * @param[outputFile]   the output file where the [Exportable]s will be written.
              * @param[columns]       the columns that will be included in the output parquet file.
              * @param[schemaName]   the name of the schema of the output parquet file.
+             * @param[bufferSize]   the (approximate) number of records that may be pending for the writer thread.
+             * @param[batchSize]    the number of records handed to the writer thread at once.
+             * @param[backPressure] the policy to apply when the writer thread cannot keep up.
              */
             public inline operator fun <reified T : Exportable> invoke(
                 outputFile: File,
                 columns: Collection<ExportColumn<T>> = emptySet(),
                 schemaName: String? = null,
                 bufferSize: Int = 4096,
+                batchSize: Int = 256,
+                backPressure: BackPressurePolicy = BackPressurePolicy.BLOCK,
             ): Exporter<T> =
                 Exporter(
                     outputFile = outputFile,
                     writeSupp = writeSuppFor(columns.toSet(), schemaName = schemaName ?: T::class.simpleName ?: "unknown"),
                     bufferSize = bufferSize,
+                    batchSize = batchSize,
+                    backPressure = backPressure,
                 )
 
             /**
@@ -108,46 +128,90 @@ public class Exporter<T : Exportable>
                         cons = recordConsumer
                     }
 
-                    override fun write(record: T) =
-                        with(cons) {
-                            startMessage()
+                    // Resolved once, so that writing a record does not go through the lazy properties of the columns
+                    private val cols: List<ExportColumn<T>> = columns.toList()
+                    private val names: Array<String> = Array(cols.size) { cols[it].name }
+                    private val types: Array<PrimitiveTypeName> = Array(cols.size) { cols[it].primitiveTypeName }
 
-                            columns.forEachIndexed { idx, column ->
-                                fun <T> Any.castedOrThrow(): T {
-                                    @Suppress("UNCHECKED_CAST")
-                                    return (this as? T) ?: throw TypeCastException(
-                                        "attempt to add value of type ${this::class} to export " +
-                                            "field $column which requires a different type",
-                                    )
+                    override fun write(record: T) {
+                        val cons = cons
+                        cons.startMessage()
+
+                        for (idx in cols.indices) {
+                            val column = cols[idx]
+                            val name = names[idx]
+
+                            when (val accessor = column.accessor) {
+                                is IntColumnAccessor -> {
+                                    cons.startField(name, idx)
+                                    cons.addInteger(accessor.getInt(record))
+                                    cons.endField(name, idx)
+                                }
+                                is LongColumnAccessor -> {
+                                    cons.startField(name, idx)
+                                    cons.addLong(accessor.getLong(record))
+                                    cons.endField(name, idx)
                                 }
-                                val valueToAdd: Any =
-                                    column.getValue(
-                                        record,
-                                    ) ?: let {
-                                        if (column.field.isRepetition(Type.Repetition.OPTIONAL)) {
-                                            return@forEachIndexed
-                                        } else {
-                                            throw RuntimeException("trying to insert null value in required column $column")
-                                        }
-                                    }
+                                is DoubleColumnAccessor -> {
+                                    val value = accessor.getDouble(record)
+                                    cons.startField(name, idx)
+                                    if (types[idx] == FLOAT) cons.addFloat(value.toFloat()) else cons.addDouble(value)
+                                    cons.endField(name, idx)
+                                }
+                                is BooleanColumnAccessor -> {
+                                    cons.startField(name, idx)
+                                    cons.addBoolean(accessor.getBoolean(record))
+                                    cons.endField(name, idx)
+                                }
+                                null -> writeBoxed(cons, column, record, idx)
+                            }
+                        }
+
+                        cons.endMessage()
+                    }
 
-                                startField(column.name, idx)
-                                when (column.primitiveTypeName) {
-                                    INT32 -> addInteger(valueToAdd.castedOrThrow())
-                                    INT64 -> addLong(valueToAdd.castedOrThrow())
-                                    DOUBLE -> addDouble(valueToAdd.castedOrThrow())
-                                    BINARY -> addBinary(valueToAdd.castedOrThrow())
-                                    FLOAT -> addFloat(valueToAdd.castedOrThrow())
-                                    BOOLEAN -> addBoolean(valueToAdd.castedOrThrow())
-                                    else -> throw RuntimeException(
-                                        "parquet primitive type name '${column.primitiveTypeName} is not supported",
-                                    )
+                    /**
+                     * Write the value of a [column] without typed accessor, which is retrieved boxed.
+                     */
+                    private fun writeBoxed(
+                        cons: RecordConsumer,
+                        column: ExportColumn<T>,
+                        record: T,
+                        idx: Int,
+                    ) {
+                        fun <T> Any.castedOrThrow(): T {
+                            @Suppress("UNCHECKED_CAST")
+                            return (this as? T) ?: throw TypeCastException(
+                                "attempt to add value of type ${this::class} to export " +
+                                    "field $column which requires a different type",
+                            )
+                        }
+                        val valueToAdd: Any =
+                            column.getValue(
+                                record,
+                            ) ?: let {
+                                if (column.field.isRepetition(Type.Repetition.OPTIONAL)) {
+                                    return
+                                } else {
+                                    throw RuntimeException("trying to insert null value in required column $column")
                                 }
-                                endField(column.name, idx)
                             }
 
-                            cons.endMessage()
+                        val name = names[idx]
+                        cons.startField(name, idx)
+                        when (types[idx]) {
+                            INT32 -> cons.addInteger(valueToAdd.castedOrThrow())
+                            INT64 -> cons.addLong(valueToAdd.castedOrThrow())
+                            DOUBLE -> cons.addDouble(valueToAdd.castedOrThrow())
+                            BINARY -> cons.addBinary(valueToAdd.castedOrThrow())
+                            FLOAT -> cons.addFloat(valueToAdd.castedOrThrow())
+                            BOOLEAN -> cons.addBoolean(valueToAdd.castedOrThrow())
+                            else -> throw RuntimeException(
+                                "parquet primitive type name '${column.primitiveTypeName} is not supported",
+                            )
                         }
+                        cons.endField(name, idx)
+                    }
                 }
         }
     }
@@ -23,6 +23,9 @@
 package org.opendc.trace.util.parquet
 
 import org.apache.hadoop.conf.Configuration
+import org.apache.parquet.filter2.compat.FilterCompat
+import org.apache.parquet.filter2.predicate.FilterApi
+import org.apache.parquet.hadoop.metadata.FileMetaData
 import org.apache.parquet.hadoop.ParquetFileWriter
 import org.apache.parquet.hadoop.api.ReadSupport
 import org.apache.parquet.hadoop.api.WriteSupport
@@ -37,6 +40,7 @@ import org.apache.parquet.schema.Type
 import org.apache.parquet.schema.Types
 import org.junit.jupiter.api.AfterEach
 import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertTrue
 import org.junit.jupiter.api.BeforeEach
 import org.junit.jupiter.api.Test
 import org.junit.jupiter.api.assertThrows
@@ -44,6 +48,11 @@ import java.nio.file.FileAlreadyExistsException
 import java.nio.file.Files
 import java.nio.file.NoSuchFileException
 import java.nio.file.Path
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+import kotlin.concurrent.thread
+import kotlin.io.path.createTempDirectory
 
 /**
  * Test suite for the Parquet helper classes.
@@ -147,6 +156,145 @@ internal class ParquetTest {
         assertEquals(n, counter)
     }
 
+    /**
+     * Test whether the [ParquetDataWriter] writes single records and chunks of records in order.
+     */
+    @Test
+    fun testDataWriter() {
+        val writer = object : ParquetDataWriter<Int>(path.toFile(), writeSupport, bufferSize = 64, batchSize = 16) {}
+
+        try {
+            repeat(100) { i -> writer.write(i) }
+            writer.writeAll((100 until 200).toList())
+            writer.write(200)
+        } finally {
+            writer.close()
+        }
+
+        val reader = LocalParquetReader(path, readSupport)
+        var counter = 0
+        try {
+            while (true) {
+                val record = reader.read() ?: break
+                assertEquals(counter++, record)
+            }
+        } finally {
+            reader.close()
+        }
+
+        assertEquals(201, counter)
+    }
+
+    /**
+     * Test whether the [ParquetDataWriter] writes the rows of a [ColumnChunk] in order and releases the chunk.
+     */
+    @Test
+    fun testDataWriterChunk() {
+        val writer = object : ParquetDataWriter<Int>(path.toFile(), writeSupport, bufferSize = 64, batchSize = 16) {}
+        val released = AtomicInteger()
+
+        try {
+            writer.write(0)
+            writer.writeAll(IntChunk(IntArray(99) { it + 1 }, released))
+            writer.writeAll(IntChunk(IntArray(0), released))
+            writer.write(100)
+        } finally {
+            writer.close()
+        }
+
+        val reader = LocalParquetReader(path, readSupport)
+        val records = mutableListOf<Int>()
+        try {
+            while (true) {
+                records += reader.read() ?: break
+            }
+        } finally {
+            reader.close()
+        }
+
+        assertEquals((0..100).toList(), records)
+        assertEquals(2, released.get()) { "Chunks not released" }
+    }
+
+    /**
+     * Test whether the [BackPressurePolicy.BLOCK] policy blocks the producer while the writer lags, without losing records.
+     */
+    @Test
+    fun testBackPressureBlock() {
+        val gate = WriterGate()
+        val writer = gate.writer(BackPressurePolicy.BLOCK)
+
+        try {
+            writer.writeAll((0 until 16).toList())
+            gate.awaitStarted()
+            writer.writeAll((16 until 32).toList())
+
+            // The queue holds a single chunk, so the third chunk blocks until the writer continues
+            val producer = thread { writer.writeAll((32 until 48).toList()) }
+            producer.join(200)
+            assertTrue(producer.isAlive) { "Producer not blocked" }
+
+            gate.open()
+            producer.join()
+        } finally {
+            gate.open()
+            writer.close()
+        }
+
+        assertEquals(0L, writer.droppedRecords)
+        assertEquals((0 until 48).toList(), LocalParquetReader(path, readSupport).use { it.readAll() })
+    }
+
+    /**
+     * Test whether the [BackPressurePolicy.DROP] policy discards the chunks that do not fit while the writer lags.
+     */
+    @Test
+    fun testBackPressureDrop() {
+        val gate = WriterGate()
+        val writer = gate.writer(BackPressurePolicy.DROP)
+        val released = AtomicInteger()
+
+        try {
+            writer.writeAll((0 until 16).toList())
+            gate.awaitStarted()
+            writer.writeAll((16 until 32).toList())
+            writer.writeAll(IntChunk(IntArray(16) { 32 + it }, released))
+
+            assertEquals(16L, writer.droppedRecords)
+            assertEquals(1, released.get()) { "Dropped chunk not released" }
+        } finally {
+            gate.open()
+            writer.close()
+        }
+
+        assertEquals((0 until 32).toList(), LocalParquetReader(path, readSupport).use { it.readAll() })
+    }
+
+    /**
+     * Test whether the [BackPressurePolicy.UNBOUNDED] policy neither blocks nor discards while the writer lags.
+     */
+    @Test
+    fun testBackPressureUnbounded() {
+        val gate = WriterGate()
+        val writer = gate.writer(BackPressurePolicy.UNBOUNDED)
+
+        try {
+            writer.writeAll((0 until 16).toList())
+            gate.awaitStarted()
+
+            // Far more chunks than the buffer holds are accepted while the writer thread is stalled
+            for (i in 1 until 64) {
+                writer.writeAll((i * 16 until (i + 1) * 16).toList())
+            }
+            assertEquals(0L, writer.droppedRecords)
+        } finally {
+            gate.open()
+            writer.close()
+        }
+
+        assertEquals((0 until 1024).toList(), LocalParquetReader(path, readSupport).use { it.readAll() })
+    }
+
     /**
      * Test if overwriting fails if not specified.
      */
@@ -157,6 +305,63 @@ internal class ParquetTest {
         }
     }
 
+    /**
+     * Test whether a partitioned dataset decoded in parallel is read in the order of the dataset.
+     */
+    @Test
+    fun testParallelOrdered() {
+        val dir = writeDataset(files = 4, rowsPerFile = 250)
+
+        try {
+            val records = LocalParquetReader(dir, readSupport, parallelism = 4).use { it.readAll() }
+            assertEquals((0 until 1000).toList(), records)
+        } finally {
+            dir.toFile().deleteRecursively()
+        }
+    }
+
+    /**
+     * Test whether a partitioned dataset decoded in parallel without ordering yields all records.
+     */
+    @Test
+    fun testParallelUnordered() {
+        val dir = writeDataset(files = 4, rowsPerFile = 250)
+
+        try {
+            val records = LocalParquetReader(dir, readSupport, parallelism = 4, ordered = false).use { it.readAll() }
+            assertEquals((0 until 1000).toList(), records.sorted())
+        } finally {
+            dir.toFile().deleteRecursively()
+        }
+    }
+
+    /**
+     * Test whether a filter skips the records and row groups that do not match, both sequentially and in parallel.
+     */
+    @Test
+    fun testFilter() {
+        val dir = writeDataset(files = 4, rowsPerFile = 250)
+        val field = FilterApi.intColumn("field")
+        val filter = FilterCompat.get(FilterApi.and(FilterApi.gtEq(field, 300), FilterApi.lt(field, 400)))
+
+        try {
+            for (parallelism in intArrayOf(1, 4)) {
+                val records = LocalParquetReader(dir, readSupport, parallelism = parallelism, filter = filter).use { it.readAll() }
+                assertEquals((300 until 400).toList(), records)
+
+                var rows = 0L
+                LocalParquetRowGroupReader(dir, RowCountDecoder, parallelism, filter = filter).use { reader ->
+                    while (true) {
+                        rows += reader.read() ?: break
+                    }
+                }
+                assertTrue(rows in 100 until 1000) { "Row groups not skipped ($rows rows)" }
+            }
+        } finally {
+            dir.toFile().deleteRecursively()
+        }
+    }
+
     /**
      * Test non-existent file.
      */
@@ -168,6 +373,103 @@ internal class ParquetTest {
         }
     }
 
+    /**
+     * Write a partitioned dataset of consecutive integers with small row groups.
+     */
+    private fun writeDataset(
+        files: Int,
+        rowsPerFile: Int,
+    ): Path {
+        val dir = createTempDirectory("opendc-parquet")
+
+        repeat(files) { i ->
+            val writer =
+                LocalParquetWriter.builder(dir.resolve("part-$i.parquet"), writeSupport)
+                    .withRowGroupSize(256L)
+                    .withMinRowCountForPageSizeCheck(1)
+                    .build()
+
+            writer.use {
+                for (j in 0 until rowsPerFile) {
+                    it.write(i * rowsPerFile + j)
+                }
+            }
+        }
+
+        return dir
+    }
+
+    /**
+     * Read all remaining records from the [LocalParquetReader].
+     */
+    private fun <T> LocalParquetReader<T>.readAll(): List<T> {
+        val records = mutableListOf<T>()
+        while (true) {
+            records.add(read() ?: break)
+        }
+        return records
+    }
+
+    /**
+     * A [ParquetRowGroupDecoder] that counts the rows of a row group.
+     */
+    private object RowCountDecoder : ParquetRowGroupDecoder<Long> {
+        override fun requestSchema(fileMetaData: FileMetaData): MessageType = fileMetaData.schema
+
+        override fun decode(rowGroup: ParquetRowGroup): Long = rowGroup.rowCount
+    }
+
+    /**
+     * A gate that stalls the writer thread of a [ParquetDataWriter] at its first record until it is opened.
+     */
+    private inner class WriterGate {
+        private val started = CountDownLatch(1)
+        private val gate = CountDownLatch(1)
+
+        /**
+         * Create a writer with a buffer of a single chunk of 16 records that stalls on this gate.
+         */
+        fun writer(backPressure: BackPressurePolicy): ParquetDataWriter<Int> {
+            val gated =
+                object : WriteSupport<Int>() {
+                    override fun init(configuration: Configuration): WriteContext = writeSupport.init(configuration)
+
+                    override fun prepareForWrite(recordConsumer: RecordConsumer) {
+                        writeSupport.prepareForWrite(recordConsumer)
+                    }
+
+                    override fun write(record: Int) {
+                        started.countDown()
+                        gate.await()
+                        writeSupport.write(record)
+                    }
+                }
+            return object : ParquetDataWriter<Int>(path.toFile(), gated, 16, 16, backPressure) {}
+        }
+
+        fun awaitStarted() {
+            assertTrue(started.await(10, TimeUnit.SECONDS)) { "Writer thread did not start" }
+        }
+
+        fun open() {
+            gate.countDown()
+        }
+    }
+
+    /**
+     * A [ColumnChunk] over a single column of integers, counting how often it is released.
+     */
+    private class IntChunk(private val values: IntArray, private val released: AtomicInteger) : ColumnChunk<Int> {
+        override val size: Int
+            get() = values.size
+
+        override fun row(index: Int): Int = values[index]
+
+        override fun release() {
+            released.incrementAndGet()
+        }
+    }
+
     private class TestRecordMaterializer : RecordMaterializer<Int>() {
         private var current: Int = 0
         private val fieldConverter =
@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2026 AtLarge Research
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ */
+
+package org.opendc.trace.testkit
+
+import org.junit.jupiter.api.AfterEach
+import org.junit.jupiter.api.Assertions.assertEquals
+import org.junit.jupiter.api.Assertions.assertFalse
+import org.junit.jupiter.api.Assertions.assertTrue
+import org.junit.jupiter.api.Assumptions.assumeTrue
+import org.junit.jupiter.api.Test
+import org.junit.jupiter.api.assertThrows
+import org.junit.jupiter.params.ParameterizedTest
+import org.junit.jupiter.params.provider.ValueSource
+import org.opendc.trace.BatchTableReader
+import org.opendc.trace.TableColumn
+import org.opendc.trace.TableColumnType
+import org.opendc.trace.TableReader
+
+/**
+ * A test suite for implementations of the [BatchTableReader] interface.
+ *
+ * Next to the row-oriented tests of [TableReaderTestKit], this suite verifies the column vectors of the reader against
+ * a row-oriented [TableReader] of the same table.
+ */
+public abstract class BatchTableReaderTestKit : TableReaderTestKit() {
+    /**
+     * The [BatchTableReader] instance to test.
+     */
+    public abstract override val reader: BatchTableReader
+
+    /**
+     * A row-oriented [TableReader] for the same table and projection, used as reference.
+     */
+    public abstract val rowReader: TableReader
+
+    @AfterEach
+    public fun tearDownRowReader() {
+        rowReader.close()
+    }
+
+    /**
+     * Test that the column vectors of each batch match the values of the row-oriented reader.
+     */
+    @ParameterizedTest
+    @ValueSource(ints = [1, 3, 1024])
+    public fun testBatchesMatchRows(batchSize: Int) {
+        var rows = 0
+
+        while (true) {
+            val n = reader.nextBatch(batchSize)
+            assertTrue(n in 0..batchSize) { "Batch exceeds requested size" }
+
+            if (n == 0) {
+                break
+            }
+
+            for (i in 0 until n) {
+                assertTrue(rowReader.nextRow()) { "Batch reader returns more rows than row reader" }
+
+                for (column in columns) {
+                    assertColumnEquals(column, i)
+                }
+            }
+
+            rows += n
+        }
+
+        assertFalse(rowReader.nextRow()) { "Batch reader returns fewer rows than row reader ($rows rows)" }
+        assertEquals(0, reader.nextBatch(batchSize)) { "Reader does not stay exhausted" }
+    }
+
+    /**
+     * Test that [TableReader.nextRow] iterates over the rows of a batch that was loaded with
+     * [BatchTableReader.nextBatch].
+     */
+    @Test
+    public fun testNextRowAfterBatch() {
+        val n = reader.nextBatch(2)
+        assumeTrue(n > 0)
+
+        assertTrue(reader.nextRow())
+        assertTrue(rowReader.nextRow())
+
+        for (column in columns) {
+            assertEquals(rowReader.get(column), reader.get(column)) { "Column ${column.name} does not match" }
+        }
+    }
+
+    /**
+     * Test that requesting a batch with a non-positive size fails.
+     */
+    @Test
+    public fun testNonPositiveBatchSize() {
+        assertThrows<IllegalArgumentException> { reader.nextBatch(0) }
+    }
+
+    /**
+     * Assert that the vector of [column] at [index] in the current batch matches the current row of [rowReader].
+     */
+    private fun assertColumnEquals(
+        column: TableColumn,
+        index: Int,
+    ) {
+        val name = column.name
+        val message = { "Column $name does not match" }
+
+        when (val type = column.type) {
+            is TableColumnType.Boolean -> assertEquals(rowReader.getBoolean(name), reader.getBooleans(name)[index], message)
+            is TableColumnType.Int -> assertEquals(rowReader.getInt(name), reader.getInts(name)[index], message)
+            is TableColumnType.Long -> assertEquals(rowReader.getLong(name), reader.getLongs(name)[index], message)
+            is TableColumnType.Double -> assertEquals(rowReader.getDouble(name), reader.getDoubles(name)[index], message)
+            is TableColumnType.String -> assertEquals(rowReader.getString(name), reader.getStrings(name)[index], message)
+            is TableColumnType.Instant ->
+                assertEquals(rowReader.getInstant(name)?.toEpochMilli(), reader.getLongs(name)[index], message)
+            is TableColumnType.Duration ->
+                assertEquals(rowReader.getDuration(name)?.toMillis(), reader.getLongs(name)[index], message)
+            is TableColumnType.Set ->
+                if (type.elementType == TableColumnType.Int) {
+                    assertEquals(rowReader.getSet(name, Int::class.java).orEmpty(), slice(name, index).toSet(), message)
+                }
+            is TableColumnType.List ->
+                if (type.elementType == TableColumnType.Int) {
+                    assertEquals(rowReader.getList(name, Int::class.java).orEmpty(), slice(name, index), message)
+                }
+            else -> {}
+        }
+    }
+
+    /**
+     * Collect the elements of the collection column [name] at [index] in the current batch.
+     */
+    private fun slice(
+        name: String,
+        index: Int,
+    ): List<Int> {
+        val offsets = reader.getOffsets(name)
+        val values = reader.getInts(name)
+        return (offsets[index] until offsets[index + 1]).map { values[it] }
+    }
+
+    /**
+     * Helper method to map a [TableColumn] to a read.
+     */
+    private fun TableReader.get(column: TableColumn): Any? {
+        return when (column.type) {
+            is TableColumnType.Boolean -> getBoolean(column.name)
+            is TableColumnType.Int -> getInt(column.name)
+            is TableColumnType.Long -> getLong(column.name)
+            is TableColumnType.Float -> getFloat(column.name)
+            is TableColumnType.Double -> getDouble(column.name)
+            is TableColumnType.String -> getString(column.name)
+            is TableColumnType.UUID -> getUUID(column.name)
+            is TableColumnType.Instant -> getInstant(column.name)
+            is TableColumnType.Duration -> getDuration(column.name)
+            is TableColumnType.List -> getList(column.name, Any::class.java)
+            is TableColumnType.Set -> getSet(column.name, Any::class.java)
+            is TableColumnType.Map -> getMap(column.name, Any::class.java, Any::class.java)
+        }
+    }
+}
@@ -23,16 +23,33 @@
 package org.opendc.web.runner.internal
 
 import org.opendc.compute.simulator.telemetry.ComputeMonitor
+import org.opendc.compute.simulator.telemetry.table.battery.BatteryTableBatch
+import org.opendc.compute.simulator.telemetry.table.host.HostTableBatch
 import org.opendc.compute.simulator.telemetry.table.host.HostTableReader
+import org.opendc.compute.simulator.telemetry.table.powerSource.PowerSourceTableBatch
 import org.opendc.compute.simulator.telemetry.table.service.ServiceData
 import org.opendc.compute.simulator.telemetry.table.service.ServiceTableReader
 import org.opendc.compute.simulator.telemetry.table.service.toServiceData
+import org.opendc.compute.simulator.telemetry.table.task.TaskTableBatch
 import kotlin.math.roundToLong
 
 /**
  * A [ComputeMonitor] that tracks the aggregate metrics for each repeat.
  */
 internal class WebComputeMonitor : ComputeMonitor {
+    override fun record(batch: HostTableBatch) {
+        // Rows are aggregated immediately, so the reusable row views suffice
+        for (i in 0 until batch.size) {
+            record(batch.row(i))
+        }
+    }
+
+    override fun record(batch: TaskTableBatch) {}
+
+    override fun record(batch: PowerSourceTableBatch) {}
+
+    override fun record(batch: BatteryTableBatch) {}
+
     override fun record(reader: HostTableReader) {
         val slices = reader.downtime / sliceLength
 